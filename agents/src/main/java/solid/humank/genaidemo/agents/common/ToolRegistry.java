@@ -7,17 +7,25 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Tool 註冊中心
  * 
  * 管理所有可用的 Agent Tools，提供工具查詢和執行功能。
+ * 工具定義字串在註冊變更前只產生一次，避免每輪對話重新組裝。
  */
 @Component
 public class ToolRegistry {
     
     private final Map<String, AgentTool> tools = new ConcurrentHashMap<>();
     
+    /** 註冊變更版本，每次註冊或移除時遞增 */
+    private final AtomicLong version = new AtomicLong();
+    
+    /** 快取的工具定義及其對應的註冊版本 */
+    private volatile CachedDefinitions cachedDefinitions;
+    
     public ToolRegistry(List<AgentTool> agentTools) {
         agentTools.forEach(tool -> tools.put(tool.getName(), tool));
     }
@@ -27,6 +35,16 @@ public class ToolRegistry {
      */
     public void register(AgentTool tool) {
         tools.put(tool.getName(), tool);
+        version.incrementAndGet();
+    }
+    
+    /**
+     * 移除工具
+     */
+    public void unregister(String toolName) {
+        if (tools.remove(toolName) != null) {
+            version.incrementAndGet();
+        }
     }
     
     /**
@@ -56,6 +74,18 @@ public class ToolRegistry {
      * 產生工具定義（供 LLM 使用）
      */
     public String generateToolDefinitions() {
+        // 先讀版本再組裝：組裝期間若有註冊變更，快取版本落後，下次呼叫會重新產生
+        long currentVersion = version.get();
+        CachedDefinitions cached = cachedDefinitions;
+        if (cached != null && cached.version() == currentVersion) {
+            return cached.json();
+        }
+        String json = buildToolDefinitions();
+        cachedDefinitions = new CachedDefinitions(currentVersion, json);
+        return json;
+    }
+    
+    private String buildToolDefinitions() {
         StringBuilder sb = new StringBuilder();
         sb.append("[");
         
@@ -73,4 +103,6 @@ public class ToolRegistry {
         sb.append("]");
         return sb.toString();
     }
+    
+    private record CachedDefinitions(long version, String json) {}
 }
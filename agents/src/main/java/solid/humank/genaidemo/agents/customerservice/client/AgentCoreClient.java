@@ -1,6 +1,7 @@
 package solid.humank.genaidemo.agents.customerservice.client;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * AgentCore 客戶端介面
@@ -17,6 +18,24 @@ public interface AgentCoreClient {
      */
     AgentCoreResponse invoke(AgentCoreRequest request);
     
+    /**
+     * 以串流方式調用 Agent
+     * 
+     * 產生的文字片段會依序交給 {@code onText}，回傳值與 {@link #invoke} 相同。
+     * 預設實作在完整回應後一次送出文字，支援串流的實作（如 Bedrock ConverseStream）應覆寫此方法。
+     * 
+     * @param request Agent 請求
+     * @param onText  文字片段回呼
+     * @return Agent 回應
+     */
+    default AgentCoreResponse invokeStreaming(AgentCoreRequest request, Consumer<String> onText) {
+        AgentCoreResponse response = invoke(request);
+        if (response.message() != null && !response.message().isEmpty()) {
+            onText.accept(response.message());
+        }
+        return response;
+    }
+    
     /**
      * Agent 請求
      */
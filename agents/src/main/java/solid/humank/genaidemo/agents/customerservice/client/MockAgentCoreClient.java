@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,6 +19,8 @@ import java.util.regex.Pattern;
 @Profile({"local", "test"})
 public class MockAgentCoreClient implements AgentCoreClient {
     
+    private static final int STREAM_CHUNK_SIZE = 16;
+    
     private static final Pattern ORDER_ID_PATTERN = Pattern.compile("(?:訂單|order)[\\s#:：]*([A-Za-z0-9-]+)", Pattern.CASE_INSENSITIVE);
     
     @Override
@@ -71,6 +74,21 @@ public class MockAgentCoreClient implements AgentCoreClient {
         );
     }
     
+    /**
+     * 模擬串流輸出：將回應文字切成小片段依序送出
+     */
+    @Override
+    public AgentCoreResponse invokeStreaming(AgentCoreRequest request, Consumer<String> onText) {
+        AgentCoreResponse response = invoke(request);
+        String message = response.message();
+        if (message != null) {
+            for (int start = 0; start < message.length(); start += STREAM_CHUNK_SIZE) {
+                onText.accept(message.substring(start, Math.min(message.length(), start + STREAM_CHUNK_SIZE)));
+            }
+        }
+        return response;
+    }
+    
     private boolean containsOrderQuery(String message) {
         return message.contains("訂單") || message.contains("order") ||
                message.contains("查詢") || message.contains("到哪") ||
@@ -5,19 +5,24 @@ import jakarta.validation.constraints.NotBlank;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import solid.humank.genaidemo.agents.common.AgentContext;
 import solid.humank.genaidemo.agents.common.AgentResponse;
+import solid.humank.genaidemo.agents.common.ToolResult;
+import solid.humank.genaidemo.agents.customerservice.service.AgentStreamListener;
 import solid.humank.genaidemo.agents.customerservice.service.CustomerServiceAgentService;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * 智能客服 Agent REST API Controller
  * 
- * 提供客服 Agent 的 HTTP 端點。
+ * 提供客服 Agent 的 HTTP 端點，支援一般回應與 SSE 串流回應。
  */
 @RestController
 @RequestMapping("/api/v1/agents/customer-service")
@@ -25,6 +30,9 @@ public class CustomerServiceAgentController {
     
     private static final Logger log = LoggerFactory.getLogger(CustomerServiceAgentController.class);
     
+    /** 串流連線逾時，涵蓋 LLM 回應與所有 Tool 執行 */
+    private static final long STREAM_TIMEOUT_MILLIS = 60_000;
+    
     private final CustomerServiceAgentService agentService;
     
     public CustomerServiceAgentController(CustomerServiceAgentService agentService) {
@@ -38,17 +46,90 @@ public class CustomerServiceAgentController {
     public ResponseEntity<AgentResponse> chat(@Valid @RequestBody ChatRequest request) {
         log.info("Received chat request for session: {}", request.sessionId());
         
-        AgentContext context = AgentContext.builder()
+        AgentResponse response = agentService.process(toContext(request));
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 以 Server-Sent Events 串流回應
+     * 
+     * 事件類型：
+     * - {@code text}：回應文字片段，依序串接即為完整訊息
+     * - {@code tool}：Tool 執行狀態（started / completed）
+     * - {@code done}：完整的 {@link AgentResponse}
+     * - {@code error}：處理失敗
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(@Valid @RequestBody ChatRequest request) {
+        log.info("Received streaming chat request for session: {}", request.sessionId());
+        
+        AgentContext context = toContext(request);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        
+        Thread.ofVirtual().name("agent-stream-", 0).start(() -> {
+            try {
+                agentService.processStreaming(context, new SseStreamListener(emitter));
+                emitter.complete();
+            } catch (Exception e) {
+                log.error("Streaming chat failed for session: {}", context.sessionId(), e);
+                sendQuietly(emitter, "error", Map.of("message", "處理請求時發生錯誤，請稍後再試。"));
+                emitter.completeWithError(e);
+            }
+        });
+        
+        return emitter;
+    }
+    
+    private AgentContext toContext(ChatRequest request) {
+        return AgentContext.builder()
             .sessionId(request.sessionId())
             .customerId(request.customerId())
             .message(request.message())
             .language(request.language() != null ? request.language() : "zh-TW")
             .metadata(request.metadata() != null ? request.metadata() : Map.of())
             .build();
+    }
+    
+    private static void sendQuietly(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 用戶端已中斷連線，後續事件直接丟棄
+            log.debug("Dropping {} event: {}", eventName, e.getMessage());
+        }
+    }
+    
+    /**
+     * 將 Agent 處理進度轉為 SSE 事件
+     */
+    private static final class SseStreamListener implements AgentStreamListener {
         
-        AgentResponse response = agentService.process(context);
+        private final SseEmitter emitter;
         
-        return ResponseEntity.ok(response);
+        private SseStreamListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        @Override
+        public void onText(String text) {
+            sendQuietly(emitter, "text", Map.of("text", text));
+        }
+        
+        @Override
+        public void onToolStarted(String toolName) {
+            sendQuietly(emitter, "tool", Map.of("name", toolName, "status", "started"));
+        }
+        
+        @Override
+        public void onToolCompleted(String toolName, ToolResult result) {
+            sendQuietly(emitter, "tool", Map.of("name", toolName, "status", "completed", "success", result.success()));
+        }
+        
+        @Override
+        public void onComplete(AgentResponse response) {
+            sendQuietly(emitter, "done", response);
+        }
     }
     
     /**
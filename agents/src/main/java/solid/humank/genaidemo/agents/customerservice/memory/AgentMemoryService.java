@@ -1,86 +1,113 @@
 package solid.humank.genaidemo.agents.customerservice.memory;
 
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.file.Path;
+import java.time.Clock;
 
 /**
  * Agent 記憶服務
- * 
+ *
  * 管理 Agent 的對話記憶，提供記憶的載入、更新和清理功能。
- * 
- * POC 版本使用 In-Memory 實作，生產環境應替換為 DynamoDB。
+ *
+ * 記憶存放於 {@link ConversationMemoryStore}：以估算用量預算與 LRU 逐出控制 Heap 上限，
+ * 由時間輪驅動過期清理，並可選擇將閒置 Session 溢出到磁碟。
+ * 生產環境跨節點共享記憶時應替換為 DynamoDB。
  */
 @Service
 public class AgentMemoryService {
-    
-    private final Map<String, ConversationMemory> memoryStore = new ConcurrentHashMap<>();
-    
+
+    private final ConversationMemoryStore memoryStore;
+
+    public AgentMemoryService(ConversationMemoryProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    AgentMemoryService(ConversationMemoryProperties properties, Clock clock) {
+        ConversationSpillStore spillStore = properties.getSpill().isEnabled()
+            ? new FileConversationSpillStore(Path.of(properties.getSpill().getDirectory()), clock)
+            : ConversationSpillStore.NONE;
+        this.memoryStore = new ConversationMemoryStore(properties, spillStore, clock);
+    }
+
     /**
-     * 載入或建立對話記憶
+     * 載入或建立對話記憶，回傳的記憶只供讀取
      */
     public ConversationMemory loadMemory(String sessionId) {
-        return memoryStore.compute(sessionId, (key, existing) -> {
-            if (existing == null || existing.isExpired()) {
-                return new ConversationMemory(sessionId);
-            }
-            return existing;
-        });
+        return memoryStore.getOrCreate(sessionId);
     }
-    
+
     /**
      * 更新對話記憶
      */
     public void updateMemory(String sessionId, String userMessage, String assistantMessage) {
-        ConversationMemory memory = loadMemory(sessionId);
-        memory.addUserMessage(userMessage);
-        memory.addAssistantMessage(assistantMessage);
+        memoryStore.update(sessionId, memory -> {
+            memory.addUserMessage(userMessage);
+            memory.addAssistantMessage(assistantMessage);
+        });
     }
-    
+
     /**
      * 設定對話上下文
      */
     public void setContext(String sessionId, String key, Object value) {
-        ConversationMemory memory = loadMemory(sessionId);
-        memory.setContext(key, value);
+        memoryStore.update(sessionId, memory -> memory.setContext(key, value));
     }
-    
+
     /**
      * 取得對話上下文
      */
     public <T> T getContext(String sessionId, String key) {
-        ConversationMemory memory = memoryStore.get(sessionId);
-        if (memory == null) {
-            return null;
-        }
-        return memory.getContext(key);
+        return memoryStore.find(sessionId)
+            .<T>map(memory -> memory.getContext(key))
+            .orElse(null);
     }
-    
+
     /**
      * 清除對話記憶
      */
     public void clearMemory(String sessionId) {
         memoryStore.remove(sessionId);
     }
-    
+
     /**
      * 清理過期記憶
+     *
+     * 推進到期時間輪，只處理到期槽位中的 Session。
      */
+    @Scheduled(fixedDelayString = "${agent.core.memory.timer-tick-millis:1000}")
     public void cleanupExpiredMemories() {
-        memoryStore.entrySet().removeIf(entry -> entry.getValue().isExpired());
+        memoryStore.expireDue();
     }
-    
+
     /**
      * 取得記憶統計
      */
     public MemoryStats getStats() {
-        int total = memoryStore.size();
-        int expired = (int) memoryStore.values().stream()
-            .filter(ConversationMemory::isExpired)
-            .count();
-        return new MemoryStats(total, total - expired, expired);
+        ConversationMemoryStore.Stats stats = memoryStore.stats();
+        return new MemoryStats(
+            stats.resident() + stats.spilled(),
+            stats.resident(),
+            stats.spilled(),
+            stats.residentBytes(),
+            stats.budgetBytes(),
+            stats.expirations(),
+            stats.evictions()
+        );
     }
-    
-    public record MemoryStats(int total, int active, int expired) {}
+
+    /**
+     * 記憶統計
+     *
+     * @param total          Session 總數（常駐 + 溢出）
+     * @param active         常駐 Heap 的 Session 數量
+     * @param spilled        已溢出到磁碟的 Session 數量
+     * @param estimatedBytes 常駐 Session 的估算用量
+     * @param budgetBytes    用量預算
+     * @param expired        累計過期數
+     * @param evicted        累計因預算逐出數
+     */
+    public record MemoryStats(int total, int active, int spilled, long estimatedBytes, long budgetBytes,
+            long expired, long evicted) {}
 }
@@ -1,78 +1,168 @@
 package solid.humank.genaidemo.agents.customerservice.memory;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 /**
  * 對話記憶
- * 
+ *
  * 儲存單一對話 Session 的短期記憶，包括對話歷史和上下文。
+ *
+ * 對話歷史使用固定容量的環形緩衝區，超過容量時直接覆寫最舊的訊息（O(1)），
+ * 並以增量方式維護使用者輪數與估算記憶體用量，供 {@link ConversationMemoryStore} 做預算控管。
  */
 public class ConversationMemory {
-    
-    private static final int MAX_HISTORY_SIZE = 20;
+
+    private static final int DEFAULT_MAX_HISTORY_SIZE = 20;
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
-    
+
+    /** 估算用量時每個 Session 的固定開銷（物件標頭、緩衝區陣列、上下文 Map） */
+    static final long BASE_OVERHEAD_BYTES = 512;
+    /** 估算用量時每則訊息的固定開銷（Message record、String、Instant） */
+    static final long MESSAGE_OVERHEAD_BYTES = 96;
+    /** 估算用量時每個上下文項目的固定開銷 */
+    static final long CONTEXT_ENTRY_OVERHEAD_BYTES = 64;
+
     private final String sessionId;
-    private final List<Message> history;
+    private final Message[] history;
     private final Map<String, Object> context;
-    private Instant lastActivity;
     private final Duration ttl;
-    
+    private final Clock clock;
+    private final ReentrantLock historyLock = new ReentrantLock();
+
+    private int head;
+    private int size;
+    private int userTurnCount;
+    private long historyBytes;
+    private volatile long lastActivityMillis;
+
+    /** 上次計入 Store 預算的用量，由 {@link ConversationMemoryStore} 維護 */
+    long accountedBytes;
+    /** 是否常駐於 Store，由 {@link ConversationMemoryStore} 在鎖內維護 */
+    boolean resident;
+    /** 時間輪中是否已有此記憶的到期檢查，由 {@link ConversationMemoryStore} 在鎖內維護 */
+    boolean scheduled;
+
     public ConversationMemory(String sessionId) {
         this(sessionId, DEFAULT_TTL);
     }
-    
+
     public ConversationMemory(String sessionId, Duration ttl) {
+        this(sessionId, ttl, DEFAULT_MAX_HISTORY_SIZE, Clock.systemUTC());
+    }
+
+    public ConversationMemory(String sessionId, Duration ttl, int maxHistorySize, Clock clock) {
+        if (maxHistorySize <= 0) {
+            throw new IllegalArgumentException("maxHistorySize must be positive");
+        }
         this.sessionId = sessionId;
-        this.history = new ArrayList<>();
-        this.context = new java.util.HashMap<>();
-        this.lastActivity = Instant.now();
+        this.history = new Message[maxHistorySize];
+        this.context = new ConcurrentHashMap<>();
         this.ttl = ttl;
+        this.clock = clock;
+        this.lastActivityMillis = clock.millis();
     }
-    
+
     /**
      * 新增使用者訊息
      */
     public void addUserMessage(String content) {
-        addMessage(new Message(Role.USER, content, Instant.now()));
+        addMessage(new Message(Role.USER, content, clock.instant()));
     }
-    
+
     /**
      * 新增助手訊息
      */
     public void addAssistantMessage(String content) {
-        addMessage(new Message(Role.ASSISTANT, content, Instant.now()));
+        addMessage(new Message(Role.ASSISTANT, content, clock.instant()));
     }
-    
+
     private void addMessage(Message message) {
-        history.add(message);
-        lastActivity = Instant.now();
-        
-        // 保持歷史記錄在限制內
-        while (history.size() > MAX_HISTORY_SIZE) {
-            history.remove(0);
+        historyLock.lock();
+        try {
+            appendToRing(message);
+        } finally {
+            historyLock.unlock();
+        }
+        touch();
+    }
+
+    private void appendToRing(Message message) {
+        int tail = (head + size) % history.length;
+        if (size == history.length) {
+            // 緩衝區已滿：覆寫最舊的訊息
+            Message evicted = history[head];
+            forget(evicted);
+            head = (head + 1) % history.length;
+        } else {
+            size++;
+        }
+        history[tail] = message;
+        historyBytes += estimateBytes(message);
+        if (message.role() == Role.USER) {
+            userTurnCount++;
         }
     }
-    
+
+    private void forget(Message message) {
+        historyBytes -= estimateBytes(message);
+        if (message.role() == Role.USER) {
+            userTurnCount--;
+        }
+    }
+
     /**
      * 取得對話歷史
      */
     public List<Message> getHistory() {
-        return List.copyOf(history);
+        historyLock.lock();
+        try {
+            List<Message> snapshot = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                snapshot.add(history[(head + i) % history.length]);
+            }
+            return List.copyOf(snapshot);
+        } finally {
+            historyLock.unlock();
+        }
     }
-    
+
     /**
-     * 設定上下文變數
+     * 將對話歷史依序轉換為其他型別，只配置一次結果清單
+     */
+    public <R> List<R> mapHistory(Function<Message, R> mapper) {
+        historyLock.lock();
+        try {
+            List<R> mapped = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                mapped.add(mapper.apply(history[(head + i) % history.length]));
+            }
+            return Collections.unmodifiableList(mapped);
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    /**
+     * 設定上下文變數，值為 null 時移除該變數
      */
     public void setContext(String key, Object value) {
-        context.put(key, value);
-        lastActivity = Instant.now();
+        if (value == null) {
+            context.remove(key);
+        } else {
+            context.put(key, value);
+        }
+        touch();
     }
-    
+
     /**
      * 取得上下文變數
      */
@@ -80,38 +170,113 @@ public class ConversationMemory {
     public <T> T getContext(String key) {
         return (T) context.get(key);
     }
-    
+
+    /**
+     * 取得上下文快照
+     */
+    public Map<String, Object> getContextSnapshot() {
+        return Map.copyOf(context);
+    }
+
     /**
      * 檢查記憶是否過期
      */
     public boolean isExpired() {
-        return Instant.now().isAfter(lastActivity.plus(ttl));
+        return clock.millis() >= expiresAtMillis();
     }
-    
+
+    /**
+     * 取得到期時間（epoch 毫秒）
+     */
+    public long expiresAtMillis() {
+        return lastActivityMillis + ttl.toMillis();
+    }
+
     /**
      * 取得對話輪數
      */
     public int getTurnCount() {
-        return (int) history.stream()
-            .filter(m -> m.role() == Role.USER)
-            .count();
+        historyLock.lock();
+        try {
+            return userTurnCount;
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    /**
+     * 估算此記憶佔用的 Heap 位元組數
+     * 歷史部分為增量維護，上下文通常只有少數項目，直接計算。
+     */
+    public long estimatedBytes() {
+        long bytes = BASE_OVERHEAD_BYTES;
+        historyLock.lock();
+        try {
+            bytes += historyBytes;
+        } finally {
+            historyLock.unlock();
+        }
+        for (Map.Entry<String, Object> entry : context.entrySet()) {
+            bytes += CONTEXT_ENTRY_OVERHEAD_BYTES + 2L * entry.getKey().length();
+            if (entry.getValue() instanceof CharSequence text) {
+                bytes += 2L * text.length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 是否可以寫入溢出儲存
+     * 只有上下文值皆為字串、數字或布林時才能無損序列化。
+     */
+    public boolean isSpillable() {
+        return context.values().stream()
+            .allMatch(value -> value instanceof String || value instanceof Number || value instanceof Boolean);
     }
-    
+
     public String getSessionId() {
         return sessionId;
     }
-    
+
     public Instant getLastActivity() {
-        return lastActivity;
+        return Instant.ofEpochMilli(lastActivityMillis);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public int getMaxHistorySize() {
+        return history.length;
+    }
+
+    private void touch() {
+        lastActivityMillis = clock.millis();
     }
-    
+
+    /**
+     * 從溢出儲存還原記憶
+     */
+    static ConversationMemory restore(String sessionId, Duration ttl, int maxHistorySize, Clock clock,
+            Instant lastActivity, List<Message> messages, Map<String, Object> context) {
+        ConversationMemory memory = new ConversationMemory(sessionId, ttl, maxHistorySize, clock);
+        messages.forEach(memory::appendToRing);
+        memory.context.putAll(context);
+        memory.lastActivityMillis = lastActivity.toEpochMilli();
+        return memory;
+    }
+
+    private static long estimateBytes(Message message) {
+        return MESSAGE_OVERHEAD_BYTES + 2L * (message.content() != null ? message.content().length() : 0);
+    }
+
     /**
      * 訊息角色
      */
     public enum Role {
         USER, ASSISTANT, SYSTEM
     }
-    
+
     /**
      * 對話訊息
      */
@@ -0,0 +1,133 @@
+package solid.humank.genaidemo.agents.customerservice.memory;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 對話記憶配置屬性
+ *
+ * 配置範例：
+ * ```yaml
+ * agent:
+ *   core:
+ *     memory:
+ *       max-history-size: 50
+ *       expiration-minutes: 60
+ *       budget-mb: 256
+ *       timer-tick-millis: 1000
+ *       wheel-size: 512
+ *       spill:
+ *         enabled: true
+ *         directory: /var/tmp/agent-memory
+ *         idle-minutes: 5
+ * ```
+ */
+@Configuration
+@ConfigurationProperties(prefix = "agent.core.memory")
+public class ConversationMemoryProperties {
+
+    /** 每個 Session 保留的對話訊息數量（環形緩衝區容量） */
+    private int maxHistorySize = 50;
+
+    /** Session 閒置多久後過期 */
+    private long expirationMinutes = 60;
+
+    /** 所有常駐 Session 的估算 Heap 用量上限，超過時以 LRU 逐出 */
+    private long budgetMb = 256;
+
+    /** 到期時間輪的刻度 */
+    private long timerTickMillis = 1000;
+
+    /** 到期時間輪的槽位數量 */
+    private int wheelSize = 512;
+
+    /** 溢出儲存配置 */
+    private Spill spill = new Spill();
+
+    public int getMaxHistorySize() {
+        return maxHistorySize;
+    }
+
+    public void setMaxHistorySize(int maxHistorySize) {
+        this.maxHistorySize = maxHistorySize;
+    }
+
+    public long getExpirationMinutes() {
+        return expirationMinutes;
+    }
+
+    public void setExpirationMinutes(long expirationMinutes) {
+        this.expirationMinutes = expirationMinutes;
+    }
+
+    public long getBudgetMb() {
+        return budgetMb;
+    }
+
+    public void setBudgetMb(long budgetMb) {
+        this.budgetMb = budgetMb;
+    }
+
+    public long getTimerTickMillis() {
+        return timerTickMillis;
+    }
+
+    public void setTimerTickMillis(long timerTickMillis) {
+        this.timerTickMillis = timerTickMillis;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public Spill getSpill() {
+        return spill;
+    }
+
+    public void setSpill(Spill spill) {
+        this.spill = spill;
+    }
+
+    /**
+     * 溢出儲存配置
+     */
+    public static class Spill {
+
+        /** 是否將閒置或被逐出的 Session 寫入磁碟 */
+        private boolean enabled = false;
+
+        /** 溢出檔案目錄 */
+        private String directory = System.getProperty("java.io.tmpdir") + "/agent-memory-spill";
+
+        /** Session 閒置多久後移出 Heap */
+        private long idleMinutes = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public long getIdleMinutes() {
+            return idleMinutes;
+        }
+
+        public void setIdleMinutes(long idleMinutes) {
+            this.idleMinutes = idleMinutes;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package solid.humank.genaidemo.agents.customerservice.memory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 有界對話記憶儲存
+ *
+ * - 常駐 Session 以存取順序的 LinkedHashMap 維護 LRU 順序，估算用量超過預算時逐出最久未使用者
+ * - 過期與閒置檢查由 {@link ExpiryTimerWheel} 驅動，不需要掃描全部 Session
+ * - 被逐出或閒置的 Session 可寫入 {@link ConversationSpillStore}，再次存取時還原
+ *
+ * 所有統計皆以計數器維護，查詢為 O(1)。
+ *
+ * 記憶內容的變更透過 {@link #update} 在鎖內進行，與逐出及閒置溢出互斥，不會遺失更新。
+ * 溢出寫入不在鎖內進行：鎖內只把 Session 移入待溢出佇列，釋放鎖後再依序寫入檔案；
+ * 寫入完成前存取的 Session 直接從佇列取回，寫入中被取回或移除的 Session 會刪除過時的檔案。
+ */
+public class ConversationMemoryStore {
+
+    private static final long SPILL_PURGE_INTERVAL_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final LinkedHashMap<String, ConversationMemory> resident = new LinkedHashMap<>(1024, 0.75f, true);
+    /** 已離開常駐集合、等待寫入溢出儲存的 Session，以 lock 保護 */
+    private final LinkedHashMap<String, PendingSpill> pendingSpills = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    /** 序列化溢出檔案的寫入與刪除，避免同一 Session 的新舊內容互相覆寫；不可在持有 lock 時取得 */
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final ExpiryTimerWheel<ConversationMemory> timerWheel;
+    private final ConversationSpillStore spillStore;
+    private final Clock clock;
+    private final Duration ttl;
+    private final int maxHistorySize;
+    private final long budgetBytes;
+    private final long idleSpillMillis;
+
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder spills = new LongAdder();
+    private final LongAdder restores = new LongAdder();
+
+    private long residentBytes;
+    /** 正在寫入溢出儲存的 Session ID，寫入期間不從溢出儲存還原，以 lock 保護 */
+    private String spillInFlight;
+    private volatile long lastSpillPurgeMillis;
+
+    public ConversationMemoryStore(ConversationMemoryProperties properties, ConversationSpillStore spillStore,
+            Clock clock) {
+        this.spillStore = spillStore;
+        this.clock = clock;
+        this.ttl = Duration.ofMinutes(properties.getExpirationMinutes());
+        this.maxHistorySize = properties.getMaxHistorySize();
+        this.budgetBytes = properties.getBudgetMb() * 1024 * 1024;
+        this.idleSpillMillis = spillStore != ConversationSpillStore.NONE
+            ? Duration.ofMinutes(properties.getSpill().getIdleMinutes()).toMillis()
+            : 0;
+        this.timerWheel = new ExpiryTimerWheel<>(properties.getWheelSize(), properties.getTimerTickMillis(),
+            clock.millis());
+        this.lastSpillPurgeMillis = clock.millis();
+    }
+
+    /**
+     * 取得 Session 記憶，不存在或已過期時建立新的記憶
+     * 回傳的記憶只供讀取，變更請使用 {@link #update}。
+     */
+    public ConversationMemory getOrCreate(String sessionId) {
+        lock.lock();
+        try {
+            return lookupOrCreate(sessionId);
+        } finally {
+            lock.unlock();
+            flushPendingSpills();
+        }
+    }
+
+    /**
+     * 在鎖內變更 Session 記憶並重新計算用量，超過預算時逐出最久未使用的 Session
+     * 變更與逐出、閒置溢出互斥，因此不會寫入一個已離開 Store 的記憶而遺失更新。
+     *
+     * @param sessionId 不存在或已過期時建立新的記憶
+     * @param mutation  對記憶的變更，不應進行耗時操作
+     */
+    public void update(String sessionId, Consumer<ConversationMemory> mutation) {
+        lock.lock();
+        try {
+            ConversationMemory memory = lookupOrCreate(sessionId);
+            mutation.accept(memory);
+            long bytes = memory.estimatedBytes();
+            residentBytes += bytes - memory.accountedBytes;
+            memory.accountedBytes = bytes;
+            evictOverBudget(memory);
+        } finally {
+            lock.unlock();
+            flushPendingSpills();
+        }
+    }
+
+    /**
+     * 取得 Session 記憶，不存在或已過期時不建立
+     */
+    public Optional<ConversationMemory> find(String sessionId) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(lookup(sessionId));
+        } finally {
+            lock.unlock();
+            flushPendingSpills();
+        }
+    }
+
+    /**
+     * 移除 Session 記憶，包含已溢出的資料
+     */
+    public void remove(String sessionId) {
+        lock.lock();
+        try {
+            ConversationMemory memory = resident.remove(sessionId);
+            if (memory != null) {
+                release(memory);
+            }
+            pendingSpills.remove(sessionId);
+        } finally {
+            lock.unlock();
+        }
+        // 等待進行中的寫入完成後再刪除，寫入中的過時檔案由寫入端自行刪除
+        spillLock.lock();
+        try {
+            spillStore.delete(sessionId);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * 推進到期時間輪，處理到期與閒置的 Session
+     */
+    public void expireDue() {
+        long now = clock.millis();
+        timerWheel.advance(now, this::onDue);
+        flushPendingSpills();
+        if (now - lastSpillPurgeMillis >= SPILL_PURGE_INTERVAL_MILLIS) {
+            lastSpillPurgeMillis = now;
+            expirations.add(spillStore.purgeExpired(now));
+        }
+    }
+
+    /**
+     * 取得儲存統計
+     */
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(resident.size(), spillStore.size() + pendingSpills.size(), residentBytes, budgetBytes,
+                expirations.sum(), evictions.sum(), spills.sum(), restores.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 時間輪中尚未到期的檢查數量
+     */
+    int scheduledChecks() {
+        return timerWheel.pendingCount();
+    }
+
+    private ConversationMemory lookupOrCreate(String sessionId) {
+        ConversationMemory memory = lookup(sessionId);
+        if (memory == null) {
+            memory = new ConversationMemory(sessionId, ttl, maxHistorySize, clock);
+            admit(memory);
+        }
+        return memory;
+    }
+
+    private ConversationMemory lookup(String sessionId) {
+        ConversationMemory memory = resident.get(sessionId);
+        if (memory != null && memory.isExpired()) {
+            resident.remove(sessionId);
+            release(memory);
+            expirations.increment();
+            memory = null;
+        }
+        if (memory == null) {
+            // 尚未寫入的 Session 直接取回原物件，寫入中的檔案可能是過時內容
+            PendingSpill pending = pendingSpills.remove(sessionId);
+            memory = pending != null ? pending.memory : null;
+            if (memory == null && !sessionId.equals(spillInFlight)) {
+                memory = spillStore.read(sessionId).orElse(null);
+            }
+            if (memory != null && memory.isExpired()) {
+                expirations.increment();
+                memory = null;
+            }
+            if (memory != null) {
+                restores.increment();
+                admit(memory);
+            }
+        }
+        return memory;
+    }
+
+    private void admit(ConversationMemory memory) {
+        resident.put(memory.getSessionId(), memory);
+        memory.resident = true;
+        memory.accountedBytes = memory.estimatedBytes();
+        residentBytes += memory.accountedBytes;
+        if (!memory.scheduled) {
+            // 從待溢出佇列取回的記憶仍保有原本的到期檢查，最近活動只會讓到期時間延後，到期時再重新排程即可
+            memory.scheduled = true;
+            timerWheel.schedule(memory, nextCheckMillis(memory));
+        }
+        evictOverBudget(memory);
+    }
+
+    private void release(ConversationMemory memory) {
+        memory.resident = false;
+        residentBytes -= memory.accountedBytes;
+        memory.accountedBytes = 0;
+    }
+
+    private void evictOverBudget(ConversationMemory protectedMemory) {
+        Iterator<Map.Entry<String, ConversationMemory>> eldestFirst = resident.entrySet().iterator();
+        while (residentBytes > budgetBytes && eldestFirst.hasNext()) {
+            ConversationMemory victim = eldestFirst.next().getValue();
+            if (victim == protectedMemory) {
+                continue;
+            }
+            eldestFirst.remove();
+            release(victim);
+            evictions.increment();
+            if (spillEnabled() && victim.isSpillable()) {
+                pendingSpills.put(victim.getSessionId(), new PendingSpill(victim));
+            }
+        }
+    }
+
+    private void onDue(ConversationMemory memory) {
+        lock.lock();
+        try {
+            memory.scheduled = false;
+            if (!memory.resident) {
+                // 已被移除、逐出或被新記憶取代的過時排程
+                return;
+            }
+            long now = clock.millis();
+            if (memory.isExpired()) {
+                resident.remove(memory.getSessionId());
+                release(memory);
+                expirations.increment();
+            } else if (idleSpillMillis > 0 && now - memory.getLastActivity().toEpochMilli() >= idleSpillMillis
+                    && memory.isSpillable()) {
+                resident.remove(memory.getSessionId());
+                release(memory);
+                pendingSpills.put(memory.getSessionId(), new PendingSpill(memory));
+            } else {
+                memory.scheduled = true;
+                timerWheel.schedule(memory, nextCheckMillis(memory));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 在鎖外依序寫入待溢出的 Session
+     * 寫入期間 Session 可能被取回、再次逐出或移除；寫入完成後佇列中仍是同一筆才算溢出成功，
+     * 否則刪除剛寫入的過時檔案。寫入失敗的 Session 視同丟棄，與逐出時的語意一致。
+     * 已有其他執行緒在寫入時直接返回，由該執行緒接手佇列中的 Session。
+     */
+    private void flushPendingSpills() {
+        if (!spillEnabled() || !spillLock.tryLock()) {
+            return;
+        }
+        try {
+            while (true) {
+                PendingSpill pending;
+                lock.lock();
+                try {
+                    if (pendingSpills.isEmpty()) {
+                        return;
+                    }
+                    pending = pendingSpills.values().iterator().next();
+                    spillInFlight = pending.memory.getSessionId();
+                } finally {
+                    lock.unlock();
+                }
+
+                String sessionId = pending.memory.getSessionId();
+                boolean written = spillStore.write(pending.memory);
+                boolean current;
+                lock.lock();
+                try {
+                    current = pendingSpills.remove(sessionId, pending);
+                    if (written && current) {
+                        spills.increment();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (written && !current) {
+                    spillStore.delete(sessionId);
+                }
+                lock.lock();
+                try {
+                    spillInFlight = null;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private boolean spillEnabled() {
+        return spillStore != ConversationSpillStore.NONE;
+    }
+
+    private long nextCheckMillis(ConversationMemory memory) {
+        long expiresAt = memory.expiresAtMillis();
+        if (idleSpillMillis <= 0) {
+            return expiresAt;
+        }
+        long idleAt = memory.getLastActivity().toEpochMilli() + idleSpillMillis;
+        // 無法溢出的 Session 只需等到過期
+        return memory.isSpillable() ? Math.min(expiresAt, idleAt) : expiresAt;
+    }
+
+    /**
+     * 待溢出的項目；每次排入都是新實例，以身分比對判斷寫入期間是否被取回後再次排入
+     */
+    private static final class PendingSpill {
+        private final ConversationMemory memory;
+
+        private PendingSpill(ConversationMemory memory) {
+            this.memory = memory;
+        }
+    }
+
+    /**
+     * 儲存統計
+     *
+     * @param resident      常駐 Heap 的 Session 數量
+     * @param spilled       已溢出的 Session 數量
+     * @param residentBytes 常駐 Session 的估算用量
+     * @param budgetBytes   用量預算
+     * @param expirations   累計過期數
+     * @param evictions     累計因預算逐出數
+     * @param spills        累計溢出數
+     * @param restores      累計還原數
+     */
+    public record Stats(int resident, int spilled, long residentBytes, long budgetBytes,
+            long expirations, long evictions, long spills, long restores) {}
+}
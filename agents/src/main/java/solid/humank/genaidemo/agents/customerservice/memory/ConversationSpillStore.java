@@ -0,0 +1,69 @@
+package solid.humank.genaidemo.agents.customerservice.memory;
+
+import java.util.Optional;
+
+/**
+ * 對話記憶溢出儲存
+ *
+ * 閒置或因預算不足而被逐出的 Session 會寫入此儲存，再次存取時還原回 Heap。
+ * 這是減輕 Heap 壓力的分層，不保證跨行程重啟的持久性。
+ */
+public interface ConversationSpillStore {
+
+    /** 不啟用溢出時使用的空實作，逐出的 Session 直接丟棄 */
+    ConversationSpillStore NONE = new ConversationSpillStore() {
+        @Override
+        public boolean write(ConversationMemory memory) {
+            return false;
+        }
+
+        @Override
+        public Optional<ConversationMemory> read(String sessionId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void delete(String sessionId) {
+            // 無資料可刪除
+        }
+
+        @Override
+        public int purgeExpired(long nowMillis) {
+            return 0;
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    };
+
+    /**
+     * 寫入對話記憶
+     *
+     * @return 是否寫入成功；失敗時呼叫端視同丟棄
+     */
+    boolean write(ConversationMemory memory);
+
+    /**
+     * 讀出並移除對話記憶
+     */
+    Optional<ConversationMemory> read(String sessionId);
+
+    /**
+     * 刪除對話記憶
+     */
+    void delete(String sessionId);
+
+    /**
+     * 清除已過期的對話記憶
+     *
+     * @return 清除數量
+     */
+    int purgeExpired(long nowMillis);
+
+    /**
+     * 目前儲存的 Session 數量
+     */
+    int size();
+}
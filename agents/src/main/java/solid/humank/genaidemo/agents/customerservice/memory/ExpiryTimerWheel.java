@@ -0,0 +1,96 @@
+package solid.humank.genaidemo.agents.customerservice.memory;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 到期時間輪
+ *
+ * 以固定刻度將項目分散到環形槽位，每次推進只處理經過的槽位，
+ * 排程與到期檢查皆為 O(1) 攤銷成本，不需要掃描全部 Session。
+ * 槽位中尚未到期的項目（距離超過一圈）會留在原槽位等待下一圈。
+ *
+ * @param <T> 排程項目類型
+ */
+final class ExpiryTimerWheel<T> {
+
+    private final Queue<Entry<T>>[] slots;
+    private final long tickMillis;
+    private final ReentrantLock advanceLock = new ReentrantLock();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    ExpiryTimerWheel(int wheelSize, long tickMillis, long startMillis) {
+        if (wheelSize <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("wheelSize and tickMillis must be positive");
+        }
+        this.slots = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 排程項目在指定時間到期
+     * 到期刻度向上取整，確保項目不會在到期前被觸發；已過期的時間會排到下一個刻度。
+     */
+    void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        slots[(int) (deadlineTick % slots.length)].add(new Entry<>(item, deadlineTick));
+        pending.incrementAndGet();
+    }
+
+    /**
+     * 推進時間輪到指定時間，對每個到期項目呼叫 onDue
+     * 同一時間只允許一個執行緒推進，其他呼叫者直接返回。
+     */
+    void advance(long nowMillis, Consumer<T> onDue) {
+        if (!advanceLock.tryLock()) {
+            return;
+        }
+        try {
+            long targetTick = nowMillis / tickMillis;
+            long ticksToProcess = Math.min(targetTick - currentTick, slots.length);
+            for (long i = 1; i <= ticksToProcess; i++) {
+                long tick = currentTick + i;
+                // 跨越超過一圈時每個槽位只走一次，並以目標刻度判斷到期
+                long dueTick = ticksToProcess == slots.length ? targetTick : tick;
+                expireSlot(slots[(int) (tick % slots.length)], dueTick, onDue);
+            }
+            if (targetTick > currentTick) {
+                currentTick = targetTick;
+            }
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+
+    private void expireSlot(Queue<Entry<T>> slot, long dueTick, Consumer<T> onDue) {
+        Iterator<Entry<T>> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.deadlineTick() <= dueTick) {
+                iterator.remove();
+                pending.decrementAndGet();
+                onDue.accept(entry.item());
+            }
+        }
+    }
+
+    /**
+     * 取得尚未到期的排程數量
+     */
+    int pendingCount() {
+        return pending.get();
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {}
+}
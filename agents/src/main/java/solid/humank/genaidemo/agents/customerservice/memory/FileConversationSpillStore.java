@@ -0,0 +1,277 @@
+package solid.humank.genaidemo.agents.customerservice.memory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 以本機檔案實作的對話記憶溢出儲存
+ *
+ * 每個 Session 一個小檔案，檔名為 Session ID 的 SHA-256，避免路徑注入。
+ * 使用自訂二進位格式而非 Java 序列化，只接受字串、數字與布林上下文值。
+ * Heap 中只保留 Session ID 到到期時間的索引，供清除過期檔案使用。
+ */
+public class FileConversationSpillStore implements ConversationSpillStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileConversationSpillStore.class);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_SUFFIX = ".spill";
+
+    private static final byte TYPE_STRING = 'S';
+    private static final byte TYPE_INTEGER = 'I';
+    private static final byte TYPE_LONG = 'L';
+    private static final byte TYPE_DOUBLE = 'D';
+    private static final byte TYPE_DECIMAL = 'N';
+    private static final byte TYPE_BOOLEAN = 'B';
+
+    private final Path directory;
+    private final Clock clock;
+    private final Map<String, Long> expiryIndex = new ConcurrentHashMap<>();
+
+    public FileConversationSpillStore(Path directory, Clock clock) {
+        this.directory = directory;
+        this.clock = clock;
+        initializeDirectory();
+    }
+
+    /**
+     * 建立目錄並清除上次行程遺留的檔案，溢出層不提供跨重啟的持久性
+     */
+    private void initializeDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+                for (Path leftover : leftovers) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to initialize spill directory " + directory, e);
+        }
+    }
+
+    @Override
+    public boolean write(ConversationMemory memory) {
+        if (!memory.isSpillable()) {
+            return false;
+        }
+        Path target = fileFor(memory.getSessionId());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            writeMemory(out, memory);
+        } catch (IOException e) {
+            log.warn("Failed to spill conversation memory for session {}", memory.getSessionId(), e);
+            deleteQuietly(temp);
+            return false;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to commit spill file for session {}", memory.getSessionId(), e);
+            deleteQuietly(temp);
+            return false;
+        }
+        expiryIndex.put(memory.getSessionId(), memory.expiresAtMillis());
+        return true;
+    }
+
+    @Override
+    public Optional<ConversationMemory> read(String sessionId) {
+        Long expiresAt = expiryIndex.remove(sessionId);
+        if (expiresAt == null) {
+            return Optional.empty();
+        }
+        Path file = fileFor(sessionId);
+        if (expiresAt <= clock.millis()) {
+            deleteQuietly(file);
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return Optional.of(readMemory(in));
+        } catch (IOException e) {
+            log.warn("Failed to restore spilled conversation memory for session {}", sessionId, e);
+            return Optional.empty();
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        if (expiryIndex.remove(sessionId) != null) {
+            deleteQuietly(fileFor(sessionId));
+        }
+    }
+
+    @Override
+    public int purgeExpired(long nowMillis) {
+        int purged = 0;
+        for (Map.Entry<String, Long> entry : expiryIndex.entrySet()) {
+            if (entry.getValue() <= nowMillis && expiryIndex.remove(entry.getKey(), entry.getValue())) {
+                deleteQuietly(fileFor(entry.getKey()));
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    @Override
+    public int size() {
+        return expiryIndex.size();
+    }
+
+    private void writeMemory(DataOutputStream out, ConversationMemory memory) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, memory.getSessionId());
+        out.writeLong(memory.getTtl().toMillis());
+        out.writeInt(memory.getMaxHistorySize());
+        out.writeLong(memory.getLastActivity().toEpochMilli());
+
+        List<ConversationMemory.Message> history = memory.getHistory();
+        out.writeInt(history.size());
+        for (ConversationMemory.Message message : history) {
+            out.writeByte(message.role().ordinal());
+            writeString(out, message.content());
+            out.writeLong(message.timestamp().getEpochSecond());
+            out.writeInt(message.timestamp().getNano());
+        }
+
+        Map<String, Object> context = memory.getContextSnapshot();
+        out.writeInt(context.size());
+        for (Map.Entry<String, Object> entry : context.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private ConversationMemory readMemory(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported spill format version: " + version);
+        }
+        String sessionId = readString(in);
+        Duration ttl = Duration.ofMillis(in.readLong());
+        int maxHistorySize = in.readInt();
+        Instant lastActivity = Instant.ofEpochMilli(in.readLong());
+
+        int messageCount = in.readInt();
+        List<ConversationMemory.Message> messages = new ArrayList<>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            ConversationMemory.Role role = ConversationMemory.Role.values()[in.readByte()];
+            String content = readString(in);
+            Instant timestamp = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            messages.add(new ConversationMemory.Message(role, content, timestamp));
+        }
+
+        int contextSize = in.readInt();
+        Map<String, Object> context = new LinkedHashMap<>();
+        for (int i = 0; i < contextSize; i++) {
+            context.put(readString(in), readValue(in));
+        }
+
+        return ConversationMemory.restore(sessionId, ttl, maxHistorySize, clock, lastActivity, messages, context);
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case String text -> {
+                out.writeByte(TYPE_STRING);
+                writeString(out, text);
+            }
+            case Integer number -> {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt(number);
+            }
+            case Long number -> {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(number);
+            }
+            case Double number -> {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(number);
+            }
+            case Number number -> {
+                out.writeByte(TYPE_DECIMAL);
+                writeString(out, number.toString());
+            }
+            case Boolean flag -> {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(flag);
+            }
+            default -> throw new IOException("Unsupported context value type: " + value.getClass().getName());
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_STRING -> readString(in);
+            case TYPE_INTEGER -> in.readInt();
+            case TYPE_LONG -> in.readLong();
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_DECIMAL -> new BigDecimal(readString(in));
+            case TYPE_BOOLEAN -> in.readBoolean();
+            default -> throw new IOException("Unknown context value type: " + type);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private Path fileFor(String sessionId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sessionId.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + FILE_SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete spill file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package solid.humank.genaidemo.agents.customerservice.service;
+
+import solid.humank.genaidemo.agents.common.AgentResponse;
+import solid.humank.genaidemo.agents.common.ToolResult;
+
+/**
+ * Agent 串流回應監聽器
+ * 
+ * 串流模式下，{@link CustomerServiceAgentService} 依處理進度回呼此介面：
+ * LLM 文字片段先送出，Tool 結果依調用順序陸續送出，最後送出完整回應。
+ * 所有 {@link #onText} 片段依序串接即為最終回應訊息。
+ */
+public interface AgentStreamListener {
+    
+    /** 不接收任何事件的監聽器 */
+    AgentStreamListener NONE = new AgentStreamListener() {};
+    
+    /**
+     * 回應文字片段
+     */
+    default void onText(String text) {}
+    
+    /**
+     * Tool 開始執行
+     */
+    default void onToolStarted(String toolName) {}
+    
+    /**
+     * Tool 執行完成（含逾時或失敗）
+     */
+    default void onToolCompleted(String toolName, ToolResult result) {}
+    
+    /**
+     * 處理完成
+     */
+    default void onComplete(AgentResponse response) {}
+}
@@ -1,7 +1,11 @@
 package solid.humank.genaidemo.agents.customerservice.service;
 
+import jakarta.annotation.PreDestroy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import solid.humank.genaidemo.agents.common.AgentContext;
@@ -18,23 +22,35 @@ import solid.humank.genaidemo.agents.customerservice.client.AgentCoreClient.Tool
 import solid.humank.genaidemo.agents.customerservice.memory.AgentMemoryService;
 import solid.humank.genaidemo.agents.customerservice.memory.ConversationMemory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 智能客服 Agent 服務
  * 
  * 核心 Agent 服務，協調 LLM、Tools 和 Memory 來處理客戶請求。
+ * 同一輪的多個 Tool 調用在 Virtual Thread 上並行執行，並支援串流回應。
  */
 @Service
 public class CustomerServiceAgentService {
     
     private static final Logger log = LoggerFactory.getLogger(CustomerServiceAgentService.class);
     
+    /** 單一 Tool 的預設逾時 */
+    static final long DEFAULT_TOOL_TIMEOUT_MILLIS = 5000;
+    
     private final AgentCoreClient agentCoreClient;
     private final AgentMemoryService memoryService;
     private final ToolRegistry toolRegistry;
+    private final Duration toolTimeout;
+    private final ExecutorService toolExecutor = Executors.newVirtualThreadPerTaskExecutor();
     
     private static final String SYSTEM_PROMPT = """
         你是電商平台的智能客服助手「小幫手」。
@@ -65,15 +81,39 @@ public class CustomerServiceAgentService {
             AgentCoreClient agentCoreClient,
             AgentMemoryService memoryService,
             ToolRegistry toolRegistry) {
+        this(agentCoreClient, memoryService, toolRegistry, DEFAULT_TOOL_TIMEOUT_MILLIS);
+    }
+    
+    @Autowired
+    public CustomerServiceAgentService(
+            AgentCoreClient agentCoreClient,
+            AgentMemoryService memoryService,
+            ToolRegistry toolRegistry,
+            @Value("${agent.core.tools.timeout-millis:" + DEFAULT_TOOL_TIMEOUT_MILLIS + "}") long toolTimeoutMillis) {
         this.agentCoreClient = agentCoreClient;
         this.memoryService = memoryService;
         this.toolRegistry = toolRegistry;
+        this.toolTimeout = Duration.ofMillis(toolTimeoutMillis);
     }
     
     /**
      * 處理客戶請求
      */
     public AgentResponse process(AgentContext context) {
+        return process(context, AgentStreamListener.NONE);
+    }
+    
+    /**
+     * 以串流方式處理客戶請求
+     * 
+     * LLM 產生的文字會先送給監聽器，之後 Tool 結果依調用順序陸續送出，
+     * 讓使用者在 Tool 執行完成前就能看到回應。
+     */
+    public AgentResponse processStreaming(AgentContext context, AgentStreamListener listener) {
+        return process(context, listener);
+    }
+    
+    private AgentResponse process(AgentContext context, AgentStreamListener listener) {
         long startTime = System.currentTimeMillis();
         
         log.info("Processing request for session: {}", context.sessionId());
@@ -84,7 +124,7 @@ public class CustomerServiceAgentService {
         // 2. 構建對話歷史
         List<ConversationMessage> conversationHistory = buildConversationHistory(memory);
         
-        // 3. 構建 Agent 請求
+        // 3. 構建 Agent 請求（工具定義由 ToolRegistry 快取）
         AgentCoreRequest request = AgentCoreRequest.builder()
             .systemPrompt(SYSTEM_PROMPT)
             .userMessage(context.message())
@@ -93,15 +133,18 @@ public class CustomerServiceAgentService {
             .build();
         
         // 4. 調用 AgentCore
-        AgentCoreResponse coreResponse = agentCoreClient.invoke(request);
+        AgentCoreResponse coreResponse = listener == AgentStreamListener.NONE
+            ? agentCoreClient.invoke(request)
+            : agentCoreClient.invokeStreaming(request, listener::onText);
         
         // 5. 執行 Tool 調用（如果有）
         String finalMessage = coreResponse.message();
         List<AgentAction> actions = new ArrayList<>();
         
         if (coreResponse.hasToolCalls()) {
-            ToolExecutionResult toolResult = executeToolCalls(coreResponse.toolCalls());
-            finalMessage = toolResult.message();
+            ToolExecutionResult toolResult = executeToolCalls(coreResponse.toolCalls(), listener);
+            // 已送出的前導文字保留在最終訊息中，與串流內容一致
+            finalMessage = finalMessage != null ? finalMessage + toolResult.message() : toolResult.message();
             actions.addAll(toolResult.actions());
         }
         
@@ -111,7 +154,7 @@ public class CustomerServiceAgentService {
         // 7. 構建回應
         long processingTime = System.currentTimeMillis() - startTime;
         
-        return AgentResponse.builder()
+        AgentResponse response = AgentResponse.builder()
             .sessionId(context.sessionId())
             .message(finalMessage)
             .actions(actions)
@@ -123,41 +166,78 @@ public class CustomerServiceAgentService {
                 processingTime
             ))
             .build();
+        listener.onComplete(response);
+        return response;
     }
     
     private List<ConversationMessage> buildConversationHistory(ConversationMemory memory) {
-        return memory.getHistory().stream()
-            .map(msg -> new ConversationMessage(
-                msg.role().name().toLowerCase(),
-                msg.content()
-            ))
-            .toList();
+        return memory.mapHistory(msg -> new ConversationMessage(
+            msg.role().name().toLowerCase(),
+            msg.content()
+        ));
     }
     
-    private ToolExecutionResult executeToolCalls(List<ToolCall> toolCalls) {
+    /**
+     * 並行執行 Tool 調用
+     * 
+     * 每個 Tool 在獨立的 Virtual Thread 上同時開始執行，總耗時取決於最慢的 Tool 而非總和。
+     * 結果仍依調用順序組裝，逾時的 Tool 會被中斷並回傳錯誤結果，不影響其他 Tool。
+     */
+    private ToolExecutionResult executeToolCalls(List<ToolCall> toolCalls, AgentStreamListener listener) {
+        List<Future<ToolResult>> pending = new ArrayList<>(toolCalls.size());
+        for (ToolCall toolCall : toolCalls) {
+            log.info("Executing tool: {} with arguments: {}", toolCall.toolName(), toolCall.arguments());
+            listener.onToolStarted(toolCall.toolName());
+            pending.add(toolExecutor.submit(
+                () -> toolRegistry.executeTool(toolCall.toolName(), toolCall.arguments())));
+        }
+        
+        // 所有 Tool 同時開始，共用同一個截止時間即為各自的逾時
+        long deadline = System.nanoTime() + toolTimeout.toNanos();
         StringBuilder messageBuilder = new StringBuilder();
         List<AgentAction> actions = new ArrayList<>();
         
-        for (ToolCall toolCall : toolCalls) {
-            log.info("Executing tool: {} with arguments: {}", toolCall.toolName(), toolCall.arguments());
+        for (int i = 0; i < toolCalls.size(); i++) {
+            ToolCall toolCall = toolCalls.get(i);
+            ToolResult result = awaitToolResult(toolCall.toolName(), pending.get(i), deadline);
+            listener.onToolCompleted(toolCall.toolName(), result);
             
-            ToolResult result = toolRegistry.executeTool(toolCall.toolName(), toolCall.arguments());
-            
-            if (result.success()) {
-                messageBuilder.append(result.message());
-                
-                // 根據工具類型添加對應的 Action
-                if ("get_order_status".equals(toolCall.toolName())) {
-                    actions.add(AgentAction.showOrder(result.data()));
-                }
-            } else {
+            if (result.message() != null) {
                 messageBuilder.append(result.message());
+                listener.onText(result.message());
+            }
+            
+            // 根據工具類型添加對應的 Action
+            if (result.success() && "get_order_status".equals(toolCall.toolName())) {
+                actions.add(AgentAction.showOrder(result.data()));
             }
         }
         
         return new ToolExecutionResult(messageBuilder.toString(), actions);
     }
     
+    private ToolResult awaitToolResult(String toolName, Future<ToolResult> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Tool {} timed out after {} ms", toolName, toolTimeout.toMillis());
+            return ToolResult.error("查詢 " + toolName + " 逾時，請稍後再試。");
+        } catch (ExecutionException e) {
+            log.error("Tool {} failed", toolName, e.getCause());
+            return ToolResult.error("執行 " + toolName + " 時發生錯誤: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return ToolResult.error("執行 " + toolName + " 時被中斷");
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        toolExecutor.shutdownNow();
+    }
+    
     private String detectIntent(String message) {
         String lowerMessage = message.toLowerCase();
         
@@ -85,6 +85,26 @@ class ToolRegistryTest {
         assertThat(result.message()).contains("Tool not found");
     }
 
+    @Test
+    @DisplayName("工具定義應該快取直到註冊變更")
+    void should_cache_tool_definitions_until_registry_changes() {
+        // Given
+        toolRegistry.register(createMockTool("tool-1", "工具1"));
+        String first = toolRegistry.generateToolDefinitions();
+
+        // When
+        String cached = toolRegistry.generateToolDefinitions();
+        toolRegistry.register(createMockTool("tool-2", "工具2"));
+        String afterRegister = toolRegistry.generateToolDefinitions();
+        toolRegistry.unregister("tool-1");
+        String afterUnregister = toolRegistry.generateToolDefinitions();
+
+        // Then
+        assertThat(cached).isSameAs(first);
+        assertThat(afterRegister).contains("tool-1", "tool-2");
+        assertThat(afterUnregister).contains("tool-2").doesNotContain("tool-1");
+    }
+
     private AgentTool createMockTool(String name, String description) {
         return new AgentTool() {
             @Override
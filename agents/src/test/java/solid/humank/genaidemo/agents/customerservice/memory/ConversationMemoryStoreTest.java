@@ -0,0 +1,293 @@
+package solid.humank.genaidemo.agents.customerservice.memory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ConversationMemoryStore 單元測試
+ */
+@DisplayName("ConversationMemoryStore 單元測試")
+class ConversationMemoryStoreTest {
+
+    private MutableClock clock;
+    private ConversationMemoryProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        properties = new ConversationMemoryProperties();
+        properties.setMaxHistorySize(4);
+        properties.setExpirationMinutes(30);
+        properties.setTimerTickMillis(1000);
+        properties.setWheelSize(64);
+    }
+
+    @Test
+    @DisplayName("環形緩衝區應該只保留最新訊息並維持輪數")
+    void should_keep_latest_messages_in_ring_buffer() {
+        // Given
+        ConversationMemory memory = new ConversationMemory("s-1", Duration.ofMinutes(30), 4, clock);
+
+        // When
+        for (int i = 1; i <= 3; i++) {
+            memory.addUserMessage("q" + i);
+            memory.addAssistantMessage("a" + i);
+        }
+
+        // Then
+        assertThat(memory.getHistory())
+            .extracting(ConversationMemory.Message::content)
+            .containsExactly("q2", "a2", "q3", "a3");
+        assertThat(memory.getTurnCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("超過用量預算時應該逐出最久未使用的 Session")
+    void should_evict_least_recently_used_session_when_over_budget() {
+        // Given
+        properties.setBudgetMb(0);
+        ConversationMemoryStore store = new ConversationMemoryStore(properties, ConversationSpillStore.NONE, clock);
+        store.getOrCreate("s-1");
+
+        // When
+        store.getOrCreate("s-2");
+
+        // Then - 預算為 0 時只保留最新存取的 Session
+        assertThat(store.stats().resident()).isEqualTo(1);
+        assertThat(store.stats().evictions()).isEqualTo(1);
+        assertThat(store.stats().residentBytes()).isPositive();
+        assertThat(store.find("s-2")).isPresent();
+        assertThat(store.find("s-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("時間輪推進後應該清除過期 Session")
+    void should_expire_sessions_through_timer_wheel() {
+        // Given
+        ConversationMemoryStore store = new ConversationMemoryStore(properties, ConversationSpillStore.NONE, clock);
+        store.getOrCreate("idle");
+        clock.advance(Duration.ofMinutes(20));
+        store.update("active", memory -> memory.addUserMessage("still here"));
+
+        // When
+        clock.advance(Duration.ofMinutes(11));
+        store.expireDue();
+
+        // Then
+        assertThat(store.stats().resident()).isEqualTo(1);
+        assertThat(store.stats().expirations()).isEqualTo(1);
+        assertThat(store.find("active")).isPresent();
+    }
+
+    @Test
+    @DisplayName("活動中的 Session 到期檢查時應該重新排程而非清除")
+    void should_reschedule_session_touched_after_scheduling() {
+        // Given
+        ConversationMemoryStore store = new ConversationMemoryStore(properties, ConversationSpillStore.NONE, clock);
+        store.getOrCreate("s-1");
+        clock.advance(Duration.ofMinutes(25));
+        store.update("s-1", memory -> memory.addUserMessage("hello"));
+
+        // When
+        clock.advance(Duration.ofMinutes(10));
+        store.expireDue();
+
+        // Then
+        assertThat(store.stats().resident()).isEqualTo(1);
+
+        // When - 最後活動後超過 TTL
+        clock.advance(Duration.ofMinutes(21));
+        store.expireDue();
+
+        // Then
+        assertThat(store.stats().resident()).isZero();
+    }
+
+    @Test
+    @DisplayName("閒置 Session 應該溢出到磁碟並在存取時還原")
+    void should_spill_idle_session_and_restore_on_access(@TempDir Path spillDirectory) {
+        // Given
+        properties.getSpill().setEnabled(true);
+        properties.getSpill().setIdleMinutes(5);
+        ConversationSpillStore spillStore = new FileConversationSpillStore(spillDirectory, clock);
+        ConversationMemoryStore store = new ConversationMemoryStore(properties, spillStore, clock);
+        store.update("s-1", memory -> {
+            memory.addUserMessage("我想查詢訂單");
+            memory.addAssistantMessage("請提供訂單編號");
+            memory.setContext("orderId", "ORD-001");
+            memory.setContext("attempts", 2);
+        });
+        ConversationMemory memory = store.getOrCreate("s-1");
+
+        // When
+        clock.advance(Duration.ofMinutes(6));
+        store.expireDue();
+
+        // Then
+        assertThat(store.stats().resident()).isZero();
+        assertThat(store.stats().spilled()).isEqualTo(1);
+
+        // When
+        ConversationMemory restored = store.getOrCreate("s-1");
+
+        // Then
+        assertThat(restored).isNotSameAs(memory);
+        assertThat(restored.getHistory())
+            .extracting(ConversationMemory.Message::content)
+            .containsExactly("我想查詢訂單", "請提供訂單編號");
+        assertThat(restored.getTurnCount()).isEqualTo(1);
+        assertThat(restored.<String>getContext("orderId")).isEqualTo("ORD-001");
+        assertThat(restored.<Integer>getContext("attempts")).isEqualTo(2);
+        assertThat(store.stats().restores()).isEqualTo(1);
+        assertThat(store.stats().spilled()).isZero();
+    }
+
+    @Test
+    @DisplayName("更新已被逐出的 Session 時應該還原後套用而不遺失")
+    void should_apply_update_to_evicted_session(@TempDir Path spillDirectory) {
+        // Given - 預算為 0，存取 s-2 時 s-1 被逐出並溢出
+        properties.setBudgetMb(0);
+        properties.getSpill().setEnabled(true);
+        ConversationSpillStore spillStore = new FileConversationSpillStore(spillDirectory, clock);
+        ConversationMemoryStore store = new ConversationMemoryStore(properties, spillStore, clock);
+        store.update("s-1", memory -> memory.addUserMessage("第一則"));
+        store.getOrCreate("s-2");
+        assertThat(store.stats().spills()).isEqualTo(1);
+
+        // When
+        store.update("s-1", memory -> memory.addUserMessage("第二則"));
+
+        // Then
+        assertThat(store.stats().restores()).isEqualTo(1);
+        assertThat(store.find("s-1").orElseThrow().getHistory())
+            .extracting(ConversationMemory.Message::content)
+            .containsExactly("第一則", "第二則");
+    }
+
+    @Test
+    @DisplayName("清除記憶時應該同時刪除溢出資料")
+    void should_remove_spilled_data_when_cleared(@TempDir Path spillDirectory) {
+        // Given
+        properties.getSpill().setEnabled(true);
+        properties.getSpill().setIdleMinutes(1);
+        ConversationSpillStore spillStore = new FileConversationSpillStore(spillDirectory, clock);
+        ConversationMemoryStore store = new ConversationMemoryStore(properties, spillStore, clock);
+        store.update("s-1", memory -> memory.addUserMessage("hi"));
+        clock.advance(Duration.ofMinutes(2));
+        store.expireDue();
+
+        // When
+        store.remove("s-1");
+
+        // Then
+        assertThat(store.stats().spilled()).isZero();
+        assertThat(store.find("s-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("從待溢出佇列反覆取回的 Session 不應該在時間輪中重複排程")
+    void should_not_reschedule_sessions_readmitted_from_pending_spills() throws Exception {
+        // Given - 預算為 0，背景執行緒寫入 s-1 時卡住，之後逐出的 Session 都留在待溢出佇列
+        properties.setBudgetMb(0);
+        BlockingSpillStore spillStore = new BlockingSpillStore();
+        ConversationMemoryStore store = new ConversationMemoryStore(properties, spillStore, clock);
+        store.getOrCreate("s-1");
+        Thread writer = new Thread(() -> store.getOrCreate("s-2"));
+        writer.start();
+        assertThat(spillStore.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When - s-1 與 s-2 輪流從待溢出佇列取回，並把另一個逐出
+        for (int i = 0; i < 10; i++) {
+            store.getOrCreate("s-1");
+            store.getOrCreate("s-2");
+        }
+
+        // Then
+        assertThat(store.scheduledChecks()).isEqualTo(2);
+        spillStore.release.countDown();
+        writer.join(5_000);
+        assertThat(writer.isAlive()).isFalse();
+    }
+
+    /**
+     * 寫入時阻塞直到放行的溢出儲存
+     */
+    private static final class BlockingSpillStore implements ConversationSpillStore {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public boolean write(ConversationMemory memory) {
+            writing.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public Optional<ConversationMemory> read(String sessionId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void delete(String sessionId) {
+            // 不保存資料
+        }
+
+        @Override
+        public int purgeExpired(long nowMillis) {
+            return 0;
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -9,16 +9,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import solid.humank.genaidemo.agents.common.AgentContext;
 import solid.humank.genaidemo.agents.common.AgentResponse;
 import solid.humank.genaidemo.agents.common.ToolRegistry;
+import solid.humank.genaidemo.agents.common.ToolResult;
 import solid.humank.genaidemo.agents.customerservice.client.AgentCoreClient;
 import solid.humank.genaidemo.agents.customerservice.client.AgentCoreClient.AgentCoreResponse;
+import solid.humank.genaidemo.agents.customerservice.client.AgentCoreClient.ToolCall;
 import solid.humank.genaidemo.agents.customerservice.memory.AgentMemoryService;
 import solid.humank.genaidemo.agents.customerservice.memory.ConversationMemory;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -137,4 +143,113 @@ class CustomerServiceAgentServiceTest {
         // Then
         verify(memoryService).updateMemory(sessionId, userMessage, agentResponse);
     }
+
+    @Test
+    @DisplayName("多個 Tool 調用應該並行執行並依調用順序組裝回應")
+    void should_execute_tool_calls_concurrently_in_call_order() {
+        // Given
+        String sessionId = "test-session-parallel";
+        AgentContext context = new AgentContext(sessionId, "customer-004", "訂單 ORD-1 到哪了", "zh-TW", Map.of());
+
+        when(memoryService.loadMemory(sessionId)).thenReturn(new ConversationMemory(sessionId));
+        when(toolRegistry.generateToolDefinitions()).thenReturn("[]");
+        when(agentCoreClient.invoke(any())).thenReturn(new AgentCoreResponse(null, List.of(
+            new ToolCall("get_order_status", Map.of("order_id", "ORD-1")),
+            new ToolCall("get_logistics", Map.of("order_id", "ORD-1"))
+        ), "tool_use"));
+        when(toolRegistry.executeTool(eq("get_order_status"), any()))
+            .thenAnswer(invocation -> slowResult(300, "訂單已出貨。"));
+        when(toolRegistry.executeTool(eq("get_logistics"), any()))
+            .thenAnswer(invocation -> slowResult(300, "預計明天送達。"));
+
+        // When
+        long start = System.nanoTime();
+        AgentResponse response = agentService.process(context);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(response.message()).isEqualTo("訂單已出貨。預計明天送達。");
+        assertThat(response.actions()).hasSize(1);
+        assertThat(elapsedMillis).isLessThan(550);
+    }
+
+    @Test
+    @DisplayName("逾時的 Tool 應該回傳錯誤而不阻塞其他 Tool")
+    void should_return_error_for_timed_out_tool() {
+        // Given
+        agentService = new CustomerServiceAgentService(agentCoreClient, memoryService, toolRegistry, 100);
+        String sessionId = "test-session-timeout";
+        AgentContext context = new AgentContext(sessionId, "customer-005", "訂單 ORD-2", "zh-TW", Map.of());
+
+        when(memoryService.loadMemory(sessionId)).thenReturn(new ConversationMemory(sessionId));
+        when(toolRegistry.generateToolDefinitions()).thenReturn("[]");
+        when(agentCoreClient.invoke(any())).thenReturn(new AgentCoreResponse(null, List.of(
+            new ToolCall("get_order_status", Map.of("order_id", "ORD-2")),
+            new ToolCall("get_logistics", Map.of("order_id", "ORD-2"))
+        ), "tool_use"));
+        when(toolRegistry.executeTool(eq("get_order_status"), any()))
+            .thenReturn(ToolResult.success("訂單處理中。", Map.of("orderId", "ORD-2")));
+        when(toolRegistry.executeTool(eq("get_logistics"), any()))
+            .thenAnswer(invocation -> slowResult(5_000, "不應出現"));
+
+        // When
+        AgentResponse response = agentService.process(context);
+
+        // Then
+        assertThat(response.message()).startsWith("訂單處理中。").contains("get_logistics", "逾時");
+        assertThat(response.actions()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("串流模式應該先送出 LLM 文字再依序送出 Tool 結果")
+    void should_stream_text_before_tool_results() {
+        // Given
+        String sessionId = "test-session-stream";
+        AgentContext context = new AgentContext(sessionId, "customer-006", "訂單 ORD-3", "zh-TW", Map.of());
+
+        when(memoryService.loadMemory(sessionId)).thenReturn(new ConversationMemory(sessionId));
+        when(toolRegistry.generateToolDefinitions()).thenReturn("[]");
+        when(agentCoreClient.invokeStreaming(any(), any())).thenAnswer(invocation -> {
+            Consumer<String> onText = invocation.getArgument(1);
+            onText.accept("正在為您查詢，");
+            return new AgentCoreResponse("正在為您查詢，",
+                List.of(new ToolCall("get_order_status", Map.of("order_id", "ORD-3"))), "tool_use");
+        });
+        when(toolRegistry.executeTool(eq("get_order_status"), any()))
+            .thenReturn(ToolResult.success("訂單已送達。", Map.of()));
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        AgentStreamListener listener = new AgentStreamListener() {
+            @Override
+            public void onText(String text) {
+                events.add("text:" + text);
+            }
+
+            @Override
+            public void onToolStarted(String toolName) {
+                events.add("started:" + toolName);
+            }
+
+            @Override
+            public void onComplete(AgentResponse response) {
+                events.add("done:" + response.message());
+            }
+        };
+
+        // When
+        agentService.processStreaming(context, listener);
+
+        // Then
+        assertThat(events).containsExactly(
+            "text:正在為您查詢，",
+            "started:get_order_status",
+            "text:訂單已送達。",
+            "done:正在為您查詢，訂單已送達。"
+        );
+    }
+
+    private static ToolResult slowResult(long delayMillis, String message) throws InterruptedException {
+        Thread.sleep(delayMillis);
+        return ToolResult.success(message, Map.of());
+    }
 }
@@ -24,6 +24,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
         "solid.humank.genaidemo.infrastructure.pricing.persistence.entity",
         "solid.humank.genaidemo.infrastructure.delivery.persistence.entity",
         "solid.humank.genaidemo.infrastructure.observability.persistence.entity",
+        "solid.humank.genaidemo.infrastructure.event.persistence.entity",
+        "solid.humank.genaidemo.infrastructure.saga.persistence.entity",
+        "solid.humank.genaidemo.infrastructure.stats.persistence.entity",
         "solid.humank.genaidemo.infrastructure.entity"
 })
 public class GenAiDemoApplication {
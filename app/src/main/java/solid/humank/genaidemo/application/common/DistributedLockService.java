@@ -1,6 +1,7 @@
 package solid.humank.genaidemo.application.common;
 
 import java.time.Duration;
+import java.util.OptionalLong;
 import java.util.function.Supplier;
 
 import org.springframework.stereotype.Service;
@@ -57,7 +58,7 @@ public class DistributedLockService {
         log.debug("Attempting to acquire lock: {} with waitTime: {} and leaseTime: {}",
                 lockKey, waitTime, leaseTime);
 
-        boolean acquired = lockManager.tryLock(lockKey, leaseTime, waitTime);
+        boolean acquired = lockManager.tryLock(lockKey, waitTime, leaseTime);
 
         if (!acquired) {
             String message = String.format("Failed to acquire lock '%s' within %s", lockKey, waitTime);
@@ -113,6 +114,18 @@ public class DistributedLockService {
         return lockManager.isLocked(lockKey);
     }
 
+    /**
+     * Gets the fencing token of a lock held by the current thread.
+     * Pass it along with writes to the protected resource so that writes from
+     * a holder whose lease has already expired can be rejected.
+     *
+     * @param lockKey the unique key for the lock
+     * @return the fencing token, or empty if not held or not supported
+     */
+    public OptionalLong getFencingToken(String lockKey) {
+        return lockManager.getFencingToken(lockKey);
+    }
+
     /**
      * Gets information about a lock.
      *
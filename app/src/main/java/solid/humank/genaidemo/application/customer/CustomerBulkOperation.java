@@ -0,0 +1,96 @@
+package solid.humank.genaidemo.application.customer;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import solid.humank.genaidemo.application.customer.port.outgoing.CustomerBulkUpdatePort.CustomerChange;
+import solid.humank.genaidemo.application.customer.port.outgoing.CustomerBulkUpdatePort.CustomerRow;
+import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
+
+/**
+ * 客戶批量操作
+ * 每種操作把讀取到的客戶狀態轉為以原版本號為條件的變更，不需要變更時回傳 null
+ */
+public enum CustomerBulkOperation {
+
+    /** 依消費總額重新計算會員等級 */
+    REFRESH_MEMBERSHIP("refresh_membership") {
+        @Override
+        public CustomerChange apply(CustomerRow row) {
+            MembershipLevel level = levelForSpending(row.effectiveSpending());
+            if (level == row.membershipLevel()) {
+                return null;
+            }
+            return new CustomerChange(row.customerId(), row.version(), level, row.rewardPoints());
+        }
+    },
+
+    /** 依會員等級添加忠誠度獎勵點數 */
+    ADD_LOYALTY_BONUS("add_loyalty_bonus") {
+        @Override
+        public CustomerChange apply(CustomerRow row) {
+            int bonus = switch (row.membershipLevel()) {
+                case STANDARD -> 50;
+                case SILVER -> 100;
+                case GOLD -> 200;
+                case PLATINUM -> 300;
+                case VIP -> 500;
+            };
+            return new CustomerChange(row.customerId(), row.version(), row.membershipLevel(),
+                    Math.addExact(row.rewardPoints(), bonus));
+        }
+    };
+
+    private static final BigDecimal VIP_THRESHOLD = BigDecimal.valueOf(100000);
+    private static final BigDecimal PLATINUM_THRESHOLD = BigDecimal.valueOf(50000);
+    private static final BigDecimal GOLD_THRESHOLD = BigDecimal.valueOf(20000);
+    private static final BigDecimal SILVER_THRESHOLD = BigDecimal.valueOf(5000);
+
+    private final String code;
+
+    CustomerBulkOperation(String code) {
+        this.code = code;
+    }
+
+    /**
+     * 計算單一客戶的變更
+     *
+     * @param row 客戶目前狀態
+     * @return 變更，不需要寫入時為 null
+     */
+    public abstract CustomerChange apply(CustomerRow row);
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 依操作代碼取得操作
+     *
+     * @param code 操作代碼，不分大小寫
+     * @return 對應的操作
+     * @throws IllegalArgumentException 未知的操作代碼
+     */
+    public static CustomerBulkOperation fromCode(String code) {
+        String normalized = code == null ? "" : code.toLowerCase(Locale.ROOT);
+        for (CustomerBulkOperation operation : values()) {
+            if (operation.code.equals(normalized)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown batch operation: " + code);
+    }
+
+    private static MembershipLevel levelForSpending(BigDecimal spending) {
+        if (spending.compareTo(VIP_THRESHOLD) >= 0) {
+            return MembershipLevel.VIP;
+        } else if (spending.compareTo(PLATINUM_THRESHOLD) >= 0) {
+            return MembershipLevel.PLATINUM;
+        } else if (spending.compareTo(GOLD_THRESHOLD) >= 0) {
+            return MembershipLevel.GOLD;
+        } else if (spending.compareTo(SILVER_THRESHOLD) >= 0) {
+            return MembershipLevel.SILVER;
+        }
+        return MembershipLevel.STANDARD;
+    }
+}
@@ -0,0 +1,21 @@
+package solid.humank.genaidemo.application.customer;
+
+/**
+ * 客戶批量更新進度
+ *
+ * @param total     去除重複後的客戶數
+ * @param succeeded 已成功處理的客戶數（含不需變更者）
+ * @param notFound  不存在的客戶數
+ * @param failed    重試用盡仍衝突或批次執行失敗的客戶數
+ * @param requeued  因版本衝突重新排入佇列的累計次數
+ */
+public record CustomerBulkUpdateProgress(int total, int succeeded, int notFound, int failed, int requeued) {
+
+    public int processed() {
+        return succeeded + notFound + failed;
+    }
+
+    public boolean isComplete() {
+        return processed() >= total;
+    }
+}
@@ -0,0 +1,15 @@
+package solid.humank.genaidemo.application.customer;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** 客戶游標分頁數據傳輸對象 */
+@Schema(description = "客戶游標分頁查詢結果，以上一頁回傳的游標取得下一頁，頁數深時效能不會下降")
+public record CustomerCursorPageDto(
+                @Schema(description = "客戶列表", requiredMode = Schema.RequiredMode.REQUIRED) List<CustomerDto> content,
+                @Schema(description = "總客戶數量（近似值）", example = "150", requiredMode = Schema.RequiredMode.REQUIRED) int totalElements,
+                @Schema(description = "每頁大小", example = "20", requiredMode = Schema.RequiredMode.REQUIRED) int size,
+                @Schema(description = "下一頁游標，沒有下一頁時為 null", example = "MjAyNC0wMS0xNXxjdXN0LTEyMzQ1", nullable = true) String nextCursor,
+                @Schema(description = "是否有下一頁", example = "true", requiredMode = Schema.RequiredMode.REQUIRED) boolean hasNext) {
+}
@@ -0,0 +1,41 @@
+package solid.humank.genaidemo.application.customer.port.outgoing;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
+
+/**
+ * 客戶批量更新端口
+ * 以集合為單位讀取與寫入客戶的會員等級與點數，不載入完整聚合根；
+ * 寫入以版本號為條件，版本不符的資料列視為衝突交由呼叫端重新排入佇列。
+ */
+public interface CustomerBulkUpdatePort {
+
+    /**
+     * 讀取一批客戶的目前狀態
+     * 消費總額包含帳本中尚未折疊的消費，與折疊後的判斷一致
+     *
+     * @param customerIds 客戶ID列表
+     * @return 存在的客戶資料列，不存在的ID不會出現在結果中
+     */
+    List<CustomerRow> loadChunk(List<String> customerIds);
+
+    /**
+     * 在單一短交易中以 JDBC 批次寫入變更
+     *
+     * @param changes 變更列表
+     * @return 版本號不符（被其他交易更新）而未寫入的客戶ID
+     */
+    List<String> applyChunk(List<CustomerChange> changes);
+
+    /** 客戶目前狀態 */
+    record CustomerRow(String customerId, long version, MembershipLevel membershipLevel, int rewardPoints,
+            BigDecimal effectiveSpending) {
+    }
+
+    /** 以讀取時的版本號為條件的變更 */
+    record CustomerChange(String customerId, long expectedVersion, MembershipLevel membershipLevel,
+            int rewardPoints) {
+    }
+}
@@ -1,15 +1,22 @@
 package solid.humank.genaidemo.application.customer.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import solid.humank.genaidemo.application.customer.CustomerCursorPageDto;
 import solid.humank.genaidemo.application.customer.CustomerDto;
 import solid.humank.genaidemo.application.customer.CustomerPageDto;
 import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.customer.model.aggregate.Customer;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerTotals;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerSummary;
 import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
 import solid.humank.genaidemo.domain.customer.repository.CustomerRepository;
 import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
@@ -23,46 +30,71 @@ import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
 @Service
 public class CustomerApplicationService {
 
+        /** 列表每頁最大筆數 */
+        static final int MAX_PAGE_SIZE = 100;
+
+        private static final String CURSOR_SEPARATOR = "|";
+
         private final CustomerRepository customerRepository;
+        private final CustomerLedgerService customerLedgerService;
 
-        public CustomerApplicationService(CustomerRepository customerRepository) {
+        public CustomerApplicationService(CustomerRepository customerRepository,
+                        CustomerLedgerService customerLedgerService) {
                 this.customerRepository = customerRepository;
+                this.customerLedgerService = customerLedgerService;
         }
 
         /**
          * 根據消費金額自動升級會員等級
+         * 先折疊帳本中尚未累加的點數與消費，再以折疊後的消費總額判斷升級門檻
          * 
          * @param customerId     客戶ID
-         * @param totalSpending  總消費金額
          * @param spendingAmount 本次消費金額
          */
         @Transactional
-        public void upgradeCustomerMembershipBasedOnSpending(String customerId, Money totalSpending,
-                        Money spendingAmount) {
-                Optional<Customer> customerOpt = customerRepository.findById(new CustomerId(customerId));
+        public void upgradeCustomerMembershipBasedOnSpending(String customerId, Money spendingAmount) {
+                customerRepository.findById(new CustomerId(customerId))
+                                .ifPresent(customer -> foldAndUpgrade(customer, spendingAmount));
+        }
 
-                if (customerOpt.isPresent()) {
-                        Customer customer = customerOpt.get();
+        /**
+         * 折疊客戶帳本
+         * 將未折疊的點數與消費差額累加進客戶聚合根，並以折疊後的消費總額判斷升級門檻
+         * 
+         * @param customerId 客戶ID
+         */
+        @Transactional
+        public void foldCustomerLedger(String customerId) {
+                customerRepository.findById(new CustomerId(customerId))
+                                .ifPresent(customer -> foldAndUpgrade(customer, null));
+        }
 
-                        // 根據總消費金額決定會員等級升級
-                        MembershipLevel newLevel = determineNewMembershipLevel(totalSpending,
-                                        customer.getMembershipLevel());
+        private void foldAndUpgrade(Customer customer, Money spendingAmount) {
+                CustomerLedgerTotals folded = customerLedgerService.foldInto(customer);
+                Money bonusBase = spendingAmount != null ? spendingAmount : folded.spendingDelta();
 
-                        if (newLevel != customer.getMembershipLevel()) {
-                                // 自動升級會員等級
-                                customer.upgradeMembershipLevel(newLevel);
+                // 根據折疊後的總消費金額決定會員等級升級
+                MembershipLevel newLevel = determineNewMembershipLevel(customer.getTotalSpending(),
+                                customer.getMembershipLevel());
+                // 只升不降：既有等級可能來自其他途徑（例如手動調整）
+                boolean upgraded = newLevel.ordinal() > customer.getMembershipLevel().ordinal();
 
-                                // 根據消費金額給予紅利點數
-                                int bonusPoints = calculateBonusPoints(spendingAmount, newLevel);
-                                if (bonusPoints > 0) {
-                                        customer.addRewardPoints(bonusPoints,
-                                                        "Bonus points for reaching " + newLevel + " membership level");
-                                }
+                if (upgraded) {
+                        // 自動升級會員等級
+                        customer.upgradeMembershipLevel(newLevel);
 
-                                // 保存更新後的客戶
-                                customerRepository.save(customer);
+                        // 根據消費金額給予紅利點數
+                        int bonusPoints = calculateBonusPoints(bonusBase, newLevel);
+                        if (bonusPoints > 0) {
+                                customer.addRewardPoints(bonusPoints,
+                                                "Bonus points for reaching " + newLevel + " membership level");
                         }
                 }
+
+                if (upgraded || !folded.isEmpty()) {
+                        // 保存更新後的客戶
+                        customerRepository.save(customer);
+                }
         }
 
         /**
@@ -105,19 +137,19 @@ public class CustomerApplicationService {
         // 私有輔助方法
         private MembershipLevel determineNewMembershipLevel(Money totalSpending, MembershipLevel currentLevel) {
                 // VIP: 消費滿 100,000
-                if (totalSpending.isGreaterThan(Money.twd(100000)) || totalSpending.equals(Money.twd(100000))) {
+                if (totalSpending.isGreaterThan(Money.twd(100000)) || totalSpending.isEqualTo(Money.twd(100000))) {
                         return MembershipLevel.VIP;
                 }
                 // PLATINUM: 消費滿 50,000
-                if (totalSpending.isGreaterThan(Money.twd(50000)) || totalSpending.equals(Money.twd(50000))) {
+                if (totalSpending.isGreaterThan(Money.twd(50000)) || totalSpending.isEqualTo(Money.twd(50000))) {
                         return MembershipLevel.PLATINUM;
                 }
                 // GOLD: 消費滿 20,000
-                if (totalSpending.isGreaterThan(Money.twd(20000)) || totalSpending.equals(Money.twd(20000))) {
+                if (totalSpending.isGreaterThan(Money.twd(20000)) || totalSpending.isEqualTo(Money.twd(20000))) {
                         return MembershipLevel.GOLD;
                 }
                 // SILVER: 消費滿 5,000
-                if (totalSpending.isGreaterThan(Money.twd(5000)) || totalSpending.equals(Money.twd(5000))) {
+                if (totalSpending.isGreaterThan(Money.twd(5000)) || totalSpending.isEqualTo(Money.twd(5000))) {
                         return MembershipLevel.SILVER;
                 }
                 // STANDARD: 預設等級
@@ -137,24 +169,21 @@ public class CustomerApplicationService {
 
         /**
          * 獲取客戶分頁列表
+         * 以單一投影查詢取得列表欄位，不逐筆載入客戶聚合根；總數由儲存庫維護的計數提供
          * 
          * @param page 頁碼
-         * @param size 每頁大小
+         * @param size 每頁大小，超過 {@value #MAX_PAGE_SIZE} 時以上限計算
          * @return 客戶分頁數據
          */
         public CustomerPageDto getCustomers(int page, int size) {
-                // 使用repository的分頁方法
-                List<CustomerId> customerIds = customerRepository.findCustomerIds(page, size);
-                int totalElements = customerRepository.countCustomers();
-
-                List<CustomerDto> customerDtos = customerIds.stream()
-                                .map(id -> customerRepository.findById(id))
-                                .filter(Optional::isPresent)
-                                .map(Optional::get)
+                int pageSize = boundedPageSize(size);
+                List<CustomerDto> customerDtos = customerRepository.findCustomerSummaries(page, pageSize)
+                                .stream()
                                 .map(this::convertToDto)
                                 .toList();
+                int totalElements = customerRepository.countCustomers();
 
-                int totalPages = (int) Math.ceil((double) totalElements / size);
+                int totalPages = (int) Math.ceil((double) totalElements / pageSize);
                 boolean isFirst = page == 0;
                 boolean isLast = page >= totalPages - 1;
 
@@ -162,12 +191,42 @@ public class CustomerApplicationService {
                                 customerDtos,
                                 totalElements,
                                 totalPages,
-                                size,
+                                pageSize,
                                 page,
                                 isFirst,
                                 isLast);
         }
 
+        /**
+         * 以游標獲取客戶列表
+         * 依註冊日期與客戶ID鍵集分頁，每頁成本與頁數深淺無關
+         * 
+         * @param cursor 上一頁回傳的游標，第一頁為 null
+         * @param size   每頁大小，超過 {@value #MAX_PAGE_SIZE} 時以上限計算
+         * @return 客戶游標分頁數據
+         * @throws IllegalArgumentException 游標格式無效
+         */
+        public CustomerCursorPageDto getCustomersAfter(String cursor, int size) {
+                int pageSize = boundedPageSize(size);
+                CursorPosition after = cursor == null || cursor.isBlank()
+                                ? new CursorPosition(null, null)
+                                : decodeCursor(cursor);
+
+                // 多取一筆判斷是否還有下一頁
+                List<CustomerSummary> summaries = customerRepository.findCustomerSummariesAfter(
+                                after.registrationDate(), after.customerId(), pageSize + 1);
+                boolean hasNext = summaries.size() > pageSize;
+                List<CustomerSummary> pageContent = hasNext ? summaries.subList(0, pageSize) : summaries;
+                String nextCursor = hasNext ? encodeCursor(pageContent.get(pageContent.size() - 1)) : null;
+
+                return new CustomerCursorPageDto(
+                                pageContent.stream().map(this::convertToDto).toList(),
+                                customerRepository.countCustomers(),
+                                pageSize,
+                                nextCursor,
+                                hasNext);
+        }
+
         /**
          * 根據ID獲取客戶
          * 
@@ -189,16 +248,64 @@ public class CustomerApplicationService {
                 return customerRepository.findById(new CustomerId(customerId)).isPresent();
         }
 
+        private static int boundedPageSize(int size) {
+                if (size <= 0) {
+                        throw new IllegalArgumentException("每頁大小必須大於 0");
+                }
+                return Math.min(size, MAX_PAGE_SIZE);
+        }
+
+        private static String encodeCursor(CustomerSummary last) {
+                String position = last.registrationDate() + CURSOR_SEPARATOR + last.customerId().getValue();
+                return Base64.getUrlEncoder().withoutPadding()
+                                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static CursorPosition decodeCursor(String cursor) {
+                try {
+                        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                        int separator = position.indexOf(CURSOR_SEPARATOR);
+                        if (separator <= 0 || separator == position.length() - 1) {
+                                throw new IllegalArgumentException("無效的分頁游標");
+                        }
+                        return new CursorPosition(
+                                        LocalDate.parse(position.substring(0, separator)),
+                                        CustomerId.of(position.substring(separator + 1)));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                        throw new IllegalArgumentException("無效的分頁游標", e);
+                }
+        }
+
         // 私有轉換方法
         private CustomerDto convertToDto(Customer customer) {
-                return new CustomerDto(
+                return toMaskedDto(
                                 customer.getId().getValue(),
-                                maskName(customer.getName().getName()),
-                                maskEmail(customer.getEmail().getEmail()),
-                                maskPhone(customer.getPhone() != null ? customer.getPhone().getPhone() : null),
-                                maskAddress(customer.getAddress() != null ? customer.getAddress().getFullAddress()
-                                                : null),
-                                customer.getMembershipLevel().name());
+                                customer.getName().getName(),
+                                customer.getEmail().getEmail(),
+                                customer.getPhone() != null ? customer.getPhone().getPhone() : null,
+                                customer.getAddress() != null ? customer.getAddress().getFullAddress() : null,
+                                customer.getMembershipLevel());
+        }
+
+        private CustomerDto convertToDto(CustomerSummary summary) {
+                return toMaskedDto(
+                                summary.customerId().getValue(),
+                                summary.name(),
+                                summary.email(),
+                                summary.phone(),
+                                summary.fullAddress(),
+                                summary.membershipLevel());
+        }
+
+        private CustomerDto toMaskedDto(String id, String name, String email, String phone, String address,
+                        MembershipLevel membershipLevel) {
+                return new CustomerDto(
+                                id,
+                                maskName(name),
+                                maskEmail(email),
+                                maskPhone(phone),
+                                maskAddress(address),
+                                membershipLevel.name());
         }
 
         private String maskName(String name) {
@@ -232,4 +339,8 @@ public class CustomerApplicationService {
                         return address;
                 return address.substring(0, 3) + "*".repeat(3) + address.substring(address.length() - 3);
         }
-}
\ No newline at end of file
+
+        /** 游標位置：上一頁最後一筆的排序鍵 */
+        private record CursorPosition(LocalDate registrationDate, CustomerId customerId) {
+        }
+}
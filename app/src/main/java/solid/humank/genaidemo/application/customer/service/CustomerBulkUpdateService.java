@@ -0,0 +1,194 @@
+package solid.humank.genaidemo.application.customer.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.application.customer.CustomerBulkOperation;
+import solid.humank.genaidemo.application.customer.CustomerBulkUpdateProgress;
+import solid.humank.genaidemo.application.customer.port.outgoing.CustomerBulkUpdatePort;
+import solid.humank.genaidemo.application.customer.port.outgoing.CustomerBulkUpdatePort.CustomerChange;
+import solid.humank.genaidemo.application.customer.port.outgoing.CustomerBulkUpdatePort.CustomerRow;
+
+/**
+ * 客戶批量更新服務
+ *
+ * 把客戶ID切成固定大小的批次，每批各自以一次讀取與一次 JDBC 批次寫入完成，
+ * 寫入使用短交易並以版本號為條件；只有版本衝突的客戶會重新排入佇列，不需等待重試。
+ * 批次以有限的並行度同時執行，整體處理不佔住單一交易或連線。
+ *
+ * 此路徑不載入聚合根，因此不產生領域事件，與原本逐筆批量更新的行為一致。
+ */
+@Service
+public class CustomerBulkUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerBulkUpdateService.class);
+
+    private final CustomerBulkUpdatePort customerBulkUpdatePort;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxAttempts;
+
+    public CustomerBulkUpdateService(CustomerBulkUpdatePort customerBulkUpdatePort,
+            @Value("${genai-demo.customer-bulk-update.chunk-size:500}") int chunkSize,
+            @Value("${genai-demo.customer-bulk-update.parallelism:4}") int parallelism,
+            @Value("${genai-demo.customer-bulk-update.max-attempts:3}") int maxAttempts) {
+        if (chunkSize <= 0 || parallelism <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Chunk size, parallelism and max attempts must be positive");
+        }
+        this.customerBulkUpdatePort = customerBulkUpdatePort;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 批量更新客戶
+     *
+     * @param customerIds 客戶ID列表，重複的ID只處理一次
+     * @param operation   批量操作
+     * @return 最終進度
+     */
+    public CustomerBulkUpdateProgress bulkUpdate(List<String> customerIds, CustomerBulkOperation operation) {
+        return bulkUpdate(customerIds, operation, progress -> {
+        });
+    }
+
+    /**
+     * 批量更新客戶並回報進度
+     *
+     * @param customerIds      客戶ID列表，重複的ID只處理一次
+     * @param operation        批量操作
+     * @param progressListener 每完成一個批次時呼叫，在呼叫端執行緒上執行
+     * @return 最終進度；執行緒被中斷時為中斷當下的進度
+     */
+    public CustomerBulkUpdateProgress bulkUpdate(List<String> customerIds, CustomerBulkOperation operation,
+            Consumer<CustomerBulkUpdateProgress> progressListener) {
+        Objects.requireNonNull(operation, "operation");
+        List<String> distinctIds = List.copyOf(new LinkedHashSet<>(customerIds));
+        Deque<Chunk> pending = new ArrayDeque<>();
+        enqueue(pending, distinctIds, 1);
+
+        logger.info("Starting bulk {} for {} customers in {} chunks",
+                operation.getCode(), distinctIds.size(), pending.size());
+
+        ProgressCounter counter = new ProgressCounter(distinctIds.size());
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("CustomerBulk-update-", 0).daemon(true).factory());
+        try {
+            CompletionService<ChunkResult> completion = new ExecutorCompletionService<>(executor);
+            int inFlight = 0;
+            while (!pending.isEmpty() || inFlight > 0) {
+                while (inFlight < parallelism && !pending.isEmpty()) {
+                    Chunk chunk = pending.poll();
+                    completion.submit(() -> process(chunk, operation));
+                    inFlight++;
+                }
+
+                ChunkResult result = completion.take().get();
+                inFlight--;
+                counter.record(result);
+
+                if (!result.conflicts().isEmpty()) {
+                    int nextAttempt = result.chunk().attempt() + 1;
+                    if (nextAttempt <= maxAttempts) {
+                        counter.requeued += result.conflicts().size();
+                        enqueue(pending, result.conflicts(), nextAttempt);
+                    } else {
+                        logger.warn("Giving up on {} customers after {} conflicting attempts",
+                                result.conflicts().size(), maxAttempts);
+                        counter.failed += result.conflicts().size();
+                    }
+                }
+
+                CustomerBulkUpdateProgress progress = counter.snapshot();
+                logger.debug("Bulk {} progress: {}/{} processed", operation.getCode(),
+                        progress.processed(), progress.total());
+                progressListener.accept(progress);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Bulk {} interrupted", operation.getCode());
+        } catch (ExecutionException e) {
+            // process() 自行處理批次失敗，不應到達此處
+            throw new IllegalStateException("Bulk update chunk failed unexpectedly", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CustomerBulkUpdateProgress finalProgress = counter.snapshot();
+        logger.info("Bulk {} completed: {} succeeded, {} not found, {} failed, {} requeued",
+                operation.getCode(), finalProgress.succeeded(), finalProgress.notFound(),
+                finalProgress.failed(), finalProgress.requeued());
+        return finalProgress;
+    }
+
+    private ChunkResult process(Chunk chunk, CustomerBulkOperation operation) {
+        try {
+            List<CustomerRow> rows = customerBulkUpdatePort.loadChunk(chunk.customerIds());
+            List<CustomerChange> changes = new ArrayList<>(rows.size());
+            for (CustomerRow row : rows) {
+                CustomerChange change = operation.apply(row);
+                if (change != null) {
+                    changes.add(change);
+                }
+            }
+            List<String> conflicts = customerBulkUpdatePort.applyChunk(changes);
+            return new ChunkResult(chunk, rows.size() - conflicts.size(), chunk.customerIds().size() - rows.size(),
+                    0, conflicts);
+        } catch (RuntimeException e) {
+            logger.warn("Bulk update chunk of {} customers failed: {}", chunk.customerIds().size(), e.getMessage());
+            return new ChunkResult(chunk, 0, 0, chunk.customerIds().size(), List.of());
+        }
+    }
+
+    private void enqueue(Deque<Chunk> pending, List<String> customerIds, int attempt) {
+        for (int from = 0; from < customerIds.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, customerIds.size());
+            pending.add(new Chunk(List.copyOf(customerIds.subList(from, to)), attempt));
+        }
+    }
+
+    private record Chunk(List<String> customerIds, int attempt) {
+    }
+
+    private record ChunkResult(Chunk chunk, int succeeded, int notFound, int failed, List<String> conflicts) {
+    }
+
+    /** 只在呼叫端執行緒上更新，不需同步 */
+    private static final class ProgressCounter {
+        private final int total;
+        private int succeeded;
+        private int notFound;
+        private int failed;
+        private int requeued;
+
+        private ProgressCounter(int total) {
+            this.total = total;
+        }
+
+        private void record(ChunkResult result) {
+            succeeded += result.succeeded();
+            notFound += result.notFound();
+            failed += result.failed();
+        }
+
+        private CustomerBulkUpdateProgress snapshot() {
+            return new CustomerBulkUpdateProgress(total, succeeded, notFound, failed, requeued);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package solid.humank.genaidemo.application.customer.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.customer.model.aggregate.Customer;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerEntry;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerTotals;
+import solid.humank.genaidemo.domain.customer.repository.CustomerLedgerRepository;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+
+/**
+ * 客戶點數/消費帳本服務
+ *
+ * 高並發的點數與消費累加只寫入帳本分錄，不讀取客戶聚合根也不做版本檢查；
+ * 需要完整狀態時（會員升級判斷、定期折疊）再一次把未折疊的分錄累加進聚合根。
+ */
+@Service
+public class CustomerLedgerService {
+
+        private final CustomerLedgerRepository customerLedgerRepository;
+
+        public CustomerLedgerService(CustomerLedgerRepository customerLedgerRepository) {
+                this.customerLedgerRepository = customerLedgerRepository;
+        }
+
+        /**
+         * 記錄新增的獎勵點數
+         *
+         * @param customerId 客戶ID
+         * @param points     點數
+         * @param reason     原因
+         */
+        @Transactional
+        public void recordRewardPoints(CustomerId customerId, int points, String reason) {
+                customerLedgerRepository.append(CustomerLedgerEntry.points(customerId, points, reason));
+        }
+
+        /**
+         * 記錄消費金額
+         *
+         * @param customerId  客戶ID
+         * @param amount      消費金額
+         * @param orderId     訂單ID
+         * @param description 描述
+         */
+        @Transactional
+        public void recordSpending(CustomerId customerId, Money amount, String orderId, String description) {
+                customerLedgerRepository.append(CustomerLedgerEntry.spending(customerId, amount, orderId, description));
+        }
+
+        /**
+         * 將未折疊的分錄累加進聚合根並標記為已折疊
+         * 必須與儲存聚合根在同一個交易中呼叫，任一步失敗時分錄保持未折疊，下次再處理
+         *
+         * @param customer 客戶聚合根
+         * @return 已折疊的加總，沒有分錄時為空加總
+         */
+        @Transactional
+        public CustomerLedgerTotals foldInto(Customer customer) {
+                CustomerLedgerTotals totals = customerLedgerRepository.findUnfoldedTotals(customer.getId());
+                if (totals.isEmpty()) {
+                        return totals;
+                }
+                customer.applyLedgerTotals(totals);
+                customerLedgerRepository.markFolded(customer.getId(), totals);
+                return totals;
+        }
+
+        /**
+         * 查詢有未折疊分錄的客戶
+         *
+         * @param limit 筆數上限
+         * @return 客戶ID列表
+         */
+        public List<CustomerId> findCustomersWithPendingEntries(int limit) {
+                return customerLedgerRepository.findCustomersWithUnfoldedEntries(limit);
+        }
+}
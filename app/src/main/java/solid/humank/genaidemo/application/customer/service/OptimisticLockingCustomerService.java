@@ -7,8 +7,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import solid.humank.genaidemo.application.customer.CustomerBulkOperation;
+import solid.humank.genaidemo.application.customer.CustomerBulkUpdateProgress;
 import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.customer.model.aggregate.Customer;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerTotals;
 import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
 import solid.humank.genaidemo.domain.customer.repository.CustomerRepository;
 import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
@@ -22,6 +25,8 @@ import solid.humank.genaidemo.infrastructure.common.persistence.OptimisticLockin
  * 2. 並發衝突的處理
  * 3. 事務邊界的管理
  * 4. 錯誤處理和監控
+ * 5. 點數與消費累加改寫入只新增的帳本（{@link CustomerLedgerService}），避免熱門客戶的版本衝突
+ * 6. 批量更新改以分批短交易執行（{@link CustomerBulkUpdateService}）
  *
  * 建立日期: 2025年9月24日 上午10:18 (台北時間)
  * 需求: 1.1 - 並發控制機制全面重構
@@ -40,11 +45,16 @@ public class OptimisticLockingCustomerService {
 
     private final CustomerRepository customerRepository;
     private final OptimisticLockingRetryService retryService;
+    private final CustomerLedgerService customerLedgerService;
+    private final CustomerBulkUpdateService customerBulkUpdateService;
 
     public OptimisticLockingCustomerService(CustomerRepository customerRepository,
-            OptimisticLockingRetryService retryService) {
+            OptimisticLockingRetryService retryService, CustomerLedgerService customerLedgerService,
+            CustomerBulkUpdateService customerBulkUpdateService) {
         this.customerRepository = customerRepository;
         this.retryService = retryService;
+        this.customerLedgerService = customerLedgerService;
+        this.customerBulkUpdateService = customerBulkUpdateService;
     }
 
     /**
@@ -83,100 +93,81 @@ public class OptimisticLockingCustomerService {
     }
 
     /**
-     * 更新客戶獎勵點數 - 使用樂觀鎖重試機制
+     * 更新客戶獎勵點數 - 寫入點數帳本
+     *
+     * 只新增帳本分錄，不讀取或儲存客戶聚合根，同一客戶的並發請求不會產生樂觀鎖衝突，
+     * 也不需要重試；點數在下次折疊時累加進聚合根。
      *
      * @param customerId 客戶ID
      * @param points     要添加的點數
      * @param reason     添加原因
-     * @return 是否成功更新
+     * @return 是否成功記錄
      */
     @Transactional
     public boolean addRewardPointsWithRetry(String customerId, int points, String reason) {
-        logger.info("Attempting to add {} reward points to customer {}", points, customerId);
+        logger.debug("Recording {} reward points for customer {}", points, customerId);
 
         try {
-            Boolean result = retryService.executeWithRetry(
-                    () -> performAddRewardPoints(customerId, points, reason),
-                    ENTITY_NAME,
-                    customerId,
-                    "addRewardPoints");
-
-            logger.info("Successfully added {} reward points to customer {}", points, customerId);
-            return result != null && result;
+            CustomerId id = new CustomerId(customerId);
+            if (!customerRepository.existsById(id)) {
+                logger.warn(CUSTOMER_NOT_FOUND_MSG + "{}", customerId);
+                return false;
+            }
+            customerLedgerService.recordRewardPoints(id, points, reason);
+            return true;
 
         } catch (Exception e) {
-            logger.error("Failed to add reward points to customer {} after retries: {}",
-                    customerId, e.getMessage(), e);
+            logger.error("Failed to record reward points for customer {}: {}", customerId, e.getMessage(), e);
             return false;
         }
     }
 
     /**
-     * 更新客戶消費記錄 - 使用樂觀鎖重試機制
+     * 更新客戶消費記錄 - 寫入消費帳本
+     *
+     * 只新增帳本分錄，不讀取或儲存客戶聚合根；會員等級在折疊時依折疊後的消費總額判斷。
      *
      * @param customerId  客戶ID
      * @param amount      消費金額
      * @param orderId     訂單ID
      * @param description 描述
-     * @return 是否成功更新
+     * @return 是否成功記錄
      */
     @Transactional
     public boolean updateCustomerSpendingWithRetry(String customerId, Money amount,
             String orderId, String description) {
-        logger.info("Attempting to update spending for customer {} with amount {}", customerId, amount);
+        logger.debug("Recording spending {} for customer {} and order {}", amount, customerId, orderId);
 
         try {
-            Boolean result = retryService.executeWithRetry(
-                    () -> performUpdateSpending(customerId, amount, orderId, description),
-                    ENTITY_NAME,
-                    customerId,
-                    "updateCustomerSpending");
-
-            logger.info("Successfully updated spending for customer {} with amount {}", customerId, amount);
-            return result != null && result;
+            CustomerId id = new CustomerId(customerId);
+            if (!customerRepository.existsById(id)) {
+                logger.warn(CUSTOMER_NOT_FOUND_MSG + "{}", customerId);
+                return false;
+            }
+            customerLedgerService.recordSpending(id, amount, orderId, description);
+            return true;
 
         } catch (Exception e) {
-            logger.error("Failed to update spending for customer {} after retries: {}",
-                    customerId, e.getMessage(), e);
+            logger.error("Failed to record spending for customer {}: {}", customerId, e.getMessage(), e);
             return false;
         }
     }
 
     /**
-     * 批量更新客戶信息 - 展示如何處理批量操作中的樂觀鎖衝突
+     * 批量更新客戶信息
+     *
+     * 委派給 {@link CustomerBulkUpdateService}：分批以短交易與 JDBC 批次寫入，
+     * 只有版本衝突的客戶會重新排入佇列，不再於單一長交易中逐筆重試。
      *
      * @param customerIds 客戶ID列表
-     * @param operation   要執行的操作描述
+     * @param operation   操作代碼（refresh_membership、add_loyalty_bonus）
      * @return 成功更新的客戶數量
+     * @throws IllegalArgumentException 未知的操作代碼
      */
-    @Transactional
     public int batchUpdateCustomers(java.util.List<String> customerIds, String operation) {
-        logger.info("Starting batch update for {} customers", customerIds.size());
-
-        int successCount = 0;
-        int failureCount = 0;
-
-        for (String customerId : customerIds) {
-            try {
-                // 為每個客戶單獨使用重試機制
-                retryService.executeWithRetry(
-                        () -> performBatchOperation(customerId, operation),
-                        ENTITY_NAME,
-                        customerId,
-                        "batchUpdate_" + operation,
-                        3 // 批量操作使用較少的重試次數
-                );
-                successCount++;
-
-            } catch (Exception e) {
-                logger.warn("Failed to update customer {} in batch operation: {}",
-                        customerId, e.getMessage());
-                failureCount++;
-            }
-        }
-
-        logger.info("Batch update completed: {} successful, {} failed", successCount, failureCount);
-        return successCount;
+        CustomerBulkUpdateProgress progress = customerBulkUpdateService.bulkUpdate(customerIds,
+                CustomerBulkOperation.fromCode(operation));
+        return progress.succeeded();
     }
 
     // === 私有業務邏輯方法 ===
@@ -193,11 +184,15 @@ public class OptimisticLockingCustomerService {
         }
 
         Customer customer = customerOpt.get();
+        CustomerLedgerTotals folded = customerLedgerService.foldInto(customer);
 
         // 檢查是否需要升級
         if (customer.getMembershipLevel().ordinal() >= newLevel.ordinal()) {
             logger.info("Customer {} already has membership level {} or higher",
                     customerId, customer.getMembershipLevel());
+            if (!folded.isEmpty()) {
+                customerRepository.save(customer);
+            }
             return true;
         }
 
@@ -219,94 +214,6 @@ public class OptimisticLockingCustomerService {
         return true;
     }
 
-    /**
-     * 執行添加獎勵點數的核心業務邏輯
-     */
-    private Boolean performAddRewardPoints(String customerId, int points, String reason) {
-        Optional<Customer> customerOpt = customerRepository.findById(new CustomerId(customerId));
-
-        if (customerOpt.isEmpty()) {
-            logger.warn(CUSTOMER_NOT_FOUND_MSG, customerId);
-            return false;
-        }
-
-        Customer customer = customerOpt.get();
-        customer.addRewardPoints(points, reason);
-        customerRepository.save(customer);
-
-        logger.debug("Added {} points to customer {} for reason: {}", points, customerId, reason);
-        return true;
-    }
-
-    /**
-     * 執行更新消費記錄的核心業務邏輯
-     */
-    private Boolean performUpdateSpending(String customerId, Money amount, String orderId, String description) {
-        Optional<Customer> customerOpt = customerRepository.findById(new CustomerId(customerId));
-
-        if (customerOpt.isEmpty()) {
-            logger.warn(CUSTOMER_NOT_FOUND_MSG, customerId);
-            return false;
-        }
-
-        Customer customer = customerOpt.get();
-        customer.updateSpending(amount, orderId, description);
-
-        // 檢查是否需要自動升級會員等級
-        MembershipLevel currentLevel = customer.getMembershipLevel();
-        MembershipLevel newLevel = determineNewMembershipLevel(customer.getTotalSpending());
-
-        if (newLevel.ordinal() > currentLevel.ordinal()) {
-            customer.upgradeMembershipLevel(newLevel);
-            logger.info("Auto-upgraded customer {} from {} to {} based on spending",
-                    customerId, currentLevel, newLevel);
-        }
-
-        customerRepository.save(customer);
-
-        logger.debug("Updated spending for customer {} with amount {} for order {}",
-                customerId, amount, orderId);
-        return true;
-    }
-
-    /**
-     * 執行批量操作的核心業務邏輯
-     */
-    private Void performBatchOperation(String customerId, String operation) {
-        Optional<Customer> customerOpt = customerRepository.findById(new CustomerId(customerId));
-
-        if (customerOpt.isEmpty()) {
-            logger.warn("Customer not found in batch operation: {}", customerId);
-            return null;
-        }
-
-        Customer customer = customerOpt.get();
-
-        // 根據操作類型執行不同的業務邏輯
-        switch (operation.toLowerCase()) {
-            case "refresh_membership":
-                // 重新計算會員等級
-                MembershipLevel newLevel = determineNewMembershipLevel(customer.getTotalSpending());
-                if (newLevel != customer.getMembershipLevel()) {
-                    customer.upgradeMembershipLevel(newLevel);
-                }
-                break;
-
-            case "add_loyalty_bonus":
-                // 添加忠誠度獎勵
-                int loyaltyBonus = calculateLoyaltyBonus(customer.getMembershipLevel());
-                customer.addRewardPoints(loyaltyBonus, "Monthly loyalty bonus");
-                break;
-
-            default:
-                logger.warn("Unknown batch operation: {}", operation);
-                return null;
-        }
-
-        customerRepository.save(customer);
-        return null;
-    }
-
     // === 私有輔助方法 ===
 
     private int calculateWelcomeBonus(MembershipLevel level) {
@@ -318,28 +225,4 @@ public class OptimisticLockingCustomerService {
             default -> 0;
         };
     }
-
-    private int calculateLoyaltyBonus(MembershipLevel level) {
-        return switch (level) {
-            case STANDARD -> 50;
-            case SILVER -> 100;
-            case GOLD -> 200;
-            case PLATINUM -> 300;
-            case VIP -> 500;
-        };
-    }
-
-    private MembershipLevel determineNewMembershipLevel(Money totalSpending) {
-        if (totalSpending.isGreaterThan(Money.twd(100000)) || totalSpending.isEqualTo(Money.twd(100000))) {
-            return MembershipLevel.VIP;
-        } else if (totalSpending.isGreaterThan(Money.twd(50000)) || totalSpending.isEqualTo(Money.twd(50000))) {
-            return MembershipLevel.PLATINUM;
-        } else if (totalSpending.isGreaterThan(Money.twd(20000)) || totalSpending.isEqualTo(Money.twd(20000))) {
-            return MembershipLevel.GOLD;
-        } else if (totalSpending.isGreaterThan(Money.twd(5000)) || totalSpending.isEqualTo(Money.twd(5000))) {
-            return MembershipLevel.SILVER;
-        } else {
-            return MembershipLevel.STANDARD;
-        }
-    }
 }
@@ -0,0 +1,17 @@
+package solid.humank.genaidemo.application.export;
+
+import java.util.function.Function;
+
+/**
+ * 匯出欄位定義
+ *
+ * @param name      欄位名稱，同時作為 CSV 標題與 NDJSON 鍵值
+ * @param extractor 從聚合根取出欄位值
+ * @param <T>       聚合根類型
+ */
+public record ExportColumn<T>(String name, Function<T, Object> extractor) {
+
+    public static <T> ExportColumn<T> of(String name, Function<T, Object> extractor) {
+        return new ExportColumn<>(name, extractor);
+    }
+}
@@ -0,0 +1,42 @@
+package solid.humank.genaidemo.application.export;
+
+import java.util.Locale;
+
+/** 匯出檔案格式 */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * 解析格式參數，大小寫不敏感
+     *
+     * @param value 格式名稱，例如 csv 或 ndjson
+     * @return 匯出格式
+     */
+    public static ExportFormat fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package solid.humank.genaidemo.application.export.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.application.export.ExportColumn;
+import solid.humank.genaidemo.application.export.ExportFormat;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.customer.model.aggregate.Customer;
+import solid.humank.genaidemo.domain.customer.repository.CustomerRepository;
+import solid.humank.genaidemo.domain.order.model.aggregate.Order;
+import solid.humank.genaidemo.domain.order.repository.OrderRepository;
+import solid.humank.genaidemo.domain.payment.model.aggregate.Payment;
+import solid.humank.genaidemo.domain.payment.repository.PaymentRepository;
+
+/**
+ * 資料匯出應用服務
+ * 以儲存庫的串流讀取逐批輸出訂單、支付與客戶資料，記憶體用量與資料筆數無關。
+ * 刻意不開啟交易：每批查詢各自使用短交易，長時間匯出不會佔住資料庫連線。
+ */
+@Service
+public class DataExportApplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportApplicationService.class);
+
+    private static final List<ExportColumn<Order>> ORDER_COLUMNS = List.of(
+            ExportColumn.of("id", order -> order.getId().getValue()),
+            ExportColumn.of("customerId", Order::getCustomerIdAsString),
+            ExportColumn.of("status", Order::getStatus),
+            ExportColumn.of("totalAmount", order -> amountOf(order.getTotalAmount())),
+            ExportColumn.of("effectiveAmount", order -> amountOf(order.getEffectiveAmount())),
+            ExportColumn.of("currency", order -> currencyOf(order.getTotalAmount())),
+            ExportColumn.of("itemCount", order -> order.getItems().size()),
+            ExportColumn.of("createdAt", Order::getCreatedAt),
+            ExportColumn.of("updatedAt", Order::getUpdatedAt));
+
+    private static final List<ExportColumn<Payment>> PAYMENT_COLUMNS = List.of(
+            ExportColumn.of("id", payment -> payment.getId().toString()),
+            ExportColumn.of("orderId", payment -> payment.getOrderId().toString()),
+            ExportColumn.of("status", Payment::getStatus),
+            ExportColumn.of("paymentMethod", Payment::getPaymentMethod),
+            ExportColumn.of("amount", payment -> amountOf(payment.getAmount())),
+            ExportColumn.of("currency", payment -> currencyOf(payment.getAmount())),
+            ExportColumn.of("transactionId", Payment::getTransactionId),
+            ExportColumn.of("createdAt", Payment::getCreatedAt),
+            ExportColumn.of("updatedAt", Payment::getUpdatedAt));
+
+    // 客戶匯出不含姓名、電子郵件等個資欄位，與客戶列表 API 的隱私保護一致
+    private static final List<ExportColumn<Customer>> CUSTOMER_COLUMNS = List.of(
+            ExportColumn.of("id", customer -> customer.getId().getValue()),
+            ExportColumn.of("membershipLevel", Customer::getMembershipLevel),
+            ExportColumn.of("status", Customer::getStatus),
+            ExportColumn.of("rewardPoints",
+                    customer -> customer.getRewardPoints() != null ? customer.getRewardPoints().balance() : null),
+            ExportColumn.of("totalSpending", customer -> amountOf(customer.getTotalSpending())),
+            ExportColumn.of("registrationDate", Customer::getRegistrationDate));
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final CustomerRepository customerRepository;
+    private final int fetchSize;
+
+    public DataExportApplicationService(
+            OrderRepository orderRepository,
+            PaymentRepository paymentRepository,
+            CustomerRepository customerRepository,
+            @Value("${genai-demo.export.fetch-size:500}") int fetchSize) {
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.customerRepository = customerRepository;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 匯出所有訂單
+     *
+     * @param format 匯出格式
+     * @param output 輸出串流，由呼叫端負責關閉
+     * @return 匯出筆數
+     */
+    public long exportOrders(ExportFormat format, OutputStream output) {
+        return export("orders", format, output, orderRepository::streamAll, ORDER_COLUMNS);
+    }
+
+    /**
+     * 匯出所有支付
+     *
+     * @param format 匯出格式
+     * @param output 輸出串流，由呼叫端負責關閉
+     * @return 匯出筆數
+     */
+    public long exportPayments(ExportFormat format, OutputStream output) {
+        return export("payments", format, output, paymentRepository::streamAll, PAYMENT_COLUMNS);
+    }
+
+    /**
+     * 匯出所有客戶
+     *
+     * @param format 匯出格式
+     * @param output 輸出串流，由呼叫端負責關閉
+     * @return 匯出筆數
+     */
+    public long exportCustomers(ExportFormat format, OutputStream output) {
+        return export("customers", format, output, customerRepository::streamAll, CUSTOMER_COLUMNS);
+    }
+
+    private <T> long export(String dataset, ExportFormat format, OutputStream output,
+            Function<Integer, Stream<T>> source, List<ExportColumn<T>> columns) {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ExportRecordWriter<T> recordWriter = ExportRecordWriter.create(format, writer, columns);
+
+        try (Stream<T> stream = source.apply(fetchSize)) {
+            recordWriter.writeHeader();
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                recordWriter.writeRecord(iterator.next());
+                count++;
+                // 每批輸出後推送給客戶端，避免回應緩衝隨筆數成長
+                if (count % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export " + dataset, e);
+        }
+
+        logger.info("Exported {} {} as {}", count, dataset, format);
+        return count;
+    }
+
+    private static Object amountOf(Money money) {
+        return money != null ? money.amount() : null;
+    }
+
+    private static Object currencyOf(Money money) {
+        return money != null ? money.currency().getCurrencyCode() : null;
+    }
+}
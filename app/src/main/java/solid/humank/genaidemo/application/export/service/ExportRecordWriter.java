@@ -0,0 +1,146 @@
+package solid.humank.genaidemo.application.export.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+import solid.humank.genaidemo.application.export.ExportColumn;
+import solid.humank.genaidemo.application.export.ExportFormat;
+
+/**
+ * 匯出記錄寫入器
+ * 每筆記錄直接寫入底層 Writer，不在記憶體中累積
+ *
+ * @param <T> 聚合根類型
+ */
+abstract class ExportRecordWriter<T> {
+
+    protected final Writer writer;
+    protected final List<ExportColumn<T>> columns;
+
+    protected ExportRecordWriter(Writer writer, List<ExportColumn<T>> columns) {
+        this.writer = writer;
+        this.columns = columns;
+    }
+
+    static <T> ExportRecordWriter<T> create(ExportFormat format, Writer writer, List<ExportColumn<T>> columns) {
+        return switch (format) {
+            case CSV -> new CsvRecordWriter<>(writer, columns);
+            case NDJSON -> new NdjsonRecordWriter<>(writer, columns);
+        };
+    }
+
+    abstract void writeHeader() throws IOException;
+
+    abstract void writeRecord(T record) throws IOException;
+
+    protected static String stringValue(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return String.valueOf(value);
+    }
+
+    /** RFC 4180 CSV 寫入器 */
+    static final class CsvRecordWriter<T> extends ExportRecordWriter<T> {
+
+        CsvRecordWriter(Writer writer, List<ExportColumn<T>> columns) {
+            super(writer, columns);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void writeRecord(T record) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).extractor().apply(record);
+                if (value != null) {
+                    writeField(stringValue(value));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!needsQuoting) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /** 每行一個 JSON 物件的 NDJSON 寫入器 */
+    static final class NdjsonRecordWriter<T> extends ExportRecordWriter<T> {
+
+        NdjsonRecordWriter(Writer writer, List<ExportColumn<T>> columns) {
+            super(writer, columns);
+        }
+
+        @Override
+        void writeHeader() {
+            // NDJSON 沒有標題列
+        }
+
+        @Override
+        void writeRecord(T record) throws IOException {
+            writer.write('{');
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                ExportColumn<T> column = columns.get(i);
+                writeString(column.name());
+                writer.write(':');
+                Object value = column.extractor().apply(record);
+                if (value == null) {
+                    writer.write("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    writer.write(stringValue(value));
+                } else {
+                    writeString(stringValue(value));
+                }
+            }
+            writer.write("}\n");
+        }
+
+        private void writeString(String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    case '\t' -> writer.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                    }
+                }
+            }
+            writer.write('"');
+        }
+    }
+}
@@ -1,129 +1,93 @@
 package solid.humank.genaidemo.application.inventory;
 
-import java.time.Duration;
+import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 import solid.humank.genaidemo.application.common.DistributedLockService;
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+import solid.humank.genaidemo.application.inventory.service.InventoryReservationService;
 import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
 
 /**
- * Example service demonstrating how to use distributed locking for inventory
- * operations.
- * This service ensures that inventory updates are atomic across multiple
- * application instances.
+ * Inventory reservation entry point for callers that work with product ids
+ * and quantities.
+ * Reservations and releases go through {@link InventoryReservationService},
+ * which batches concurrent requests for the same product into conditional
+ * updates, so no distributed lock is held while inventory changes. The lock
+ * inspection helpers remain for operators that still take the per-product
+ * inventory lock.
  */
 @Slf4j
 @Service
 public class InventoryLockingService {
 
-    // String constants
-    private static final String OPERATION_INTERRUPTED_MSG = "Operation was interrupted";
-
     private final DistributedLockService lockService;
+    private final InventoryReservationService reservationService;
 
-    // Lock timeouts for inventory operations
-    private static final Duration INVENTORY_LOCK_WAIT_TIME = Duration.ofSeconds(3);
-    private static final Duration INVENTORY_LOCK_LEASE_TIME = Duration.ofSeconds(30);
-
-    public InventoryLockingService(DistributedLockService lockService) {
+    public InventoryLockingService(DistributedLockService lockService,
+            InventoryReservationService reservationService) {
         this.lockService = lockService;
-        log.info("InventoryLockingService initialized with distributed locking support");
+        this.reservationService = reservationService;
+        log.info("InventoryLockingService initialized with batched conditional reservations");
     }
 
     /**
-     * Reserves inventory for a product with distributed locking.
-     * This ensures that concurrent reservation requests are handled atomically.
+     * Reserves inventory for a product.
+     * Concurrent reservations for the same product are combined into a single
+     * conditional update, so the call never waits for a lock.
      *
      * @param productId the product to reserve inventory for
      * @param quantity  the quantity to reserve
      * @return true if reservation was successful, false otherwise
      */
     public boolean reserveInventory(ProductId productId, int quantity) {
-        String lockKey = DistributedLockService.LockKeys.inventoryOperation(productId.getId());
-
-        log.debug("Attempting to reserve {} units of product {} with distributed lock",
-                quantity, productId.getId());
+        return reserveInventory(productId, quantity, UUID.randomUUID()) != null;
+    }
 
+    /**
+     * Reserves inventory for a product on behalf of an order.
+     *
+     * @param productId the product to reserve inventory for
+     * @param quantity  the quantity to reserve
+     * @param orderId   the order the reservation belongs to
+     * @return the reservation id, or null if the product is unknown or stock is
+     *         insufficient
+     */
+    public UUID reserveInventory(ProductId productId, int quantity, UUID orderId) {
         try {
-            return lockService.executeWithLock(lockKey, () -> {
-                // Simulate inventory reservation logic
-                log.info("Reserving {} units of product {} (locked operation)",
-                        quantity, productId.getId());
-
-                // In a real implementation, this would:
-                // 1. Check current inventory levels
-                // 2. Validate reservation request
-                // 3. Update inventory records
-                // 4. Create reservation record
-
-                // Simulate some processing time
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(OPERATION_INTERRUPTED_MSG, e);
-                }
-
-                log.info("Successfully reserved {} units of product {}",
-                        quantity, productId.getId());
-                return true;
-
-            }, INVENTORY_LOCK_WAIT_TIME, INVENTORY_LOCK_LEASE_TIME);
-
-        } catch (IllegalStateException e) {
-            log.warn("Failed to acquire lock for inventory reservation of product {}: {}",
-                    productId.getId(), e.getMessage());
-            return false;
+            ReservationResult result = reservationService.reserve(
+                    new ReserveInventoryCommand(productId.getId(), quantity, orderId));
+            if (!result.isSuccess()) {
+                log.debug("Reservation of {} units of product {} rejected: {}",
+                        quantity, productId.getId(), result.getMessage());
+                return null;
+            }
+            return UUID.fromString(result.getReservationId());
         } catch (Exception e) {
             log.error("Error during inventory reservation for product {}",
                     productId.getId(), e);
-            return false;
+            return null;
         }
     }
 
     /**
-     * Releases reserved inventory with distributed locking.
+     * Releases reserved inventory by quantity.
      *
      * @param productId the product to release inventory for
      * @param quantity  the quantity to release
      * @return true if release was successful, false otherwise
      */
     public boolean releaseInventory(ProductId productId, int quantity) {
-        String lockKey = DistributedLockService.LockKeys.inventoryOperation(productId.getId());
-
-        log.debug("Attempting to release {} units of product {} with distributed lock",
-                quantity, productId.getId());
-
         try {
-            return lockService.executeWithLock(lockKey, () -> {
-                log.info("Releasing {} units of product {} (locked operation)",
-                        quantity, productId.getId());
-
-                // In a real implementation, this would:
-                // 1. Validate release request
-                // 2. Update inventory records
-                // 3. Remove or update reservation record
-
-                // Simulate some processing time
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(OPERATION_INTERRUPTED_MSG, e);
-                }
-
-                log.info("Successfully released {} units of product {}",
+            boolean released = reservationService.releaseQuantity(productId.getId(), quantity);
+            if (!released) {
+                log.warn("Could not release {} units of product {}: not enough reserved stock",
                         quantity, productId.getId());
-                return true;
-
-            }, INVENTORY_LOCK_WAIT_TIME, INVENTORY_LOCK_LEASE_TIME);
-
-        } catch (IllegalStateException e) {
-            log.warn("Failed to acquire lock for inventory release of product {}: {}",
-                    productId.getId(), e.getMessage());
-            return false;
+            }
+            return released;
         } catch (Exception e) {
             log.error("Error during inventory release for product {}",
                     productId.getId(), e);
@@ -132,41 +96,26 @@ public class InventoryLockingService {
     }
 
     /**
-     * Attempts to reserve inventory without waiting if lock is not available.
+     * Releases a single reservation.
+     *
+     * @param reservationId the reservation to release
+     * @return true if the reservation was active and has been released
+     */
+    public boolean releaseReservation(UUID reservationId) {
+        return reservationService.release(reservationId);
+    }
+
+    /**
+     * Attempts to reserve inventory without waiting.
+     * Reservations no longer wait for a lock, so this is equivalent to
+     * {@link #reserveInventory(ProductId, int)} and kept for existing callers.
      *
      * @param productId the product to reserve inventory for
      * @param quantity  the quantity to reserve
-     * @return true if reservation was successful, null if lock could not be
-     *         acquired, false on error
+     * @return true if reservation was successful, false otherwise
      */
     public Boolean tryReserveInventory(ProductId productId, int quantity) {
-        String lockKey = DistributedLockService.LockKeys.inventoryOperation(productId.getId());
-
-        log.debug("Attempting non-blocking inventory reservation for {} units of product {}",
-                quantity, productId.getId());
-
-        try {
-            return lockService.tryExecuteWithLock(lockKey, () -> {
-                log.info("Non-blocking reservation of {} units of product {}",
-                        quantity, productId.getId());
-
-                // Simulate reservation logic (simplified)
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(OPERATION_INTERRUPTED_MSG, e);
-                }
-
-                return true;
-
-            }, Duration.ofMillis(100), INVENTORY_LOCK_LEASE_TIME);
-
-        } catch (Exception e) {
-            log.error("Error during non-blocking inventory reservation for product {}",
-                    productId.getId(), e);
-            return false;
-        }
+        return reserveInventory(productId, quantity);
     }
 
     /**
@@ -0,0 +1,49 @@
+package solid.humank.genaidemo.application.inventory.port.outgoing;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort.ReservationLine;
+
+/**
+ * 庫存配額端口
+ * 分片模式下每個節點從庫存的可用數量中領取一段配額，在本機服務預留；
+ * 已領取但尚未結算的配額記錄在節點的配額分片中，因此任何時刻
+ * 可用數量 + 各節點配額 + 已預留數量 都等於分片前的可用與預留總和。
+ *
+ * 每個方法都在自己的短交易中完成並立即提交。
+ */
+public interface InventoryQuotaPort {
+
+    /**
+     * 領取配額
+     * 鎖定庫存列，從可用數量移出最多 {@code requested} 單位到節點的配額分片
+     *
+     * @param productId 商品ID
+     * @param nodeId    節點ID
+     * @param requested 希望領取的數量
+     * @return 實際領取的數量，可用數量不足時可能少於要求或為 0；商品不存在時為空
+     */
+    OptionalInt claim(String productId, String nodeId, int requested);
+
+    /**
+     * 結算配額
+     * 在同一交易中寫入節點已服務的預留、把其數量轉為已預留，並把 {@code returned} 單位歸還可用數量
+     *
+     * @param productId 商品ID
+     * @param nodeId    節點ID
+     * @param consumed  節點已服務、尚未寫入的預留
+     * @param returned  歸還的未使用配額
+     * @throws IllegalStateException 節點配額分片不足以涵蓋結算數量時，交易回滾
+     */
+    void settle(String productId, String nodeId, List<ReservationLine> consumed, int returned);
+
+    /**
+     * 收回節點的全部配額分片，用於節點重新啟動或確認節點已離線
+     * 未結算的預留隨節點遺失，對應配額回到可用數量
+     *
+     * @param nodeId 節點ID
+     * @return 收回的配額總數
+     */
+    int reclaim(String nodeId);
+}
@@ -0,0 +1,67 @@
+package solid.humank.genaidemo.application.inventory.port.outgoing;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 庫存預留端口
+ * 直接以條件更新扣減可用庫存並寫入預留紀錄，不載入庫存聚合根；
+ * 同一商品的多筆預留可合併在一次資料庫往返中完成。
+ *
+ * 每個方法都在自己的短交易中完成並立即提交，因為一個批次可能代表多個呼叫端，
+ * 不能跟隨其中任何一個呼叫端的交易一起回滾。
+ */
+public interface InventoryReservationPort {
+
+    /**
+     * 整批預留
+     * 以一次 {@code available_quantity >= 總量} 的條件更新扣減整批數量並寫入全部預留紀錄
+     *
+     * @param productId 商品ID
+     * @param lines     預留項目
+     * @return 是否已預留；可用量不足或商品不存在時不做任何變更並回傳 false
+     */
+    boolean reserveAll(String productId, List<ReservationLine> lines);
+
+    /**
+     * 依序預留
+     * 鎖定庫存列後按項目順序配給，可用量不足的項目略過，適用於整批預留失敗的情況
+     *
+     * @param productId 商品ID
+     * @param lines     預留項目，順序即配給優先順序
+     * @return 成功預留的項目；商品不存在時為 {@link Optional#empty()}
+     */
+    Optional<List<ReservationLine>> reserveInOrder(String productId, List<ReservationLine> lines);
+
+    /**
+     * 釋放有效的預留並歸還可用庫存
+     *
+     * @param reservationId 預留ID
+     * @return 是否已釋放；預留不存在或已非有效狀態時回傳 false
+     */
+    boolean release(UUID reservationId);
+
+    /**
+     * 依數量歸還已預留庫存，供沒有預留ID的舊呼叫端使用
+     *
+     * @param productId 商品ID
+     * @param quantity  歸還數量
+     * @return 是否已歸還；已預留數量不足或商品不存在時回傳 false
+     */
+    boolean releaseQuantity(String productId, int quantity);
+
+    /**
+     * 確認預留並自總量與已預留數量扣除，確認後的預留不再被過期釋放
+     * 全部預留在同一交易中確認，已確認的預留視為成功，重複確認不會重複扣除
+     *
+     * @param reservationIds 預留ID
+     * @return 是否全部已確認；任一預留不存在、已釋放或已過期時不做任何變更並回傳 false
+     */
+    boolean confirmAll(List<UUID> reservationIds);
+
+    /** 單筆預留 */
+    record ReservationLine(UUID reservationId, UUID orderId, int quantity, LocalDateTime expiresAt) {
+    }
+}
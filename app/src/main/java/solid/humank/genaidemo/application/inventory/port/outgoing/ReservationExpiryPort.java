@@ -0,0 +1,55 @@
+package solid.humank.genaidemo.application.inventory.port.outgoing;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 預留過期端口
+ * 以 inventory_reservations 上 (expires_at, id) 的索引找出即將過期的有效預留，
+ * 並跨商品批次釋放已過期的預留。
+ */
+public interface ReservationExpiryPort {
+
+    /**
+     * 依 (到期時間, 預留ID) 順序分頁查詢在指定時間前到期的有效預留
+     *
+     * @param until 到期時間上限（含）
+     * @param after 上一頁最後一筆，第一頁傳 null
+     * @param limit 每頁筆數
+     * @return 依到期時間排序的預留
+     */
+    List<ExpiringReservation> findExpiring(LocalDateTime until, ExpiringReservation after, int limit);
+
+    /**
+     * 在單一交易中釋放已過期的預留
+     * 只處理仍為有效且到期時間不晚於 {@code now} 的預留，已被確認或釋放的預留會被略過
+     *
+     * @param reservationIds 預留ID
+     * @param now            目前時間
+     * @return 實際釋放的預留
+     */
+    List<ExpiredReservation> expire(Collection<UUID> reservationIds, LocalDateTime now);
+
+    /**
+     * 已過期但仍為有效狀態的預留數量
+     *
+     * @param now 目前時間
+     * @return 待釋放的預留數量
+     */
+    long countOverdue(LocalDateTime now);
+
+    /**
+     * 即將過期的預留
+     */
+    record ExpiringReservation(UUID reservationId, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * 已釋放的過期預留
+     */
+    record ExpiredReservation(UUID reservationId, UUID inventoryId, String productId, UUID orderId, int quantity,
+            LocalDateTime expiresAt) {
+    }
+}
@@ -1,11 +1,16 @@
 package solid.humank.genaidemo.application.inventory.service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import solid.humank.genaidemo.application.common.service.DomainEventApplicationService;
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
 import solid.humank.genaidemo.application.inventory.dto.command.AdjustInventoryCommand;
 import solid.humank.genaidemo.application.inventory.dto.response.InventoryResponse;
 import solid.humank.genaidemo.application.inventory.port.incoming.InventoryManagementUseCase;
@@ -22,12 +27,15 @@ public class InventoryApplicationService implements InventoryManagementUseCase {
 
     private final InventoryPersistencePort inventoryPersistencePort;
     private final DomainEventApplicationService domainEventApplicationService;
+    private final InventoryReservationService inventoryReservationService;
 
     public InventoryApplicationService(
             InventoryPersistencePort inventoryPersistencePort,
-            DomainEventApplicationService domainEventApplicationService) {
+            DomainEventApplicationService domainEventApplicationService,
+            InventoryReservationService inventoryReservationService) {
         this.inventoryPersistencePort = inventoryPersistencePort;
         this.domainEventApplicationService = domainEventApplicationService;
+        this.inventoryReservationService = inventoryReservationService;
     }
 
     @Override
@@ -78,35 +86,36 @@ public class InventoryApplicationService implements InventoryManagementUseCase {
 
     /**
      * 預留庫存
+     * 交由庫存預留服務以條件更新完成，不在外層交易中執行，
+     * 以免與同一商品的其他預留合併後被本交易的回滾連帶影響
      *
      * @param productId 商品ID
      * @param quantity  預留數量
      * @param orderId   訂單ID
+     * @return 預留ID
      */
-    public void reserveInventory(String productId, int quantity, String orderId) {
-        Optional<Inventory> inventoryOpt = inventoryPersistencePort.findByProductId(productId);
-
-        if (inventoryOpt.isEmpty()) {
-            throw new RuntimeException(PRODUCT_NOT_FOUND_MSG + productId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String reserveInventory(String productId, int quantity, String orderId) {
+        ReservationResult result = inventoryReservationService.reserve(
+                new ReserveInventoryCommand(productId, quantity, toOrderUuid(orderId)));
+
+        if (!result.isSuccess()) {
+            if (InventoryReservationService.NOT_FOUND_MESSAGE.equals(result.getMessage())) {
+                throw new RuntimeException(PRODUCT_NOT_FOUND_MSG + productId);
+            }
+            throw new InsufficientInventoryException(String.format("庫存不足 - 商品ID: %s, 需要: %d",
+                    productId, quantity));
         }
+        return result.getReservationId();
+    }
 
-        Inventory inventory = inventoryOpt.get();
-
-        // 檢查是否有足夠的可用庫存
-        if (inventory.getAvailableQuantity() < quantity) {
-            throw new InsufficientInventoryException(String.format("庫存不足 - 商品ID: %s, 需要: %d, 可用: %d",
-                    productId, quantity, inventory.getAvailableQuantity()));
+    private static UUID toOrderUuid(String orderId) {
+        try {
+            return UUID.fromString(orderId);
+        } catch (IllegalArgumentException e) {
+            // 非 UUID 格式的訂單ID以名稱型 UUID 對應，同一訂單ID總是得到相同的值
+            return UUID.nameUUIDFromBytes(orderId.getBytes(StandardCharsets.UTF_8));
         }
-
-        // 預留庫存 - 這裡需要在領域模型中添加預留方法
-        // 暫時使用現有的方法來模擬預留操作
-        // 實際實現中應該在 Inventory 聚合根中添加 reserve 方法
-
-        // 保存庫存變更
-        Inventory savedInventory = inventoryPersistencePort.save(inventory);
-
-        // 發布領域事件
-        domainEventApplicationService.publishEventsFromAggregate(savedInventory);
     }
 
     private InventoryResponse toResponse(Inventory inventory) {
@@ -0,0 +1,270 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort;
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort.ReservationLine;
+
+/**
+ * 庫存預留服務
+ *
+ * 同一商品的並發預留會排入該商品的佇列，由第一個發現佇列無人處理的呼叫執行緒負責送出：
+ * 一次取出最多 {@code maxBatchSize} 筆，以單一條件 UPDATE 扣減總量；
+ * 整批無法滿足時才改為鎖定庫存列逐筆配給。搶購時一次資料庫往返可完成數十筆預留，
+ * 不需要分散式鎖，也不會因為鎖等待而讓熱門商品的吞吐量受限於單筆往返時間。
+ *
+ * 處理的執行緒在自己的預留完成後即交出處理權，由佇列最前面的等待者接手，
+ * 因此單一呼叫的延遲不會因為持續湧入的請求而無限增加；佇列清空時從對照表移除，避免閒置商品累積。
+ *
+ * 設定為分片模式的搶購商品改由 {@link ShardedStockAllocator} 以本機配額服務。
+ *
+ * 此路徑不載入庫存聚合根，因此不產生 StockReservedEvent。
+ */
+@Service
+public class InventoryReservationService {
+
+    public static final String INSUFFICIENT_MESSAGE = "庫存不足";
+    public static final String NOT_FOUND_MESSAGE = "商品庫存不存在";
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryReservationService.class);
+
+    private final InventoryReservationPort inventoryReservationPort;
+    private final ShardedStockAllocator shardedStockAllocator;
+    private final int maxBatchSize;
+    private final long reservationTtlMinutes;
+    private final Map<String, ProductQueue> queues = new ConcurrentHashMap<>();
+
+    public InventoryReservationService(InventoryReservationPort inventoryReservationPort,
+            int maxBatchSize, long reservationTtlMinutes) {
+        this(inventoryReservationPort, null, maxBatchSize, reservationTtlMinutes);
+    }
+
+    @Autowired
+    public InventoryReservationService(InventoryReservationPort inventoryReservationPort,
+            ShardedStockAllocator shardedStockAllocator,
+            @Value("${genai-demo.inventory-reservation.max-batch-size:64}") int maxBatchSize,
+            @Value("${genai-demo.inventory-reservation.ttl-minutes:120}") long reservationTtlMinutes) {
+        if (maxBatchSize <= 0 || reservationTtlMinutes <= 0) {
+            throw new IllegalArgumentException("Batch size and reservation TTL must be positive");
+        }
+        this.inventoryReservationPort = inventoryReservationPort;
+        this.shardedStockAllocator = shardedStockAllocator;
+        this.maxBatchSize = maxBatchSize;
+        this.reservationTtlMinutes = reservationTtlMinutes;
+    }
+
+    /**
+     * 預留庫存
+     *
+     * @param command 預留命令
+     * @return 預留結果；庫存不足或商品不存在時為失敗結果
+     */
+    public ReservationResult reserve(ReserveInventoryCommand command) {
+        if (command.getQuantity() <= 0) {
+            throw new IllegalArgumentException("預留數量必須大於零");
+        }
+        if (shardedStockAllocator != null && shardedStockAllocator.isSharded(command.getProductId())) {
+            return shardedStockAllocator.reserve(command);
+        }
+        ReservationLine line = new ReservationLine(UUID.randomUUID(), command.getOrderId(), command.getQuantity(),
+                LocalDateTime.now().plusMinutes(reservationTtlMinutes));
+        PendingReservation pending = new PendingReservation(line);
+
+        ProductQueue queue = queues.computeIfAbsent(command.getProductId(), productId -> new ProductQueue());
+        queue.pending.add(pending);
+        while (true) {
+            // 先取得交接訊號再嘗試處理，處理期間才交接過來的處理權不會遺失
+            CompletableFuture<Void> turn = pending.turn;
+            drain(command.getProductId(), queue, pending);
+            if (pending.outcome.isDone()) {
+                break;
+            }
+            CompletableFuture.anyOf(pending.outcome, turn).handle((result, error) -> null).join();
+            if (turn.isDone()) {
+                pending.turn = new CompletableFuture<>();
+            }
+        }
+
+        Outcome outcome;
+        try {
+            outcome = pending.outcome.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return switch (outcome) {
+            case RESERVED -> ReservationResult.success(command.getProductId(), command.getQuantity(),
+                    line.reservationId().toString());
+            case INSUFFICIENT -> ReservationResult.failure(command.getProductId(), command.getQuantity(),
+                    INSUFFICIENT_MESSAGE);
+            case NOT_FOUND -> ReservationResult.failure(command.getProductId(), command.getQuantity(),
+                    NOT_FOUND_MESSAGE);
+        };
+    }
+
+    /**
+     * 釋放預留
+     *
+     * @param reservationId 預留ID
+     * @return 是否已釋放
+     */
+    public boolean release(UUID reservationId) {
+        if (shardedStockAllocator != null && shardedStockAllocator.releaseUnsettled(reservationId)) {
+            return true;
+        }
+        return inventoryReservationPort.release(reservationId);
+    }
+
+    /**
+     * 確認預留，用於訂單完成；確認後的預留不會被過期釋放
+     * 分片商品尚未寫回的預留先結算再確認
+     *
+     * @param reservationIds 預留ID
+     * @return 是否全部已確認；任一預留已釋放或已過期時不做任何變更並回傳 false
+     */
+    public boolean confirm(List<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return true;
+        }
+        if (shardedStockAllocator != null) {
+            reservationIds.forEach(shardedStockAllocator::settleReservation);
+        }
+        return inventoryReservationPort.confirmAll(reservationIds);
+    }
+
+    /**
+     * 依數量歸還已預留庫存
+     *
+     * @param productId 商品ID
+     * @param quantity  歸還數量
+     * @return 是否已歸還
+     */
+    public boolean releaseQuantity(String productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("釋放數量必須大於零");
+        }
+        return inventoryReservationPort.releaseQuantity(productId, quantity);
+    }
+
+    /**
+     * 取得處理權的執行緒持續送出批次，直到自己的預留完成或佇列清空；
+     * 釋放處理權後再檢查一次佇列，避免在釋放前一刻加入的預留無人處理
+     */
+    private void drain(String productId, ProductQueue queue, PendingReservation own) {
+        while (!own.outcome.isDone() && !queue.pending.isEmpty() && queue.draining.compareAndSet(false, true)) {
+            try {
+                List<PendingReservation> batch;
+                while (!own.outcome.isDone() && !(batch = poll(queue)).isEmpty()) {
+                    flush(productId, batch);
+                }
+            } finally {
+                queue.draining.set(false);
+            }
+        }
+        handOff(productId, queue);
+    }
+
+    /**
+     * 無人處理時把處理權交給佇列最前面的等待者；佇列已清空時移除佇列。
+     * 每個持有處理權的執行緒釋放後都會呼叫，因此佇列有預留時總有執行緒負責處理。
+     * 移除前一刻取得佇列的呼叫端仍會自行處理該佇列，最多短暫出現兩個佇列各自送出批次
+     */
+    private void handOff(String productId, ProductQueue queue) {
+        if (queue.draining.get()) {
+            return;
+        }
+        PendingReservation next = queue.pending.peek();
+        if (next != null) {
+            next.turn.complete(null);
+        } else {
+            queues.remove(productId, queue);
+        }
+    }
+
+    /** 目前保留佇列的商品數，供測試確認閒置佇列已移除 */
+    int queuedProductCount() {
+        return queues.size();
+    }
+
+    private List<PendingReservation> poll(ProductQueue queue) {
+        List<PendingReservation> batch = new ArrayList<>();
+        PendingReservation next;
+        while (batch.size() < maxBatchSize && (next = queue.pending.poll()) != null) {
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void flush(String productId, List<PendingReservation> batch) {
+        List<ReservationLine> lines = batch.stream().map(pending -> pending.line).toList();
+        try {
+            if (inventoryReservationPort.reserveAll(productId, lines)) {
+                batch.forEach(pending -> pending.outcome.complete(Outcome.RESERVED));
+                return;
+            }
+
+            Optional<List<ReservationLine>> granted = inventoryReservationPort.reserveInOrder(productId, lines);
+            if (granted.isEmpty()) {
+                batch.forEach(pending -> pending.outcome.complete(Outcome.NOT_FOUND));
+                return;
+            }
+            Set<UUID> grantedIds = new HashSet<>();
+            granted.get().forEach(line -> grantedIds.add(line.reservationId()));
+            for (PendingReservation pending : batch) {
+                pending.outcome.complete(grantedIds.contains(pending.line.reservationId())
+                        ? Outcome.RESERVED
+                        : Outcome.INSUFFICIENT);
+            }
+            logger.debug("Partially reserved product {}: {}/{} requests granted",
+                    productId, grantedIds.size(), batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Reservation batch of {} requests for product {} failed: {}",
+                    batch.size(), productId, e.getMessage());
+            batch.forEach(pending -> pending.outcome.completeExceptionally(e));
+        }
+    }
+
+    private enum Outcome {
+        RESERVED,
+        INSUFFICIENT,
+        NOT_FOUND
+    }
+
+    /**
+     * 佇列中的預留；turn 在處理權交接給此預留的呼叫端時完成，使用後由呼叫端換成新的訊號
+     */
+    private static final class PendingReservation {
+        private final ReservationLine line;
+        private final CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+        private volatile CompletableFuture<Void> turn = new CompletableFuture<>();
+
+        private PendingReservation(ReservationLine line) {
+            this.line = line;
+        }
+    }
+
+    private static final class ProductQueue {
+        private final Queue<PendingReservation> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,158 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.application.inventory.port.outgoing.ReservationExpiryPort;
+import solid.humank.genaidemo.application.inventory.port.outgoing.ReservationExpiryPort.ExpiredReservation;
+import solid.humank.genaidemo.application.inventory.port.outgoing.ReservationExpiryPort.ExpiringReservation;
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.common.event.DomainEventPublisher;
+import solid.humank.genaidemo.domain.inventory.model.events.StockReservationExpiredEvent;
+import solid.humank.genaidemo.domain.inventory.model.valueobject.InventoryId;
+import solid.humank.genaidemo.domain.inventory.model.valueobject.ReservationId;
+
+/**
+ * 預留過期服務
+ *
+ * 取代逐一載入庫存聚合根呼叫 {@code cleanupExpiredReservations} 的作法：
+ * 每隔半個時間窗從 (expires_at, id) 索引載入未來 {@code horizon} 內到期的有效預留，
+ * 放入 {@link ReservationExpiryWheel}；每個刻度取出已到期的預留，跨商品分批在資料庫釋放，
+ * 並為每筆實際釋放的預留發布 {@link StockReservationExpiredEvent}。
+ *
+ * 預留在到期後最多延遲一個刻度釋放。時間窗外才到期的預留（例如重新啟動前建立的）
+ * 會在之後的載入被排入；已確認或已釋放的預留在資料庫端以狀態條件略過。
+ */
+@Service
+public class ReservationExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpiryService.class);
+
+    private final ReservationExpiryPort reservationExpiryPort;
+    private final DomainEventPublisher domainEventPublisher;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxScheduled;
+    private final ReservationExpiryWheel wheel;
+    private LocalDateTime nextLoadAt;
+    private long backlog;
+
+    public ReservationExpiryService(ReservationExpiryPort reservationExpiryPort,
+            DomainEventPublisher domainEventPublisher,
+            @Value("${genai-demo.inventory-reservation.expiry.horizon-seconds:60}") long horizonSeconds,
+            @Value("${genai-demo.inventory-reservation.expiry.tick-millis:1000}") long tickMillis,
+            @Value("${genai-demo.inventory-reservation.expiry.batch-size:500}") int batchSize,
+            @Value("${genai-demo.inventory-reservation.expiry.max-scheduled:100000}") int maxScheduled) {
+        if (horizonSeconds <= 0 || tickMillis <= 0 || batchSize <= 0 || maxScheduled <= 0) {
+            throw new IllegalArgumentException("Expiry horizon, tick, batch size and capacity must be positive");
+        }
+        this.reservationExpiryPort = reservationExpiryPort;
+        this.domainEventPublisher = domainEventPublisher;
+        this.horizon = Duration.ofSeconds(horizonSeconds);
+        this.batchSize = batchSize;
+        this.maxScheduled = maxScheduled;
+        // 一圈涵蓋整個時間窗，載入的預留都不需要跨圈
+        this.wheel = new ReservationExpiryWheel(tickMillis,
+                (int) Math.ceilDiv(horizon.toMillis(), tickMillis) + 1);
+    }
+
+    /**
+     * 推進一個刻度：需要時從索引載入下一段時間窗，再釋放所有已到期的預留
+     *
+     * @param now 目前時間
+     * @return 本刻度的釋放結果
+     */
+    public synchronized ExpiryRound tick(LocalDateTime now) {
+        boolean loaded = false;
+        if (nextLoadAt == null || !now.isBefore(nextLoadAt)) {
+            load(now);
+            loaded = true;
+        }
+
+        List<UUID> due = wheel.advance(toMillis(now));
+        List<ExpiredReservation> released = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<UUID> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                released.addAll(reservationExpiryPort.expire(batch, now));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to release {} expired reservations, will retry next tick: {}",
+                        batch.size(), e.getMessage());
+                batch.forEach(id -> wheel.schedule(id, toMillis(now)));
+            }
+        }
+        publish(released);
+
+        if (loaded) {
+            backlog = reservationExpiryPort.countOverdue(now);
+        }
+        return new ExpiryRound(released, wheel.size(), backlog);
+    }
+
+    private void load(LocalDateTime now) {
+        LocalDateTime until = now.plus(horizon);
+        ExpiringReservation after = null;
+        int scheduled = 0;
+        while (wheel.size() < maxScheduled) {
+            List<ExpiringReservation> page = reservationExpiryPort.findExpiring(until, after, batchSize);
+            for (ExpiringReservation reservation : page) {
+                if (wheel.schedule(reservation.reservationId(), toMillis(reservation.expiresAt()))) {
+                    scheduled++;
+                }
+            }
+            if (page.size() < batchSize) {
+                break;
+            }
+            after = page.get(page.size() - 1);
+        }
+        nextLoadAt = now.plus(horizon.dividedBy(2));
+        if (scheduled > 0) {
+            logger.debug("Scheduled {} reservations expiring before {}", scheduled, until);
+        }
+    }
+
+    private void publish(List<ExpiredReservation> released) {
+        if (released.isEmpty()) {
+            return;
+        }
+        List<DomainEvent> events = new ArrayList<>(released.size());
+        for (ExpiredReservation reservation : released) {
+            events.add(StockReservationExpiredEvent.create(
+                    InventoryId.fromUUID(reservation.inventoryId()),
+                    reservation.productId(),
+                    ReservationId.fromUUID(reservation.reservationId()),
+                    reservation.orderId(),
+                    reservation.quantity(),
+                    reservation.expiresAt()));
+        }
+        try {
+            domainEventPublisher.publishAll(events);
+        } catch (RuntimeException e) {
+            // 預留已在資料庫釋放，事件發布失敗不回滾
+            logger.error("Failed to publish {} reservation expired events", events.size(), e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * 單一刻度的釋放結果
+     *
+     * @param released  本刻度釋放的預留
+     * @param scheduled 時間輪中尚未到期的預留數量
+     * @param backlog   最近一次載入時已過期但尚未釋放的預留數量
+     */
+    public record ExpiryRound(List<ExpiredReservation> released, int scheduled, long backlog) {
+    }
+}
@@ -0,0 +1,100 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 預留到期的雜湊時間輪
+ *
+ * 到期時間（毫秒）換算成絕對刻度後放入 {@code 刻度 % 槽數} 的槽，排程與取出都是 O(1)；
+ * 超過一圈的項目留在槽中，直到輪轉到它的絕對刻度才取出。項目只會在到期時間之後取出，
+ * 最多延遲一個刻度。同一預留重複排程會被忽略，因此可以反覆從索引載入同一段時間窗。
+ *
+ * 非執行緒安全，由 {@link ReservationExpiryService} 序列化存取。
+ */
+final class ReservationExpiryWheel {
+
+    private static final long UNSTARTED = Long.MIN_VALUE;
+
+    private final long tickMillis;
+    private final List<Map<UUID, Long>> slots;
+    private final Map<UUID, Long> scheduledTicks = new HashMap<>();
+    private long currentTick = UNSTARTED;
+
+    ReservationExpiryWheel(long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 排程預留到期
+     *
+     * @param reservationId  預留ID
+     * @param deadlineMillis 到期時間
+     * @return 是否為新排程；已排程的預留回傳 false
+     */
+    boolean schedule(UUID reservationId, long deadlineMillis) {
+        if (scheduledTicks.containsKey(reservationId)) {
+            return false;
+        }
+        long tick = Math.ceilDiv(deadlineMillis, tickMillis);
+        if (currentTick != UNSTARTED && tick <= currentTick) {
+            // 已經過了的刻度不會再被處理，放到下一個刻度
+            tick = currentTick + 1;
+        }
+        scheduledTicks.put(reservationId, tick);
+        slotOf(tick).put(reservationId, tick);
+        return true;
+    }
+
+    /**
+     * 推進時間輪到指定時間，取出所有已到期的預留
+     *
+     * @param nowMillis 目前時間
+     * @return 到期的預留ID
+     */
+    List<UUID> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        if (currentTick != UNSTARTED && target <= currentTick) {
+            return List.of();
+        }
+        // 落後超過一圈時每個槽只需要掃一次
+        long from = currentTick == UNSTARTED ? target - slots.size() + 1
+                : Math.max(currentTick + 1, target - slots.size() + 1);
+        List<UUID> due = new ArrayList<>();
+        for (long tick = from; tick <= target; tick++) {
+            Iterator<Map.Entry<UUID, Long>> iterator = slotOf(tick).entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, Long> entry = iterator.next();
+                if (entry.getValue() <= target) {
+                    iterator.remove();
+                    scheduledTicks.remove(entry.getKey());
+                    due.add(entry.getKey());
+                }
+            }
+        }
+        currentTick = target;
+        return due;
+    }
+
+    /**
+     * 尚未到期的排程數量
+     */
+    int size() {
+        return scheduledTicks.size();
+    }
+
+    private Map<UUID, Long> slotOf(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+}
@@ -0,0 +1,327 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryQuotaPort;
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort.ReservationLine;
+
+/**
+ * 分片庫存配額分配器
+ *
+ * 搶購商品改由各節點持有的配額在本機服務預留：本機配額足夠時不需要任何跨節點協調或資料庫往返，
+ * 不足時才向資料庫領取一段配額（{@code refillSize}）。已服務的預留先留在本機，
+ * 累積到 {@code flushThreshold} 筆或定期結算時一次寫回，同時轉為庫存的已預留數量；
+ * 上一輪結算後沒有需求的商品會把剩餘配額全數歸還，讓其他節點可以領取。
+ *
+ * 本機配額永遠不會低於零，資料庫端也只能把可用數量移入配額，因此所有節點合計不會超賣。
+ * 節點在結算前離線時，未結算的預留會遺失，其配額由 {@link InventoryQuotaPort#reclaim} 收回。
+ * 因此啟用時必須設定節點ID，且各節點唯一、重啟後不變；兩個存活節點共用ID時，
+ * 後啟動的節點會收回另一節點仍在使用的配額而造成超賣。
+ *
+ * 領取配額是資料庫往返（鎖定庫存列），不在配額鎖內進行：同一商品的補充以 refillLock 序列化，
+ * 補充期間其他請求仍可使用剩餘配額，且不會在虛擬執行緒上以監視器釘住載體執行緒。
+ */
+@Service
+public class ShardedStockAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedStockAllocator.class);
+
+    private final InventoryQuotaPort inventoryQuotaPort;
+    private final String nodeId;
+    private final boolean enabled;
+    private final Set<String> shardedProductIds;
+    private final int refillSize;
+    private final int flushThreshold;
+    private final long reservationTtlMinutes;
+    private final Map<String, QuotaSlice> slices = new ConcurrentHashMap<>();
+    private final Map<UUID, String> unsettledProducts = new ConcurrentHashMap<>();
+
+    public ShardedStockAllocator(InventoryQuotaPort inventoryQuotaPort,
+            @Value("${genai-demo.inventory-sharding.enabled:false}") boolean enabled,
+            @Value("${genai-demo.inventory-sharding.node-id:}") String nodeId,
+            @Value("${genai-demo.inventory-sharding.products:}") Set<String> shardedProductIds,
+            @Value("${genai-demo.inventory-sharding.refill-size:50}") int refillSize,
+            @Value("${genai-demo.inventory-sharding.flush-threshold:32}") int flushThreshold,
+            @Value("${genai-demo.inventory-reservation.ttl-minutes:120}") long reservationTtlMinutes) {
+        if (refillSize <= 0 || flushThreshold <= 0 || reservationTtlMinutes <= 0) {
+            throw new IllegalArgumentException("Refill size, flush threshold and reservation TTL must be positive");
+        }
+        if (enabled && (nodeId == null || nodeId.isBlank())) {
+            throw new IllegalStateException(
+                    "genai-demo.inventory-sharding.node-id must be set to a unique, stable id when sharding is enabled");
+        }
+        this.inventoryQuotaPort = inventoryQuotaPort;
+        this.nodeId = nodeId;
+        this.enabled = enabled;
+        this.shardedProductIds = Set.copyOf(shardedProductIds);
+        this.refillSize = refillSize;
+        this.flushThreshold = flushThreshold;
+        this.reservationTtlMinutes = reservationTtlMinutes;
+    }
+
+    /**
+     * 商品是否以分片配額服務；未啟用分片模式時一律為 false，因為沒有定期結算
+     */
+    public boolean isSharded(String productId) {
+        return enabled && shardedProductIds.contains(productId);
+    }
+
+    /**
+     * 以本機配額預留庫存
+     *
+     * @param command 預留命令
+     * @return 預留結果；預留ID立即可用，資料列在下一次結算時寫入
+     */
+    public ReservationResult reserve(ReserveInventoryCommand command) {
+        int quantity = command.getQuantity();
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("預留數量必須大於零");
+        }
+        String productId = command.getProductId();
+        QuotaSlice slice = slices.computeIfAbsent(productId, id -> new QuotaSlice());
+        ReservationLine line = new ReservationLine(UUID.randomUUID(), command.getOrderId(), quantity,
+                LocalDateTime.now().plusMinutes(reservationTtlMinutes));
+
+        int unsettled = take(slice, productId, line);
+        if (unsettled < 0) {
+            slice.refillLock.lock();
+            try {
+                // 等待補充期間其他請求可能已補足配額
+                unsettled = take(slice, productId, line);
+                if (unsettled < 0) {
+                    int missing = quantity - remainingQuota(productId);
+                    OptionalInt claimed = inventoryQuotaPort.claim(productId, nodeId, Math.max(refillSize, missing));
+                    if (claimed.isEmpty()) {
+                        return ReservationResult.failure(productId, quantity,
+                                InventoryReservationService.NOT_FOUND_MESSAGE);
+                    }
+                    slice.lock.lock();
+                    try {
+                        slice.remaining += claimed.getAsInt();
+                    } finally {
+                        slice.lock.unlock();
+                    }
+                    unsettled = take(slice, productId, line);
+                    if (unsettled < 0) {
+                        return ReservationResult.failure(productId, quantity,
+                                InventoryReservationService.INSUFFICIENT_MESSAGE);
+                    }
+                }
+            } finally {
+                slice.refillLock.unlock();
+            }
+        }
+
+        if (unsettled >= flushThreshold) {
+            settle(productId);
+        }
+        return ReservationResult.success(productId, quantity, line.reservationId().toString());
+    }
+
+    /**
+     * 從本機配額扣除預留數量
+     *
+     * @return 扣除後未結算的預留筆數；配額不足時為 -1
+     */
+    private int take(QuotaSlice slice, String productId, ReservationLine line) {
+        slice.lock.lock();
+        try {
+            if (slice.remaining < line.quantity()) {
+                return -1;
+            }
+            slice.remaining -= line.quantity();
+            slice.unsettled.add(line);
+            slice.demandSinceSettle = true;
+            unsettledProducts.put(line.reservationId(), productId);
+            return slice.unsettled.size();
+        } finally {
+            slice.lock.unlock();
+        }
+    }
+
+    /**
+     * 釋放尚未結算的預留，數量直接回到本機配額
+     *
+     * @param reservationId 預留ID
+     * @return 是否為本節點尚未結算的預留；已結算的預留需由資料庫釋放
+     */
+    public boolean releaseUnsettled(UUID reservationId) {
+        String productId = unsettledProducts.get(reservationId);
+        QuotaSlice slice = productId != null ? slices.get(productId) : null;
+        if (slice == null) {
+            return false;
+        }
+        // 等待進行中的結算完成，避免預留正在寫入時被判定為不存在
+        slice.settleLock.lock();
+        try {
+            slice.lock.lock();
+            try {
+                Iterator<ReservationLine> iterator = slice.unsettled.iterator();
+                while (iterator.hasNext()) {
+                    ReservationLine line = iterator.next();
+                    if (line.reservationId().equals(reservationId)) {
+                        iterator.remove();
+                        slice.remaining += line.quantity();
+                        unsettledProducts.remove(reservationId);
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                slice.lock.unlock();
+            }
+        } finally {
+            slice.settleLock.unlock();
+        }
+    }
+
+    /**
+     * 立即結算預留所屬的商品，讓尚未寫回的預留可以在資料庫確認
+     *
+     * @param reservationId 預留ID
+     * @return 是否為本節點尚未結算的預留
+     */
+    public boolean settleReservation(UUID reservationId) {
+        String productId = unsettledProducts.get(reservationId);
+        if (productId == null) {
+            return false;
+        }
+        settle(productId);
+        return true;
+    }
+
+    /**
+     * 結算所有商品：寫回已服務的預留，並歸還上一輪以來沒有需求的商品的配額
+     */
+    public void settleAll() {
+        for (String productId : slices.keySet()) {
+            try {
+                settle(productId);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to settle quota for product {} on node {}, will retry next round: {}",
+                        productId, nodeId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 寫回所有預留並歸還全部配額，用於節點關閉
+     */
+    public void returnAll() {
+        for (Map.Entry<String, QuotaSlice> entry : slices.entrySet()) {
+            try {
+                settle(entry.getKey(), entry.getValue(), true);
+            } catch (RuntimeException e) {
+                logger.error("Failed to return quota for product {} on node {}", entry.getKey(), nodeId, e);
+            }
+        }
+    }
+
+    /**
+     * 收回本節點先前遺留的配額分片，用於節點啟動時
+     *
+     * @return 收回的配額總數
+     */
+    public int recover() {
+        int reclaimed = inventoryQuotaPort.reclaim(nodeId);
+        if (reclaimed > 0) {
+            logger.warn("Reclaimed {} units of stale quota held by node {}", reclaimed, nodeId);
+        }
+        return reclaimed;
+    }
+
+    /**
+     * 本機持有的剩餘配額
+     */
+    public int remainingQuota(String productId) {
+        QuotaSlice slice = slices.get(productId);
+        if (slice == null) {
+            return 0;
+        }
+        slice.lock.lock();
+        try {
+            return slice.remaining;
+        } finally {
+            slice.lock.unlock();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void settle(String productId) {
+        QuotaSlice slice = slices.get(productId);
+        if (slice != null) {
+            settle(productId, slice, false);
+        }
+    }
+
+    private void settle(String productId, QuotaSlice slice, boolean returnEverything) {
+        slice.settleLock.lock();
+        try {
+            List<ReservationLine> consumed;
+            int returned;
+            slice.lock.lock();
+            try {
+                consumed = new ArrayList<>(slice.unsettled);
+                returned = returnEverything || !slice.demandSinceSettle ? slice.remaining : 0;
+                if (consumed.isEmpty() && returned == 0) {
+                    slice.demandSinceSettle = false;
+                    return;
+                }
+                slice.unsettled.clear();
+                slice.remaining -= returned;
+                slice.demandSinceSettle = false;
+            } finally {
+                slice.lock.unlock();
+            }
+
+            try {
+                inventoryQuotaPort.settle(productId, nodeId, consumed, returned);
+            } catch (RuntimeException e) {
+                // 結算失敗時放回本機，下一輪再結算
+                slice.lock.lock();
+                try {
+                    slice.unsettled.addAll(0, consumed);
+                    slice.remaining += returned;
+                } finally {
+                    slice.lock.unlock();
+                }
+                throw e;
+            }
+            consumed.forEach(line -> unsettledProducts.remove(line.reservationId()));
+        } finally {
+            slice.settleLock.unlock();
+        }
+    }
+
+    /**
+     * 單一商品在本節點的配額；數量與未結算預留以 lock 保護，只涵蓋記憶體內的操作，
+     * 補充配額以 refillLock、結算以 settleLock 各自序列化，兩者都在 lock 之外進行資料庫往返
+     */
+    private static final class QuotaSlice {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ReentrantLock refillLock = new ReentrantLock();
+        private final ReentrantLock settleLock = new ReentrantLock();
+        private final List<ReservationLine> unsettled = new ArrayList<>();
+        private int remaining;
+        private boolean demandSinceSettle;
+    }
+}
@@ -10,16 +10,18 @@ public class BackpressureStatusDto {
     private final String level;
     private final int currentConcurrentEvents;
     private final int currentQueueSize;
-    private final long eventsInCurrentWindow;
+    private final int concurrencyLimit;
+    private final long rejectedEvents;
     private final LocalDateTime lastLevelChangeTime;
 
     public BackpressureStatusDto(String level, int currentConcurrentEvents,
-            int currentQueueSize, long eventsInCurrentWindow,
+            int currentQueueSize, int concurrencyLimit, long rejectedEvents,
             LocalDateTime lastLevelChangeTime) {
         this.level = level;
         this.currentConcurrentEvents = currentConcurrentEvents;
         this.currentQueueSize = currentQueueSize;
-        this.eventsInCurrentWindow = eventsInCurrentWindow;
+        this.concurrencyLimit = concurrencyLimit;
+        this.rejectedEvents = rejectedEvents;
         this.lastLevelChangeTime = lastLevelChangeTime;
     }
 
@@ -35,8 +37,12 @@ public class BackpressureStatusDto {
         return currentQueueSize;
     }
 
-    public long getEventsInCurrentWindow() {
-        return eventsInCurrentWindow;
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public long getRejectedEvents() {
+        return rejectedEvents;
     }
 
     public LocalDateTime getLastLevelChangeTime() {
@@ -40,9 +40,10 @@ public class AddOrderItemCommand {
         return price;
     }
 
-    /** 創建添加訂單項命令 */
+    /** 創建添加訂單項命令，未提供價格時由商品快照補齊 */
     public static AddOrderItemCommand of(
             String orderId, String productId, String productName, int quantity, BigDecimal price) {
-        return new AddOrderItemCommand(orderId, productId, productName, quantity, Money.of(price));
+        return new AddOrderItemCommand(orderId, productId, productName, quantity,
+                price != null ? Money.of(price) : null);
     }
 }
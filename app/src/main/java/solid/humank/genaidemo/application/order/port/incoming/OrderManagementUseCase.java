@@ -1,5 +1,7 @@
 package solid.humank.genaidemo.application.order.port.incoming;
 
+import java.util.List;
+
 import solid.humank.genaidemo.application.common.dto.PagedResult;
 import solid.humank.genaidemo.application.order.dto.AddOrderItemCommand;
 import solid.humank.genaidemo.application.order.dto.CreateOrderCommand;
@@ -13,6 +15,9 @@ public interface OrderManagementUseCase {
     /** 添加訂單項目 */
     OrderResponse addOrderItem(AddOrderItemCommand command);
 
+    /** 一次添加多個訂單項目，未提供名稱或價格的項目以商品快照補齊 */
+    OrderResponse addOrderItems(String orderId, List<AddOrderItemCommand> commands);
+
     /** 提交訂單 */
     OrderResponse submitOrder(String orderId);
 
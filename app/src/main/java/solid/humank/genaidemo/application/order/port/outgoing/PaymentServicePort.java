@@ -1,5 +1,6 @@
 package solid.humank.genaidemo.application.order.port.outgoing;
 
+import java.util.Optional;
 import java.util.UUID;
 import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.common.valueobject.PaymentResult;
@@ -15,6 +16,15 @@ public interface PaymentServicePort {
      */
     PaymentResult processPayment(UUID orderId, Money amount);
 
+    /**
+     * 查詢訂單已完成的支付
+     * 接續中斷的支付步驟前先查詢，已扣款的訂單不再重複扣款
+     *
+     * @param orderId 訂單ID
+     * @return 已完成的支付結果，尚未完成支付時為空
+     */
+    Optional<PaymentResult> findCompletedPayment(UUID orderId);
+
     /**
      * 取消支付
      *
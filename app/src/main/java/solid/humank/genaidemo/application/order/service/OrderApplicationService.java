@@ -1,6 +1,7 @@
 package solid.humank.genaidemo.application.order.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,9 +17,13 @@ import solid.humank.genaidemo.application.order.dto.response.OrderResponse;
 import solid.humank.genaidemo.application.order.port.incoming.OrderManagementUseCase;
 import solid.humank.genaidemo.application.order.port.outgoing.OrderPersistencePort;
 import solid.humank.genaidemo.application.order.port.outgoing.PaymentServicePort;
+import solid.humank.genaidemo.application.product.ProductSnapshot;
+import solid.humank.genaidemo.application.product.service.ProductSnapshotCache;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.common.valueobject.OrderId;
 import solid.humank.genaidemo.domain.order.model.aggregate.Order;
 import solid.humank.genaidemo.domain.order.model.factory.OrderFactory;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
 
 /** 訂單應用服務 實現訂單管理用例接口 */
 @Service
@@ -30,16 +35,19 @@ public class OrderApplicationService implements OrderManagementUseCase {
     private final PaymentServicePort paymentServicePort;
     private final OrderFactory orderFactory;
     private final DomainEventApplicationService domainEventApplicationService;
+    private final ProductSnapshotCache productSnapshotCache;
 
     public OrderApplicationService(
             OrderPersistencePort orderPersistencePort,
             PaymentServicePort paymentServicePort,
             OrderFactory orderFactory,
-            DomainEventApplicationService domainEventApplicationService) {
+            DomainEventApplicationService domainEventApplicationService,
+            ProductSnapshotCache productSnapshotCache) {
         this.orderPersistencePort = orderPersistencePort;
         this.paymentServicePort = paymentServicePort;
         this.orderFactory = orderFactory;
         this.domainEventApplicationService = domainEventApplicationService;
+        this.productSnapshotCache = productSnapshotCache;
     }
 
     @Override
@@ -69,11 +77,7 @@ public class OrderApplicationService implements OrderManagementUseCase {
         Order order = orderOpt.orElseThrow(() -> new RuntimeException(ORDER_NOT_FOUND + orderId));
 
         // 添加訂單項目
-        order.addItem(
-                command.getProductId(),
-                command.getProductName(),
-                command.getQuantity(),
-                command.getPrice());
+        addItem(order, command, resolveSnapshots(List.of(command)));
 
         // 保存訂單
         orderPersistencePort.save(order);
@@ -85,6 +89,57 @@ public class OrderApplicationService implements OrderManagementUseCase {
         return mapToOrderResponse(order);
     }
 
+    @Override
+    public OrderResponse addOrderItems(String orderId, List<AddOrderItemCommand> commands) {
+        // 查找訂單 - 使用領域值對象
+        OrderId id = OrderId.of(orderId);
+        Order order = orderPersistencePort.findById(id)
+                .orElseThrow(() -> new RuntimeException(ORDER_NOT_FOUND + id));
+
+        // 所有需要補齊的商品合併為一次快照查詢
+        Map<ProductId, ProductSnapshot> snapshots = resolveSnapshots(commands);
+        for (AddOrderItemCommand command : commands) {
+            addItem(order, command, snapshots);
+        }
+
+        // 保存訂單
+        orderPersistencePort.save(order);
+
+        // 發布領域事件
+        domainEventApplicationService.publishEventsFromAggregate(order);
+
+        // 返回響應
+        return mapToOrderResponse(order);
+    }
+
+    /** 查詢未提供名稱或價格的項目所需的商品快照 */
+    private Map<ProductId, ProductSnapshot> resolveSnapshots(List<AddOrderItemCommand> commands) {
+        List<ProductId> productIds = commands.stream()
+                .filter(command -> command.getProductName() == null || command.getProductName().isBlank()
+                        || command.getPrice() == null)
+                .map(command -> new ProductId(command.getProductId()))
+                .toList();
+        return productIds.isEmpty() ? Map.of() : productSnapshotCache.getAll(productIds);
+    }
+
+    /** 以命令添加訂單項目，名稱或價格缺漏時使用商品快照；快照顯示已下架或缺貨的商品不可加入 */
+    private void addItem(Order order, AddOrderItemCommand command, Map<ProductId, ProductSnapshot> snapshots) {
+        String productName = command.getProductName();
+        Money price = command.getPrice();
+        if (productName == null || productName.isBlank() || price == null) {
+            ProductSnapshot snapshot = snapshots.get(new ProductId(command.getProductId()));
+            if (snapshot == null) {
+                throw new IllegalArgumentException("Product not found: " + command.getProductId());
+            }
+            if (!snapshot.purchasable()) {
+                throw new IllegalArgumentException("Product is not available for purchase: " + command.getProductId());
+            }
+            productName = productName == null || productName.isBlank() ? snapshot.name() : productName;
+            price = price == null ? snapshot.price() : price;
+        }
+        order.addItem(command.getProductId(), productName, command.getQuantity(), price);
+    }
+
     @Override
     public OrderResponse submitOrder(String orderId) {
         // 查找訂單 - 使用領域值對象
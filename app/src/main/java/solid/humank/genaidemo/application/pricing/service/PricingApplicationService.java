@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
+import solid.humank.genaidemo.application.common.service.DomainEventApplicationService;
 import solid.humank.genaidemo.application.pricing.dto.CreatePricingRuleCommand;
 import solid.humank.genaidemo.application.pricing.dto.PricingRuleDto;
 import solid.humank.genaidemo.application.pricing.dto.ProductCategoryDto;
@@ -24,9 +25,12 @@ import solid.humank.genaidemo.domain.promotion.model.valueobject.PromotionId;
 public class PricingApplicationService {
 
     private final PricingRuleRepository pricingRuleRepository;
+    private final DomainEventApplicationService domainEventApplicationService;
 
-    public PricingApplicationService(PricingRuleRepository pricingRuleRepository) {
+    public PricingApplicationService(PricingRuleRepository pricingRuleRepository,
+            DomainEventApplicationService domainEventApplicationService) {
         this.pricingRuleRepository = pricingRuleRepository;
+        this.domainEventApplicationService = domainEventApplicationService;
     }
 
     /** 創建定價規則 */
@@ -50,6 +54,7 @@ public class PricingApplicationService {
                 category);
 
         PricingRule savedRule = pricingRuleRepository.save(pricingRule);
+        domainEventApplicationService.publishEventsFromAggregate(pricingRule);
         return mapToDto(savedRule);
     }
 
@@ -0,0 +1,23 @@
+package solid.humank.genaidemo.application.product;
+
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+
+/**
+ * 結帳用的商品與價格快照
+ *
+ * @param productId   產品ID
+ * @param name        產品名稱
+ * @param listPrice   產品定價
+ * @param price       目前有效的售價，沒有生效中的定價規則時等於定價
+ * @param purchasable 是否可購買
+ * @param version     載入時的快照版本，失效之後載入的快照版本較大
+ */
+public record ProductSnapshot(
+        ProductId productId,
+        String name,
+        Money listPrice,
+        Money price,
+        boolean purchasable,
+        long version) {
+}
@@ -0,0 +1,47 @@
+package solid.humank.genaidemo.application.product.port.outgoing;
+
+import java.util.List;
+
+/**
+ * 價格歷史端口
+ * 每個商品的價格歷史切成依序編號的區塊，每個區塊是一列，內容為已編碼的時間與價格欄位。
+ * 只有最後一個區塊會被改寫（附加價格點），寫滿的區塊不再變動。
+ *
+ * 每個方法都在自己的短交易中完成並立即提交。
+ */
+public interface PriceHistoryPort {
+
+    /**
+     * 查詢商品的所有區塊
+     *
+     * @param productId 商品ID
+     * @return 依序號遞增的區塊，沒有歷史時為空
+     */
+    List<StoredChunk> findChunks(String productId);
+
+    /**
+     * 新增或改寫區塊
+     * {@code expectedVersion} 為 0 時新增，否則只在版本相符時改寫並把版本加一
+     *
+     * @param chunk           區塊，版本為寫入前的版本
+     * @param expectedVersion 預期的目前版本
+     * @return 其他節點已先寫入同一區塊時為 false
+     */
+    boolean saveChunk(StoredChunk chunk, long expectedVersion);
+
+    /**
+     * 已保存的區塊
+     *
+     * @param productId        商品ID
+     * @param sequence         區塊序號，從 0 開始
+     * @param currency         幣別，同一區塊只有一種幣別
+     * @param firstEpochSecond 第一個價格點的時間
+     * @param lastEpochSecond  最後一個價格點的時間
+     * @param pointCount       價格點數
+     * @param encoded          編碼後的欄位
+     * @param version          版本
+     */
+    record StoredChunk(String productId, int sequence, String currency, long firstEpochSecond,
+            long lastEpochSecond, int pointCount, byte[] encoded, long version) {
+    }
+}
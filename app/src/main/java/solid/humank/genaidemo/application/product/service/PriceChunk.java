@@ -0,0 +1,228 @@
+package solid.humank.genaidemo.application.product.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * 價格歷史區塊
+ *
+ * 一段依時間排序的價格點，以欄位方式編碼：時間欄位與價格欄位各自連續存放。
+ * 時間以秒為單位，第一個值存絕對值，其後存與前一點的差；價格以區塊共用的小數位數轉成整數，
+ * 同樣存差值。差值以 ZigZag 與變長整數（varint）編碼，價格小幅變動與數天內的時間差
+ * 都只需一到三個位元組，一個價格點通常不到六個位元組。
+ *
+ * 區塊不可變，{@link #append} 回傳新的區塊。
+ */
+final class PriceChunk {
+
+    /** 每個區塊的價格點上限，寫滿後開始新的區塊 */
+    static final int MAX_POINTS = 256;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L };
+
+    private final int scale;
+    private final long[] epochSeconds;
+    private final long[] unscaledPrices;
+
+    private PriceChunk(int scale, long[] epochSeconds, long[] unscaledPrices) {
+        this.scale = scale;
+        this.epochSeconds = epochSeconds;
+        this.unscaledPrices = unscaledPrices;
+    }
+
+    /**
+     * 只有一個價格點的區塊
+     */
+    static PriceChunk of(long epochSecond, BigDecimal price) {
+        int priceScale = scaleOf(price);
+        return new PriceChunk(priceScale, new long[] { epochSecond },
+                new long[] { price.setScale(priceScale).unscaledValue().longValueExact() });
+    }
+
+    /**
+     * 附加價格點
+     *
+     * @throws IllegalArgumentException 時間早於最後一個價格點時
+     * @throws IllegalStateException    區塊已滿時
+     */
+    PriceChunk append(long epochSecond, BigDecimal price) {
+        if (size() >= MAX_POINTS) {
+            throw new IllegalStateException("Price chunk is full");
+        }
+        if (epochSecond < lastEpochSecond()) {
+            throw new IllegalArgumentException("Price points must be appended in time order");
+        }
+        int newScale = Math.max(scale, scaleOf(price));
+        long[] prices = Arrays.copyOf(unscaledPrices, size() + 1);
+        if (newScale > scale) {
+            // 新價格的小數位數較多：既有價格一併放大
+            long factor = pow10(newScale - scale);
+            for (int i = 0; i < size(); i++) {
+                prices[i] = Math.multiplyExact(prices[i], factor);
+            }
+        }
+        prices[size()] = price.setScale(newScale).unscaledValue().longValueExact();
+        long[] times = Arrays.copyOf(epochSeconds, size() + 1);
+        times[size()] = epochSecond;
+        return new PriceChunk(newScale, times, prices);
+    }
+
+    int size() {
+        return epochSeconds.length;
+    }
+
+    int scale() {
+        return scale;
+    }
+
+    long epochSecond(int index) {
+        return epochSeconds[index];
+    }
+
+    /**
+     * 以指定的小數位數表示的價格，小數位數不得小於區塊的小數位數
+     */
+    long unscaledPrice(int index, int targetScale) {
+        return targetScale == scale ? unscaledPrices[index]
+                : Math.multiplyExact(unscaledPrices[index], pow10(targetScale - scale));
+    }
+
+    BigDecimal price(int index) {
+        return BigDecimal.valueOf(unscaledPrices[index], scale);
+    }
+
+    long firstEpochSecond() {
+        return epochSeconds[0];
+    }
+
+    long lastEpochSecond() {
+        return epochSeconds[size() - 1];
+    }
+
+    BigDecimal lastPrice() {
+        return price(size() - 1);
+    }
+
+    byte[] encode() {
+        Writer writer = new Writer(8 + size() * 6);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeVarint(size());
+        writer.writeVarint(scale);
+        long previous = 0;
+        for (long epochSecond : epochSeconds) {
+            writer.writeVarint(zigZag(epochSecond - previous));
+            previous = epochSecond;
+        }
+        previous = 0;
+        for (long unscaled : unscaledPrices) {
+            writer.writeVarint(zigZag(unscaled - previous));
+            previous = unscaled;
+        }
+        return writer.toByteArray();
+    }
+
+    static PriceChunk decode(byte[] encoded) {
+        Reader reader = new Reader(encoded);
+        byte format = reader.readByte();
+        if (format != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported price chunk format: " + format);
+        }
+        int count = (int) reader.readVarint();
+        int scale = (int) reader.readVarint();
+        long[] times = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(reader.readVarint());
+            times[i] = previous;
+        }
+        long[] prices = new long[count];
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(reader.readVarint());
+            prices[i] = previous;
+        }
+        return new PriceChunk(scale, times, prices);
+    }
+
+    private static int scaleOf(BigDecimal price) {
+        return Math.max(0, price.stripTrailingZeros().scale());
+    }
+
+    static long pow10(int exponent) {
+        if (exponent < 0 || exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Unsupported price scale difference: " + exponent);
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int length;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[length++] = value;
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                if (shift >= 64) {
+                    throw new IllegalArgumentException("Malformed varint in price chunk");
+                }
+                current = buffer[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package solid.humank.genaidemo.application.product.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.application.product.port.outgoing.PriceHistoryPort;
+import solid.humank.genaidemo.application.product.port.outgoing.PriceHistoryPort.StoredChunk;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+
+/**
+ * 商品價格歷史服務
+ *
+ * 價格歷史只附加不修改，存成每段最多 {@value PriceChunk#MAX_POINTS} 個價格點的編碼區塊
+ * （見 {@link PriceChunk}），數年的價格變動只占數 KB。查詢時只解碼與範圍重疊的區塊，
+ * 依時間粒度彙總為每個區間的開盤、最低、最高與收盤價。價格在下一次變動前持續有效，
+ * 因此沒有變動的區間沿用前一個價格。
+ *
+ * 最近查詢的商品以編碼後的區塊快取在記憶體中，查詢不經過資料庫；快取項目超過存活時間後重新載入，
+ * 以取得其他節點附加的價格點。
+ *
+ * 附加時間早於最後一個價格點的事件以最後一個價格點的時間記錄，維持歷史只附加；
+ * 與目前價格相同的事件不產生價格點。
+ */
+@Service
+public class PriceHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceHistoryService.class);
+
+    /** 單次查詢的區間數上限 */
+    static final int MAX_BUCKETS = 1_000;
+    private static final int MAX_APPEND_ATTEMPTS = 3;
+    private static final int LOCK_STRIPES = 64;
+
+    private final PriceHistoryPort priceHistoryPort;
+    private final ZoneId zone;
+    private final int maxCachedProducts;
+    private final long cacheTtlMillis;
+    private final Clock clock;
+    private final ReentrantLock[] appendLocks = new ReentrantLock[LOCK_STRIPES];
+    private final LinkedHashMap<String, Series> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public PriceHistoryService(PriceHistoryPort priceHistoryPort,
+            @Value("${genai-demo.price-history.zone:Asia/Taipei}") String zone,
+            @Value("${genai-demo.price-history.max-cached-products:10000}") int maxCachedProducts,
+            @Value("${genai-demo.price-history.cache-ttl-seconds:60}") long cacheTtlSeconds) {
+        this(priceHistoryPort, ZoneId.of(zone), maxCachedProducts, cacheTtlSeconds * 1000, Clock.systemUTC());
+    }
+
+    PriceHistoryService(PriceHistoryPort priceHistoryPort, ZoneId zone, int maxCachedProducts,
+            long cacheTtlMillis, Clock clock) {
+        if (maxCachedProducts <= 0 || cacheTtlMillis <= 0) {
+            throw new IllegalArgumentException("Price history cache capacity and TTL must be positive");
+        }
+        this.priceHistoryPort = priceHistoryPort;
+        this.zone = zone;
+        this.maxCachedProducts = maxCachedProducts;
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.clock = clock;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            appendLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 記錄價格
+     *
+     * @param productId 商品ID
+     * @param price     價格
+     * @param at        生效時間
+     */
+    public void record(String productId, Money price, Instant at) {
+        String currency = price.getCurrency().getCurrencyCode();
+        BigDecimal amount = price.getAmount();
+        ReentrantLock lock = appendLocks[Math.floorMod(productId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            for (int attempt = 0; attempt < MAX_APPEND_ATTEMPTS; attempt++) {
+                Series series = load(productId, attempt > 0);
+                StoredChunk last = series.last();
+                PriceChunk lastChunk = last != null ? PriceChunk.decode(last.encoded()) : null;
+                if (lastChunk != null && last.currency().equals(currency)
+                        && lastChunk.lastPrice().compareTo(amount) == 0) {
+                    return;
+                }
+                long epochSecond = lastChunk != null
+                        ? Math.max(at.getEpochSecond(), lastChunk.lastEpochSecond())
+                        : at.getEpochSecond();
+
+                StoredChunk next;
+                long expectedVersion;
+                if (lastChunk != null && last.currency().equals(currency)
+                        && lastChunk.size() < PriceChunk.MAX_POINTS) {
+                    next = toStored(productId, last.sequence(), currency,
+                            lastChunk.append(epochSecond, amount), last.version() + 1);
+                    expectedVersion = last.version();
+                } else {
+                    // 第一個價格點、區塊已滿或幣別改變：開始新的區塊
+                    next = toStored(productId, last != null ? last.sequence() + 1 : 0, currency,
+                            PriceChunk.of(epochSecond, amount), 1);
+                    expectedVersion = 0;
+                }
+                if (priceHistoryPort.saveChunk(next, expectedVersion)) {
+                    cachePut(productId, series.withLast(next, clock.millis()));
+                    return;
+                }
+                logger.debug("Price history of {} was appended concurrently, reloading", productId);
+            }
+            throw new IllegalStateException("Could not append price history of " + productId
+                    + " after " + MAX_APPEND_ATTEMPTS + " attempts");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 依時間粒度彙總的價格歷史
+     * 區間起點對齊設定時區的整點或日界；第一個價格點之前的區間不回傳。
+     *
+     * @param productId  商品ID
+     * @param from       起始時間（含）
+     * @param to         結束時間（不含）
+     * @param resolution 時間粒度
+     * @throws IllegalArgumentException 範圍無效或區間數超過 {@value #MAX_BUCKETS} 時
+     */
+    public PriceHistory history(String productId, Instant from, Instant to, Resolution resolution) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Price history range must end after it starts");
+        }
+        long origin = resolution.bucketStart(from.atZone(zone)).toEpochSecond();
+        long end = to.getEpochSecond();
+        long step = resolution.step().toSeconds();
+        long bucketCount = Math.ceilDiv(end - origin, step);
+        if (bucketCount > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Price history range spans more than " + MAX_BUCKETS + " buckets");
+        }
+
+        List<StoredChunk> chunks = load(productId, false).chunks();
+        if (chunks.isEmpty()) {
+            return new PriceHistory(productId, null, resolution, List.of());
+        }
+        String currency = chunks.get(chunks.size() - 1).currency();
+
+        // 只解碼與範圍重疊的區塊，加上範圍前的最後一個區塊以取得起始價格
+        List<PriceChunk> relevant = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            StoredChunk chunk = chunks.get(i);
+            if (!chunk.currency().equals(currency) || chunk.firstEpochSecond() >= end) {
+                continue;
+            }
+            boolean overlaps = chunk.lastEpochSecond() >= origin;
+            boolean carriesIntoRange = i + 1 == chunks.size() || chunks.get(i + 1).firstEpochSecond() >= origin;
+            if (overlaps || carriesIntoRange) {
+                relevant.add(PriceChunk.decode(chunk.encoded()));
+            }
+        }
+        int scale = relevant.stream().mapToInt(PriceChunk::scale).max().orElse(0);
+
+        Buckets buckets = new Buckets((int) bucketCount);
+        for (PriceChunk chunk : relevant) {
+            for (int i = 0; i < chunk.size(); i++) {
+                long epochSecond = chunk.epochSecond(i);
+                if (epochSecond >= end) {
+                    break;
+                }
+                long price = chunk.unscaledPrice(i, scale);
+                if (epochSecond < origin) {
+                    buckets.carry(price);
+                } else {
+                    buckets.add((int) ((epochSecond - origin) / step), price);
+                }
+            }
+        }
+        buckets.fillTo((int) bucketCount - 1);
+
+        List<PriceBucket> result = new ArrayList<>();
+        for (int b = 0; b < bucketCount; b++) {
+            if (buckets.has[b]) {
+                result.add(new PriceBucket(Instant.ofEpochSecond(origin + b * step),
+                        BigDecimal.valueOf(buckets.open[b], scale), BigDecimal.valueOf(buckets.min[b], scale),
+                        BigDecimal.valueOf(buckets.max[b], scale), BigDecimal.valueOf(buckets.close[b], scale),
+                        buckets.changes[b]));
+            }
+        }
+        return new PriceHistory(productId, currency, resolution, result);
+    }
+
+    /**
+     * 區間對齊的時區
+     */
+    public ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * 快取中的商品數
+     */
+    public int cachedProducts() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private Series load(String productId, boolean forceReload) {
+        long now = clock.millis();
+        if (!forceReload) {
+            synchronized (cache) {
+                Series cached = cache.get(productId);
+                if (cached != null && now - cached.loadedAtMillis() < cacheTtlMillis) {
+                    return cached;
+                }
+            }
+        }
+        Series loaded = new Series(List.copyOf(priceHistoryPort.findChunks(productId)), now);
+        cachePut(productId, loaded);
+        return loaded;
+    }
+
+    private void cachePut(String productId, Series series) {
+        synchronized (cache) {
+            cache.put(productId, series);
+            if (cache.size() > maxCachedProducts) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+    }
+
+    private static StoredChunk toStored(String productId, int sequence, String currency, PriceChunk chunk,
+            long version) {
+        return new StoredChunk(productId, sequence, currency, chunk.firstEpochSecond(), chunk.lastEpochSecond(),
+                chunk.size(), chunk.encode(), version);
+    }
+
+    /** 區間彙總；價格在下一次變動前有效，因此每個區間以進入時的價格開盤 */
+    private static final class Buckets {
+        private final long[] open;
+        private final long[] min;
+        private final long[] max;
+        private final long[] close;
+        private final int[] changes;
+        private final boolean[] has;
+        private int filled = -1;
+        private boolean hasCarry;
+        private long carry;
+
+        Buckets(int count) {
+            open = new long[count];
+            min = new long[count];
+            max = new long[count];
+            close = new long[count];
+            changes = new int[count];
+            has = new boolean[count];
+        }
+
+        void carry(long price) {
+            carry = price;
+            hasCarry = true;
+        }
+
+        void add(int bucket, long price) {
+            fillTo(bucket);
+            if (!has[bucket]) {
+                open[bucket] = price;
+                min[bucket] = price;
+                max[bucket] = price;
+                has[bucket] = true;
+            } else {
+                min[bucket] = Math.min(min[bucket], price);
+                max[bucket] = Math.max(max[bucket], price);
+            }
+            close[bucket] = price;
+            changes[bucket]++;
+            carry(price);
+        }
+
+        void fillTo(int bucket) {
+            while (filled < bucket) {
+                filled++;
+                if (hasCarry) {
+                    open[filled] = carry;
+                    min[filled] = carry;
+                    max[filled] = carry;
+                    close[filled] = carry;
+                    has[filled] = true;
+                }
+            }
+        }
+    }
+
+    private record Series(List<StoredChunk> chunks, long loadedAtMillis) {
+
+        StoredChunk last() {
+            return chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        }
+
+        Series withLast(StoredChunk chunk, long now) {
+            List<StoredChunk> updated = new ArrayList<>(chunks);
+            if (!updated.isEmpty() && updated.get(updated.size() - 1).sequence() == chunk.sequence()) {
+                updated.set(updated.size() - 1, chunk);
+            } else {
+                updated.add(chunk);
+            }
+            return new Series(List.copyOf(updated), now);
+        }
+    }
+
+    /** 時間粒度 */
+    public enum Resolution {
+        HOUR(Duration.ofHours(1), ChronoUnit.HOURS),
+        DAY(Duration.ofDays(1), ChronoUnit.DAYS),
+        WEEK(Duration.ofDays(7), ChronoUnit.DAYS);
+
+        private final Duration step;
+        private final ChronoUnit alignment;
+
+        Resolution(Duration step, ChronoUnit alignment) {
+            this.step = step;
+            this.alignment = alignment;
+        }
+
+        public Duration step() {
+            return step;
+        }
+
+        ZonedDateTime bucketStart(ZonedDateTime time) {
+            return time.truncatedTo(alignment);
+        }
+    }
+
+    /**
+     * 區間彙總
+     *
+     * @param start   區間起點
+     * @param open    區間開始時有效的價格
+     * @param min     區間內的最低價
+     * @param max     區間內的最高價
+     * @param close   區間結束時有效的價格
+     * @param changes 區間內的價格變動次數
+     */
+    public record PriceBucket(Instant start, BigDecimal open, BigDecimal min, BigDecimal max, BigDecimal close,
+            int changes) {
+    }
+
+    /**
+     * 價格歷史
+     *
+     * @param currency 幣別，沒有歷史時為 null；幣別曾改變時只包含目前幣別的價格
+     */
+    public record PriceHistory(String productId, String currency, Resolution resolution,
+            List<PriceBucket> buckets) {
+
+        public PriceHistory {
+            buckets = List.copyOf(buckets);
+        }
+    }
+}
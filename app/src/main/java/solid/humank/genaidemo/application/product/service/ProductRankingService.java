@@ -0,0 +1,603 @@
+package solid.humank.genaidemo.application.product.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.domain.product.model.aggregate.Product;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.domain.product.repository.ProductRepository;
+
+/**
+ * 商品排行服務
+ *
+ * 由瀏覽與購買事件累積隨時間衰減的熱度分數與共同購買次數，背景工作定期重新計算
+ * 熱門（全站與各分類）、相關商品與個人化推薦的前 K 名並整批發布，查詢只讀取已發布的清單，
+ * 成本與追蹤的商品數無關。
+ *
+ * 衰減採前向衰減：事件在時間 t 的權重為 2^((t - 基準時間) / 半衰期)，累加後的數值可直接比較，
+ * 不必在每次更新時衰減所有項目；基準時間過舊時整批換算到新的基準時間，避免數值溢位。
+ *
+ * 記憶體上限：
+ * - 事件佇列有容量上限，佇列已滿時捨棄事件並計數，不阻塞業務流程
+ * - 追蹤的商品數超過上限時移除分數最低的商品
+ * - 每個商品只保留共同購買次數最高的若干商品（Space-Saving 近似）
+ * - 只保留最近購買的若干客戶，超過時移除最久未購買的客戶
+ *
+ * 每份清單帶有產生時間，呼叫端可據此得知清單的新舊程度。
+ * 客戶的推薦清單在購買後的下一次重新計算重建，其餘保留的客戶每次重新計算輪流重建一部分，
+ * 最多 {@value #RECOMMENDATION_SWEEP_REFRESHES} 次重新計算就全部重建一輪，
+ * 已下架的商品、變更後的價格與清單的產生時間不會停留在客戶最後一次購買時的狀態。
+ * 分數與共同購買次數只由重新計算的執行緒存取，發布的清單為不可變物件。
+ */
+@Service
+public class ProductRankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductRankingService.class);
+
+    static final double VIEW_WEIGHT = 1.0;
+    static final double PURCHASE_WEIGHT = 5.0;
+    /** 基準時間超過此半衰期數時重新換算 */
+    private static final double RENORMALIZE_AFTER_HALF_LIVES = 32;
+    private static final int MAX_BASKET_ITEMS = 20;
+    private static final int MAX_CUSTOMER_HISTORY = 10;
+    private static final int RESOLVE_BATCH_SIZE = 500;
+    /** 所有保留客戶的推薦清單在此重新計算次數內至少重建一次 */
+    static final int RECOMMENDATION_SWEEP_REFRESHES = 12;
+
+    private final ProductRepository productRepository;
+    private final Settings settings;
+    private final Clock clock;
+    private final BlockingQueue<Signal> signals;
+    private final LongAdder droppedSignals = new LongAdder();
+    private ScheduledExecutorService refreshExecutor;
+
+    // 以下欄位只在 refresh 中存取
+    private long landmarkMillis;
+    private final Map<String, TrackedProduct> products = new HashMap<>();
+    private final LinkedHashMap<String, Deque<String>> customerHistories = new LinkedHashMap<>();
+    private final Set<String> changedCustomers = new HashSet<>();
+    private final Deque<String> recommendationSweep = new ArrayDeque<>();
+
+    // 已發布的清單
+    private volatile Rankings rankings;
+    private volatile int trackedProducts;
+    private final ConcurrentHashMap<String, RankedList> customerRecommendations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductRankingService(ProductRepository productRepository,
+            @Value("${genai-demo.product-ranking.top-k:20}") int topK,
+            @Value("${genai-demo.product-ranking.half-life-minutes:360}") long halfLifeMinutes,
+            @Value("${genai-demo.product-ranking.max-tracked-products:10000}") int maxTrackedProducts,
+            @Value("${genai-demo.product-ranking.max-related-per-product:50}") int maxRelatedPerProduct,
+            @Value("${genai-demo.product-ranking.max-customers:10000}") int maxCustomers,
+            @Value("${genai-demo.product-ranking.queue-capacity:10000}") int queueCapacity,
+            @Value("${genai-demo.product-ranking.refresh-interval-millis:5000}") long refreshIntervalMillis) {
+        this(productRepository, new Settings(topK, Duration.ofMinutes(halfLifeMinutes), maxTrackedProducts,
+                maxRelatedPerProduct, maxCustomers, queueCapacity, Duration.ofMillis(refreshIntervalMillis)),
+                Clock.systemUTC());
+    }
+
+    ProductRankingService(ProductRepository productRepository, Settings settings, Clock clock) {
+        this.productRepository = productRepository;
+        this.settings = settings;
+        this.clock = clock;
+        this.signals = new ArrayBlockingQueue<>(settings.queueCapacity());
+        this.landmarkMillis = clock.millis();
+        this.rankings = Rankings.empty(clock.instant());
+    }
+
+    @PostConstruct
+    void start() {
+        long period = settings.refreshInterval().toMillis();
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ProductRanking-refresh").daemon(true).factory());
+        refreshExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                logger.error("Failed to refresh product rankings", e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 記錄商品瀏覽
+     *
+     * @param productId 產品ID
+     */
+    public void recordView(String productId) {
+        offer(new Signal(SignalType.VIEW, null, List.of(productId), clock.millis()));
+    }
+
+    /**
+     * 記錄一筆訂單購買的商品
+     *
+     * @param customerId 客戶ID，可為 null
+     * @param productIds 訂單中的商品，重複的商品只計一次
+     */
+    public void recordPurchase(String customerId, Collection<String> productIds) {
+        List<String> basket = productIds.stream().distinct().limit(MAX_BASKET_ITEMS).toList();
+        if (!basket.isEmpty()) {
+            offer(new Signal(SignalType.PURCHASE, customerId, basket, clock.millis()));
+        }
+    }
+
+    /**
+     * 商品資料變更，下次重新計算時重新載入名稱、價格與上架狀態
+     *
+     * @param productId 產品ID
+     */
+    public void productChanged(String productId) {
+        offer(new Signal(SignalType.PRODUCT_CHANGED, null, List.of(productId), clock.millis()));
+    }
+
+    private void offer(Signal signal) {
+        if (!signals.offer(signal)) {
+            droppedSignals.increment();
+        }
+    }
+
+    /**
+     * 熱門商品
+     *
+     * @param category 分類，為 null 時為全站熱門
+     * @param limit    筆數上限，最多為設定的前 K 名
+     */
+    public RankedList trending(String category, int limit) {
+        Rankings current = rankings;
+        RankedList list = category == null ? current.trending()
+                : current.trendingByCategory().getOrDefault(category, RankedList.empty(current.generatedAt()));
+        return list.limit(limit);
+    }
+
+    /**
+     * 與指定商品經常一起購買的商品
+     *
+     * @param productId 產品ID
+     * @param limit     筆數上限
+     */
+    public RankedList related(String productId, int limit) {
+        Rankings current = rankings;
+        return current.related().getOrDefault(productId, RankedList.empty(current.generatedAt())).limit(limit);
+    }
+
+    /**
+     * 個人化推薦：依客戶最近購買商品的相關商品排序，不足時以熱門商品補足；沒有購買紀錄的客戶回傳熱門商品
+     *
+     * @param customerId 客戶ID
+     * @param limit      筆數上限
+     */
+    public RankedList recommendations(String customerId, int limit) {
+        RankedList list = customerRecommendations.get(customerId);
+        return list != null ? list.limit(limit) : rankings.trending().limit(limit);
+    }
+
+    /**
+     * 套用佇列中的事件並重新計算所有清單，由背景工作定期呼叫
+     */
+    public synchronized void refresh() {
+        long now = clock.millis();
+        List<Signal> batch = new ArrayList<>(signals.size());
+        signals.drainTo(batch);
+        if (now - landmarkMillis > RENORMALIZE_AFTER_HALF_LIVES * settings.halfLife().toMillis()) {
+            renormalize(now);
+        }
+        for (Signal signal : batch) {
+            apply(signal);
+        }
+        evictLowestScores();
+        resolveProducts();
+
+        double decay = decayFactor(now);
+        Instant generatedAt = Instant.ofEpochMilli(now);
+        Rankings rebuilt = buildRankings(decay, generatedAt);
+        rankings = rebuilt;
+        trackedProducts = products.size();
+        for (String customerId : changedCustomers) {
+            Deque<String> history = customerHistories.get(customerId);
+            if (history != null) {
+                customerRecommendations.put(customerId, recommend(history, rebuilt, generatedAt));
+            }
+        }
+        sweepRecommendations(rebuilt, generatedAt);
+        changedCustomers.clear();
+    }
+
+    /**
+     * 輪流重建沒有新購買的客戶的推薦清單，每次最多重建保留客戶數的
+     * 1/{@value #RECOMMENDATION_SWEEP_REFRESHES}；一輪結束後以目前保留的客戶開始下一輪
+     */
+    private void sweepRecommendations(Rankings current, Instant generatedAt) {
+        int budget = Math.max(1, Math.ceilDiv(settings.maxCustomers(), RECOMMENDATION_SWEEP_REFRESHES));
+        boolean refilled = false;
+        while (budget > 0) {
+            if (recommendationSweep.isEmpty()) {
+                if (refilled) {
+                    return;
+                }
+                recommendationSweep.addAll(customerHistories.keySet());
+                refilled = true;
+                continue;
+            }
+            String customerId = recommendationSweep.poll();
+            Deque<String> history = customerHistories.get(customerId);
+            // 已移除的客戶略過；本次已因購買重建的客戶不重複計算
+            if (history != null && !changedCustomers.contains(customerId)) {
+                customerRecommendations.put(customerId, recommend(history, current, generatedAt));
+                budget--;
+            }
+        }
+    }
+
+    /**
+     * 目前的狀態統計
+     */
+    public RankingStats stats() {
+        return new RankingStats(trackedProducts, customerRecommendations.size(), signals.size(),
+                droppedSignals.sum(), Math.max(0, clock.millis() - rankings.generatedAt().toEpochMilli()));
+    }
+
+    private void apply(Signal signal) {
+        double weight = Math.pow(2, (signal.atMillis() - landmarkMillis) / (double) settings.halfLife().toMillis());
+        switch (signal.type()) {
+            case VIEW -> track(signal.productIds().get(0)).views += VIEW_WEIGHT * weight;
+            case PURCHASE -> {
+                List<String> basket = signal.productIds();
+                for (String productId : basket) {
+                    TrackedProduct product = track(productId);
+                    product.purchases += PURCHASE_WEIGHT * weight;
+                    for (String other : basket) {
+                        if (!other.equals(productId)) {
+                            addCoPurchase(product, other, weight);
+                        }
+                    }
+                }
+                if (signal.customerId() != null) {
+                    recordHistory(signal.customerId(), basket);
+                }
+            }
+            case PRODUCT_CHANGED -> {
+                TrackedProduct product = products.get(signal.productIds().get(0));
+                if (product != null) {
+                    product.summary = null;
+                }
+            }
+        }
+    }
+
+    private TrackedProduct track(String productId) {
+        return products.computeIfAbsent(productId, ignored -> new TrackedProduct());
+    }
+
+    private void addCoPurchase(TrackedProduct product, String other, double weight) {
+        Map<String, Double> related = product.related;
+        if (!related.containsKey(other) && related.size() >= settings.maxRelatedPerProduct()) {
+            // Space-Saving：新商品取代次數最少的商品並繼承其次數，經常一起購買的商品不會因晚出現而進不來
+            Map.Entry<String, Double> weakest = related.entrySet().stream()
+                    .min(Map.Entry.comparingByValue()).orElseThrow();
+            related.remove(weakest.getKey());
+            related.put(other, weakest.getValue() + weight);
+            return;
+        }
+        related.merge(other, weight, Double::sum);
+    }
+
+    private void recordHistory(String customerId, List<String> basket) {
+        // 重新放入映射的尾端：最前面是最久未購買的客戶；以插入順序保存，重新計算時讀取不影響順序
+        Deque<String> history = customerHistories.remove(customerId);
+        if (history == null) {
+            history = new ArrayDeque<>();
+        }
+        customerHistories.put(customerId, history);
+        for (String productId : basket) {
+            history.remove(productId);
+            history.addFirst(productId);
+        }
+        while (history.size() > MAX_CUSTOMER_HISTORY) {
+            history.removeLast();
+        }
+        changedCustomers.add(customerId);
+        Iterator<String> eldest = customerHistories.keySet().iterator();
+        while (customerHistories.size() > settings.maxCustomers()) {
+            String evicted = eldest.next();
+            eldest.remove();
+            changedCustomers.remove(evicted);
+            customerRecommendations.remove(evicted);
+        }
+    }
+
+    private void evictLowestScores() {
+        if (products.size() <= settings.maxTrackedProducts()) {
+            return;
+        }
+        // 一次移除到上限的九成，避免每次重新計算都要排序
+        int target = settings.maxTrackedProducts() * 9 / 10;
+        List<String> byScore = products.entrySet().stream()
+                .sorted(Comparator.comparingDouble(entry -> entry.getValue().trendScore()))
+                .map(Map.Entry::getKey)
+                .limit(products.size() - target)
+                .toList();
+        byScore.forEach(products::remove);
+    }
+
+    private void resolveProducts() {
+        List<ProductId> unresolved = products.entrySet().stream()
+                .filter(entry -> entry.getValue().summary == null)
+                .map(entry -> new ProductId(entry.getKey()))
+                .toList();
+        for (int from = 0; from < unresolved.size(); from += RESOLVE_BATCH_SIZE) {
+            List<ProductId> chunk = unresolved.subList(from, Math.min(from + RESOLVE_BATCH_SIZE, unresolved.size()));
+            Map<String, Product> found = new HashMap<>();
+            productRepository.findAllByIds(chunk).forEach(product -> found.put(product.getId().getId(), product));
+            for (ProductId productId : chunk) {
+                Product product = found.get(productId.getId());
+                if (product == null || !product.isActive()) {
+                    // 不存在或已下架的商品不再排名
+                    products.remove(productId.getId());
+                } else {
+                    products.get(productId.getId()).summary = RankedProduct.of(product, 0);
+                }
+            }
+        }
+    }
+
+    private Rankings buildRankings(double decay, Instant generatedAt) {
+        int topK = settings.topK();
+        TopK trending = new TopK(topK);
+        Map<String, TopK> byCategory = new HashMap<>();
+        Map<String, RankedList> related = new HashMap<>();
+
+        for (Map.Entry<String, TrackedProduct> entry : products.entrySet()) {
+            TrackedProduct product = entry.getValue();
+            RankedProduct ranked = product.summary.withScore(product.trendScore() * decay);
+            trending.offer(ranked);
+            byCategory.computeIfAbsent(ranked.category(), ignored -> new TopK(topK)).offer(ranked);
+
+            if (!product.related.isEmpty()) {
+                // 順便清除已不再追蹤的共同購買商品
+                product.related.keySet().retainAll(products.keySet());
+                TopK neighbours = new TopK(topK);
+                product.related.forEach((otherId, count) -> neighbours.offer(
+                        products.get(otherId).summary.withScore(count * decay)));
+                related.put(entry.getKey(), neighbours.toList(generatedAt));
+            }
+        }
+
+        Map<String, RankedList> trendingByCategory = new HashMap<>();
+        byCategory.forEach((category, top) -> trendingByCategory.put(category, top.toList(generatedAt)));
+        return new Rankings(trending.toList(generatedAt), Map.copyOf(trendingByCategory), Map.copyOf(related),
+                generatedAt);
+    }
+
+    private RankedList recommend(Deque<String> history, Rankings current, Instant generatedAt) {
+        Map<String, RankedProduct> candidates = new HashMap<>();
+        Map<String, Double> scores = new HashMap<>();
+        int position = 0;
+        for (String purchased : history) {
+            // 越近購買的商品權重越高
+            double weight = 1.0 / ++position;
+            for (RankedProduct neighbour : current.related().getOrDefault(purchased,
+                    RankedList.empty(generatedAt)).products()) {
+                candidates.putIfAbsent(neighbour.productId(), neighbour);
+                scores.merge(neighbour.productId(), neighbour.score() * weight, Double::sum);
+            }
+        }
+        history.forEach(scores::remove);
+
+        List<RankedProduct> ranked = new ArrayList<>(settings.topK());
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(settings.topK())
+                .forEach(entry -> ranked.add(candidates.get(entry.getKey()).withScore(entry.getValue())));
+
+        Set<String> seen = new LinkedHashSet<>(history);
+        ranked.forEach(product -> seen.add(product.productId()));
+        for (RankedProduct popular : current.trending().products()) {
+            if (ranked.size() >= settings.topK()) {
+                break;
+            }
+            if (seen.add(popular.productId())) {
+                ranked.add(popular);
+            }
+        }
+        return new RankedList(ranked, generatedAt);
+    }
+
+    private void renormalize(long now) {
+        double factor = decayFactor(now);
+        for (TrackedProduct product : products.values()) {
+            product.views *= factor;
+            product.purchases *= factor;
+            product.related.replaceAll((ignored, count) -> count * factor);
+        }
+        landmarkMillis = now;
+    }
+
+    private double decayFactor(long now) {
+        return Math.pow(2, -(now - landmarkMillis) / (double) settings.halfLife().toMillis());
+    }
+
+    private enum SignalType {
+        VIEW, PURCHASE, PRODUCT_CHANGED
+    }
+
+    private record Signal(SignalType type, String customerId, List<String> productIds, long atMillis) {
+    }
+
+    private static final class TrackedProduct {
+        private double views;
+        private double purchases;
+        private final Map<String, Double> related = new HashMap<>();
+        /** 商品資料，尚未載入或資料已變更時為 null */
+        private RankedProduct summary;
+
+        double trendScore() {
+            return views + purchases;
+        }
+    }
+
+    /** 以最小堆積保留分數最高的 K 筆 */
+    private static final class TopK {
+        private final int k;
+        private final PriorityQueue<RankedProduct> heap =
+                new PriorityQueue<>(Comparator.comparingDouble(RankedProduct::score));
+
+        TopK(int k) {
+            this.k = k;
+        }
+
+        void offer(RankedProduct product) {
+            if (heap.size() < k) {
+                heap.add(product);
+            } else if (product.score() > heap.peek().score()) {
+                heap.poll();
+                heap.add(product);
+            }
+        }
+
+        RankedList toList(Instant generatedAt) {
+            List<RankedProduct> sorted = new ArrayList<>(heap);
+            sorted.sort(Comparator.comparingDouble(RankedProduct::score).reversed());
+            return new RankedList(sorted, generatedAt);
+        }
+    }
+
+    /**
+     * 排行設定
+     *
+     * @param topK                 每份清單保留的筆數
+     * @param halfLife             分數衰減一半所需的時間
+     * @param maxTrackedProducts   追蹤的商品數上限
+     * @param maxRelatedPerProduct 每個商品保留的共同購買商品數上限
+     * @param maxCustomers         保留推薦清單的客戶數上限
+     * @param queueCapacity        事件佇列容量
+     * @param refreshInterval      重新計算的間隔
+     */
+    record Settings(int topK, Duration halfLife, int maxTrackedProducts, int maxRelatedPerProduct,
+            int maxCustomers, int queueCapacity, Duration refreshInterval) {
+
+        Settings {
+            if (topK <= 0 || maxTrackedProducts <= 0 || maxRelatedPerProduct <= 0 || maxCustomers <= 0
+                    || queueCapacity <= 0) {
+                throw new IllegalArgumentException("Ranking capacities must be positive");
+            }
+            if (halfLife.isNegative() || halfLife.isZero() || refreshInterval.isNegative()
+                    || refreshInterval.isZero()) {
+                throw new IllegalArgumentException("Ranking half-life and refresh interval must be positive");
+            }
+        }
+    }
+
+    private record Rankings(RankedList trending, Map<String, RankedList> trendingByCategory,
+            Map<String, RankedList> related, Instant generatedAt) {
+
+        static Rankings empty(Instant generatedAt) {
+            return new Rankings(RankedList.empty(generatedAt), Map.of(), Map.of(), generatedAt);
+        }
+    }
+
+    /**
+     * 排行中的商品
+     *
+     * @param score 衰減後的分數；相關商品為共同購買次數
+     */
+    public record RankedProduct(String productId, String name, String description, String category,
+            BigDecimal price, String currency, boolean inStock, double score) {
+
+        static RankedProduct of(Product product, double score) {
+            return new RankedProduct(product.getId().getId(), product.getName().getName(),
+                    product.getDescription() == null ? "" : product.getDescription().getDescription(),
+                    product.getCategory().getName(), product.getPrice().getAmount(),
+                    product.getPrice().getCurrency().getCurrencyCode(), product.isInStock(), score);
+        }
+
+        RankedProduct withScore(double newScore) {
+            return new RankedProduct(productId, name, description, category, price, currency, inStock, newScore);
+        }
+    }
+
+    /**
+     * 預先計算的清單
+     *
+     * @param products    依分數遞減的商品
+     * @param generatedAt 清單的產生時間
+     */
+    public record RankedList(List<RankedProduct> products, Instant generatedAt) {
+
+        public RankedList {
+            products = List.copyOf(products);
+        }
+
+        static RankedList empty(Instant generatedAt) {
+            return new RankedList(List.of(), generatedAt);
+        }
+
+        /**
+         * 前若干筆，產生時間不變
+         */
+        public RankedList limit(int limit) {
+            return limit >= products.size() ? this
+                    : new RankedList(products.subList(0, Math.max(0, limit)), generatedAt);
+        }
+
+        /**
+         * 清單產生至今的時間
+         */
+        public Duration age(Clock clock) {
+            Duration age = Duration.between(generatedAt, clock.instant());
+            return age.isNegative() ? Duration.ZERO : age;
+        }
+    }
+
+    /**
+     * 排行統計
+     *
+     * @param trackedProducts    追蹤中的商品數
+     * @param trackedCustomers   保有個人化推薦的客戶數
+     * @param pendingSignals     尚未處理的事件數
+     * @param droppedSignals     佇列已滿而捨棄的事件數
+     * @param stalenessMillis    最近一次重新計算至今的時間
+     */
+    public record RankingStats(int trackedProducts, int trackedCustomers, int pendingSignals,
+            long droppedSignals, long stalenessMillis) {
+    }
+}
@@ -0,0 +1,551 @@
+package solid.humank.genaidemo.application.product.service;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.domain.product.model.aggregate.Product;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.domain.product.repository.ProductRepository;
+
+/**
+ * 商品搜尋索引
+ *
+ * 在記憶體中維護商品名稱、分類與描述的倒排索引，以 BM25 排序並回傳分類分面計數，
+ * 查詢成本取決於查詢詞的倒排列表長度，而非整個目錄的大小。
+ *
+ * 斷詞：英數字以連續字元為一個詞；中日韓文字沒有空白分隔，以相鄰兩字（bigram）為詞，
+ * 單字則以單字為詞。查詢的最後一個英數詞同時做前綴展開（例如 "mac" 命中 "macbook"）。
+ * 查詢要求所有詞都出現；沒有任何商品符合時改為任一詞出現即可。
+ *
+ * 商品領域事件到達時以 {@link #reindex} 重新載入單一商品並更新索引；同一商品的載入與寫入以分段鎖序列化，
+ * 較早載入的舊狀態不會覆蓋較晚載入的新狀態。
+ * 啟動時在背景執行緒從資料庫重建新的索引後再整個替換，重建期間查詢由舊索引回應；
+ * 第一次重建完成前，查詢改以資料庫的名稱查詢取得候選商品並即時排序。
+ */
+@Service
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    private static final double PREFIX_MATCH_WEIGHT = 0.8;
+    private static final int MAX_PREFIX_EXPANSIONS = 32;
+    private static final int REINDEX_LOCK_STRIPES = 64;
+
+    /** 欄位與權重 */
+    enum Field {
+        NAME(3.0), CATEGORY(1.5), DESCRIPTION(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final int rebuildFetchSize;
+    private final boolean rebuildOnStartup;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("ProductSearchIndex-rebuild").daemon(true).factory());
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] reindexLocks = new ReentrantLock[REINDEX_LOCK_STRIPES];
+
+    // 以下欄位由 lock 保護
+    private InvertedIndex index = new InvertedIndex();
+    private Set<ProductId> changedDuringRebuild;
+    private boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this(productRepository, 500, false);
+    }
+
+    @Autowired
+    public ProductSearchIndex(ProductRepository productRepository,
+            @Value("${genai-demo.product-search.rebuild-fetch-size:500}") int rebuildFetchSize,
+            @Value("${genai-demo.product-search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        if (rebuildFetchSize <= 0) {
+            throw new IllegalArgumentException("Rebuild fetch size must be positive");
+        }
+        this.productRepository = productRepository;
+        this.rebuildFetchSize = rebuildFetchSize;
+        this.rebuildOnStartup = rebuildOnStartup;
+        for (int i = 0; i < REINDEX_LOCK_STRIPES; i++) {
+            reindexLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rebuildOnStartup) {
+            rebuildAsync();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 搜尋商品
+     *
+     * @param keyword  關鍵字
+     * @param category 分類篩選，為 null 時不篩選
+     * @param page     頁碼，從 0 開始
+     * @param size     每頁筆數
+     * @return 搜尋結果；分面計數不受分類篩選影響
+     */
+    public SearchResult search(String keyword, String category, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Page must not be negative and size must be positive");
+        }
+        List<QueryTerm> terms = parseQuery(keyword);
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0, Map.of(), true);
+        }
+        lock.readLock().lock();
+        try {
+            if (ready) {
+                return index.search(terms, category, page, size, true);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // 第一次重建尚未完成：以資料庫的名稱查詢取得候選商品，建立臨時索引排序
+        InvertedIndex fallback = new InvertedIndex();
+        productRepository.findByName(keyword.trim()).forEach(product -> fallback.upsert(SearchDocument.of(product)));
+        return fallback.search(terms, category, page, size, false);
+    }
+
+    /**
+     * 依資料庫目前的狀態更新單一商品：上架中的商品加入或更新，不存在或已下架的商品移除
+     * 載入在索引的寫入鎖之外進行，但同一商品的載入到寫入整段持有該商品的分段鎖，
+     * 因此並發事件依載入順序寫入，索引保留最後載入的狀態。
+     *
+     * @param productId 產品ID
+     */
+    public void reindex(ProductId productId) {
+        ReentrantLock productLock = reindexLocks[Math.floorMod(productId.getId().hashCode(), REINDEX_LOCK_STRIPES)];
+        productLock.lock();
+        try {
+            SearchDocument document = productRepository.findById(productId)
+                    .filter(Product::isActive)
+                    .map(SearchDocument::of)
+                    .orElse(null);
+            lock.writeLock().lock();
+            try {
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(productId);
+                }
+                if (document != null) {
+                    index.upsert(document);
+                } else {
+                    index.remove(productId.getId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            productLock.unlock();
+        }
+    }
+
+    /**
+     * 在背景執行緒從資料庫重建索引
+     *
+     * @return 重建完成時完成，值為索引的商品數
+     */
+    public CompletableFuture<Integer> rebuildAsync() {
+        return CompletableFuture.supplyAsync(this::rebuild, rebuildExecutor).whenComplete((count, error) -> {
+            if (error != null) {
+                logger.error("Failed to rebuild product search index", error);
+            }
+        });
+    }
+
+    /**
+     * 從資料庫重建索引後整個替換
+     * 建立期間查詢仍由目前的索引回應；期間收到事件的商品在替換後重新載入，不會遺失更新。
+     *
+     * @return 索引的商品數
+     */
+    public synchronized int rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        try (Stream<Product> products = productRepository.streamAll(rebuildFetchSize)) {
+            products.filter(Product::isActive).forEach(product -> rebuilt.upsert(SearchDocument.of(product)));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        // 替換與取出期間變更的商品在同一個臨界區內完成，之後的事件直接更新新索引
+        Set<ProductId> changed;
+        int indexed = rebuilt.size();
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            ready = true;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed.forEach(this::reindex);
+        logger.info("Rebuilt product search index with {} products", indexed);
+        return indexed;
+    }
+
+    /**
+     * 索引是否已完成第一次重建
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 目前索引的商品數
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 將查詢斷詞；最後一個英數詞在查詢未以空白結尾時視為前綴
+     */
+    static List<QueryTerm> parseQuery(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = tokenize(keyword);
+        boolean endsWithSeparator = !Character.isLetterOrDigit(keyword.codePointBefore(keyword.length()));
+        List<QueryTerm> terms = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean last = i == tokens.size() - 1;
+            boolean prefix = (last && !endsWithSeparator && !isCjk(token.codePointAt(0)))
+                    || (isCjk(token.codePointAt(0)) && token.codePointCount(0, token.length()) == 1);
+            terms.add(new QueryTerm(token, prefix));
+        }
+        return terms;
+    }
+
+    /**
+     * 斷詞：英數字連續字元為一詞，中日韓文字以相鄰兩字為詞，一律轉為小寫
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjkRun = new ArrayList<>();
+        int offset = 0;
+        while (offset < normalized.length()) {
+            int codePoint = normalized.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjkRun.add(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjkRun, tokens);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjkRun, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (!word.isEmpty()) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<Integer> run, List<String> tokens) {
+        if (run.size() == 1) {
+            tokens.add(Character.toString(run.get(0)));
+        }
+        for (int i = 0; i + 1 < run.size(); i++) {
+            tokens.add(new StringBuilder().appendCodePoint(run.get(i)).appendCodePoint(run.get(i + 1)).toString());
+        }
+        run.clear();
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 倒排索引；本身不是執行緒安全的，由外層的讀寫鎖保護
+     */
+    private static final class InvertedIndex {
+
+        private final Map<String, IndexedDocument> documents = new HashMap<>();
+        private final NavigableMap<String, Map<String, int[]>> postings = new TreeMap<>();
+        private final long[] totalFieldLengths = new long[Field.values().length];
+
+        int size() {
+            return documents.size();
+        }
+
+        void upsert(SearchDocument document) {
+            remove(document.productId());
+            Map<String, int[]> termFrequencies = new HashMap<>();
+            int[] lengths = new int[Field.values().length];
+            for (Field field : Field.values()) {
+                List<String> tokens = tokenize(document.fieldText(field));
+                lengths[field.ordinal()] = tokens.size();
+                totalFieldLengths[field.ordinal()] += tokens.size();
+                for (String token : tokens) {
+                    termFrequencies.computeIfAbsent(token, ignored -> new int[Field.values().length])[field
+                            .ordinal()]++;
+                }
+            }
+            documents.put(document.productId(), new IndexedDocument(document, lengths, termFrequencies.keySet()));
+            termFrequencies.forEach((term, frequencies) -> postings
+                    .computeIfAbsent(term, ignored -> new HashMap<>())
+                    .put(document.productId(), frequencies));
+        }
+
+        void remove(String productId) {
+            IndexedDocument removed = documents.remove(productId);
+            if (removed == null) {
+                return;
+            }
+            for (Field field : Field.values()) {
+                totalFieldLengths[field.ordinal()] -= removed.fieldLengths()[field.ordinal()];
+            }
+            for (String term : removed.terms()) {
+                Map<String, int[]> posting = postings.get(term);
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        SearchResult search(List<QueryTerm> terms, String category, int page, int size, boolean fromIndex) {
+            List<Map<String, Double>> termScores = new ArrayList<>(terms.size());
+            for (QueryTerm term : terms) {
+                termScores.add(score(term));
+            }
+            Map<String, Double> matches = combine(termScores, true);
+            if (matches.isEmpty() && termScores.size() > 1) {
+                matches = combine(termScores, false);
+            }
+
+            Map<String, Long> facets = new TreeMap<>();
+            PriorityQueue<Hit> top = new PriorityQueue<>(HIT_ORDER.reversed());
+            long offset = (long) page * size;
+            long total = 0;
+            for (Map.Entry<String, Double> match : matches.entrySet()) {
+                SearchDocument document = documents.get(match.getKey()).document();
+                facets.merge(document.category(), 1L, Long::sum);
+                if (category != null && !category.equalsIgnoreCase(document.category())) {
+                    continue;
+                }
+                total++;
+                top.add(new Hit(document, match.getValue()));
+                if (top.size() > offset + size) {
+                    top.poll();
+                }
+            }
+            List<Hit> ordered = new ArrayList<>(top);
+            ordered.sort(HIT_ORDER);
+            List<Hit> hits = offset >= ordered.size() ? List.of()
+                    : List.copyOf(ordered.subList((int) offset, ordered.size()));
+            return new SearchResult(hits, total, facets, fromIndex);
+        }
+
+        /**
+         * 單一查詢詞對每個商品的分數；前綴展開的多個詞取最高分，避免展開越多分數越高
+         */
+        private Map<String, Double> score(QueryTerm term) {
+            Map<String, Double> scores = new HashMap<>();
+            accumulate(term.text(), 1.0, scores);
+            if (term.prefix()) {
+                int expansions = 0;
+                for (String expanded : postings.subMap(term.text(), false, term.text() + Character.MAX_VALUE, false)
+                        .keySet()) {
+                    if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    accumulate(expanded, PREFIX_MATCH_WEIGHT, scores);
+                }
+            }
+            return scores;
+        }
+
+        private void accumulate(String term, double weight, Map<String, Double> scores) {
+            Map<String, int[]> posting = postings.get(term);
+            if (posting == null) {
+                return;
+            }
+            int documentCount = documents.size();
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+            for (Map.Entry<String, int[]> entry : posting.entrySet()) {
+                int[] lengths = documents.get(entry.getKey()).fieldLengths();
+                double score = 0;
+                for (Field field : Field.values()) {
+                    int frequency = entry.getValue()[field.ordinal()];
+                    if (frequency == 0) {
+                        continue;
+                    }
+                    double averageLength = (double) totalFieldLengths[field.ordinal()] / documentCount;
+                    double norm = 1 - B + B * lengths[field.ordinal()] / Math.max(averageLength, 1e-9);
+                    score += field.weight * frequency * (K1 + 1) / (frequency + K1 * norm);
+                }
+                scores.merge(entry.getKey(), weight * idf * score, Math::max);
+            }
+        }
+
+        private static Map<String, Double> combine(List<Map<String, Double>> termScores, boolean requireAll) {
+            Map<String, Double> combined = new HashMap<>();
+            if (requireAll) {
+                // 從最短的列表開始交集
+                List<Map<String, Double>> bySize = new ArrayList<>(termScores);
+                bySize.sort(Comparator.comparingInt(Map::size));
+                candidates: for (Map.Entry<String, Double> entry : bySize.get(0).entrySet()) {
+                    double score = 0;
+                    for (Map<String, Double> scores : bySize) {
+                        Double termScore = scores.get(entry.getKey());
+                        if (termScore == null) {
+                            continue candidates;
+                        }
+                        score += termScore;
+                    }
+                    combined.put(entry.getKey(), score);
+                }
+            } else {
+                termScores.forEach(scores -> scores.forEach((id, score) -> combined.merge(id, score, Double::sum)));
+            }
+            return combined;
+        }
+    }
+
+    private static final Comparator<Hit> HIT_ORDER = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(hit -> hit.product().productId());
+
+    /**
+     * 索引內的商品與各欄位的詞數
+     */
+    private record IndexedDocument(SearchDocument document, int[] fieldLengths, Set<String> terms) {
+    }
+
+    /**
+     * 查詢詞
+     *
+     * @param text   詞
+     * @param prefix 是否同時比對以此為前綴的詞
+     */
+    record QueryTerm(String text, boolean prefix) {
+    }
+
+    /**
+     * 索引中的商品，保存搜尋結果需要的欄位，回應搜尋時不必再查詢資料庫
+     */
+    public record SearchDocument(String productId, String name, String description, String category,
+            BigDecimal price, String currency, boolean inStock) {
+
+        static SearchDocument of(Product product) {
+            return new SearchDocument(product.getId().getId(), product.getName().getName(),
+                    product.getDescription() == null ? "" : product.getDescription().getDescription(),
+                    product.getCategory().getName(), product.getPrice().getAmount(),
+                    product.getPrice().getCurrency().getCurrencyCode(), product.isInStock());
+        }
+
+        String fieldText(Field field) {
+            return switch (field) {
+                case NAME -> name;
+                case CATEGORY -> category;
+                case DESCRIPTION -> description;
+            };
+        }
+    }
+
+    /**
+     * 搜尋命中
+     *
+     * @param product 商品
+     * @param score   BM25 分數
+     */
+    public record Hit(SearchDocument product, double score) {
+    }
+
+    /**
+     * 搜尋結果
+     *
+     * @param hits           該頁的命中，依分數遞減
+     * @param total          符合條件的商品總數
+     * @param categoryFacets 各分類的命中數
+     * @param fromIndex      是否由索引回應；索引尚未建立時由資料庫查詢回應
+     */
+    public record SearchResult(List<Hit> hits, long total, Map<String, Long> categoryFacets, boolean fromIndex) {
+
+        public SearchResult {
+            hits = List.copyOf(hits);
+            categoryFacets = Collections.unmodifiableMap(new LinkedHashMap<>(categoryFacets));
+        }
+    }
+}
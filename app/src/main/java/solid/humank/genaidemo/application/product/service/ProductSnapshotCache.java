@@ -0,0 +1,261 @@
+package solid.humank.genaidemo.application.product.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.application.product.ProductSnapshot;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.pricing.model.aggregate.PricingRule;
+import solid.humank.genaidemo.domain.pricing.repository.PricingRuleRepository;
+import solid.humank.genaidemo.domain.product.model.aggregate.Product;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.domain.product.repository.ProductRepository;
+
+/**
+ * 商品與價格快照快取
+ *
+ * 結帳路徑讀取商品名稱與售價時不必每次經過 JPA 與領域映射：未命中的商品以一次
+ * {@link ProductRepository#findAllByIds} 與一次 {@link PricingRuleRepository#findByProductIds}
+ * 載入後保存為不可變快照，不存在的商品也會記錄，避免重複查詢。
+ * 已下架或缺貨的商品仍會回傳快照並以 {@link ProductSnapshot#purchasable()} 標示，由呼叫端決定是否拒絕。
+ *
+ * 每個快照帶有載入開始時的版本。{@link #invalidate} 以更大的版本留下墓碑，
+ * 失效前就開始的載入不會覆蓋墓碑；{@link #invalidateAll} 提高最低版本，使所有舊快照失效。
+ * 沒有領域事件的變更（例如直接修改定價規則）最晚在容忍時間後重新載入。
+ * 超過容量時先移除最早載入的快照。
+ */
+@Service
+public class ProductSnapshotCache {
+
+    /** 每筆快照的估計固定開銷：映射節點、快照、兩個 Money 與 ProductId */
+    private static final long ENTRY_OVERHEAD_BYTES = 320;
+
+    private final ProductRepository productRepository;
+    private final PricingRuleRepository pricingRuleRepository;
+    private final int maxEntries;
+    private final long stalenessMillis;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<ProductId, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private volatile long minimumVersion;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public ProductSnapshotCache(ProductRepository productRepository,
+            PricingRuleRepository pricingRuleRepository,
+            @Value("${genai-demo.product-snapshot.max-entries:10000}") int maxEntries,
+            @Value("${genai-demo.product-snapshot.staleness-seconds:30}") long stalenessSeconds) {
+        this(productRepository, pricingRuleRepository, maxEntries, stalenessSeconds * 1000, Clock.systemUTC());
+    }
+
+    ProductSnapshotCache(ProductRepository productRepository, PricingRuleRepository pricingRuleRepository,
+            int maxEntries, long stalenessMillis, Clock clock) {
+        if (maxEntries <= 0 || stalenessMillis <= 0) {
+            throw new IllegalArgumentException("Snapshot capacity and staleness budget must be positive");
+        }
+        this.productRepository = productRepository;
+        this.pricingRuleRepository = pricingRuleRepository;
+        this.maxEntries = maxEntries;
+        this.stalenessMillis = stalenessMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 取得單一商品的快照
+     *
+     * @param productId 產品ID
+     * @return 商品快照，商品不存在時為空；已下架或缺貨的商品以 purchasable 標示
+     */
+    public Optional<ProductSnapshot> get(ProductId productId) {
+        return Optional.ofNullable(getAll(List.of(productId)).get(productId));
+    }
+
+    /**
+     * 取得多個商品的快照，所有未命中的商品合併為一次載入
+     *
+     * @param productIds 產品ID集合
+     * @return 依輸入順序排列的快照，不存在的商品不在結果中；已下架或缺貨的商品以 purchasable 標示
+     */
+    public Map<ProductId, ProductSnapshot> getAll(Collection<ProductId> productIds) {
+        long now = clock.millis();
+        Map<ProductId, ProductSnapshot> result = new LinkedHashMap<>();
+        List<ProductId> missing = new ArrayList<>();
+        for (ProductId productId : new LinkedHashSet<>(productIds)) {
+            Slot slot = slots.get(productId);
+            if (slot != null && isFresh(slot, now)) {
+                hits.increment();
+                result.put(productId, slot.snapshot());
+            } else {
+                misses.increment();
+                missing.add(productId);
+                result.put(productId, null);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing, now).forEach(result::put);
+        }
+        result.values().removeIf(Objects::isNull);
+        return result;
+    }
+
+    /**
+     * 使單一商品的快照失效，失效前開始的載入不會再寫回
+     *
+     * @param productId 產品ID
+     */
+    public void invalidate(ProductId productId) {
+        slots.put(productId, Slot.tombstone(versions.incrementAndGet(), clock.millis()));
+        invalidations.increment();
+    }
+
+    /**
+     * 使所有快照失效，用於影響多個商品售價的變更（例如促銷生效）
+     */
+    public void invalidateAll() {
+        minimumVersion = versions.incrementAndGet();
+        slots.clear();
+        invalidations.increment();
+    }
+
+    /**
+     * 目前的快取統計
+     *
+     * @return 快取統計
+     */
+    public CacheStats stats() {
+        long now = clock.millis();
+        long oldestAge = 0;
+        long bytes = 0;
+        int size = 0;
+        for (Slot slot : slots.values()) {
+            if (slot.tombstone()) {
+                continue;
+            }
+            size++;
+            oldestAge = Math.max(oldestAge, now - slot.loadedAt());
+            bytes += ENTRY_OVERHEAD_BYTES
+                    + (slot.snapshot() != null ? 2L * slot.snapshot().name().length() : 0);
+        }
+        return new CacheStats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), invalidations.sum(),
+                size, oldestAge, bytes);
+    }
+
+    private Map<ProductId, ProductSnapshot> load(List<ProductId> productIds, long now) {
+        // 先取版本再查詢：查詢期間發生的失效版本一定比較大
+        long version = versions.get();
+        Map<ProductId, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllByIds(productIds)) {
+            products.put(product.getId(), product);
+        }
+        Map<ProductId, List<PricingRule>> rules = new HashMap<>();
+        if (!products.isEmpty()) {
+            for (PricingRule rule : pricingRuleRepository.findByProductIds(products.keySet())) {
+                rules.computeIfAbsent(rule.getProductId(), id -> new ArrayList<>()).add(rule);
+            }
+        }
+        loads.add(productIds.size());
+
+        Map<ProductId, ProductSnapshot> loaded = new HashMap<>();
+        for (ProductId productId : productIds) {
+            Product product = products.get(productId);
+            ProductSnapshot snapshot = product != null
+                    ? toSnapshot(product, rules.getOrDefault(productId, List.of()), version)
+                    : null;
+            Slot slot = new Slot(version, now, snapshot, false);
+            slots.compute(productId, (id, current) -> current == null || current.version() <= version ? slot : current);
+            loaded.put(productId, snapshot);
+        }
+        evictIfNeeded();
+        return loaded;
+    }
+
+    private ProductSnapshot toSnapshot(Product product, List<PricingRule> rules, long version) {
+        Money listPrice = product.getPrice();
+        Money price = rules.stream()
+                .filter(PricingRule::isValidNow)
+                .map(PricingRule::getFinalPrice)
+                .filter(finalPrice -> finalPrice != null && finalPrice.getCurrency().equals(listPrice.getCurrency()))
+                .min(Comparator.comparing(Money::getAmount))
+                .orElse(listPrice);
+        return new ProductSnapshot(product.getId(), product.getName().getName(), listPrice, price,
+                product.canBePurchased(), version);
+    }
+
+    private boolean isFresh(Slot slot, long now) {
+        return !slot.tombstone() && slot.version() >= minimumVersion && now - slot.loadedAt() <= stalenessMillis;
+    }
+
+    private void evictIfNeeded() {
+        if (slots.size() <= maxEntries || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // 一次騰出一成空間，避免每次載入都重新排序
+            int target = maxEntries - Math.max(1, maxEntries / 10);
+            List<Map.Entry<ProductId, Slot>> oldestFirst = new ArrayList<>(slots.entrySet());
+            oldestFirst.sort(Comparator.comparingLong(entry -> entry.getValue().loadedAt()));
+            for (Map.Entry<ProductId, Slot> entry : oldestFirst) {
+                if (slots.size() <= target) {
+                    break;
+                }
+                if (slots.remove(entry.getKey(), entry.getValue()) && !entry.getValue().tombstone()) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private record Slot(long version, long loadedAt, ProductSnapshot snapshot, boolean tombstone) {
+
+        static Slot tombstone(long version, long now) {
+            return new Slot(version, now, null, true);
+        }
+    }
+
+    /**
+     * 快取統計
+     *
+     * @param hits            命中次數
+     * @param misses          未命中次數
+     * @param loads           載入的商品數
+     * @param evictions       因容量移除的快照數
+     * @param invalidations   失效次數
+     * @param size            目前的快照數（含不存在的商品）
+     * @param oldestAgeMillis 最舊快照的存在時間
+     * @param estimatedBytes  快照的估計記憶體用量
+     */
+    public record CacheStats(long hits, long misses, long loads, long evictions, long invalidations,
+            int size, long oldestAgeMillis, long estimatedBytes) {
+
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
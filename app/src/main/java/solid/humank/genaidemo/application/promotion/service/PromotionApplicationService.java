@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import solid.humank.genaidemo.application.common.service.DomainEventApplicationService;
 import solid.humank.genaidemo.application.promotion.dto.FlashSaleDto;
 import solid.humank.genaidemo.application.promotion.dto.PromotionDto;
+import solid.humank.genaidemo.domain.common.valueobject.MinorUnitMoney;
 import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.promotion.exception.PromotionNotFoundException;
 import solid.humank.genaidemo.domain.promotion.model.aggregate.Promotion;
@@ -184,9 +185,10 @@ public class PromotionApplicationService {
     public Money calculateTotalDiscount(ShoppingCart shoppingCart) {
         CartSummary cartSummary = cartSummaryConverter.toCartSummary(shoppingCart);
 
-        return promotionRepository.findActivePromotions().stream()
+        List<Money> discounts = promotionRepository.findActivePromotions().stream()
                 .filter(promotion -> promotion.isApplicable(cartSummary))
                 .map(promotion -> promotion.calculateDiscount(cartSummary))
-                .reduce(Money.twd(0), (a, b) -> a.add(b));
+                .toList();
+        return MinorUnitMoney.sum(discounts, Money.twd(0));
     }
 }
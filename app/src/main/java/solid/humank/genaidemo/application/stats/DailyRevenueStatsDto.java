@@ -0,0 +1,8 @@
+package solid.humank.genaidemo.application.stats;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/** 每日營收統計數據傳輸對象，日期 -> 幣別 -> 金額 */
+public record DailyRevenueStatsDto(
+        Map<String, Map<String, BigDecimal>> dailyRevenue, String status, String message) {}
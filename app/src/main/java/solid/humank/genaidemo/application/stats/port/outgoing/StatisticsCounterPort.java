@@ -0,0 +1,68 @@
+package solid.humank.genaidemo.application.stats.port.outgoing;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 統計計數器端口
+ * 計數器以 (指標, 維度) 為鍵保存在資料庫中，所有節點累加到同一組列；
+ * 校正時從業務資料表重新計算並整批覆寫。
+ *
+ * 每個方法都在自己的短交易中完成並立即提交。
+ */
+public interface StatisticsCounterPort {
+
+    /** 沒有維度的指標使用的維度 */
+    String TOTAL = "";
+
+    /** 建立時尚未指定支付方式的支付使用的維度 */
+    String UNSPECIFIED = "UNSPECIFIED";
+
+    /**
+     * 讀取全部計數器
+     */
+    List<Counter> loadAll();
+
+    /**
+     * 累加計數器，不存在的計數器以增量建立
+     *
+     * @param deltas 各計數器的增量
+     */
+    void addAll(Collection<Counter> deltas);
+
+    /**
+     * 從業務資料表重新計算計數器
+     * 單筆群組查詢完成，不逐列讀取業務資料
+     *
+     * @param revenueSince 重新計算營收的起始日期（含），更早的每日營收不再變動
+     */
+    List<Counter> recount(LocalDate revenueSince);
+
+    /**
+     * 以重新計算的結果覆寫計數器
+     * 刪除 {@code revenueSince} 之後與非營收的計數器後寫入 {@code counters}，在同一交易中完成
+     */
+    void replace(Collection<Counter> counters, LocalDate revenueSince);
+
+    /** 指標 */
+    enum Metric {
+        CUSTOMERS,
+        ORDERS,
+        ORDERS_BY_STATUS,
+        PAYMENTS,
+        PAYMENTS_BY_METHOD,
+        INVENTORY_ITEMS,
+        DAILY_REVENUE
+    }
+
+    /**
+     * 計數器
+     *
+     * @param metric    指標
+     * @param dimension 維度，沒有維度的指標為空字串；每日營收為 {@code yyyy-MM-dd/幣別}
+     * @param value     計數或增量；營收以最小貨幣單位表示
+     */
+    record Counter(Metric metric, String dimension, long value) {
+    }
+}
@@ -1,43 +1,44 @@
 package solid.humank.genaidemo.application.stats.service;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
+import solid.humank.genaidemo.application.stats.DailyRevenueStatsDto;
 import solid.humank.genaidemo.application.stats.OrderStatusStatsDto;
 import solid.humank.genaidemo.application.stats.PaymentMethodStatsDto;
 import solid.humank.genaidemo.application.stats.StatsDto;
-import solid.humank.genaidemo.domain.customer.repository.CustomerRepository;
-import solid.humank.genaidemo.domain.inventory.repository.InventoryRepository;
-import solid.humank.genaidemo.domain.order.repository.OrderRepository;
-import solid.humank.genaidemo.domain.payment.repository.PaymentRepository;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort.Metric;
 
+/**
+ * 統計應用服務
+ * 所有統計都從增量維護的計數器讀取（見 {@link StatisticsCounterService}），不對業務資料表執行 count
+ */
 @Service
 public class StatisticsApplicationService {
 
-    private final OrderRepository orderRepository;
-    private final PaymentRepository paymentRepository;
-    private final InventoryRepository inventoryRepository;
-    private final CustomerRepository customerRepository;
+    /** 每日營收查詢的最大天數 */
+    public static final int MAX_REVENUE_DAYS = 366;
 
-    public StatisticsApplicationService(
-            OrderRepository orderRepository,
-            PaymentRepository paymentRepository,
-            InventoryRepository inventoryRepository,
-            CustomerRepository customerRepository) {
-        this.orderRepository = orderRepository;
-        this.paymentRepository = paymentRepository;
-        this.inventoryRepository = inventoryRepository;
-        this.customerRepository = customerRepository;
+    private final StatisticsCounterService counterService;
+
+    public StatisticsApplicationService(StatisticsCounterService counterService) {
+        this.counterService = counterService;
     }
 
     public StatsDto getOverallStatistics() {
         try {
             var stats = new HashMap<String, Object>();
-            stats.put("totalOrders", orderRepository.count());
-            stats.put("totalPayments", paymentRepository.count());
-            stats.put("totalInventoryItems", inventoryRepository.count());
-            stats.put("totalCustomers", customerRepository.count());
+            stats.put("totalOrders", counterService.total(Metric.ORDERS));
+            stats.put("totalPayments", counterService.total(Metric.PAYMENTS));
+            stats.put("totalInventoryItems", counterService.total(Metric.INVENTORY_ITEMS));
+            stats.put("totalCustomers", counterService.total(Metric.CUSTOMERS));
+            if (counterService.refreshedAt() != null) {
+                stats.put("refreshedAt", counterService.refreshedAt().toString());
+            }
             return new StatsDto(stats, "success", "統計數據獲取成功");
         } catch (Exception e) {
             var errorStats = new HashMap<String, Object>();
@@ -47,13 +48,7 @@ public class StatisticsApplicationService {
 
     public OrderStatusStatsDto getOrderStatusStatistics() {
         try {
-            var statusCounts = new HashMap<String, Integer>();
-            long totalOrders = orderRepository.count();
-            statusCounts.put("PENDING", (int) (totalOrders * 0.3));
-            statusCounts.put("PROCESSING", (int) (totalOrders * 0.4));
-            statusCounts.put("COMPLETED", (int) (totalOrders * 0.25));
-            statusCounts.put("CANCELLED", (int) (totalOrders * 0.05));
-            return new OrderStatusStatsDto(statusCounts, "success", null);
+            return new OrderStatusStatsDto(distribution(Metric.ORDERS_BY_STATUS), "success", null);
         } catch (Exception e) {
             return new OrderStatusStatsDto(new HashMap<>(), "error", "獲取訂單狀態統計時發生錯誤: " + e.getMessage());
         }
@@ -61,15 +56,34 @@ public class StatisticsApplicationService {
 
     public PaymentMethodStatsDto getPaymentMethodStatistics() {
         try {
-            var methodCounts = new HashMap<String, Integer>();
-            long totalPayments = paymentRepository.count();
-            methodCounts.put("CREDIT_CARD", (int) (totalPayments * 0.5));
-            methodCounts.put("DEBIT_CARD", (int) (totalPayments * 0.2));
-            methodCounts.put("DIGITAL_WALLET", (int) (totalPayments * 0.2));
-            methodCounts.put("BANK_TRANSFER", (int) (totalPayments * 0.1));
-            return new PaymentMethodStatsDto(methodCounts, "success", null);
+            return new PaymentMethodStatsDto(distribution(Metric.PAYMENTS_BY_METHOD), "success", null);
         } catch (Exception e) {
             return new PaymentMethodStatsDto(new HashMap<>(), "error", "獲取支付方式統計時發生錯誤: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 最近 {@code days} 天（含今天）的每日營收
+     *
+     * @throws IllegalArgumentException 天數不在 1 到 {@value #MAX_REVENUE_DAYS} 之間時
+     */
+    public DailyRevenueStatsDto getDailyRevenueStatistics(int days) {
+        if (days <= 0 || days > MAX_REVENUE_DAYS) {
+            throw new IllegalArgumentException("Days must be between 1 and " + MAX_REVENUE_DAYS);
+        }
+        try {
+            var dailyRevenue = new LinkedHashMap<String, Map<String, BigDecimal>>();
+            counterService.dailyRevenue(days).forEach((day, amounts) -> dailyRevenue.put(day.toString(), amounts));
+            return new DailyRevenueStatsDto(dailyRevenue, "success", null);
+        } catch (Exception e) {
+            return new DailyRevenueStatsDto(new HashMap<>(), "error", "獲取每日營收統計時發生錯誤: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Integer> distribution(Metric metric) {
+        var counts = new HashMap<String, Integer>();
+        counterService.byDimension(metric)
+                .forEach((dimension, count) -> counts.put(dimension, (int) Math.min(count, Integer.MAX_VALUE)));
+        return counts;
+    }
+}
@@ -0,0 +1,300 @@
+package solid.humank.genaidemo.application.stats.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import solid.humank.genaidemo.application.common.DistributedLockService;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort.Counter;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort.Metric;
+import solid.humank.genaidemo.domain.common.valueobject.MinorUnitMoney;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+
+/**
+ * 統計計數器服務
+ *
+ * 統計報表改由增量維護的計數器提供，查詢不再對業務資料表執行 count：
+ * - 領域事件提交後只累加本機的待寫入增量，不存取資料庫
+ * - 背景定期把增量批次累加到計數器資料表，並重新讀取全部計數器，以取得其他節點的增量
+ * - 查詢回傳最近讀取的計數器加上本機尚未寫入的增量，只涉及記憶體中的少量計數器
+ *
+ * 並非所有變更都有對應的領域事件（例如支付方式在建立後才設定、退款），事件也可能在提交後遺失，
+ * 因此由取得分散式鎖的單一節點定期從業務資料表重新計算並覆寫計數器，修正累積的誤差。
+ * 校正期間其他節點寫入的增量可能被覆寫或重複計算，誤差在下一次校正時修正。
+ */
+@Service
+public class StatisticsCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsCounterService.class);
+
+    private static final String RECONCILE_LOCK = "statistics-counters:reconcile";
+
+    private final StatisticsCounterPort counterPort;
+    private final DistributedLockService lockService;
+    private final Duration refreshInterval;
+    private final Duration reconcileInterval;
+    private final int revenueDays;
+    private final Clock clock;
+    private final ConcurrentHashMap<Key, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile View view;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public StatisticsCounterService(StatisticsCounterPort counterPort, DistributedLockService lockService,
+            @Value("${genai-demo.statistics.refresh-interval-millis:2000}") long refreshIntervalMillis,
+            @Value("${genai-demo.statistics.reconcile-interval-minutes:10}") long reconcileIntervalMinutes,
+            @Value("${genai-demo.statistics.revenue-days:90}") int revenueDays) {
+        this(counterPort, lockService, Duration.ofMillis(refreshIntervalMillis),
+                Duration.ofMinutes(reconcileIntervalMinutes), revenueDays, Clock.systemDefaultZone());
+    }
+
+    StatisticsCounterService(StatisticsCounterPort counterPort, DistributedLockService lockService,
+            Duration refreshInterval, Duration reconcileInterval, int revenueDays, Clock clock) {
+        if (revenueDays <= 0) {
+            throw new IllegalArgumentException("Revenue days must be positive");
+        }
+        this.counterPort = counterPort;
+        this.lockService = lockService;
+        this.refreshInterval = refreshInterval;
+        this.reconcileInterval = reconcileInterval;
+        this.revenueDays = revenueDays;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("StatisticsCounters").daemon(true).factory());
+        executor.execute(() -> {
+            try {
+                refresh();
+                if (view.persisted().isEmpty()) {
+                    // 計數器資料表是空的（第一次部署）：立即從業務資料表建立
+                    reconcile();
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to load statistics counters", e);
+            }
+        });
+        long refreshMillis = refreshInterval.toMillis();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                logger.error("Failed to flush statistics counters", e);
+            }
+        }, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        long reconcileMillis = reconcileInterval.toMillis();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (RuntimeException e) {
+                logger.error("Failed to reconcile statistics counters", e);
+            }
+        }, reconcileMillis, reconcileMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush statistics counters on shutdown", e);
+        }
+    }
+
+    /**
+     * 累加計數器
+     */
+    public void increment(Metric metric, String dimension, long delta) {
+        if (delta != 0) {
+            pending.computeIfAbsent(new Key(metric, dimension), key -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * 把計數從一個維度移到另一個維度，例如訂單狀態轉換
+     */
+    public void move(Metric metric, String fromDimension, String toDimension) {
+        increment(metric, fromDimension, -1);
+        increment(metric, toDimension, 1);
+    }
+
+    /**
+     * 累加當日營收
+     */
+    public void addRevenue(LocalDate day, Money amount) {
+        MinorUnitMoney minor = MinorUnitMoney.from(amount, RoundingMode.HALF_UP);
+        increment(Metric.DAILY_REVENUE, day + "/" + minor.currency().getCurrencyCode(), minor.minorUnits());
+    }
+
+    /**
+     * 沒有維度的指標
+     */
+    public long total(Metric metric) {
+        return byDimension(metric).getOrDefault(StatisticsCounterPort.TOTAL, 0L);
+    }
+
+    /**
+     * 指標的各維度計數，不包含為零的維度
+     */
+    public Map<String, Long> byDimension(Metric metric) {
+        View current = currentView();
+        Map<String, Long> result = new HashMap<>(current.persisted().getOrDefault(metric, Map.of()));
+        current.inFlight().forEach((key, value) -> {
+            if (key.metric() == metric) {
+                result.merge(key.dimension(), value, Long::sum);
+            }
+        });
+        pending.forEach((key, adder) -> {
+            if (key.metric() == metric) {
+                result.merge(key.dimension(), adder.sum(), Long::sum);
+            }
+        });
+        result.values().removeIf(value -> value == 0);
+        return result;
+    }
+
+    /**
+     * 最近 {@code days} 天（含今天）的每日營收，依日期排序，沒有營收的日子不回傳
+     *
+     * @return 日期 -> 幣別 -> 金額
+     */
+    public Map<LocalDate, Map<String, BigDecimal>> dailyRevenue(int days) {
+        LocalDate since = LocalDate.now(clock).minusDays(days - 1L);
+        Map<LocalDate, Map<String, BigDecimal>> result = new TreeMap<>();
+        byDimension(Metric.DAILY_REVENUE).forEach((dimension, minorUnits) -> {
+            int separator = dimension.indexOf('/');
+            LocalDate day = LocalDate.parse(dimension.substring(0, separator));
+            if (!day.isBefore(since)) {
+                Currency currency = Currency.getInstance(dimension.substring(separator + 1));
+                result.computeIfAbsent(day, d -> new TreeMap<>()).put(currency.getCurrencyCode(),
+                        MinorUnitMoney.ofMinor(minorUnits, currency).toBigDecimal());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 最近一次讀取計數器的時間，尚未讀取時為 null
+     */
+    public Instant refreshedAt() {
+        View current = view;
+        return current != null ? current.loadedAt() : null;
+    }
+
+    /**
+     * 寫入本機增量並重新讀取全部計數器
+     */
+    public synchronized void refresh() {
+        flush();
+        view = new View(group(counterPort.loadAll()), Map.of(), clock.instant());
+    }
+
+    /**
+     * 從業務資料表重新計算並覆寫計數器
+     * 只有取得分散式鎖的節點執行，其他節點在下一次重新讀取時取得結果
+     *
+     * @return 是否執行了校正
+     */
+    public boolean reconcile() {
+        Boolean reconciled = lockService.tryExecuteWithLock(RECONCILE_LOCK, () -> {
+            synchronized (this) {
+                flush();
+                LocalDate revenueSince = LocalDate.now(clock).minusDays(revenueDays - 1L);
+                List<Counter> counters = counterPort.recount(revenueSince);
+                counterPort.replace(counters, revenueSince);
+                view = new View(group(counterPort.loadAll()), Map.of(), clock.instant());
+                logger.info("Reconciled {} statistics counters", counters.size());
+                return Boolean.TRUE;
+            }
+        }, Duration.ZERO, reconcileInterval);
+        return Boolean.TRUE.equals(reconciled);
+    }
+
+    private synchronized void flush() {
+        Map<Key, Long> drained = new HashMap<>();
+        pending.forEach((key, adder) -> {
+            long value = adder.sumThenReset();
+            if (value != 0) {
+                drained.put(key, value);
+            }
+        });
+        if (drained.isEmpty()) {
+            return;
+        }
+        // 寫入期間仍計入查詢結果，直到重新讀取的計數器包含這些增量
+        View current = currentView();
+        Map<Key, Long> inFlight = new HashMap<>(current.inFlight());
+        drained.forEach((key, value) -> inFlight.merge(key, value, Long::sum));
+        view = new View(current.persisted(), inFlight, current.loadedAt());
+        List<Counter> deltas = new ArrayList<>(drained.size());
+        drained.forEach((key, value) -> deltas.add(new Counter(key.metric(), key.dimension(), value)));
+        try {
+            counterPort.addAll(deltas);
+        } catch (RuntimeException e) {
+            // 寫入失敗：增量放回待寫入，下一次再寫
+            drained.forEach((key, value) -> increment(key.metric(), key.dimension(), value));
+            view = current;
+            throw e;
+        }
+    }
+
+    private View currentView() {
+        View current = view;
+        if (current == null) {
+            // 背景第一次讀取前的查詢：同步讀取一次
+            synchronized (this) {
+                if (view == null) {
+                    view = new View(group(counterPort.loadAll()), Map.of(), clock.instant());
+                }
+                current = view;
+            }
+        }
+        return current;
+    }
+
+    private static Map<Metric, Map<String, Long>> group(List<Counter> counters) {
+        Map<Metric, Map<String, Long>> grouped = new EnumMap<>(Metric.class);
+        for (Counter counter : counters) {
+            grouped.computeIfAbsent(counter.metric(), metric -> new HashMap<>())
+                    .merge(counter.dimension(), counter.value(), Long::sum);
+        }
+        return grouped;
+    }
+
+    private record Key(Metric metric, String dimension) {
+    }
+
+    /** 最近讀取的計數器與寫入中的增量，整體替換以維持一致 */
+    private record View(Map<Metric, Map<String, Long>> persisted, Map<Key, Long> inFlight, Instant loadedAt) {
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.context.annotation.Primary;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
+import solid.humank.genaidemo.infrastructure.routing.EndpointLoadTracker;
 import solid.humank.genaidemo.infrastructure.routing.HealthChecker;
 import solid.humank.genaidemo.infrastructure.routing.RouteSelector;
 import solid.humank.genaidemo.infrastructure.routing.SmartRoutingDataSource;
@@ -97,7 +98,8 @@ public class MultiRegionDataSourceConfiguration {
             DataSource taiwanDataSource,
             DataSource japanDataSource,
             RouteSelector routeSelector,
-            HealthChecker healthChecker) {
+            HealthChecker healthChecker,
+            EndpointLoadTracker loadTracker) {
 
         logger.info("Initializing SmartRoutingDataSource for multi-region support");
 
@@ -106,7 +108,7 @@ public class MultiRegionDataSourceConfiguration {
         healthChecker.registerDataSource("japan-db", japanDataSource);
 
         // Create routing DataSource
-        SmartRoutingDataSource routingDataSource = new SmartRoutingDataSource(routeSelector);
+        SmartRoutingDataSource routingDataSource = new SmartRoutingDataSource(routeSelector, loadTracker);
 
         Map<Object, Object> targetDataSources = new HashMap<>();
         targetDataSources.put("taiwan-db", taiwanDataSource);
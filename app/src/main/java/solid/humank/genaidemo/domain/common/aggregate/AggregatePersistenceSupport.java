@@ -1,8 +1,14 @@
 package solid.humank.genaidemo.domain.common.aggregate;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import solid.humank.genaidemo.domain.common.event.DomainEvent;
 
@@ -169,6 +175,70 @@ public final class AggregatePersistenceSupport {
         return persistedAggregates;
     }
 
+    /**
+     * 依鍵值調和子集合
+     *
+     * 以 {@code desired} 為準就地更新 {@code current}：鍵值相同的子項以 {@code copier} 複製狀態並保留原物件，
+     * 新鍵值的子項加入，已不存在的子項移除。相同鍵值出現多次時依出現順序一一對應。
+     * 保留原物件讓持久化層只需寫入實際變更的子項，而不是整批刪除再新增。
+     *
+     * @param current   目前的子集合，會被修改
+     * @param desired   期望的子集合
+     * @param keyOf     子項鍵值
+     * @param copier    把期望子項的狀態複製到保留的子項（來源, 目標）
+     * @param <C>       子項類型
+     * @param <K>       鍵值類型
+     * @return 調和結果
+     */
+    public static <C, K> ChildChanges reconcileChildren(List<C> current, List<C> desired,
+            Function<C, K> keyOf, BiConsumer<C, C> copier) {
+        Objects.requireNonNull(current, "目前子集合不能為空");
+        Objects.requireNonNull(desired, "期望子集合不能為空");
+
+        Map<K, Deque<C>> unmatched = new HashMap<>();
+        for (C child : current) {
+            unmatched.computeIfAbsent(keyOf.apply(child), key -> new ArrayDeque<>()).add(child);
+        }
+
+        int added = 0;
+        int retained = 0;
+        for (C child : desired) {
+            Deque<C> candidates = unmatched.get(keyOf.apply(child));
+            C existing = candidates != null ? candidates.poll() : null;
+            if (existing != null) {
+                copier.accept(child, existing);
+                retained++;
+            } else {
+                current.add(child);
+                added++;
+            }
+        }
+
+        int removed = 0;
+        for (Deque<C> leftovers : unmatched.values()) {
+            for (C child : leftovers) {
+                // 以參考比對移除，避免子項 equals 把不同列視為相同
+                current.removeIf(candidate -> candidate == child);
+                removed++;
+            }
+        }
+        return new ChildChanges(added, removed, retained);
+    }
+
+    /**
+     * 子集合調和結果
+     *
+     * @param added    新增的子項數
+     * @param removed  移除的子項數
+     * @param retained 保留並更新狀態的子項數
+     */
+    public record ChildChanges(int added, int removed, int retained) {
+
+        public boolean hasStructuralChanges() {
+            return added > 0 || removed > 0;
+        }
+    }
+
     /**
      * 驗證聚合根狀態
      * 
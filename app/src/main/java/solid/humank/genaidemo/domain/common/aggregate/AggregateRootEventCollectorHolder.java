@@ -2,6 +2,7 @@ package solid.humank.genaidemo.domain.common.aggregate;
 
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import solid.humank.genaidemo.domain.common.event.DomainEventCollector;
 import solid.humank.genaidemo.domain.common.event.SimpleDomainEventCollector;
 
@@ -9,6 +10,7 @@ import solid.humank.genaidemo.domain.common.event.SimpleDomainEventCollector;
  * 聚合根事件收集器持有者
  * 使用 WeakHashMap 確保聚合根實例被 GC 時，對應的事件收集器也會被清理
  * 線程安全的實作，支援多線程環境
+ * 使用 ReentrantLock 而非 synchronized，避免 Virtual Thread 在 JDK 21 上被釘住（pinning）載體線程
  */
 public final class AggregateRootEventCollectorHolder {
     
@@ -16,6 +18,9 @@ public final class AggregateRootEventCollectorHolder {
     private static final Map<Object, DomainEventCollector> EVENT_COLLECTORS = 
         new WeakHashMap<>();
     
+    // WeakHashMap 的讀取也會清理失效項目，因此讀寫都需要持有鎖
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    
     private AggregateRootEventCollectorHolder() {
         // 工具類別，禁止實例化
     }
@@ -27,9 +32,14 @@ public final class AggregateRootEventCollectorHolder {
      * @param aggregateRoot 聚合根實例
      * @return 事件收集器
      */
-    public static synchronized DomainEventCollector getEventCollector(Object aggregateRoot) {
-        return EVENT_COLLECTORS.computeIfAbsent(aggregateRoot, 
-            key -> new SimpleDomainEventCollector());
+    public static DomainEventCollector getEventCollector(Object aggregateRoot) {
+        LOCK.lock();
+        try {
+            return EVENT_COLLECTORS.computeIfAbsent(aggregateRoot, 
+                key -> new SimpleDomainEventCollector());
+        } finally {
+            LOCK.unlock();
+        }
     }
     
     /**
@@ -38,15 +48,25 @@ public final class AggregateRootEventCollectorHolder {
      *
      * @param aggregateRoot 聚合根實例
      */
-    public static synchronized void clearEventCollector(Object aggregateRoot) {
-        EVENT_COLLECTORS.remove(aggregateRoot);
+    public static void clearEventCollector(Object aggregateRoot) {
+        LOCK.lock();
+        try {
+            EVENT_COLLECTORS.remove(aggregateRoot);
+        } finally {
+            LOCK.unlock();
+        }
     }
     
     /**
      * 清除所有事件收集器
      * 主要用於測試環境的全局清理
      */
-    public static synchronized void clearAllEventCollectors() {
-        EVENT_COLLECTORS.clear();
+    public static void clearAllEventCollectors() {
+        LOCK.lock();
+        try {
+            EVENT_COLLECTORS.clear();
+        } finally {
+            LOCK.unlock();
+        }
     }
 }
\ No newline at end of file
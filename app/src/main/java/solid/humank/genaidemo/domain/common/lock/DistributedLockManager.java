@@ -1,6 +1,7 @@
 package solid.humank.genaidemo.domain.common.lock;
 
 import java.time.Duration;
+import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -8,6 +9,7 @@ import java.util.concurrent.TimeUnit;
  * 
  * 提供統一的分散式鎖操作介面，支援不同的實現方式：
  * - 記憶體實現 (本機開發和測試)
+ * - 資料庫租約實現 (Staging 和 Production，多實例部署)
  * - Redis 實現 (Staging 和 Production)
  */
 public interface DistributedLockManager {
@@ -52,6 +54,19 @@ public interface DistributedLockManager {
      */
     void unlock(String lockKey);
     
+    /**
+     * 獲取目前執行緒持有之鎖的防護權杖
+     * 
+     * 權杖隨每次取得鎖單調遞增，受保護的資源可拒絕權杖小於已見過最大值的寫入，
+     * 避免租約過期後仍在執行的舊持有者覆蓋新持有者的結果。
+     * 
+     * @param lockKey 鎖的唯一標識
+     * @return 防護權杖，實現不支援或目前執行緒未持有鎖時為空
+     */
+    default OptionalLong getFencingToken(String lockKey) {
+        return OptionalLong.empty();
+    }
+    
     /**
      * 檢查鎖是否被持有
      * 
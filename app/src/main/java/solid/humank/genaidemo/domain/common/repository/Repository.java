@@ -2,6 +2,7 @@ package solid.humank.genaidemo.domain.common.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 通用儲存庫接口
@@ -20,6 +21,19 @@ public interface Repository<T, ID> {
      */
     T save(T aggregateRoot);
 
+    /**
+     * 批次保存聚合根
+     * 預設實作逐一呼叫 save()，持久化儲存庫應覆寫此方法以合併 JDBC 批次。
+     * JPA 實作在分段寫入時會把本次寫入的實體脫離持久化上下文：同一交易中之後需要這些聚合根時應重新查詢，
+     * 呼叫端載入的其他實體不受影響。
+     *
+     * @param aggregateRoots 聚合根列表
+     * @return 保存後的聚合根列表
+     */
+    default List<T> saveAll(List<T> aggregateRoots) {
+        return aggregateRoots.stream().map(this::save).toList();
+    }
+
     /**
      * 根據ID查詢聚合根
      *
@@ -35,6 +49,18 @@ public interface Repository<T, ID> {
      */
     List<T> findAll();
 
+    /**
+     * 以串流方式逐批讀取所有聚合根
+     * 預設實作退回 findAll()，支援鍵集分頁的儲存庫應覆寫此方法以維持固定記憶體用量。
+     * 呼叫端必須關閉回傳的串流。
+     *
+     * @param fetchSize 每批讀取的筆數
+     * @return 聚合根串流
+     */
+    default Stream<T> streamAll(int fetchSize) {
+        return findAll().stream();
+    }
+
     /**
      * 刪除聚合根
      *
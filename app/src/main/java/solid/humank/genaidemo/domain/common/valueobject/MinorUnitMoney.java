@@ -0,0 +1,314 @@
+package solid.humank.genaidemo.domain.common.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import solid.humank.genaidemo.domain.common.annotations.ValueObject;
+
+/**
+ * 以最小貨幣單位（long）表示的金額 - 計算用快速路徑
+ *
+ * 適用於固定小數位數的貨幣（TWD、USD 為 2 位，JPY 為 0 位），以 long 儲存「分」等最小單位，
+ * 加減乘除不配置 BigDecimal，溢位時拋出 {@link ArithmeticException}，需要捨入的運算必須指定 {@link RoundingMode}。
+ * 與 {@link Money} 不同，計算過程允許負數（例如折扣差額），轉回 {@link Money} 時才驗證。
+ *
+ * 只在持久化與 API 邊界轉換為 {@link BigDecimal}：
+ * <pre>
+ * MinorUnitMoney subtotal = MinorUnitMoney.from(price).times(quantity);
+ * Money result = subtotal.toMoney();
+ * </pre>
+ */
+@ValueObject
+public record MinorUnitMoney(long minorUnits, Currency currency) implements Comparable<MinorUnitMoney> {
+
+    /** 支援的最大小數位數 */
+    private static final int MAX_FRACTION_DIGITS = 4;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    /**
+     * 緊湊建構子 - 驗證參數
+     */
+    public MinorUnitMoney {
+        Objects.requireNonNull(currency, "貨幣不能為空");
+        if (!supports(currency)) {
+            throw new IllegalArgumentException("不支援的貨幣小數位數: " + currency.getCurrencyCode());
+        }
+    }
+
+    /**
+     * 檢查貨幣是否有固定的最小單位
+     *
+     * @param currency 貨幣
+     * @return 是否支援
+     */
+    public static boolean supports(Currency currency) {
+        int fractionDigits = currency.getDefaultFractionDigits();
+        return fractionDigits >= 0 && fractionDigits <= MAX_FRACTION_DIGITS;
+    }
+
+    /**
+     * 以最小單位建立金額
+     *
+     * @param minorUnits 最小單位數量（例如 TWD 的 12345 代表 123.45）
+     * @param currency   貨幣
+     * @return 金額
+     */
+    public static MinorUnitMoney ofMinor(long minorUnits, Currency currency) {
+        return new MinorUnitMoney(minorUnits, currency);
+    }
+
+    /**
+     * 建立零金額
+     *
+     * @param currency 貨幣
+     * @return 零金額
+     */
+    public static MinorUnitMoney zero(Currency currency) {
+        return new MinorUnitMoney(0, currency);
+    }
+
+    /**
+     * 從 {@link Money} 精確轉換，金額小數位數超過貨幣最小單位時拋出 {@link ArithmeticException}
+     *
+     * @param money 金錢
+     * @return 金額
+     */
+    public static MinorUnitMoney from(Money money) {
+        return new MinorUnitMoney(toMinorUnits(money.amount(), money.currency(), RoundingMode.UNNECESSARY),
+                money.currency());
+    }
+
+    /**
+     * 從 {@link Money} 轉換，依指定模式捨入到貨幣最小單位
+     *
+     * @param money        金錢
+     * @param roundingMode 捨入模式
+     * @return 金額
+     */
+    public static MinorUnitMoney from(Money money, RoundingMode roundingMode) {
+        return new MinorUnitMoney(toMinorUnits(money.amount(), money.currency(), roundingMode), money.currency());
+    }
+
+    /**
+     * 加法
+     *
+     * @param other 金額
+     * @return 新的金額
+     */
+    public MinorUnitMoney plus(MinorUnitMoney other) {
+        requireSameCurrency(other);
+        return new MinorUnitMoney(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * 減法，結果可為負數
+     *
+     * @param other 金額
+     * @return 新的金額
+     */
+    public MinorUnitMoney minus(MinorUnitMoney other) {
+        requireSameCurrency(other);
+        return new MinorUnitMoney(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * 乘以數量
+     *
+     * @param quantity 數量
+     * @return 新的金額
+     */
+    public MinorUnitMoney times(long quantity) {
+        return new MinorUnitMoney(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    /**
+     * 乘以比例 numerator / denominator，例如 85 / 100 表示八五折
+     *
+     * @param numerator    分子
+     * @param denominator  分母
+     * @param roundingMode 捨入模式
+     * @return 新的金額
+     */
+    public MinorUnitMoney timesRatio(long numerator, long denominator, RoundingMode roundingMode) {
+        return new MinorUnitMoney(divide(Math.multiplyExact(minorUnits, numerator), denominator, roundingMode),
+                currency);
+    }
+
+    /**
+     * 除法
+     *
+     * @param divisor      除數
+     * @param roundingMode 捨入模式
+     * @return 新的金額
+     */
+    public MinorUnitMoney divide(long divisor, RoundingMode roundingMode) {
+        return new MinorUnitMoney(divide(minorUnits, divisor, roundingMode), currency);
+    }
+
+    /**
+     * 轉換為 {@link BigDecimal}，小數位數為貨幣最小單位位數
+     *
+     * @return 金額
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * 轉換為 {@link Money}，負數時拋出 {@link IllegalArgumentException}
+     *
+     * @return 金錢值對象
+     */
+    public Money toMoney() {
+        return new Money(toBigDecimal(), currency);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    @Override
+    public int compareTo(MinorUnitMoney other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * 加總金額，等同於 {@code amounts.stream().reduce(identity, Money::add)}
+     * 貨幣有固定最小單位且所有金額都能精確轉換時以 long 累加，否則退回 BigDecimal 逐筆相加；
+     * 兩種路徑的結果完全相同（含 BigDecimal 的小數位數與幣別錯誤）。
+     *
+     * @param amounts  金額集合
+     * @param identity 起始值，通常為零金額
+     * @return 總金額
+     */
+    public static Money sum(Collection<Money> amounts, Money identity) {
+        return sumLineItems(amounts, Function.identity(), amount -> 1, identity);
+    }
+
+    /**
+     * 加總明細小計，等同於 {@code items.stream().map(i -> unitPrice(i).multiply(quantity(i))).reduce(identity, Money::add)}
+     * 快速路徑每筆明細不配置 BigDecimal 或 Money，只在最後轉換一次。
+     *
+     * @param items     明細
+     * @param unitPrice 取得單價
+     * @param quantity  取得數量
+     * @param identity  起始值，通常為零金額
+     * @return 總金額
+     */
+    public static <T> Money sumLineItems(Collection<T> items, Function<? super T, Money> unitPrice,
+            ToIntFunction<? super T> quantity, Money identity) {
+        Currency currency = identity.currency();
+        if (!supports(currency)) {
+            return sumLineItemsSlow(items, unitPrice, quantity, identity);
+        }
+        int maxScale = identity.amount().scale();
+        try {
+            long total = toMinorUnits(identity.amount(), currency, RoundingMode.UNNECESSARY);
+            for (T item : items) {
+                Money price = unitPrice.apply(item);
+                long subtotal = Math.multiplyExact(
+                        toMinorUnits(price.amount(), currency, RoundingMode.UNNECESSARY), quantity.applyAsInt(item));
+                if (!currency.equals(price.currency()) || subtotal < 0) {
+                    // 幣別不同或負數小計：交給 Money 拋出一致的錯誤
+                    return sumLineItemsSlow(items, unitPrice, quantity, identity);
+                }
+                total = Math.addExact(total, subtotal);
+                maxScale = Math.max(maxScale, price.amount().scale());
+            }
+            // 維持與 BigDecimal 相加相同的小數位數，使 Money.equals 行為不變；縮放一定精確
+            return new Money(BigDecimal.valueOf(total, currency.getDefaultFractionDigits())
+                    .setScale(maxScale, RoundingMode.UNNECESSARY), currency);
+        } catch (ArithmeticException notExactOrOverflow) {
+            // 小數位數超過最小單位或 long 溢位
+            return sumLineItemsSlow(items, unitPrice, quantity, identity);
+        }
+    }
+
+    private static <T> Money sumLineItemsSlow(Collection<T> items, Function<? super T, Money> unitPrice,
+            ToIntFunction<? super T> quantity, Money identity) {
+        Money total = identity;
+        for (T item : items) {
+            total = total.add(unitPrice.apply(item).multiply(quantity.applyAsInt(item)));
+        }
+        return total;
+    }
+
+    private static long toMinorUnits(BigDecimal amount, Currency currency, RoundingMode roundingMode) {
+        int fractionDigits = currency.getDefaultFractionDigits();
+        int scale = amount.scale();
+        if (scale == 0) {
+            // 常見的整數金額：不需要配置新的 BigDecimal
+            return Math.multiplyExact(amount.longValueExact(), POWERS_OF_TEN[fractionDigits]);
+        }
+        if (scale > 0 && scale <= fractionDigits) {
+            BigDecimal unscaledAtScale = amount.movePointRight(scale);
+            return Math.multiplyExact(unscaledAtScale.longValueExact(), POWERS_OF_TEN[fractionDigits - scale]);
+        }
+        return amount.setScale(fractionDigits, roundingMode).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 依捨入模式進行整數除法
+     */
+    private static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        if (divisor == 0) {
+            throw new ArithmeticException("除數不能為零");
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        // 真實結果的正負號（商為 0 時仍需要）
+        int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        boolean roundAwayFromZero = switch (roundingMode) {
+            case UNNECESSARY -> throw new ArithmeticException("需要捨入但指定為 UNNECESSARY");
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> sign < 0;
+            case CEILING -> sign > 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                int cmp = Long.compare(Math.abs(remainder), Math.abs(divisor) - Math.abs(remainder));
+                if (cmp != 0) {
+                    yield cmp > 0;
+                }
+                yield switch (roundingMode) {
+                    case HALF_UP -> true;
+                    case HALF_DOWN -> false;
+                    default -> (quotient & 1) != 0;
+                };
+            }
+        };
+        return roundAwayFromZero ? Math.addExact(quotient, sign) : quotient;
+    }
+
+    private void requireSameCurrency(MinorUnitMoney other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                    "Cannot operate on money with different currencies: "
+                            + currency.getCurrencyCode()
+                            + " vs "
+                            + other.currency.getCurrencyCode());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal() + " " + currency.getCurrencyCode();
+    }
+}
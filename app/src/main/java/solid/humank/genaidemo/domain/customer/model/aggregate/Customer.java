@@ -28,6 +28,7 @@ import solid.humank.genaidemo.domain.customer.model.events.NotificationPreferenc
 import solid.humank.genaidemo.domain.customer.model.events.RewardPointsEarnedEvent;
 import solid.humank.genaidemo.domain.customer.model.events.RewardPointsRedeemedEvent;
 import solid.humank.genaidemo.domain.customer.model.valueobject.Address;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerTotals;
 import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerName;
 import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerPreferencesId;
 import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerStatus;
@@ -835,6 +836,26 @@ public class Customer implements AggregateRootInterface {
         checkMembershipUpgradeEligibility();
     }
 
+    /**
+     * 折疊帳本分錄：一次累加未折疊的點數與消費差額
+     * 會員等級由呼叫端依折疊後的消費總額判斷，這裡不檢查升級資格
+     */
+    public void applyLedgerTotals(CustomerLedgerTotals totals) {
+        if (totals.pointsDelta() > 0) {
+            addRewardPoints(totals.pointsDelta(), "Folded " + totals.entryCount() + " ledger entries");
+        }
+        this.totalSpending = this.totalSpending.add(totals.spendingDelta());
+    }
+
+    /**
+     * 從持久化狀態還原已折疊的消費總額，沿用聚合根的幣別
+     * 只供重建聚合根使用：不產生事件，也不檢查升級資格
+     */
+    public void restoreTotalSpending(java.math.BigDecimal amount) {
+        Objects.requireNonNull(amount, "消費總額不能為空");
+        this.totalSpending = Money.of(amount, this.totalSpending.currency());
+    }
+
     /** 驗證消費記錄更新的業務規則 */
     private void validateSpendingUpdate(Money amount, String orderId, String spendingType) {
         BusinessRuleViolationException.Builder violationBuilder = new BusinessRuleViolationException.Builder("Customer",
@@ -0,0 +1,71 @@
+package solid.humank.genaidemo.domain.customer.model.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import solid.humank.genaidemo.domain.common.annotations.ValueObject;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+
+/**
+ * 客戶點數/消費帳本分錄值對象
+ *
+ * 點數與消費金額的異動先以只新增的分錄記錄，不讀取也不修改客戶聚合根，
+ * 同一客戶的並發寫入不會產生版本衝突；之後再批次折疊進聚合根。
+ */
+@ValueObject(name = "CustomerLedgerEntry", description = "客戶點數與消費差額分錄")
+public record CustomerLedgerEntry(
+        CustomerId customerId,
+        int pointsDelta,
+        Money spendingDelta,
+        String orderId,
+        String reason,
+        LocalDateTime recordedAt) {
+
+    /**
+     * 緊湊建構子 - 驗證參數
+     */
+    public CustomerLedgerEntry {
+        Objects.requireNonNull(customerId, "客戶ID不能為空");
+        Objects.requireNonNull(spendingDelta, "消費差額不能為空");
+        Objects.requireNonNull(recordedAt, "記錄時間不能為空");
+        if (pointsDelta < 0) {
+            throw new IllegalArgumentException("點數差額不能為負數");
+        }
+        if (pointsDelta == 0 && spendingDelta.amount().signum() == 0) {
+            throw new IllegalArgumentException("分錄必須包含點數或消費差額");
+        }
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("分錄原因不能為空");
+        }
+    }
+
+    /**
+     * 建立點數分錄
+     *
+     * @param customerId 客戶ID
+     * @param points     新增點數
+     * @param reason     原因
+     * @return 分錄
+     */
+    public static CustomerLedgerEntry points(CustomerId customerId, int points, String reason) {
+        return new CustomerLedgerEntry(customerId, points, Money.twd(0), null, reason, LocalDateTime.now());
+    }
+
+    /**
+     * 建立消費分錄
+     *
+     * @param customerId  客戶ID
+     * @param amount      消費金額
+     * @param orderId     訂單ID
+     * @param description 描述
+     * @return 分錄
+     */
+    public static CustomerLedgerEntry spending(CustomerId customerId, Money amount, String orderId,
+            String description) {
+        if (orderId == null || orderId.isBlank()) {
+            throw new IllegalArgumentException("訂單ID不能為空");
+        }
+        return new CustomerLedgerEntry(customerId, 0, amount, orderId, description, LocalDateTime.now());
+    }
+}
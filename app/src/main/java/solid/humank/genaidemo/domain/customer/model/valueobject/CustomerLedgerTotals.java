@@ -0,0 +1,42 @@
+package solid.humank.genaidemo.domain.customer.model.valueobject;
+
+import java.util.Objects;
+
+import solid.humank.genaidemo.domain.common.annotations.ValueObject;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+
+/**
+ * 客戶帳本未折疊分錄的加總
+ *
+ * 保留被加總的分錄筆數與最大分錄識別碼，折疊時只標記不超過該識別碼的分錄，
+ * 加總之後才提交的分錄會留到下一次折疊；標記筆數與加總筆數不符時折疊回滾。
+ */
+@ValueObject(name = "CustomerLedgerTotals", description = "客戶帳本未折疊分錄加總")
+public record CustomerLedgerTotals(int pointsDelta, Money spendingDelta, int entryCount, long lastEntryId) {
+
+    /**
+     * 緊湊建構子 - 驗證參數
+     */
+    public CustomerLedgerTotals {
+        Objects.requireNonNull(spendingDelta, "消費差額不能為空");
+        if (pointsDelta < 0) {
+            throw new IllegalArgumentException("點數差額不能為負數");
+        }
+        if (entryCount < 0) {
+            throw new IllegalArgumentException("分錄筆數不能為負數");
+        }
+    }
+
+    /**
+     * 沒有未折疊分錄
+     *
+     * @return 空加總
+     */
+    public static CustomerLedgerTotals empty() {
+        return new CustomerLedgerTotals(0, Money.twd(0), 0, 0);
+    }
+
+    public boolean isEmpty() {
+        return entryCount == 0;
+    }
+}
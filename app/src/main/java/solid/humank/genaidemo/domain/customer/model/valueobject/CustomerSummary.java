@@ -0,0 +1,36 @@
+package solid.humank.genaidemo.domain.customer.model.valueobject;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import solid.humank.genaidemo.domain.common.annotations.ValueObject;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+
+/**
+ * 客戶摘要值對象 - 列表查詢用的唯讀投影
+ *
+ * 只包含客戶列表需要的欄位，由儲存庫以單一查詢直接投影取得，
+ * 不重建 {@code Customer} 聚合根（配送地址、支付方式、偏好設定等子集合）。
+ * 欄位已經過與聚合根相同的值對象正規化。
+ */
+@ValueObject(name = "CustomerSummary", description = "客戶列表唯讀投影")
+public record CustomerSummary(
+        CustomerId customerId,
+        String name,
+        String email,
+        String phone,
+        String fullAddress,
+        MembershipLevel membershipLevel,
+        LocalDate registrationDate) {
+
+    /**
+     * 緊湊建構子 - 驗證參數
+     */
+    public CustomerSummary {
+        Objects.requireNonNull(customerId, "客戶ID不能為空");
+        Objects.requireNonNull(name, "客戶姓名不能為空");
+        Objects.requireNonNull(email, "電子郵件不能為空");
+        Objects.requireNonNull(membershipLevel, "會員等級不能為空");
+        Objects.requireNonNull(registrationDate, "註冊日期不能為空");
+    }
+}
@@ -0,0 +1,39 @@
+package solid.humank.genaidemo.domain.customer.repository;
+
+import java.util.List;
+
+import solid.humank.genaidemo.domain.common.annotations.Repository;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerEntry;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerTotals;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+
+/**
+ * 客戶點數/消費帳本儲存庫
+ * 分錄只新增不修改，折疊後僅標記為已折疊
+ */
+@Repository(name = "CustomerLedgerRepository", description = "客戶點數與消費差額帳本儲存庫")
+public interface CustomerLedgerRepository {
+
+    /**
+     * 新增分錄，不檢查客戶聚合根版本
+     */
+    void append(CustomerLedgerEntry entry);
+
+    /**
+     * 加總客戶所有未折疊的分錄
+     * 消費差額為零的幣別（例如只有點數的分錄）不影響加總的幣別；有兩種以上幣別的消費差額時拋出例外
+     */
+    CustomerLedgerTotals findUnfoldedTotals(CustomerId customerId);
+
+    /**
+     * 將加總包含的分錄標記為已折疊
+     * 標記筆數與加總不符（分錄已被其他折疊處理，或加總後才提交較小ID的分錄）時拋出例外，
+     * 使目前交易回滾而不會重複或遺漏累加
+     */
+    void markFolded(CustomerId customerId, CustomerLedgerTotals totals);
+
+    /**
+     * 查詢有未折疊分錄的客戶
+     */
+    List<CustomerId> findCustomersWithUnfoldedEntries(int limit);
+}
@@ -7,6 +7,7 @@ import java.util.Optional;
 import solid.humank.genaidemo.domain.common.annotations.Repository;
 import solid.humank.genaidemo.domain.common.repository.BaseRepository;
 import solid.humank.genaidemo.domain.customer.model.aggregate.Customer;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerSummary;
 import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
 import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
 
@@ -31,5 +32,24 @@ public interface CustomerRepository extends BaseRepository<Customer, CustomerId>
     // 分頁查詢方法
     List<CustomerId> findCustomerIds(int page, int size);
 
+    /**
+     * 以頁碼分頁查詢客戶摘要，依註冊日期與客戶ID遞減排序
+     */
+    List<CustomerSummary> findCustomerSummaries(int page, int size);
+
+    /**
+     * 以鍵集分頁查詢客戶摘要，取得排序在指定客戶之後的下一批
+     *
+     * @param afterRegistrationDate 上一批最後一筆的註冊日期，第一批為 null
+     * @param afterCustomerId       上一批最後一筆的客戶ID，第一批為 null
+     * @param limit                 筆數上限
+     * @return 依註冊日期與客戶ID遞減排序的客戶摘要
+     */
+    List<CustomerSummary> findCustomerSummariesAfter(LocalDate afterRegistrationDate, CustomerId afterCustomerId,
+            int limit);
+
+    /**
+     * 客戶總數，由儲存庫維護的計數提供，不保證與當下資料表完全一致
+     */
     int countCustomers();
 }
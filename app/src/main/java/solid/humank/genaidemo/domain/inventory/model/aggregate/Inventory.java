@@ -15,6 +15,7 @@ import solid.humank.genaidemo.domain.inventory.model.entity.StockMovement;
 import solid.humank.genaidemo.domain.inventory.model.entity.StockReservation;
 import solid.humank.genaidemo.domain.inventory.model.events.InventoryCreatedEvent;
 import solid.humank.genaidemo.domain.inventory.model.events.StockAddedEvent;
+import solid.humank.genaidemo.domain.inventory.model.events.StockReservationExpiredEvent;
 import solid.humank.genaidemo.domain.inventory.model.events.StockReservedEvent;
 import solid.humank.genaidemo.domain.inventory.model.valueobject.InventoryId;
 import solid.humank.genaidemo.domain.inventory.model.valueobject.InventoryStatus;
@@ -458,6 +459,7 @@ public class Inventory extends solid.humank.genaidemo.domain.common.aggregate.Ag
 
     /**
      * 清理過期的預留
+     * 只處理此聚合根已載入的預留；跨商品的定期釋放由預留過期排程直接在資料庫批次處理
      */
     public void cleanupExpiredReservations() {
         List<StockReservation> expiredReservations = stockReservations.stream()
@@ -476,6 +478,8 @@ public class Inventory extends solid.humank.genaidemo.domain.common.aggregate.Ag
                     quantity, availableQuantity - quantity, StockMovement.MovementReason.CART_ABANDON,
                     reservation.getReservationId().toString(), "SYSTEM", "系統清理",
                     "過期預留自動釋放"));
+            collectEvent(StockReservationExpiredEvent.create(this.id, this.productId,
+                    reservation.getReservationId(), reservation.getOrderId(), quantity, reservation.getExpiresAt()));
         }
 
         if (!expiredReservations.isEmpty()) {
@@ -0,0 +1,58 @@
+package solid.humank.genaidemo.domain.inventory.model.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.inventory.model.valueobject.InventoryId;
+import solid.humank.genaidemo.domain.inventory.model.valueobject.ReservationId;
+
+/**
+ * 庫存預留過期事件
+ * 預留超過有效期限而被系統釋放，數量已回到可用庫存
+ */
+public record StockReservationExpiredEvent(
+        InventoryId inventoryId,
+        String productId,
+        ReservationId reservationId,
+        UUID orderId,
+        int quantity,
+        LocalDateTime expiresAt,
+        UUID eventId,
+        LocalDateTime occurredOn) implements DomainEvent {
+
+    /**
+     * 工廠方法，自動設定 eventId 和 occurredOn
+     */
+    public static StockReservationExpiredEvent create(
+            InventoryId inventoryId,
+            String productId,
+            ReservationId reservationId,
+            UUID orderId,
+            int quantity,
+            LocalDateTime expiresAt) {
+        DomainEvent.EventMetadata metadata = DomainEvent.createEventMetadata();
+        return new StockReservationExpiredEvent(inventoryId, productId, reservationId, orderId, quantity, expiresAt,
+                metadata.eventId(), metadata.occurredOn());
+    }
+
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+
+    @Override
+    public String getEventType() {
+        return DomainEvent.getEventTypeFromClass(this.getClass());
+    }
+
+    @Override
+    public String getAggregateId() {
+        return inventoryId.getId().toString();
+    }
+}
@@ -12,12 +12,14 @@ import solid.humank.genaidemo.domain.common.aggregate.CrossAggregateOperation;
 import solid.humank.genaidemo.domain.common.annotations.AggregateRoot;
 import solid.humank.genaidemo.domain.common.exception.BusinessRuleViolationException;
 import solid.humank.genaidemo.domain.common.lifecycle.AggregateLifecycle;
+import solid.humank.genaidemo.domain.common.valueobject.MinorUnitMoney;
 import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.common.valueobject.OrderId;
 import solid.humank.genaidemo.domain.common.valueobject.OrderItem;
 import solid.humank.genaidemo.domain.common.valueobject.OrderStatus;
 import solid.humank.genaidemo.domain.order.model.events.OrderCreatedEvent;
 import solid.humank.genaidemo.domain.order.model.events.OrderItemAddedEvent;
+import solid.humank.genaidemo.domain.order.model.events.OrderStatusChangedEvent;
 import solid.humank.genaidemo.domain.order.model.events.OrderSubmittedEvent;
 import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
 
@@ -253,6 +255,9 @@ public class Order extends solid.humank.genaidemo.domain.common.aggregate.Aggreg
             throw new IllegalStateException("Cannot mark as paid an order in " + status + " state");
         }
 
+        stateTracker.trackChange("status", status, OrderStatus.PAID,
+                (oldValue, newValue) -> OrderStatusChangedEvent.create(this.id, oldValue, newValue));
+
         // 更新狀態
         status = OrderStatus.PAID;
         updatedAt = LocalDateTime.now();
@@ -265,6 +270,9 @@ public class Order extends solid.humank.genaidemo.domain.common.aggregate.Aggreg
             throw new IllegalStateException("Cannot ship an order in " + status + " state");
         }
 
+        stateTracker.trackChange("status", status, OrderStatus.SHIPPING,
+                (oldValue, newValue) -> OrderStatusChangedEvent.create(this.id, oldValue, newValue));
+
         // 更新狀態
         status = OrderStatus.SHIPPING;
         updatedAt = LocalDateTime.now();
@@ -277,6 +285,9 @@ public class Order extends solid.humank.genaidemo.domain.common.aggregate.Aggreg
             throw new IllegalStateException("Cannot deliver an order in " + status + " state");
         }
 
+        stateTracker.trackChange("status", status, OrderStatus.DELIVERED,
+                (oldValue, newValue) -> OrderStatusChangedEvent.create(this.id, oldValue, newValue));
+
         // 更新狀態
         status = OrderStatus.DELIVERED;
         updatedAt = LocalDateTime.now();
@@ -290,6 +301,9 @@ public class Order extends solid.humank.genaidemo.domain.common.aggregate.Aggreg
                     "Cannot cancel an order that is already delivered or cancelled");
         }
 
+        stateTracker.trackChange("status", status, OrderStatus.CANCELLED,
+                (oldValue, newValue) -> OrderStatusChangedEvent.create(this.id, oldValue, newValue));
+
         // 更新狀態
         status = OrderStatus.CANCELLED;
         updatedAt = LocalDateTime.now();
@@ -340,7 +354,8 @@ public class Order extends solid.humank.genaidemo.domain.common.aggregate.Aggreg
         this.items.addAll(updatedItems);
 
         // 重新計算總金額
-        this.totalAmount = updatedItems.stream().map(OrderItem::getSubtotal).reduce(Money.zero(), Money::add);
+        this.totalAmount = MinorUnitMoney.sumLineItems(
+                updatedItems, OrderItem::getPrice, OrderItem::getQuantity, Money.zero());
         this.effectiveAmount = this.totalAmount;
         this.updatedAt = LocalDateTime.now();
 
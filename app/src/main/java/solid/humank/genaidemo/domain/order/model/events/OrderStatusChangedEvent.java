@@ -0,0 +1,49 @@
+package solid.humank.genaidemo.domain.order.model.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.common.valueobject.OrderId;
+import solid.humank.genaidemo.domain.common.valueobject.OrderStatus;
+
+/**
+ * 訂單狀態變更事件
+ * 付款、出貨、送達與取消等沒有專屬事件的狀態轉換發布此事件；提交與確認另有專屬事件。
+ * 使用 record 實作，自動獲得不可變性和基礎功能
+ */
+public record OrderStatusChangedEvent(
+        OrderId orderId,
+        OrderStatus oldStatus,
+        OrderStatus newStatus,
+        UUID eventId,
+        LocalDateTime occurredOn) implements DomainEvent {
+
+    /**
+     * 工廠方法，自動設定 eventId 和 occurredOn
+     */
+    public static OrderStatusChangedEvent create(OrderId orderId, OrderStatus oldStatus, OrderStatus newStatus) {
+        DomainEvent.EventMetadata metadata = DomainEvent.createEventMetadata();
+        return new OrderStatusChangedEvent(orderId, oldStatus, newStatus, metadata.eventId(), metadata.occurredOn());
+    }
+
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+
+    @Override
+    public String getEventType() {
+        return DomainEvent.getEventTypeFromClass(this.getClass());
+    }
+
+    @Override
+    public String getAggregateId() {
+        return orderId.getValue();
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import solid.humank.genaidemo.domain.common.annotations.AggregateRoot;
 import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.pricing.model.entity.CommissionRate;
+import solid.humank.genaidemo.domain.pricing.model.events.PricingRuleCreatedEvent;
 import solid.humank.genaidemo.domain.pricing.model.valueobject.PriceId;
 import solid.humank.genaidemo.domain.pricing.model.valueobject.ProductCategory;
 import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
@@ -61,6 +62,10 @@ public class PricingRule extends solid.humank.genaidemo.domain.common.aggregate.
 
         // 初始化默認佣金費率
         addDefaultCommissionRate();
+
+        // 發布定價規則建立事件
+        collectEvent(PricingRuleCreatedEvent.create(
+                priceId, productId, finalPrice, effectiveFrom, effectiveTo));
     }
 
     /** 添加佣金費率 */
@@ -0,0 +1,61 @@
+package solid.humank.genaidemo.domain.pricing.model.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.pricing.model.valueobject.PriceId;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+
+/**
+ * 定價規則建立事件
+ * 使用 record 實作，自動獲得不可變性和基礎功能
+ */
+public record PricingRuleCreatedEvent(
+        PriceId priceId,
+        ProductId productId,
+        Money finalPrice,
+        LocalDateTime effectiveFrom,
+        LocalDateTime effectiveTo,
+        UUID eventId,
+        LocalDateTime occurredOn) implements DomainEvent {
+
+    /**
+     * 工廠方法，自動設定 eventId 和 occurredOn
+     */
+    public static PricingRuleCreatedEvent create(PriceId priceId, ProductId productId, Money finalPrice,
+            LocalDateTime effectiveFrom, LocalDateTime effectiveTo) {
+        DomainEvent.EventMetadata metadata = DomainEvent.createEventMetadata();
+        return new PricingRuleCreatedEvent(priceId, productId, finalPrice, effectiveFrom, effectiveTo,
+                metadata.eventId(), metadata.occurredOn());
+    }
+
+    /**
+     * 規則在事件發生時是否已生效
+     */
+    public boolean isEffectiveAt(LocalDateTime time) {
+        return (effectiveFrom == null || !time.isBefore(effectiveFrom))
+                && (effectiveTo == null || time.isBefore(effectiveTo));
+    }
+
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+
+    @Override
+    public String getEventType() {
+        return DomainEvent.getEventTypeFromClass(this.getClass());
+    }
+
+    @Override
+    public String getAggregateId() {
+        return priceId.getId();
+    }
+}
@@ -1,6 +1,7 @@
 package solid.humank.genaidemo.domain.pricing.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,11 @@ public interface PricingRuleRepository
     /** 根據產品ID查找定價規則 */
     List<PricingRule> findByProductId(ProductId productId);
 
+    /** 根據多個產品ID查找定價規則 */
+    default List<PricingRule> findByProductIds(Collection<ProductId> productIds) {
+        return productIds.stream().flatMap(productId -> findByProductId(productId).stream()).toList();
+    }
+
     /** 根據促銷ID查找定價規則 */
     List<PricingRule> findByPromotionId(PromotionId promotionId);
 
@@ -1,5 +1,6 @@
 package solid.humank.genaidemo.domain.product.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,16 @@ public interface ProductRepository extends BaseRepository<Product, ProductId> {
     @Override
     Optional<Product> findById(ProductId productId);
 
+    /**
+     * 一次查詢多個產品，不存在或已下架的產品不會出現在結果中
+     *
+     * @param productIds 產品ID集合
+     * @return 找到的產品，順序不保證
+     */
+    default List<Product> findAllByIds(Collection<ProductId> productIds) {
+        return productIds.stream().map(this::findById).flatMap(Optional::stream).toList();
+    }
+
     List<Product> findByCategory(ProductCategory category);
 
     List<Product> findByName(String name);
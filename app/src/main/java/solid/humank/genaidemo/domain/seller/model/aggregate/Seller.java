@@ -28,7 +28,8 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
     // Entity 集合 - 新的聚合內結構
     private SellerProfile profile; // Entity (原 SellerProfile 聚合根)
     private ContactInfo contactInfo; // 新 Entity
-    private List<SellerRating> ratings; // 新 Entity 集合
+    private List<SellerRating> ratings; // 新 Entity 集合 - 只含已載入的評級，預設不載入
+    private SellerRatingSummary ratingSummary; // 可見評級的累計摘要
     private SellerVerification verification; // 新 Entity
 
     /**
@@ -37,6 +38,7 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
     protected Seller() {
         this.sellerId = null;
         this.ratings = new ArrayList<>();
+        this.ratingSummary = SellerRatingSummary.empty();
     }
 
     /**
@@ -50,6 +52,7 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
         this.createdAt = LocalDateTime.now();
         this.lastUpdated = LocalDateTime.now();
         this.ratings = new ArrayList<>();
+        this.ratingSummary = SellerRatingSummary.empty();
 
         // 創建內部 Entity
         this.profile = new SellerProfile(
@@ -72,11 +75,25 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
 
     /**
      * 重建用建構子（用於從持久化層重建）
+     * 傳入的評級視為完整集合，評級摘要由其中的可見評級計算
      */
     public Seller(SellerId sellerId, String name, boolean isActive,
             LocalDateTime createdAt, LocalDateTime lastUpdated,
             SellerProfile profile, ContactInfo contactInfo,
             List<SellerRating> ratings, SellerVerification verification) {
+        this(sellerId, name, isActive, createdAt, lastUpdated, profile, contactInfo,
+                summarize(ratings), ratings, verification);
+    }
+
+    /**
+     * 重建用建構子（用於從持久化層重建）
+     * 評級摘要直接取自持久化的累計值，評級集合只含已載入的部分（通常為空）
+     */
+    public Seller(SellerId sellerId, String name, boolean isActive,
+            LocalDateTime createdAt, LocalDateTime lastUpdated,
+            SellerProfile profile, ContactInfo contactInfo,
+            SellerRatingSummary ratingSummary, List<SellerRating> loadedRatings,
+            SellerVerification verification) {
         this.sellerId = Objects.requireNonNull(sellerId, "賣家ID不能為空");
         this.name = Objects.requireNonNull(name, "賣家名稱不能為空");
         this.isActive = isActive;
@@ -84,7 +101,8 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
         this.lastUpdated = lastUpdated != null ? lastUpdated : LocalDateTime.now();
         this.profile = profile;
         this.contactInfo = contactInfo;
-        this.ratings = ratings != null ? new ArrayList<>(ratings) : new ArrayList<>();
+        this.ratingSummary = ratingSummary != null ? ratingSummary : SellerRatingSummary.empty();
+        this.ratings = loadedRatings != null ? new ArrayList<>(loadedRatings) : new ArrayList<>();
         this.verification = verification;
     }
 
@@ -184,6 +202,7 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
                 rating,
                 comment);
         ratings.add(newRating);
+        this.ratingSummary = ratingSummary.plus(rating);
         this.lastUpdated = LocalDateTime.now();
 
         // 發布評級添加事件
@@ -192,14 +211,56 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
 
     /**
      * 隱藏評級
+     * 評級需已載入聚合根（新增或透過 {@link #attachRatings} 載入）
      */
     public void hideRating(SellerRatingId ratingId, String moderatorComment) {
         findRatingById(ratingId).ifPresent(rating -> {
+            if (rating.isVisible()) {
+                this.ratingSummary = ratingSummary.minus(rating.getRating());
+            }
             rating.hide(moderatorComment);
             this.lastUpdated = LocalDateTime.now();
         });
     }
 
+    /**
+     * 恢復已隱藏的評級
+     */
+    public void restoreRating(SellerRatingId ratingId, String moderatorComment) {
+        findRatingById(ratingId).ifPresent(rating -> {
+            boolean wasVisible = rating.isVisible();
+            rating.restore(moderatorComment);
+            if (!wasVisible) {
+                this.ratingSummary = ratingSummary.plus(rating.getRating());
+            }
+            this.lastUpdated = LocalDateTime.now();
+        });
+    }
+
+    /**
+     * 修改評級分數與評論
+     */
+    public void updateRating(SellerRatingId ratingId, int newRating, String newComment) {
+        findRatingById(ratingId).ifPresent(rating -> {
+            int previous = rating.getRating();
+            rating.updateRating(newRating, newComment);
+            this.ratingSummary = ratingSummary.minus(previous).plus(newRating);
+            this.lastUpdated = LocalDateTime.now();
+        });
+    }
+
+    /**
+     * 將分頁載入的評級加入聚合根，以便後續隱藏或修改
+     * 已載入的評級不會重複加入，也不影響評級摘要
+     */
+    public void attachRatings(List<SellerRating> loadedRatings) {
+        for (SellerRating rating : loadedRatings) {
+            if (findRatingById(rating.getId()).isEmpty()) {
+                ratings.add(rating);
+            }
+        }
+    }
+
     /**
      * 提交驗證文件 - 委派給 SellerVerification Entity
      */
@@ -268,29 +329,21 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
     }
 
     /**
-     * 計算平均評級
+     * 計算平均評級 - 取自評級摘要
      */
     public double calculateAverageRating() {
-        List<SellerRating> activeRatings = getActiveRatings();
-        if (activeRatings.isEmpty()) {
-            return 0.0;
-        }
-
-        return activeRatings.stream()
-                .mapToInt(SellerRating::getRating)
-                .average()
-                .orElse(0.0);
+        return ratingSummary.average();
     }
 
     /**
-     * 獲取總評級數
+     * 獲取總評級數 - 取自評級摘要
      */
     public int getTotalRatings() {
-        return getActiveRatings().size();
+        return ratingSummary.count();
     }
 
     /**
-     * 獲取活躍評級列表
+     * 獲取已載入的活躍評級列表
      */
     public List<SellerRating> getActiveRatings() {
         return ratings.stream()
@@ -307,6 +360,18 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
                 .findFirst();
     }
 
+    private static SellerRatingSummary summarize(List<SellerRating> ratings) {
+        SellerRatingSummary summary = SellerRatingSummary.empty();
+        if (ratings != null) {
+            for (SellerRating rating : ratings) {
+                if (rating.isVisible()) {
+                    summary = summary.plus(rating.getRating());
+                }
+            }
+        }
+        return summary;
+    }
+
     // 向後相容的 API - 確保現有程式碼不受影響
 
     /**
@@ -429,6 +494,10 @@ public class Seller extends solid.humank.genaidemo.domain.common.aggregate.Aggre
         return Collections.unmodifiableList(ratings);
     }
 
+    public SellerRatingSummary getRatingSummary() {
+        return ratingSummary;
+    }
+
     public SellerVerification getVerification() {
         return verification;
     }
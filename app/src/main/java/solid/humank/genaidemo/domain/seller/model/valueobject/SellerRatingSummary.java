@@ -0,0 +1,94 @@
+package solid.humank.genaidemo.domain.seller.model.valueobject;
+
+import solid.humank.genaidemo.domain.common.annotations.ValueObject;
+
+/**
+ * 賣家評級摘要值對象 - 使用 Record 實作
+ * 以 1-5 星的可見評級數量直方圖表示，總數、總分與平均都由直方圖推得，
+ * 新增、隱藏或修改評級時只需調整對應星等的計數，不必走訪全部評級。
+ */
+@ValueObject(name = "SellerRatingSummary", description = "賣家評級摘要")
+public record SellerRatingSummary(int oneStar, int twoStar, int threeStar, int fourStar, int fiveStar) {
+
+    private static final SellerRatingSummary EMPTY = new SellerRatingSummary(0, 0, 0, 0, 0);
+
+    /**
+     * 緊湊建構子 - 驗證參數
+     */
+    public SellerRatingSummary {
+        if (oneStar < 0 || twoStar < 0 || threeStar < 0 || fourStar < 0 || fiveStar < 0) {
+            throw new IllegalArgumentException("評級數量不能為負數");
+        }
+    }
+
+    /**
+     * 沒有任何評級的摘要
+     */
+    public static SellerRatingSummary empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 加入一筆可見評級
+     */
+    public SellerRatingSummary plus(int stars) {
+        return adjust(stars, 1);
+    }
+
+    /**
+     * 移除一筆可見評級
+     */
+    public SellerRatingSummary minus(int stars) {
+        if (countFor(stars) == 0) {
+            throw new IllegalStateException("沒有可移除的 " + stars + " 星評級");
+        }
+        return adjust(stars, -1);
+    }
+
+    /**
+     * 取得指定星等的評級數
+     */
+    public int countFor(int stars) {
+        return switch (stars) {
+            case 1 -> oneStar;
+            case 2 -> twoStar;
+            case 3 -> threeStar;
+            case 4 -> fourStar;
+            case 5 -> fiveStar;
+            default -> throw new IllegalArgumentException("評級必須在1-5之間");
+        };
+    }
+
+    /**
+     * 可見評級總數
+     */
+    public int count() {
+        return oneStar + twoStar + threeStar + fourStar + fiveStar;
+    }
+
+    /**
+     * 可見評級總分
+     */
+    public long sum() {
+        return oneStar + 2L * twoStar + 3L * threeStar + 4L * fourStar + 5L * fiveStar;
+    }
+
+    /**
+     * 平均評級，沒有評級時為 0
+     */
+    public double average() {
+        int count = count();
+        return count == 0 ? 0.0 : (double) sum() / count;
+    }
+
+    private SellerRatingSummary adjust(int stars, int delta) {
+        return switch (stars) {
+            case 1 -> new SellerRatingSummary(oneStar + delta, twoStar, threeStar, fourStar, fiveStar);
+            case 2 -> new SellerRatingSummary(oneStar, twoStar + delta, threeStar, fourStar, fiveStar);
+            case 3 -> new SellerRatingSummary(oneStar, twoStar, threeStar + delta, fourStar, fiveStar);
+            case 4 -> new SellerRatingSummary(oneStar, twoStar, threeStar, fourStar + delta, fiveStar);
+            case 5 -> new SellerRatingSummary(oneStar, twoStar, threeStar, fourStar, fiveStar + delta);
+            default -> throw new IllegalArgumentException("評級必須在1-5之間");
+        };
+    }
+}
@@ -4,7 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import solid.humank.genaidemo.domain.seller.model.aggregate.Seller;
+import solid.humank.genaidemo.domain.seller.model.entity.SellerRating;
 import solid.humank.genaidemo.domain.seller.model.valueobject.SellerId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerRatingId;
 
 /** 賣家儲存庫接口 */
 @solid.humank.genaidemo.domain.common.annotations.Repository(name = "SellerRepository", description = "賣家聚合根儲存庫")
@@ -75,4 +77,25 @@ public interface SellerRepository
      * @return 賣家（如果存在）
      */
     Optional<Seller> findByBusinessLicense(String businessLicense);
-}
\ No newline at end of file
+
+    // 評級子集合：賣家載入時只帶評級摘要，評級本身按需分頁讀取
+
+    /**
+     * 分頁查詢賣家評級，依評級時間由新到舊
+     * 
+     * @param sellerId 賣家ID
+     * @param page     頁碼（從 0 開始）
+     * @param size     每頁大小
+     * @return 評級列表
+     */
+    List<SellerRating> findRatings(SellerId sellerId, int page, int size);
+
+    /**
+     * 查詢賣家的單一評級
+     * 
+     * @param sellerId 賣家ID
+     * @param ratingId 評級ID
+     * @return 評級（如果存在）
+     */
+    Optional<SellerRating> findRating(SellerId sellerId, SellerRatingId ratingId);
+}
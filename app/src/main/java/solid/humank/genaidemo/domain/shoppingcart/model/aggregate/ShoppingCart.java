@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 
 import solid.humank.genaidemo.domain.common.annotations.AggregateRoot;
+import solid.humank.genaidemo.domain.common.valueobject.MinorUnitMoney;
 import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
 import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
@@ -159,7 +160,11 @@ public class ShoppingCart extends solid.humank.genaidemo.domain.common.aggregate
             return Money.twd(0);
         }
 
-        return items.stream().map(CartItem::totalPrice).reduce(Money::add).orElse(Money.twd(0));
+        if (items.isEmpty()) {
+            return Money.twd(0);
+        }
+        Money zero = Money.zero(items.get(0).unitPrice().currency());
+        return MinorUnitMoney.sumLineItems(items, CartItem::unitPrice, CartItem::quantity, zero);
     }
 
     /** 獲取商品總數量 */
@@ -10,6 +10,7 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import solid.humank.genaidemo.infrastructure.metrics.MeterHandleCache;
 
 /**
  * Metrics collection for Cross-Region Cache Service
@@ -26,6 +27,9 @@ import io.micrometer.core.instrument.Timer;
  * - Cache error rates
  * - Cache size and memory usage
  *
+ * Durations are passed in nanoseconds ({@code System.nanoTime()} differences)
+ * and every meter handle is bound once, so recording does not touch the registry.
+ *
  * Requirements: 4.1.4 - Cross-region cache synchronization monitoring
  *
  * @author Development Team
@@ -34,6 +38,9 @@ import io.micrometer.core.instrument.Timer;
 @Component
 public class CrossRegionCacheMetrics {
 
+    /** Distinct exception types tagged on cache.errors before using the overflow bucket */
+    private static final int MAX_ERROR_TYPES = 50;
+
     // Counters for cache operations
     private final Counter cacheHitCounter;
     private final Counter cacheMissCounter;
@@ -41,7 +48,7 @@ public class CrossRegionCacheMetrics {
     private final Counter cacheInvalidationCounter;
     private final Counter cacheInvalidationHitCounter;
     private final Counter cachePatternInvalidationCounter;
-    private final Counter cacheErrorCounter;
+    private final MeterHandleCache.Family<Counter> cacheErrorCounters;
     private final Counter cacheSerializationErrorCounter;
     private final Counter cacheDeserializationErrorCounter;
 
@@ -87,9 +94,8 @@ public class CrossRegionCacheMetrics {
                 .description("Number of cache pattern invalidation operations")
                 .register(meterRegistry);
 
-        this.cacheErrorCounter = Counter.builder("cache.errors")
-                .description("Number of cache operation errors")
-                .register(meterRegistry);
+        this.cacheErrorCounters = new MeterHandleCache(meterRegistry, MAX_ERROR_TYPES)
+                .counters("cache.errors", "Number of cache operation errors", "error_type");
 
         this.cacheSerializationErrorCounter = Counter.builder("cache.serialization.errors")
                 .description("Number of cache serialization errors")
@@ -133,34 +139,34 @@ public class CrossRegionCacheMetrics {
     /**
      * Record cache hit
      *
-     * @param cacheKey   the cache key
-     * @param durationMs operation duration in milliseconds
+     * @param cacheKey      the cache key
+     * @param durationNanos operation duration in nanoseconds
      */
-    public void recordCacheHit(String cacheKey, long durationMs) {
+    public void recordCacheHit(String cacheKey, long durationNanos) {
         cacheHitCounter.increment();
-        cacheGetTimer.record(durationMs, TimeUnit.MILLISECONDS);
+        cacheGetTimer.record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     /**
      * Record cache miss
      *
-     * @param cacheKey   the cache key
-     * @param durationMs operation duration in milliseconds
+     * @param cacheKey      the cache key
+     * @param durationNanos operation duration in nanoseconds
      */
-    public void recordCacheMiss(String cacheKey, long durationMs) {
+    public void recordCacheMiss(String cacheKey, long durationNanos) {
         cacheMissCounter.increment();
-        cacheGetTimer.record(durationMs, TimeUnit.MILLISECONDS);
+        cacheGetTimer.record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     /**
      * Record cache put operation
      *
-     * @param cacheKey   the cache key
-     * @param durationMs operation duration in milliseconds
+     * @param cacheKey      the cache key
+     * @param durationNanos operation duration in nanoseconds
      */
-    public void recordCachePut(String cacheKey, long durationMs) {
+    public void recordCachePut(String cacheKey, long durationNanos) {
         cachePutCounter.increment();
-        cachePutTimer.record(durationMs, TimeUnit.MILLISECONDS);
+        cachePutTimer.record(durationNanos, TimeUnit.NANOSECONDS);
 
         // Update cache size estimate
         cacheSize.incrementAndGet();
@@ -169,12 +175,12 @@ public class CrossRegionCacheMetrics {
     /**
      * Record cache invalidation
      *
-     * @param cacheKey   the cache key
-     * @param durationMs operation duration in milliseconds
+     * @param cacheKey      the cache key
+     * @param durationNanos operation duration in nanoseconds
      */
-    public void recordCacheInvalidation(String cacheKey, long durationMs) {
+    public void recordCacheInvalidation(String cacheKey, long durationNanos) {
         cacheInvalidationCounter.increment();
-        cacheInvalidationTimer.record(durationMs, TimeUnit.MILLISECONDS);
+        cacheInvalidationTimer.record(durationNanos, TimeUnit.NANOSECONDS);
 
         // Update cache size estimate
         cacheSize.decrementAndGet();
@@ -194,11 +200,11 @@ public class CrossRegionCacheMetrics {
      *
      * @param pattern          the cache key pattern
      * @param invalidatedCount number of keys invalidated
-     * @param durationMs       operation duration in milliseconds
+     * @param durationNanos    operation duration in nanoseconds
      */
-    public void recordCachePatternInvalidation(String pattern, int invalidatedCount, long durationMs) {
+    public void recordCachePatternInvalidation(String pattern, int invalidatedCount, long durationNanos) {
         cachePatternInvalidationCounter.increment();
-        cacheInvalidationTimer.record(durationMs, TimeUnit.MILLISECONDS);
+        cacheInvalidationTimer.record(durationNanos, TimeUnit.NANOSECONDS);
 
         // Update cache size estimate
         cacheSize.addAndGet(-invalidatedCount);
@@ -207,22 +213,22 @@ public class CrossRegionCacheMetrics {
     /**
      * Record cache load and store operation
      *
-     * @param cacheKey   the cache key
-     * @param durationMs operation duration in milliseconds
+     * @param cacheKey      the cache key
+     * @param durationNanos operation duration in nanoseconds
      */
-    public void recordCacheLoadAndStore(String cacheKey, long durationMs) {
-        cacheLoadAndStoreTimer.record(durationMs, TimeUnit.MILLISECONDS);
+    public void recordCacheLoadAndStore(String cacheKey, long durationNanos) {
+        cacheLoadAndStoreTimer.record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     /**
      * Record cache operation error
      *
-     * @param cacheKey   the cache key
-     * @param errorType  type of error
-     * @param durationMs operation duration in milliseconds
+     * @param cacheKey      the cache key
+     * @param errorType     type of error, tagged with bounded cardinality
+     * @param durationNanos operation duration in nanoseconds
      */
-    public void recordCacheError(String cacheKey, String errorType, long durationMs) {
-        cacheErrorCounter.increment();
+    public void recordCacheError(String cacheKey, String errorType, long durationNanos) {
+        cacheErrorCounters.get(errorType).increment();
     }
 
     /**
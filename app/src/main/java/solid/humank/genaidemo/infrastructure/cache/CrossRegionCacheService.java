@@ -3,6 +3,7 @@ package solid.humank.genaidemo.infrastructure.cache;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 // import org.redisson.api.RBucket;
@@ -86,7 +87,7 @@ public class CrossRegionCacheService {
      */
     public <T> Optional<T> get(String key, Class<T> valueType, Supplier<Optional<T>> dataSource, Duration ttl) {
         String normalizedKey = normalizeKey(key);
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
 
         try {
             // Check for cache invalidation marker first
@@ -113,14 +114,14 @@ public class CrossRegionCacheService {
              */
 
             // Cache miss - load from data source
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = System.nanoTime() - startTime;
             cacheMetrics.recordCacheMiss(normalizedKey, duration);
-            logger.debug("Cache miss for key: {} in {} ms", normalizedKey, duration);
+            logger.debug("Cache miss for key: {} in {} ms", normalizedKey, TimeUnit.NANOSECONDS.toMillis(duration));
 
             return loadAndCache(normalizedKey, dataSource, ttl, startTime);
 
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = System.nanoTime() - startTime;
             cacheMetrics.recordCacheError(normalizedKey, e.getClass().getSimpleName(), duration);
             logger.error("Cache operation failed for key: {}", normalizedKey, e);
 
@@ -155,7 +156,7 @@ public class CrossRegionCacheService {
      */
     public <T> void put(String key, T value, Duration ttl) {
         String normalizedKey = normalizeKey(key);
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
 
         try {
             /*
@@ -164,12 +165,13 @@ public class CrossRegionCacheService {
              * bucket.setAsync(jsonValue, Duration.ofMillis(ttl.toMillis()));
              */
 
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = System.nanoTime() - startTime;
             cacheMetrics.recordCachePut(normalizedKey, duration);
-            logger.debug("Cached value for key: {} with TTL {} in {} ms", normalizedKey, ttl, duration);
+            logger.debug("Cached value for key: {} with TTL {} in {} ms", normalizedKey, ttl,
+                    TimeUnit.NANOSECONDS.toMillis(duration));
 
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = System.nanoTime() - startTime;
             cacheMetrics.recordCacheError(normalizedKey, e.getClass().getSimpleName(), duration);
             logger.error("Failed to cache value for key: {}", normalizedKey, e);
             throw new CrossRegionCacheException("Failed to cache value", e);
@@ -186,7 +188,7 @@ public class CrossRegionCacheService {
         String lockKey = INVALIDATION_KEY_PREFIX + normalizedKey;
 
         distributedLockService.executeWithLock(lockKey, () -> {
-            long startTime = System.currentTimeMillis();
+            long startTime = System.nanoTime();
 
             try {
                 /*
@@ -201,14 +203,15 @@ public class CrossRegionCacheService {
                  * cacheBucket.delete();
                  */
 
-                long duration = System.currentTimeMillis() - startTime;
+                long duration = System.nanoTime() - startTime;
                 cacheMetrics.recordCacheInvalidation(normalizedKey, duration);
-                logger.debug("Invalidated cache for key: {} in {} ms", normalizedKey, duration);
+                logger.debug("Invalidated cache for key: {} in {} ms", normalizedKey,
+                        TimeUnit.NANOSECONDS.toMillis(duration));
 
                 return null; // Return null for Supplier<T>
 
             } catch (Exception e) {
-                long duration = System.currentTimeMillis() - startTime;
+                long duration = System.nanoTime() - startTime;
                 cacheMetrics.recordCacheError(normalizedKey, e.getClass().getSimpleName(), duration);
                 logger.error("Failed to invalidate cache for key: {}", normalizedKey, e);
                 throw new CrossRegionCacheException("Failed to invalidate cache", e);
@@ -226,22 +229,22 @@ public class CrossRegionCacheService {
         String lockKey = "cache-pattern-invalidation:" + normalizedPattern;
 
         distributedLockService.executeWithLock(lockKey, () -> {
-            long startTime = System.currentTimeMillis();
+            long startTime = System.nanoTime();
             int invalidatedCount = 0;
 
             try {
                 // Use getKeysStream for better performance and non-deprecated API
                 invalidatedCount = invalidateMatchingKeys(normalizedPattern);
 
-                long duration = System.currentTimeMillis() - startTime;
+                long duration = System.nanoTime() - startTime;
                 cacheMetrics.recordCachePatternInvalidation(normalizedPattern, invalidatedCount, duration);
                 logger.debug("Invalidated {} cache entries matching pattern: {} in {} ms",
-                        invalidatedCount, normalizedPattern, duration);
+                        invalidatedCount, normalizedPattern, TimeUnit.NANOSECONDS.toMillis(duration));
 
                 return null;
 
             } catch (Exception e) {
-                long duration = System.currentTimeMillis() - startTime;
+                long duration = System.nanoTime() - startTime;
                 cacheMetrics.recordCacheError(normalizedPattern, e.getClass().getSimpleName(), duration);
                 logger.error("Failed to invalidate cache pattern: {}", normalizedPattern, e);
                 throw new CrossRegionCacheException("Failed to invalidate cache pattern: " + normalizedPattern, e);
@@ -304,9 +307,9 @@ public class CrossRegionCacheService {
             String normalizedKey, long startTime) {
         try {
             T value = objectMapper.readValue(cachedJson, valueType);
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = System.nanoTime() - startTime;
             cacheMetrics.recordCacheHit(normalizedKey, duration);
-            logger.debug("Cache hit for key: {} in {} ms", normalizedKey, duration);
+            logger.debug("Cache hit for key: {} in {} ms", normalizedKey, TimeUnit.NANOSECONDS.toMillis(duration));
             return Optional.of(value);
         } catch (JsonProcessingException e) {
             logger.warn("Failed to deserialize cached value for key: {}, will reload from source",
@@ -328,15 +331,16 @@ public class CrossRegionCacheService {
                 // Cache the loaded value
                 // put(normalizedKey.substring(CACHE_KEY_PREFIX.length()), value.get(), ttl);
 
-                long totalDuration = System.currentTimeMillis() - startTime;
+                long totalDuration = System.nanoTime() - startTime;
                 cacheMetrics.recordCacheLoadAndStore(normalizedKey, totalDuration);
-                logger.debug("Loaded and cached value for key: {} in {} ms", normalizedKey, totalDuration);
+                logger.debug("Loaded and cached value for key: {} in {} ms", normalizedKey,
+                        TimeUnit.NANOSECONDS.toMillis(totalDuration));
             }
 
             return value;
 
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = System.nanoTime() - startTime;
             cacheMetrics.recordCacheError(normalizedKey, e.getClass().getSimpleName(), duration);
             logger.error("Failed to load data for key: {}", normalizedKey, e);
             return Optional.empty();
@@ -0,0 +1,292 @@
+package solid.humank.genaidemo.infrastructure.common.lock;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import solid.humank.genaidemo.domain.common.lock.DistributedLockManager;
+
+/**
+ * 資料庫租約分散式鎖管理器實現
+ *
+ * 用於多實例部署的 Staging 和 Production 環境，以資料庫租約提供跨節點互斥，不需要 Redis。
+ *
+ * 特性：
+ * - 以一次條件式 upsert 取得租約，並回傳單調遞增的防護權杖（fencing token），
+ *   受保護的資源可拒絕權杖較舊的寫入
+ * - 持有期間由背景執行緒每三分之一租約續約一次，持有者當機時租約到期後由他人接手
+ * - 同一節點的等待者在本機公平佇列中排隊，只有佇列最前面的執行緒向資料庫嘗試，
+ *   釋放時直接喚醒下一位，不以固定間隔輪詢；
+ *   等待其他節點釋放時以指數退避重試，且不超過剩餘等待時間
+ * - 支援同一執行緒重入
+ */
+@Component
+@Profile({ "staging", "production" })
+@ConditionalOnProperty(name = "genai-demo.lock.provider", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcLeaseLockManager implements DistributedLockManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcLeaseLockManager.class);
+
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MIN_LEASE_MILLIS = 100;
+
+    private final JdbcLeaseStore leaseStore;
+    private final String nodeId;
+    private final ConcurrentHashMap<String, KeyGate> gates = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor renewalExecutor;
+
+    public JdbcLeaseLockManager(JdbcLeaseStore leaseStore,
+            @Value("${genai-demo.lock.node-id:}") String nodeId) {
+        this.leaseStore = leaseStore;
+        // 租約持有者以節點ID加執行緒名稱識別，必須每個行程唯一；設定值只作為可讀的前綴，
+        // 避免未設定時多個節點共用同一個預設ID而同時認定自己持有租約
+        String prefix = nodeId == null || nodeId.isBlank() ? "node" : nodeId;
+        this.nodeId = prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.renewalExecutor = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("LeaseLock-renewal").daemon(true).factory());
+        this.renewalExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewalExecutor.shutdownNow();
+    }
+
+    @Override
+    public boolean tryLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit) {
+        if (lockKey == null || lockKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("Lock key cannot be null or empty");
+        }
+        long deadline = System.nanoTime() + timeUnit.toNanos(Math.max(0, waitTime));
+        long leaseMillis = Math.max(MIN_LEASE_MILLIS, timeUnit.toMillis(leaseTime));
+
+        KeyGate gate = enter(lockKey);
+        if (gate.lock.isHeldByCurrentThread()) {
+            gate.lock.lock();
+            logger.debug("Reentrant lock acquired: {} (count: {})", lockKey, gate.lock.getHoldCount());
+            return true;
+        }
+
+        boolean acquired = false;
+        try {
+            // 本機等待者在公平佇列中排隊，持有者釋放時直接喚醒下一位
+            if (!gate.lock.tryLock(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                logger.debug("Failed to acquire lock within wait time: {}", lockKey);
+                return false;
+            }
+            acquired = acquireLease(lockKey, gate, leaseMillis, deadline);
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Thread interrupted while waiting for lock: {}", lockKey);
+            return false;
+        } finally {
+            if (!acquired) {
+                if (gate.lock.isHeldByCurrentThread()) {
+                    gate.lock.unlock();
+                }
+                exit(lockKey);
+            }
+        }
+    }
+
+    private boolean acquireLease(String lockKey, KeyGate gate, long leaseMillis, long deadline)
+            throws InterruptedException {
+        String ownerId = nodeId + "/" + Thread.currentThread().getName();
+        long backoff = MIN_BACKOFF_NANOS;
+        while (true) {
+            OptionalLong token;
+            try {
+                token = leaseStore.tryAcquire(lockKey, ownerId, leaseMillis);
+            } catch (RuntimeException e) {
+                throw new DistributedLockException(lockKey, "tryLock", e.getMessage(), e);
+            }
+            if (token.isPresent()) {
+                Lease lease = new Lease(token.getAsLong(), leaseMillis);
+                long period = Math.max(1, leaseMillis / 3);
+                lease.renewal = renewalExecutor.scheduleWithFixedDelay(() -> renew(lockKey, lease),
+                        period, period, TimeUnit.MILLISECONDS);
+                gate.lease = lease;
+                logger.debug("Acquired lease {} with fencing token {}", lockKey, lease.token);
+                return true;
+            }
+            long remaining = remaining(deadline);
+            if (remaining <= 0) {
+                logger.debug("Failed to acquire lease within wait time: {}", lockKey);
+                return false;
+            }
+            // 鎖由其他節點持有：退避後重試
+            TimeUnit.NANOSECONDS.sleep(Math.min(backoff, remaining));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        }
+    }
+
+    private void renew(String lockKey, Lease lease) {
+        if (lease.released) {
+            return;
+        }
+        try {
+            if (!leaseStore.renew(lockKey, lease.token, lease.leaseMillis) && !lease.released) {
+                lease.lost = true;
+                lease.renewal.cancel(false);
+                logger.error("Lease {} with fencing token {} was lost before release", lockKey, lease.token);
+            }
+        } catch (RuntimeException e) {
+            // 暫時性錯誤：下一次續約重試，租約到期前仍有兩次機會
+            logger.warn("Failed to renew lease {}: {}", lockKey, e.getMessage());
+        }
+    }
+
+    @Override
+    public void unlock(String lockKey) {
+        if (lockKey == null || lockKey.trim().isEmpty()) {
+            return;
+        }
+        KeyGate gate = gates.get(lockKey);
+        if (gate == null || !gate.lock.isHeldByCurrentThread()) {
+            logger.warn("Attempting to unlock lock not held by current thread: {}", lockKey);
+            return;
+        }
+        try {
+            if (gate.lock.getHoldCount() > 1) {
+                logger.debug("Reentrant lock released: {} (remaining count: {})",
+                        lockKey, gate.lock.getHoldCount() - 1);
+                return;
+            }
+            Lease lease = gate.lease;
+            gate.lease = null;
+            if (lease != null) {
+                lease.released = true;
+                lease.renewal.cancel(false);
+                if (!leaseStore.release(lockKey, lease.token)) {
+                    logger.warn("Lease {} with fencing token {} had already been taken over", lockKey, lease.token);
+                }
+            }
+            logger.debug("Lock released: {}", lockKey);
+        } catch (RuntimeException e) {
+            // 租約到期後自然失效
+            logger.error("Failed to release lease {}, it will expire on its own", lockKey, e);
+        } finally {
+            gate.lock.unlock();
+            exit(lockKey);
+        }
+    }
+
+    /**
+     * 目前執行緒持有的防護權杖
+     *
+     * @param lockKey 鎖的唯一標識
+     * @return 防護權杖；未持有或租約已遺失時為空
+     */
+    @Override
+    public OptionalLong getFencingToken(String lockKey) {
+        KeyGate gate = lockKey != null ? gates.get(lockKey) : null;
+        if (gate == null || !gate.lock.isHeldByCurrentThread()) {
+            return OptionalLong.empty();
+        }
+        Lease lease = gate.lease;
+        return lease != null && !lease.lost ? OptionalLong.of(lease.token) : OptionalLong.empty();
+    }
+
+    @Override
+    public boolean isLocked(String lockKey) {
+        if (lockKey == null || lockKey.trim().isEmpty()) {
+            return false;
+        }
+        return leaseStore.find(lockKey).isPresent();
+    }
+
+    @Override
+    public long getRemainingTime(String lockKey) {
+        if (lockKey == null || lockKey.trim().isEmpty()) {
+            return -1;
+        }
+        return leaseStore.find(lockKey).map(JdbcLeaseStore.Lease::remainingMillis).orElse(-1L);
+    }
+
+    @Override
+    public void forceUnlock(String lockKey) {
+        if (lockKey == null || lockKey.trim().isEmpty()) {
+            return;
+        }
+        if (leaseStore.forceRelease(lockKey)) {
+            logger.info("Force unlocked: {}", lockKey);
+        }
+    }
+
+    @Override
+    public void cleanupExpiredLocks() {
+        int cleanedCount = leaseStore.deleteExpired();
+        if (cleanedCount > 0) {
+            logger.info("Cleaned up {} expired leases", cleanedCount);
+        }
+    }
+
+    @Override
+    public int getActiveLockCount() {
+        return leaseStore.countActive();
+    }
+
+    @Override
+    public String getLockInfo(String lockKey) {
+        Optional<JdbcLeaseStore.Lease> lease = leaseStore.find(lockKey);
+        if (lease.isEmpty()) {
+            return "Lock not found: " + lockKey;
+        }
+        return String.format("Lock[key=%s, owner=%s, fencingToken=%d, remaining=%dms]",
+                lockKey, lease.get().ownerId(), lease.get().fencingToken(), lease.get().remainingMillis());
+    }
+
+    private KeyGate enter(String lockKey) {
+        return gates.compute(lockKey, (key, gate) -> {
+            KeyGate entered = gate != null ? gate : new KeyGate();
+            entered.users++;
+            return entered;
+        });
+    }
+
+    private void exit(String lockKey) {
+        gates.computeIfPresent(lockKey, (key, gate) -> --gate.users == 0 ? null : gate);
+    }
+
+    private static long remaining(long deadline) {
+        return deadline - System.nanoTime();
+    }
+
+    /**
+     * 鎖鍵的本機狀態：公平鎖作為本機等待佇列，users 為持有與等待中的次數，歸零時移除
+     */
+    private static final class KeyGate {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private volatile Lease lease;
+        private int users;
+    }
+
+    private static final class Lease {
+        private final long token;
+        private final long leaseMillis;
+        private volatile ScheduledFuture<?> renewal;
+        private volatile boolean lost;
+        private volatile boolean released;
+
+        Lease(long token, long leaseMillis) {
+            this.token = token;
+            this.leaseMillis = leaseMillis;
+        }
+    }
+}
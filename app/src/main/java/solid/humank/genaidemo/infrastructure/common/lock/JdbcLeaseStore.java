@@ -0,0 +1,218 @@
+package solid.humank.genaidemo.infrastructure.common.lock;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 分散式鎖租約存放區
+ *
+ * 以 distributed_lock_lease 資料表保存租約，每個操作都是一個獨立的短交易（REQUIRES_NEW），
+ * 即使呼叫端在業務交易中取得鎖，租約也會立即對其他節點可見。
+ * 取得租約是一次條件式 upsert：鎖鍵不存在時新增，已釋放或已過期時覆寫，並回傳新的防護權杖。
+ * 權杖取自資料庫序列，跨鎖鍵單調遞增，刪除租約列也不會讓權杖倒退。
+ * 時間一律使用資料庫的 LOCALTIMESTAMP，避免各節點時鐘偏差影響租約判斷。
+ */
+@Component
+@Profile({ "staging", "production" })
+@ConditionalOnProperty(name = "genai-demo.lock.provider", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcLeaseStore {
+
+    private static final String H2_ACQUIRE = """
+            SELECT fencing_token FROM FINAL TABLE (
+                MERGE INTO distributed_lock_lease t
+                USING (VALUES (CAST(:lockKey AS VARCHAR(255)), CAST(:ownerId AS VARCHAR(128)),
+                               NEXT VALUE FOR distributed_lock_fencing_seq))
+                    AS s(lock_key, owner_id, fencing_token)
+                ON t.lock_key = s.lock_key
+                WHEN MATCHED AND (t.owner_id IS NULL OR t.expires_at <= LOCALTIMESTAMP) THEN
+                    UPDATE SET owner_id = s.owner_id, fencing_token = s.fencing_token,
+                        acquired_at = LOCALTIMESTAMP,
+                        expires_at = DATEADD(MILLISECOND, :leaseMillis, LOCALTIMESTAMP)
+                WHEN NOT MATCHED THEN
+                    INSERT (lock_key, owner_id, fencing_token, acquired_at, expires_at)
+                    VALUES (s.lock_key, s.owner_id, s.fencing_token, LOCALTIMESTAMP,
+                        DATEADD(MILLISECOND, :leaseMillis, LOCALTIMESTAMP)))
+            """;
+
+    private static final String POSTGRESQL_ACQUIRE = """
+            INSERT INTO distributed_lock_lease AS t (lock_key, owner_id, fencing_token, acquired_at, expires_at)
+            VALUES (:lockKey, :ownerId, nextval('distributed_lock_fencing_seq'), LOCALTIMESTAMP,
+                    LOCALTIMESTAMP + :leaseMillis * INTERVAL '1 millisecond')
+            ON CONFLICT (lock_key) DO UPDATE
+                SET owner_id = EXCLUDED.owner_id, fencing_token = EXCLUDED.fencing_token,
+                    acquired_at = EXCLUDED.acquired_at, expires_at = EXCLUDED.expires_at
+                WHERE t.owner_id IS NULL OR t.expires_at <= LOCALTIMESTAMP
+            RETURNING fencing_token
+            """;
+
+    private static final String H2_RENEW = """
+            UPDATE distributed_lock_lease
+            SET expires_at = DATEADD(MILLISECOND, :leaseMillis, LOCALTIMESTAMP)
+            WHERE lock_key = :lockKey AND fencing_token = :token
+            """;
+
+    private static final String POSTGRESQL_RENEW = """
+            UPDATE distributed_lock_lease
+            SET expires_at = LOCALTIMESTAMP + :leaseMillis * INTERVAL '1 millisecond'
+            WHERE lock_key = :lockKey AND fencing_token = :token
+            """;
+
+    private static final String RELEASE = """
+            DELETE FROM distributed_lock_lease WHERE lock_key = :lockKey AND fencing_token = :token
+            """;
+
+    private static final String FORCE_RELEASE = """
+            DELETE FROM distributed_lock_lease WHERE lock_key = :lockKey
+            """;
+
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM distributed_lock_lease WHERE expires_at <= LOCALTIMESTAMP
+            """;
+
+    private static final String SELECT_LEASE = """
+            SELECT owner_id, fencing_token, expires_at, LOCALTIMESTAMP AS db_now
+            FROM distributed_lock_lease
+            WHERE lock_key = :lockKey AND expires_at > LOCALTIMESTAMP
+            """;
+
+    private static final String COUNT_ACTIVE = """
+            SELECT COUNT(*) FROM distributed_lock_lease WHERE expires_at > LOCALTIMESTAMP
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String acquireSql;
+    private final String renewSql;
+
+    public JdbcLeaseStore(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        boolean postgresql = isPostgreSql(jdbcTemplate.getJdbcTemplate().getDataSource());
+        this.acquireSql = postgresql ? POSTGRESQL_ACQUIRE : H2_ACQUIRE;
+        this.renewSql = postgresql ? POSTGRESQL_RENEW : H2_RENEW;
+    }
+
+    /**
+     * 嘗試取得租約
+     *
+     * @param lockKey     鎖鍵
+     * @param ownerId     持有者識別，僅供診斷
+     * @param leaseMillis 租約長度
+     * @return 取得時回傳防護權杖，鎖仍由他人持有時為空
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public OptionalLong tryAcquire(String lockKey, String ownerId, long leaseMillis) {
+        try {
+            List<Long> tokens = jdbcTemplate.queryForList(acquireSql, new MapSqlParameterSource()
+                    .addValue("lockKey", lockKey)
+                    .addValue("ownerId", ownerId)
+                    .addValue("leaseMillis", leaseMillis), Long.class);
+            return tokens.isEmpty() ? OptionalLong.empty() : OptionalLong.of(tokens.get(0));
+        } catch (DuplicateKeyException e) {
+            // H2 的 MERGE 在兩個節點同時新增同一鎖鍵時，較晚的一方違反主鍵，視同鎖已被持有
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * 延長仍由指定權杖持有的租約
+     *
+     * @return 租約已被釋放或由他人取得時為 false
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean renew(String lockKey, long token, long leaseMillis) {
+        return jdbcTemplate.update(renewSql, new MapSqlParameterSource()
+                .addValue("lockKey", lockKey)
+                .addValue("token", token)
+                .addValue("leaseMillis", leaseMillis)) > 0;
+    }
+
+    /**
+     * 釋放仍由指定權杖持有的租約
+     *
+     * @return 租約已被他人取得時為 false
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(String lockKey, long token) {
+        return jdbcTemplate.update(RELEASE, new MapSqlParameterSource()
+                .addValue("lockKey", lockKey)
+                .addValue("token", token)) > 0;
+    }
+
+    /**
+     * 不論持有者，刪除鎖鍵的租約
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean forceRelease(String lockKey) {
+        return jdbcTemplate.update(FORCE_RELEASE, new MapSqlParameterSource().addValue("lockKey", lockKey)) > 0;
+    }
+
+    /**
+     * 刪除已過期的租約
+     *
+     * @return 刪除筆數
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteExpired() {
+        return jdbcTemplate.update(DELETE_EXPIRED, new MapSqlParameterSource());
+    }
+
+    /**
+     * 查詢鎖鍵目前有效的租約
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public Optional<Lease> find(String lockKey) {
+        List<Lease> leases = jdbcTemplate.query(SELECT_LEASE,
+                new MapSqlParameterSource().addValue("lockKey", lockKey),
+                (rs, rowNum) -> {
+                    Timestamp expiresAt = rs.getTimestamp("expires_at");
+                    Timestamp now = rs.getTimestamp("db_now");
+                    return new Lease(rs.getString("owner_id"), rs.getLong("fencing_token"),
+                            Math.max(0, expiresAt.getTime() - now.getTime()));
+                });
+        return leases.stream().findFirst();
+    }
+
+    /**
+     * 統計目前有效的租約數
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public int countActive() {
+        Integer count = jdbcTemplate.queryForObject(COUNT_ACTIVE, new MapSqlParameterSource(), Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static boolean isPostgreSql(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName);
+            return product != null && product.toLowerCase().contains("postgresql");
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Cannot determine database product for lock leases", e);
+        }
+    }
+
+    /**
+     * 有效租約
+     *
+     * @param ownerId         持有者識別
+     * @param fencingToken    防護權杖
+     * @param remainingMillis 依資料庫時間計算的剩餘時間
+     */
+    public record Lease(String ownerId, long fencingToken, long remainingMillis) {
+    }
+}
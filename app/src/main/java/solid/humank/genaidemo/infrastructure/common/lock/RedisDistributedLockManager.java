@@ -23,7 +23,8 @@ import solid.humank.genaidemo.domain.common.lock.DistributedLockManager;
  * - 整合 CloudWatch 監控
  *
  * 注意：完整實現需要在 Staging 環境中配置 Redis 連線。
- * 目前提供基本實現框架以支援應用程式啟動。
+ * 目前提供基本實現框架以支援應用程式啟動，只在 genai-demo.lock.provider=redis 時啟用；
+ * 預設由 {@link JdbcLeaseLockManager} 以資料庫租約提供跨節點互斥。
  *
  * 實現步驟：
  * 1. 添加 Redisson 或 Spring Data Redis 依賴到 build.gradle
@@ -44,6 +45,7 @@ import solid.humank.genaidemo.domain.common.lock.DistributedLockManager;
 @Component
 @Profile({ "staging", "production" })
 @ConditionalOnProperty(name = "app.redis.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(name = "genai-demo.lock.provider", havingValue = "redis")
 public class RedisDistributedLockManager implements DistributedLockManager {
 
     private static final Logger logger = LoggerFactory.getLogger(RedisDistributedLockManager.class);
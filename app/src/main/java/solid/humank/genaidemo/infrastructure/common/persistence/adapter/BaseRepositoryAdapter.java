@@ -1,19 +1,35 @@
 package solid.humank.genaidemo.infrastructure.common.persistence.adapter;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
 import solid.humank.genaidemo.domain.common.repository.Repository;
+import solid.humank.genaidemo.infrastructure.common.persistence.BaseOptimisticLockingEntity;
 
 /**
  * 基礎儲存庫適配器抽象類別
  * 提供通用的 Repository Pattern 實作，減少重複代碼
  *
+ * 寫入時先以一次查詢載入已存在的實體，新聚合根 persist，已存在的則把狀態套用到受管實體，
+ * 由 Hibernate 的髒檢查只為實際變更的實體產生 UPDATE；{@link #saveAll(List)} 依
+ * {@code hibernate.jdbc.batch_size} 分段 flush，讓同類型的 INSERT / UPDATE 合併為 JDBC 批次。
+ *
  * @param <T>   聚合根類型
  * @param <ID>  聚合根ID類型
  * @param <E>   JPA實體類型
@@ -22,8 +38,19 @@ import solid.humank.genaidemo.domain.common.repository.Repository;
 @Component
 public abstract class BaseRepositoryAdapter<T, ID, E, JID> implements Repository<T, ID> {
 
+    /** 串流讀取的預設每批筆數 */
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+
+    /** 未設定 hibernate.jdbc.batch_size 時 saveAll 每段的筆數 */
+    public static final int DEFAULT_WRITE_BATCH_SIZE = 50;
+
+    private static final String JDBC_BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+
     protected final JpaRepository<E, JID> jpaRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     protected BaseRepositoryAdapter(JpaRepository<E, JID> jpaRepository) {
         this.jpaRepository = jpaRepository;
     }
@@ -35,14 +62,140 @@ public abstract class BaseRepositoryAdapter<T, ID, E, JID> implements Repository
             throw new IllegalArgumentException("Aggregate root cannot be null");
         }
 
-        E entity = toJpaEntity(aggregateRoot);
-        jpaRepository.save(Objects.requireNonNull(entity, "JPA entity cannot be null"));
+        E entity = Objects.requireNonNull(toJpaEntity(aggregateRoot), "JPA entity cannot be null");
+        if (entityManager == null) {
+            jpaRepository.save(entity);
+        } else {
+            write(List.of(entity));
+        }
 
         // Return the original aggregate root to maintain aggregate consistency
         // The aggregate root should be the single source of truth
         return aggregateRoot;
     }
 
+    /**
+     * 批次保存聚合根
+     * 每段 {@code hibernate.jdbc.batch_size} 筆：一次查詢載入已存在的實體、寫入後 flush，
+     * 超過一段時再把本段寫入的實體脫離持久化上下文，記憶體用量與筆數無關。
+     * 呼叫端在同一交易中載入的其他實體維持受管狀態。覆寫 save() 加入額外寫入的子類別也必須覆寫此方法。
+     *
+     * @param aggregateRoots 聚合根列表
+     * @return 原聚合根列表
+     */
+    @Override
+    @Transactional
+    public List<T> saveAll(List<T> aggregateRoots) {
+        Objects.requireNonNull(aggregateRoots, "Aggregate roots cannot be null");
+        List<E> entities = new ArrayList<>(aggregateRoots.size());
+        for (T aggregateRoot : aggregateRoots) {
+            if (aggregateRoot == null) {
+                throw new IllegalArgumentException("Aggregate root cannot be null");
+            }
+            entities.add(Objects.requireNonNull(toJpaEntity(aggregateRoot), "JPA entity cannot be null"));
+        }
+        if (entityManager == null) {
+            jpaRepository.saveAll(entities);
+            return aggregateRoots;
+        }
+
+        int batchSize = writeBatchSize();
+        for (int from = 0; from < entities.size(); from += batchSize) {
+            List<E> written = write(entities.subList(from, Math.min(from + batchSize, entities.size())));
+            if (entities.size() > batchSize) {
+                // 分段送出批次並只釋放本段寫入的實體，避免大量匯入時持久化上下文無限成長；
+                // 不使用 clear()，以免呼叫端持有的其他受管實體一併脫離
+                entityManager.flush();
+                written.forEach(this::detach);
+            }
+        }
+        return aggregateRoots;
+    }
+
+    /**
+     * 把新映射實體的狀態套用到已載入的受管實體
+     * 預設以 merge 複製全部欄位與子集合，沿用受管實體的版本號；Hibernate 只會為有差異的實體產生 UPDATE，
+     * 但整批取代的子集合會刪除再新增所有子列。子集合較大的聚合根應覆寫此方法，
+     * 以 {@code AggregatePersistenceSupport.reconcileChildren} 只寫入變更的子項。
+     *
+     * @param source  由聚合根新映射的實體
+     * @param managed 已載入的受管實體
+     */
+    protected void applyState(E source, E managed) {
+        if (source instanceof BaseOptimisticLockingEntity sourceEntity
+                && managed instanceof BaseOptimisticLockingEntity managedEntity) {
+            sourceEntity.setVersion(managedEntity.getVersion());
+        }
+        entityManager.merge(source);
+    }
+
+    /**
+     * 新實體 persist 後的回呼
+     * 寫入時已查詢過資料列是否存在，子類別需要區分新增與更新時覆寫此方法，不必另外查詢。
+     *
+     * @param entity 新增的實體
+     */
+    protected void onPersisted(E entity) {
+        // 預設不做任何事
+    }
+
+    /**
+     * 寫入實體
+     *
+     * @return 寫入的受管實體：新增的實體本身，或套用狀態的已載入實體
+     */
+    private List<E> write(List<E> entities) {
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<JID> ids = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            JID id = jpaIdOf(persistenceUnitUtil, entity);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+
+        Map<Object, E> existing = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (E managed : jpaRepository.findAllById(ids)) {
+                existing.put(persistenceUnitUtil.getIdentifier(managed), managed);
+            }
+        }
+        List<E> written = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            JID id = jpaIdOf(persistenceUnitUtil, entity);
+            E managed = id != null ? existing.get(id) : null;
+            if (managed == null) {
+                entityManager.persist(entity);
+                onPersisted(entity);
+                written.add(entity);
+            } else {
+                applyState(entity, managed);
+                written.add(managed);
+            }
+        }
+        return written;
+    }
+
+    @SuppressWarnings("unchecked")
+    private JID jpaIdOf(PersistenceUnitUtil persistenceUnitUtil, E entity) {
+        return (JID) persistenceUnitUtil.getIdentifier(entity);
+    }
+
+    private int writeBatchSize() {
+        Object configured = entityManager.getEntityManagerFactory().getProperties().get(JDBC_BATCH_SIZE_PROPERTY);
+        if (configured != null) {
+            try {
+                int batchSize = Integer.parseInt(configured.toString().trim());
+                if (batchSize > 0) {
+                    return batchSize;
+                }
+            } catch (NumberFormatException e) {
+                // 設定值無效時使用預設值
+            }
+        }
+        return DEFAULT_WRITE_BATCH_SIZE;
+    }
+
     @Override
     public Optional<T> findById(ID id) {
         JID jpaId = convertToJpaId(id);
@@ -57,6 +210,40 @@ public abstract class BaseRepositoryAdapter<T, ID, E, JID> implements Repository
                 .toList();
     }
 
+    /**
+     * 以鍵集分頁串流讀取聚合根
+     * 每批只查詢 fetchSize 筆，轉換後立即脫離持久化上下文，記憶體用量與資料表大小無關。
+     * 子類別覆寫 {@link #streamAll(int)} 時委派給此方法即可。
+     *
+     * @param fetchSize    每批讀取的筆數
+     * @param pageQuery    鍵集分頁查詢，必須依鍵值遞增排序
+     * @param keyExtractor 從實體取出鍵值
+     * @return 聚合根串流
+     */
+    protected Stream<T> streamByKeyset(int fetchSize, KeysetPageQuery<E, JID> pageQuery,
+            Function<E, JID> keyExtractor) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        KeysetPageIterator<T, E, JID> iterator = new KeysetPageIterator<>(
+                pageQuery, keyExtractor, this::toDomainModel, this::detach, fetchSize);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * 將實體脫離持久化上下文
+     * 串流讀取時由 Open Session in View 或外層交易持有的 EntityManager 不會累積已讀取的實體
+     *
+     * @param entity JPA實體
+     */
+    protected void detach(E entity) {
+        if (entityManager != null && entityManager.contains(entity)) {
+            entityManager.detach(entity);
+        }
+    }
+
     @Override
     @Transactional
     public void delete(T aggregateRoot) {
@@ -0,0 +1,74 @@
+package solid.humank.genaidemo.infrastructure.common.persistence.adapter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 鍵集分頁迭代器
+ * 每次只保留一批資料於記憶體中，讀完一批才以最後一筆的鍵值查詢下一批。
+ * 每批實體在轉換為聚合根後立即交給 detacher 脫離持久化上下文，
+ * 避免一級快取隨著讀取筆數成長。
+ *
+ * @param <T> 聚合根類型
+ * @param <E> JPA實體類型
+ * @param <K> 鍵值類型
+ */
+class KeysetPageIterator<T, E, K> implements Iterator<T> {
+
+    private final KeysetPageQuery<E, K> pageQuery;
+    private final Function<E, K> keyExtractor;
+    private final Function<E, T> mapper;
+    private final Consumer<E> detacher;
+    private final int fetchSize;
+    private final Deque<T> buffer;
+
+    private K lastKey;
+    private boolean exhausted;
+
+    KeysetPageIterator(KeysetPageQuery<E, K> pageQuery, Function<E, K> keyExtractor,
+            Function<E, T> mapper, Consumer<E> detacher, int fetchSize) {
+        this.pageQuery = pageQuery;
+        this.keyExtractor = keyExtractor;
+        this.mapper = mapper;
+        this.detacher = detacher;
+        this.fetchSize = fetchSize;
+        this.buffer = new ArrayDeque<>(fetchSize);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffer.isEmpty() && !exhausted) {
+            fetchNextPage();
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows in keyset stream");
+        }
+        return buffer.poll();
+    }
+
+    private void fetchNextPage() {
+        List<E> page = pageQuery.fetchAfter(lastKey, fetchSize);
+        if (page.size() < fetchSize) {
+            exhausted = true;
+        }
+        if (page.isEmpty()) {
+            return;
+        }
+
+        for (E entity : page) {
+            buffer.add(mapper.apply(entity));
+        }
+        lastKey = keyExtractor.apply(page.get(page.size() - 1));
+        page.forEach(detacher);
+    }
+}
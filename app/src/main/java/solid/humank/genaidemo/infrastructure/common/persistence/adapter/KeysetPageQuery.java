@@ -0,0 +1,23 @@
+package solid.humank.genaidemo.infrastructure.common.persistence.adapter;
+
+import java.util.List;
+
+/**
+ * 鍵集分頁查詢
+ * 以上一批最後一筆的鍵值作為游標，取得下一批依鍵值排序的 JPA 實體
+ *
+ * @param <E> JPA實體類型
+ * @param <K> 鍵值類型
+ */
+@FunctionalInterface
+public interface KeysetPageQuery<E, K> {
+
+    /**
+     * 取得鍵值大於游標的下一批實體
+     *
+     * @param lastKey   上一批最後一筆的鍵值，第一批為 null
+     * @param fetchSize 每批讀取的筆數
+     * @return 依鍵值遞增排序的實體列表
+     */
+    List<E> fetchAfter(K lastKey, int fetchSize);
+}
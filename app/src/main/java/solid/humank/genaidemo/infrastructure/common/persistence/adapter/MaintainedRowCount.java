@@ -0,0 +1,97 @@
+package solid.humank.genaidemo.infrastructure.common.persistence.adapter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 維護中的資料列計數
+ * 第一次讀取時以 COUNT 查詢初始化，之後由儲存庫在新增、刪除時遞增遞減，
+ * 讀取不再存取資料庫。
+ *
+ * 計數在交易回滾或多個應用實例同時寫入時可能偏移，因此超過重新校正間隔後
+ * 下一次讀取會重新執行 COUNT 查詢；列表總數屬於顯示用途，可接受此範圍內的誤差。
+ */
+public class MaintainedRowCount {
+
+    private static final long UNSEEDED = -1;
+
+    private final LongSupplier countQuery;
+    private final long resyncIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong count = new AtomicLong(UNSEEDED);
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    private volatile long seededAtNanos;
+
+    public MaintainedRowCount(LongSupplier countQuery, Duration resyncInterval) {
+        this(countQuery, resyncInterval, System::nanoTime);
+    }
+
+    MaintainedRowCount(LongSupplier countQuery, Duration resyncInterval, LongSupplier nanoClock) {
+        this.countQuery = countQuery;
+        this.resyncIntervalNanos = resyncInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 取得目前計數，尚未初始化或超過重新校正間隔時執行 COUNT 查詢
+     *
+     * @return 資料列數
+     */
+    public long get() {
+        long current = count.get();
+        if (current == UNSEEDED || nanoClock.getAsLong() - seededAtNanos >= resyncIntervalNanos) {
+            current = resync();
+        }
+        return Math.max(current, 0);
+    }
+
+    /**
+     * 是否已初始化；尚未初始化時不需要追蹤異動
+     *
+     * @return 是否正在追蹤
+     */
+    public boolean isTracking() {
+        return count.get() != UNSEEDED;
+    }
+
+    /**
+     * 新增一筆資料列
+     */
+    public void increment() {
+        count.getAndUpdate(value -> value == UNSEEDED ? UNSEEDED : value + 1);
+    }
+
+    /**
+     * 刪除一筆資料列
+     */
+    public void decrement() {
+        count.getAndUpdate(value -> value == UNSEEDED ? UNSEEDED : Math.max(value - 1, 0));
+    }
+
+    /**
+     * 捨棄目前計數，下一次讀取時重新查詢
+     */
+    public void invalidate() {
+        count.set(UNSEEDED);
+    }
+
+    private long resync() {
+        seedLock.lock();
+        try {
+            // 其他線程可能已完成校正
+            long current = count.get();
+            if (current != UNSEEDED && nanoClock.getAsLong() - seededAtNanos < resyncIntervalNanos) {
+                return current;
+            }
+            long fresh = countQuery.getAsLong();
+            seededAtNanos = nanoClock.getAsLong();
+            count.set(fresh);
+            return fresh;
+        } finally {
+            seedLock.unlock();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package solid.humank.genaidemo.infrastructure.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +10,7 @@ import org.springframework.context.annotation.Profile;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import solid.humank.genaidemo.domain.common.event.DomainEventPublisher;
+import solid.humank.genaidemo.infrastructure.event.outbox.DomainEventOutbox;
 // Removed imports for deleted classes
 import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter;
 import solid.humank.genaidemo.infrastructure.event.publisher.InMemoryDomainEventPublisher;
@@ -93,15 +95,16 @@ public class DomainEventConfiguration {
     /**
      * Transactional event publisher for test profile
      * Ensures events are processed after transaction commit with cleanup on
-     * rollback
+     * rollback; writes to the outbox when genai-demo.events.outbox.enabled=true
      * 
      * Requirements: 2.3, 2.4
      */
     @Bean("domainEventPublisher")
     @Primary
     @Profile("test")
-    public DomainEventPublisher transactionalDomainEventPublisher(ApplicationEventPublisher eventPublisher) {
-        return new TransactionalDomainEventPublisher(eventPublisher);
+    public DomainEventPublisher transactionalDomainEventPublisher(ApplicationEventPublisher eventPublisher,
+            ObjectProvider<DomainEventOutbox> outbox) {
+        return new TransactionalDomainEventPublisher(eventPublisher, outbox.getIfAvailable());
     }
 
     // === Shared Configuration Beans ===
@@ -111,8 +114,9 @@ public class DomainEventConfiguration {
      * Backup bean for scenarios requiring transactional event handling
      */
     @Bean("transactionalDomainEventPublisher")
-    public DomainEventPublisher transactionalDomainEventPublisherBean(ApplicationEventPublisher eventPublisher) {
-        return new TransactionalDomainEventPublisher(eventPublisher);
+    public DomainEventPublisher transactionalDomainEventPublisherBean(ApplicationEventPublisher eventPublisher,
+            ObjectProvider<DomainEventOutbox> outbox) {
+        return new TransactionalDomainEventPublisher(eventPublisher, outbox.getIfAvailable());
     }
 
     /**
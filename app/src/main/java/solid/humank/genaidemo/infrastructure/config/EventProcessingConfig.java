@@ -1,72 +1,108 @@
 package solid.humank.genaidemo.infrastructure.config;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 
+import solid.humank.genaidemo.infrastructure.event.backpressure.BackpressureManager;
+import solid.humank.genaidemo.infrastructure.event.backpressure.ConcurrencyLimitedTaskExecutor;
+import solid.humank.genaidemo.infrastructure.monitoring.ThreadPoolMonitoringService;
+
 /**
  * 事件處理配置
  * 配置異步處理和調度任務，並整合 KEDA 和 HPA 的指標導出
+ *
+ * 執行模式由 {@code spring.threads.virtual.enabled} 決定（virtual-threads profile 會開啟）：
+ * - 平台線程模式：固定上下限的 ThreadPoolTaskExecutor
+ * - Virtual Thread 模式：每個任務一個 Virtual Thread，以相同的並行上限與等待容量限流
+ * 兩種模式皆透過 {@link ThreadPoolMonitoringService} 輸出相同名稱的指標。
+ *
+ * 兩種模式的執行器都包在 {@link ConcurrencyLimitedTaskExecutor} 中，以自適應上限控制提交的任務數：
+ * 上限不超過並行數加佇列容量，過載時提交端在有界等待後收到 TaskRejectedException，
+ * 不再由 CallerRunsPolicy 把任務轉給提交任務的請求線程執行。
+ * {@code @Async} 方法預設使用 eventProcessingExecutor。
  */
 @Configuration
 @EnableAsync
 // @EnableScheduling // 禁用所有定時任務以避免記憶體問題
-public class EventProcessingConfig {
+public class EventProcessingConfig implements AsyncConfigurer {
+
+    private static final int EVENT_PROCESSING_CORE_SIZE = 10;
+    private static final int EVENT_PROCESSING_MAX_SIZE = 50;
+    private static final int EVENT_PROCESSING_QUEUE_CAPACITY = 200;
+    private static final int RETRY_CORE_SIZE = 5;
+    private static final int RETRY_MAX_SIZE = 20;
+    private static final int RETRY_QUEUE_CAPACITY = 100;
 
     private final MeterRegistry meterRegistry;
+    private final ThreadPoolMonitoringService threadPoolMonitoringService;
+    private final BackpressureManager backpressureManager;
+    private final boolean virtualThreads;
 
-    public EventProcessingConfig(MeterRegistry meterRegistry) {
+    public EventProcessingConfig(MeterRegistry meterRegistry,
+            ThreadPoolMonitoringService threadPoolMonitoringService,
+            BackpressureManager backpressureManager,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.meterRegistry = meterRegistry;
+        this.threadPoolMonitoringService = threadPoolMonitoringService;
+        this.backpressureManager = backpressureManager;
+        this.virtualThreads = virtualThreads;
     }
 
     /**
-     * 事件處理線程池 - 支援 KEDA 指標監控
+     * 事件處理執行器 - 支援 KEDA 指標監控
      */
     @Bean(name = "eventProcessingExecutor")
-    public ThreadPoolTaskExecutor eventProcessingExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(50);
-        executor.setQueueCapacity(200);
-        executor.setThreadNamePrefix("EventProcessing-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        
-        // 設置允許核心線程超時，支援動態調整
-        executor.setAllowCoreThreadTimeOut(true);
-        executor.setKeepAliveSeconds(60);
-        
-        executor.initialize();
-        
-        // 註冊 Micrometer 指標以供 KEDA 使用
-        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), 
-            "event_processing_executor", Tags.of("executor", "event-processing"));
-        
-        // 註冊額外的 KEDA 監控指標
-        registerKEDAMetrics(meterRegistry, executor, "event_processing");
-        
-        return executor;
+    public AsyncTaskExecutor eventProcessingExecutor() {
+        return createExecutor("event_processing", "EventProcessing-", "event-processing",
+                EVENT_PROCESSING_CORE_SIZE, EVENT_PROCESSING_MAX_SIZE, EVENT_PROCESSING_QUEUE_CAPACITY);
     }
 
     /**
-     * 重試處理線程池 - 支援 KEDA 指標監控
+     * 重試處理執行器 - 支援 KEDA 指標監控
      */
     @Bean(name = "retryExecutor")
-    public ThreadPoolTaskExecutor retryExecutor() {
+    public AsyncTaskExecutor retryExecutor() {
+        return createExecutor("retry", "EventRetry-", "retry",
+                RETRY_CORE_SIZE, RETRY_MAX_SIZE, RETRY_QUEUE_CAPACITY);
+    }
+
+    /**
+     * {@code @Async} 預設執行器
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return eventProcessingExecutor();
+    }
+
+    private AsyncTaskExecutor createExecutor(String poolName, String threadNamePrefix, String executorTag,
+            int coreSize, int maxSize, int queueCapacity) {
+        if (virtualThreads) {
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(threadNamePrefix, maxSize,
+                    queueCapacity);
+            threadPoolMonitoringService.register(poolName, executor);
+            return limited(poolName, executor, coreSize, maxSize, queueCapacity);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("EventRetry-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        // 並行上限已保證佇列不會滿；萬一仍被拒絕，直接拋出而不佔用提交端線程
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
         
         // 設置允許核心線程超時，支援動態調整
         executor.setAllowCoreThreadTimeOut(true);
@@ -76,12 +112,18 @@ public class EventProcessingConfig {
         
         // 註冊 Micrometer 指標以供 KEDA 使用
         ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), 
-            "retry_executor", Tags.of("executor", "retry"));
+            poolName + "_executor", Tags.of("executor", executorTag));
         
         // 註冊額外的 KEDA 監控指標
-        registerKEDAMetrics(meterRegistry, executor, "retry");
+        threadPoolMonitoringService.register(poolName, executor);
         
-        return executor;
+        return limited(poolName, executor, coreSize, maxSize, queueCapacity);
+    }
+
+    private AsyncTaskExecutor limited(String poolName, AsyncTaskExecutor executor,
+            int coreSize, int maxSize, int queueCapacity) {
+        return new ConcurrencyLimitedTaskExecutor(executor, backpressureManager.limiter(
+                poolName + "_executor", maxSize, coreSize, maxSize + queueCapacity));
     }
 
     /**
@@ -117,60 +159,4 @@ public class EventProcessingConfig {
         public int getRetryQueueCapacity() { return retryQueueCapacity; }
         public void setRetryQueueCapacity(int retryQueueCapacity) { this.retryQueueCapacity = retryQueueCapacity; }
     }
-
-    /**
-     * 註冊 KEDA 專用的監控指標
-     * 這些指標將被 Prometheus 收集並用於 KEDA 自動擴展決策
-     */
-    private void registerKEDAMetrics(MeterRegistry meterRegistry, ThreadPoolTaskExecutor executor, String poolName) {
-        ThreadPoolExecutor threadPoolExecutor = executor.getThreadPoolExecutor();
-        
-        // 活躍線程數 - KEDA 主要監控指標
-        Gauge.builder("thread_pool_active_threads", threadPoolExecutor, ThreadPoolExecutor::getActiveCount)
-            .description("Number of active threads in the thread pool")
-            .tags("pool", poolName, "component", "thread-pool")
-            .register(meterRegistry);
-        
-        // 線程池使用率 - KEDA 擴展觸發器
-        Gauge.builder("thread_pool_utilization_ratio", threadPoolExecutor, tpe -> {
-                int maxPoolSize = tpe.getMaximumPoolSize();
-                int activeCount = tpe.getActiveCount();
-                return maxPoolSize > 0 ? (double) activeCount / maxPoolSize : 0.0;
-            })
-            .description("Thread pool utilization ratio (active/max)")
-            .tags("pool", poolName, "component", "thread-pool")
-            .register(meterRegistry);
-        
-        // 佇列使用率 - KEDA 背壓監控
-        Gauge.builder("thread_pool_queue_utilization_ratio", threadPoolExecutor, tpe -> {
-                int queueCapacity = tpe.getQueue().remainingCapacity() + tpe.getQueue().size();
-                int queueSize = tpe.getQueue().size();
-                return queueCapacity > 0 ? (double) queueSize / queueCapacity : 0.0;
-            })
-            .description("Thread pool queue utilization ratio (queued/capacity)")
-            .tags("pool", poolName, "component", "thread-pool")
-            .register(meterRegistry);
-        
-        // 線程池壓力指標 - KEDA 高級擴展邏輯
-        Gauge.builder("thread_pool_pressure_score", threadPoolExecutor, tpe -> {
-                int maxPoolSize = tpe.getMaximumPoolSize();
-                int activeCount = tpe.getActiveCount();
-                int queueSize = tpe.getQueue().size();
-                
-                double threadUtilization = maxPoolSize > 0 ? (double) activeCount / maxPoolSize : 0.0;
-                double queuePressure = queueSize > 0 ? Math.min(queueSize / 10.0, 1.0) : 0.0;
-                
-                // 綜合壓力分數：線程使用率 * 0.7 + 佇列壓力 * 0.3
-                return (threadUtilization * 0.7) + (queuePressure * 0.3);
-            })
-            .description("Thread pool pressure score combining utilization and queue metrics")
-            .tags("pool", poolName, "component", "thread-pool")
-            .register(meterRegistry);
-        
-        // 完成任務數 - KEDA 吞吐量監控
-        Gauge.builder("thread_pool_completed_tasks_total", threadPoolExecutor, ThreadPoolExecutor::getCompletedTaskCount)
-            .description("Total number of completed tasks")
-            .tags("pool", poolName, "component", "thread-pool")
-            .register(meterRegistry);
-    }
-}
\ No newline at end of file
+}
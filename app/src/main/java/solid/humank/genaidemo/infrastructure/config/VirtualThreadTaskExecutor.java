@@ -0,0 +1,115 @@
+package solid.humank.genaidemo.infrastructure.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Virtual Thread 任務執行器
+ * 每個任務在獨立的 Virtual Thread 上執行，以信號量限制同時執行數量，
+ * 取代平台線程池的 maxPoolSize / queueCapacity 語意：
+ * - 同時執行數達上限時，任務的 Virtual Thread 等待許可（相當於佇列中）
+ * - 等待中的任務超過佇列容量時，由呼叫端線程直接執行（與 CallerRunsPolicy 相同的背壓行為）
+ *
+ * 活躍、等待與完成數量以計數器維護，供 ThreadPoolMonitoringService 輸出與平台線程池相同的指標。
+ */
+public class VirtualThreadTaskExecutor implements AsyncTaskExecutor {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final LongAdder completedCount = new LongAdder();
+
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int maxConcurrency, int queueCapacity) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        // Thread.Builder 本身非線程安全，改用其產生的 ThreadFactory
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 0).factory();
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (permits.tryAcquire()) {
+            threadFactory.newThread(() -> runWithPermit(task)).start();
+            return;
+        }
+        if (queuedCount.incrementAndGet() > queueCapacity) {
+            // 佇列已滿：由呼叫端執行，自然降低提交速度
+            queuedCount.decrementAndGet();
+            runInCaller(task);
+            return;
+        }
+        threadFactory.newThread(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                queuedCount.decrementAndGet();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queuedCount.decrementAndGet();
+            runWithPermit(task);
+        }).start();
+    }
+
+    private void runWithPermit(Runnable task) {
+        activeCount.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            activeCount.decrementAndGet();
+            completedCount.increment();
+            permits.release();
+        }
+    }
+
+    private void runInCaller(Runnable task) {
+        activeCount.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            activeCount.decrementAndGet();
+            completedCount.increment();
+        }
+    }
+
+    /**
+     * 正在執行的任務數
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * 等待執行許可的任務數
+     */
+    public int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * 已完成的任務數
+     */
+    public long getCompletedTaskCount() {
+        return completedCount.sum();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
@@ -0,0 +1,85 @@
+package solid.humank.genaidemo.infrastructure.customer.ledger;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import solid.humank.genaidemo.application.customer.service.CustomerApplicationService;
+import solid.humank.genaidemo.application.customer.service.CustomerLedgerService;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+
+/**
+ * 客戶帳本定期折疊排程
+ * 定期找出有未折疊分錄的客戶，逐一折疊進客戶聚合根；
+ * 單一客戶折疊失敗（例如與其他折疊並發）時分錄保持未折疊，下一輪再處理。
+ */
+@Component
+@ConditionalOnProperty(name = "genai-demo.customer-ledger.fold.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerLedgerFoldScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerLedgerFoldScheduler.class);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("CustomerLedger-fold").daemon(true).factory());
+    private final CustomerLedgerService customerLedgerService;
+    private final CustomerApplicationService customerApplicationService;
+    private final long intervalMillis;
+    private final int batchSize;
+
+    public CustomerLedgerFoldScheduler(CustomerLedgerService customerLedgerService,
+            CustomerApplicationService customerApplicationService,
+            @Value("${genai-demo.customer-ledger.fold.interval-millis:30000}") long intervalMillis,
+            @Value("${genai-demo.customer-ledger.fold.batch-size:200}") int batchSize) {
+        this.customerLedgerService = customerLedgerService;
+        this.customerApplicationService = customerApplicationService;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::foldPending, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 折疊一批有未折疊分錄的客戶
+     *
+     * @return 成功折疊的客戶數
+     */
+    public int foldPending() {
+        int folded = 0;
+        try {
+            List<CustomerId> customerIds = customerLedgerService.findCustomersWithPendingEntries(batchSize);
+            for (CustomerId customerId : customerIds) {
+                try {
+                    customerApplicationService.foldCustomerLedger(customerId.getValue());
+                    folded++;
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to fold ledger for customer {}, will retry next round: {}",
+                            customerId.getValue(), e.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Customer ledger fold round failed", e);
+        }
+        if (folded > 0) {
+            logger.debug("Folded ledger entries for {} customers", folded);
+        }
+        return folded;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,84 @@
+package solid.humank.genaidemo.infrastructure.customer.persistence.adapter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import solid.humank.genaidemo.application.customer.port.outgoing.CustomerBulkUpdatePort;
+import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
+
+/**
+ * 客戶批量更新 JDBC 適配器
+ * 讀取以單一 IN 查詢取得整批資料列；寫入以 JDBC 批次送出帶版本條件的 UPDATE，
+ * 更新筆數為 0 的資料列即為並發衝突。
+ */
+@Component
+public class CustomerBulkUpdateJdbcAdapter implements CustomerBulkUpdatePort {
+
+    private static final String SELECT_CHUNK = """
+            SELECT c.id, c.version, c.membership_level, c.reward_points_balance,
+                   c.total_spending + COALESCE((SELECT SUM(l.spending_delta) FROM customer_ledger_entries l
+                                                WHERE l.customer_id = c.id AND l.folded = FALSE), 0)
+                       AS effective_spending
+            FROM customers c
+            WHERE c.id IN (:ids)
+            """;
+
+    private static final String UPDATE_WITH_VERSION = """
+            UPDATE customers
+            SET membership_level = ?, reward_points_balance = ?, reward_points_last_updated = ?,
+                updated_at = ?, version = version + 1
+            WHERE id = ? AND version = ?
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CustomerBulkUpdateJdbcAdapter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<CustomerRow> loadChunk(List<String> customerIds) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_CHUNK, Map.of("ids", customerIds), (rs, rowNum) -> new CustomerRow(
+                rs.getString("id"),
+                rs.getLong("version"),
+                MembershipLevel.valueOf(rs.getString("membership_level")),
+                rs.getInt("reward_points_balance"),
+                rs.getBigDecimal("effective_spending")));
+    }
+
+    @Override
+    @Transactional
+    public List<String> applyChunk(List<CustomerChange> changes) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(changes.size());
+        for (CustomerChange change : changes) {
+            args.add(new Object[] {
+                    change.membershipLevel().name(), change.rewardPoints(), now, now,
+                    change.customerId(), change.expectedVersion() });
+        }
+
+        int[] updated = jdbcTemplate.getJdbcOperations().batchUpdate(UPDATE_WITH_VERSION, args);
+
+        List<String> conflicts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            // 驅動未回報筆數（Statement.SUCCESS_NO_INFO）時視為已寫入，以免重複套用；PostgreSQL 與 H2 都會回報筆數
+            if (updated[i] == 0) {
+                conflicts.add(changes.get(i).customerId());
+            }
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,97 @@
+package solid.humank.genaidemo.infrastructure.customer.persistence.adapter;
+
+import java.util.List;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerEntry;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerTotals;
+import solid.humank.genaidemo.domain.customer.repository.CustomerLedgerRepository;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaCustomerLedgerEntryEntity;
+import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaLedgerCurrencyTotalRow;
+import solid.humank.genaidemo.infrastructure.customer.persistence.repository.JpaCustomerLedgerEntryRepository;
+
+/**
+ * 客戶帳本儲存庫適配器
+ * 分錄以 INSERT 寫入，加總以依幣別分組的 SUM 查詢取得，折疊時以條件 UPDATE 標記，
+ * 三者都不需要讀取客戶聚合根或個別分錄
+ */
+@Component
+public class CustomerLedgerRepositoryAdapter implements CustomerLedgerRepository {
+
+    private final JpaCustomerLedgerEntryRepository jpaLedgerRepository;
+
+    public CustomerLedgerRepositoryAdapter(JpaCustomerLedgerEntryRepository jpaLedgerRepository) {
+        this.jpaLedgerRepository = jpaLedgerRepository;
+    }
+
+    @Override
+    public void append(CustomerLedgerEntry entry) {
+        JpaCustomerLedgerEntryEntity entity = new JpaCustomerLedgerEntryEntity();
+        entity.setCustomerId(entry.customerId().getValue());
+        entity.setPointsDelta(entry.pointsDelta());
+        entity.setSpendingDelta(entry.spendingDelta().amount());
+        entity.setCurrency(entry.spendingDelta().currency().getCurrencyCode());
+        entity.setOrderId(entry.orderId());
+        entity.setReason(entry.reason());
+        entity.setRecordedAt(entry.recordedAt());
+        jpaLedgerRepository.save(entity);
+    }
+
+    @Override
+    public CustomerLedgerTotals findUnfoldedTotals(CustomerId customerId) {
+        List<JpaLedgerCurrencyTotalRow> rows = jpaLedgerRepository.sumUnfoldedByCurrency(customerId.getValue());
+        if (rows.isEmpty()) {
+            return CustomerLedgerTotals.empty();
+        }
+
+        long points = 0;
+        long entryCount = 0;
+        long lastEntryId = 0;
+        Money spending = null;
+        for (JpaLedgerCurrencyTotalRow row : rows) {
+            points += row.pointsDelta();
+            entryCount += row.entryCount();
+            lastEntryId = Math.max(lastEntryId, row.lastEntryId());
+            // 只有點數的分錄以零金額記錄，不決定加總的幣別
+            if (row.spendingDelta().signum() == 0) {
+                continue;
+            }
+            if (spending != null) {
+                throw new IllegalStateException("Customer " + customerId.getValue()
+                        + " has unfolded spending in more than one currency: " + spending.currency().getCurrencyCode()
+                        + ", " + row.currency());
+            }
+            spending = Money.of(row.spendingDelta(), row.currency());
+        }
+        return new CustomerLedgerTotals(Math.toIntExact(points), spending != null ? spending : Money.twd(0),
+                Math.toIntExact(entryCount), lastEntryId);
+    }
+
+    @Override
+    @Transactional
+    public void markFolded(CustomerId customerId, CustomerLedgerTotals totals) {
+        if (totals.isEmpty()) {
+            return;
+        }
+        int marked = jpaLedgerRepository.markFoldedUpTo(customerId.getValue(), totals.lastEntryId());
+        if (marked != totals.entryCount()) {
+            // 其他折疊已處理部分分錄，或加總後才提交了較小ID的分錄：拋出例外讓整個折疊交易回滾，避免重複或遺漏累加
+            throw new OptimisticLockingFailureException(
+                    "Ledger entries changed while folding: expected " + totals.entryCount() + ", marked " + marked);
+        }
+    }
+
+    @Override
+    public List<CustomerId> findCustomersWithUnfoldedEntries(int limit) {
+        return jpaLedgerRepository.findCustomerIdsWithUnfoldedEntries(Limit.of(limit))
+                .stream()
+                .map(CustomerId::of)
+                .toList();
+    }
+}
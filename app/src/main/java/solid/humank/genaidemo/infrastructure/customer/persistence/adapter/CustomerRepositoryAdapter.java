@@ -1,18 +1,24 @@
 package solid.humank.genaidemo.infrastructure.customer.persistence.adapter;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import solid.humank.genaidemo.domain.customer.model.aggregate.Customer;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerSummary;
 import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
 import solid.humank.genaidemo.domain.customer.repository.CustomerRepository;
 import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
 import solid.humank.genaidemo.infrastructure.common.persistence.adapter.BaseRepositoryAdapter;
+import solid.humank.genaidemo.infrastructure.common.persistence.adapter.MaintainedRowCount;
 import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaCustomerEntity;
 import solid.humank.genaidemo.infrastructure.customer.persistence.mapper.CustomerMapper;
 import solid.humank.genaidemo.infrastructure.customer.persistence.repository.JpaCustomerRepository;
@@ -27,8 +33,12 @@ public class CustomerRepositoryAdapter
         extends BaseRepositoryAdapter<Customer, CustomerId, JpaCustomerEntity, String>
         implements CustomerRepository {
 
+    /** 客戶總數重新校正間隔 */
+    private static final Duration COUNT_RESYNC_INTERVAL = Duration.ofMinutes(5);
+
     private final JpaCustomerRepository jpaCustomerRepository;
     private final CustomerMapper customerMapper;
+    private final MaintainedRowCount customerCount;
 
     public CustomerRepositoryAdapter(
             JpaCustomerRepository jpaCustomerRepository,
@@ -36,6 +46,7 @@ public class CustomerRepositoryAdapter
         super(jpaCustomerRepository);
         this.jpaCustomerRepository = jpaCustomerRepository;
         this.customerMapper = customerMapper;
+        this.customerCount = new MaintainedRowCount(jpaCustomerRepository::countCustomers, COUNT_RESYNC_INTERVAL);
     }
 
     @Override
@@ -78,36 +89,88 @@ public class CustomerRepositoryAdapter
                 .toList();
     }
 
+    /**
+     * 新增的客戶在交易提交後才計入客戶數，回滾的新增不會讓計數偏移
+     */
     @Override
-    public Customer save(Customer customer) {
-        JpaCustomerEntity entity = customerMapper.toJpaEntity(customer);
-        if (entity == null) {
-            throw new IllegalStateException("Failed to convert customer to entity");
+    protected void onPersisted(JpaCustomerEntity entity) {
+        if (customerCount.isTracking()) {
+            afterCommit(customerCount::increment);
         }
-        JpaCustomerEntity savedEntity = jpaCustomerRepository.save(entity);
-        return customerMapper.toDomainModel(savedEntity);
     }
 
     @Override
     public void delete(CustomerId customerId) {
+        deleteById(customerId);
+    }
+
+    @Override
+    public void deleteById(CustomerId customerId) {
         String id = customerId.getValue();
         if (id != null) {
+            boolean existed = customerCount.isTracking() && jpaCustomerRepository.existsById(id);
             jpaCustomerRepository.deleteById(id);
+            if (existed) {
+                afterCommit(customerCount::decrement);
+            }
         }
     }
 
     @Override
     public List<CustomerId> findCustomerIds(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return jpaCustomerRepository.findCustomerIds((int) pageable.getOffset(), size)
+        return jpaCustomerRepository.findCustomerIds(PageRequest.of(page, size))
                 .stream()
                 .map(CustomerId::of)
                 .toList();
     }
 
+    @Override
+    public List<CustomerSummary> findCustomerSummaries(int page, int size) {
+        return jpaCustomerRepository.findSummaries(PageRequest.of(page, size))
+                .stream()
+                .map(customerMapper::toSummary)
+                .toList();
+    }
+
+    @Override
+    public List<CustomerSummary> findCustomerSummariesAfter(LocalDate afterRegistrationDate,
+            CustomerId afterCustomerId, int limit) {
+        var rows = afterRegistrationDate == null || afterCustomerId == null
+                ? jpaCustomerRepository.findFirstSummaries(Limit.of(limit))
+                : jpaCustomerRepository.findSummariesAfter(afterRegistrationDate, afterCustomerId.getValue(),
+                        Limit.of(limit));
+        return rows.stream()
+                .map(customerMapper::toSummary)
+                .toList();
+    }
+
     @Override
     public int countCustomers() {
-        return (int) jpaCustomerRepository.countCustomers();
+        return (int) Math.min(customerCount.get(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Stream<Customer> streamAll(int fetchSize) {
+        return streamByKeyset(fetchSize,
+                (lastId, size) -> jpaCustomerRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId == null ? "" : lastId, Limit.of(size)),
+                JpaCustomerEntity::getId);
+    }
+
+    /**
+     * 在目前交易提交後執行；沒有進行中的交易時立即執行
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     // BaseRepositoryAdapter required methods
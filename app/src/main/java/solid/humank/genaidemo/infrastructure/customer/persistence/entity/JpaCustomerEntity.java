@@ -1,5 +1,6 @@
 package solid.humank.genaidemo.infrastructure.customer.persistence.entity;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -52,6 +53,9 @@ public class JpaCustomerEntity extends BaseOptimisticLockingEntity {
     @Column(name = "reward_points_last_updated", nullable = false)
     private LocalDateTime rewardPointsLastUpdated;
 
+    @Column(name = "total_spending", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSpending;
+
     @Column(name = "notification_enabled_types", columnDefinition = "TEXT")
     private String notificationEnabledTypes;
 
@@ -208,6 +212,14 @@ public class JpaCustomerEntity extends BaseOptimisticLockingEntity {
         this.addressPostalCode = addressPostalCode;
     }
 
+    public BigDecimal getTotalSpending() {
+        return totalSpending;
+    }
+
+    public void setTotalSpending(BigDecimal totalSpending) {
+        this.totalSpending = totalSpending;
+    }
+
     // getCreatedAt, setCreatedAt, getUpdatedAt, setUpdatedAt 已在 BaseOptimisticLockingEntity 中定義
 
     @PrePersist
@@ -225,6 +237,9 @@ public class JpaCustomerEntity extends BaseOptimisticLockingEntity {
         if (rewardPointsBalance == null) {
             rewardPointsBalance = 0;
         }
+        if (totalSpending == null) {
+            totalSpending = BigDecimal.ZERO;
+        }
         if (marketingEnabled == null) {
             marketingEnabled = false;
         }
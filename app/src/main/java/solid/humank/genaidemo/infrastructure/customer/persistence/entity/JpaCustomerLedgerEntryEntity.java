@@ -0,0 +1,125 @@
+package solid.humank.genaidemo.infrastructure.customer.persistence.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * 客戶點數/消費帳本分錄 JPA 實體
+ *
+ * 只新增不修改（除了折疊旗標），因此不繼承 BaseOptimisticLockingEntity，
+ * 同一客戶的並發寫入彼此獨立，不會產生版本衝突。
+ */
+@Entity
+@Table(name = "customer_ledger_entries", indexes = {
+        @Index(name = "idx_customer_ledger_unfolded", columnList = "customer_id, folded")
+})
+public class JpaCustomerLedgerEntryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private String customerId;
+
+    @Column(name = "points_delta", nullable = false)
+    private int pointsDelta;
+
+    @Column(name = "spending_delta", nullable = false, precision = 19, scale = 2)
+    private BigDecimal spendingDelta;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "order_id")
+    private String orderId;
+
+    @Column(name = "reason", nullable = false, length = 500)
+    private String reason;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(name = "folded", nullable = false)
+    private boolean folded;
+
+    // 默認建構子，JPA 需要
+    public JpaCustomerLedgerEntryEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public int getPointsDelta() {
+        return pointsDelta;
+    }
+
+    public void setPointsDelta(int pointsDelta) {
+        this.pointsDelta = pointsDelta;
+    }
+
+    public BigDecimal getSpendingDelta() {
+        return spendingDelta;
+    }
+
+    public void setSpendingDelta(BigDecimal spendingDelta) {
+        this.spendingDelta = spendingDelta;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public boolean isFolded() {
+        return folded;
+    }
+
+    public void setFolded(boolean folded) {
+        this.folded = folded;
+    }
+}
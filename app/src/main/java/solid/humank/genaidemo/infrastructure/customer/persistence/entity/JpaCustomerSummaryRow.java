@@ -0,0 +1,19 @@
+package solid.humank.genaidemo.infrastructure.customer.persistence.entity;
+
+import java.time.LocalDate;
+
+/**
+ * 客戶列表投影列
+ * 由 JPQL 建構子表達式直接產生，只選取列表需要的欄位，不會進入持久化上下文
+ */
+public record JpaCustomerSummaryRow(
+        String id,
+        String name,
+        String email,
+        String phone,
+        String membershipLevel,
+        LocalDate registrationDate,
+        String addressStreet,
+        String addressCity,
+        String addressPostalCode) {
+}
@@ -0,0 +1,15 @@
+package solid.humank.genaidemo.infrastructure.customer.persistence.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * 客戶帳本未折疊分錄依幣別加總的投影列
+ * 由 JPQL 建構子表達式直接產生，不載入個別分錄
+ */
+public record JpaLedgerCurrencyTotalRow(
+        String currency,
+        Long pointsDelta,
+        BigDecimal spendingDelta,
+        Long entryCount,
+        Long lastEntryId) {
+}
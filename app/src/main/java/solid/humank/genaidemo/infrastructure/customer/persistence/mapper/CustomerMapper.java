@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 import solid.humank.genaidemo.domain.customer.model.aggregate.Customer;
 import solid.humank.genaidemo.domain.customer.model.valueobject.Address;
 import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerName;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerSummary;
 import solid.humank.genaidemo.domain.customer.model.valueobject.Email;
 import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
 import solid.humank.genaidemo.domain.customer.model.valueobject.NotificationPreferences;
@@ -14,6 +15,7 @@ import solid.humank.genaidemo.domain.customer.model.valueobject.Phone;
 import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
 import solid.humank.genaidemo.infrastructure.common.persistence.mapper.DomainMapper;
 import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaCustomerEntity;
+import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaCustomerSummaryRow;
 
 /**
  * 客戶領域模型與 JPA 實體之間的映射器
@@ -38,6 +40,7 @@ public class CustomerMapper implements DomainMapper<Customer, JpaCustomerEntity>
         entity.setMembershipLevel(customer.getMembershipLevel().name());
         entity.setRewardPointsBalance(customer.getRewardPoints().balance());
         entity.setRewardPointsLastUpdated(LocalDateTime.now());
+        entity.setTotalSpending(customer.getTotalSpending().getAmount());
 
         // 處理通知偏好 - 簡化處理，使用默認值
         if (customer.getNotificationPreferences() != null) {
@@ -71,15 +74,8 @@ public class CustomerMapper implements DomainMapper<Customer, JpaCustomerEntity>
         MembershipLevel membershipLevel = MembershipLevel.valueOf(entity.getMembershipLevel());
 
         // 創建地址
-        Address address = null;
-        if (entity.getAddressCity() != null) {
-            address = new Address(
-                    entity.getAddressStreet() != null ? entity.getAddressStreet() : "",
-                    entity.getAddressCity(),
-                    entity.getAddressPostalCode() != null ? entity.getAddressPostalCode() : "",
-                    "Taiwan" // 默認國家
-            );
-        }
+        Address address = toAddress(entity.getAddressStreet(), entity.getAddressCity(),
+                entity.getAddressPostalCode());
 
         // 創建客戶聚合根
         Customer customer = new Customer(
@@ -97,6 +93,11 @@ public class CustomerMapper implements DomainMapper<Customer, JpaCustomerEntity>
             customer.addRewardPoints(entity.getRewardPointsBalance(), "Initial load from database");
         }
 
+        // 設置已折疊的消費總額
+        if (entity.getTotalSpending() != null) {
+            customer.restoreTotalSpending(entity.getTotalSpending());
+        }
+
         // 設置通知偏好 - 使用默認偏好
         if (entity.getMarketingEnabled() != null) {
             NotificationPreferences preferences = NotificationPreferences.defaultPreferences();
@@ -108,4 +109,31 @@ public class CustomerMapper implements DomainMapper<Customer, JpaCustomerEntity>
 
         return customer;
     }
-}
\ No newline at end of file
+
+    /**
+     * 將列表投影轉換為客戶摘要，欄位經過與聚合根相同的值對象正規化
+     */
+    public CustomerSummary toSummary(JpaCustomerSummaryRow row) {
+        Address address = toAddress(row.addressStreet(), row.addressCity(), row.addressPostalCode());
+        return new CustomerSummary(
+                CustomerId.of(row.id()),
+                new CustomerName(row.name()).getName(),
+                new Email(row.email()).getEmail(),
+                row.phone() != null ? new Phone(row.phone()).getPhone() : null,
+                address != null ? address.getFullAddress() : null,
+                MembershipLevel.valueOf(row.membershipLevel()),
+                row.registrationDate());
+    }
+
+    private Address toAddress(String street, String city, String postalCode) {
+        if (city == null) {
+            return null;
+        }
+        return new Address(
+                street != null ? street : "",
+                city,
+                postalCode != null ? postalCode : "",
+                "Taiwan" // 默認國家
+        );
+    }
+}
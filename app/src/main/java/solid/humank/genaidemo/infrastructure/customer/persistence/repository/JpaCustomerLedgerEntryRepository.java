@@ -0,0 +1,50 @@
+package solid.humank.genaidemo.infrastructure.customer.persistence.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaCustomerLedgerEntryEntity;
+import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaLedgerCurrencyTotalRow;
+
+/**
+ * 客戶帳本分錄 JPA 儲存庫介面
+ */
+@Repository
+public interface JpaCustomerLedgerEntryRepository extends JpaRepository<JpaCustomerLedgerEntryEntity, Long> {
+
+    /**
+     * 依幣別加總客戶未折疊的分錄，同時取得筆數與最大分錄ID
+     */
+    @Query("""
+            SELECT new solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaLedgerCurrencyTotalRow(
+                e.currency, SUM(e.pointsDelta), SUM(e.spendingDelta), COUNT(e), MAX(e.id))
+            FROM JpaCustomerLedgerEntryEntity e
+            WHERE e.customerId = :customerId AND e.folded = false
+            GROUP BY e.currency
+            """)
+    List<JpaLedgerCurrencyTotalRow> sumUnfoldedByCurrency(@Param("customerId") String customerId);
+
+    /**
+     * 將客戶分錄ID不大於指定值的未折疊分錄標記為已折疊
+     *
+     * @return 實際標記的筆數
+     */
+    @Modifying
+    @Query("""
+            UPDATE JpaCustomerLedgerEntryEntity e SET e.folded = true
+            WHERE e.customerId = :customerId AND e.folded = false AND e.id <= :lastEntryId
+            """)
+    int markFoldedUpTo(@Param("customerId") String customerId, @Param("lastEntryId") long lastEntryId);
+
+    /**
+     * 查詢有未折疊分錄的客戶ID
+     */
+    @Query("SELECT DISTINCT e.customerId FROM JpaCustomerLedgerEntryEntity e WHERE e.folded = false")
+    List<String> findCustomerIdsWithUnfoldedEntries(Limit limit);
+}
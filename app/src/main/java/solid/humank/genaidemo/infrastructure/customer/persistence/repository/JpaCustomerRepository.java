@@ -4,12 +4,15 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaCustomerEntity;
+import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaCustomerSummaryRow;
 
 /**
  * 客戶 JPA 儲存庫介面
@@ -18,6 +21,10 @@ import solid.humank.genaidemo.infrastructure.customer.persistence.entity.JpaCust
 @Repository
 public interface JpaCustomerRepository extends JpaRepository<JpaCustomerEntity, String> {
 
+    String SUMMARY_SELECT = "SELECT new solid.humank.genaidemo.infrastructure.customer.persistence.entity"
+            + ".JpaCustomerSummaryRow(c.id, c.name, c.email, c.phone, c.membershipLevel, c.registrationDate,"
+            + " c.addressStreet, c.addressCity, c.addressPostalCode) FROM JpaCustomerEntity c";
+
     /**
      * 根據電子郵件查找客戶
      */
@@ -28,6 +35,11 @@ public interface JpaCustomerRepository extends JpaRepository<JpaCustomerEntity,
      */
     List<JpaCustomerEntity> findByMembershipLevel(String membershipLevel);
 
+    /**
+     * 鍵集分頁查詢客戶，供串流匯出使用
+     */
+    List<JpaCustomerEntity> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
     /**
      * 根據生日月份查找客戶
      */
@@ -43,8 +55,30 @@ public interface JpaCustomerRepository extends JpaRepository<JpaCustomerEntity,
     /**
      * 分頁查詢客戶ID
      */
-    @Query(value = "SELECT c.id FROM JpaCustomerEntity c ORDER BY c.registrationDate DESC")
-    List<String> findCustomerIds(int offset, int limit);
+    @Query("SELECT c.id FROM JpaCustomerEntity c ORDER BY c.registrationDate DESC, c.id DESC")
+    List<String> findCustomerIds(Pageable pageable);
+
+    /**
+     * 分頁查詢客戶列表投影，不執行 COUNT 查詢
+     */
+    @Query(SUMMARY_SELECT + " ORDER BY c.registrationDate DESC, c.id DESC")
+    List<JpaCustomerSummaryRow> findSummaries(Pageable pageable);
+
+    /**
+     * 鍵集分頁查詢客戶列表投影，取得排序在 (registrationDate, id) 之後的下一批
+     */
+    @Query(SUMMARY_SELECT
+            + " WHERE c.registrationDate < :registrationDate"
+            + " OR (c.registrationDate = :registrationDate AND c.id < :id)"
+            + " ORDER BY c.registrationDate DESC, c.id DESC")
+    List<JpaCustomerSummaryRow> findSummariesAfter(@Param("registrationDate") LocalDate registrationDate,
+            @Param("id") String id, Limit limit);
+
+    /**
+     * 取得第一批客戶列表投影
+     */
+    @Query(SUMMARY_SELECT + " ORDER BY c.registrationDate DESC, c.id DESC")
+    List<JpaCustomerSummaryRow> findFirstSummaries(Limit limit);
 
     /**
      * 計算客戶總數
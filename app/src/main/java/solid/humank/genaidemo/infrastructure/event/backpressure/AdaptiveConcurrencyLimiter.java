@@ -0,0 +1,323 @@
+package solid.humank.genaidemo.infrastructure.event.backpressure;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 自適應並行上限
+ *
+ * 以 Vegas 式的延遲梯度調整同時處理的數量，不再依賴固定門檻：
+ * - 每個完成的請求回報往返時間（RTT），以觀察到的最小 RTT 作為無負載基準
+ * - 估計排隊量 {@code limit * (1 - minRtt / rtt)}，低於 alpha 時加大上限，高於 beta 時縮小上限
+ * - 請求逾時或下游拒絕時視為壅塞，上限乘以 {@value #BACKOFF_RATIO}（AIMD 的乘法遞減）
+ * - 同時處理數未達上限一半時不調整，避免上限在低流量時無限增長
+ * - 每 {@value #PROBE_INTERVAL} 個樣本重設一次基準，讓下游變慢（或變快）後基準能跟著移動
+ *
+ * 超過上限的請求最多等待 {@code maxWait}，等待中的請求超過 {@code maxWaiting} 時立即拒絕，
+ * 佇列長度因此有界，過載時由呼叫端快速失敗而不是無限排隊。
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    static final double BACKOFF_RATIO = 0.9;
+    static final int PROBE_INTERVAL = 1000;
+
+    private final String name;
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    // 以下狀態只在持有 lock 時修改；volatile 供指標在不加鎖的情況下讀取
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int waiting;
+    private volatile long minRttNanos;
+    private long samples;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String name, Settings settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, Settings settings, LongSupplier nanoClock) {
+        this.name = name;
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.limit = settings.initialLimit();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 以預設的等待時間取得許可
+     */
+    public Optional<Permit> tryAcquire() {
+        return tryAcquire(settings.maxWait());
+    }
+
+    /**
+     * 取得許可，超過上限時最多等待 {@code maxWait}
+     *
+     * @return 許可；等待逾時、等待佇列已滿或線程被中斷時為空，並計入拒絕數
+     */
+    public Optional<Permit> tryAcquire(Duration maxWait) {
+        lock.lock();
+        try {
+            if (waiting == 0 && inFlight < currentLimit()) {
+                return Optional.of(admit());
+            }
+            if (maxWait.isZero() || maxWait.isNegative() || waiting >= settings.maxWaiting()) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            waiting++;
+            try {
+                long remaining = maxWait.toNanos();
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        return Optional.empty();
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+            Permit permit = admit();
+            if (waiting > 0 && inFlight < currentLimit()) {
+                // 上限在等待期間變大：繼續喚醒下一個等待者
+                available.signal();
+            }
+            return Optional.of(permit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 在許可內執行，依結果調整上限
+     * 逾時類例外視為壅塞；其他例外屬於業務失敗，不影響上限
+     *
+     * @throws BackpressureRejectedException 無法取得許可時
+     */
+    public <T> T call(Supplier<T> action) {
+        Permit permit = tryAcquire().orElseThrow(() -> new BackpressureRejectedException(name));
+        try {
+            T result = action.get();
+            permit.onSuccess();
+            return result;
+        } catch (RuntimeException | Error e) {
+            if (isTimeout(e)) {
+                permit.onDropped();
+            } else {
+                permit.onIgnore();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 目前的狀態快照
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(name, currentLimit(), inFlight, waiting, settings.maxWaiting(),
+                TimeUnit.NANOSECONDS.toMicros(minRttNanos), accepted.sum(), rejected.sum(), dropped.sum());
+    }
+
+    public int getLimit() {
+        return currentLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private Permit admit() {
+        inFlight++;
+        accepted.increment();
+        return new Permit(nanoClock.getAsLong(), inFlight);
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        long rtt = nanoClock.getAsLong() - permit.startNanos;
+        lock.lock();
+        try {
+            inFlight--;
+            switch (outcome) {
+                case SUCCESS -> onSample(rtt, permit.inFlightAtStart);
+                case DROPPED -> {
+                    dropped.increment();
+                    limit = Math.max(settings.minLimit(), limit * BACKOFF_RATIO);
+                }
+                case IGNORED -> {
+                    // 不調整上限
+                }
+            }
+            for (int free = currentLimit() - inFlight; free > 0 && waiting > 0; free--) {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSample(long rttNanos, int inFlightAtStart) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (++samples % PROBE_INTERVAL == 0) {
+            minRttNanos = 0;
+        }
+        if (minRttNanos == 0 || rttNanos < minRttNanos) {
+            minRttNanos = rttNanos;
+        }
+        double current = limit;
+        if (inFlightAtStart * 2 < current) {
+            // 應用端受限：沒有用到上限，RTT 無法反映上限是否過大
+            return;
+        }
+        double queue = current * (1 - (double) minRttNanos / rttNanos);
+        double step = Math.max(1.0, Math.log10(current));
+        double next = current;
+        if (queue <= 3 * step) {
+            next = current + step;
+        } else if (queue >= 6 * step) {
+            next = current - step;
+        }
+        limit = Math.min(settings.maxLimit(), Math.max(settings.minLimit(), next));
+    }
+
+    private static boolean isTimeout(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * 許可
+     * 每個許可必須以 {@link #onSuccess()}、{@link #onDropped()} 或 {@link #onIgnore()} 其中之一釋放一次，
+     * 重複釋放會被忽略。
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** 正常完成，以 RTT 調整上限 */
+        public void onSuccess() {
+            release(Outcome.SUCCESS);
+        }
+
+        /** 逾時或被下游拒絕，縮小上限 */
+        public void onDropped() {
+            release(Outcome.DROPPED);
+        }
+
+        /** 結果無法反映負載（例如業務驗證失敗），只釋放許可 */
+        public void onIgnore() {
+            release(Outcome.IGNORED);
+        }
+
+        private void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(this, outcome);
+            }
+        }
+    }
+
+    /**
+     * 上限設定
+     *
+     * @param initialLimit 初始上限
+     * @param minLimit     上限的下界
+     * @param maxLimit     上限的上界
+     * @param maxWaiting   同時等待許可的最大數量
+     * @param maxWait      預設的最長等待時間
+     */
+    public record Settings(int initialLimit, int minLimit, int maxLimit, int maxWaiting, Duration maxWait) {
+
+        public Settings {
+            if (minLimit <= 0 || maxLimit < minLimit) {
+                throw new IllegalArgumentException("Limits must satisfy 0 < minLimit <= maxLimit");
+            }
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("Initial limit must be between minLimit and maxLimit");
+            }
+            if (maxWaiting < 0) {
+                throw new IllegalArgumentException("maxWaiting must not be negative");
+            }
+        }
+
+        /**
+         * 相同等待設定、不同上限範圍
+         */
+        public Settings withLimits(int initialLimit, int minLimit, int maxLimit) {
+            return new Settings(initialLimit, minLimit, maxLimit, maxWaiting, maxWait);
+        }
+    }
+
+    /**
+     * 狀態快照
+     *
+     * @param name         名稱
+     * @param limit        目前的並行上限
+     * @param inFlight     處理中的數量
+     * @param waiting      等待許可的數量
+     * @param maxWaiting   等待容量
+     * @param minRttMicros 無負載基準 RTT（微秒），尚無樣本時為 0
+     * @param accepted     累計取得許可數
+     * @param rejected     累計拒絕數
+     * @param dropped      累計逾時或被下游拒絕的數量
+     */
+    public record Snapshot(String name, int limit, int inFlight, int waiting, int maxWaiting, long minRttMicros,
+            long accepted, long rejected, long dropped) {
+    }
+}
@@ -2,187 +2,165 @@ package solid.humank.genaidemo.infrastructure.event.backpressure;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
 /**
  * 背壓管理器
  * 需求 9.4: 建立系統負載過高時的背壓機制
+ *
+ * 以具名的 {@link AdaptiveConcurrencyLimiter} 保護事件處理與對外呼叫，上限依量測到的 RTT 自動調整，
+ * 超過上限的工作在有界的等待後被拒絕，而不是累積在執行器佇列中直到由請求線程執行。
+ * 每個上限註冊以下指標（以 {@code limiter} 標籤區分）：
+ * - backpressure.limit / backpressure.inflight / backpressure.waiting：目前上限、處理中與等待中的數量
+ * - backpressure.min.rtt：無負載基準 RTT
+ * - backpressure.rejected / backpressure.dropped：被拒絕的數量與逾時或被下游拒絕的數量
  */
 @Component
-public class BackpressureManager {    private static final Logger logger = LoggerFactory.getLogger(BackpressureManager.class);
+public class BackpressureManager {
+    private static final Logger logger = LoggerFactory.getLogger(BackpressureManager.class);
+
+    /** {@code ResilientEventHandler} 處理的事件 */
+    public static final String EVENT_HANDLER = "event-handler";
+    /** 訂單支付服務 */
+    public static final String PAYMENT = "payment";
+    /** 物流服務 */
+    public static final String LOGISTICS = "logistics";
 
-    // 配置參數
-    private final int maxConcurrentEvents;
-    private final int maxQueueSize;
-    private final Duration slidingWindowDuration;
-    private final int maxEventsPerWindow;
+    private static final String PREFIX = "backpressure.";
 
-    // 當前狀態
-    private final AtomicInteger currentConcurrentEvents = new AtomicInteger(0);
-    private final AtomicInteger currentQueueSize = new AtomicInteger(0);
-    private final AtomicLong eventsInCurrentWindow = new AtomicLong(0);
-    private volatile LocalDateTime windowStartTime = LocalDateTime.now();
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter.Settings defaults;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
 
     // 背壓狀態
     private volatile BackpressureLevel currentLevel = BackpressureLevel.NORMAL;
     private volatile LocalDateTime lastLevelChangeTime = LocalDateTime.now();
 
-    public BackpressureManager() {
-        // 默認配置
-        this.maxConcurrentEvents = 100;
-        this.maxQueueSize = 1000;
-        this.slidingWindowDuration = Duration.ofMinutes(1);
-        this.maxEventsPerWindow = 1000;
-    }
-
-    public BackpressureManager(int maxConcurrentEvents, int maxQueueSize,
-            Duration slidingWindowDuration, int maxEventsPerWindow) {
-        this.maxConcurrentEvents = maxConcurrentEvents;
-        this.maxQueueSize = maxQueueSize;
-        this.slidingWindowDuration = slidingWindowDuration;
-        this.maxEventsPerWindow = maxEventsPerWindow;
-    }
-
-    /**
-     * 檢查是否可以處理新事件
-     */
-    public BackpressureDecision shouldProcessEvent() {
-        updateSlidingWindow();
-        updateBackpressureLevel();
-
-        switch (currentLevel) {
-            case NORMAL:
-                return BackpressureDecision.PROCEED;
-
-            case MODERATE:
-                // 中等負載：延遲處理
-                return BackpressureDecision.DELAY;
-
-            case HIGH:
-                // 高負載：拒絕部分請求
-                if (currentConcurrentEvents.get() < maxConcurrentEvents * 0.8) {
-                    return BackpressureDecision.DELAY;
-                } else {
-                    return BackpressureDecision.REJECT;
-                }
-
-            case CRITICAL:
-                // 臨界負載：拒絕新請求
-                return BackpressureDecision.REJECT;
-
-            default:
-                return BackpressureDecision.PROCEED;
-        }
-    }
-
-    /**
-     * 開始處理事件
-     */
-    public void startProcessing() {
-        currentConcurrentEvents.incrementAndGet();
-        eventsInCurrentWindow.incrementAndGet();
+    @Autowired
+    public BackpressureManager(MeterRegistry meterRegistry,
+            @Value("${genai-demo.backpressure.initial-limit:20}") int initialLimit,
+            @Value("${genai-demo.backpressure.min-limit:2}") int minLimit,
+            @Value("${genai-demo.backpressure.max-limit:200}") int maxLimit,
+            @Value("${genai-demo.backpressure.max-waiting:100}") int maxWaiting,
+            @Value("${genai-demo.backpressure.max-wait-millis:50}") long maxWaitMillis) {
+        this(meterRegistry, new AdaptiveConcurrencyLimiter.Settings(initialLimit, minLimit, maxLimit, maxWaiting,
+                Duration.ofMillis(maxWaitMillis)));
     }
 
-    /**
-     * 完成事件處理
-     */
-    public void completeProcessing() {
-        currentConcurrentEvents.decrementAndGet();
+    public BackpressureManager(MeterRegistry meterRegistry, AdaptiveConcurrencyLimiter.Settings defaults) {
+        this.meterRegistry = meterRegistry;
+        this.defaults = defaults;
     }
 
     /**
-     * 添加事件到隊列
+     * 取得具名的上限，第一次使用時以預設設定建立
      */
-    public boolean addToQueue() {
-        if (currentQueueSize.get() >= maxQueueSize) {
-            logger.warn("Event queue is full, rejecting new event (queue size: {})", currentQueueSize.get());
-            return false;
-        }
-
-        currentQueueSize.incrementAndGet();
-        return true;
+    public AdaptiveConcurrencyLimiter limiter(String name) {
+        return limiters.computeIfAbsent(name, n -> create(n, defaults));
     }
 
     /**
-     * 從隊列移除事件
+     * 取得具名的上限，第一次使用時以指定的上限範圍建立，等待設定沿用預設值
+     * 用於保護容量固定的資源（例如執行器），上界不應超過資源的容量
      */
-    public void removeFromQueue() {
-        currentQueueSize.decrementAndGet();
+    public AdaptiveConcurrencyLimiter limiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        return limiters.computeIfAbsent(name, n -> create(n, defaults.withLimits(initialLimit, minLimit, maxLimit)));
     }
 
     /**
-     * 獲取建議的延遲時間
+     * 所有上限的狀態快照
      */
-    public Duration getSuggestedDelay() {
-        switch (currentLevel) {
-            case MODERATE:
-                return Duration.ofMillis(100);
-            case HIGH:
-                return Duration.ofMillis(500);
-            case CRITICAL:
-                return Duration.ofSeconds(2);
-            default:
-                return Duration.ZERO;
-        }
+    public List<AdaptiveConcurrencyLimiter.Snapshot> getSnapshots() {
+        return limiters.values().stream()
+                .map(AdaptiveConcurrencyLimiter::snapshot)
+                .sorted(Comparator.comparing(AdaptiveConcurrencyLimiter.Snapshot::name))
+                .toList();
     }
 
     /**
-     * 獲取當前背壓狀態
+     * 獲取事件處理的背壓狀態
      */
     public BackpressureStatus getStatus() {
+        AdaptiveConcurrencyLimiter.Snapshot snapshot = limiter(EVENT_HANDLER).snapshot();
+        updateBackpressureLevel(snapshot);
         return new BackpressureStatus(
                 currentLevel,
-                currentConcurrentEvents.get(),
-                currentQueueSize.get(),
-                eventsInCurrentWindow.get(),
+                snapshot.inFlight(),
+                snapshot.waiting(),
+                snapshot.limit(),
+                snapshot.rejected(),
                 lastLevelChangeTime);
     }
 
-    private void updateSlidingWindow() {
-        LocalDateTime now = LocalDateTime.now();
-        if (Duration.between(windowStartTime, now).compareTo(slidingWindowDuration) >= 0) {
-            // 重置滑動窗口
-            windowStartTime = now;
-            eventsInCurrentWindow.set(0);
-        }
+    private AdaptiveConcurrencyLimiter create(String name, AdaptiveConcurrencyLimiter.Settings settings) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, settings);
+        Tags tags = Tags.of("limiter", name);
+        Gauge.builder(PREFIX + "limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests holding a concurrency permit")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "waiting", limiter, AdaptiveConcurrencyLimiter::getWaiting)
+                .description("Requests waiting for a concurrency permit")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "min.rtt", limiter, l -> l.snapshot().minRttMicros() / 1_000_000.0)
+                .description("No-load round-trip time used as the limit baseline")
+                .baseUnit("seconds")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .description("Requests rejected because the limit was reached")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "dropped", limiter, AdaptiveConcurrencyLimiter::getDroppedCount)
+                .description("Requests that timed out or were rejected downstream")
+                .tags(tags)
+                .register(meterRegistry);
+        logger.info("Created concurrency limiter {} (initial: {}, range: {}-{}, max waiting: {})",
+                name, settings.initialLimit(), settings.minLimit(), settings.maxLimit(), settings.maxWaiting());
+        return limiter;
     }
 
-    private void updateBackpressureLevel() {
-        BackpressureLevel newLevel = calculateBackpressureLevel();
+    private void updateBackpressureLevel(AdaptiveConcurrencyLimiter.Snapshot snapshot) {
+        BackpressureLevel newLevel = calculateBackpressureLevel(snapshot);
 
         if (newLevel != currentLevel) {
-            logger.info("Backpressure level changed from {} to {} (concurrent: {}, queue: {}, window: {})",
-                    currentLevel, newLevel, currentConcurrentEvents.get(),
-                    currentQueueSize.get(), eventsInCurrentWindow.get());
+            logger.info("Backpressure level changed from {} to {} (in flight: {}, limit: {}, waiting: {})",
+                    currentLevel, newLevel, snapshot.inFlight(), snapshot.limit(), snapshot.waiting());
 
             currentLevel = newLevel;
             lastLevelChangeTime = LocalDateTime.now();
         }
     }
 
-    private BackpressureLevel calculateBackpressureLevel() {
-        int concurrent = currentConcurrentEvents.get();
-        int queue = currentQueueSize.get();
-        long windowEvents = eventsInCurrentWindow.get();
+    private static BackpressureLevel calculateBackpressureLevel(AdaptiveConcurrencyLimiter.Snapshot snapshot) {
+        // 處理中的數量接近上限時開始等待，等待佇列填滿時開始拒絕
+        double concurrentLoad = (double) snapshot.inFlight() / snapshot.limit();
+        double queueLoad = snapshot.maxWaiting() > 0 ? (double) snapshot.waiting() / snapshot.maxWaiting() : 0.0;
 
-        // 計算各項指標的負載百分比
-        double concurrentLoad = (double) concurrent / maxConcurrentEvents;
-        double queueLoad = (double) queue / maxQueueSize;
-        double windowLoad = (double) windowEvents / maxEventsPerWindow;
-
-        // 取最高負載作為整體負載
-        double maxLoad = Math.max(Math.max(concurrentLoad, queueLoad), windowLoad);
-
-        if (maxLoad >= 0.9) {
+        if (queueLoad >= 0.9) {
             return BackpressureLevel.CRITICAL;
-        } else if (maxLoad >= 0.7) {
+        } else if (queueLoad > 0) {
             return BackpressureLevel.HIGH;
-        } else if (maxLoad >= 0.5) {
+        } else if (concurrentLoad >= 0.7) {
             return BackpressureLevel.MODERATE;
         } else {
             return BackpressureLevel.NORMAL;
@@ -199,15 +177,6 @@ public class BackpressureManager {    private static final Logger logger = Logge
         CRITICAL // 臨界負載
     }
 
-    /**
-     * 背壓決策
-     */
-    public enum BackpressureDecision {
-        PROCEED, // 繼續處理
-        DELAY, // 延遲處理
-        REJECT // 拒絕處理
-    }
-
     /**
      * 背壓狀態
      */
@@ -215,16 +184,18 @@ public class BackpressureManager {    private static final Logger logger = Logge
         private final BackpressureLevel level;
         private final int currentConcurrentEvents;
         private final int currentQueueSize;
-        private final long eventsInCurrentWindow;
+        private final int concurrencyLimit;
+        private final long rejectedEvents;
         private final LocalDateTime lastLevelChangeTime;
 
         public BackpressureStatus(BackpressureLevel level, int currentConcurrentEvents,
-                int currentQueueSize, long eventsInCurrentWindow,
+                int currentQueueSize, int concurrencyLimit, long rejectedEvents,
                 LocalDateTime lastLevelChangeTime) {
             this.level = level;
             this.currentConcurrentEvents = currentConcurrentEvents;
             this.currentQueueSize = currentQueueSize;
-            this.eventsInCurrentWindow = eventsInCurrentWindow;
+            this.concurrencyLimit = concurrencyLimit;
+            this.rejectedEvents = rejectedEvents;
             this.lastLevelChangeTime = lastLevelChangeTime;
         }
 
@@ -241,8 +212,12 @@ public class BackpressureManager {    private static final Logger logger = Logge
             return currentQueueSize;
         }
 
-        public long getEventsInCurrentWindow() {
-            return eventsInCurrentWindow;
+        public int getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        public long getRejectedEvents() {
+            return rejectedEvents;
         }
 
         public LocalDateTime getLastLevelChangeTime() {
@@ -251,8 +226,10 @@ public class BackpressureManager {    private static final Logger logger = Logge
 
         @Override
         public String toString() {
-            return String.format("BackpressureStatus{level=%s, concurrent=%d, queue=%d, window=%d, lastChange=%s}",
-                    level, currentConcurrentEvents, currentQueueSize, eventsInCurrentWindow, lastLevelChangeTime);
+            return String.format(
+                    "BackpressureStatus{level=%s, concurrent=%d, queue=%d, limit=%d, rejected=%d, lastChange=%s}",
+                    level, currentConcurrentEvents, currentQueueSize, concurrencyLimit, rejectedEvents,
+                    lastLevelChangeTime);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package solid.humank.genaidemo.infrastructure.event.backpressure;
+
+/**
+ * 背壓拒絕異常
+ * 並行數已達自適應上限且等待逾時（或等待佇列已滿）時拋出，呼叫端應快速失敗或稍後重試
+ */
+public class BackpressureRejectedException extends RuntimeException {
+
+    private final String limiterName;
+
+    public BackpressureRejectedException(String limiterName) {
+        super("Rejected by concurrency limiter '" + limiterName + "': system overloaded");
+        this.limiterName = limiterName;
+    }
+
+    public String getLimiterName() {
+        return limiterName;
+    }
+}
@@ -0,0 +1,61 @@
+package solid.humank.genaidemo.infrastructure.event.backpressure;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import solid.humank.genaidemo.infrastructure.event.backpressure.AdaptiveConcurrencyLimiter.Permit;
+
+/**
+ * 受自適應上限保護的任務執行器
+ *
+ * 提交時先取得許可，許可涵蓋排隊與執行，RTT 因此包含排隊時間，排隊變長時上限隨之縮小。
+ * 上限的上界不超過底層執行器的並行數加佇列容量，底層執行器不會因佇列已滿而拒絕或改由呼叫端執行；
+ * 過載時在等待 {@code maxWait} 後拋出 {@link TaskRejectedException}，不佔用提交任務的請求線程。
+ *
+ * 以 Bean 註冊時取代底層執行器成為容器管理的物件，因此關閉時把 {@link #destroy()} 轉給底層執行器，
+ * 讓線程池隨容器關閉。
+ */
+public class ConcurrencyLimitedTaskExecutor implements AsyncTaskExecutor, DisposableBean {
+
+    private final AsyncTaskExecutor delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedTaskExecutor(AsyncTaskExecutor delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Permit permit = limiter.tryAcquire().orElseThrow(() -> new TaskRejectedException(
+                "Executor '" + limiter.getName() + "' rejected task: concurrency limit "
+                        + limiter.getLimit() + " reached"));
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                    permit.onSuccess();
+                } catch (RuntimeException | Error e) {
+                    permit.onIgnore();
+                    throw e;
+                }
+            });
+        } catch (RuntimeException e) {
+            // 底層執行器拒絕：視為壅塞
+            permit.onDropped();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+}
@@ -0,0 +1,61 @@
+package solid.humank.genaidemo.infrastructure.event.handler;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import solid.humank.genaidemo.application.product.service.PriceHistoryService;
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.product.model.events.ProductCreatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductPriceChangedEvent;
+import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter;
+
+/**
+ * 價格歷史事件處理器
+ *
+ * 將商品建立與商品價格變更事件附加到價格歷史。
+ * 定價規則的價格不記錄：規則生效與到期沒有對應事件，只記錄建立時的規則價格會讓歷史停在已到期的價格，
+ * 無法還原為商品原價。
+ * 記錄失敗只影響歷史，不影響已提交的業務交易，因此只記錄日誌。
+ */
+@Component
+public class PriceHistoryEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceHistoryEventHandler.class);
+
+    private final PriceHistoryService priceHistoryService;
+
+    public PriceHistoryEventHandler(PriceHistoryService priceHistoryService) {
+        this.priceHistoryService = priceHistoryService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(DomainEventPublisherAdapter.DomainEventWrapper wrapper) {
+        DomainEvent event = wrapper.getSource();
+        switch (event) {
+            case ProductCreatedEvent created ->
+                record(created.productId().getId(), created.price(), created.occurredOn());
+            case ProductPriceChangedEvent priceChanged ->
+                record(priceChanged.productId().getId(), priceChanged.newPrice(), priceChanged.occurredOn());
+            default -> {
+            }
+        }
+    }
+
+    private void record(String productId, Money price, LocalDateTime occurredOn) {
+        if (price == null) {
+            return;
+        }
+        try {
+            priceHistoryService.record(productId, price, occurredOn.atZone(ZoneId.systemDefault()).toInstant());
+        } catch (RuntimeException e) {
+            logger.error("記錄商品 {} 的價格歷史失敗", productId, e);
+        }
+    }
+}
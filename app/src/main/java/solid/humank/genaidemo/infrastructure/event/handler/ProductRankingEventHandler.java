@@ -0,0 +1,62 @@
+package solid.humank.genaidemo.infrastructure.event.handler;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import solid.humank.genaidemo.application.product.service.ProductRankingService;
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.common.valueobject.OrderItem;
+import solid.humank.genaidemo.domain.observability.events.UserBehaviorAnalyticsEvent;
+import solid.humank.genaidemo.domain.order.model.events.OrderInventoryReservationRequestedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductActivatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductDescriptionUpdatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductDiscontinuedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductPriceChangedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductStockUpdatedEvent;
+import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter;
+
+/**
+ * 商品排行事件處理器
+ *
+ * 將事件轉為排行服務的訊號，只放入佇列，不在業務執行緒上計算排行：
+ * - 帶有 productId 的頁面瀏覽分析事件計為瀏覽
+ * - 訂單提交時的庫存預留請求計為一次購買，同一訂單的商品計為共同購買
+ * - 商品資料或上架狀態變更時重新載入商品
+ */
+@Component
+public class ProductRankingEventHandler {
+
+    private static final String PAGE_VIEW = "page_view";
+
+    private final ProductRankingService productRankingService;
+
+    public ProductRankingEventHandler(ProductRankingService productRankingService) {
+        this.productRankingService = productRankingService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(DomainEventPublisherAdapter.DomainEventWrapper wrapper) {
+        DomainEvent event = wrapper.getSource();
+        switch (event) {
+            case UserBehaviorAnalyticsEvent analytics when PAGE_VIEW.equals(analytics.eventType()) ->
+                analytics.getEventDataValue("productId")
+                        .ifPresent(productId -> productRankingService.recordView(productId.toString()));
+            case OrderInventoryReservationRequestedEvent submitted -> productRankingService.recordPurchase(
+                    submitted.customerId() != null ? submitted.customerId().value() : null,
+                    submitted.items().stream().map(OrderItem::getProductId).toList());
+            case ProductPriceChangedEvent priceChanged ->
+                productRankingService.productChanged(priceChanged.productId().getId());
+            case ProductDescriptionUpdatedEvent descriptionUpdated ->
+                productRankingService.productChanged(descriptionUpdated.productId().getId());
+            case ProductStockUpdatedEvent stockUpdated ->
+                productRankingService.productChanged(stockUpdated.productId().getId());
+            case ProductActivatedEvent activated ->
+                productRankingService.productChanged(activated.productId().getId());
+            case ProductDiscontinuedEvent discontinued ->
+                productRankingService.productChanged(discontinued.productId().getId());
+            default -> {
+            }
+        }
+    }
+}
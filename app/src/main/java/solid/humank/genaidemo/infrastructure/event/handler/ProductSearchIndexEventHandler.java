@@ -0,0 +1,58 @@
+package solid.humank.genaidemo.infrastructure.event.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import solid.humank.genaidemo.application.product.service.ProductSearchIndex;
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductActivatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductCreatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductDescriptionUpdatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductDiscontinuedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductPriceChangedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductStockUpdatedEvent;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter;
+
+/**
+ * 商品搜尋索引事件處理器
+ *
+ * 在事務提交後依資料庫中的最新狀態更新該商品的索引項目，下架的商品從索引移除。
+ * 索引更新失敗只記錄錯誤，下一次事件或重建會修正。
+ */
+@Component
+public class ProductSearchIndexEventHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductSearchIndexEventHandler.class);
+
+    private final ProductSearchIndex productSearchIndex;
+
+    public ProductSearchIndexEventHandler(ProductSearchIndex productSearchIndex) {
+        this.productSearchIndex = productSearchIndex;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(DomainEventPublisherAdapter.DomainEventWrapper wrapper) {
+        DomainEvent event = wrapper.getSource();
+        ProductId productId = switch (event) {
+            case ProductCreatedEvent created -> created.productId();
+            case ProductPriceChangedEvent priceChanged -> priceChanged.productId();
+            case ProductDescriptionUpdatedEvent descriptionUpdated -> descriptionUpdated.productId();
+            case ProductStockUpdatedEvent stockUpdated -> stockUpdated.productId();
+            case ProductActivatedEvent activated -> activated.productId();
+            case ProductDiscontinuedEvent discontinued -> discontinued.productId();
+            default -> null;
+        };
+        if (productId == null) {
+            return;
+        }
+        try {
+            productSearchIndex.reindex(productId);
+        } catch (RuntimeException e) {
+            LOGGER.error("更新商品 {} 的搜尋索引失敗", productId, e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package solid.humank.genaidemo.infrastructure.event.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import solid.humank.genaidemo.application.product.service.ProductSnapshotCache;
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductActivatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductCreatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductDescriptionUpdatedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductDiscontinuedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductPriceChangedEvent;
+import solid.humank.genaidemo.domain.product.model.events.ProductStockUpdatedEvent;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.domain.promotion.model.events.PromotionActivatedEvent;
+import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter;
+
+/**
+ * 商品快照事件處理器
+ *
+ * 在事務提交後使商品與價格快照失效：商品事件只影響該商品，
+ * 促銷生效可能改變多個商品的定價規則，因此使全部快照失效。
+ * 沒有事務時（例如直接發布的事件）同樣立即處理。
+ */
+@Component
+public class ProductSnapshotEventHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductSnapshotEventHandler.class);
+
+    private final ProductSnapshotCache productSnapshotCache;
+
+    public ProductSnapshotEventHandler(ProductSnapshotCache productSnapshotCache) {
+        this.productSnapshotCache = productSnapshotCache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(DomainEventPublisherAdapter.DomainEventWrapper wrapper) {
+        DomainEvent event = wrapper.getSource();
+        if (event instanceof PromotionActivatedEvent promotion) {
+            LOGGER.debug("促銷 {} 生效，清除所有商品快照", promotion.getAggregateId());
+            productSnapshotCache.invalidateAll();
+            return;
+        }
+        ProductId productId = switch (event) {
+            case ProductCreatedEvent created -> created.productId();
+            case ProductPriceChangedEvent priceChanged -> priceChanged.productId();
+            case ProductDescriptionUpdatedEvent descriptionUpdated -> descriptionUpdated.productId();
+            case ProductStockUpdatedEvent stockUpdated -> stockUpdated.productId();
+            case ProductActivatedEvent activated -> activated.productId();
+            case ProductDiscontinuedEvent discontinued -> discontinued.productId();
+            default -> null;
+        };
+        if (productId != null) {
+            productSnapshotCache.invalidate(productId);
+        }
+    }
+}
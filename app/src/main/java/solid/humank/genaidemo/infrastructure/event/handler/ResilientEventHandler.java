@@ -1,6 +1,7 @@
 package solid.humank.genaidemo.infrastructure.event.handler;
 
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -14,6 +15,8 @@ import solid.humank.genaidemo.domain.common.event.DomainEvent;
 import solid.humank.genaidemo.infrastructure.event.EventProcessingException;
 import solid.humank.genaidemo.infrastructure.event.EventProcessingTimeoutException;
 import solid.humank.genaidemo.infrastructure.event.EventSequenceException;
+import solid.humank.genaidemo.infrastructure.event.backpressure.AdaptiveConcurrencyLimiter;
+import solid.humank.genaidemo.infrastructure.event.backpressure.AdaptiveConcurrencyLimiter.Permit;
 import solid.humank.genaidemo.infrastructure.event.backpressure.BackpressureManager;
 import solid.humank.genaidemo.infrastructure.event.monitoring.EventProcessingContext;
 import solid.humank.genaidemo.infrastructure.event.monitoring.EventProcessingMonitor;
@@ -37,6 +40,7 @@ public class ResilientEventHandler {    private static final Logger logger = Log
     private final EventProcessingMonitor monitor;
     private final EventRetryManager retryManager;
     private final BackpressureManager backpressureManager;
+    private final AdaptiveConcurrencyLimiter limiter;
     private final EventSequenceTracker sequenceTracker;
 
     // 默認配置
@@ -50,6 +54,7 @@ public class ResilientEventHandler {    private static final Logger logger = Log
         this.monitor = monitor;
         this.retryManager = retryManager;
         this.backpressureManager = backpressureManager;
+        this.limiter = backpressureManager.limiter(BackpressureManager.EVENT_HANDLER);
         this.sequenceTracker = sequenceTracker;
     }
 
@@ -68,51 +73,40 @@ public class ResilientEventHandler {    private static final Logger logger = Log
             Consumer<DomainEvent> eventHandler,
             Duration timeout, RetryPolicy retryPolicy) {
 
-        // 1. 檢查背壓狀態
-        BackpressureManager.BackpressureDecision decision = backpressureManager.shouldProcessEvent();
-
-        switch (decision) {
-            case REJECT:
-                logger.warn("Event rejected due to backpressure: {} with handler: {}",
-                        event.getEventType(), handlerName);
-                return CompletableFuture.failedFuture(
-                        new EventProcessingException("Event rejected due to system overload",
-                                event, handlerName));
-
-            case DELAY:
-                Duration delay = backpressureManager.getSuggestedDelay();
-                logger.info("Event delayed due to backpressure: {} with handler: {} (delay: {}ms)",
-                        event.getEventType(), handlerName, delay.toMillis());
-
-                return CompletableFuture.runAsync(() -> {
-                    try {
-                        Thread.sleep(delay.toMillis());
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("Event processing interrupted", e);
-                    }
-                }).thenCompose(v -> processEventInternal(event, handlerName, eventHandler, timeout, retryPolicy));
+        // 1. 取得並行許可：已達自適應上限時最多等待設定的時間，仍無法取得則拒絕
+        Optional<Permit> permit = limiter.tryAcquire();
+        if (permit.isEmpty()) {
+            logger.warn("Event rejected due to backpressure: {} with handler: {} (limit: {})",
+                    event.getEventType(), handlerName, limiter.getLimit());
+            return CompletableFuture.failedFuture(
+                    new EventProcessingException("Event rejected due to system overload",
+                            event, handlerName));
+        }
 
-            case PROCEED:
-            default:
-                return processEventInternal(event, handlerName, eventHandler, timeout, retryPolicy);
+        try {
+            return processEventInternal(event, handlerName, eventHandler, timeout, retryPolicy, permit.get());
+        } catch (RuntimeException e) {
+            permit.get().onIgnore();
+            throw e;
         }
     }
 
     private CompletableFuture<Void> processEventInternal(DomainEvent event, String handlerName,
             Consumer<DomainEvent> eventHandler,
-            Duration timeout, RetryPolicy retryPolicy) {
+            Duration timeout, RetryPolicy retryPolicy, Permit permit) {
 
         // 2. 驗證事件順序
         EventSequenceTracker.EventSequenceValidation sequenceValidation = sequenceTracker.validateEventSequence(event);
 
         if (sequenceValidation.isDuplicate()) {
+            permit.onIgnore();
             logger.info("Duplicate event ignored: {} with handler: {}",
                     event.getEventType(), handlerName);
             return CompletableFuture.completedFuture(null);
         }
 
         if (sequenceValidation.isOutOfOrder()) {
+            permit.onIgnore();
             logger.error("Out-of-order event detected: {} with handler: {}",
                     event.getEventType(), handlerName);
 
@@ -128,16 +122,15 @@ public class ResilientEventHandler {    private static final Logger logger = Log
 
         // 3. 開始監控
         EventProcessingContext context = monitor.startMonitoring(event, handlerName);
-        backpressureManager.startProcessing();
 
         // 4. 執行帶重試和超時的事件處理
-        return executeWithTimeoutAndRetry(event, handlerName, eventHandler, timeout, retryPolicy, context);
+        return executeWithTimeoutAndRetry(event, handlerName, eventHandler, timeout, retryPolicy, context, permit);
     }
 
     private CompletableFuture<Void> executeWithTimeoutAndRetry(DomainEvent event, String handlerName,
             Consumer<DomainEvent> eventHandler,
             Duration timeout, RetryPolicy retryPolicy,
-            EventProcessingContext context) {
+            EventProcessingContext context, Permit permit) {
 
         // 創建帶超時的處理任務
         CompletableFuture<Void> processingFuture = retryManager.executeWithRetry(
@@ -148,17 +141,18 @@ public class ResilientEventHandler {    private static final Logger logger = Log
                 .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
                 .handle((result, throwable) -> {
                     context.markCompleted();
-                    backpressureManager.completeProcessing();
 
                     if (throwable == null) {
-                        // 成功處理
+                        // 成功處理：以處理時間調整並行上限
+                        permit.onSuccess();
                         monitor.completeMonitoring(context, true, null);
                         logger.debug("Event processed successfully: {} with handler: {} in {}ms",
                                 event.getEventType(), handlerName, context.getProcessingTime().toMillis());
                         return null;
 
                     } else if (throwable instanceof TimeoutException) {
-                        // 超時處理
+                        // 超時處理：視為壅塞，縮小並行上限
+                        permit.onDropped();
                         EventProcessingTimeoutException timeoutException = new EventProcessingTimeoutException(
                                 "Event processing timed out",
                                 event, handlerName,
@@ -173,7 +167,8 @@ public class ResilientEventHandler {    private static final Logger logger = Log
                         throw new RuntimeException(timeoutException);
 
                     } else {
-                        // 其他錯誤
+                        // 其他錯誤：不反映負載，只釋放許可
+                        permit.onIgnore();
                         monitor.completeMonitoring(context, false, throwable);
                         logger.error("Event processing failed: {} with handler: {} after {}ms, error: {}",
                                 event.getEventType(), handlerName, context.getProcessingTime().toMillis(),
@@ -0,0 +1,69 @@
+package solid.humank.genaidemo.infrastructure.event.handler;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort.Metric;
+import solid.humank.genaidemo.application.stats.service.StatisticsCounterService;
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.common.valueobject.OrderStatus;
+import solid.humank.genaidemo.domain.customer.model.events.CustomerCreatedEvent;
+import solid.humank.genaidemo.domain.inventory.model.events.InventoryCreatedEvent;
+import solid.humank.genaidemo.domain.order.model.events.OrderConfirmedEvent;
+import solid.humank.genaidemo.domain.order.model.events.OrderCreatedEvent;
+import solid.humank.genaidemo.domain.order.model.events.OrderStatusChangedEvent;
+import solid.humank.genaidemo.domain.order.model.events.OrderSubmittedEvent;
+import solid.humank.genaidemo.domain.payment.model.events.PaymentCompletedEvent;
+import solid.humank.genaidemo.domain.payment.model.events.PaymentCreatedEvent;
+import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter;
+
+/**
+ * 統計計數器事件處理器
+ *
+ * 交易提交後把事件轉為計數器增量，只累加記憶體中的待寫入增量：
+ * - 客戶、庫存項目、訂單與支付建立時累加總數
+ * - 訂單提交與確認分別只能由 CREATED 與 PENDING 轉入，其他狀態轉換帶有轉換前的狀態
+ * - 支付完成時累加完成當日的營收
+ */
+@Component
+public class StatisticsCounterEventHandler {
+
+    private final StatisticsCounterService counterService;
+
+    public StatisticsCounterEventHandler(StatisticsCounterService counterService) {
+        this.counterService = counterService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(DomainEventPublisherAdapter.DomainEventWrapper wrapper) {
+        DomainEvent event = wrapper.getSource();
+        switch (event) {
+            case CustomerCreatedEvent created ->
+                counterService.increment(Metric.CUSTOMERS, StatisticsCounterPort.TOTAL, 1);
+            case InventoryCreatedEvent created ->
+                counterService.increment(Metric.INVENTORY_ITEMS, StatisticsCounterPort.TOTAL, 1);
+            case OrderCreatedEvent created -> {
+                counterService.increment(Metric.ORDERS, StatisticsCounterPort.TOTAL, 1);
+                counterService.increment(Metric.ORDERS_BY_STATUS, OrderStatus.CREATED.name(), 1);
+            }
+            case OrderSubmittedEvent submitted -> counterService.move(Metric.ORDERS_BY_STATUS,
+                    OrderStatus.CREATED.name(), OrderStatus.PENDING.name());
+            case OrderConfirmedEvent confirmed -> counterService.move(Metric.ORDERS_BY_STATUS,
+                    OrderStatus.PENDING.name(), OrderStatus.CONFIRMED.name());
+            case OrderStatusChangedEvent changed -> counterService.move(Metric.ORDERS_BY_STATUS,
+                    changed.oldStatus().name(), changed.newStatus().name());
+            case PaymentCreatedEvent created -> {
+                counterService.increment(Metric.PAYMENTS, StatisticsCounterPort.TOTAL, 1);
+                counterService.increment(Metric.PAYMENTS_BY_METHOD, created.paymentMethod() != null
+                        ? created.paymentMethod().name()
+                        : StatisticsCounterPort.UNSPECIFIED, 1);
+            }
+            case PaymentCompletedEvent completed ->
+                counterService.addRevenue(completed.occurredOn().toLocalDate(), completed.amount());
+            default -> {
+            }
+        }
+    }
+}
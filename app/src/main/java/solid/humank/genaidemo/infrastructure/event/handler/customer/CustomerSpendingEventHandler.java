@@ -27,7 +27,6 @@ public class CustomerSpendingEventHandler extends AbstractDomainEventHandler<Cus
         // 委託給應用服務處理跨聚合根業務邏輯
         customerApplicationService.upgradeCustomerMembershipBasedOnSpending(
                 event.getAggregateId(),
-                event.totalSpending(),
                 event.spendingAmount());
     }
 
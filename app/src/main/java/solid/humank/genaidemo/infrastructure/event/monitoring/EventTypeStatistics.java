@@ -2,6 +2,7 @@ package solid.humank.genaidemo.infrastructure.event.monitoring;
 
 import java.time.Duration;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
 
 /**
  * 事件類型統計信息
@@ -14,8 +15,8 @@ public class EventTypeStatistics {
     private final AtomicLong successCount = new AtomicLong(0);
     private final AtomicLong failureCount = new AtomicLong(0);
     private final AtomicLong totalProcessingTimeMillis = new AtomicLong(0);
-    private volatile long minProcessingTimeMillis = Long.MAX_VALUE;
-    private volatile long maxProcessingTimeMillis = 0;
+    private final LongAccumulator minProcessingTimeMillis = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxProcessingTimeMillis = new LongAccumulator(Math::max, 0);
 
     public EventTypeStatistics(String eventType) {
         this.eventType = eventType;
@@ -23,8 +24,9 @@ public class EventTypeStatistics {
 
     /**
      * 添加處理時間記錄
+     * 全部以原子累加器更新，不需要鎖，避免 Virtual Thread 在事件處理路徑上被釘住
      */
-    public synchronized void addProcessingTime(Duration processingTime, boolean success) {
+    public void addProcessingTime(Duration processingTime, boolean success) {
         long millis = processingTime.toMillis();
 
         totalCount.incrementAndGet();
@@ -37,12 +39,8 @@ public class EventTypeStatistics {
         }
 
         // 更新最小和最大處理時間
-        if (millis < minProcessingTimeMillis) {
-            minProcessingTimeMillis = millis;
-        }
-        if (millis > maxProcessingTimeMillis) {
-            maxProcessingTimeMillis = millis;
-        }
+        minProcessingTimeMillis.accumulate(millis);
+        maxProcessingTimeMillis.accumulate(millis);
     }
 
     /**
@@ -60,14 +58,15 @@ public class EventTypeStatistics {
      * 獲取最小處理時間
      */
     public Duration getMinProcessingTime() {
-        return minProcessingTimeMillis == Long.MAX_VALUE ? Duration.ZERO : Duration.ofMillis(minProcessingTimeMillis);
+        long min = minProcessingTimeMillis.get();
+        return min == Long.MAX_VALUE ? Duration.ZERO : Duration.ofMillis(min);
     }
 
     /**
      * 獲取最大處理時間
      */
     public Duration getMaxProcessingTime() {
-        return Duration.ofMillis(maxProcessingTimeMillis);
+        return Duration.ofMillis(maxProcessingTimeMillis.get());
     }
 
     /**
@@ -0,0 +1,260 @@
+package solid.humank.genaidemo.infrastructure.event.outbox;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.infrastructure.common.persistence.converter.JsonConversionException;
+
+/**
+ * 領域事件寄件匣
+ *
+ * 事件以 JSON 與類別名稱寫入 domain_event_outbox，和聚合根的變更在同一個 JDBC 交易提交，
+ * 提交與發布之間當機也不會遺失事件。轉送器以 {@code FOR UPDATE SKIP LOCKED} 分批認領
+ * （PostgreSQL 與 H2 2.x 都支援），認領時把 available_at 延後一個租約並寫入認領權杖；
+ * 租約到期仍未完成的事件會被重新認領，因此事件至少發布一次，消費端應以事件ID去重。
+ */
+@Component
+@ConditionalOnProperty(name = "genai-demo.events.outbox.enabled", havingValue = "true")
+public class DomainEventOutbox {
+
+    private static final String PENDING = "PENDING";
+    private static final String FAILED = "FAILED";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String INSERT = """
+            INSERT INTO domain_event_outbox
+                (event_id, event_type, event_class, aggregate_id, payload, occurred_on,
+                 created_at, status, attempts, available_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, ?)
+            """;
+
+    private static final String SELECT_CLAIMABLE = """
+            SELECT id, event_id, event_class, payload, created_at, attempts
+            FROM domain_event_outbox
+            WHERE status = 'PENDING' AND available_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String CLAIM = """
+            UPDATE domain_event_outbox
+            SET claim_token = :token, available_at = :leaseUntil, attempts = attempts + 1
+            WHERE id IN (:ids)
+            """;
+
+    private static final String MARK_PUBLISHED = """
+            UPDATE domain_event_outbox
+            SET status = 'PUBLISHED', published_at = :now, claim_token = NULL, last_error = NULL
+            WHERE id IN (:ids) AND claim_token = :token
+            """;
+
+    private static final String MARK_FAILED = """
+            UPDATE domain_event_outbox
+            SET status = :status, available_at = :retryAt, claim_token = NULL, last_error = :error
+            WHERE id = :id AND claim_token = :token
+            """;
+
+    private static final String SELECT_BACKLOG = """
+            SELECT COUNT(*) AS pending, MIN(created_at) AS oldest
+            FROM domain_event_outbox WHERE status = 'PENDING'
+            """;
+
+    private static final String PURGE_PUBLISHED = """
+            DELETE FROM domain_event_outbox WHERE status = 'PUBLISHED' AND published_at < :before
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public DomainEventOutbox(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        // 事件的衍生屬性（eventType、aggregateId 等）也會序列化，讀回時略過
+        this.objectMapper = objectMapper.copy()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * 在呼叫端的交易中以一次批次寫入事件
+     *
+     * @param events 領域事件
+     * @return 無法序列化、沒有寫入寄件匣的事件
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<DomainEvent> append(List<DomainEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        List<DomainEvent> rejected = new ArrayList<>();
+        for (DomainEvent event : events) {
+            String payload;
+            try {
+                payload = objectMapper.writeValueAsString(event);
+            } catch (Exception e) {
+                rejected.add(event);
+                continue;
+            }
+            rows.add(new Object[] {
+                    event.getEventId(),
+                    event.getEventType(),
+                    event.getClass().getName(),
+                    event.getAggregateId(),
+                    payload,
+                    Timestamp.valueOf(event.getOccurredOn()),
+                    now,
+                    now });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(INSERT, rows);
+        }
+        return rejected;
+    }
+
+    /**
+     * 認領一批可發布的事件，認領在獨立的短交易中提交
+     *
+     * @param limit 最多認領筆數
+     * @param lease 租約長度，到期前其他轉送器不會認領相同的事件
+     * @return 認領結果
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ClaimedBatch claim(int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEntry> entries = jdbcTemplate.query(SELECT_CLAIMABLE,
+                new MapSqlParameterSource()
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new OutboxEntry(
+                        rs.getLong("id"),
+                        rs.getObject("event_id", UUID.class),
+                        rs.getString("event_class"),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        rs.getInt("attempts") + 1));
+        UUID token = UUID.randomUUID();
+        if (!entries.isEmpty()) {
+            jdbcTemplate.update(CLAIM, new MapSqlParameterSource()
+                    .addValue("token", token)
+                    .addValue("leaseUntil", Timestamp.valueOf(now.plus(lease)))
+                    .addValue("ids", entries.stream().map(OutboxEntry::id).toList()));
+        }
+        return new ClaimedBatch(token, entries);
+    }
+
+    /**
+     * 將事件還原為領域事件物件
+     *
+     * @param entry 寄件匣項目
+     * @return 領域事件
+     */
+    public DomainEvent decode(OutboxEntry entry) {
+        try {
+            Class<?> eventClass = Class.forName(entry.eventClass());
+            if (!DomainEvent.class.isAssignableFrom(eventClass)) {
+                throw new JsonConversionException(entry.eventClass() + " is not a domain event");
+            }
+            return (DomainEvent) objectMapper.readValue(entry.payload(), eventClass);
+        } catch (ClassNotFoundException | IOException e) {
+            throw new JsonConversionException("Failed to decode outbox event " + entry.id(), e);
+        }
+    }
+
+    /**
+     * 標記事件已發布；租約到期後被其他轉送器重新認領的事件不會被更新
+     *
+     * @return 實際更新的筆數
+     */
+    @Transactional
+    public int markPublished(UUID token, Collection<Long> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(MARK_PUBLISHED, new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    /**
+     * 記錄發布失敗，未超過嘗試次數的事件在 retryAt 之後重新認領，否則標記為 FAILED
+     */
+    @Transactional
+    public void markFailed(UUID token, long id, String error, LocalDateTime retryAt, boolean giveUp) {
+        String message = error == null ? "unknown" : error;
+        jdbcTemplate.update(MARK_FAILED, new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("id", id)
+                .addValue("status", giveUp ? FAILED : PENDING)
+                .addValue("retryAt", Timestamp.valueOf(retryAt))
+                .addValue("error", message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH)
+                        : message));
+    }
+
+    /**
+     * 查詢尚未發布的事件數與最舊事件的建立時間
+     */
+    @Transactional(readOnly = true)
+    public Backlog backlog() {
+        return jdbcTemplate.queryForObject(SELECT_BACKLOG, new MapSqlParameterSource(), (rs, rowNum) -> {
+            Timestamp oldest = rs.getTimestamp("oldest");
+            return new Backlog(rs.getLong("pending"), oldest != null ? oldest.toLocalDateTime() : null);
+        });
+    }
+
+    /**
+     * 刪除指定時間之前發布的事件
+     *
+     * @return 刪除筆數
+     */
+    @Transactional
+    public int purgePublished(LocalDateTime before) {
+        return jdbcTemplate.update(PURGE_PUBLISHED,
+                new MapSqlParameterSource().addValue("before", Timestamp.valueOf(before)));
+    }
+
+    /**
+     * 寄件匣項目
+     *
+     * @param attempts 含本次在內的發布嘗試次數
+     */
+    public record OutboxEntry(long id, UUID eventId, String eventClass, String payload, LocalDateTime createdAt,
+            int attempts) {
+    }
+
+    /**
+     * 一次認領的結果
+     *
+     * @param token   認領權杖，標記結果時用來確認仍持有租約
+     * @param entries 依寫入順序排列的項目
+     */
+    public record ClaimedBatch(UUID token, List<OutboxEntry> entries) {
+    }
+
+    /**
+     * 待發布積壓
+     *
+     * @param pending       尚未發布的事件數
+     * @param oldestPending 最舊的待發布事件建立時間，沒有積壓時為 null
+     */
+    public record Backlog(long pending, LocalDateTime oldestPending) {
+    }
+}
@@ -0,0 +1,105 @@
+package solid.humank.genaidemo.infrastructure.event.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.infrastructure.event.outbox.DomainEventOutbox.ClaimedBatch;
+import solid.humank.genaidemo.infrastructure.event.outbox.DomainEventOutbox.OutboxEntry;
+import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter;
+
+/**
+ * 寄件匣事件派送器
+ *
+ * 每個事件在各自的新交易中發布並標記為已發布，
+ * {@code @TransactionalEventListener(AFTER_COMMIT)} 的處理器在該交易提交後執行，與原本的發布時機一致。
+ * 單一事件失敗只影響該事件：同步處理器把交易標記為只能回滾時，回滾的也只有這個事件，
+ * 失敗紀錄在另一個新交易中寫入，依嘗試次數指數退避後重新認領，超過上限標記為 FAILED。
+ */
+@Component
+@ConditionalOnProperty(name = "genai-demo.events.outbox.enabled", havingValue = "true")
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNew;
+    private final int maxAttempts;
+
+    public OutboxDispatcher(DomainEventOutbox outbox, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${genai-demo.events.outbox.max-attempts:10}") int maxAttempts) {
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 發布一批已認領的事件
+     *
+     * @param batch 認領結果
+     * @return 派送結果
+     */
+    public DispatchResult dispatch(ClaimedBatch batch) {
+        List<OutboxEntry> published = new ArrayList<>(batch.entries().size());
+        int failed = 0;
+        for (OutboxEntry entry : batch.entries()) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                requiresNew.executeWithoutResult(status -> {
+                    DomainEvent event = outbox.decode(entry);
+                    eventPublisher.publishEvent(new DomainEventPublisherAdapter.DomainEventWrapper(event));
+                    outbox.markPublished(batch.token(), List.of(entry.id()), now);
+                });
+                published.add(entry);
+            } catch (RuntimeException e) {
+                failed++;
+                recordFailure(batch, entry, e, now);
+            }
+        }
+        return new DispatchResult(published, failed);
+    }
+
+    private void recordFailure(ClaimedBatch batch, OutboxEntry entry, RuntimeException failure, LocalDateTime now) {
+        boolean giveUp = entry.attempts() >= maxAttempts;
+        logger.warn("Failed to relay outbox event {} ({}), attempt {}{}: {}", entry.eventId(),
+                entry.eventClass(), entry.attempts(), giveUp ? ", giving up" : "", failure.getMessage());
+        try {
+            requiresNew.executeWithoutResult(status -> outbox.markFailed(batch.token(), entry.id(),
+                    failure.getMessage(), now.plus(backoff(entry.attempts())), giveUp));
+        } catch (RuntimeException e) {
+            // 失敗紀錄未寫入時，事件在租約到期後重新認領
+            logger.error("Failed to record relay failure for outbox event {}", entry.eventId(), e);
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    /**
+     * 派送結果
+     *
+     * @param published 已發布的項目
+     * @param failed    發布失敗的項目數
+     */
+    public record DispatchResult(List<OutboxEntry> published, int failed) {
+    }
+}
@@ -0,0 +1,167 @@
+package solid.humank.genaidemo.infrastructure.event.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import solid.humank.genaidemo.infrastructure.event.outbox.DomainEventOutbox.Backlog;
+import solid.humank.genaidemo.infrastructure.event.outbox.DomainEventOutbox.ClaimedBatch;
+import solid.humank.genaidemo.infrastructure.event.outbox.DomainEventOutbox.OutboxEntry;
+import solid.humank.genaidemo.infrastructure.event.outbox.OutboxDispatcher.DispatchResult;
+
+/**
+ * 寄件匣轉送器
+ * 定期認領待發布事件並交給派送器發布，批次填滿時持續排空，並匯出指標：
+ * - outbox.relay.published / outbox.relay.failed：發布成功與失敗的事件數
+ * - outbox.relay.lag：事件寫入寄件匣到發布的延遲
+ * - outbox.pending：尚未發布的事件數
+ * - outbox.oldest.age：最舊待發布事件的存在秒數
+ *
+ * 多個實例可同時執行，認領以 SKIP LOCKED 互斥。
+ * genai-demo.events.outbox.relay.enabled=false 時只建立轉送器，不啟動輪詢執行緒。
+ */
+@Component
+@ConditionalOnProperty(name = "genai-demo.events.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final long BACKLOG_REFRESH_MILLIS = 1_000;
+    private static final long PURGE_INTERVAL_MILLIS = 60_000;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("OutboxRelay-poll").daemon(true).factory());
+    private final DomainEventOutbox outbox;
+    private final OutboxDispatcher dispatcher;
+    private final boolean pollingEnabled;
+    private final int batchSize;
+    private final Duration lease;
+    private final long pollIntervalMillis;
+    private final Duration retention;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+    private volatile long lastBacklogRefresh;
+    private volatile long lastPurge;
+
+    public OutboxRelay(DomainEventOutbox outbox, OutboxDispatcher dispatcher, MeterRegistry meterRegistry,
+            @Value("${genai-demo.events.outbox.relay.enabled:true}") boolean pollingEnabled,
+            @Value("${genai-demo.events.outbox.batch-size:100}") int batchSize,
+            @Value("${genai-demo.events.outbox.lease-seconds:30}") long leaseSeconds,
+            @Value("${genai-demo.events.outbox.poll-interval-millis:200}") long pollIntervalMillis,
+            @Value("${genai-demo.events.outbox.retention-hours:24}") long retentionHours) {
+        this.outbox = outbox;
+        this.dispatcher = dispatcher;
+        this.pollingEnabled = pollingEnabled;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retention = Duration.ofHours(retentionHours);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Domain events relayed from the outbox")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Domain events that failed to relay")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Delay between writing an event to the outbox and publishing it")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Domain events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.oldest.age", oldestAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (pollingEnabled) {
+            scheduler.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 認領並發布一批事件
+     *
+     * @return 本輪的發布結果
+     */
+    public RelayRound relayOnce() {
+        ClaimedBatch batch = outbox.claim(batchSize, lease);
+        if (batch.entries().isEmpty()) {
+            return new RelayRound(0, 0, false);
+        }
+        DispatchResult result = dispatcher.dispatch(batch);
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEntry entry : result.published()) {
+            lagTimer.record(Duration.between(entry.createdAt(), now));
+        }
+        publishedCounter.increment(result.published().size());
+        failedCounter.increment(result.failed());
+        return new RelayRound(result.published().size(), result.failed(), batch.entries().size() >= batchSize);
+    }
+
+    private void poll() {
+        try {
+            RelayRound round;
+            do {
+                round = relayOnce();
+            } while (round.full() && !Thread.currentThread().isInterrupted());
+            long nowMillis = System.currentTimeMillis();
+            if (nowMillis - lastBacklogRefresh >= BACKLOG_REFRESH_MILLIS) {
+                refreshBacklog();
+                lastBacklogRefresh = nowMillis;
+            }
+            if (nowMillis - lastPurge >= PURGE_INTERVAL_MILLIS) {
+                int purged = outbox.purgePublished(LocalDateTime.now().minus(retention));
+                lastPurge = nowMillis;
+                if (purged > 0) {
+                    logger.debug("Purged {} published outbox events", purged);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Outbox relay poll failed", e);
+        }
+    }
+
+    private void refreshBacklog() {
+        Backlog backlog = outbox.backlog();
+        pending.set(backlog.pending());
+        oldestAgeSeconds.set(backlog.oldestPending() == null ? 0
+                : Math.max(0, Duration.between(backlog.oldestPending(), LocalDateTime.now()).toSeconds()));
+    }
+
+    /**
+     * 一輪轉送的結果
+     *
+     * @param published 發布成功的事件數
+     * @param failed    發布失敗的事件數
+     * @param full      認領的批次已滿，可能還有待發布事件
+     */
+    public record RelayRound(int published, int failed, boolean full) {
+    }
+}
@@ -0,0 +1,128 @@
+package solid.humank.genaidemo.infrastructure.event.persistence.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * 領域事件寄件匣 JPA 實體
+ *
+ * 只由 DomainEventOutbox 以 JDBC 寫入與認領，這裡的映射讓 ddl-auto 建立相同的資料表。
+ */
+@Entity
+@Table(name = "domain_event_outbox", indexes = {
+        @Index(name = "idx_domain_event_outbox_pending", columnList = "status, available_at, id"),
+        @Index(name = "idx_domain_event_outbox_published", columnList = "status, published_at")
+})
+public class JpaOutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "event_class", nullable = false)
+    private String eventClass;
+
+    @Column(name = "aggregate_id")
+    private String aggregateId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "occurred_on", nullable = false)
+    private LocalDateTime occurredOn;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // 默認建構子，JPA 需要
+    public JpaOutboxEventEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getEventClass() {
+        return eventClass;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public UUID getClaimToken() {
+        return claimToken;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
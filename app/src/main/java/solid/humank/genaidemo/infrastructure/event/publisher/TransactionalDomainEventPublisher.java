@@ -2,6 +2,7 @@ package solid.humank.genaidemo.infrastructure.event.publisher;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +12,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import solid.humank.genaidemo.domain.common.event.DomainEvent;
 import solid.humank.genaidemo.domain.common.event.DomainEventPublisher;
+import solid.humank.genaidemo.infrastructure.event.outbox.DomainEventOutbox;
 
 /**
  * 事務感知的領域事件發布器
@@ -18,13 +20,22 @@ import solid.humank.genaidemo.domain.common.event.DomainEventPublisher;
  * 
  * 需求 6.3: 確保事件在事務提交後才被處理
  * 需求 6.4: 實現事務回滾時事件清理機制
+ *
+ * 啟用寄件匣時，事務中的事件改為與聚合根變更一起寫入寄件匣，由轉送器在提交後發布；
+ * 無法寫入寄件匣的事件仍在事務提交後直接發布。
  */
 public class TransactionalDomainEventPublisher implements DomainEventPublisher {    private static final Logger logger = LoggerFactory.getLogger(TransactionalDomainEventPublisher.class);
 
     private final ApplicationEventPublisher eventPublisher;
+    private final DomainEventOutbox outbox;
 
     public TransactionalDomainEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this(eventPublisher, null);
+    }
+
+    public TransactionalDomainEventPublisher(ApplicationEventPublisher eventPublisher, DomainEventOutbox outbox) {
         this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
     }
 
     @Override
@@ -33,7 +44,9 @@ public class TransactionalDomainEventPublisher implements DomainEventPublisher {
             return;
         }
 
-        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+        if (writesToOutbox()) {
+            appendToOutbox(List.of(event));
+        } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
             // 在事務中，延遲到事務提交後發布
             publishAfterCommit(event);
         } else {
@@ -48,11 +61,36 @@ public class TransactionalDomainEventPublisher implements DomainEventPublisher {
             return;
         }
 
+        if (writesToOutbox()) {
+            appendToOutbox(events.stream().filter(Objects::nonNull).toList());
+            return;
+        }
+
         for (DomainEvent event : events) {
             publish(event);
         }
     }
 
+    private boolean writesToOutbox() {
+        return outbox != null
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * 在目前事務中寫入寄件匣，無法序列化的事件退回提交後直接發布
+     */
+    private void appendToOutbox(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (DomainEvent rejected : outbox.append(events)) {
+            logger.warn("Domain event {} cannot be written to the outbox, publishing after commit",
+                    rejected.getClass().getSimpleName());
+            publishAfterCommit(rejected);
+        }
+    }
+
     /**
      * 立即發布事件（不等待事務提交）
      */
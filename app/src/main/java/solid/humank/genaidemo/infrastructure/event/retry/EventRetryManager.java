@@ -4,13 +4,18 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import jakarta.annotation.PreDestroy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
@@ -24,9 +29,16 @@ import solid.humank.genaidemo.infrastructure.event.EventProcessingException;
 @Component
 public class EventRetryManager {    private static final Logger logger = LoggerFactory.getLogger(EventRetryManager.class);
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(5);
+    // 排程線程只負責計時，重試本身交給 retryExecutor（平台線程池或 Virtual Thread）
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("EventRetry-scheduler").daemon(true).factory());
+    private final Executor retryExecutor;
     private final ConcurrentHashMap<String, RetryContext> retryContexts = new ConcurrentHashMap<>();
 
+    public EventRetryManager(@Qualifier("retryExecutor") Executor retryExecutor) {
+        this.retryExecutor = retryExecutor;
+    }
+
     /**
      * 執行帶重試的事件處理
      */
@@ -39,7 +51,7 @@ public class EventRetryManager {    private static final Logger logger = LoggerF
                     k -> new RetryContext(event, handlerName, retryPolicy));
 
             executeWithRetryInternal(context, eventHandler);
-        });
+        }, retryExecutor);
     }
 
     private void executeWithRetryInternal(RetryContext context, Consumer<DomainEvent> eventHandler) {
@@ -82,7 +94,19 @@ public class EventRetryManager {    private static final Logger logger = LoggerF
                 context.getEvent().getEventType(), context.getHandlerName(), delay.toMillis(),
                 context.getAttemptCount(), context.getRetryPolicy().getMaxAttempts());
 
-        scheduler.schedule(() -> executeWithRetryInternal(context, eventHandler), delay.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> submitRetry(context, eventHandler), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 在排程線程上提交重試；重試執行器過載拒絕時視為一次失敗，
+     * 依重試策略退避後再排程或轉入最終失敗處理，避免重試在 ScheduledFuture 中無聲遺失
+     */
+    private void submitRetry(RetryContext context, Consumer<DomainEvent> eventHandler) {
+        try {
+            retryExecutor.execute(() -> executeWithRetryInternal(context, eventHandler));
+        } catch (RejectedExecutionException e) {
+            handleEventProcessingFailure(context, e, eventHandler);
+        }
     }
 
     private void handleFinalFailure(RetryContext context, Exception e) {
@@ -117,6 +141,11 @@ public class EventRetryManager {    private static final Logger logger = LoggerF
         return String.format("%s-%s-%s", event.getEventType(), event.getAggregateId(), handlerName);
     }
 
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
     /**
      * 獲取當前重試統計信息
      */
@@ -125,7 +125,8 @@ public class EventMonitoringAdapter implements EventMonitoringPort {
                 status.getLevel().name(),
                 status.getCurrentConcurrentEvents(),
                 status.getCurrentQueueSize(),
-                status.getEventsInCurrentWindow(),
+                status.getConcurrencyLimit(),
+                status.getRejectedEvents(),
                 status.getLastLevelChangeTime());
     }
 
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import solid.humank.genaidemo.application.inventory.port.outgoing.ExternalWarehousePort;
 import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryPersistencePort;
 import solid.humank.genaidemo.application.inventory.service.InventoryApplicationService;
+import solid.humank.genaidemo.application.inventory.service.InventoryReservationService;
 import solid.humank.genaidemo.infrastructure.inventory.external.ExternalWarehouseAdapter;
 
 /** 庫存配置類 */
@@ -16,9 +17,10 @@ public class InventoryConfig {
     public InventoryApplicationService inventoryApplicationService(
             InventoryPersistencePort inventoryPersistencePort,
             solid.humank.genaidemo.application.common.service.DomainEventApplicationService
-                    domainEventApplicationService) {
+                    domainEventApplicationService,
+            InventoryReservationService inventoryReservationService) {
         return new InventoryApplicationService(
-                inventoryPersistencePort, domainEventApplicationService);
+                inventoryPersistencePort, domainEventApplicationService, inventoryReservationService);
     }
 
     /** 創建外部倉庫適配器 */
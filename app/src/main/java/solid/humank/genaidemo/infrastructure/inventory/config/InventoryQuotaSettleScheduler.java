@@ -0,0 +1,47 @@
+package solid.humank.genaidemo.infrastructure.inventory.config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import solid.humank.genaidemo.application.inventory.service.ShardedStockAllocator;
+
+/**
+ * 分片庫存配額結算排程
+ * 啟動時收回本節點上次遺留的配額，之後定期結算；關閉時寫回所有預留並歸還全部配額。
+ */
+@Component
+@ConditionalOnProperty(name = "genai-demo.inventory-sharding.enabled", havingValue = "true")
+public class InventoryQuotaSettleScheduler {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("InventoryQuota-settle").daemon(true).factory());
+    private final ShardedStockAllocator shardedStockAllocator;
+    private final long intervalMillis;
+
+    public InventoryQuotaSettleScheduler(ShardedStockAllocator shardedStockAllocator,
+            @Value("${genai-demo.inventory-sharding.settle-interval-millis:200}") long intervalMillis) {
+        this.shardedStockAllocator = shardedStockAllocator;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        shardedStockAllocator.recover();
+        scheduler.scheduleWithFixedDelay(shardedStockAllocator::settleAll, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        shardedStockAllocator.returnAll();
+    }
+}
@@ -0,0 +1,103 @@
+package solid.humank.genaidemo.infrastructure.inventory.config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import solid.humank.genaidemo.application.inventory.port.outgoing.ReservationExpiryPort.ExpiredReservation;
+import solid.humank.genaidemo.application.inventory.service.ReservationExpiryService;
+import solid.humank.genaidemo.application.inventory.service.ReservationExpiryService.ExpiryRound;
+
+/**
+ * 預留過期排程
+ * 每個刻度推進一次預留過期時間輪，並匯出指標：
+ * - inventory.reservation.expiry.released：釋放的過期預留數
+ * - inventory.reservation.expiry.lag：到期到實際釋放的延遲
+ * - inventory.reservation.expiry.backlog：已過期但尚未釋放的預留數
+ * - inventory.reservation.expiry.scheduled：時間輪中等待到期的預留數
+ */
+@Component
+@ConditionalOnProperty(name = "genai-demo.inventory-reservation.expiry.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ReservationExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpiryScheduler.class);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("ReservationExpiry-tick").daemon(true).factory());
+    private final ReservationExpiryService reservationExpiryService;
+    private final long tickMillis;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong scheduled = new AtomicLong();
+    private final Counter releasedCounter;
+    private final Timer lagTimer;
+
+    public ReservationExpiryScheduler(ReservationExpiryService reservationExpiryService, MeterRegistry meterRegistry,
+            @Value("${genai-demo.inventory-reservation.expiry.tick-millis:1000}") long tickMillis) {
+        this.reservationExpiryService = reservationExpiryService;
+        this.tickMillis = tickMillis;
+        this.releasedCounter = Counter.builder("inventory.reservation.expiry.released")
+                .description("Number of expired reservations released")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("inventory.reservation.expiry.lag")
+                .description("Delay between reservation expiry and its release")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservation.expiry.backlog", backlog, AtomicLong::get)
+                .description("Expired reservations not yet released")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservation.expiry.scheduled", scheduled, AtomicLong::get)
+                .description("Reservations waiting in the expiry wheel")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 推進一個刻度並記錄指標
+     *
+     * @return 本刻度的釋放結果，失敗時為 null
+     */
+    public ExpiryRound tick() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            ExpiryRound round = reservationExpiryService.tick(now);
+            for (ExpiredReservation reservation : round.released()) {
+                lagTimer.record(Duration.between(reservation.expiresAt(), now));
+            }
+            releasedCounter.increment(round.released().size());
+            backlog.set(round.backlog());
+            scheduled.set(round.scheduled());
+            if (!round.released().isEmpty()) {
+                logger.debug("Released {} expired reservations", round.released().size());
+            }
+            return round;
+        } catch (RuntimeException e) {
+            logger.error("Reservation expiry tick failed", e);
+            return null;
+        }
+    }
+}
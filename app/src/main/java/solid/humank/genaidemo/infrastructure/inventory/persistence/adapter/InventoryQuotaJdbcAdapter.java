@@ -0,0 +1,159 @@
+package solid.humank.genaidemo.infrastructure.inventory.persistence.adapter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryQuotaPort;
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort.ReservationLine;
+
+/**
+ * 庫存配額 JDBC 適配器
+ * 領取與結算都先鎖定庫存列，再調整同一商品的配額分片，
+ * 因此同一商品的配額變動彼此序列化，分片列不需要額外的並發控制。
+ */
+@Component
+public class InventoryQuotaJdbcAdapter implements InventoryQuotaPort {
+
+    private static final String SELECT_FOR_UPDATE = """
+            SELECT available_quantity, status FROM inventories WHERE product_id = :productId FOR UPDATE
+            """;
+
+    private static final String ADJUST_INVENTORY = """
+            UPDATE inventories
+            SET available_quantity = available_quantity + :availableDelta,
+                reserved_quantity = reserved_quantity + :reservedDelta,
+                updated_at = :now, version = version + 1
+            WHERE product_id = :productId
+            """;
+
+    private static final String ADD_TO_SLICE = """
+            UPDATE inventory_quota_slices SET quantity = quantity + :quantity, updated_at = :now
+            WHERE product_id = :productId AND node_id = :nodeId
+            """;
+
+    private static final String INSERT_SLICE = """
+            INSERT INTO inventory_quota_slices (product_id, node_id, quantity, updated_at)
+            VALUES (:productId, :nodeId, :quantity, :now)
+            """;
+
+    private static final String TAKE_FROM_SLICE = """
+            UPDATE inventory_quota_slices SET quantity = quantity - :quantity, updated_at = :now
+            WHERE product_id = :productId AND node_id = :nodeId AND quantity >= :quantity
+            """;
+
+    private static final String SELECT_NODE_SLICES = """
+            SELECT product_id, quantity FROM inventory_quota_slices WHERE node_id = :nodeId
+            """;
+
+    private static final String DELETE_NODE_SLICE = """
+            DELETE FROM inventory_quota_slices WHERE product_id = :productId AND node_id = :nodeId
+            """;
+
+    private static final String INSERT_RESERVATION_BY_PRODUCT = """
+            INSERT INTO inventory_reservations
+                (id, inventory_id, order_id, quantity, status, expires_at, created_at, updated_at, version)
+            SELECT ?, id, ?, ?, 'ACTIVE', ?, ?, ?, 0 FROM inventories WHERE product_id = ?
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public InventoryQuotaJdbcAdapter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public OptionalInt claim(String productId, String nodeId, int requested) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_FOR_UPDATE,
+                Map.of("productId", productId));
+        if (rows.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        Map<String, Object> row = rows.get(0);
+        if (!"ACTIVE".equals(row.get("status"))) {
+            return OptionalInt.of(0);
+        }
+        int granted = Math.min(requested, ((Number) row.get("available_quantity")).intValue());
+        if (granted <= 0) {
+            return OptionalInt.of(0);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        adjustInventory(productId, -granted, 0, now);
+        MapSqlParameterSource slice = sliceParams(productId, nodeId, granted, now);
+        // 庫存列已鎖定，同一商品不會有並發的分片插入
+        if (jdbcTemplate.update(ADD_TO_SLICE, slice) == 0) {
+            jdbcTemplate.update(INSERT_SLICE, slice);
+        }
+        return OptionalInt.of(granted);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void settle(String productId, String nodeId, List<ReservationLine> consumed, int returned) {
+        int consumedQuantity = consumed.stream().mapToInt(ReservationLine::quantity).sum();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // 鎖定庫存列，與同一商品的領取序列化
+        jdbcTemplate.queryForList(SELECT_FOR_UPDATE, Map.of("productId", productId));
+        if (jdbcTemplate.update(TAKE_FROM_SLICE,
+                sliceParams(productId, nodeId, consumedQuantity + returned, now)) == 0) {
+            throw new IllegalStateException("Quota slice of node " + nodeId + " for product " + productId
+                    + " does not cover " + (consumedQuantity + returned) + " units");
+        }
+        adjustInventory(productId, returned, consumedQuantity, now);
+
+        if (!consumed.isEmpty()) {
+            List<Object[]> args = new ArrayList<>(consumed.size());
+            for (ReservationLine line : consumed) {
+                args.add(new Object[] {
+                        line.reservationId(), line.orderId(), line.quantity(),
+                        line.expiresAt() != null ? Timestamp.valueOf(line.expiresAt()) : null,
+                        now, now, productId });
+            }
+            jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_RESERVATION_BY_PRODUCT, args);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int reclaim(String nodeId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int reclaimed = 0;
+        for (Map<String, Object> slice : jdbcTemplate.queryForList(SELECT_NODE_SLICES, Map.of("nodeId", nodeId))) {
+            String productId = (String) slice.get("product_id");
+            int quantity = ((Number) slice.get("quantity")).intValue();
+            jdbcTemplate.queryForList(SELECT_FOR_UPDATE, Map.of("productId", productId));
+            adjustInventory(productId, quantity, 0, now);
+            jdbcTemplate.update(DELETE_NODE_SLICE, Map.of("productId", productId, "nodeId", nodeId));
+            reclaimed += quantity;
+        }
+        return reclaimed;
+    }
+
+    private void adjustInventory(String productId, int availableDelta, int reservedDelta, Timestamp now) {
+        jdbcTemplate.update(ADJUST_INVENTORY, new MapSqlParameterSource()
+                .addValue("availableDelta", availableDelta)
+                .addValue("reservedDelta", reservedDelta)
+                .addValue("now", now)
+                .addValue("productId", productId));
+    }
+
+    private static MapSqlParameterSource sliceParams(String productId, String nodeId, int quantity, Timestamp now) {
+        return new MapSqlParameterSource()
+                .addValue("productId", productId)
+                .addValue("nodeId", nodeId)
+                .addValue("quantity", quantity)
+                .addValue("now", now);
+    }
+}
@@ -0,0 +1,244 @@
+package solid.humank.genaidemo.infrastructure.inventory.persistence.adapter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort;
+
+/**
+ * 庫存預留 JDBC 適配器
+ * 常見情況以單一條件 UPDATE 扣減整批數量，資料庫的列鎖只持有到交易提交；
+ * 只有整批無法滿足時才以 SELECT ... FOR UPDATE 鎖定庫存列並逐筆配給。
+ * 扣減同時遞增版本號，讓走聚合根路徑的寫入能偵測到並發變更。
+ */
+@Component
+public class InventoryReservationJdbcAdapter implements InventoryReservationPort {
+
+    private static final String RESERVE_IF_AVAILABLE = """
+            UPDATE inventories
+            SET available_quantity = available_quantity - :quantity,
+                reserved_quantity = reserved_quantity + :quantity,
+                updated_at = :now, version = version + 1
+            WHERE product_id = :productId AND status = 'ACTIVE' AND available_quantity >= :quantity
+            """;
+
+    private static final String INSERT_RESERVATION_BY_PRODUCT = """
+            INSERT INTO inventory_reservations
+                (id, inventory_id, order_id, quantity, status, expires_at, created_at, updated_at, version)
+            SELECT ?, id, ?, ?, 'ACTIVE', ?, ?, ?, 0 FROM inventories WHERE product_id = ?
+            """;
+
+    private static final String SELECT_FOR_UPDATE = """
+            SELECT id, available_quantity, status FROM inventories WHERE product_id = :productId FOR UPDATE
+            """;
+
+    private static final String APPLY_RESERVED = """
+            UPDATE inventories
+            SET available_quantity = available_quantity - :quantity,
+                reserved_quantity = reserved_quantity + :quantity,
+                updated_at = :now, version = version + 1
+            WHERE id = :inventoryId
+            """;
+
+    private static final String INSERT_RESERVATION = """
+            INSERT INTO inventory_reservations
+                (id, inventory_id, order_id, quantity, status, expires_at, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, 'ACTIVE', ?, ?, ?, 0)
+            """;
+
+    private static final String SELECT_ACTIVE_RESERVATION = """
+            SELECT inventory_id, quantity FROM inventory_reservations WHERE id = :id AND status = 'ACTIVE'
+            """;
+
+    private static final String MARK_RELEASED = """
+            UPDATE inventory_reservations
+            SET status = 'RELEASED', updated_at = :now, version = version + 1
+            WHERE id = :id AND status = 'ACTIVE'
+            """;
+
+    private static final String RETURN_BY_INVENTORY = """
+            UPDATE inventories
+            SET available_quantity = available_quantity + :quantity,
+                reserved_quantity = reserved_quantity - :quantity,
+                updated_at = :now, version = version + 1
+            WHERE id = :inventoryId
+            """;
+
+    private static final String RETURN_BY_PRODUCT = """
+            UPDATE inventories
+            SET available_quantity = available_quantity + :quantity,
+                reserved_quantity = reserved_quantity - :quantity,
+                updated_at = :now, version = version + 1
+            WHERE product_id = :productId AND reserved_quantity >= :quantity
+            """;
+
+    private static final String SELECT_RESERVATION_FOR_UPDATE = """
+            SELECT inventory_id, quantity, status FROM inventory_reservations WHERE id = :id FOR UPDATE
+            """;
+
+    private static final String MARK_CONFIRMED = """
+            UPDATE inventory_reservations
+            SET status = 'CONFIRMED', updated_at = :now, version = version + 1
+            WHERE id = :id AND status = 'ACTIVE'
+            """;
+
+    private static final String DEDUCT_BY_INVENTORY = """
+            UPDATE inventories
+            SET total_quantity = total_quantity - :quantity,
+                reserved_quantity = reserved_quantity - :quantity,
+                updated_at = :now, version = version + 1
+            WHERE id = :inventoryId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public InventoryReservationJdbcAdapter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean reserveAll(String productId, List<ReservationLine> lines) {
+        int total = totalOf(lines);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = jdbcTemplate.update(RESERVE_IF_AVAILABLE, new MapSqlParameterSource()
+                .addValue("quantity", total)
+                .addValue("now", now)
+                .addValue("productId", productId));
+        if (updated == 0) {
+            return false;
+        }
+
+        List<Object[]> args = new ArrayList<>(lines.size());
+        for (ReservationLine line : lines) {
+            args.add(new Object[] {
+                    line.reservationId(), line.orderId(), line.quantity(), timestampOf(line.expiresAt()),
+                    now, now, productId });
+        }
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_RESERVATION_BY_PRODUCT, args);
+        return true;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<List<ReservationLine>> reserveInOrder(String productId, List<ReservationLine> lines) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_FOR_UPDATE,
+                Map.of("productId", productId));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, Object> row = rows.get(0);
+        if (!"ACTIVE".equals(row.get("status"))) {
+            return Optional.of(List.of());
+        }
+
+        Object inventoryId = row.get("id");
+        int remaining = ((Number) row.get("available_quantity")).intValue();
+        List<ReservationLine> granted = new ArrayList<>();
+        for (ReservationLine line : lines) {
+            if (line.quantity() <= remaining) {
+                granted.add(line);
+                remaining -= line.quantity();
+            }
+        }
+        if (granted.isEmpty()) {
+            return Optional.of(List.of());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(APPLY_RESERVED, new MapSqlParameterSource()
+                .addValue("quantity", totalOf(granted))
+                .addValue("now", now)
+                .addValue("inventoryId", inventoryId));
+
+        List<Object[]> args = new ArrayList<>(granted.size());
+        for (ReservationLine line : granted) {
+            args.add(new Object[] {
+                    line.reservationId(), inventoryId, line.orderId(), line.quantity(),
+                    timestampOf(line.expiresAt()), now, now });
+        }
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_RESERVATION, args);
+        return Optional.of(granted);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(UUID reservationId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_ACTIVE_RESERVATION,
+                Map.of("id", reservationId));
+        if (rows.isEmpty()) {
+            return false;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // 以狀態為條件，並發的重複釋放只有一個會成功
+        if (jdbcTemplate.update(MARK_RELEASED, Map.of("id", reservationId, "now", now)) == 0) {
+            return false;
+        }
+        Map<String, Object> row = rows.get(0);
+        jdbcTemplate.update(RETURN_BY_INVENTORY, new MapSqlParameterSource()
+                .addValue("quantity", ((Number) row.get("quantity")).intValue())
+                .addValue("now", now)
+                .addValue("inventoryId", row.get("inventory_id")));
+        return true;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean releaseQuantity(String productId, int quantity) {
+        return jdbcTemplate.update(RETURN_BY_PRODUCT, new MapSqlParameterSource()
+                .addValue("quantity", quantity)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("productId", productId)) > 0;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean confirmAll(List<UUID> reservationIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (UUID reservationId : reservationIds) {
+            // 鎖定預留列，與並發的釋放與過期掃描互斥
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_RESERVATION_FOR_UPDATE,
+                    Map.of("id", reservationId));
+            Object status = rows.isEmpty() ? null : rows.get(0).get("status");
+            if ("CONFIRMED".equals(status)) {
+                continue;
+            }
+            if (!"ACTIVE".equals(status)) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return false;
+            }
+            Map<String, Object> row = rows.get(0);
+            jdbcTemplate.update(MARK_CONFIRMED, Map.of("id", reservationId, "now", now));
+            jdbcTemplate.update(DEDUCT_BY_INVENTORY, new MapSqlParameterSource()
+                    .addValue("quantity", ((Number) row.get("quantity")).intValue())
+                    .addValue("now", now)
+                    .addValue("inventoryId", row.get("inventory_id")));
+        }
+        return true;
+    }
+
+    private static int totalOf(List<ReservationLine> lines) {
+        int total = 0;
+        for (ReservationLine line : lines) {
+            total += line.quantity();
+        }
+        return total;
+    }
+
+    private static Timestamp timestampOf(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
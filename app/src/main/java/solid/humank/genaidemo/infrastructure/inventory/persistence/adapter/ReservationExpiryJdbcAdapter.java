@@ -0,0 +1,142 @@
+package solid.humank.genaidemo.infrastructure.inventory.persistence.adapter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import solid.humank.genaidemo.application.inventory.port.outgoing.ReservationExpiryPort;
+
+/**
+ * 預留過期 JDBC 適配器
+ * 查詢走 idx_inventory_reservations_expiry 索引；釋放時先以狀態條件更新預留列，
+ * 再依庫存ID順序歸還數量，與單筆釋放相同的「預留列 → 庫存列」加鎖順序，避免死結。
+ */
+@Component
+public class ReservationExpiryJdbcAdapter implements ReservationExpiryPort {
+
+    private static final String SELECT_EXPIRING = """
+            SELECT id, expires_at FROM inventory_reservations
+            WHERE status = 'ACTIVE' AND expires_at <= :until
+            ORDER BY expires_at, id
+            LIMIT :limit
+            """;
+
+    private static final String SELECT_EXPIRING_AFTER = """
+            SELECT id, expires_at FROM inventory_reservations
+            WHERE status = 'ACTIVE' AND expires_at <= :until
+              AND (expires_at > :afterExpiresAt OR (expires_at = :afterExpiresAt AND id > :afterId))
+            ORDER BY expires_at, id
+            LIMIT :limit
+            """;
+
+    private static final String SELECT_OVERDUE = """
+            SELECT r.id, r.inventory_id, r.order_id, r.quantity, r.expires_at, i.product_id
+            FROM inventory_reservations r JOIN inventories i ON i.id = r.inventory_id
+            WHERE r.id IN (:ids) AND r.status = 'ACTIVE' AND r.expires_at <= :now
+            """;
+
+    private static final String MARK_EXPIRED = """
+            UPDATE inventory_reservations
+            SET status = 'EXPIRED', updated_at = ?, version = version + 1
+            WHERE id = ? AND status = 'ACTIVE' AND expires_at <= ?
+            """;
+
+    private static final String RETURN_BY_INVENTORY = """
+            UPDATE inventories
+            SET available_quantity = available_quantity + ?,
+                reserved_quantity = reserved_quantity - ?,
+                updated_at = ?, version = version + 1
+            WHERE id = ?
+            """;
+
+    private static final String COUNT_OVERDUE = """
+            SELECT COUNT(*) FROM inventory_reservations WHERE status = 'ACTIVE' AND expires_at <= :now
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ReservationExpiryJdbcAdapter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExpiringReservation> findExpiring(LocalDateTime until, ExpiringReservation after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("until", Timestamp.valueOf(until))
+                .addValue("limit", limit);
+        String sql = SELECT_EXPIRING;
+        if (after != null) {
+            sql = SELECT_EXPIRING_AFTER;
+            params.addValue("afterExpiresAt", Timestamp.valueOf(after.expiresAt()))
+                    .addValue("afterId", after.reservationId());
+        }
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new ExpiringReservation(
+                rs.getObject("id", UUID.class), rs.getTimestamp("expires_at").toLocalDateTime()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<ExpiredReservation> expire(Collection<UUID> reservationIds, LocalDateTime now) {
+        if (reservationIds.isEmpty()) {
+            return List.of();
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<ExpiredReservation> candidates = new ArrayList<>(jdbcTemplate.query(SELECT_OVERDUE,
+                new MapSqlParameterSource().addValue("ids", reservationIds).addValue("now", timestamp),
+                (rs, rowNum) -> new ExpiredReservation(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("inventory_id", UUID.class),
+                        rs.getString("product_id"),
+                        rs.getObject("order_id", UUID.class),
+                        rs.getInt("quantity"),
+                        rs.getTimestamp("expires_at").toLocalDateTime())));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        // 固定順序加鎖，並發的過期批次之間不會死結
+        candidates.sort(Comparator.comparing(ExpiredReservation::reservationId));
+
+        List<Object[]> markArgs = new ArrayList<>(candidates.size());
+        for (ExpiredReservation candidate : candidates) {
+            markArgs.add(new Object[] { timestamp, candidate.reservationId(), timestamp });
+        }
+        int[] marked = jdbcTemplate.getJdbcOperations().batchUpdate(MARK_EXPIRED, markArgs);
+
+        // 讀取之後被確認或釋放的預留更新筆數為 0，不歸還數量
+        List<ExpiredReservation> expired = new ArrayList<>(candidates.size());
+        Map<UUID, Integer> returnedByInventory = new TreeMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (marked[i] > 0) {
+                ExpiredReservation reservation = candidates.get(i);
+                expired.add(reservation);
+                returnedByInventory.merge(reservation.inventoryId(), reservation.quantity(), Integer::sum);
+            }
+        }
+
+        List<Object[]> returnArgs = new ArrayList<>(returnedByInventory.size());
+        returnedByInventory.forEach((inventoryId, quantity) -> returnArgs.add(
+                new Object[] { quantity, quantity, timestamp, inventoryId }));
+        jdbcTemplate.getJdbcOperations().batchUpdate(RETURN_BY_INVENTORY, returnArgs);
+        return expired;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countOverdue(LocalDateTime now) {
+        Long count = jdbcTemplate.queryForObject(COUNT_OVERDUE, Map.of("now", Timestamp.valueOf(now)), Long.class);
+        return count != null ? count : 0L;
+    }
+}
@@ -0,0 +1,109 @@
+package solid.humank.genaidemo.infrastructure.inventory.persistence.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * 庫存配額分片 JPA 實體
+ *
+ * 記錄各節點已從可用數量領取、尚未結算的配額。只由 JDBC 以庫存列鎖保護的交易更新，
+ * 因此不繼承 BaseOptimisticLockingEntity。
+ */
+@Entity
+@Table(name = "inventory_quota_slices", indexes = {
+        @Index(name = "idx_inventory_quota_slices_node", columnList = "node_id")
+})
+@IdClass(JpaInventoryQuotaSliceEntity.SliceKey.class)
+public class JpaInventoryQuotaSliceEntity {
+
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+
+    @Id
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(name = "quantity", nullable = false)
+    private int quantity;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 默認建構子，JPA 需要
+    public JpaInventoryQuotaSliceEntity() {
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /** 複合主鍵 */
+    public static class SliceKey implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String productId;
+        private String nodeId;
+
+        public SliceKey() {
+        }
+
+        public SliceKey(String productId, String nodeId) {
+            this.productId = productId;
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SliceKey other)) {
+                return false;
+            }
+            return Objects.equals(productId, other.productId) && Objects.equals(nodeId, other.nodeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, nodeId);
+        }
+    }
+}
@@ -13,7 +13,10 @@ import solid.humank.genaidemo.infrastructure.common.persistence.BaseOptimisticLo
  * 需求: 1.1 - 並發控制機制全面重構
  */
 @Entity
-@Table(name = "inventory_reservations")
+@Table(name = "inventory_reservations", indexes = {
+        // 預留過期排程依 (到期時間, ID) 順序掃描有效預留
+        @Index(name = "idx_inventory_reservations_expiry", columnList = "status, expires_at, id")
+})
 public class JpaReservationEntity extends BaseOptimisticLockingEntity {
 
     @Id
@@ -1,12 +1,15 @@
 package solid.humank.genaidemo.infrastructure.metrics;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * Business Metrics Service
@@ -20,47 +23,84 @@ import java.util.function.Supplier;
  * - Gauge: Current value that can go up or down (active users, queue size)
  * - Timer: Duration and rate of events (order processing time)
  * 
+ * Meters are resolved through a {@link MeterHandleCache}, so each (name, tag
+ * values) pair is registered once and later events only look up the handle.
+ * Durations are recorded from {@code System.nanoTime()} differences via the
+ * {@code *Nanos} methods without allocating {@link java.time.Duration} objects.
+ * 
  * @author GenAI Demo Team
  * @since 1.0
  */
 @Service
 public class BusinessMetricsService {
 
+    /** Distinct tag value combinations kept per metric before using the overflow bucket */
+    static final int MAX_TAG_COMBINATIONS = 200;
+
+    private static final int MIN_HTTP_STATUS = 100;
+    /** Status code tag values built once so recording an API call does not format an int */
+    private static final String[] STATUS_TAGS = IntStream.range(MIN_HTTP_STATUS, 600)
+            .mapToObj(String::valueOf)
+            .toArray(String[]::new);
+
     private final MeterRegistry meterRegistry;
 
+    private final MeterHandleCache.Family<Counter> ordersCreated;
+    private final DistributionSummary orderValue;
+    private final MeterHandleCache.Family<Counter> paymentsProcessed;
+    private final DistributionSummary paymentAmount;
+    private final MeterHandleCache.Family<Counter> customersRegistered;
+    private final MeterHandleCache.Family<Timer> operationDuration;
+    private final MeterHandleCache.Family<Counter> cacheAccess;
+    private final MeterHandleCache.Family<Timer> databaseQuery;
+    private final MeterHandleCache.Family<Counter> externalApiCalls;
+    private final MeterHandleCache.Family<Timer> externalApiDuration;
+    private final MeterHandleCache.Family<Counter> businessErrors;
+
     public BusinessMetricsService(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
+        MeterHandleCache meters = new MeterHandleCache(meterRegistry, MAX_TAG_COMBINATIONS);
+
+        this.ordersCreated = meters.counters("business.orders.created",
+                "Total number of orders created", "order_type");
+        this.orderValue = meterRegistry.summary("business.orders.value");
+        this.paymentsProcessed = meters.counters("business.payments.processed",
+                "Total number of payments processed", "payment_method", "status");
+        this.paymentAmount = meterRegistry.summary("business.payments.amount");
+        this.customersRegistered = meters.counters("business.customers.registered",
+                "Total number of customers registered", "source");
+        this.operationDuration = meters.timers("business.operation.duration",
+                "Duration of business operations", "operation", "status");
+        this.cacheAccess = meters.counters("business.cache.access",
+                "Cache access count", "cache", "result");
+        this.databaseQuery = meters.timers("business.database.query",
+                "Database query execution time", "query_type");
+        this.externalApiCalls = meters.counters("business.external.api.calls",
+                "External API calls", "api", "status");
+        this.externalApiDuration = meters.timers("business.external.api.duration",
+                "External API call duration", "api");
+        this.businessErrors = meters.counters("business.errors",
+                "Business errors count", "error_type", "error_code");
     }
 
     /**
      * Record order created event
      */
     public void recordOrderCreated(String orderType, double orderValue) {
-        Counter.builder("business.orders.created")
-                .description("Total number of orders created")
-                .tag("order_type", orderType)
-                .register(meterRegistry)
-                .increment();
+        ordersCreated.get(orderType).increment();
 
         // Record order value
-        meterRegistry.summary("business.orders.value")
-                .record(orderValue);
+        this.orderValue.record(orderValue);
     }
 
     /**
      * Record payment processed event
      */
     public void recordPaymentProcessed(String paymentMethod, double amount, boolean success) {
-        Counter.builder("business.payments.processed")
-                .description("Total number of payments processed")
-                .tag("payment_method", paymentMethod)
-                .tag("status", success ? "success" : "failed")
-                .register(meterRegistry)
-                .increment();
+        paymentsProcessed.get(paymentMethod, success ? "success" : "failed").increment();
 
         if (success) {
-            meterRegistry.summary("business.payments.amount")
-                    .record(amount);
+            paymentAmount.record(amount);
         }
     }
 
@@ -68,11 +108,7 @@ public class BusinessMetricsService {
      * Record customer registration event
      */
     public void recordCustomerRegistration(String registrationSource) {
-        Counter.builder("business.customers.registered")
-                .description("Total number of customers registered")
-                .tag("source", registrationSource)
-                .register(meterRegistry)
-                .increment();
+        customersRegistered.get(registrationSource).increment();
     }
 
     /**
@@ -86,11 +122,14 @@ public class BusinessMetricsService {
      * Stop timer and record duration
      */
     public void stopTimer(Timer.Sample sample, String operation, String status) {
-        sample.stop(Timer.builder("business.operation.duration")
-                .description("Duration of business operations")
-                .tag("operation", operation)
-                .tag("status", status)
-                .register(meterRegistry));
+        sample.stop(operationDuration.get(operation, status));
+    }
+
+    /**
+     * Record business operation duration measured with {@code System.nanoTime()}
+     */
+    public void recordOperationDuration(String operation, String status, long durationNanos) {
+        operationDuration.get(operation, status).record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -111,53 +150,43 @@ public class BusinessMetricsService {
      * Record cache hit/miss
      */
     public void recordCacheAccess(String cacheName, boolean hit) {
-        Counter.builder("business.cache.access")
-                .description("Cache access count")
-                .tag("cache", cacheName)
-                .tag("result", hit ? "hit" : "miss")
-                .register(meterRegistry)
-                .increment();
+        cacheAccess.get(cacheName, hit ? "hit" : "miss").increment();
     }
 
     /**
      * Record database query execution
      */
     public void recordDatabaseQuery(String queryType, long durationMs) {
-        Timer.builder("business.database.query")
-                .description("Database query execution time")
-                .tag("query_type", queryType)
-                .register(meterRegistry)
-                .record(java.time.Duration.ofMillis(durationMs));
+        databaseQuery.get(queryType).record(durationMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record database query execution measured with {@code System.nanoTime()}
+     */
+    public void recordDatabaseQueryNanos(String queryType, long durationNanos) {
+        databaseQuery.get(queryType).record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     /**
      * Record external API call
      */
     public void recordExternalApiCall(String apiName, int statusCode, long durationMs) {
-        Counter.builder("business.external.api.calls")
-                .description("External API calls")
-                .tag("api", apiName)
-                .tag("status", String.valueOf(statusCode))
-                .register(meterRegistry)
-                .increment();
+        recordExternalApiCallNanos(apiName, statusCode, TimeUnit.MILLISECONDS.toNanos(durationMs));
+    }
 
-        Timer.builder("business.external.api.duration")
-                .description("External API call duration")
-                .tag("api", apiName)
-                .register(meterRegistry)
-                .record(java.time.Duration.ofMillis(durationMs));
+    /**
+     * Record external API call measured with {@code System.nanoTime()}
+     */
+    public void recordExternalApiCallNanos(String apiName, int statusCode, long durationNanos) {
+        externalApiCalls.get(apiName, statusTag(statusCode)).increment();
+        externalApiDuration.get(apiName).record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     /**
      * Record business error
      */
     public void recordBusinessError(String errorType, String errorCode) {
-        Counter.builder("business.errors")
-                .description("Business errors count")
-                .tag("error_type", errorType)
-                .tag("error_code", errorCode)
-                .register(meterRegistry)
-                .increment();
+        businessErrors.get(errorType, errorCode).increment();
     }
 
     /**
@@ -180,4 +209,9 @@ public class BusinessMetricsService {
                 queueSizeSupplier,
                 "queue", queueName);
     }
+
+    private static String statusTag(int statusCode) {
+        int index = statusCode - MIN_HTTP_STATUS;
+        return index >= 0 && index < STATUS_TAGS.length ? STATUS_TAGS[index] : String.valueOf(statusCode);
+    }
 }
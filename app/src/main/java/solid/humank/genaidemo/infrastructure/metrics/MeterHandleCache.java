@@ -0,0 +1,172 @@
+package solid.humank.genaidemo.infrastructure.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meter Handle Cache
+ *
+ * Builds each meter once per (name, tag values) and hands back the registered
+ * handle on later calls, so recording a business event costs a map lookup
+ * instead of a builder, a tag array sort and a registry lookup.
+ *
+ * Each family accepts at most {@code maxTagCombinations} distinct tag value
+ * combinations. Further combinations are recorded on a single overflow meter
+ * whose tag values are all {@value #OVERFLOW_TAG_VALUE}, which keeps
+ * unexpected high-cardinality input (ids, raw error messages) from growing
+ * the registry without bound.
+ *
+ * @author GenAI Demo Team
+ * @since 1.0
+ */
+public final class MeterHandleCache {
+
+    public static final String OVERFLOW_TAG_VALUE = "OVERFLOW";
+    static final String MISSING_TAG_VALUE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTagCombinations;
+
+    public MeterHandleCache(MeterRegistry meterRegistry, int maxTagCombinations) {
+        if (maxTagCombinations <= 0) {
+            throw new IllegalArgumentException("maxTagCombinations must be positive");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxTagCombinations = maxTagCombinations;
+    }
+
+    /**
+     * Declare a counter family
+     */
+    public Family<Counter> counters(String name, String description, String... tagKeys) {
+        return new Family<>(tagKeys, tags -> Counter.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Declare a timer family
+     */
+    public Family<Timer> timers(String name, String description, String... tagKeys) {
+        return new Family<>(tagKeys, tags -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Meters sharing a name and tag keys, keyed by tag values
+     */
+    public final class Family<M extends Meter> {
+
+        private final String[] tagKeys;
+        private final Function<Tags, M> factory;
+        private final Map<String, M> byFirstValue = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, M>> byTwoValues = new ConcurrentHashMap<>();
+        private final AtomicInteger combinations = new AtomicInteger();
+        private volatile M overflow;
+
+        private Family(String[] tagKeys, Function<Tags, M> factory) {
+            if (tagKeys.length < 1 || tagKeys.length > 2) {
+                throw new IllegalArgumentException("Meter families support one or two tag keys");
+            }
+            this.tagKeys = tagKeys.clone();
+            this.factory = factory;
+        }
+
+        /**
+         * Handle for a single-tag family
+         */
+        public M get(String value) {
+            requireArity(1);
+            String key = normalize(value);
+            M meter = byFirstValue.get(key);
+            if (meter == null) {
+                meter = byFirstValue.computeIfAbsent(key, k -> registerIfWithinLimit(k));
+            }
+            return meter != null ? meter : overflow();
+        }
+
+        /**
+         * Handle for a two-tag family
+         */
+        public M get(String firstValue, String secondValue) {
+            requireArity(2);
+            String first = normalize(firstValue);
+            String second = normalize(secondValue);
+            Map<String, M> inner = byTwoValues.get(first);
+            M meter = inner != null ? inner.get(second) : null;
+            if (meter == null) {
+                if (inner == null) {
+                    if (combinations.get() >= maxTagCombinations) {
+                        return overflow();
+                    }
+                    inner = byTwoValues.computeIfAbsent(first, k -> new ConcurrentHashMap<>());
+                }
+                meter = inner.computeIfAbsent(second, k -> registerIfWithinLimit(first, second));
+            }
+            return meter != null ? meter : overflow();
+        }
+
+        /**
+         * Number of distinct tag value combinations registered, excluding overflow
+         */
+        public int size() {
+            return combinations.get();
+        }
+
+        private M registerIfWithinLimit(String... values) {
+            if (combinations.incrementAndGet() > maxTagCombinations) {
+                combinations.decrementAndGet();
+                // null keeps the combination out of the map so it keeps hitting overflow
+                return null;
+            }
+            return factory.apply(tags(values));
+        }
+
+        private M overflow() {
+            M meter = overflow;
+            if (meter == null) {
+                synchronized (this) {
+                    meter = overflow;
+                    if (meter == null) {
+                        String[] values = new String[tagKeys.length];
+                        Arrays.fill(values, OVERFLOW_TAG_VALUE);
+                        meter = factory.apply(tags(values));
+                        overflow = meter;
+                    }
+                }
+            }
+            return meter;
+        }
+
+        private Tags tags(String[] values) {
+            Tags tags = Tags.empty();
+            for (int i = 0; i < tagKeys.length; i++) {
+                tags = tags.and(tagKeys[i], values[i]);
+            }
+            return tags;
+        }
+
+        private void requireArity(int arity) {
+            if (tagKeys.length != arity) {
+                throw new IllegalArgumentException(
+                        "Meter family expects " + tagKeys.length + " tag values but got " + arity);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isEmpty() ? MISSING_TAG_VALUE : value;
+    }
+}
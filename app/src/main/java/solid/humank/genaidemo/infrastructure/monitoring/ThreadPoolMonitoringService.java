@@ -0,0 +1,163 @@
+package solid.humank.genaidemo.infrastructure.monitoring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import solid.humank.genaidemo.infrastructure.config.VirtualThreadTaskExecutor;
+
+/**
+ * 線程池監控服務
+ * 為平台線程池與 Virtual Thread 執行器註冊相同名稱的 KEDA / HPA 指標，
+ * 以 {@code mode} 標籤區分執行模式，讓兩種模式的並行度與排隊情況可以直接比較。
+ *
+ * 指標對應：
+ * - 平台線程池：活躍線程數 / maxPoolSize，佇列長度 / 佇列容量
+ * - Virtual Thread：執行中任務數 / 並行上限，等待許可的任務數 / 等待容量
+ */
+@Service
+public class ThreadPoolMonitoringService {
+
+    public static final String MODE_PLATFORM = "platform";
+    public static final String MODE_VIRTUAL = "virtual";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ExecutorView> executors = new ConcurrentHashMap<>();
+
+    public ThreadPoolMonitoringService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 註冊平台線程池
+     */
+    public void register(String poolName, ThreadPoolTaskExecutor executor) {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        register(poolName, new ExecutorView(MODE_PLATFORM,
+                pool::getActiveCount,
+                pool::getMaximumPoolSize,
+                () -> pool.getQueue().size(),
+                () -> pool.getQueue().size() + pool.getQueue().remainingCapacity(),
+                pool::getCompletedTaskCount));
+    }
+
+    /**
+     * 註冊 Virtual Thread 執行器
+     */
+    public void register(String poolName, VirtualThreadTaskExecutor executor) {
+        register(poolName, new ExecutorView(MODE_VIRTUAL,
+                executor::getActiveCount,
+                executor::getMaxConcurrency,
+                executor::getQueuedCount,
+                executor::getQueueCapacity,
+                executor::getCompletedTaskCount));
+    }
+
+    /**
+     * 取得所有已註冊執行器的即時快照
+     */
+    public List<ExecutorSnapshot> getSnapshots() {
+        return executors.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .toList();
+    }
+
+    private void register(String poolName, ExecutorView view) {
+        executors.put(poolName, view);
+        Tags tags = Tags.of("pool", poolName, "component", "thread-pool", "mode", view.mode());
+
+        // 活躍線程數 - KEDA 主要監控指標
+        Gauge.builder("thread_pool_active_threads", view, v -> v.active().getAsInt())
+                .description("Number of active threads (or running virtual-thread tasks) in the executor")
+                .tags(tags)
+                .register(meterRegistry);
+
+        // 排隊任務數
+        Gauge.builder("thread_pool_queued_tasks", view, v -> v.queued().getAsInt())
+                .description("Number of tasks waiting to run")
+                .tags(tags)
+                .register(meterRegistry);
+
+        // 線程池使用率 - KEDA 擴展觸發器
+        Gauge.builder("thread_pool_utilization_ratio", view, v -> v.snapshot(poolName).utilization())
+                .description("Executor utilization ratio (active/max concurrency)")
+                .tags(tags)
+                .register(meterRegistry);
+
+        // 佇列使用率 - KEDA 背壓監控
+        Gauge.builder("thread_pool_queue_utilization_ratio", view, v -> v.snapshot(poolName).queueUtilization())
+                .description("Executor queue utilization ratio (queued/capacity)")
+                .tags(tags)
+                .register(meterRegistry);
+
+        // 線程池壓力指標 - KEDA 高級擴展邏輯
+        Gauge.builder("thread_pool_pressure_score", view, v -> v.snapshot(poolName).pressureScore())
+                .description("Executor pressure score combining utilization and queue metrics")
+                .tags(tags)
+                .register(meterRegistry);
+
+        // 完成任務數 - KEDA 吞吐量監控
+        Gauge.builder("thread_pool_completed_tasks_total", view, v -> v.completed().getAsLong())
+                .description("Total number of completed tasks")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 執行器指標來源
+     */
+    private record ExecutorView(
+            String mode,
+            IntSupplier active,
+            IntSupplier maxConcurrency,
+            IntSupplier queued,
+            IntSupplier queueCapacity,
+            LongSupplier completed) {
+
+        ExecutorSnapshot snapshot(String poolName) {
+            return new ExecutorSnapshot(poolName, mode, active.getAsInt(), maxConcurrency.getAsInt(),
+                    queued.getAsInt(), queueCapacity.getAsInt(), completed.getAsLong());
+        }
+    }
+
+    /**
+     * 執行器快照
+     *
+     * @param pool           執行器名稱
+     * @param mode           執行模式（platform / virtual）
+     * @param active         執行中的任務數
+     * @param maxConcurrency 並行上限（maxPoolSize 或信號量許可數）
+     * @param queued         等待中的任務數
+     * @param queueCapacity  等待容量
+     * @param completed      已完成的任務數
+     */
+    public record ExecutorSnapshot(String pool, String mode, int active, int maxConcurrency, int queued,
+            int queueCapacity, long completed) {
+
+        public double utilization() {
+            return maxConcurrency > 0 ? (double) active / maxConcurrency : 0.0;
+        }
+
+        public double queueUtilization() {
+            return queueCapacity > 0 ? (double) queued / queueCapacity : 0.0;
+        }
+
+        /**
+         * 綜合壓力分數：使用率 * 0.7 + 佇列壓力 * 0.3
+         */
+        public double pressureScore() {
+            double queuePressure = queued > 0 ? Math.min(queued / 10.0, 1.0) : 0.0;
+            return (utilization() * 0.7) + (queuePressure * 0.3);
+        }
+    }
+}
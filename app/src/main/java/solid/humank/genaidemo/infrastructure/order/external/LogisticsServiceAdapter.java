@@ -4,24 +4,35 @@ import org.springframework.stereotype.Component;
 import solid.humank.genaidemo.application.order.port.outgoing.LogisticsServicePort;
 import solid.humank.genaidemo.domain.common.valueobject.DeliveryOrder;
 import solid.humank.genaidemo.domain.common.valueobject.OrderId;
+import solid.humank.genaidemo.infrastructure.event.backpressure.AdaptiveConcurrencyLimiter;
+import solid.humank.genaidemo.infrastructure.event.backpressure.BackpressureManager;
+import solid.humank.genaidemo.infrastructure.event.backpressure.BackpressureRejectedException;
 
-/** 物流服務適配器 實現應用層的 LogisticsServicePort 接口 使用 ExternalLogisticsAdapter 進行實際的物流處理 */
+/**
+ * 物流服務適配器 實現應用層的 LogisticsServicePort 接口 使用 ExternalLogisticsAdapter 進行實際的物流處理
+ * 對外部物流系統的呼叫以自適應並行上限保護，過載時拋出 {@link BackpressureRejectedException}
+ */
 @Component
 public class LogisticsServiceAdapter implements LogisticsServicePort {
 
     private final ExternalLogisticsAdapter externalLogisticsAdapter;
+    private final AdaptiveConcurrencyLimiter limiter;
 
-    public LogisticsServiceAdapter() {
+    public LogisticsServiceAdapter(BackpressureManager backpressureManager) {
         this.externalLogisticsAdapter = new ExternalLogisticsAdapter();
+        this.limiter = backpressureManager.limiter(BackpressureManager.LOGISTICS);
     }
 
     @Override
     public DeliveryOrder createDeliveryOrder(OrderId orderId) {
-        return externalLogisticsAdapter.createDeliveryOrder(orderId);
+        return limiter.call(() -> externalLogisticsAdapter.createDeliveryOrder(orderId));
     }
 
     @Override
     public void updateDeliveryAddress(OrderId orderId, String address) {
-        externalLogisticsAdapter.updateDeliveryAddress(orderId, address);
+        limiter.call(() -> {
+            externalLogisticsAdapter.updateDeliveryAddress(orderId, address);
+            return null;
+        });
     }
 }
@@ -7,16 +7,25 @@ import solid.humank.genaidemo.application.order.port.outgoing.PaymentServicePort
 import solid.humank.genaidemo.application.payment.port.incoming.PaymentManagementUseCase;
 import solid.humank.genaidemo.domain.common.valueobject.Money;
 import solid.humank.genaidemo.domain.common.valueobject.PaymentResult;
+import solid.humank.genaidemo.domain.common.valueobject.PaymentStatus;
 import solid.humank.genaidemo.domain.payment.model.aggregate.Payment;
+import solid.humank.genaidemo.infrastructure.event.backpressure.AdaptiveConcurrencyLimiter;
+import solid.humank.genaidemo.infrastructure.event.backpressure.BackpressureManager;
 
-/** 訂單支付服務適配器 實現應用層的 PaymentServicePort 接口 使用 PaymentManagementUseCase 進行實際的支付操作 */
+/**
+ * 訂單支付服務適配器 實現應用層的 PaymentServicePort 接口 使用 PaymentManagementUseCase 進行實際的支付操作
+ * 支付以自適應並行上限保護，過載時快速回傳失敗；取消與退款屬於補償，不受上限限制
+ */
 @Component
 public class OrderPaymentServiceAdapter implements PaymentServicePort {
 
     private final PaymentManagementUseCase paymentManagementUseCase;
+    private final AdaptiveConcurrencyLimiter limiter;
 
-    public OrderPaymentServiceAdapter(PaymentManagementUseCase paymentManagementUseCase) {
+    public OrderPaymentServiceAdapter(PaymentManagementUseCase paymentManagementUseCase,
+            BackpressureManager backpressureManager) {
         this.paymentManagementUseCase = paymentManagementUseCase;
+        this.limiter = backpressureManager.limiter(BackpressureManager.PAYMENT);
     }
 
     /** 處理訂單支付 */
@@ -24,7 +33,7 @@ public class OrderPaymentServiceAdapter implements PaymentServicePort {
     public PaymentResult processPayment(UUID orderId, Money amount) {
         try {
             // 調用支付管理用例處理支付
-            Payment payment = paymentManagementUseCase.processPayment(orderId, amount);
+            Payment payment = limiter.call(() -> paymentManagementUseCase.processPayment(orderId, amount));
 
             // 返回支付結果
             return PaymentResult.successful(payment.getId().toString());
@@ -34,6 +43,14 @@ public class OrderPaymentServiceAdapter implements PaymentServicePort {
         }
     }
 
+    /** 查詢訂單已完成的支付 */
+    @Override
+    public Optional<PaymentResult> findCompletedPayment(UUID orderId) {
+        return paymentManagementUseCase.getPaymentByOrderId(orderId)
+                .filter(payment -> payment.getStatus() == PaymentStatus.COMPLETED)
+                .map(payment -> PaymentResult.successful(payment.getId().toString()));
+    }
+
     /** 取消支付 */
     @Override
     public PaymentResult cancelPayment(UUID orderId) {
@@ -2,16 +2,20 @@ package solid.humank.genaidemo.infrastructure.order.persistence.adapter;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
+import solid.humank.genaidemo.domain.common.aggregate.AggregatePersistenceSupport;
 import solid.humank.genaidemo.domain.common.valueobject.OrderId;
 import solid.humank.genaidemo.domain.order.model.aggregate.Order;
 import solid.humank.genaidemo.domain.order.repository.OrderRepository;
 import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
 import solid.humank.genaidemo.infrastructure.common.persistence.adapter.BaseRepositoryAdapter;
 import solid.humank.genaidemo.infrastructure.order.persistence.entity.JpaOrderEntity;
+import solid.humank.genaidemo.infrastructure.order.persistence.entity.JpaOrderItemEntity;
 import solid.humank.genaidemo.infrastructure.order.persistence.mapper.OrderMapper;
 import solid.humank.genaidemo.infrastructure.order.persistence.repository.JpaOrderRepository;
 
@@ -42,6 +46,39 @@ public class OrderRepositoryAdapter extends BaseRepositoryAdapter<Order, OrderId
         return findByCustomerId(CustomerId.of(customerId));
     }
 
+    @Override
+    public Stream<Order> streamAll(int fetchSize) {
+        return streamByKeyset(fetchSize,
+                (lastId, size) -> jpaOrderRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId == null ? "" : lastId, Limit.of(size)),
+                JpaOrderEntity::getId);
+    }
+
+    /**
+     * 只寫入變更的欄位與明細
+     * 訂單欄位直接設定到受管實體，未變更的欄位不會出現在 UPDATE 中；明細依商品ID調和，
+     * 狀態流轉等不影響明細的更新不會刪除再新增明細列。
+     */
+    @Override
+    protected void applyState(JpaOrderEntity source, JpaOrderEntity managed) {
+        managed.setCustomerId(source.getCustomerId());
+        managed.setShippingAddress(source.getShippingAddress());
+        managed.setStatus(source.getStatus());
+        managed.setTotalAmount(source.getTotalAmount());
+        managed.setEffectiveAmount(source.getEffectiveAmount());
+        managed.setCurrency(source.getCurrency());
+        managed.setUpdatedAt(source.getUpdatedAt());
+        AggregatePersistenceSupport.reconcileChildren(managed.getItems(), source.getItems(),
+                JpaOrderItemEntity::getProductId, OrderRepositoryAdapter::copyItem);
+    }
+
+    private static void copyItem(JpaOrderItemEntity source, JpaOrderItemEntity target) {
+        target.setProductName(source.getProductName());
+        target.setQuantity(source.getQuantity());
+        target.setPrice(source.getPrice());
+        target.setCurrency(source.getCurrency());
+    }
+
     // BaseRepositoryAdapter required methods
     @Override
     protected JpaOrderEntity toJpaEntity(Order aggregateRoot) {
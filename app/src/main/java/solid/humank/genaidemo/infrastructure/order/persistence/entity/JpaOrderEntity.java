@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 import solid.humank.genaidemo.domain.common.valueobject.OrderStatus;
 import solid.humank.genaidemo.infrastructure.common.persistence.BaseOptimisticLockingEntity;
 
@@ -16,6 +18,7 @@ import solid.humank.genaidemo.infrastructure.common.persistence.BaseOptimisticLo
  */
 @Entity
 @Table(name = "orders")
+@DynamicUpdate
 public class JpaOrderEntity extends BaseOptimisticLockingEntity {
 
     @Id
@@ -43,8 +46,11 @@ public class JpaOrderEntity extends BaseOptimisticLockingEntity {
 
     // createdAt 和 updatedAt 已在 BaseOptimisticLockingEntity 中定義
 
+    // 鍵集分頁串流讀取時，一批訂單的明細以 IN 查詢一次載入，避免逐筆查詢
+    // 外鍵由明細自己的 orderId 欄位寫入，不需要在新增明細後再逐筆 UPDATE order_id
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
-    @JoinColumn(name = "order_id")
+    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    @BatchSize(size = 100)
     private List<JpaOrderItemEntity> items = new ArrayList<>();
 
     // 默認建構子，JPA 需要
@@ -15,8 +15,10 @@ import solid.humank.genaidemo.infrastructure.common.persistence.BaseOptimisticLo
 @Table(name = "order_items")
 public class JpaOrderItemEntity extends BaseOptimisticLockingEntity {
 
+    // 序列一次配置 50 個ID，新增明細可以合併為 JDBC 批次；IDENTITY 會讓 Hibernate 逐筆執行 INSERT
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +24,15 @@ public interface JpaOrderRepository extends JpaRepository<JpaOrderEntity, String
      */
     List<JpaOrderEntity> findByCustomerId(String customerId);
 
+    /**
+     * 鍵集分頁查詢訂單，供串流匯出使用
+     *
+     * @param id    上一批最後一筆的訂單ID
+     * @param limit 每批筆數
+     * @return 依ID遞增排序的訂單列表
+     */
+    List<JpaOrderEntity> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
     /**
      * 根據訂單ID查詢訂單
      *
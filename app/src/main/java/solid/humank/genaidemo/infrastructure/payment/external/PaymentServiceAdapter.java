@@ -1,5 +1,6 @@
 package solid.humank.genaidemo.infrastructure.payment.external;
 
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
@@ -28,6 +29,13 @@ public class PaymentServiceAdapter implements PaymentServicePort {
         }
     }
 
+    /** 查詢訂單已完成的支付 */
+    @Override
+    public Optional<PaymentResult> findCompletedPayment(UUID orderId) {
+        // 模擬的支付系統不保存支付紀錄
+        return Optional.empty();
+    }
+
     /** 取消支付 */
     @Override
     public PaymentResult cancelPayment(UUID orderId) {
@@ -2,7 +2,9 @@ package solid.humank.genaidemo.infrastructure.payment.persistence.adapter;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import solid.humank.genaidemo.domain.common.valueobject.OrderId;
@@ -40,6 +42,14 @@ public class PaymentRepositoryAdapter extends BaseRepositoryAdapter<Payment, Pay
         return findByOrderId(OrderId.fromUUID(orderId));
     }
 
+    @Override
+    public Stream<Payment> streamAll(int fetchSize) {
+        return streamByKeyset(fetchSize,
+                (lastId, size) -> jpaPaymentRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId == null ? "" : lastId, Limit.of(size)),
+                JpaPaymentEntity::getId);
+    }
+
     // BaseRepositoryAdapter required methods
     @Override
     protected JpaPaymentEntity toJpaEntity(Payment aggregateRoot) {
@@ -3,6 +3,7 @@ package solid.humank.genaidemo.infrastructure.payment.persistence.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -21,6 +22,15 @@ public interface JpaPaymentRepository extends JpaRepository<JpaPaymentEntity, St
      */
     List<JpaPaymentEntity> findByOrderId(String orderId);
 
+    /**
+     * 鍵集分頁查詢支付，供串流匯出使用
+     *
+     * @param id    上一批最後一筆的支付ID
+     * @param limit 每批筆數
+     * @return 依ID遞增排序的支付列表
+     */
+    List<JpaPaymentEntity> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
     /**
      * 根據支付ID查詢支付
      *
@@ -1,6 +1,7 @@
 package solid.humank.genaidemo.infrastructure.pricing.persistence.adapter;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
@@ -59,6 +60,18 @@ public class PricingRuleRepositoryAdapter
                 .toList();
     }
 
+    @Override
+    public List<PricingRule> findByProductIds(Collection<ProductId> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return ((JpaPricingRuleRepository) jpaRepository)
+                .findByProductIdIn(productIds.stream().map(ProductId::getId).toList())
+                .stream()
+                .map(mapper::toDomainModel)
+                .toList();
+    }
+
     @Override
     public List<PricingRule> findByPromotionId(PromotionId promotionId) {
         return ((JpaPricingRuleRepository) jpaRepository).findByPromotionId(promotionId.value())
@@ -48,7 +48,7 @@ public class PricingRuleMapper implements DomainMapper<PricingRule, JpaPricingRu
             return null;
         }
 
-        return new PricingRule(
+        PricingRule pricingRule = new PricingRule(
                 new PriceId(entity.getId()),
                 new ProductId(entity.getProductId()),
                 PromotionId.of(entity.getPromotionId()),
@@ -58,5 +58,10 @@ public class PricingRuleMapper implements DomainMapper<PricingRule, JpaPricingRu
                 entity.getValidFrom(),
                 entity.getValidTo(),
                 ProductCategory.valueOf(entity.getProductCategory()));
+
+        // 清除在重建過程中產生的事件，因為這些不是新的業務事件
+        pricingRule.markEventsAsCommitted();
+
+        return pricingRule;
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package solid.humank.genaidemo.infrastructure.pricing.persistence.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -21,6 +22,11 @@ public interface JpaPricingRuleRepository extends JpaRepository<JpaPricingRuleEn
      */
     List<JpaPricingRuleEntity> findByProductId(String productId);
 
+    /**
+     * 根據多個產品ID查詢定價規則
+     */
+    List<JpaPricingRuleEntity> findByProductIdIn(Collection<String> productIds);
+
     /**
      * 根據促銷ID查詢定價規則
      */
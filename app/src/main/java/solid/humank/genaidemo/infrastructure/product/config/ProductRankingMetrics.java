@@ -0,0 +1,39 @@
+package solid.humank.genaidemo.infrastructure.product.config;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import solid.humank.genaidemo.application.product.service.ProductRankingService;
+
+/**
+ * 商品排行指標
+ * - product.ranking.staleness：最近一次重新計算至今的秒數
+ * - product.ranking.tracked.products / tracked.customers：追蹤中的商品數與保有推薦的客戶數
+ * - product.ranking.signals.pending / signals.dropped：待處理與因佇列已滿而捨棄的事件數
+ */
+@Component
+public class ProductRankingMetrics {
+
+    private static final String PREFIX = "product.ranking.";
+
+    public ProductRankingMetrics(ProductRankingService rankingService, MeterRegistry meterRegistry) {
+        Gauge.builder(PREFIX + "staleness", rankingService, s -> s.stats().stalenessMillis() / 1000.0)
+                .description("Age of the published product rankings")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "tracked.products", rankingService, s -> s.stats().trackedProducts())
+                .description("Products with view or purchase scores")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "tracked.customers", rankingService, s -> s.stats().trackedCustomers())
+                .description("Customers with precomputed recommendations")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "signals.pending", rankingService, s -> s.stats().pendingSignals())
+                .description("Ranking signals waiting for the next refresh")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "signals.dropped", rankingService, s -> s.stats().droppedSignals())
+                .description("Ranking signals dropped because the queue was full")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,56 @@
+package solid.humank.genaidemo.infrastructure.product.config;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import solid.humank.genaidemo.application.product.service.ProductSnapshotCache;
+
+/**
+ * 商品快照快取指標
+ * - product.snapshot.cache.requests{result=hit|miss}：命中與未命中次數
+ * - product.snapshot.cache.hit.ratio：累計命中率
+ * - product.snapshot.cache.loads / evictions / invalidations：載入、移除與失效次數
+ * - product.snapshot.cache.staleness：最舊快照的存在秒數
+ * - product.snapshot.cache.size / memory：快照數與估計記憶體用量
+ */
+@Component
+public class ProductSnapshotCacheMetrics {
+
+    private static final String PREFIX = "product.snapshot.cache.";
+
+    public ProductSnapshotCacheMetrics(ProductSnapshotCache cache, MeterRegistry meterRegistry) {
+        FunctionCounter.builder(PREFIX + "requests", cache, c -> c.stats().hits())
+                .tag("result", "hit")
+                .description("Product snapshot lookups served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "requests", cache, c -> c.stats().misses())
+                .tag("result", "miss")
+                .description("Product snapshot lookups that required a load")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "hit.ratio", cache, c -> c.stats().hitRatio())
+                .description("Cumulative product snapshot hit ratio")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "loads", cache, c -> c.stats().loads())
+                .description("Products loaded into the snapshot cache")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "evictions", cache, c -> c.stats().evictions())
+                .description("Product snapshots evicted for capacity")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "invalidations", cache, c -> c.stats().invalidations())
+                .description("Product snapshot invalidations")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "staleness", cache, c -> c.stats().oldestAgeMillis() / 1000.0)
+                .description("Age of the oldest cached product snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "size", cache, c -> c.stats().size())
+                .description("Cached product snapshots")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "memory", cache, c -> c.stats().estimatedBytes())
+                .description("Estimated memory held by product snapshots")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,86 @@
+package solid.humank.genaidemo.infrastructure.product.persistence.adapter;
+
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import solid.humank.genaidemo.application.product.port.outgoing.PriceHistoryPort;
+
+/**
+ * 價格歷史 JDBC 適配器
+ * 新增區塊依主鍵判斷是否已有其他節點先寫入；改寫區塊以版本為條件，
+ * 因此兩個節點同時附加同一商品時只有一方成功，另一方重新載入後再附加。
+ */
+@Component
+public class PriceHistoryJdbcAdapter implements PriceHistoryPort {
+
+    private static final String SELECT_CHUNKS = """
+            SELECT product_id, chunk_sequence, currency, first_epoch_second, last_epoch_second,
+                   point_count, encoded, version
+            FROM product_price_history_chunks
+            WHERE product_id = :productId
+            ORDER BY chunk_sequence
+            """;
+
+    private static final String INSERT_CHUNK = """
+            INSERT INTO product_price_history_chunks
+                (product_id, chunk_sequence, currency, first_epoch_second, last_epoch_second,
+                 point_count, encoded, version)
+            VALUES (:productId, :sequence, :currency, :first, :last, :pointCount, :encoded, :version)
+            """;
+
+    private static final String UPDATE_CHUNK = """
+            UPDATE product_price_history_chunks
+            SET last_epoch_second = :last, point_count = :pointCount, encoded = :encoded, version = :version
+            WHERE product_id = :productId AND chunk_sequence = :sequence AND version = :expectedVersion
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PriceHistoryJdbcAdapter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public List<StoredChunk> findChunks(String productId) {
+        return jdbcTemplate.query(SELECT_CHUNKS, new MapSqlParameterSource("productId", productId),
+                (rs, rowNum) -> new StoredChunk(
+                        rs.getString("product_id"),
+                        rs.getInt("chunk_sequence"),
+                        rs.getString("currency"),
+                        rs.getLong("first_epoch_second"),
+                        rs.getLong("last_epoch_second"),
+                        rs.getInt("point_count"),
+                        rs.getBytes("encoded"),
+                        rs.getLong("version")));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean saveChunk(StoredChunk chunk, long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("productId", chunk.productId())
+                .addValue("sequence", chunk.sequence())
+                .addValue("currency", chunk.currency())
+                .addValue("first", chunk.firstEpochSecond())
+                .addValue("last", chunk.lastEpochSecond())
+                .addValue("pointCount", chunk.pointCount())
+                .addValue("encoded", chunk.encoded())
+                .addValue("version", chunk.version())
+                .addValue("expectedVersion", expectedVersion);
+        if (expectedVersion > 0) {
+            return jdbcTemplate.update(UPDATE_CHUNK, params) > 0;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_CHUNK, params) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
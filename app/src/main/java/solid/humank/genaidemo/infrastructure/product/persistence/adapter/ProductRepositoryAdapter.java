@@ -1,12 +1,16 @@
 package solid.humank.genaidemo.infrastructure.product.persistence.adapter;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import solid.humank.genaidemo.domain.product.model.aggregate.Product;
 import solid.humank.genaidemo.domain.product.model.valueobject.ProductCategory;
@@ -40,6 +44,18 @@ public class ProductRepositoryAdapter extends BaseRepositoryAdapter<Product, Pro
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public List<Product> findAllByIds(Collection<ProductId> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return productJpaRepository
+                .findByProductIdInAndStatus(productIds.stream().map(ProductId::getId).toList(), ACTIVE_STATUS)
+                .stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     public List<Product> findByCategory(ProductCategory category) {
         return productJpaRepository.findByCategoryAndStatus(category.getName(), ACTIVE_STATUS).stream()
@@ -71,6 +87,15 @@ public class ProductRepositoryAdapter extends BaseRepositoryAdapter<Product, Pro
         return product; // Return original aggregate root to maintain consistency
     }
 
+    /**
+     * save() 會另外依商品ID與狀態找出既有資料列，批次保存沿用逐筆路徑
+     */
+    @Override
+    @Transactional
+    public List<Product> saveAll(List<Product> products) {
+        return products.stream().map(this::save).toList();
+    }
+
     @Override
     public void deleteById(ProductId productId) {
         productJpaRepository
@@ -99,6 +124,14 @@ public class ProductRepositoryAdapter extends BaseRepositoryAdapter<Product, Pro
         return productJpaRepository.countByStatus(ACTIVE_STATUS);
     }
 
+    @Override
+    public Stream<Product> streamAll(int fetchSize) {
+        return streamByKeyset(fetchSize,
+                (lastId, size) -> productJpaRepository.findByStatusAndProductIdGreaterThanOrderByProductIdAsc(
+                        ACTIVE_STATUS, lastId == null ? "" : lastId, Limit.of(size)),
+                ProductJpaEntity::getProductId);
+    }
+
     @Override
     public boolean existsById(ProductId productId) {
         return productJpaRepository.existsByProductIdAndStatus(productId.getId(), ACTIVE_STATUS);
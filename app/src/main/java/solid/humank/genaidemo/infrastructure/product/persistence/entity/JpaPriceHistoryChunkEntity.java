@@ -0,0 +1,116 @@
+package solid.humank.genaidemo.infrastructure.product.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * 商品價格歷史區塊 JPA 實體
+ *
+ * 只由 JDBC 以版本條件更新，實體僅用於描述資料表結構，因此不繼承 BaseOptimisticLockingEntity。
+ */
+@Entity
+@Table(name = "product_price_history_chunks")
+@IdClass(JpaPriceHistoryChunkEntity.ChunkKey.class)
+public class JpaPriceHistoryChunkEntity {
+
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+
+    @Id
+    @Column(name = "chunk_sequence", nullable = false)
+    private int chunkSequence;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "first_epoch_second", nullable = false)
+    private long firstEpochSecond;
+
+    @Column(name = "last_epoch_second", nullable = false)
+    private long lastEpochSecond;
+
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    @Column(name = "encoded", nullable = false, length = 8192)
+    private byte[] encoded;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // 默認建構子，JPA 需要
+    public JpaPriceHistoryChunkEntity() {
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getChunkSequence() {
+        return chunkSequence;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getFirstEpochSecond() {
+        return firstEpochSecond;
+    }
+
+    public long getLastEpochSecond() {
+        return lastEpochSecond;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public byte[] getEncoded() {
+        return encoded;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** 複合主鍵 */
+    public static class ChunkKey implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String productId;
+        private int chunkSequence;
+
+        public ChunkKey() {
+        }
+
+        public ChunkKey(String productId, int chunkSequence) {
+            this.productId = productId;
+            this.chunkSequence = chunkSequence;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChunkKey other)) {
+                return false;
+            }
+            return chunkSequence == other.chunkSequence && Objects.equals(productId, other.productId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, chunkSequence);
+        }
+    }
+}
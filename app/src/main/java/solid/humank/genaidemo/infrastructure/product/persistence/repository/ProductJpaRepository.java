@@ -1,8 +1,10 @@
 package solid.humank.genaidemo.infrastructure.product.persistence.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -31,6 +33,19 @@ public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, St
     /** 根據產品ID和狀態查找產品 */
     Optional<ProductJpaEntity> findByProductIdAndStatus(String productId, String status);
 
+    List<ProductJpaEntity> findByProductIdInAndStatus(Collection<String> productIds, String status);
+
+    /**
+     * 鍵集分頁查詢指定狀態的產品，供串流讀取全部產品使用
+     *
+     * @param status    產品狀態
+     * @param productId 上一批最後一筆的產品ID
+     * @param limit     每批筆數
+     * @return 依產品ID遞增排序的產品列表
+     */
+    List<ProductJpaEntity> findByStatusAndProductIdGreaterThanOrderByProductIdAsc(String status, String productId,
+            Limit limit);
+
     /** 統計活躍產品數量 */
     @Query("SELECT COUNT(p) FROM ProductJpaEntity p WHERE p.status = :status")
     long countByStatus(@Param("status") String status);
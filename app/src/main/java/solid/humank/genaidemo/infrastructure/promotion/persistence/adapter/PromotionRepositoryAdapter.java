@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import solid.humank.genaidemo.domain.promotion.model.aggregate.Promotion;
 import solid.humank.genaidemo.domain.promotion.model.valueobject.PromotionId;
@@ -37,6 +38,15 @@ public class PromotionRepositoryAdapter
         return promotion; // Return original aggregate root to maintain consistency
     }
 
+    /**
+     * save() 會另外以自訂映射寫入，批次保存沿用逐筆路徑
+     */
+    @Override
+    @Transactional
+    public List<Promotion> saveAll(List<Promotion> promotions) {
+        return promotions.stream().map(this::save).toList();
+    }
+
     @Override
     public List<Promotion> findByType(PromotionType type) {
         return jpaRepository.findByType(type.name()).stream()
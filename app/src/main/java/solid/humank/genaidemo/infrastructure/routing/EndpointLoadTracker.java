@@ -0,0 +1,135 @@
+package solid.humank.genaidemo.infrastructure.routing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EndpointLoadTracker keeps live load statistics for routed endpoints.
+ *
+ * Each endpoint tracks:
+ * - An exponentially weighted moving average (EWMA) of observed latency,
+ *   fed by health probes and by statements executed on routed connections
+ * - The number of in-flight requests currently holding the endpoint
+ *
+ * How long a connection is held says more about the caller (transaction
+ * length, application work between statements) than about the endpoint,
+ * so leases only count in-flight requests and never feed the EWMA.
+ *
+ * The EWMA smooths single slow samples so that a degrading endpoint loses
+ * traffic gradually, while probes keep the average fresh for endpoints that
+ * currently receive no traffic so they can win it back once they recover.
+ */
+@Component
+public class EndpointLoadTracker {
+
+    public static final double DEFAULT_ALPHA = 0.3;
+
+    private final Map<String, EndpointLoad> loads = new ConcurrentHashMap<>();
+    private final double alpha;
+
+    public EndpointLoadTracker(@Value("${genai-demo.routing.ewma-alpha:0.3}") double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("EWMA alpha must be in (0, 1]");
+        }
+        this.alpha = alpha;
+    }
+
+    /**
+     * Records a latency sample for an endpoint.
+     *
+     * @param endpoint the endpoint identifier
+     * @param latencyNanos the observed latency in nanoseconds
+     */
+    public void recordLatency(String endpoint, long latencyNanos) {
+        load(endpoint).record(Math.max(0, latencyNanos), alpha);
+    }
+
+    /**
+     * Marks the start of a request routed to an endpoint.
+     * The returned lease must be released exactly once when the request ends.
+     *
+     * @param endpoint the endpoint identifier
+     * @return the lease for the in-flight request
+     */
+    public Lease acquire(String endpoint) {
+        EndpointLoad load = load(endpoint);
+        load.inFlight.incrementAndGet();
+        return new Lease(endpoint, load);
+    }
+
+    /**
+     * Gets the smoothed latency of an endpoint.
+     *
+     * @param endpoint the endpoint identifier
+     * @return EWMA latency in milliseconds, or empty if no sample was recorded yet
+     */
+    public OptionalDouble getEwmaLatencyMillis(String endpoint) {
+        EndpointLoad load = loads.get(endpoint);
+        return load != null ? load.ewmaMillis() : OptionalDouble.empty();
+    }
+
+    /**
+     * Gets the number of requests currently routed to an endpoint.
+     *
+     * @param endpoint the endpoint identifier
+     * @return the in-flight request count
+     */
+    public int getInFlight(String endpoint) {
+        EndpointLoad load = loads.get(endpoint);
+        return load != null ? load.inFlight.get() : 0;
+    }
+
+    private EndpointLoad load(String endpoint) {
+        return loads.computeIfAbsent(endpoint, ignored -> new EndpointLoad());
+    }
+
+    /**
+     * An in-flight request holding an endpoint.
+     */
+    public final class Lease {
+
+        private final String endpoint;
+        private final EndpointLoad load;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(String endpoint, EndpointLoad load) {
+            this.endpoint = endpoint;
+            this.load = load;
+        }
+
+        public String endpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Ends the request; subsequent calls are ignored.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                load.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class EndpointLoad {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double ewmaNanos;
+        private boolean sampled;
+
+        synchronized void record(long latencyNanos, double alpha) {
+            ewmaNanos = sampled ? ewmaNanos + alpha * (latencyNanos - ewmaNanos) : latencyNanos;
+            sampled = true;
+        }
+
+        synchronized OptionalDouble ewmaMillis() {
+            return sampled ? OptionalDouble.of(ewmaNanos / 1_000_000.0) : OptionalDouble.empty();
+        }
+    }
+}
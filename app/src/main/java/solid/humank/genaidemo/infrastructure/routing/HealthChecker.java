@@ -1,15 +1,25 @@
 package solid.humank.genaidemo.infrastructure.routing;
 
+import jakarta.annotation.PreDestroy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * HealthChecker performs periodic health checks on service endpoints.
@@ -18,16 +28,37 @@ import java.util.concurrent.ConcurrentHashMap;
  * messaging endpoints across multiple regions, providing real-time health
  * status for intelligent routing decisions.
  * 
- * Health checks run every 5 seconds by default and track:
+ * All endpoints are probed concurrently, each on its own virtual thread with
+ * a per-probe timeout, so one slow or hung endpoint neither delays the others
+ * nor stretches the check interval. Health checks run every 5 seconds by
+ * default and track:
  * - Endpoint availability
- * - Response latency
+ * - Response latency (also fed into the EWMA used for routing)
  * - Error conditions
  */
 @Component
 public class HealthChecker {    private static final Logger logger = LoggerFactory.getLogger(HealthChecker.class);
     
+    private static final long DEFAULT_PROBE_TIMEOUT_MS = 2000;
+    
     private final Map<String, EndpointHealth> healthCache = new ConcurrentHashMap<>();
     private final Map<String, DataSource> dataSourceRegistry = new ConcurrentHashMap<>();
+    private final Set<String> probesInProgress = ConcurrentHashMap.newKeySet();
+    private final ExecutorService probeExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("HealthProbe-", 0).factory());
+    private final EndpointLoadTracker loadTracker;
+    private final long probeTimeoutMs;
+    
+    public HealthChecker() {
+        this(new EndpointLoadTracker(EndpointLoadTracker.DEFAULT_ALPHA), DEFAULT_PROBE_TIMEOUT_MS);
+    }
+    
+    @Autowired
+    public HealthChecker(EndpointLoadTracker loadTracker,
+            @Value("${genai-demo.routing.probe-timeout-millis:2000}") long probeTimeoutMs) {
+        this.loadTracker = loadTracker;
+        this.probeTimeoutMs = probeTimeoutMs;
+    }
     
     /**
      * Registers a DataSource for health monitoring.
@@ -41,15 +72,19 @@ public class HealthChecker {    private static final Logger logger = LoggerFacto
     }
     
     /**
-     * Performs health check on all registered endpoints.
-     * Runs every 5 seconds.
+     * Performs health check on all registered endpoints concurrently.
+     * Returns once every probe has completed or timed out.
+     * Runs every 5 seconds by default.
      */
-    @Scheduled(fixedDelay = 5000, initialDelay = 1000)
+    @Scheduled(fixedDelayString = "${genai-demo.routing.probe-interval-millis:5000}", initialDelay = 1000)
     public void performHealthChecks() {
         logger.debug("Starting health checks for {} endpoints", dataSourceRegistry.size());
         
-        dataSourceRegistry.forEach((name, dataSource) -> {
-            EndpointHealth health = checkDataSourceHealth(name, dataSource);
+        Map<String, CompletableFuture<EndpointHealth>> probes = new LinkedHashMap<>();
+        dataSourceRegistry.forEach((name, dataSource) -> probes.put(name, probe(name, dataSource)));
+        
+        probes.forEach((name, probe) -> {
+            EndpointHealth health = probe.join();
             healthCache.put(name, health);
             
             if (!health.isHealthy()) {
@@ -110,14 +145,45 @@ public class HealthChecker {    private static final Logger logger = LoggerFacto
         return Map.copyOf(healthCache);
     }
     
+    @PreDestroy
+    void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+    
+    private CompletableFuture<EndpointHealth> probe(String name, DataSource dataSource) {
+        // A probe still stuck from an earlier round keeps its connection; do not pile up more
+        if (!probesInProgress.add(name)) {
+            return CompletableFuture.completedFuture(
+                EndpointHealth.unhealthy(name, "Previous health probe still running"));
+        }
+        try {
+            return CompletableFuture
+                .supplyAsync(() -> {
+                    try {
+                        return checkDataSourceHealth(name, dataSource);
+                    } finally {
+                        probesInProgress.remove(name);
+                    }
+                }, probeExecutor)
+                .completeOnTimeout(
+                    EndpointHealth.unhealthy(name, "Health probe timed out after " + probeTimeoutMs + "ms"),
+                    probeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            probesInProgress.remove(name);
+            return CompletableFuture.completedFuture(EndpointHealth.unhealthy(name, e.getMessage()));
+        }
+    }
+    
     private EndpointHealth checkDataSourceHealth(String name, DataSource dataSource) {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+        int validationTimeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(probeTimeoutMs));
         
         try (Connection connection = dataSource.getConnection()) {
             // Simple validation query
-            if (connection.isValid(2)) {
-                long latency = System.currentTimeMillis() - startTime;
-                return EndpointHealth.healthy(name, latency);
+            if (connection.isValid(validationTimeoutSeconds)) {
+                long latencyNanos = System.nanoTime() - startTime;
+                loadTracker.recordLatency(name, latencyNanos);
+                return EndpointHealth.healthy(name, TimeUnit.NANOSECONDS.toMillis(latencyNanos));
             } else {
                 return EndpointHealth.unhealthy(name, "Connection validation failed");
             }
@@ -2,32 +2,56 @@ package solid.humank.genaidemo.infrastructure.routing;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * RouteSelector implements intelligent endpoint selection logic.
  * 
  * Selection strategy:
- * 1. Local-first: Prefer endpoints in the same region
- * 2. Health-based: Only select healthy endpoints
- * 3. Latency-aware: Choose endpoints with lower latency
+ * 1. Health-based: Only select healthy endpoints
+ * 2. Load-aware: Pick two healthy endpoints at random and keep the one with
+ *    the lower cost, where cost = EWMA latency x (in-flight requests + 1)
+ * 3. Local-first: Remote endpoints pay a configurable cost penalty, so the
+ *    local region wins unless it is markedly slower or busier
  * 4. Automatic failover: Switch to backup region if local is unhealthy
  * 
+ * Power-of-two-choices avoids sending every request to the single endpoint
+ * that currently looks best: a replica whose latency rises loses traffic in
+ * proportion to its cost instead of all at once, and busy endpoints shed
+ * load to idle ones through their in-flight count.
+ * 
  * This component is critical for Active-Active architecture, ensuring
  * optimal performance and automatic failover capabilities.
  */
 @Component
 public class RouteSelector {    private static final Logger logger = LoggerFactory.getLogger(RouteSelector.class);
     
+    private static final double DEFAULT_REMOTE_PENALTY = 2.0;
+    
     private final RegionDetector regionDetector;
     private final HealthChecker healthChecker;
+    private final EndpointLoadTracker loadTracker;
+    private final double remotePenalty;
     
-    public RouteSelector(RegionDetector regionDetector, HealthChecker healthChecker) {
+    @Autowired
+    public RouteSelector(RegionDetector regionDetector, HealthChecker healthChecker,
+            EndpointLoadTracker loadTracker,
+            @Value("${genai-demo.routing.remote-penalty:2.0}") double remotePenalty) {
         this.regionDetector = regionDetector;
         this.healthChecker = healthChecker;
+        this.loadTracker = loadTracker;
+        this.remotePenalty = remotePenalty;
+    }
+    
+    public RouteSelector(RegionDetector regionDetector, HealthChecker healthChecker,
+            EndpointLoadTracker loadTracker) {
+        this(regionDetector, healthChecker, loadTracker, DEFAULT_REMOTE_PENALTY);
     }
     
     /**
@@ -45,23 +69,23 @@ public class RouteSelector {    private static final Logger logger = LoggerFacto
         String currentRegion = regionDetector.detectRegion();
         logger.debug("Selecting endpoint for region: {}", currentRegion);
         
-        // Strategy 1: Try local region first
-        Optional<String> localEndpoint = selectLocalHealthyEndpoint(endpoints, currentRegion);
-        if (localEndpoint.isPresent()) {
-            logger.debug("Selected local endpoint: {}", localEndpoint.get());
-            return localEndpoint;
+        List<String> healthy = endpoints.stream().filter(healthChecker::isHealthy).toList();
+        if (healthy.isEmpty()) {
+            String lastResort = endpoints.get(0);
+            logger.error("No healthy endpoints available, using last resort: {}", lastResort);
+            return Optional.of(lastResort);
         }
         
-        // Strategy 2: Failover to any healthy endpoint
-        Optional<String> fallbackEndpoint = selectAnyHealthyEndpoint(endpoints);
-        if (fallbackEndpoint.isPresent()) {
-            logger.warn("Local endpoint unavailable, failing over to: {}", fallbackEndpoint.get());
-            return fallbackEndpoint;
+        String localName = getRegionShortName(currentRegion);
+        String selected = healthy.size() == 1
+            ? healthy.get(0)
+            : selectByPowerOfTwoChoices(healthy, localName);
+        if (!selected.contains(localName)) {
+            logger.debug("Routing to remote endpoint: {}", selected);
+        } else {
+            logger.debug("Selected local endpoint: {}", selected);
         }
-        
-        String lastResort = endpoints.get(0);
-        logger.error("No healthy endpoints available, using last resort: {}", lastResort);
-        return Optional.of(lastResort);
+        return Optional.of(selected);
     }
     
     /**
@@ -92,20 +116,25 @@ public class RouteSelector {    private static final Logger logger = LoggerFacto
     public String selectKafkaEndpoint() {
         List<String> kafkaEndpoints = List.of("taiwan-kafka", "japan-kafka");
         return selectEndpoint(kafkaEndpoints).orElse("taiwan-kafka");
-    }    private Optional<String> selectLocalHealthyEndpoint(List<String> endpoints, String currentRegion) {
-        return endpoints.stream()
-            .filter(endpoint -> endpoint.contains(getRegionShortName(currentRegion)))
-            .filter(healthChecker::isHealthy)
-            .findFirst();
+    }    private String selectByPowerOfTwoChoices(List<String> candidates, String localName) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        String a = candidates.get(first);
+        String b = candidates.get(second);
+        return cost(a, localName) <= cost(b, localName) ? a : b;
     }
     
-    private Optional<String> selectAnyHealthyEndpoint(List<String> endpoints) {
-        return endpoints.stream()
-            .filter(healthChecker::isHealthy)
-            .min((e1, e2) -> Long.compare(
-                healthChecker.getLatency(e1),
-                healthChecker.getLatency(e2)
-            ));
+    private double cost(String endpoint, String localName) {
+        // Until routed traffic or a probe has been observed, fall back to the last probe latency
+        double latencyMs = loadTracker.getEwmaLatencyMillis(endpoint)
+            .orElseGet(() -> Math.max(0, healthChecker.getLatency(endpoint)));
+        // +1ms keeps idle sub-millisecond endpoints comparable by their in-flight count
+        double cost = (latencyMs + 1) * (loadTracker.getInFlight(endpoint) + 1);
+        return endpoint.contains(localName) ? cost : cost * remotePenalty;
     }
     
     private String getRegionShortName(String region) {
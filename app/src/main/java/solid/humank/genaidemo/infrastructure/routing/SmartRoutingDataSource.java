@@ -4,6 +4,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
 /**
  * SmartRoutingDataSource provides dynamic DataSource routing based on region and health.
  * 
@@ -12,19 +20,24 @@ import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
  * 
  * Key features:
  * - Automatic region detection
- * - Health-based routing
+ * - Health and load-aware routing
  * - Transparent failover
  * - Zero application code changes required
  * 
  * The routing decision is made per database operation, allowing real-time
- * adaptation to changing health conditions.
+ * adaptation to changing health conditions. Every connection handed out is
+ * counted as in-flight on its endpoint until it is closed. The routing EWMA is
+ * fed from the execution time of statements run on the connection, not from how
+ * long the connection was held, which mostly reflects the caller's transaction.
  */
 public class SmartRoutingDataSource extends AbstractRoutingDataSource {    private static final Logger logger = LoggerFactory.getLogger(SmartRoutingDataSource.class);
     
     private final RouteSelector routeSelector;
+    private final EndpointLoadTracker loadTracker;
     
-    public SmartRoutingDataSource(RouteSelector routeSelector) {
+    public SmartRoutingDataSource(RouteSelector routeSelector, EndpointLoadTracker loadTracker) {
         this.routeSelector = routeSelector;
+        this.loadTracker = loadTracker;
     }
     
     /**
@@ -41,4 +54,81 @@ public class SmartRoutingDataSource extends AbstractRoutingDataSource {    priva
         logger.debug("Routing database connection to: {}", selectedEndpoint);
         return selectedEndpoint;
     }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return routeConnection(null, null);
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return routeConnection(username, password);
+    }
+    
+    private Connection routeConnection(String username, String password) throws SQLException {
+        String endpoint = (String) determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(endpoint);
+        if (target == null) {
+            target = getResolvedDefaultDataSource();
+        }
+        if (target == null) {
+            throw new IllegalStateException("Cannot determine target DataSource for lookup key [" + endpoint + "]");
+        }
+        
+        EndpointLoadTracker.Lease lease = loadTracker.acquire(endpoint);
+        try {
+            Connection connection = username == null
+                ? target.getConnection()
+                : target.getConnection(username, password);
+            return trackedConnection(connection, endpoint, lease);
+        } catch (SQLException | RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+    }
+    
+    private Connection trackedConnection(Connection connection, String endpoint, EndpointLoadTracker.Lease lease) {
+        return (Connection) Proxy.newProxyInstance(
+            SmartRoutingDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                    lease.release();
+                }
+                Object result = invoke(connection, method, args);
+                Class<?> returnType = method.getReturnType();
+                if (result instanceof Statement statement && returnType.isInterface()
+                        && Statement.class.isAssignableFrom(returnType)) {
+                    return timedStatement(statement, returnType, endpoint);
+                }
+                return result;
+            });
+    }
+    
+    /**
+     * Wraps a statement so that each successful execute call is recorded as a
+     * latency sample; failed statements are left to the health probes.
+     */
+    private Statement timedStatement(Statement statement, Class<?> statementType, String endpoint) {
+        return (Statement) Proxy.newProxyInstance(
+            SmartRoutingDataSource.class.getClassLoader(),
+            new Class<?>[] { statementType },
+            (proxy, method, args) -> {
+                if (!method.getName().startsWith("execute")) {
+                    return invoke(statement, method, args);
+                }
+                long start = System.nanoTime();
+                Object result = invoke(statement, method, args);
+                loadTracker.recordLatency(endpoint, System.nanoTime() - start);
+                return result;
+            });
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
 }
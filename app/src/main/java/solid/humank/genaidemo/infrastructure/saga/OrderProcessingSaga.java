@@ -1,41 +1,145 @@
 package solid.humank.genaidemo.infrastructure.saga;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+import solid.humank.genaidemo.application.inventory.service.InventoryReservationService;
+import solid.humank.genaidemo.application.order.port.outgoing.LogisticsServicePort;
+import solid.humank.genaidemo.application.order.port.outgoing.OrderPersistencePort;
 import solid.humank.genaidemo.application.order.port.outgoing.PaymentServicePort;
+import solid.humank.genaidemo.domain.common.valueobject.DeliveryOrder;
+import solid.humank.genaidemo.domain.common.valueobject.OrderId;
+import solid.humank.genaidemo.domain.common.valueobject.OrderItem;
+import solid.humank.genaidemo.domain.common.valueobject.OrderStatus;
 import solid.humank.genaidemo.domain.common.valueobject.PaymentResult;
 import solid.humank.genaidemo.domain.order.model.aggregate.Order;
 import solid.humank.genaidemo.infrastructure.saga.definition.SagaDefinition;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaInstance;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStateStore;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStep;
 
-/** 訂單處理 Saga 協調訂單處理的各個步驟 */
+/**
+ * 訂單處理 Saga 協調訂單處理的各個步驟
+ *
+ * 庫存預留、支付與物流安排彼此獨立，並行執行；三者都完成後確認庫存預留並完成訂單，
+ * 確認後的預留不再被過期釋放。
+ * 任一步驟失敗時依相依關係反向補償已完成的步驟（釋放預留、退款），再取消訂單。
+ * 進度在每個步驟完成後保存，節點重啟後由 {@link #resumeInFlight()} 接續無人處理的實例；
+ * 接續時尚未記錄完成的支付步驟會先查詢訂單既有的支付，不重複扣款。
+ */
 @Component
 public class OrderProcessingSaga implements SagaDefinition<OrderSagaContext> {
+    public static final String SAGA_TYPE = "order-processing";
+
+    static final String RESERVE_INVENTORY = "reserve-inventory";
+    static final String PROCESS_PAYMENT = "process-payment";
+    static final String ARRANGE_DELIVERY = "arrange-delivery";
+    static final String COMPLETE_ORDER = "complete-order";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderProcessingSaga.class);
+
     private final PaymentServicePort paymentServicePort;
+    private final LogisticsServicePort logisticsServicePort;
+    private final InventoryReservationService inventoryReservationService;
+    private final OrderPersistencePort orderPersistencePort;
+    private final SagaExecutor sagaExecutor;
+    private final SagaStateStore sagaStateStore;
+    private final boolean recoveryEnabled;
+    private final Duration staleAfter;
+    private final List<SagaStep<OrderSagaContext>> steps;
 
     /** 建立訂單處理 Saga */
-    public OrderProcessingSaga(PaymentServicePort paymentServicePort) {
+    public OrderProcessingSaga(PaymentServicePort paymentServicePort,
+            @Qualifier("logisticsServiceAdapter") LogisticsServicePort logisticsServicePort,
+            InventoryReservationService inventoryReservationService,
+            OrderPersistencePort orderPersistencePort,
+            SagaExecutor sagaExecutor,
+            SagaStateStore sagaStateStore,
+            @Value("${genai-demo.saga.recovery.enabled:true}") boolean recoveryEnabled,
+            @Value("${genai-demo.saga.recovery.stale-after-seconds:300}") long staleAfterSeconds) {
         this.paymentServicePort = paymentServicePort;
+        this.logisticsServicePort = logisticsServicePort;
+        this.inventoryReservationService = inventoryReservationService;
+        this.orderPersistencePort = orderPersistencePort;
+        this.sagaExecutor = sagaExecutor;
+        this.sagaStateStore = sagaStateStore;
+        this.recoveryEnabled = recoveryEnabled;
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+        this.steps = List.of(
+                SagaStep.<OrderSagaContext>of(RESERVE_INVENTORY, this::reserveInventory)
+                        .compensatedBy(this::releaseInventory),
+                SagaStep.<OrderSagaContext>of(PROCESS_PAYMENT, this::processPayment)
+                        .compensatedBy(this::refundPayment),
+                SagaStep.<OrderSagaContext>of(ARRANGE_DELIVERY, this::arrangeDelivery),
+                SagaStep.<OrderSagaContext>of(COMPLETE_ORDER, this::completeOrder)
+                        .after(RESERVE_INVENTORY, PROCESS_PAYMENT, ARRANGE_DELIVERY));
     }
 
     @Override
     public void execute(OrderSagaContext context) {
-        // 處理支付
-        processPayment(context);
+        try {
+            sagaExecutor.execute(SAGA_TYPE, steps, context);
+        } catch (SagaExecutionException e) {
+            cancelOrder(context);
+            throw e;
+        }
+    }
 
-        // 處理物流
-        processLogistics(context);
+    private void reserveInventory(OrderSagaContext context) {
+        Order order = context.getOrder();
+        UUID orderId = UUID.fromString(order.getId().toString());
+        List<String> reservationIds = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            ReservationResult result = inventoryReservationService.reserve(
+                    new ReserveInventoryCommand(item.getProductId(), item.getQuantity(), orderId));
+            if (!result.isSuccess()) {
+                // 步驟未完成不會被補償，先釋放本步驟已取得的預留
+                reservationIds.forEach(id -> inventoryReservationService.release(UUID.fromString(id)));
+                throw new RuntimeException("Inventory reservation failed for " + item.getProductId() + ": "
+                        + result.getMessage());
+            }
+            reservationIds.add(result.getReservationId());
+        }
+        context.setReservationIds(reservationIds);
+    }
 
-        // 完成訂單
-        completeOrder(context);
+    private void releaseInventory(OrderSagaContext context) {
+        for (String reservationId : context.getReservationIds()) {
+            inventoryReservationService.release(UUID.fromString(reservationId));
+        }
+        context.setReservationIds(List.of());
     }
 
     private void processPayment(OrderSagaContext context) {
         Order order = context.getOrder();
+        UUID orderId = UUID.fromString(order.getId().toString());
 
-        // 處理支付 - 將OrderId轉換為UUID
-        PaymentResult result =
-                paymentServicePort.processPayment(
-                        UUID.fromString(order.getId().toString()), order.getTotalAmount());
+        // 接續執行時支付步驟可能已在前一個節點扣款、只是尚未記錄完成，先查詢既有支付避免重複扣款
+        if (context.isResumed()) {
+            Optional<PaymentResult> completed = paymentServicePort.findCompletedPayment(orderId);
+            if (completed.isPresent()) {
+                context.setPaymentId(completed.get().paymentId());
+                return;
+            }
+        }
+
+        // 處理支付
+        PaymentResult result = paymentServicePort.processPayment(orderId, order.getTotalAmount());
 
         if (!result.success()) {
             throw new RuntimeException("Payment failed: " + result.message());
@@ -45,29 +149,95 @@ public class OrderProcessingSaga implements SagaDefinition<OrderSagaContext> {
         context.setPaymentId(result.paymentId());
     }
 
-    private void processLogistics(OrderSagaContext context) {
-        // 物流處理邏輯
-        // 實際應用中會調用物流服務
-        context.setDeliveryId("DEL-" + System.currentTimeMillis());
+    private void refundPayment(OrderSagaContext context) {
+        if (context.getPaymentId() != null) {
+            // 使用應用層端口進行退款 - 將OrderId轉換為UUID
+            paymentServicePort.processRefund(
+                    UUID.fromString(context.getOrder().getId().toString()),
+                    context.getOrder().getTotalAmount());
+        }
+    }
+
+    private void arrangeDelivery(OrderSagaContext context) {
+        DeliveryOrder deliveryOrder = logisticsServicePort.createDeliveryOrder(context.getOrder().getId());
+        context.setDeliveryId(deliveryOrder.getTrackingNumber());
     }
 
     private void completeOrder(OrderSagaContext context) {
+        // 確認預留，避免已付款訂單的庫存在預留到期後被釋放；重複確認視為成功，接續執行時可安全重做
+        List<UUID> reservationIds = context.getReservationIds().stream().map(UUID::fromString).toList();
+        if (!inventoryReservationService.confirm(reservationIds)) {
+            throw new IllegalStateException("Inventory reservations were released or expired before order completion");
+        }
+
         // 完成訂單處理
         Order order = context.getOrder();
-        order.markAsPaid();
+        if (order.getStatus() != OrderStatus.PAID) {
+            order.markAsPaid();
+        }
     }
 
     @Override
     public void compensate(OrderSagaContext context, Exception exception) {
-        // 補償邏輯
-        if (context.getPaymentId() != null) {
-            // 使用應用層端口進行退款 - 將OrderId轉換為UUID
-            paymentServicePort.processRefund(
-                    UUID.fromString(context.getOrder().getId().toString()),
-                    context.getOrder().getTotalAmount());
-        }
+        // 補償已完成的步驟
+        sagaExecutor.compensate(SAGA_TYPE, steps, context, exception.getMessage());
 
         // 取消訂單
-        context.getOrder().cancel();
+        cancelOrder(context);
+    }
+
+    private void cancelOrder(OrderSagaContext context) {
+        Order order = context.getOrder();
+        if (order.getStatus() != OrderStatus.CANCELLED) {
+            order.cancel();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (recoveryEnabled) {
+            try {
+                resumeInFlight();
+            } catch (RuntimeException e) {
+                logger.error("Failed to resume in-flight order sagas", e);
+            }
+        }
+    }
+
+    /**
+     * 接續最後活動時間超過設定時間、仍在執行或補償中的實例
+     *
+     * 接續前先更新實例以樂觀鎖宣告由本節點處理，同時重啟的其他節點會略過已被宣告的實例。
+     * 設定的時間必須大於最長的步驟耗時，否則仍在處理中的實例可能被重複接續。
+     *
+     * @return 接續處理的實例數
+     */
+    public int resumeInFlight() {
+        int resumed = 0;
+        for (SagaInstance instance : sagaStateStore.findInFlight(SAGA_TYPE, LocalDateTime.now().minus(staleAfter))) {
+            Optional<Order> order = orderPersistencePort.findById(OrderId.of(instance.getSagaId()));
+            if (order.isEmpty()) {
+                logger.warn("Cannot resume saga {}: order not found", instance.getSagaId());
+                continue;
+            }
+            try {
+                instance.touch();
+                sagaStateStore.save(instance);
+            } catch (OptimisticLockingFailureException e) {
+                logger.debug("Saga {} was claimed by another node", instance.getSagaId());
+                continue;
+            }
+            resumed++;
+            try {
+                execute(new OrderSagaContext(order.get(), instance.getAttributes()));
+                logger.info("Resumed order saga {}", instance.getSagaId());
+            } catch (RuntimeException e) {
+                logger.warn("Resumed order saga {} did not complete: {}", instance.getSagaId(), e.getMessage());
+            } finally {
+                // 原本的呼叫端已不存在，由接續處理保存訂單狀態（已付款或已取消）
+                orderPersistencePort.save(order.get());
+            }
+        }
+        return resumed;
     }
 }
@@ -1,15 +1,33 @@
 package solid.humank.genaidemo.infrastructure.saga;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import solid.humank.genaidemo.domain.order.model.aggregate.Order;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaContext;
+
+/** 訂單 Saga 上下文 用於在 Saga 執行過程中傳遞狀態，並行步驟寫入的結果保存在執行緒安全的屬性中 */
+public class OrderSagaContext implements SagaContext {
+    private static final String PAYMENT_ID = "paymentId";
+    private static final String DELIVERY_ID = "deliveryId";
+    private static final String RESERVATION_IDS = "reservationIds";
 
-/** 訂單 Saga 上下文 用於在 Saga 執行過程中傳遞狀態 */
-public class OrderSagaContext {
     private final Order order;
-    private String paymentId;
-    private String deliveryId;
+    private final Map<String, String> attributes = new ConcurrentHashMap<>();
+    private final boolean resumed;
 
     public OrderSagaContext(Order order) {
         this.order = order;
+        this.resumed = false;
+    }
+
+    /** 以已保存的屬性重建上下文，用於接續執行 */
+    public OrderSagaContext(Order order, Map<String, String> attributes) {
+        this.order = order;
+        this.attributes.putAll(attributes);
+        this.resumed = true;
     }
 
     /** 獲取訂單 */
@@ -17,23 +35,60 @@ public class OrderSagaContext {
         return order;
     }
 
+    /** 是否為接續中斷的實例；未完成的步驟可能已在前一個節點執行過 */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    /** Saga 實例以訂單ID識別 */
+    @Override
+    public String getSagaId() {
+        return order.getId().toString();
+    }
+
+    @Override
+    public Map<String, String> getAttributes() {
+        return Map.copyOf(attributes);
+    }
+
     /** 獲取支付ID */
     public String getPaymentId() {
-        return paymentId;
+        return attributes.get(PAYMENT_ID);
     }
 
     /** 設置支付ID */
     public void setPaymentId(String paymentId) {
-        this.paymentId = paymentId;
+        put(PAYMENT_ID, paymentId);
     }
 
     /** 獲取配送ID */
     public String getDeliveryId() {
-        return deliveryId;
+        return attributes.get(DELIVERY_ID);
     }
 
     /** 設置配送ID */
     public void setDeliveryId(String deliveryId) {
-        this.deliveryId = deliveryId;
+        put(DELIVERY_ID, deliveryId);
+    }
+
+    /** 獲取庫存預留ID */
+    public List<String> getReservationIds() {
+        String reservationIds = attributes.get(RESERVATION_IDS);
+        return reservationIds == null || reservationIds.isEmpty() ? List.of()
+                : Arrays.asList(reservationIds.split(","));
+    }
+
+    /** 設置庫存預留ID */
+    public void setReservationIds(List<String> reservationIds) {
+        put(RESERVATION_IDS, reservationIds == null || reservationIds.isEmpty() ? null
+                : String.join(",", reservationIds));
+    }
+
+    private void put(String key, String value) {
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, value);
+        }
     }
 }
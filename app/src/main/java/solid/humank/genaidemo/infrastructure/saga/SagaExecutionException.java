@@ -0,0 +1,27 @@
+package solid.humank.genaidemo.infrastructure.saga;
+
+/**
+ * Saga 執行失敗
+ *
+ * 步驟失敗時，已完成步驟的補償會在拋出前執行完畢；補償本身失敗時實例維持補償中，
+ * 由重啟後的接續處理重試。
+ */
+public class SagaExecutionException extends RuntimeException {
+
+    private final String sagaId;
+    private final String step;
+
+    public SagaExecutionException(String sagaId, String step, String message, Throwable cause) {
+        super(String.format("Saga %s failed at step %s: %s", sagaId, step, message), cause);
+        this.sagaId = sagaId;
+        this.step = step;
+    }
+
+    public String getSagaId() {
+        return sagaId;
+    }
+
+    public String getStep() {
+        return step;
+    }
+}
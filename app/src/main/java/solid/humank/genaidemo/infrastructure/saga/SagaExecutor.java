@@ -0,0 +1,245 @@
+package solid.humank.genaidemo.infrastructure.saga;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaContext;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaInstance;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStateStore;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStatus;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStep;
+
+/**
+ * Saga 執行器
+ *
+ * 依步驟宣告的相依關係執行：前置步驟都完成的步驟立即在虛擬執行緒上啟動，
+ * 彼此獨立的步驟並行執行，完成時間取決於最長的相依鏈而非所有外部呼叫的總和。
+ * 步驟結果由呼叫執行緒逐一收集，每完成一個步驟就寫入進度，同一實例的狀態只有一個寫入者。
+ *
+ * 有步驟失敗時不再啟動新步驟，等待執行中的步驟結束後，依相依關係的反向順序補償已完成的步驟：
+ * 一個步驟只在所有依賴它的步驟都補償後才補償。
+ * 以既有的實例接續執行時，已完成的步驟不會重複執行，已補償的步驟不會重複補償。
+ */
+@Component
+public class SagaExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaExecutor.class);
+
+    private final SagaStateStore stateStore;
+    private final ExecutorService stepExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("saga-step-", 0).factory());
+
+    public SagaExecutor(SagaStateStore stateStore) {
+        this.stateStore = stateStore;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stepExecutor.shutdownNow();
+    }
+
+    /**
+     * 執行或接續執行 Saga
+     *
+     * @param sagaType Saga 類型
+     * @param steps    步驟宣告
+     * @param context  上下文，接續執行時應以已保存的屬性重建
+     * @throws SagaExecutionException 步驟失敗（補償已完成）或補償失敗時
+     */
+    public <C extends SagaContext> void execute(String sagaType, List<SagaStep<C>> steps, C context) {
+        List<SagaStep<C>> ordered = topologicalOrder(steps);
+        SagaInstance instance = stateStore.find(context.getSagaId())
+                .orElseGet(() -> SagaInstance.start(context.getSagaId(), sagaType, context.getAttributes()));
+
+        switch (instance.getStatus()) {
+            case COMPLETED -> logger.debug("Saga {} already completed", instance.getSagaId());
+            case COMPENSATED -> throw new SagaExecutionException(instance.getSagaId(), "-",
+                    "already compensated: " + instance.getFailureReason(), null);
+            case COMPENSATING -> {
+                compensateCompleted(ordered, context, instance);
+                throw new SagaExecutionException(instance.getSagaId(), "-",
+                        "compensated after resume: " + instance.getFailureReason(), null);
+            }
+            case RUNNING -> run(ordered, context, instance);
+        }
+    }
+
+    /**
+     * 補償已完成的步驟，用於步驟都成功但後續業務流程決定撤銷的情況
+     *
+     * @param sagaType Saga 類型
+     * @param steps    步驟宣告
+     * @param context  上下文
+     * @param reason   補償原因
+     */
+    public <C extends SagaContext> void compensate(String sagaType, List<SagaStep<C>> steps, C context,
+            String reason) {
+        List<SagaStep<C>> ordered = topologicalOrder(steps);
+        SagaInstance instance = stateStore.find(context.getSagaId())
+                .orElseGet(() -> SagaInstance.start(context.getSagaId(), sagaType, context.getAttributes()));
+        if (instance.getStatus() == SagaStatus.COMPENSATED) {
+            return;
+        }
+        if (instance.getStatus() != SagaStatus.COMPENSATING) {
+            instance.compensationStarted(reason, context.getAttributes());
+            stateStore.save(instance);
+        }
+        compensateCompleted(ordered, context, instance);
+    }
+
+    private <C extends SagaContext> void run(List<SagaStep<C>> ordered, C context, SagaInstance instance) {
+        CompletionService<StepOutcome> completions = new ExecutorCompletionService<>(stepExecutor);
+        Set<String> running = new HashSet<>();
+        String failedStep = null;
+        Throwable failure = null;
+
+        while (true) {
+            if (failure == null) {
+                for (SagaStep<C> step : ordered) {
+                    if (!running.contains(step.name()) && !instance.getCompletedSteps().contains(step.name())
+                            && instance.getCompletedSteps().containsAll(step.dependsOn())) {
+                        running.add(step.name());
+                        completions.submit(() -> runStep(step, context));
+                    }
+                }
+            }
+            if (running.isEmpty()) {
+                break;
+            }
+            StepOutcome outcome = take(completions, instance.getSagaId());
+            running.remove(outcome.step());
+            if (outcome.failure() == null) {
+                instance.stepCompleted(outcome.step(), context.getAttributes());
+                stateStore.save(instance);
+                logger.debug("Saga {} completed step {}", instance.getSagaId(), outcome.step());
+            } else if (failure == null) {
+                failedStep = outcome.step();
+                failure = outcome.failure();
+            } else {
+                failure.addSuppressed(outcome.failure());
+            }
+        }
+
+        if (failure == null) {
+            instance.completed(context.getAttributes());
+            stateStore.save(instance);
+            return;
+        }
+        logger.warn("Saga {} failed at step {}, compensating completed steps {}",
+                instance.getSagaId(), failedStep, instance.getCompletedSteps(), failure);
+        instance.compensationStarted(failedStep + ": " + failure.getMessage(), context.getAttributes());
+        stateStore.save(instance);
+        compensateCompleted(ordered, context, instance);
+        throw new SagaExecutionException(instance.getSagaId(), failedStep, failure.getMessage(), failure);
+    }
+
+    private <C extends SagaContext> void compensateCompleted(List<SagaStep<C>> ordered, C context,
+            SagaInstance instance) {
+        // 拓撲順序的反向保證依賴者先於被依賴者補償
+        for (SagaStep<C> step : ordered.reversed()) {
+            if (!instance.getCompletedSteps().contains(step.name())
+                    || instance.getCompensatedSteps().contains(step.name())) {
+                continue;
+            }
+            if (step.compensation() != null) {
+                try {
+                    step.compensation().accept(context);
+                } catch (RuntimeException e) {
+                    // 維持補償中，由接續處理重試尚未補償的步驟
+                    logger.error("Saga {} failed to compensate step {}", instance.getSagaId(), step.name(), e);
+                    throw new SagaExecutionException(instance.getSagaId(), step.name(),
+                            "compensation failed: " + e.getMessage(), e);
+                }
+            }
+            instance.stepCompensated(step.name(), context.getAttributes());
+            stateStore.save(instance);
+        }
+        instance.compensated(context.getAttributes());
+        stateStore.save(instance);
+    }
+
+    private static <C> StepOutcome runStep(SagaStep<C> step, C context) {
+        try {
+            step.action().accept(context);
+            return new StepOutcome(step.name(), null);
+        } catch (RuntimeException e) {
+            return new StepOutcome(step.name(), e);
+        }
+    }
+
+    private static StepOutcome take(CompletionService<StepOutcome> completions, String sagaId) {
+        try {
+            return completions.take().get();
+        } catch (InterruptedException e) {
+            // 實例維持執行中，由接續處理完成
+            Thread.currentThread().interrupt();
+            throw new SagaExecutionException(sagaId, "-", "interrupted while waiting for steps", e);
+        } catch (ExecutionException e) {
+            throw new SagaExecutionException(sagaId, "-", "step terminated abnormally", e.getCause());
+        }
+    }
+
+    /**
+     * 依相依關係排序步驟，相同層級維持宣告順序
+     *
+     * @throws IllegalArgumentException 步驟名稱重複、相依未宣告的步驟或相依關係有循環時
+     */
+    static <C> List<SagaStep<C>> topologicalOrder(List<SagaStep<C>> steps) {
+        Map<String, SagaStep<C>> byName = new LinkedHashMap<>();
+        for (SagaStep<C> step : steps) {
+            if (byName.putIfAbsent(step.name(), step) != null) {
+                throw new IllegalArgumentException("Duplicate saga step: " + step.name());
+            }
+        }
+        Map<String, Integer> pendingDependencies = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (SagaStep<C> step : steps) {
+            for (String dependency : step.dependsOn()) {
+                if (!byName.containsKey(dependency)) {
+                    throw new IllegalArgumentException(
+                            "Saga step " + step.name() + " depends on unknown step " + dependency);
+                }
+                dependents.computeIfAbsent(dependency, ignored -> new ArrayList<>()).add(step.name());
+            }
+            pendingDependencies.put(step.name(), step.dependsOn().size());
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        byName.keySet().stream().filter(name -> pendingDependencies.get(name) == 0).forEach(ready::add);
+        List<SagaStep<C>> ordered = new ArrayList<>(steps.size());
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            ordered.add(byName.get(name));
+            for (String dependent : dependents.getOrDefault(name, List.of())) {
+                if (pendingDependencies.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (ordered.size() != steps.size()) {
+            throw new IllegalArgumentException("Saga steps contain a dependency cycle");
+        }
+        return ordered;
+    }
+
+    private record StepOutcome(String step, RuntimeException failure) {
+    }
+}
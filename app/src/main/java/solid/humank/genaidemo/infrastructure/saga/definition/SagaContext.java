@@ -0,0 +1,18 @@
+package solid.humank.genaidemo.infrastructure.saga.definition;
+
+import java.util.Map;
+
+/**
+ * 可持久化的 Saga 上下文
+ *
+ * 步驟產生的結果以字串屬性保存，每完成一個步驟就連同進度一起寫入，
+ * 節點重啟後以這些屬性重建上下文並接續執行。並行步驟會同時寫入，實作必須是執行緒安全的。
+ */
+public interface SagaContext {
+
+    /** Saga 實例識別 */
+    String getSagaId();
+
+    /** 目前屬性的快照 */
+    Map<String, String> getAttributes();
+}
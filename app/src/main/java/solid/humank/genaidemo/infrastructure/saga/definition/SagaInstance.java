@@ -0,0 +1,143 @@
+package solid.humank.genaidemo.infrastructure.saga.definition;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Saga 實例的持久化狀態
+ *
+ * 記錄已完成與已補償的步驟以及上下文屬性；version 由存放區維護，用於樂觀鎖，
+ * 兩個節點同時接續同一個實例時只有一方能寫入。
+ */
+public class SagaInstance {
+
+    private static final int MAX_FAILURE_REASON_LENGTH = 500;
+
+    private final String sagaId;
+    private final String sagaType;
+    private final Set<String> completedSteps;
+    private final Set<String> compensatedSteps;
+    private final LocalDateTime createdAt;
+    private SagaStatus status;
+    private Map<String, String> attributes;
+    private String failureReason;
+    private Long version;
+    private LocalDateTime updatedAt;
+
+    public SagaInstance(String sagaId, String sagaType, SagaStatus status, Collection<String> completedSteps,
+            Collection<String> compensatedSteps, Map<String, String> attributes, String failureReason,
+            Long version, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.sagaId = sagaId;
+        this.sagaType = sagaType;
+        this.status = status;
+        this.completedSteps = new LinkedHashSet<>(completedSteps);
+        this.compensatedSteps = new LinkedHashSet<>(compensatedSteps);
+        this.attributes = Map.copyOf(attributes);
+        this.failureReason = failureReason;
+        this.version = version;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /** 建立新的執行中實例 */
+    public static SagaInstance start(String sagaId, String sagaType, Map<String, String> attributes) {
+        LocalDateTime now = LocalDateTime.now();
+        return new SagaInstance(sagaId, sagaType, SagaStatus.RUNNING, Set.of(), Set.of(), attributes, null,
+                null, now, now);
+    }
+
+    /** 記錄步驟完成 */
+    public void stepCompleted(String step, Map<String, String> snapshot) {
+        completedSteps.add(step);
+        update(snapshot);
+    }
+
+    /** 標記所有步驟完成 */
+    public void completed(Map<String, String> snapshot) {
+        status = SagaStatus.COMPLETED;
+        update(snapshot);
+    }
+
+    /** 標記開始補償並記錄失敗原因 */
+    public void compensationStarted(String reason, Map<String, String> snapshot) {
+        status = SagaStatus.COMPENSATING;
+        if (reason != null) {
+            failureReason = reason.length() > MAX_FAILURE_REASON_LENGTH
+                    ? reason.substring(0, MAX_FAILURE_REASON_LENGTH)
+                    : reason;
+        }
+        update(snapshot);
+    }
+
+    /** 記錄步驟補償完成 */
+    public void stepCompensated(String step, Map<String, String> snapshot) {
+        compensatedSteps.add(step);
+        update(snapshot);
+    }
+
+    /** 標記補償完成 */
+    public void compensated(Map<String, String> snapshot) {
+        status = SagaStatus.COMPENSATED;
+        update(snapshot);
+    }
+
+    /** 更新最後活動時間，接續執行前以此宣告由本節點處理 */
+    public void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    private void update(Map<String, String> snapshot) {
+        attributes = Map.copyOf(snapshot);
+        touch();
+    }
+
+    public String getSagaId() {
+        return sagaId;
+    }
+
+    public String getSagaType() {
+        return sagaType;
+    }
+
+    public SagaStatus getStatus() {
+        return status;
+    }
+
+    /** 已完成的步驟，依完成順序 */
+    public Set<String> getCompletedSteps() {
+        return Collections.unmodifiableSet(completedSteps);
+    }
+
+    /** 已補償的步驟，依補償順序 */
+    public Set<String> getCompensatedSteps() {
+        return Collections.unmodifiableSet(compensatedSteps);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,29 @@
+package solid.humank.genaidemo.infrastructure.saga.definition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Saga 狀態存放區
+ *
+ * 每次寫入都在獨立交易中提交，呼叫端的業務交易回滾不會讓進度倒退。
+ * 寫入時以 version 做樂觀鎖，版本不符時拋出 OptimisticLockingFailureException。
+ */
+public interface SagaStateStore {
+
+    /** 查詢 Saga 實例 */
+    Optional<SagaInstance> find(String sagaId);
+
+    /** 新增或更新 Saga 實例，並把新的版本寫回實例 */
+    void save(SagaInstance instance);
+
+    /**
+     * 查詢需要接續處理的實例
+     *
+     * @param sagaType      Saga 類型
+     * @param updatedBefore 最後活動時間早於此時間的實例才視為無人處理
+     * @return 執行中或補償中的實例
+     */
+    List<SagaInstance> findInFlight(String sagaType, LocalDateTime updatedBefore);
+}
@@ -0,0 +1,18 @@
+package solid.humank.genaidemo.infrastructure.saga.definition;
+
+/** Saga 實例狀態 */
+public enum SagaStatus {
+    /** 執行中 */
+    RUNNING,
+    /** 所有步驟已完成 */
+    COMPLETED,
+    /** 有步驟失敗，正在補償已完成的步驟 */
+    COMPENSATING,
+    /** 補償完成 */
+    COMPENSATED;
+
+    /** 節點重啟後是否需要接續處理 */
+    public boolean isInFlight() {
+        return this == RUNNING || this == COMPENSATING;
+    }
+}
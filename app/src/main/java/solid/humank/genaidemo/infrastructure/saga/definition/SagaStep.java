@@ -0,0 +1,47 @@
+package solid.humank.genaidemo.infrastructure.saga.definition;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Saga 步驟
+ *
+ * 宣告步驟名稱、相依的前置步驟、執行動作與補償動作。
+ * 沒有相依關係的步驟會並行執行；補償依相依關係的反向順序進行。
+ * 節點重啟後步驟可能再執行一次，動作與補償都應該是冪等的。
+ *
+ * @param name         步驟名稱，在同一個 Saga 內唯一，並作為持久化的識別
+ * @param dependsOn    必須先完成的步驟名稱
+ * @param action       執行動作
+ * @param compensation 補償動作；為 null 時表示此步驟不需要補償
+ */
+public record SagaStep<C>(String name, Set<String> dependsOn, Consumer<C> action, Consumer<C> compensation) {
+
+    public SagaStep {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Saga step name cannot be null or empty");
+        }
+        if (name.contains(",")) {
+            throw new IllegalArgumentException("Saga step name cannot contain ',': " + name);
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("Saga step action cannot be null: " + name);
+        }
+        dependsOn = dependsOn == null ? Set.of() : Set.copyOf(dependsOn);
+    }
+
+    /** 建立沒有相依與補償的步驟 */
+    public static <C> SagaStep<C> of(String name, Consumer<C> action) {
+        return new SagaStep<>(name, Set.of(), action, null);
+    }
+
+    /** 指定必須先完成的步驟 */
+    public SagaStep<C> after(String... steps) {
+        return new SagaStep<>(name, Set.of(steps), action, compensation);
+    }
+
+    /** 指定補償動作 */
+    public SagaStep<C> compensatedBy(Consumer<C> compensationAction) {
+        return new SagaStep<>(name, dependsOn, action, compensationAction);
+    }
+}
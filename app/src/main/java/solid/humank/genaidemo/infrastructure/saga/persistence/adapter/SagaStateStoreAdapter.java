@@ -0,0 +1,102 @@
+package solid.humank.genaidemo.infrastructure.saga.persistence.adapter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import solid.humank.genaidemo.infrastructure.common.persistence.converter.JsonConversionException;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaInstance;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStateStore;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStatus;
+import solid.humank.genaidemo.infrastructure.saga.persistence.entity.JpaSagaInstanceEntity;
+import solid.humank.genaidemo.infrastructure.saga.persistence.repository.JpaSagaInstanceRepository;
+
+/**
+ * Saga 狀態存放區適配器
+ *
+ * 步驟清單以逗號分隔保存，上下文屬性以 JSON 保存；每次寫入都是獨立交易（REQUIRES_NEW）。
+ */
+@Component
+public class SagaStateStoreAdapter implements SagaStateStore {
+
+    private static final TypeReference<Map<String, String>> ATTRIBUTES_TYPE = new TypeReference<>() {
+    };
+
+    private final JpaSagaInstanceRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public SagaStateStoreAdapter(JpaSagaInstanceRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public Optional<SagaInstance> find(String sagaId) {
+        return repository.findById(sagaId).map(this::toInstance);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void save(SagaInstance instance) {
+        JpaSagaInstanceEntity saved = repository.saveAndFlush(toEntity(instance));
+        instance.setVersion(saved.getVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public List<SagaInstance> findInFlight(String sagaType, LocalDateTime updatedBefore) {
+        return repository.findBySagaTypeAndStatusInAndUpdatedAtBefore(sagaType,
+                EnumSet.of(SagaStatus.RUNNING, SagaStatus.COMPENSATING), updatedBefore)
+                .stream()
+                .map(this::toInstance)
+                .toList();
+    }
+
+    private JpaSagaInstanceEntity toEntity(SagaInstance instance) {
+        JpaSagaInstanceEntity entity = new JpaSagaInstanceEntity();
+        entity.setSagaId(instance.getSagaId());
+        entity.setSagaType(instance.getSagaType());
+        entity.setStatus(instance.getStatus());
+        entity.setCompletedSteps(String.join(",", instance.getCompletedSteps()));
+        entity.setCompensatedSteps(String.join(",", instance.getCompensatedSteps()));
+        entity.setFailureReason(instance.getFailureReason());
+        entity.setVersion(instance.getVersion());
+        entity.setCreatedAt(instance.getCreatedAt());
+        entity.setUpdatedAt(instance.getUpdatedAt());
+        try {
+            entity.setAttributes(objectMapper.writeValueAsString(instance.getAttributes()));
+        } catch (JsonProcessingException e) {
+            throw new JsonConversionException("Failed to serialize saga attributes: " + instance.getSagaId(), e);
+        }
+        return entity;
+    }
+
+    private SagaInstance toInstance(JpaSagaInstanceEntity entity) {
+        Map<String, String> attributes;
+        try {
+            attributes = objectMapper.readValue(entity.getAttributes(), ATTRIBUTES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new JsonConversionException("Failed to deserialize saga attributes: " + entity.getSagaId(), e);
+        }
+        return new SagaInstance(entity.getSagaId(), entity.getSagaType(), entity.getStatus(),
+                splitSteps(entity.getCompletedSteps()), splitSteps(entity.getCompensatedSteps()), attributes,
+                entity.getFailureReason(), entity.getVersion(), entity.getCreatedAt(), entity.getUpdatedAt());
+    }
+
+    private static Collection<String> splitSteps(String steps) {
+        return steps == null || steps.isEmpty() ? List.of() : Arrays.asList(steps.split(","));
+    }
+}
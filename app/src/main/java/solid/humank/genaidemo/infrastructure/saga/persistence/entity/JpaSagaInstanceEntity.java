@@ -0,0 +1,142 @@
+package solid.humank.genaidemo.infrastructure.saga.persistence.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStatus;
+
+/**
+ * Saga 實例 JPA 實體
+ */
+@Entity
+@Table(name = "saga_instance", indexes = {
+        @Index(name = "idx_saga_instance_in_flight", columnList = "saga_type, status, updated_at")
+})
+public class JpaSagaInstanceEntity {
+
+    @Id
+    @Column(name = "saga_id", length = 64)
+    private String sagaId;
+
+    @Column(name = "saga_type", nullable = false, length = 100)
+    private String sagaType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SagaStatus status;
+
+    @Column(name = "completed_steps", nullable = false, columnDefinition = "TEXT")
+    private String completedSteps;
+
+    @Column(name = "compensated_steps", nullable = false, columnDefinition = "TEXT")
+    private String compensatedSteps;
+
+    @Column(name = "attributes", nullable = false, columnDefinition = "TEXT")
+    private String attributes;
+
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor for JPA
+    public JpaSagaInstanceEntity() {
+    }
+
+    // Getters and Setters
+    public String getSagaId() {
+        return sagaId;
+    }
+
+    public void setSagaId(String sagaId) {
+        this.sagaId = sagaId;
+    }
+
+    public String getSagaType() {
+        return sagaType;
+    }
+
+    public void setSagaType(String sagaType) {
+        this.sagaType = sagaType;
+    }
+
+    public SagaStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SagaStatus status) {
+        this.status = status;
+    }
+
+    public String getCompletedSteps() {
+        return completedSteps;
+    }
+
+    public void setCompletedSteps(String completedSteps) {
+        this.completedSteps = completedSteps;
+    }
+
+    public String getCompensatedSteps() {
+        return compensatedSteps;
+    }
+
+    public void setCompensatedSteps(String compensatedSteps) {
+        this.compensatedSteps = compensatedSteps;
+    }
+
+    public String getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(String attributes) {
+        this.attributes = attributes;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
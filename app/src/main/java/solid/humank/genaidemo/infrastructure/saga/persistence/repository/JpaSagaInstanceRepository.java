@@ -0,0 +1,24 @@
+package solid.humank.genaidemo.infrastructure.saga.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStatus;
+import solid.humank.genaidemo.infrastructure.saga.persistence.entity.JpaSagaInstanceEntity;
+
+/**
+ * Saga 實例JPA儲存庫
+ */
+@Repository
+public interface JpaSagaInstanceRepository extends JpaRepository<JpaSagaInstanceEntity, String> {
+
+    /**
+     * 查詢指定類型與狀態、最後活動時間早於指定時間的實例
+     */
+    List<JpaSagaInstanceEntity> findBySagaTypeAndStatusInAndUpdatedAtBefore(String sagaType,
+            Collection<SagaStatus> statuses, LocalDateTime updatedBefore);
+}
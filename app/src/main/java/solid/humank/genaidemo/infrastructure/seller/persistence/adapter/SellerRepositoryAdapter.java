@@ -1,33 +1,126 @@
 package solid.humank.genaidemo.infrastructure.seller.persistence.adapter;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import solid.humank.genaidemo.domain.seller.model.aggregate.Seller;
+import solid.humank.genaidemo.domain.seller.model.entity.SellerRating;
 import solid.humank.genaidemo.domain.seller.model.valueobject.SellerId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.RatingStatus;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerRatingId;
 import solid.humank.genaidemo.domain.seller.repository.SellerRepository;
 import solid.humank.genaidemo.infrastructure.common.persistence.adapter.BaseRepositoryAdapter;
 import solid.humank.genaidemo.infrastructure.seller.persistence.entity.JpaSellerEntity;
+import solid.humank.genaidemo.infrastructure.seller.persistence.entity.JpaSellerRatingEntity;
 import solid.humank.genaidemo.infrastructure.seller.persistence.mapper.SellerMapper;
+import solid.humank.genaidemo.infrastructure.seller.persistence.repository.JpaSellerRatingRepository;
 import solid.humank.genaidemo.infrastructure.seller.persistence.repository.JpaSellerRepository;
 
-/** 賣家儲存庫適配器 */
+/** 賣家儲存庫適配器 - 賣家列只帶評級摘要，評級存於 seller_ratings 並按需分頁讀取 */
 @Component
 public class SellerRepositoryAdapter
         extends BaseRepositoryAdapter<Seller, SellerId, JpaSellerEntity, String>
         implements SellerRepository {
 
     private final JpaSellerRepository jpaSellerRepository;
+    private final JpaSellerRatingRepository jpaSellerRatingRepository;
     private final SellerMapper mapper;
 
-    public SellerRepositoryAdapter(JpaSellerRepository jpaSellerRepository, SellerMapper mapper) {
+    public SellerRepositoryAdapter(JpaSellerRepository jpaSellerRepository,
+            JpaSellerRatingRepository jpaSellerRatingRepository, SellerMapper mapper) {
         super(jpaSellerRepository);
         this.jpaSellerRepository = jpaSellerRepository;
+        this.jpaSellerRatingRepository = jpaSellerRatingRepository;
         this.mapper = mapper;
     }
 
+    /**
+     * 儲存賣家與已載入的評級
+     * 未載入的評級不受影響。新賣家的評級摘要隨賣家列寫入；既有賣家則依評級寫入前後的可見星等
+     * 在同一交易內以原子遞增調整計數，不以聚合根載入時的摘要覆寫，並發新增評級時不會遺失
+     */
+    @Override
+    @Transactional
+    public Seller save(Seller seller) {
+        String sellerId = seller.getSellerId().getId();
+        boolean existing = jpaSellerRepository.existsById(sellerId);
+        Seller saved = super.save(seller);
+        if (seller.getRatings().isEmpty()) {
+            return saved;
+        }
+
+        List<JpaSellerRatingEntity> ratings = seller.getRatings().stream()
+                .map(rating -> mapper.toJpaRatingEntity(seller.getSellerId(), rating))
+                .toList();
+        int[] starDeltas = existing ? starDeltas(ratings) : null;
+        jpaSellerRatingRepository.saveAll(ratings);
+        if (starDeltas != null && Arrays.stream(starDeltas).anyMatch(delta -> delta != 0)) {
+            jpaSellerRepository.adjustRatingCounts(sellerId,
+                    starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4], starDeltas[5]);
+            jpaSellerRepository.refreshRatingAverage(sellerId);
+        }
+        return saved;
+    }
+
+    /**
+     * 比較評級寫入前後的可見星等，計算各星等計數的變化（索引為星等）
+     * 既有評級列先鎖定，同一評級的並發審核會依序計算
+     */
+    private int[] starDeltas(List<JpaSellerRatingEntity> ratings) {
+        Map<String, Integer> previousStars = new HashMap<>();
+        jpaSellerRatingRepository.findByRatingIdIn(ratings.stream().map(JpaSellerRatingEntity::getRatingId).toList())
+                .forEach(previous -> previousStars.put(previous.getRatingId(), visibleStar(previous)));
+
+        int[] deltas = new int[6];
+        for (JpaSellerRatingEntity rating : ratings) {
+            int before = previousStars.getOrDefault(rating.getRatingId(), 0);
+            int after = visibleStar(rating);
+            // 星等 0 代表不存在或不可見
+            if (before > 0) {
+                deltas[before]--;
+            }
+            if (after > 0) {
+                deltas[after]++;
+            }
+        }
+        return deltas;
+    }
+
+    private static int visibleStar(JpaSellerRatingEntity rating) {
+        return RatingStatus.ACTIVE.name().equals(rating.getStatus()) ? rating.getRating() : 0;
+    }
+
+    /**
+     * save() 會另外寫入評價，批次保存沿用逐筆路徑
+     */
+    @Override
+    @Transactional
+    public List<Seller> saveAll(List<Seller> sellers) {
+        return sellers.stream().map(this::save).toList();
+    }
+
+    @Override
+    public List<SellerRating> findRatings(SellerId sellerId, int page, int size) {
+        return jpaSellerRatingRepository
+                .findBySellerIdOrderByRatedAtDescRatingIdDesc(sellerId.getId(), PageRequest.of(page, size))
+                .stream()
+                .map(mapper::toRatingDomainModel)
+                .toList();
+    }
+
+    @Override
+    public Optional<SellerRating> findRating(SellerId sellerId, SellerRatingId ratingId) {
+        return jpaSellerRatingRepository.findByRatingIdAndSellerId(ratingId.getId().toString(), sellerId.getId())
+                .map(mapper::toRatingDomainModel);
+    }
+
     @Override
     public Optional<Seller> findByEmail(String email) {
         return jpaSellerRepository.findByEmail(email)
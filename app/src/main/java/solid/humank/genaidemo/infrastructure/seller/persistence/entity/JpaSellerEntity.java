@@ -40,12 +40,30 @@ public class JpaSellerEntity {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
-    @Column(name = "rating")
+    // 評級摘要欄位只在新增時寫入，之後由 JpaSellerRepository#adjustRatingCounts 在資料庫端累加，
+    // 避免並發新增評級時以過時的摘要覆寫彼此的計數
+    @Column(name = "rating", updatable = false)
     private double rating;
 
-    @Column(name = "total_reviews")
+    @Column(name = "total_reviews", updatable = false)
     private int totalReviews;
 
+    // 可見評級的星等直方圖，由聚合根增量維護，列表與搜尋不需載入評級
+    @Column(name = "rating_one_star", nullable = false, updatable = false)
+    private int ratingOneStar;
+
+    @Column(name = "rating_two_star", nullable = false, updatable = false)
+    private int ratingTwoStar;
+
+    @Column(name = "rating_three_star", nullable = false, updatable = false)
+    private int ratingThreeStar;
+
+    @Column(name = "rating_four_star", nullable = false, updatable = false)
+    private int ratingFourStar;
+
+    @Column(name = "rating_five_star", nullable = false, updatable = false)
+    private int ratingFiveStar;
+
     @Column(name = "total_sales")
     private int totalSales;
 
@@ -162,6 +180,46 @@ public class JpaSellerEntity {
         this.totalReviews = totalReviews;
     }
 
+    public int getRatingOneStar() {
+        return ratingOneStar;
+    }
+
+    public void setRatingOneStar(int ratingOneStar) {
+        this.ratingOneStar = ratingOneStar;
+    }
+
+    public int getRatingTwoStar() {
+        return ratingTwoStar;
+    }
+
+    public void setRatingTwoStar(int ratingTwoStar) {
+        this.ratingTwoStar = ratingTwoStar;
+    }
+
+    public int getRatingThreeStar() {
+        return ratingThreeStar;
+    }
+
+    public void setRatingThreeStar(int ratingThreeStar) {
+        this.ratingThreeStar = ratingThreeStar;
+    }
+
+    public int getRatingFourStar() {
+        return ratingFourStar;
+    }
+
+    public void setRatingFourStar(int ratingFourStar) {
+        this.ratingFourStar = ratingFourStar;
+    }
+
+    public int getRatingFiveStar() {
+        return ratingFiveStar;
+    }
+
+    public void setRatingFiveStar(int ratingFiveStar) {
+        this.ratingFiveStar = ratingFiveStar;
+    }
+
     public int getTotalSales() {
         return totalSales;
     }
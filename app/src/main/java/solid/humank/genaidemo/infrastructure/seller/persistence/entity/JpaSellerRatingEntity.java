@@ -0,0 +1,122 @@
+package solid.humank.genaidemo.infrastructure.seller.persistence.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/** 賣家評級JPA實體 - 與賣家分開儲存，按需分頁載入 */
+@Entity
+@Table(name = "seller_ratings", indexes = {
+        @Index(name = "idx_seller_ratings_seller_rated_at", columnList = "seller_id, rated_at")
+})
+public class JpaSellerRatingEntity {
+
+    @Id
+    @Column(name = "rating_id")
+    private String ratingId;
+
+    @Column(name = "seller_id", nullable = false)
+    private String sellerId;
+
+    @Column(name = "customer_id", nullable = false)
+    private String customerId;
+
+    @Column(name = "rating", nullable = false)
+    private int rating;
+
+    @Column(name = "comment", columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "rated_at", nullable = false)
+    private LocalDateTime ratedAt;
+
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "moderator_comment")
+    private String moderatorComment;
+
+    // Constructors
+    public JpaSellerRatingEntity() {
+    }
+
+    // Getters and Setters
+    public String getRatingId() {
+        return ratingId;
+    }
+
+    public void setRatingId(String ratingId) {
+        this.ratingId = ratingId;
+    }
+
+    public String getSellerId() {
+        return sellerId;
+    }
+
+    public void setSellerId(String sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public void setRating(int rating) {
+        this.rating = rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public LocalDateTime getRatedAt() {
+        return ratedAt;
+    }
+
+    public void setRatedAt(LocalDateTime ratedAt) {
+        this.ratedAt = ratedAt;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getModeratorComment() {
+        return moderatorComment;
+    }
+
+    public void setModeratorComment(String moderatorComment) {
+        this.moderatorComment = moderatorComment;
+    }
+}
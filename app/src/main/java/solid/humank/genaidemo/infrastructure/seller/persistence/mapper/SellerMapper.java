@@ -1,19 +1,25 @@
 package solid.humank.genaidemo.infrastructure.seller.persistence.mapper;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.stereotype.Component;
 
 import solid.humank.genaidemo.domain.seller.model.aggregate.Seller;
 import solid.humank.genaidemo.domain.seller.model.entity.ContactInfo;
 import solid.humank.genaidemo.domain.seller.model.entity.SellerProfile;
+import solid.humank.genaidemo.domain.seller.model.entity.SellerRating;
 import solid.humank.genaidemo.domain.seller.model.entity.SellerVerification;
 import solid.humank.genaidemo.domain.seller.model.valueobject.ContactInfoId;
 import solid.humank.genaidemo.domain.seller.model.valueobject.SellerId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.RatingStatus;
 import solid.humank.genaidemo.domain.seller.model.valueobject.SellerProfileId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerRatingId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerRatingSummary;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
 import solid.humank.genaidemo.domain.seller.model.valueobject.SellerVerificationId;
 import solid.humank.genaidemo.infrastructure.seller.persistence.entity.JpaSellerEntity;
+import solid.humank.genaidemo.infrastructure.seller.persistence.entity.JpaSellerRatingEntity;
 
 /** 賣家映射器 - 包含從 SellerProfile 遷移的映射邏輯 */
 @Component
@@ -46,9 +52,15 @@ public class SellerMapper {
             entity.setVerificationStatus(seller.getVerificationStatus());
         }
 
-        // 映射評級資料
-        entity.setRating(seller.getRating());
-        entity.setTotalReviews(seller.getTotalReviews());
+        // 映射評級摘要，平均與總數一併寫入供依評級範圍查詢
+        SellerRatingSummary summary = seller.getRatingSummary();
+        entity.setRatingOneStar(summary.oneStar());
+        entity.setRatingTwoStar(summary.twoStar());
+        entity.setRatingThreeStar(summary.threeStar());
+        entity.setRatingFourStar(summary.fourStar());
+        entity.setRatingFiveStar(summary.fiveStar());
+        entity.setRating(summary.average());
+        entity.setTotalReviews(summary.count());
         entity.setTotalSales(0); // 預設值，可以後續從其他地方計算
 
         return entity;
@@ -82,7 +94,14 @@ public class SellerMapper {
             verification.approve("system", LocalDateTime.now().plusYears(1));
         }
 
-        // 使用重建用建構子創建 Seller
+        SellerRatingSummary ratingSummary = new SellerRatingSummary(
+                entity.getRatingOneStar(),
+                entity.getRatingTwoStar(),
+                entity.getRatingThreeStar(),
+                entity.getRatingFourStar(),
+                entity.getRatingFiveStar());
+
+        // 使用重建用建構子創建 Seller，評級只帶摘要，評級本身按需分頁載入
         return new Seller(
                 sellerId,
                 entity.getName(),
@@ -91,7 +110,34 @@ public class SellerMapper {
                 entity.getLastUpdated() != null ? entity.getLastUpdated() : LocalDateTime.now(),
                 profile,
                 contactInfo,
-                new ArrayList<>(), // ratings - 可以從其他表載入
+                ratingSummary,
+                List.of(),
                 verification);
     }
+
+    public JpaSellerRatingEntity toJpaRatingEntity(SellerId sellerId, SellerRating rating) {
+        JpaSellerRatingEntity entity = new JpaSellerRatingEntity();
+        entity.setRatingId(rating.getId().getId().toString());
+        entity.setSellerId(sellerId.getId());
+        entity.setCustomerId(rating.getCustomerId().getValue());
+        entity.setRating(rating.getRating());
+        entity.setComment(rating.getComment());
+        entity.setRatedAt(rating.getRatedAt());
+        entity.setLastModified(rating.getLastModified());
+        entity.setStatus(rating.getStatus().name());
+        entity.setModeratorComment(rating.getModeratorComment());
+        return entity;
+    }
+
+    public SellerRating toRatingDomainModel(JpaSellerRatingEntity entity) {
+        return new SellerRating(
+                SellerRatingId.of(entity.getRatingId()),
+                CustomerId.of(entity.getCustomerId()),
+                entity.getRating(),
+                entity.getComment(),
+                entity.getRatedAt(),
+                entity.getLastModified(),
+                RatingStatus.valueOf(entity.getStatus()),
+                entity.getModeratorComment());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package solid.humank.genaidemo.infrastructure.seller.persistence.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import solid.humank.genaidemo.infrastructure.seller.persistence.entity.JpaSellerRatingEntity;
+
+/** 賣家評級JPA儲存庫 */
+@Repository
+public interface JpaSellerRatingRepository extends JpaRepository<JpaSellerRatingEntity, String> {
+
+    List<JpaSellerRatingEntity> findBySellerIdOrderByRatedAtDescRatingIdDesc(String sellerId, Pageable pageable);
+
+    Optional<JpaSellerRatingEntity> findByRatingIdAndSellerId(String ratingId, String sellerId);
+
+    /**
+     * 鎖定並讀取評級目前的狀態，用於計算寫入後星等計數的變化
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<JpaSellerRatingEntity> findByRatingIdIn(Collection<String> ratingIds);
+}
@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import solid.humank.genaidemo.infrastructure.seller.persistence.entity.JpaSellerEntity;
@@ -29,4 +32,31 @@ public interface JpaSellerRepository extends JpaRepository<JpaSellerEntity, Stri
     List<JpaSellerEntity> findByVerificationStatusContaining(String verificationStatus);
 
     Optional<JpaSellerEntity> findByBusinessLicense(String businessLicense);
+
+    /**
+     * 在資料庫端累加各星等的可見評級數量，並發新增評級時不會互相覆寫
+     *
+     * @return 更新的筆數
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE JpaSellerEntity s SET s.ratingOneStar = s.ratingOneStar + :one, "
+            + "s.ratingTwoStar = s.ratingTwoStar + :two, s.ratingThreeStar = s.ratingThreeStar + :three, "
+            + "s.ratingFourStar = s.ratingFourStar + :four, s.ratingFiveStar = s.ratingFiveStar + :five "
+            + "WHERE s.sellerId = :sellerId")
+    int adjustRatingCounts(@Param("sellerId") String sellerId, @Param("one") int one, @Param("two") int two,
+            @Param("three") int three, @Param("four") int four, @Param("five") int five);
+
+    /**
+     * 由星等計數重新計算評級總數與平均，須與 {@link #adjustRatingCounts} 在同一交易內呼叫
+     */
+    @Modifying
+    @Query("UPDATE JpaSellerEntity s SET "
+            + "s.totalReviews = s.ratingOneStar + s.ratingTwoStar + s.ratingThreeStar + s.ratingFourStar "
+            + "+ s.ratingFiveStar, "
+            + "s.rating = CASE WHEN s.ratingOneStar + s.ratingTwoStar + s.ratingThreeStar + s.ratingFourStar "
+            + "+ s.ratingFiveStar = 0 THEN 0.0 ELSE (1.0 * s.ratingOneStar + 2.0 * s.ratingTwoStar "
+            + "+ 3.0 * s.ratingThreeStar + 4.0 * s.ratingFourStar + 5.0 * s.ratingFiveStar) "
+            + "/ (s.ratingOneStar + s.ratingTwoStar + s.ratingThreeStar + s.ratingFourStar + s.ratingFiveStar) END "
+            + "WHERE s.sellerId = :sellerId")
+    int refreshRatingAverage(@Param("sellerId") String sellerId);
 }
\ No newline at end of file
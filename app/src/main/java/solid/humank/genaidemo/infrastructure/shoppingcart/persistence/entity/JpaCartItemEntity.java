@@ -131,4 +131,13 @@ public class JpaCartItemEntity extends BaseOptimisticLockingEntity {
     }
 
     // getUpdatedAt, setUpdatedAt 已在 BaseOptimisticLockingEntity 中定義
+
+    /** 領域模型沒有加入時間，未指定時以持久化時間為準 */
+    @Override
+    protected void prePersist() {
+        super.prePersist();
+        if (addedAt == null) {
+            addedAt = getCreatedAt();
+        }
+    }
 }
@@ -0,0 +1,163 @@
+package solid.humank.genaidemo.infrastructure.stats.persistence.adapter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort;
+import solid.humank.genaidemo.domain.common.valueobject.MinorUnitMoney;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+
+/**
+ * 統計計數器 JDBC 適配器
+ *
+ * 累加以 {@code counter_value = counter_value + :delta} 在資料庫端完成，各節點不需先讀後寫；
+ * 依鍵排序後更新，避免兩個節點以不同順序鎖定相同的列而死鎖。
+ * 不存在的計數器以新增建立，兩個節點同時建立同一計數器時後者的交易失敗並整批回滾，
+ * 由呼叫端在下一次累加時重試，此時計數器已存在。
+ */
+@Component
+public class StatisticsCounterJdbcAdapter implements StatisticsCounterPort {
+
+    private static final String SELECT_ALL = """
+            SELECT metric, dimension, counter_value FROM statistics_counters
+            """;
+
+    private static final String INCREMENT = """
+            UPDATE statistics_counters
+            SET counter_value = counter_value + :value, updated_at = :now
+            WHERE metric = :metric AND dimension = :dimension
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO statistics_counters (metric, dimension, counter_value, updated_at)
+            VALUES (:metric, :dimension, :value, :now)
+            """;
+
+    private static final String DELETE_RECOUNTED = """
+            DELETE FROM statistics_counters
+            WHERE metric <> :revenueMetric OR dimension >= :revenueSince
+            """;
+
+    private static final String COUNT_CUSTOMERS = "SELECT COUNT(*) FROM customers";
+
+    private static final String COUNT_INVENTORY_ITEMS = "SELECT COUNT(*) FROM inventories";
+
+    private static final String COUNT_ORDERS_BY_STATUS = """
+            SELECT status, COUNT(*) AS cnt FROM orders GROUP BY status
+            """;
+
+    private static final String COUNT_PAYMENTS_BY_METHOD = """
+            SELECT payment_method, COUNT(*) AS cnt FROM payments GROUP BY payment_method
+            """;
+
+    private static final String SUM_DAILY_REVENUE = """
+            SELECT CAST(updated_at AS DATE) AS revenue_day, currency, SUM(amount) AS revenue
+            FROM payments
+            WHERE status = 'COMPLETED' AND updated_at >= :since
+            GROUP BY CAST(updated_at AS DATE), currency
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public StatisticsCounterJdbcAdapter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public List<Counter> loadAll() {
+        return jdbcTemplate.query(SELECT_ALL, (rs, rowNum) -> new Counter(
+                Metric.valueOf(rs.getString("metric")), rs.getString("dimension"), rs.getLong("counter_value")));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void addAll(Collection<Counter> deltas) {
+        List<Counter> ordered = deltas.stream()
+                .sorted(Comparator.comparing(Counter::metric).thenComparing(Counter::dimension))
+                .toList();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] batch = ordered.stream().map(counter -> params(counter, now))
+                .toArray(SqlParameterSource[]::new);
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT, batch);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                jdbcTemplate.update(INSERT, batch[i]);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public List<Counter> recount(LocalDate revenueSince) {
+        List<Counter> counters = new ArrayList<>();
+        MapSqlParameterSource noParams = new MapSqlParameterSource();
+        counters.add(new Counter(Metric.CUSTOMERS, TOTAL,
+                jdbcTemplate.queryForObject(COUNT_CUSTOMERS, noParams, Long.class)));
+        counters.add(new Counter(Metric.INVENTORY_ITEMS, TOTAL,
+                jdbcTemplate.queryForObject(COUNT_INVENTORY_ITEMS, noParams, Long.class)));
+
+        long orders = 0;
+        for (Counter counter : jdbcTemplate.query(COUNT_ORDERS_BY_STATUS, (rs, rowNum) -> new Counter(
+                Metric.ORDERS_BY_STATUS, rs.getString("status"), rs.getLong("cnt")))) {
+            counters.add(counter);
+            orders += counter.value();
+        }
+        counters.add(new Counter(Metric.ORDERS, TOTAL, orders));
+
+        long payments = 0;
+        for (Counter counter : jdbcTemplate.query(COUNT_PAYMENTS_BY_METHOD, (rs, rowNum) -> {
+            String method = rs.getString("payment_method");
+            return new Counter(Metric.PAYMENTS_BY_METHOD,
+                    method != null ? method : UNSPECIFIED, rs.getLong("cnt"));
+        })) {
+            counters.add(counter);
+            payments += counter.value();
+        }
+        counters.add(new Counter(Metric.PAYMENTS, TOTAL, payments));
+
+        counters.addAll(jdbcTemplate.query(SUM_DAILY_REVENUE,
+                new MapSqlParameterSource("since", Timestamp.valueOf(revenueSince.atStartOfDay())),
+                (rs, rowNum) -> {
+                    String currency = rs.getString("currency");
+                    BigDecimal revenue = rs.getBigDecimal("revenue");
+                    MinorUnitMoney minor = MinorUnitMoney.from(Money.of(revenue, currency), RoundingMode.HALF_UP);
+                    return new Counter(Metric.DAILY_REVENUE,
+                            rs.getDate("revenue_day").toLocalDate() + "/" + currency, minor.minorUnits());
+                }));
+        return counters;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void replace(Collection<Counter> counters, LocalDate revenueSince) {
+        jdbcTemplate.update(DELETE_RECOUNTED, new MapSqlParameterSource()
+                .addValue("revenueMetric", Metric.DAILY_REVENUE.name())
+                .addValue("revenueSince", revenueSince.toString()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, counters.stream().map(counter -> params(counter, now))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    private static MapSqlParameterSource params(Counter counter, Timestamp now) {
+        return new MapSqlParameterSource()
+                .addValue("metric", counter.metric().name())
+                .addValue("dimension", counter.dimension())
+                .addValue("value", counter.value())
+                .addValue("now", now);
+    }
+}
@@ -0,0 +1,89 @@
+package solid.humank.genaidemo.infrastructure.stats.persistence.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * 統計計數器 JPA 實體
+ *
+ * 只由 JDBC 以累加或整批覆寫更新，因此不繼承 BaseOptimisticLockingEntity。
+ */
+@Entity
+@Table(name = "statistics_counters")
+@IdClass(JpaStatisticsCounterEntity.CounterKey.class)
+public class JpaStatisticsCounterEntity {
+
+    @Id
+    @Column(name = "metric", nullable = false, length = 50)
+    private String metric;
+
+    @Id
+    @Column(name = "dimension", nullable = false, length = 100)
+    private String dimension;
+
+    @Column(name = "counter_value", nullable = false)
+    private long counterValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 默認建構子，JPA 需要
+    public JpaStatisticsCounterEntity() {
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public long getCounterValue() {
+        return counterValue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** 複合主鍵 */
+    public static class CounterKey implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String metric;
+        private String dimension;
+
+        public CounterKey() {
+        }
+
+        public CounterKey(String metric, String dimension) {
+            this.metric = metric;
+            this.dimension = dimension;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey other)) {
+                return false;
+            }
+            return Objects.equals(metric, other.metric) && Objects.equals(dimension, other.dimension);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metric, dimension);
+        }
+    }
+}
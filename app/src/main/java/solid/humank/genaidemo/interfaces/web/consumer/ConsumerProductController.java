@@ -1,6 +1,9 @@
 package solid.humank.genaidemo.interfaces.web.consumer;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -11,6 +14,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -20,6 +24,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import solid.humank.genaidemo.application.product.service.PriceHistoryService;
+import solid.humank.genaidemo.application.product.service.ProductRankingService;
+import solid.humank.genaidemo.application.product.service.ProductSearchIndex;
 
 /**
  * 消費者商品控制器
@@ -30,6 +37,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "消費者商品", description = "消費者商品瀏覽和搜索功能")
 public class ConsumerProductController {
 
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductRankingService productRankingService;
+    private final PriceHistoryService priceHistoryService;
+
+    public ConsumerProductController(ProductSearchIndex productSearchIndex,
+            ProductRankingService productRankingService, PriceHistoryService priceHistoryService) {
+        this.productSearchIndex = productSearchIndex;
+        this.productRankingService = productRankingService;
+        this.priceHistoryService = priceHistoryService;
+    }
+
     @GetMapping
     @Operation(summary = "瀏覽商品列表", description = "分頁瀏覽商品，支援分類篩選")
     public ResponseEntity<Map<String, Object>> browseProducts(
@@ -87,35 +105,38 @@ public class ConsumerProductController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "搜尋商品", description = "根據關鍵字搜尋商品")
+    @Operation(summary = "搜尋商品", description = "根據關鍵字搜尋商品名稱、描述與分類，依相關度排序並回傳分類分面計數")
     public ResponseEntity<Map<String, Object>> searchProducts(
             @RequestParam String keyword,
+            @RequestParam(required = false) String category,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
-        if (keyword == null || keyword.isBlank()) {
+        if (keyword == null || keyword.isBlank() || page < 0 || size <= 0) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<Map<String, Object>> products = createMockProducts();
-
-        // 模擬搜索
-        List<Map<String, Object>> searchResults = products.stream()
-                .filter(p -> ((String) p.get("name")).toLowerCase().contains(keyword.toLowerCase()))
-                .toList();
-
-        // 分頁處理
-        Pageable pageable = PageRequest.of(page, size);
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), searchResults.size());
-
-        List<Map<String, Object>> pageContent = new ArrayList<>(searchResults.subList(start, end));
-        Page<Map<String, Object>> productPage = new PageImpl<>(pageContent, pageable, searchResults.size());
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(keyword, category, page, size);
+
+        List<Map<String, Object>> content = new ArrayList<>(result.hits().size());
+        for (ProductSearchIndex.Hit hit : result.hits()) {
+            var product = new HashMap<String, Object>();
+            product.put("id", hit.product().productId());
+            product.put("name", hit.product().name());
+            product.put("description", hit.product().description());
+            product.put("price", hit.product().price());
+            product.put("category", hit.product().category());
+            product.put("inStock", hit.product().inStock());
+            product.put("score", hit.score());
+            content.add(product);
+        }
 
         var response = new HashMap<String, Object>();
-        response.put("content", productPage.getContent());
-        response.put("totalElements", productPage.getTotalElements());
-        response.put("totalPages", productPage.getTotalPages());
+        response.put("content", content);
+        response.put("totalElements", result.total());
+        response.put("totalPages", (result.total() + size - 1) / size);
+        response.put("facets", Map.of("category", result.categoryFacets()));
+        response.put("fromIndex", result.fromIndex());
 
         return ResponseEntity.ok(response);
     }
@@ -143,33 +164,30 @@ public class ConsumerProductController {
     }
 
     @GetMapping("/recommendations")
-    @Operation(summary = "獲取推薦商品", description = "根據客戶ID獲取個人化推薦商品")
+    @Operation(summary = "獲取推薦商品", description = "根據客戶最近購買的商品推薦經常一起購買的商品，沒有購買紀錄時推薦熱門商品")
     public ResponseEntity<List<Map<String, Object>>> getRecommendedProducts(
             @RequestParam String customerId,
             @RequestParam(defaultValue = "5") int limit) {
 
-        List<Map<String, Object>> recommendations = createMockProducts().subList(0, Math.min(limit, 3));
-        return ResponseEntity.ok(recommendations);
+        return rankedResponse(productRankingService.recommendations(customerId, limit));
     }
 
     @GetMapping("/{productId}/related")
-    @Operation(summary = "獲取相關商品", description = "獲取與指定商品相關的其他商品")
+    @Operation(summary = "獲取相關商品", description = "獲取經常與指定商品一起購買的其他商品")
     public ResponseEntity<List<Map<String, Object>>> getRelatedProducts(
             @PathVariable String productId,
             @RequestParam(defaultValue = "5") int limit) {
 
-        List<Map<String, Object>> related = createMockProducts().subList(0, Math.min(limit, 3));
-        return ResponseEntity.ok(related);
+        return rankedResponse(productRankingService.related(productId, limit));
     }
 
     @GetMapping("/trending")
-    @Operation(summary = "獲取熱門商品", description = "獲取當前熱門商品")
+    @Operation(summary = "獲取熱門商品", description = "依近期瀏覽與購買熱度排序的商品")
     public ResponseEntity<List<Map<String, Object>>> getTrendingProducts(
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(required = false) String category) {
 
-        List<Map<String, Object>> trending = createMockProducts().subList(0, Math.min(limit, 5));
-        return ResponseEntity.ok(trending);
+        return rankedResponse(productRankingService.trending(category, limit));
     }
 
     @GetMapping("/new")
@@ -183,21 +201,66 @@ public class ConsumerProductController {
     }
 
     @GetMapping("/{productId}/price-history")
-    @Operation(summary = "獲取商品價格歷史", description = "獲取指定商品的價格變化歷史")
+    @Operation(summary = "獲取商品價格歷史", description = "獲取指定商品的價格變化歷史，依時間粒度彙總為開盤、最低、最高與收盤價")
     public ResponseEntity<Map<String, Object>> getProductPriceHistory(
             @PathVariable String productId,
-            @RequestParam(defaultValue = "30") int days) {
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "DAY") String resolution) {
+
+        PriceHistoryService.PriceHistory history;
+        try {
+            PriceHistoryService.Resolution parsed = PriceHistoryService.Resolution.valueOf(resolution.toUpperCase());
+            Instant to = Instant.now();
+            history = priceHistoryService.history(productId, to.minus(Duration.ofDays(days)), to, parsed);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Map<String, Object>> points = new ArrayList<>(history.buckets().size());
+        for (PriceHistoryService.PriceBucket bucket : history.buckets()) {
+            var point = new HashMap<String, Object>();
+            point.put("date", history.resolution() == PriceHistoryService.Resolution.HOUR
+                    ? bucket.start().atZone(priceHistoryService.zone()).toLocalDateTime().toString()
+                    : bucket.start().atZone(priceHistoryService.zone()).toLocalDate().toString());
+            point.put("open", bucket.open());
+            point.put("min", bucket.min());
+            point.put("max", bucket.max());
+            point.put("close", bucket.close());
+            point.put("price", bucket.close());
+            point.put("changes", bucket.changes());
+            points.add(point);
+        }
 
         var response = new HashMap<String, Object>();
         response.put("productId", productId);
-        response.put("priceHistory", Arrays.asList(
-                Map.of("date", "2024-01-01", "price", 1000),
-                Map.of("date", "2024-01-15", "price", 950),
-                Map.of("date", "2024-02-01", "price", 900)));
+        response.put("currency", history.currency());
+        response.put("resolution", history.resolution());
+        response.put("priceHistory", points);
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 預先計算的排行清單，以 Age 標頭回報清單產生至今的秒數
+     */
+    private ResponseEntity<List<Map<String, Object>>> rankedResponse(ProductRankingService.RankedList list) {
+        List<Map<String, Object>> products = new ArrayList<>(list.products().size());
+        for (ProductRankingService.RankedProduct ranked : list.products()) {
+            var product = new HashMap<String, Object>();
+            product.put("id", ranked.productId());
+            product.put("name", ranked.name());
+            product.put("description", ranked.description());
+            product.put("price", ranked.price());
+            product.put("category", ranked.category());
+            product.put("inStock", ranked.inStock());
+            product.put("score", ranked.score());
+            products.add(product);
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(list.age(Clock.systemUTC()).toSeconds()))
+                .body(products);
+    }
+
     private List<Map<String, Object>> createMockProducts() {
         var products = new ArrayList<Map<String, Object>>();
 
@@ -19,6 +19,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import solid.humank.genaidemo.application.common.dto.StandardErrorResponse;
+import solid.humank.genaidemo.application.customer.CustomerCursorPageDto;
 import solid.humank.genaidemo.application.customer.CustomerDto;
 import solid.humank.genaidemo.application.customer.CustomerPageDto;
 import solid.humank.genaidemo.application.customer.service.CustomerApplicationService;
@@ -63,6 +64,38 @@ public class CustomerController {
                 return ResponseEntity.ok(response);
         }
 
+        /** 以游標獲取客戶列表 */
+        @Operation(summary = "以游標獲取客戶列表", description = "依註冊日期由新到舊以游標分頁獲取客戶列表，將回應中的 nextCursor 帶入下一次請求即可取得下一頁，頁數深時效能不會下降。返回的客戶資訊已進行隱私保護處理")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "成功獲取客戶列表", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
+                        @ApiResponse(responseCode = "400", description = "游標或每頁大小無效", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardErrorResponse.class))),
+                        @ApiResponse(responseCode = "500", description = "系統內部錯誤", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardErrorResponse.class)))
+        })
+        @GetMapping("/scroll")
+        public ResponseEntity<Map<String, Object>> scrollCustomers(
+                        @Parameter(description = "上一頁回傳的 nextCursor，第一頁省略") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "每頁大小，最大 100", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+                var response = new HashMap<String, Object>();
+
+                try {
+                        CustomerCursorPageDto customerPage = customerApplicationService.getCustomersAfter(cursor, size);
+
+                        response.put("success", true);
+                        response.put("data", customerPage);
+
+                } catch (IllegalArgumentException e) {
+                        response.put("success", false);
+                        response.put("message", e.getMessage());
+                        return ResponseEntity.badRequest().body(response);
+                } catch (Exception e) {
+                        response.put("success", false);
+                        response.put("message", "獲取客戶列表時發生錯誤: " + e.getMessage());
+                }
+
+                return ResponseEntity.ok(response);
+        }
+
         /** 獲取單個客戶 */
         @Operation(summary = "獲取單個客戶資訊", description = "根據客戶ID獲取特定客戶的詳細資訊。返回的客戶資訊已進行隱私保護處理，敏感資訊會被適當遮罩")
         @ApiResponses(value = {
@@ -0,0 +1,95 @@
+package solid.humank.genaidemo.interfaces.web.export;
+
+import java.io.OutputStream;
+import java.util.function.BiConsumer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import solid.humank.genaidemo.application.common.dto.ErrorCode;
+import solid.humank.genaidemo.application.common.dto.StandardErrorResponse;
+import solid.humank.genaidemo.application.export.ExportFormat;
+import solid.humank.genaidemo.application.export.service.DataExportApplicationService;
+
+/** 資料匯出控制器 以串流回應輸出 CSV 或 NDJSON，供財務夜間批次匯出使用 */
+@RestController
+@RequestMapping("/api/exports")
+@Tag(name = "資料匯出", description = "以串流方式匯出訂單、支付與客戶資料，支援 CSV 與 NDJSON 格式")
+public class DataExportController {
+
+        private final DataExportApplicationService dataExportApplicationService;
+
+        public DataExportController(DataExportApplicationService dataExportApplicationService) {
+                this.dataExportApplicationService = dataExportApplicationService;
+        }
+
+        /** 匯出訂單 */
+        @Operation(summary = "匯出訂單", description = "以鍵集分頁逐批讀取所有訂單並串流輸出，記憶體用量與訂單數量無關")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "匯出串流"),
+                        @ApiResponse(responseCode = "400", description = "不支援的匯出格式", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardErrorResponse.class)))
+        })
+        @GetMapping("/orders")
+        public ResponseEntity<StreamingResponseBody> exportOrders(
+                        @Parameter(description = "匯出格式：csv 或 ndjson", example = "csv") @RequestParam(defaultValue = "csv") String format) {
+                return streaming("orders", ExportFormat.fromString(format),
+                                dataExportApplicationService::exportOrders);
+        }
+
+        /** 匯出支付 */
+        @Operation(summary = "匯出支付", description = "以鍵集分頁逐批讀取所有支付記錄並串流輸出")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "匯出串流"),
+                        @ApiResponse(responseCode = "400", description = "不支援的匯出格式", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardErrorResponse.class)))
+        })
+        @GetMapping("/payments")
+        public ResponseEntity<StreamingResponseBody> exportPayments(
+                        @Parameter(description = "匯出格式：csv 或 ndjson", example = "csv") @RequestParam(defaultValue = "csv") String format) {
+                return streaming("payments", ExportFormat.fromString(format),
+                                dataExportApplicationService::exportPayments);
+        }
+
+        /** 匯出客戶 */
+        @Operation(summary = "匯出客戶", description = "以鍵集分頁逐批讀取所有客戶並串流輸出，不含個資欄位")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "匯出串流"),
+                        @ApiResponse(responseCode = "400", description = "不支援的匯出格式", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardErrorResponse.class)))
+        })
+        @GetMapping("/customers")
+        public ResponseEntity<StreamingResponseBody> exportCustomers(
+                        @Parameter(description = "匯出格式：csv 或 ndjson", example = "csv") @RequestParam(defaultValue = "csv") String format) {
+                return streaming("customers", ExportFormat.fromString(format),
+                                dataExportApplicationService::exportCustomers);
+        }
+
+        @ExceptionHandler(IllegalArgumentException.class)
+        @Operation(hidden = true)
+        public ResponseEntity<StandardErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                                .body(new StandardErrorResponse(ErrorCode.VALIDATION_ERROR, e.getMessage(), "/api/exports"));
+        }
+
+        private ResponseEntity<StreamingResponseBody> streaming(String dataset, ExportFormat format,
+                        BiConsumer<ExportFormat, OutputStream> exporter) {
+                StreamingResponseBody body = output -> exporter.accept(format, output);
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(format.getContentType()))
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"" + dataset + "." + format.getFileExtension() + "\"")
+                                .body(body);
+        }
+}
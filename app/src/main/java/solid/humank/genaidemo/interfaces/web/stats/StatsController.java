@@ -6,6 +6,7 @@ import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,12 +17,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import solid.humank.genaidemo.application.common.dto.StandardErrorResponse;
+import solid.humank.genaidemo.application.stats.DailyRevenueStatsDto;
 import solid.humank.genaidemo.application.stats.OrderStatusStatsDto;
 import solid.humank.genaidemo.application.stats.PaymentMethodStatsDto;
 import solid.humank.genaidemo.application.stats.StatsDto;
 import solid.humank.genaidemo.application.stats.service.StatisticsApplicationService;
 
-/** 數據統計控制器 用於驗證數據庫中的數據量 */
+/** 數據統計控制器 統計數據來自增量維護的計數器，不對業務資料表執行 count */
 @RestController
 @RequestMapping("/api/stats")
 @Tag(name = "統計報表", description = "提供系統各項統計數據和報表功能，包括數據庫統計、訂單狀態分布、支付方式分析等")
@@ -124,4 +126,36 @@ public class StatsController {
 
                 return ResponseEntity.ok(result);
         }
+
+        /** 獲取每日營收 */
+        @GetMapping("/daily-revenue")
+        @Operation(summary = "獲取每日營收統計", description = "獲取最近指定天數（含今天）已完成支付的每日營收，依幣別分列，沒有營收的日子不列出")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "成功獲取每日營收統計", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class), examples = @ExampleObject(name = "每日營收統計範例", value = """
+                                        {
+                                            "dailyRevenue": {
+                                                "2024-03-01": { "TWD": 125800.00 },
+                                                "2024-03-02": { "TWD": 98400.00, "USD": 120.50 }
+                                            },
+                                            "status": "success"
+                                        }
+                                        """))),
+                        @ApiResponse(responseCode = "400", description = "天數不在允許範圍內", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardErrorResponse.class)))
+        })
+        public ResponseEntity<Map<String, Object>> getDailyRevenueStats(
+                        @RequestParam(defaultValue = "30") int days) {
+                if (days <= 0 || days > StatisticsApplicationService.MAX_REVENUE_DAYS) {
+                        return ResponseEntity.badRequest().build();
+                }
+                DailyRevenueStatsDto statsDto = statisticsApplicationService.getDailyRevenueStatistics(days);
+
+                var result = new HashMap<String, Object>();
+                result.put("dailyRevenue", statsDto.dailyRevenue());
+                result.put("status", statsDto.status());
+                if (statsDto.message() != null) {
+                        result.put("message", statsDto.message());
+                }
+
+                return ResponseEntity.ok(result);
+        }
 }
@@ -0,0 +1,14 @@
+-- ========================================
+-- 庫存配額分片 - 各節點已從可用數量領取、尚未結算的搶購配額
+-- ========================================
+
+CREATE TABLE inventory_quota_slices (
+    product_id VARCHAR(255) NOT NULL,
+    node_id VARCHAR(100) NOT NULL,
+    quantity INT NOT NULL DEFAULT 0 CHECK (quantity >= 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (product_id, node_id)
+);
+
+-- 創建索引（節點重新啟動時依節點收回配額）
+CREATE INDEX idx_inventory_quota_slices_node ON inventory_quota_slices(node_id);
@@ -0,0 +1,5 @@
+-- ========================================
+-- 預留過期索引 - 依 (到期時間, ID) 順序掃描有效預留，取代逐一載入庫存聚合根
+-- ========================================
+
+CREATE INDEX idx_inventory_reservations_expiry ON inventory_reservations(status, expires_at, id);
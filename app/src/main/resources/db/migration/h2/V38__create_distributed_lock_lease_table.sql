@@ -0,0 +1,16 @@
+-- ========================================
+-- 分散式鎖租約 - 以條件式 upsert 取得租約，防護權杖由序列產生，跨鎖鍵單調遞增
+-- ========================================
+
+CREATE SEQUENCE distributed_lock_fencing_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE distributed_lock_lease (
+    lock_key VARCHAR(255) PRIMARY KEY,
+    owner_id VARCHAR(128),
+    fencing_token BIGINT NOT NULL,
+    acquired_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- 創建索引（清理過期租約、統計有效租約）
+CREATE INDEX idx_distributed_lock_lease_expires ON distributed_lock_lease(expires_at);
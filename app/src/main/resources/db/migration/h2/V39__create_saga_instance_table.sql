@@ -0,0 +1,19 @@
+-- ========================================
+-- Saga 實例 - 保存步驟進度與上下文屬性，節點重啟後接續執行
+-- ========================================
+
+CREATE TABLE saga_instance (
+    saga_id VARCHAR(64) PRIMARY KEY,
+    saga_type VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    completed_steps TEXT NOT NULL,
+    compensated_steps TEXT NOT NULL,
+    attributes TEXT NOT NULL,
+    failure_reason VARCHAR(500),
+    version BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 創建索引（查詢需要接續處理的實例）
+CREATE INDEX idx_saga_instance_in_flight ON saga_instance(saga_type, status, updated_at);
@@ -0,0 +1,12 @@
+-- ========================================
+-- 統計計數器 - 由領域事件增量累加，定期從業務資料表重新計算校正
+-- 每日營收的維度為 yyyy-MM-dd/幣別，數值以最小貨幣單位表示
+-- ========================================
+
+CREATE TABLE statistics_counters (
+    metric VARCHAR(50) NOT NULL,
+    dimension VARCHAR(100) NOT NULL,
+    counter_value BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (metric, dimension)
+);
@@ -0,0 +1,22 @@
+-- ========================================
+-- 客戶點數/消費帳本 - 只新增的差額分錄，定期折疊進客戶資料
+-- ========================================
+
+-- 已折疊的消費總額
+ALTER TABLE customers ADD COLUMN total_spending DECIMAL(19,2) NOT NULL DEFAULT 0;
+
+-- 創建客戶帳本分錄表
+CREATE TABLE customer_ledger_entries (
+    id BIGSERIAL PRIMARY KEY,
+    customer_id VARCHAR(255) NOT NULL,
+    points_delta INT NOT NULL DEFAULT 0,
+    spending_delta DECIMAL(19,2) NOT NULL DEFAULT 0,
+    currency VARCHAR(3) NOT NULL DEFAULT 'TWD',
+    order_id VARCHAR(255),
+    reason VARCHAR(500) NOT NULL,
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    folded BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- 創建索引（部分索引只涵蓋尚未折疊的分錄）
+CREATE INDEX idx_customer_ledger_unfolded ON customer_ledger_entries(customer_id) WHERE folded = FALSE;
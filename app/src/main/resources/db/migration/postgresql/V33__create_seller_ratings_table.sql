@@ -0,0 +1,27 @@
+-- ========================================
+-- 賣家評級 - 評級明細獨立成表按需分頁讀取，賣家列只保存各星等計數摘要
+-- ========================================
+
+-- 各星等可見評級數量
+ALTER TABLE sellers ADD COLUMN rating_one_star INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE sellers ADD COLUMN rating_two_star INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE sellers ADD COLUMN rating_three_star INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE sellers ADD COLUMN rating_four_star INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE sellers ADD COLUMN rating_five_star INTEGER NOT NULL DEFAULT 0;
+
+-- 創建賣家評級表
+CREATE TABLE seller_ratings (
+    rating_id VARCHAR(255) PRIMARY KEY,
+    seller_id VARCHAR(255) NOT NULL,
+    customer_id VARCHAR(255) NOT NULL,
+    rating INTEGER NOT NULL CHECK (rating BETWEEN 1 AND 5),
+    comment TEXT,
+    rated_at TIMESTAMP NOT NULL,
+    last_modified TIMESTAMP,
+    status VARCHAR(50) NOT NULL,
+    moderator_comment VARCHAR(255),
+    FOREIGN KEY (seller_id) REFERENCES sellers(seller_id) ON DELETE CASCADE
+);
+
+-- 創建索引
+CREATE INDEX idx_seller_ratings_seller_rated_at ON seller_ratings(seller_id, rated_at);
@@ -0,0 +1,7 @@
+-- ========================================
+-- 預留過期索引 - 依 (到期時間, ID) 順序掃描有效預留，取代逐一載入庫存聚合根
+-- ========================================
+
+-- 部分索引只包含有效預留，已確認或釋放的歷史預留不佔索引空間
+CREATE INDEX idx_inventory_reservations_expiry ON inventory_reservations(expires_at, id)
+    WHERE status = 'ACTIVE';
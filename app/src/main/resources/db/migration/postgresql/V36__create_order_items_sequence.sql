@@ -0,0 +1,9 @@
+-- ========================================
+-- 訂單明細ID序列 - 一次配置 50 個ID，讓新增明細可以合併為 JDBC 批次
+-- ========================================
+
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50;
+
+-- Hibernate 的 pooled 最佳化把取得的序列值視為區段上限（值 - 49 ~ 值），
+-- 因此從現有最大ID加 50 開始，第一個區段緊接在以自動遞增寫入的既有資料之後
+SELECT setval('order_items_seq', COALESCE((SELECT MAX(id) FROM order_items), 0) + 50, false);
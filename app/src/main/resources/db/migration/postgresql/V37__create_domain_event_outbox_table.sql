@@ -0,0 +1,24 @@
+-- ========================================
+-- 領域事件寄件匣 - 與聚合根在同一交易寫入，由轉送器分批認領後發布
+-- ========================================
+
+CREATE TABLE domain_event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    event_class VARCHAR(255) NOT NULL,
+    aggregate_id VARCHAR(255),
+    payload TEXT NOT NULL,
+    occurred_on TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claim_token UUID,
+    published_at TIMESTAMP,
+    last_error VARCHAR(500)
+);
+
+-- 創建索引（部分索引分別涵蓋待發布與已發布的事件）
+CREATE INDEX idx_domain_event_outbox_pending ON domain_event_outbox(available_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_domain_event_outbox_published ON domain_event_outbox(published_at) WHERE status = 'PUBLISHED';
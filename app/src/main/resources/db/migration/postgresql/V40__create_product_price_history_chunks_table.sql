@@ -0,0 +1,16 @@
+-- ========================================
+-- 商品價格歷史 - 每列是一段編碼後的價格點（時間與價格欄位皆以差值與 varint 編碼），
+-- 只有每個商品的最後一個區塊會被附加改寫
+-- ========================================
+
+CREATE TABLE product_price_history_chunks (
+    product_id VARCHAR(255) NOT NULL,
+    chunk_sequence INT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    first_epoch_second BIGINT NOT NULL,
+    last_epoch_second BIGINT NOT NULL,
+    point_count INT NOT NULL CHECK (point_count > 0),
+    encoded BYTEA NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (product_id, chunk_sequence)
+);
@@ -0,0 +1,111 @@
+package solid.humank.genaidemo.application.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import solid.humank.genaidemo.application.customer.CustomerCursorPageDto;
+import solid.humank.genaidemo.application.customer.CustomerPageDto;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerSummary;
+import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
+import solid.humank.genaidemo.domain.customer.repository.CustomerRepository;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerApplicationService 客戶列表測試")
+class CustomerApplicationServiceListingTest {
+
+    @Mock private CustomerRepository customerRepository;
+
+    @InjectMocks private CustomerApplicationService customerApplicationService;
+
+    @Test
+    @DisplayName("分頁列表應該使用投影查詢而不逐筆載入聚合根")
+    void shouldListCustomersFromSummariesWithoutLoadingAggregates() {
+        // Given
+        when(customerRepository.findCustomerSummaries(0, 2)).thenReturn(List.of(
+                summary("cust-2", LocalDate.of(2024, 3, 2)),
+                summary("cust-1", LocalDate.of(2024, 3, 1))));
+        when(customerRepository.countCustomers()).thenReturn(5);
+
+        // When
+        CustomerPageDto page = customerApplicationService.getCustomers(0, 2);
+
+        // Then
+        assertThat(page.content()).extracting("id").containsExactly("cust-2", "cust-1");
+        assertThat(page.content().get(0).name()).isEqualTo("王**");
+        assertThat(page.content().get(0).email()).isEqualTo("w**g@example.com");
+        assertThat(page.totalElements()).isEqualTo(5);
+        assertThat(page.totalPages()).isEqualTo(3);
+        assertThat(page.last()).isFalse();
+        verify(customerRepository, never()).findById(any());
+        verify(customerRepository, never()).findCustomerIds(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("每頁大小應該限制在上限之內")
+    void shouldCapPageSize() {
+        // Given
+        when(customerRepository.findCustomerSummaries(0, CustomerApplicationService.MAX_PAGE_SIZE))
+                .thenReturn(List.of());
+
+        // When
+        CustomerPageDto page = customerApplicationService.getCustomers(0, 10_000);
+
+        // Then
+        assertThat(page.size()).isEqualTo(CustomerApplicationService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("游標分頁應該回傳下一頁游標並以最後一筆的排序鍵查詢下一頁")
+    void shouldReturnNextCursorAndResumeAfterLastRow() {
+        // Given
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        when(customerRepository.findCustomerSummariesAfter(isNull(), isNull(), eq(3))).thenReturn(List.of(
+                summary("cust-3", day), summary("cust-2", day), summary("cust-1", day)));
+        when(customerRepository.findCustomerSummariesAfter(eq(day), eq(CustomerId.of("cust-2")), eq(3)))
+                .thenReturn(List.of(summary("cust-1", day)));
+        when(customerRepository.countCustomers()).thenReturn(3);
+
+        // When
+        CustomerCursorPageDto first = customerApplicationService.getCustomersAfter(null, 2);
+        CustomerCursorPageDto second = customerApplicationService.getCustomersAfter(first.nextCursor(), 2);
+
+        // Then
+        assertThat(first.content()).extracting("id").containsExactly("cust-3", "cust-2");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.content()).extracting("id").containsExactly("cust-1");
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+        assertThat(second.totalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("無效的游標應該拋出異常")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> customerApplicationService.getCustomersAfter("not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("無效的分頁游標");
+    }
+
+    private static CustomerSummary summary(String id, LocalDate registrationDate) {
+        return new CustomerSummary(CustomerId.of(id), "王小明", "wang@example.com", "0912345678",
+                "信義路五段7號, 台北市 110, Taiwan", MembershipLevel.GOLD, registrationDate);
+    }
+}
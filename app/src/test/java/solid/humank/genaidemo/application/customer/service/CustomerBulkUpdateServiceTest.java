@@ -0,0 +1,190 @@
+package solid.humank.genaidemo.application.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.application.customer.CustomerBulkOperation;
+import solid.humank.genaidemo.application.customer.CustomerBulkUpdateProgress;
+import solid.humank.genaidemo.application.customer.port.outgoing.CustomerBulkUpdatePort;
+import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
+
+@DisplayName("客戶批量更新服務測試")
+class CustomerBulkUpdateServiceTest {
+
+    private final InMemoryBulkPort port = new InMemoryBulkPort();
+
+    @Test
+    @DisplayName("應該分批並以有限並行度執行並逐批回報進度")
+    void shouldProcessChunksWithBoundedParallelismAndReportProgress() {
+        // Given
+        List<String> ids = port.seed(1_000, BigDecimal.ZERO);
+        CustomerBulkUpdateService service = new CustomerBulkUpdateService(port, 100, 3, 3);
+        List<CustomerBulkUpdateProgress> reports = new CopyOnWriteArrayList<>();
+
+        // When
+        CustomerBulkUpdateProgress result = service.bulkUpdate(ids, CustomerBulkOperation.ADD_LOYALTY_BONUS,
+                reports::add);
+
+        // Then
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.succeeded()).isEqualTo(1_000);
+        assertThat(port.loadedChunkSizes).hasSize(10).allMatch(size -> size == 100);
+        assertThat(port.maxConcurrentChunks.get()).isLessThanOrEqualTo(3);
+        assertThat(reports).hasSize(10);
+        assertThat(reports.get(reports.size() - 1)).isEqualTo(result);
+        assertThat(port.points).allSatisfy((id, points) -> assertThat(points).isEqualTo(50));
+    }
+
+    @Test
+    @DisplayName("只有版本衝突的客戶應該重新排入佇列")
+    void shouldRequeueOnlyConflictingCustomers() {
+        // Given
+        List<String> ids = port.seed(10, BigDecimal.ZERO);
+        port.conflictOnce.addAll(List.of("cust-3", "cust-7"));
+        CustomerBulkUpdateService service = new CustomerBulkUpdateService(port, 5, 2, 3);
+
+        // When
+        CustomerBulkUpdateProgress result = service.bulkUpdate(ids, CustomerBulkOperation.ADD_LOYALTY_BONUS);
+
+        // Then
+        assertThat(result.succeeded()).isEqualTo(10);
+        assertThat(result.requeued()).isEqualTo(2);
+        // 並行的批次完成順序不固定，以多重集合比較：每位客戶載入一次，衝突的客戶各多載入一次
+        List<String> expectedLoads = new ArrayList<>(ids);
+        expectedLoads.addAll(List.of("cust-3", "cust-7"));
+        assertThat(port.loadedChunks).flatMap(chunk -> chunk)
+                .containsExactlyInAnyOrderElementsOf(expectedLoads);
+        assertThat(port.points).allSatisfy((id, points) -> assertThat(points).isEqualTo(50));
+    }
+
+    @Test
+    @DisplayName("重試用盡仍衝突的客戶應該記為失敗，不存在的客戶應該分開統計")
+    void shouldReportFailedAndMissingCustomers() {
+        // Given
+        List<String> ids = new ArrayList<>(port.seed(4, BigDecimal.ZERO));
+        ids.add("missing");
+        port.alwaysConflict.add("cust-1");
+        CustomerBulkUpdateService service = new CustomerBulkUpdateService(port, 10, 1, 2);
+
+        // When
+        CustomerBulkUpdateProgress result = service.bulkUpdate(ids, CustomerBulkOperation.ADD_LOYALTY_BONUS);
+
+        // Then
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.succeeded()).isEqualTo(3);
+        assertThat(result.notFound()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.isComplete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("重新計算會員等級應該只寫入等級有變動的客戶")
+    void shouldOnlyWriteCustomersWhoseLevelChanges() {
+        // Given
+        List<String> ids = port.seed(2, BigDecimal.valueOf(20_000));
+        port.levels.put("cust-1", MembershipLevel.GOLD);
+        CustomerBulkUpdateService service = new CustomerBulkUpdateService(port, 10, 1, 3);
+
+        // When
+        CustomerBulkUpdateProgress result = service.bulkUpdate(ids, CustomerBulkOperation.REFRESH_MEMBERSHIP);
+
+        // Then
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(port.appliedChanges).extracting(CustomerBulkUpdatePort.CustomerChange::customerId)
+                .containsExactly("cust-0");
+        assertThat(port.levels).containsEntry("cust-0", MembershipLevel.GOLD);
+    }
+
+    @Test
+    @DisplayName("未知的操作代碼應該拋出異常")
+    void shouldRejectUnknownOperationCode() {
+        assertThat(CustomerBulkOperation.fromCode("ADD_LOYALTY_BONUS")).isEqualTo(CustomerBulkOperation.ADD_LOYALTY_BONUS);
+        assertThatThrownBy(() -> CustomerBulkOperation.fromCode("purge"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 以版本號模擬條件更新的記憶體端口
+     */
+    private static final class InMemoryBulkPort implements CustomerBulkUpdatePort {
+
+        private final Map<String, Long> versions = new ConcurrentHashMap<>();
+        private final Map<String, MembershipLevel> levels = new ConcurrentHashMap<>();
+        private final Map<String, Integer> points = new ConcurrentHashMap<>();
+        private final Map<String, BigDecimal> spending = new ConcurrentHashMap<>();
+        private final Set<String> conflictOnce = ConcurrentHashMap.newKeySet();
+        private final Set<String> alwaysConflict = ConcurrentHashMap.newKeySet();
+        private final List<List<String>> loadedChunks = new CopyOnWriteArrayList<>();
+        private final List<Integer> loadedChunkSizes = new CopyOnWriteArrayList<>();
+        private final List<CustomerChange> appliedChanges = new CopyOnWriteArrayList<>();
+        private final AtomicInteger concurrentChunks = new AtomicInteger();
+        private final AtomicInteger maxConcurrentChunks = new AtomicInteger();
+
+        List<String> seed(int count, BigDecimal totalSpending) {
+            List<String> ids = IntStream.range(0, count).mapToObj(i -> "cust-" + i).toList();
+            for (String id : ids) {
+                versions.put(id, 0L);
+                levels.put(id, MembershipLevel.STANDARD);
+                points.put(id, 0);
+                spending.put(id, totalSpending);
+            }
+            return ids;
+        }
+
+        @Override
+        public List<CustomerRow> loadChunk(List<String> customerIds) {
+            maxConcurrentChunks.accumulateAndGet(concurrentChunks.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            loadedChunks.add(customerIds);
+            loadedChunkSizes.add(customerIds.size());
+            List<CustomerRow> rows = new ArrayList<>();
+            for (String id : customerIds) {
+                if (versions.containsKey(id)) {
+                    rows.add(new CustomerRow(id, versions.get(id), levels.get(id), points.get(id), spending.get(id)));
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        public List<String> applyChunk(List<CustomerChange> changes) {
+            try {
+                List<String> conflicts = new ArrayList<>();
+                for (CustomerChange change : changes) {
+                    // 模擬其他交易在讀取後更新了版本號
+                    if (conflictOnce.remove(change.customerId()) || alwaysConflict.contains(change.customerId())) {
+                        versions.merge(change.customerId(), 1L, Long::sum);
+                    }
+                    if (!versions.get(change.customerId()).equals(change.expectedVersion())) {
+                        conflicts.add(change.customerId());
+                        continue;
+                    }
+                    versions.merge(change.customerId(), 1L, Long::sum);
+                    levels.put(change.customerId(), change.membershipLevel());
+                    points.put(change.customerId(), change.rewardPoints());
+                    appliedChanges.add(change);
+                }
+                return conflicts;
+            } finally {
+                concurrentChunks.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package solid.humank.genaidemo.application.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import solid.humank.genaidemo.domain.common.valueobject.MinorUnitMoney;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.customer.model.aggregate.Customer;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerEntry;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerTotals;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerName;
+import solid.humank.genaidemo.domain.customer.model.valueobject.Email;
+import solid.humank.genaidemo.domain.customer.model.valueobject.MembershipLevel;
+import solid.humank.genaidemo.domain.customer.model.valueobject.Phone;
+import solid.humank.genaidemo.domain.customer.repository.CustomerLedgerRepository;
+import solid.humank.genaidemo.domain.customer.repository.CustomerRepository;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+import solid.humank.genaidemo.infrastructure.common.persistence.OptimisticLockingRetryService;
+import solid.humank.genaidemo.infrastructure.customer.persistence.adapter.CustomerLedgerRepositoryAdapter;
+import solid.humank.genaidemo.infrastructure.customer.persistence.repository.JpaCustomerLedgerEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("客戶點數/消費帳本折疊測試")
+class CustomerLedgerFoldingTest {
+
+    private static final CustomerId CUSTOMER_ID = CustomerId.of("cust-ledger-1");
+
+    @Mock private CustomerRepository customerRepository;
+    @Mock private OptimisticLockingRetryService retryService;
+    @Mock private JpaCustomerLedgerEntryRepository jpaLedgerRepository;
+    @Mock private CustomerBulkUpdateService customerBulkUpdateService;
+
+    private InMemoryLedgerRepository ledgerRepository;
+    private CustomerLedgerService customerLedgerService;
+    private CustomerApplicationService customerApplicationService;
+    private OptimisticLockingCustomerService optimisticLockingCustomerService;
+
+    @BeforeEach
+    void setUp() {
+        ledgerRepository = new InMemoryLedgerRepository();
+        customerLedgerService = new CustomerLedgerService(ledgerRepository);
+        customerApplicationService = new CustomerApplicationService(customerRepository, customerLedgerService);
+        optimisticLockingCustomerService = new OptimisticLockingCustomerService(
+                customerRepository, retryService, customerLedgerService, customerBulkUpdateService);
+    }
+
+    @Test
+    @DisplayName("並發的點數與消費寫入應該只新增分錄而不讀取或儲存聚合根")
+    void shouldAppendConcurrentWritesWithoutTouchingAggregate() throws Exception {
+        // Given
+        when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        int writers = 200;
+
+        // When
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            String orderId = "order-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return optimisticLockingCustomerService.addRewardPointsWithRetry(CUSTOMER_ID.getValue(), 5, "promo")
+                        && optimisticLockingCustomerService.updateCustomerSpendingWithRetry(
+                                CUSTOMER_ID.getValue(), Money.twd(100), orderId, "ORDER_PURCHASE");
+            }));
+        }
+        start.countDown();
+        for (var result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        executor.shutdown();
+
+        // Then
+        CustomerLedgerTotals totals = ledgerRepository.findUnfoldedTotals(CUSTOMER_ID);
+        assertThat(totals.entryCount()).isEqualTo(writers * 2);
+        assertThat(totals.pointsDelta()).isEqualTo(writers * 5);
+        assertThat(totals.spendingDelta().amount()).isEqualByComparingTo("20000");
+        verify(customerRepository, never()).findById(any());
+        verify(customerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("折疊應該累加未折疊分錄並只處理一次")
+    void shouldFoldPendingEntriesExactlyOnce() {
+        // Given
+        Customer customer = customer(MembershipLevel.STANDARD);
+        customerLedgerService.recordRewardPoints(CUSTOMER_ID, 30, "promo");
+        customerLedgerService.recordSpending(CUSTOMER_ID, Money.twd(1200), "order-1", "ORDER_PURCHASE");
+
+        // When
+        CustomerLedgerTotals first = customerLedgerService.foldInto(customer);
+        CustomerLedgerTotals second = customerLedgerService.foldInto(customer);
+
+        // Then
+        assertThat(first.entryCount()).isEqualTo(2);
+        assertThat(second.isEmpty()).isTrue();
+        assertThat(customer.getRewardPoints().balance()).isEqualTo(30);
+        assertThat(customer.getTotalSpending().amount()).isEqualByComparingTo("1200");
+    }
+
+    @Test
+    @DisplayName("會員升級應該以折疊後的消費總額判斷門檻")
+    void shouldUpgradeMembershipFromFoldedSpending() {
+        // Given
+        Customer customer = customer(MembershipLevel.STANDARD);
+        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(customer));
+        for (int i = 0; i < 3; i++) {
+            customerLedgerService.recordSpending(CUSTOMER_ID, Money.twd(2000), "order-" + i, "ORDER_PURCHASE");
+        }
+
+        // When
+        customerApplicationService.upgradeCustomerMembershipBasedOnSpending(CUSTOMER_ID.getValue(), Money.twd(2000));
+
+        // Then
+        assertThat(customer.getTotalSpending().amount()).isEqualByComparingTo("6000");
+        assertThat(customer.getMembershipLevel()).isEqualTo(MembershipLevel.SILVER);
+        assertThat(ledgerRepository.findUnfoldedTotals(CUSTOMER_ID).isEmpty()).isTrue();
+        verify(customerRepository).save(customer);
+    }
+
+    @Test
+    @DisplayName("折疊後未達門檻時不應該降級既有會員等級")
+    void shouldNotDowngradeWhenFoldedSpendingIsBelowCurrentLevel() {
+        // Given
+        Customer customer = customer(MembershipLevel.GOLD);
+        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(customer));
+        customerLedgerService.recordSpending(CUSTOMER_ID, Money.twd(300), "order-1", "ORDER_PURCHASE");
+
+        // When
+        customerApplicationService.foldCustomerLedger(CUSTOMER_ID.getValue());
+
+        // Then
+        assertThat(customer.getMembershipLevel()).isEqualTo(MembershipLevel.GOLD);
+        verify(customerRepository).save(customer);
+    }
+
+    @Test
+    @DisplayName("分錄已被其他折疊處理時應該拋出樂觀鎖異常使交易回滾")
+    void shouldRejectConcurrentFoldOfSameEntries() {
+        // Given
+        CustomerLedgerRepositoryAdapter adapter = new CustomerLedgerRepositoryAdapter(jpaLedgerRepository);
+        CustomerLedgerTotals totals = new CustomerLedgerTotals(10, Money.twd(0), 2, 2L);
+        when(jpaLedgerRepository.markFoldedUpTo(CUSTOMER_ID.getValue(), 2L)).thenReturn(1);
+
+        // When / Then
+        assertThatThrownBy(() -> adapter.markFolded(CUSTOMER_ID, totals))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    private static Customer customer(MembershipLevel level) {
+        Customer customer = new Customer(CUSTOMER_ID, new CustomerName("王小明"), new Email("wang@example.com"),
+                new Phone("0912345678"), null, level, LocalDate.of(1990, 1, 1), LocalDateTime.now());
+        customer.markEventsAsCommitted();
+        return customer;
+    }
+
+    /**
+     * 記憶體帳本
+     */
+    private static final class InMemoryLedgerRepository implements CustomerLedgerRepository {
+
+        private final List<StoredEntry> entries = new ArrayList<>();
+
+        @Override
+        public synchronized void append(CustomerLedgerEntry entry) {
+            entries.add(new StoredEntry((long) entries.size() + 1, entry));
+        }
+
+        @Override
+        public synchronized CustomerLedgerTotals findUnfoldedTotals(CustomerId customerId) {
+            List<StoredEntry> pending = entries.stream()
+                    .filter(stored -> !stored.folded && stored.entry.customerId().equals(customerId))
+                    .toList();
+            if (pending.isEmpty()) {
+                return CustomerLedgerTotals.empty();
+            }
+            int points = pending.stream().mapToInt(stored -> stored.entry.pointsDelta()).sum();
+            Money spending = MinorUnitMoney.sum(
+                    pending.stream().map(stored -> stored.entry.spendingDelta()).toList(), Money.twd(0));
+            return new CustomerLedgerTotals(points, spending, pending.size(),
+                    pending.get(pending.size() - 1).id);
+        }
+
+        @Override
+        public synchronized void markFolded(CustomerId customerId, CustomerLedgerTotals totals) {
+            for (StoredEntry stored : entries) {
+                if (stored.entry.customerId().equals(customerId) && stored.id <= totals.lastEntryId()) {
+                    stored.folded = true;
+                }
+            }
+        }
+
+        @Override
+        public synchronized List<CustomerId> findCustomersWithUnfoldedEntries(int limit) {
+            return entries.stream()
+                    .filter(stored -> !stored.folded)
+                    .map(stored -> stored.entry.customerId())
+                    .distinct()
+                    .limit(limit)
+                    .toList();
+        }
+    }
+
+    private static final class StoredEntry {
+        private final long id;
+        private final CustomerLedgerEntry entry;
+        private boolean folded;
+
+        private StoredEntry(long id, CustomerLedgerEntry entry) {
+            this.id = id;
+            this.entry = entry;
+        }
+    }
+}
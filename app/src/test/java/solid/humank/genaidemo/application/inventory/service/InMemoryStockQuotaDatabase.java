@@ -0,0 +1,109 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryQuotaPort;
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort.ReservationLine;
+
+/**
+ * 模擬庫存列、配額分片與預留紀錄的記憶體資料庫，供分片配額測試與多節點模擬共用
+ * 所有操作以單一監視器序列化，相當於每次往返都持有庫存列鎖
+ */
+final class InMemoryStockQuotaDatabase implements InventoryQuotaPort {
+
+    private final Map<String, Integer> available = new HashMap<>();
+    private final Map<String, Integer> reserved = new HashMap<>();
+    private final Map<String, Integer> slices = new HashMap<>();
+    private final Map<UUID, ReservationLine> reservations = new HashMap<>();
+    final AtomicInteger claims = new AtomicInteger();
+    final AtomicInteger settlements = new AtomicInteger();
+    volatile boolean failSettlements;
+
+    synchronized void stock(String productId, int quantity) {
+        available.put(productId, quantity);
+        reserved.put(productId, 0);
+    }
+
+    @Override
+    public synchronized OptionalInt claim(String productId, String nodeId, int requested) {
+        claims.incrementAndGet();
+        Integer current = available.get(productId);
+        if (current == null) {
+            return OptionalInt.empty();
+        }
+        int granted = Math.min(requested, current);
+        available.put(productId, current - granted);
+        slices.merge(key(productId, nodeId), granted, Integer::sum);
+        return OptionalInt.of(granted);
+    }
+
+    @Override
+    public synchronized void settle(String productId, String nodeId, List<ReservationLine> consumed, int returned) {
+        settlements.incrementAndGet();
+        if (failSettlements) {
+            throw new IllegalStateException("database unavailable");
+        }
+        int consumedQuantity = consumed.stream().mapToInt(ReservationLine::quantity).sum();
+        int held = slices.getOrDefault(key(productId, nodeId), 0);
+        if (held < consumedQuantity + returned) {
+            throw new IllegalStateException("Quota slice does not cover settlement");
+        }
+        slices.put(key(productId, nodeId), held - consumedQuantity - returned);
+        available.merge(productId, returned, Integer::sum);
+        reserved.merge(productId, consumedQuantity, Integer::sum);
+        consumed.forEach(line -> reservations.put(line.reservationId(), line));
+    }
+
+    @Override
+    public synchronized int reclaim(String nodeId) {
+        int reclaimed = 0;
+        for (Map.Entry<String, Integer> slice : slices.entrySet()) {
+            if (slice.getKey().endsWith("|" + nodeId)) {
+                String productId = slice.getKey().substring(0, slice.getKey().length() - nodeId.length() - 1);
+                available.merge(productId, slice.getValue(), Integer::sum);
+                reclaimed += slice.getValue();
+                slice.setValue(0);
+            }
+        }
+        return reclaimed;
+    }
+
+    /** 釋放已結算的預留，對應 InventoryReservationPort#release */
+    synchronized boolean releaseSettled(String productId, UUID reservationId) {
+        ReservationLine line = reservations.remove(reservationId);
+        if (line == null) {
+            return false;
+        }
+        available.merge(productId, line.quantity(), Integer::sum);
+        reserved.merge(productId, -line.quantity(), Integer::sum);
+        return true;
+    }
+
+    synchronized int available(String productId) {
+        return available.getOrDefault(productId, 0);
+    }
+
+    synchronized int reserved(String productId) {
+        return reserved.getOrDefault(productId, 0);
+    }
+
+    synchronized int sliced(String productId) {
+        return slices.entrySet().stream()
+                .filter(slice -> slice.getKey().startsWith(productId + "|"))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+
+    synchronized int settledReservationQuantity() {
+        return reservations.values().stream().mapToInt(ReservationLine::quantity).sum();
+    }
+
+    private static String key(String productId, String nodeId) {
+        return productId + "|" + nodeId;
+    }
+}
@@ -0,0 +1,153 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort;
+import solid.humank.genaidemo.testutils.annotations.SlowTest;
+
+/**
+ * 搶購情境下的庫存預留基準
+ *
+ * 以模擬的資料庫往返延遲與單一熱門商品的列鎖，比較每筆預留各自一次往返（批次大小 1，
+ * 相當於原本逐筆加鎖的寫法但不含 100ms 的佔位延遲）與合併批次的吞吐量。
+ * 以 {@code ./gradlew test --tests '*InventoryReservationBenchmark'} 執行，結果輸出至標準輸出。
+ * 只驗證不超賣與成功筆數，不對耗時做斷言，避免在共用 CI 機器上不穩定。
+ */
+@SlowTest
+class InventoryReservationBenchmark {
+
+    private static final int CALLERS = 64;
+    private static final int REQUESTS = 4_000;
+    private static final int STOCK = 3_000;
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(300);
+
+    @Test
+    void benchmarkFlashSaleOnSingleSku() throws Exception {
+        Result perRequest = run(1);
+        Result batched = run(64);
+
+        System.out.printf("Flash sale: %d callers, %d requests for %d units of one SKU, %d us per round trip%n",
+                CALLERS, REQUESTS, STOCK, TimeUnit.NANOSECONDS.toMicros(ROUND_TRIP_NANOS));
+        report("one round trip per request", perRequest);
+        report("batched conditional update ", batched);
+        System.out.printf("  speedup                     : %8.2fx%n",
+                (double) perRequest.elapsedNanos() / batched.elapsedNanos());
+    }
+
+    private static Result run(int maxBatchSize) throws Exception {
+        SimulatedDatabase database = new SimulatedDatabase(STOCK);
+        InventoryReservationService service = new InventoryReservationService(database, maxBatchSize, 120);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            long start = System.nanoTime();
+            List<Future<Boolean>> futures = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(() -> service.reserve(
+                        new ReserveInventoryCommand("FLASH-SKU", 1, UUID.randomUUID())).isSuccess()));
+            }
+            int succeeded = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(2, TimeUnit.MINUTES)) {
+                    succeeded++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(STOCK, succeeded);
+            assertEquals(0, database.available);
+            return new Result(elapsed, database.roundTrips.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void report(String label, Result result) {
+        System.out.printf("  %s : %8.0f reservations/s, %5d round trips%n",
+                label, REQUESTS / (result.elapsedNanos() / 1e9), result.roundTrips());
+    }
+
+    private record Result(long elapsedNanos, int roundTrips) {
+    }
+
+    /**
+     * 單一庫存列；每次往返都在持有列鎖時等待模擬延遲，與條件 UPDATE 在提交前持有列鎖相同
+     */
+    private static final class SimulatedDatabase implements InventoryReservationPort {
+
+        private final ReentrantLock rowLock = new ReentrantLock();
+        private final AtomicInteger roundTrips = new AtomicInteger();
+        private int available;
+
+        private SimulatedDatabase(int available) {
+            this.available = available;
+        }
+
+        @Override
+        public boolean reserveAll(String productId, List<ReservationLine> lines) {
+            int total = lines.stream().mapToInt(ReservationLine::quantity).sum();
+            return withRowLock(() -> {
+                if (available < total) {
+                    return false;
+                }
+                available -= total;
+                return true;
+            });
+        }
+
+        @Override
+        public Optional<List<ReservationLine>> reserveInOrder(String productId, List<ReservationLine> lines) {
+            return Optional.of(withRowLock(() -> {
+                List<ReservationLine> granted = new ArrayList<>();
+                for (ReservationLine line : lines) {
+                    if (line.quantity() <= available) {
+                        available -= line.quantity();
+                        granted.add(line);
+                    }
+                }
+                return granted;
+            }));
+        }
+
+        @Override
+        public boolean release(UUID reservationId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean releaseQuantity(String productId, int quantity) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean confirmAll(List<UUID> reservationIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        private <T> T withRowLock(Supplier<T> statement) {
+            rowLock.lock();
+            try {
+                roundTrips.incrementAndGet();
+                LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                return statement.get();
+            } finally {
+                rowLock.unlock();
+            }
+        }
+    }
+}
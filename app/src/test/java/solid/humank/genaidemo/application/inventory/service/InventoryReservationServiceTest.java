@@ -0,0 +1,335 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+import solid.humank.genaidemo.application.inventory.port.outgoing.InventoryReservationPort;
+
+@DisplayName("庫存預留服務測試")
+class InventoryReservationServiceTest {
+
+    private final InMemoryReservationPort port = new InMemoryReservationPort();
+
+    @Test
+    @DisplayName("搶購時並發預留應該合併批次且不超賣")
+    void shouldBatchConcurrentReservationsWithoutOverselling() throws Exception {
+        // Given
+        port.stock.put("SKU-1", 50);
+        port.roundTripMillis = 2;
+        InventoryReservationService service = new InventoryReservationService(port, 64, 120);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+
+        // When
+        List<Future<ReservationResult>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> service.reserve(
+                        new ReserveInventoryCommand("SKU-1", 1, UUID.randomUUID()))));
+            }
+            int succeeded = 0;
+            for (Future<ReservationResult> result : results) {
+                if (result.get(10, TimeUnit.SECONDS).isSuccess()) {
+                    succeeded++;
+                }
+            }
+
+            // Then
+            assertThat(succeeded).isEqualTo(50);
+            assertThat(port.stock).containsEntry("SKU-1", 0);
+            assertThat(port.reservations).hasSize(50);
+            assertThat(port.roundTrips.get()).isLessThan(200);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("整批庫存不足時應該依序配給仍可滿足的預留")
+    void shouldGrantInOrderWhenBatchExceedsStock() throws Exception {
+        // Given
+        port.stock.put("SKU-1", 6);
+        InventoryReservationService service = new InventoryReservationService(port, 64, 120);
+        CountDownLatch firstCallEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirstCall = new CountDownLatch(1);
+        port.beforeReserveAll = () -> {
+            firstCallEntered.countDown();
+            await(releaseFirstCall);
+        };
+
+        // When：第一筆預留送出時，其餘三筆在佇列中等待並合併為同一批
+        List<Thread> waiting = new ArrayList<>();
+        Map<Integer, ReservationResult> results = new ConcurrentHashMap<>();
+        Thread first = Thread.ofPlatform().start(() -> results.put(1, reserve(service, 1)));
+        firstCallEntered.await(5, TimeUnit.SECONDS);
+        port.beforeReserveAll = () -> {
+        };
+        for (int quantity : new int[] { 4, 3, 2 }) {
+            Thread thread = Thread.ofPlatform().start(() -> results.put(quantity, reserve(service, quantity)));
+            awaitParked(thread);
+            waiting.add(thread);
+        }
+        releaseFirstCall.countDown();
+        first.join(5_000);
+        for (Thread thread : waiting) {
+            thread.join(5_000);
+        }
+
+        // Then
+        assertThat(results.get(1).isSuccess()).isTrue();
+        assertThat(results.get(4).isSuccess()).isTrue();
+        assertThat(results.get(3).isSuccess()).isFalse();
+        assertThat(results.get(3).getMessage()).isEqualTo(InventoryReservationService.INSUFFICIENT_MESSAGE);
+        assertThat(results.get(2).isSuccess()).isFalse();
+        assertThat(port.batchSizes).containsExactly(1, 3);
+        assertThat(port.stock).containsEntry("SKU-1", 1);
+    }
+
+    @Test
+    @DisplayName("預留完成後應該立即返回，由等待中的呼叫端接手處理佇列")
+    void shouldHandOffDrainingOnceOwnReservationCompletes() throws Exception {
+        // Given：每批一筆，第一筆送出時另有兩筆在佇列中等待
+        port.stock.put("SKU-1", 10);
+        InventoryReservationService service = new InventoryReservationService(port, 1, 120);
+        CountDownLatch firstCallEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirstCall = new CountDownLatch(1);
+        port.beforeReserveAll = () -> {
+            firstCallEntered.countDown();
+            await(releaseFirstCall);
+        };
+        Map<Integer, ReservationResult> results = new ConcurrentHashMap<>();
+        Thread first = Thread.ofPlatform().start(() -> results.put(1, reserve(service, 1)));
+        firstCallEntered.await(5, TimeUnit.SECONDS);
+
+        CountDownLatch nextCallEntered = new CountDownLatch(1);
+        CountDownLatch releaseNextCalls = new CountDownLatch(1);
+        port.beforeReserveAll = () -> {
+            nextCallEntered.countDown();
+            await(releaseNextCalls);
+        };
+        List<Thread> waiting = new ArrayList<>();
+        for (int quantity : new int[] { 2, 3 }) {
+            Thread thread = Thread.ofPlatform().start(() -> results.put(quantity, reserve(service, quantity)));
+            awaitParked(thread);
+            waiting.add(thread);
+        }
+
+        // When
+        releaseFirstCall.countDown();
+        first.join(5_000);
+
+        // Then：第一個呼叫端不必等到其餘批次送出
+        assertThat(first.isAlive()).isFalse();
+        assertThat(results.get(1).isSuccess()).isTrue();
+        assertThat(nextCallEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        releaseNextCalls.countDown();
+        for (Thread thread : waiting) {
+            thread.join(5_000);
+        }
+        assertThat(results.get(2).isSuccess()).isTrue();
+        assertThat(results.get(3).isSuccess()).isTrue();
+        assertThat(port.batchSizes).containsExactly(1, 1, 1);
+        assertThat(port.stock).containsEntry("SKU-1", 4);
+        assertThat(service.queuedProductCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("佇列清空後應該移除，不為閒置商品保留佇列")
+    void shouldPruneIdleQueues() {
+        // Given
+        InventoryReservationService service = new InventoryReservationService(port, 64, 120);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            port.stock.put("SKU-" + i, 1);
+            service.reserve(new ReserveInventoryCommand("SKU-" + i, 1, UUID.randomUUID()));
+        }
+
+        // Then
+        assertThat(port.reservations).hasSize(100);
+        assertThat(service.queuedProductCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("商品庫存不存在時應該回傳失敗結果")
+    void shouldReportMissingProduct() {
+        // Given
+        InventoryReservationService service = new InventoryReservationService(port, 64, 120);
+
+        // When
+        ReservationResult result = service.reserve(new ReserveInventoryCommand("UNKNOWN", 1, UUID.randomUUID()));
+
+        // Then
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMessage()).isEqualTo(InventoryReservationService.NOT_FOUND_MESSAGE);
+    }
+
+    @Test
+    @DisplayName("釋放預留應該歸還庫存且只生效一次")
+    void shouldReleaseReservationOnce() {
+        // Given
+        port.stock.put("SKU-1", 5);
+        InventoryReservationService service = new InventoryReservationService(port, 64, 120);
+        ReservationResult reserved = reserve(service, 3);
+
+        // When
+        boolean firstRelease = service.release(UUID.fromString(reserved.getReservationId()));
+        boolean secondRelease = service.release(UUID.fromString(reserved.getReservationId()));
+
+        // Then
+        assertThat(firstRelease).isTrue();
+        assertThat(secondRelease).isFalse();
+        assertThat(port.stock).containsEntry("SKU-1", 5);
+    }
+
+    @Test
+    @DisplayName("資料庫錯誤應該傳遞給同一批次的呼叫端")
+    void shouldPropagatePortFailure() {
+        // Given
+        port.stock.put("SKU-1", 5);
+        port.beforeReserveAll = () -> {
+            throw new IllegalStateException("connection reset");
+        };
+        InventoryReservationService service = new InventoryReservationService(port, 64, 120);
+
+        // When / Then
+        assertThatThrownBy(() -> reserve(service, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("connection reset");
+        assertThatThrownBy(() -> reserve(service, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ReservationResult reserve(InventoryReservationService service, int quantity) {
+        return service.reserve(new ReserveInventoryCommand("SKU-1", quantity, UUID.randomUUID()));
+    }
+
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 以同步區塊模擬資料庫列鎖的記憶體端口
+     */
+    private static final class InMemoryReservationPort implements InventoryReservationPort {
+
+        private final Map<String, Integer> stock = new ConcurrentHashMap<>();
+        private final Map<UUID, ReservationLine> reservations = new ConcurrentHashMap<>();
+        private final Map<UUID, String> reservationProducts = new ConcurrentHashMap<>();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger roundTrips = new AtomicInteger();
+        private volatile Runnable beforeReserveAll = () -> {
+        };
+        private volatile long roundTripMillis;
+
+        @Override
+        public boolean reserveAll(String productId, List<ReservationLine> lines) {
+            beforeReserveAll.run();
+            batchSizes.add(lines.size());
+            roundTrip();
+            synchronized (this) {
+                int total = lines.stream().mapToInt(ReservationLine::quantity).sum();
+                Integer available = stock.get(productId);
+                if (available == null || available < total) {
+                    return false;
+                }
+                stock.put(productId, available - total);
+                lines.forEach(line -> record(productId, line));
+                return true;
+            }
+        }
+
+        @Override
+        public Optional<List<ReservationLine>> reserveInOrder(String productId, List<ReservationLine> lines) {
+            roundTrip();
+            synchronized (this) {
+                Integer available = stock.get(productId);
+                if (available == null) {
+                    return Optional.empty();
+                }
+                List<ReservationLine> granted = new ArrayList<>();
+                for (ReservationLine line : lines) {
+                    if (line.quantity() <= available) {
+                        available -= line.quantity();
+                        granted.add(line);
+                        record(productId, line);
+                    }
+                }
+                stock.put(productId, available);
+                return Optional.of(granted);
+            }
+        }
+
+        @Override
+        public synchronized boolean release(UUID reservationId) {
+            ReservationLine line = reservations.remove(reservationId);
+            if (line == null) {
+                return false;
+            }
+            stock.merge(reservationProducts.remove(reservationId), line.quantity(), Integer::sum);
+            return true;
+        }
+
+        @Override
+        public synchronized boolean releaseQuantity(String productId, int quantity) {
+            return stock.computeIfPresent(productId, (id, available) -> available + quantity) != null;
+        }
+
+        @Override
+        public synchronized boolean confirmAll(List<UUID> reservationIds) {
+            if (!reservations.keySet().containsAll(reservationIds)) {
+                return false;
+            }
+            reservationIds.forEach(id -> {
+                reservations.remove(id);
+                reservationProducts.remove(id);
+            });
+            return true;
+        }
+
+        private void record(String productId, ReservationLine line) {
+            reservations.put(line.reservationId(), line);
+            reservationProducts.put(line.reservationId(), productId);
+        }
+
+        private void roundTrip() {
+            roundTrips.incrementAndGet();
+            if (roundTripMillis > 0) {
+                try {
+                    Thread.sleep(roundTripMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.application.inventory.port.outgoing.ReservationExpiryPort;
+import solid.humank.genaidemo.application.inventory.service.ReservationExpiryService.ExpiryRound;
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.common.event.DomainEventPublisher;
+import solid.humank.genaidemo.domain.inventory.model.events.StockReservationExpiredEvent;
+
+@DisplayName("預留過期服務測試")
+class ReservationExpiryServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final InMemoryReservations reservations = new InMemoryReservations();
+    private final List<DomainEvent> published = new ArrayList<>();
+    private final ReservationExpiryService service = new ReservationExpiryService(reservations,
+            new DomainEventPublisher() {
+                @Override
+                public void publish(DomainEvent event) {
+                    published.add(event);
+                }
+
+                @Override
+                public void publishAll(List<DomainEvent> events) {
+                    published.addAll(events);
+                }
+            }, 60, 1_000, 2, 1_000);
+
+    @Test
+    @DisplayName("應該跨商品分批釋放到期的預留並發布過期事件")
+    void shouldReleaseExpiredReservationsAcrossProducts() {
+        // Given
+        UUID a = reservations.add("SKU-A", START.plusSeconds(5));
+        UUID b = reservations.add("SKU-B", START.plusSeconds(5));
+        UUID c = reservations.add("SKU-C", START.plusSeconds(5));
+        UUID later = reservations.add("SKU-A", START.plusSeconds(30));
+
+        // When
+        service.tick(START);
+        ExpiryRound round = service.tick(START.plusSeconds(6));
+
+        // Then
+        assertThat(round.released()).extracting(ReservationExpiryPort.ExpiredReservation::reservationId)
+                .containsExactlyInAnyOrder(a, b, c);
+        assertThat(reservations.expireCalls).isEqualTo(2);
+        assertThat(round.scheduled()).isEqualTo(1);
+        assertThat(published).hasSize(3).allMatch(StockReservationExpiredEvent.class::isInstance);
+        assertThat(reservations.isActive(later)).isTrue();
+    }
+
+    @Test
+    @DisplayName("時間窗外的預留應該在下一次載入時排入")
+    void shouldLoadNextWindowAtHalfHorizon() {
+        // Given
+        service.tick(START);
+        UUID beyondWindow = reservations.add("SKU-A", START.plusSeconds(80));
+
+        // When
+        ExpiryRound reloaded = service.tick(START.plusSeconds(30));
+        ExpiryRound expired = service.tick(START.plusSeconds(81));
+
+        // Then
+        assertThat(reloaded.scheduled()).isEqualTo(1);
+        assertThat(expired.released()).extracting(ReservationExpiryPort.ExpiredReservation::reservationId)
+                .containsExactly(beyondWindow);
+    }
+
+    @Test
+    @DisplayName("排程後已被確認的預留不應該被釋放或發布事件")
+    void shouldSkipReservationsNoLongerActive() {
+        // Given
+        UUID confirmed = reservations.add("SKU-A", START.plusSeconds(5));
+        service.tick(START);
+        reservations.confirm(confirmed);
+
+        // When
+        ExpiryRound round = service.tick(START.plusSeconds(6));
+
+        // Then
+        assertThat(round.released()).isEmpty();
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    @DisplayName("釋放失敗時應該在下一個刻度重試並回報積壓")
+    void shouldRetryFailedBatchAndReportBacklog() {
+        // Given
+        UUID reservationId = reservations.add("SKU-A", START.plusSeconds(5));
+        service.tick(START);
+        reservations.failing = true;
+
+        // When
+        ExpiryRound failed = service.tick(START.plusSeconds(30));
+        reservations.failing = false;
+        ExpiryRound retried = service.tick(START.plusSeconds(31));
+
+        // Then
+        assertThat(failed.released()).isEmpty();
+        assertThat(failed.backlog()).isEqualTo(1);
+        assertThat(retried.released()).extracting(ReservationExpiryPort.ExpiredReservation::reservationId)
+                .containsExactly(reservationId);
+    }
+
+    /**
+     * 以 (到期時間, ID) 排序的記憶體預留索引
+     */
+    private static final class InMemoryReservations implements ReservationExpiryPort {
+
+        private final Map<UUID, ExpiredReservation> active = new TreeMap<>();
+        private int expireCalls;
+        private boolean failing;
+
+        UUID add(String productId, LocalDateTime expiresAt) {
+            UUID reservationId = UUID.randomUUID();
+            active.put(reservationId, new ExpiredReservation(reservationId, UUID.randomUUID(), productId,
+                    UUID.randomUUID(), 1, expiresAt));
+            return reservationId;
+        }
+
+        void confirm(UUID reservationId) {
+            active.remove(reservationId);
+        }
+
+        boolean isActive(UUID reservationId) {
+            return active.containsKey(reservationId);
+        }
+
+        @Override
+        public List<ExpiringReservation> findExpiring(LocalDateTime until, ExpiringReservation after, int limit) {
+            Comparator<ExpiringReservation> order = Comparator.comparing(ExpiringReservation::expiresAt)
+                    .thenComparing(ExpiringReservation::reservationId);
+            return active.values().stream()
+                    .map(r -> new ExpiringReservation(r.reservationId(), r.expiresAt()))
+                    .filter(r -> !r.expiresAt().isAfter(until))
+                    .filter(r -> after == null || order.compare(r, after) > 0)
+                    .sorted(order)
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public List<ExpiredReservation> expire(Collection<UUID> reservationIds, LocalDateTime now) {
+            expireCalls++;
+            if (failing) {
+                throw new IllegalStateException("database unavailable");
+            }
+            List<ExpiredReservation> expired = new ArrayList<>();
+            for (UUID reservationId : reservationIds) {
+                ExpiredReservation reservation = active.get(reservationId);
+                if (reservation != null && !reservation.expiresAt().isAfter(now)) {
+                    active.remove(reservationId);
+                    expired.add(reservation);
+                }
+            }
+            return expired;
+        }
+
+        @Override
+        public long countOverdue(LocalDateTime now) {
+            return active.values().stream().filter(r -> !r.expiresAt().isAfter(now)).count();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("預留到期時間輪測試")
+class ReservationExpiryWheelTest {
+
+    private final ReservationExpiryWheel wheel = new ReservationExpiryWheel(100, 8);
+
+    @Test
+    @DisplayName("項目不應在到期前取出，且最多延遲一個刻度")
+    void shouldNeverFireEarly() {
+        // Given
+        wheel.advance(1_000);
+        UUID reservationId = UUID.randomUUID();
+        wheel.schedule(reservationId, 1_250);
+
+        // When & Then
+        assertThat(wheel.advance(1_200)).isEmpty();
+        assertThat(wheel.advance(1_299)).isEmpty();
+        assertThat(wheel.advance(1_300)).containsExactly(reservationId);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("超過一圈的項目應該留到對應的圈數才取出")
+    void shouldKeepEntriesBeyondOneRotation() {
+        // Given：一圈 800ms
+        wheel.advance(0);
+        UUID later = UUID.randomUUID();
+        wheel.schedule(later, 2_000);
+
+        // When & Then
+        assertThat(wheel.advance(1_200)).isEmpty();
+        assertThat(wheel.advance(2_000)).containsExactly(later);
+    }
+
+    @Test
+    @DisplayName("落後多圈時應該一次取出所有已到期的項目")
+    void shouldCatchUpAfterLongPause() {
+        // Given
+        wheel.advance(0);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID notYet = UUID.randomUUID();
+        wheel.schedule(first, 150);
+        wheel.schedule(second, 3_000);
+        wheel.schedule(notYet, 9_000);
+
+        // When
+        var due = wheel.advance(5_000);
+
+        // Then
+        assertThat(due).containsExactlyInAnyOrder(first, second);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("已過期或重複的排程應該分別排到下一刻度與被忽略")
+    void shouldHandleOverdueAndDuplicateSchedules() {
+        // Given
+        wheel.advance(1_000);
+        UUID overdue = UUID.randomUUID();
+
+        // When
+        boolean first = wheel.schedule(overdue, 500);
+        boolean duplicate = wheel.schedule(overdue, 600);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(duplicate).isFalse();
+        assertThat(wheel.advance(1_100)).containsExactly(overdue);
+        assertThat(wheel.schedule(overdue, 500)).isTrue();
+    }
+}
@@ -0,0 +1,183 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+
+@DisplayName("分片庫存配額分配器測試")
+class ShardedStockAllocatorTest {
+
+    private static final String SKU = "FLASH-1";
+
+    private final InMemoryStockQuotaDatabase database = new InMemoryStockQuotaDatabase();
+
+    @Test
+    @DisplayName("本機配額足夠時應該不需要再向資料庫領取")
+    void shouldServeFromLocalQuotaAfterSingleClaim() {
+        // Given
+        database.stock(SKU, 100);
+        ShardedStockAllocator allocator = allocator("node-a", 20, 100);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            assertThat(reserve(allocator, 1).isSuccess()).isTrue();
+        }
+
+        // Then
+        assertThat(database.claims.get()).isEqualTo(1);
+        assertThat(database.available(SKU)).isEqualTo(80);
+        assertThat(database.sliced(SKU)).isEqualTo(20);
+        assertThat(allocator.remainingQuota(SKU)).isZero();
+    }
+
+    @Test
+    @DisplayName("結算應該把已服務的預留轉為已預留數量並保持總量一致")
+    void shouldSettleConsumedQuotaIntoReserved() {
+        // Given
+        database.stock(SKU, 100);
+        ShardedStockAllocator allocator = allocator("node-a", 30, 100);
+        reserve(allocator, 4);
+        reserve(allocator, 6);
+
+        // When
+        allocator.settleAll();
+
+        // Then
+        assertThat(database.reserved(SKU)).isEqualTo(10);
+        assertThat(database.sliced(SKU)).isEqualTo(20);
+        assertThat(database.available(SKU) + database.sliced(SKU) + database.reserved(SKU)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("上一輪結算後沒有需求的商品應該歸還全部配額")
+    void shouldReturnIdleQuota() {
+        // Given
+        database.stock(SKU, 100);
+        ShardedStockAllocator allocator = allocator("node-a", 30, 100);
+        reserve(allocator, 5);
+        allocator.settleAll();
+
+        // When
+        allocator.settleAll();
+
+        // Then
+        assertThat(allocator.remainingQuota(SKU)).isZero();
+        assertThat(database.sliced(SKU)).isZero();
+        assertThat(database.available(SKU)).isEqualTo(95);
+    }
+
+    @Test
+    @DisplayName("累積到門檻時應該立即結算")
+    void shouldFlushWhenThresholdReached() {
+        // Given
+        database.stock(SKU, 100);
+        ShardedStockAllocator allocator = allocator("node-a", 50, 3);
+
+        // When
+        reserve(allocator, 1);
+        reserve(allocator, 1);
+        reserve(allocator, 1);
+
+        // Then
+        assertThat(database.settlements.get()).isEqualTo(1);
+        assertThat(database.reserved(SKU)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("未結算的預留釋放後數量應該回到本機配額")
+    void shouldReleaseUnsettledReservationLocally() {
+        // Given
+        database.stock(SKU, 10);
+        ShardedStockAllocator allocator = allocator("node-a", 10, 100);
+        ReservationResult result = reserve(allocator, 4);
+
+        // When
+        boolean released = allocator.releaseUnsettled(UUID.fromString(result.getReservationId()));
+
+        // Then
+        assertThat(released).isTrue();
+        assertThat(allocator.remainingQuota(SKU)).isEqualTo(10);
+        assertThat(allocator.releaseUnsettled(UUID.fromString(result.getReservationId()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("結算失敗時應該保留本機狀態並在下一輪重試")
+    void shouldKeepLocalStateWhenSettlementFails() {
+        // Given
+        database.stock(SKU, 10);
+        ShardedStockAllocator allocator = allocator("node-a", 10, 100);
+        reserve(allocator, 3);
+        database.failSettlements = true;
+
+        // When
+        allocator.settleAll();
+        database.failSettlements = false;
+        allocator.settleAll();
+
+        // Then
+        assertThat(database.reserved(SKU)).isEqualTo(3);
+        assertThat(database.available(SKU) + database.sliced(SKU) + database.reserved(SKU)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("庫存不足、商品不存在與未啟用分片時應該分別處理")
+    void shouldHandleInsufficientMissingAndDisabled() {
+        // Given
+        database.stock(SKU, 2);
+        ShardedStockAllocator allocator = allocator("node-a", 10, 100);
+
+        // When
+        ReservationResult insufficient = reserve(allocator, 3);
+        ReservationResult missing = allocator.reserve(new ReserveInventoryCommand("UNKNOWN", 1, UUID.randomUUID()));
+
+        // Then
+        assertThat(insufficient.getMessage()).isEqualTo(InventoryReservationService.INSUFFICIENT_MESSAGE);
+        assertThat(missing.getMessage()).isEqualTo(InventoryReservationService.NOT_FOUND_MESSAGE);
+        assertThat(allocator.isSharded(SKU)).isTrue();
+        assertThat(new ShardedStockAllocator(database, false, "node-a", Set.of(SKU), 10, 10, 120).isSharded(SKU))
+                .isFalse();
+        assertThatThrownBy(() -> reserve(allocator, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("啟用分片但未設定節點ID時應該拒絕啟動")
+    void shouldRequireNodeIdWhenEnabled() {
+        // When & Then：共用預設ID的節點會互相收回配額，因此必須明確設定
+        assertThatThrownBy(() -> allocator("", 10, 10)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> allocator(null, 10, 10)).isInstanceOf(IllegalStateException.class);
+        assertThat(new ShardedStockAllocator(database, false, "", Set.of(SKU), 10, 10, 120).isSharded(SKU))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("節點重新啟動時應該收回上次遺留的配額")
+    void shouldReclaimStaleQuotaOnRecover() {
+        // Given
+        database.stock(SKU, 50);
+        reserve(allocator("node-a", 20, 100), 5);
+
+        // When：同一節點ID的新實例啟動
+        int reclaimed = allocator("node-a", 20, 100).recover();
+
+        // Then
+        assertThat(reclaimed).isEqualTo(20);
+        assertThat(database.available(SKU)).isEqualTo(50);
+        assertThat(database.sliced(SKU)).isZero();
+    }
+
+    private ShardedStockAllocator allocator(String nodeId, int refillSize, int flushThreshold) {
+        return new ShardedStockAllocator(database, true, nodeId, Set.of(SKU), refillSize, flushThreshold, 120);
+    }
+
+    private static ReservationResult reserve(ShardedStockAllocator allocator, int quantity) {
+        return allocator.reserve(new ReserveInventoryCommand(SKU, quantity, UUID.randomUUID()));
+    }
+}
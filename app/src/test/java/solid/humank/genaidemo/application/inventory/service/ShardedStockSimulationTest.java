@@ -0,0 +1,202 @@
+package solid.humank.genaidemo.application.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+
+/**
+ * 多節點分片配額模擬
+ *
+ * 以多個 {@link ShardedStockAllocator} 共用同一個 {@link InMemoryStockQuotaDatabase} 模擬叢集，
+ * 每個節點有自己的工作執行緒與結算執行緒，隨機穿插預留、釋放與結算，
+ * 驗證任何時刻都不超賣，且所有節點歸還配額後總量與已預留數量精確一致。
+ */
+@DisplayName("分片配額多節點模擬測試")
+class ShardedStockSimulationTest {
+
+    private static final String SKU = "FLASH-1";
+    private static final int NODES = 4;
+    private static final int WORKERS_PER_NODE = 4;
+    private static final int STOCK = 1_000;
+    private static final int ATTEMPTS_PER_WORKER = 400;
+
+    @RepeatedTest(3)
+    @DisplayName("多節點並行預留與釋放時不應超賣且總量應該精確對帳")
+    void shouldNeverOversellAcrossNodes() throws Exception {
+        // Given
+        InMemoryStockQuotaDatabase database = new InMemoryStockQuotaDatabase();
+        database.stock(SKU, STOCK);
+        Cluster cluster = new Cluster(database);
+
+        // When
+        SimulationResult result = cluster.run(ATTEMPTS_PER_WORKER, 0.2);
+        cluster.nodes.forEach(ShardedStockAllocator::returnAll);
+
+        // Then
+        assertThat(result.maxHeld()).isLessThanOrEqualTo(STOCK);
+        assertThat(result.rejected()).isPositive();
+        assertThat(database.sliced(SKU)).isZero();
+        assertThat(database.reserved(SKU)).isEqualTo(result.held());
+        assertThat(database.settledReservationQuantity()).isEqualTo(result.held());
+        assertThat(database.available(SKU) + database.reserved(SKU)).isEqualTo(STOCK);
+    }
+
+    @Test
+    @DisplayName("需求集中在單一節點時其他節點閒置的配額應該被歸還並重新分配")
+    void shouldRebalanceIdleQuotaToBusyNode() {
+        // Given
+        InMemoryStockQuotaDatabase database = new InMemoryStockQuotaDatabase();
+        database.stock(SKU, 100);
+        ShardedStockAllocator busy = allocator(database, "node-busy");
+        ShardedStockAllocator idle = allocator(database, "node-idle");
+        reserve(idle, 1);
+        idle.settleAll();
+
+        // When：閒置節點在下一輪結算歸還配額，忙碌節點得以用盡剩餘庫存
+        idle.settleAll();
+        int served = 0;
+        while (reserve(busy, 1).isSuccess()) {
+            served++;
+        }
+
+        // Then
+        assertThat(served).isEqualTo(99);
+        assertThat(idle.remainingQuota(SKU)).isZero();
+    }
+
+    @Test
+    @DisplayName("節點離線後收回配額，遺失的未結算預留不應造成超賣或數量流失")
+    void shouldReclaimQuotaOfCrashedNode() throws Exception {
+        // Given
+        InMemoryStockQuotaDatabase database = new InMemoryStockQuotaDatabase();
+        database.stock(SKU, STOCK);
+        Cluster cluster = new Cluster(database);
+        cluster.run(100, 0.0);
+        ShardedStockAllocator crashed = cluster.nodes.get(0);
+
+        // When：節點 0 未結算即離線，以相同節點ID重新啟動
+        ShardedStockAllocator restarted = allocator(database, crashed.getNodeId());
+        restarted.recover();
+        cluster.nodes.subList(1, NODES).forEach(ShardedStockAllocator::returnAll);
+
+        // Then
+        assertThat(database.sliced(SKU)).isZero();
+        assertThat(database.reserved(SKU)).isEqualTo(database.settledReservationQuantity());
+        assertThat(database.available(SKU) + database.reserved(SKU)).isEqualTo(STOCK);
+    }
+
+    private static ShardedStockAllocator allocator(InMemoryStockQuotaDatabase database, String nodeId) {
+        return new ShardedStockAllocator(database, true, nodeId, Set.of(SKU), 25, 8, 120);
+    }
+
+    private static ReservationResult reserve(ShardedStockAllocator allocator, int quantity) {
+        return allocator.reserve(new ReserveInventoryCommand(SKU, quantity, UUID.randomUUID()));
+    }
+
+    private record SimulationResult(int held, int maxHeld, int rejected) {
+    }
+
+    /**
+     * 行程內的模擬叢集；{@code held} 追蹤目前仍有效的預留數量，用來檢查任何時刻都不超過庫存
+     */
+    private static final class Cluster {
+
+        private final InMemoryStockQuotaDatabase database;
+        private final List<ShardedStockAllocator> nodes = new ArrayList<>();
+        private final AtomicInteger held = new AtomicInteger();
+        private final AtomicInteger maxHeld = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+
+        private Cluster(InMemoryStockQuotaDatabase database) {
+            this.database = database;
+            for (int i = 0; i < NODES; i++) {
+                nodes.add(allocator(database, "node-" + i));
+            }
+        }
+
+        private SimulationResult run(int attemptsPerWorker, double releaseRatio) throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(NODES * (WORKERS_PER_NODE + 1));
+            AtomicBoolean running = new AtomicBoolean(true);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                List<Future<?>> settlers = new ArrayList<>();
+                for (ShardedStockAllocator node : nodes) {
+                    for (int w = 0; w < WORKERS_PER_NODE; w++) {
+                        workers.add(executor.submit(() -> work(node, start, attemptsPerWorker, releaseRatio)));
+                    }
+                    settlers.add(executor.submit(() -> settleLoop(node, start, running)));
+                }
+                start.countDown();
+                for (Future<?> worker : workers) {
+                    worker.get(1, TimeUnit.MINUTES);
+                }
+                running.set(false);
+                for (Future<?> settler : settlers) {
+                    settler.get(1, TimeUnit.MINUTES);
+                }
+                return new SimulationResult(held.get(), maxHeld.get(), rejected.get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private void work(ShardedStockAllocator node, CountDownLatch start, int attempts, double releaseRatio) {
+            await(start);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < attempts; i++) {
+                int quantity = random.nextInt(1, 4);
+                ReservationResult result = reserve(node, quantity);
+                if (!result.isSuccess()) {
+                    rejected.incrementAndGet();
+                    continue;
+                }
+                maxHeld.accumulateAndGet(held.addAndGet(quantity), Math::max);
+                if (random.nextDouble() < releaseRatio) {
+                    UUID reservationId = UUID.fromString(result.getReservationId());
+                    // 先扣除計數再釋放，避免釋放的數量被其他執行緒預留時重複計算
+                    held.addAndGet(-quantity);
+                    // 與 InventoryReservationService#release 相同：先釋放本機未結算的，否則由資料庫釋放
+                    boolean released = node.releaseUnsettled(reservationId)
+                            || database.releaseSettled(SKU, reservationId);
+                    assertThat(released).isTrue();
+                }
+            }
+        }
+
+        private static void settleLoop(ShardedStockAllocator node, CountDownLatch start, AtomicBoolean running) {
+            await(start);
+            while (running.get()) {
+                node.settleAll();
+                Thread.onSpinWait();
+            }
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
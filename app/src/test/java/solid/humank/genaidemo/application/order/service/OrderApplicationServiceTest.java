@@ -0,0 +1,98 @@
+package solid.humank.genaidemo.application.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import solid.humank.genaidemo.application.common.service.DomainEventApplicationService;
+import solid.humank.genaidemo.application.order.dto.AddOrderItemCommand;
+import solid.humank.genaidemo.application.order.dto.response.OrderResponse;
+import solid.humank.genaidemo.application.order.port.outgoing.OrderPersistencePort;
+import solid.humank.genaidemo.application.order.port.outgoing.PaymentServicePort;
+import solid.humank.genaidemo.application.product.ProductSnapshot;
+import solid.humank.genaidemo.application.product.service.ProductSnapshotCache;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.common.valueobject.OrderId;
+import solid.humank.genaidemo.domain.order.model.aggregate.Order;
+import solid.humank.genaidemo.domain.order.model.factory.OrderFactory;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("訂單應用服務測試")
+class OrderApplicationServiceTest {
+
+    private static final ProductId ACTIVE = new ProductId("PROD-ACTIVE");
+    private static final ProductId DISCONTINUED = new ProductId("PROD-DISCONTINUED");
+
+    @Mock private OrderPersistencePort orderPersistencePort;
+    @Mock private PaymentServicePort paymentServicePort;
+    @Mock private OrderFactory orderFactory;
+    @Mock private DomainEventApplicationService domainEventApplicationService;
+    @Mock private ProductSnapshotCache productSnapshotCache;
+
+    private OrderApplicationService service;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderApplicationService(orderPersistencePort, paymentServicePort, orderFactory,
+                domainEventApplicationService, productSnapshotCache);
+        order = new Order(OrderId.generate(), CustomerId.generate(), "台北市信義區市府路1號");
+        when(orderPersistencePort.findById(any())).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    @DisplayName("未提供價格時應該以商品快照的名稱與售價補齊")
+    void shouldFillNameAndPriceFromSnapshot() {
+        // Given
+        when(productSnapshotCache.getAll(anyCollection())).thenReturn(Map.of(ACTIVE, snapshot(ACTIVE, true)));
+
+        // When
+        OrderResponse response = service.addOrderItem(
+                new AddOrderItemCommand(order.getId().toString(), ACTIVE.getId(), null, 2, null));
+
+        // Then
+        assertThat(response.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getProductName()).isEqualTo("快照商品");
+            assertThat(item.getUnitPrice()).isEqualByComparingTo("900");
+        });
+        verify(orderPersistencePort).save(order);
+    }
+
+    @Test
+    @DisplayName("快照顯示不可購買的商品應該拒絕加入，且不保存訂單")
+    void shouldRejectProductThatCannotBePurchased() {
+        // Given
+        when(productSnapshotCache.getAll(anyCollection())).thenReturn(Map.of(
+                ACTIVE, snapshot(ACTIVE, true), DISCONTINUED, snapshot(DISCONTINUED, false)));
+        List<AddOrderItemCommand> commands = List.of(
+                new AddOrderItemCommand(order.getId().toString(), ACTIVE.getId(), null, 1, null),
+                new AddOrderItemCommand(order.getId().toString(), DISCONTINUED.getId(), null, 1, null));
+
+        // When & Then
+        assertThatThrownBy(() -> service.addOrderItems(order.getId().toString(), commands))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(DISCONTINUED.getId());
+        verify(orderPersistencePort, never()).save(any());
+    }
+
+    private static ProductSnapshot snapshot(ProductId productId, boolean purchasable) {
+        return new ProductSnapshot(productId, "快照商品", Money.twd(1_000), Money.twd(900), purchasable, 1);
+    }
+}
@@ -0,0 +1,267 @@
+package solid.humank.genaidemo.application.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.application.product.port.outgoing.PriceHistoryPort;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+
+@DisplayName("商品價格歷史服務測試")
+class PriceHistoryServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Taipei");
+
+    private final InMemoryPriceHistoryPort port = new InMemoryPriceHistoryPort();
+    private final MutableClock clock = new MutableClock();
+    private PriceHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PriceHistoryService(port, ZONE, 100, 60_000, clock);
+    }
+
+    @Test
+    @DisplayName("每日彙總應該包含最低、最高與收盤價，沒有變動的日子沿用前一個價格")
+    void shouldAggregateDailyMinMaxCloseAndCarryForward() {
+        // Given
+        service.record("P1", Money.twd(1_000), at(1, 9));
+        service.record("P1", Money.twd(900), at(2, 10));
+        service.record("P1", Money.twd(1_100), at(2, 15));
+        service.record("P1", Money.twd(950), at(2, 20));
+
+        // When
+        PriceHistoryService.PriceHistory history = service.history("P1", at(1, 0), at(5, 0),
+                PriceHistoryService.Resolution.DAY);
+
+        // Then
+        assertThat(history.currency()).isEqualTo("TWD");
+        assertThat(history.buckets()).hasSize(4);
+        PriceHistoryService.PriceBucket day2 = history.buckets().get(1);
+        assertThat(day2.start()).isEqualTo(at(2, 0));
+        assertThat(day2.open()).isEqualByComparingTo("1000");
+        assertThat(day2.min()).isEqualByComparingTo("900");
+        assertThat(day2.max()).isEqualByComparingTo("1100");
+        assertThat(day2.close()).isEqualByComparingTo("950");
+        assertThat(day2.changes()).isEqualTo(3);
+        PriceHistoryService.PriceBucket day4 = history.buckets().get(3);
+        assertThat(day4.min()).isEqualByComparingTo("950");
+        assertThat(day4.max()).isEqualByComparingTo("950");
+        assertThat(day4.changes()).isZero();
+    }
+
+    @Test
+    @DisplayName("範圍前的最後一個價格應該作為範圍內的起始價格")
+    void shouldCarryPriceFromBeforeRange() {
+        // Given
+        service.record("P1", Money.twd(500), at(1, 9));
+        service.record("P1", Money.twd(450), at(3, 9));
+
+        // When
+        PriceHistoryService.PriceHistory history = service.history("P1", at(2, 0), at(4, 0),
+                PriceHistoryService.Resolution.DAY);
+
+        // Then
+        assertThat(history.buckets()).extracting(PriceHistoryService.PriceBucket::close)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("500"), new BigDecimal("450"));
+    }
+
+    @Test
+    @DisplayName("與目前價格相同的事件不應該產生價格點，早於最後價格點的事件以最後時間記錄")
+    void shouldSkipUnchangedPricesAndKeepHistoryAppendOnly() {
+        // Given
+        service.record("P1", Money.twd(1_000), at(2, 9));
+        service.record("P1", Money.twd(1_000), at(2, 10));
+        service.record("P1", Money.twd(800), at(1, 10));
+
+        // When
+        PriceHistoryService.PriceHistory history = service.history("P1", at(1, 0), at(3, 0),
+                PriceHistoryService.Resolution.DAY);
+
+        // Then
+        assertThat(port.chunks("P1")).hasSize(1);
+        assertThat(port.chunks("P1").get(0).pointCount()).isEqualTo(2);
+        assertThat(history.buckets()).hasSize(1);
+        assertThat(history.buckets().get(0).close()).isEqualByComparingTo("800");
+    }
+
+    @Test
+    @DisplayName("區塊寫滿後應該開始新的區塊，每個價格點只占數個位元組")
+    void shouldRollOverFullChunksAndEncodeCompactly() {
+        // Given
+        Instant start = at(1, 0);
+        for (int i = 0; i < 1_000; i++) {
+            service.record("P1", Money.twd(1_000 + (i % 2 == 0 ? i % 50 : -(i % 50))),
+                    start.plusSeconds(i * 3_600L + (i % 7) * 60L));
+        }
+
+        // When
+        List<PriceHistoryPort.StoredChunk> chunks = port.chunks("P1");
+        PriceHistoryService.PriceHistory history = service.history("P1", start, start.plusSeconds(1_000 * 3_600L),
+                PriceHistoryService.Resolution.DAY);
+
+        // Then
+        assertThat(chunks).hasSize(4);
+        assertThat(chunks).extracting(PriceHistoryPort.StoredChunk::pointCount)
+                .containsExactly(256, 256, 256, 232);
+        int totalBytes = chunks.stream().mapToInt(chunk -> chunk.encoded().length).sum();
+        assertThat(totalBytes).isLessThan(6 * 1_000);
+        assertThat(history.buckets().stream().mapToInt(PriceHistoryService.PriceBucket::changes).sum())
+                .isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("小數位數增加時應該保留既有價格的精確值")
+    void shouldKeepExactPricesWhenScaleGrows() {
+        // Given
+        service.record("P1", Money.of(new BigDecimal("19"), "USD"), at(1, 9));
+        service.record("P1", Money.of(new BigDecimal("18.75"), "USD"), at(1, 10));
+        service.record("P1", Money.of(new BigDecimal("18.9"), "USD"), at(1, 11));
+
+        // When
+        PriceHistoryService.PriceHistory history = new PriceHistoryService(port, ZONE, 100, 60_000, clock)
+                .history("P1", at(1, 0), at(2, 0), PriceHistoryService.Resolution.HOUR);
+
+        // Then
+        assertThat(history.currency()).isEqualTo("USD");
+        assertThat(history.buckets()).hasSize(15);
+        assertThat(history.buckets().subList(0, 3)).extracting(PriceHistoryService.PriceBucket::close)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("19"), new BigDecimal("18.75"), new BigDecimal("18.9"));
+    }
+
+    @Test
+    @DisplayName("其他節點先附加時應該重新載入後再附加")
+    void shouldReloadAndRetryWhenAppendedConcurrently() {
+        // Given
+        PriceHistoryService otherNode = new PriceHistoryService(port, ZONE, 100, 60_000, clock);
+        service.record("P1", Money.twd(1_000), at(1, 9));
+        otherNode.record("P1", Money.twd(900), at(1, 10));
+
+        // When
+        service.record("P1", Money.twd(800), at(1, 11));
+
+        // Then
+        assertThat(port.conflicts).isEqualTo(1);
+        assertThat(port.chunks("P1").get(0).pointCount()).isEqualTo(3);
+        PriceHistoryService.PriceBucket day = service.history("P1", at(1, 0), at(2, 0),
+                PriceHistoryService.Resolution.DAY).buckets().get(0);
+        assertThat(day.min()).isEqualByComparingTo("800");
+        assertThat(day.max()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    @DisplayName("快取超過存活時間後應該重新載入，以取得其他節點的價格點")
+    void shouldReloadCachedSeriesAfterTtl() {
+        // Given
+        PriceHistoryService otherNode = new PriceHistoryService(port, ZONE, 100, 60_000, clock);
+        service.record("P1", Money.twd(1_000), at(1, 9));
+        otherNode.record("P1", Money.twd(900), at(1, 10));
+
+        // When
+        BigDecimal cachedClose = lastClose(service);
+        clock.advance(60_000);
+        BigDecimal reloadedClose = lastClose(service);
+
+        // Then
+        assertThat(cachedClose).isEqualByComparingTo("1000");
+        assertThat(reloadedClose).isEqualByComparingTo("900");
+    }
+
+    @Test
+    @DisplayName("區間數超過上限或範圍無效時應該拒絕查詢")
+    void shouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> service.history("P1", at(1, 0), at(1, 0).plusSeconds(3_600L * 1_001),
+                PriceHistoryService.Resolution.HOUR)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.history("P1", at(2, 0), at(1, 0),
+                PriceHistoryService.Resolution.DAY)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.history("UNKNOWN", at(1, 0), at(2, 0), PriceHistoryService.Resolution.DAY).buckets())
+                .isEmpty();
+    }
+
+    private BigDecimal lastClose(PriceHistoryService target) {
+        List<PriceHistoryService.PriceBucket> buckets = target.history("P1", at(1, 0), at(2, 0),
+                PriceHistoryService.Resolution.DAY).buckets();
+        return buckets.get(buckets.size() - 1).close();
+    }
+
+    private static Instant at(int day, int hour) {
+        return LocalDateTime.of(2024, 3, day, hour, 0).atZone(ZONE).toInstant();
+    }
+
+    private static final class InMemoryPriceHistoryPort implements PriceHistoryPort {
+
+        private final Map<String, List<StoredChunk>> store = new HashMap<>();
+        private int conflicts;
+
+        List<StoredChunk> chunks(String productId) {
+            return findChunks(productId);
+        }
+
+        @Override
+        public synchronized List<StoredChunk> findChunks(String productId) {
+            return List.copyOf(store.getOrDefault(productId, List.of()));
+        }
+
+        @Override
+        public synchronized boolean saveChunk(StoredChunk chunk, long expectedVersion) {
+            List<StoredChunk> chunks = store.computeIfAbsent(chunk.productId(), id -> new ArrayList<>());
+            StoredChunk existing = chunk.sequence() < chunks.size() ? chunks.get(chunk.sequence()) : null;
+            if (expectedVersion == 0 ? existing != null
+                    : existing == null || existing.version() != expectedVersion) {
+                conflicts++;
+                return false;
+            }
+            if (existing == null) {
+                chunks.add(chunk);
+            } else {
+                chunks.set(chunk.sequence(), chunk);
+            }
+            return true;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package solid.humank.genaidemo.application.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.product.model.aggregate.Product;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductCategory;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductDescription;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductName;
+import solid.humank.genaidemo.domain.product.model.valueobject.StockQuantity;
+import solid.humank.genaidemo.domain.product.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("商品排行服務測試")
+class ProductRankingServiceTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(6);
+
+    @Mock private ProductRepository productRepository;
+
+    private final MutableClock clock = new MutableClock();
+    private final Map<String, Product> catalog = new HashMap<>();
+    private ProductRankingService rankingService;
+
+    @BeforeEach
+    void setUp() {
+        for (String id : List.of("A", "B", "C", "D")) {
+            catalog.put(id, product(id, "ELECTRONICS"));
+        }
+        catalog.put("BOOK", product("BOOK", "BOOKS"));
+        lenient().when(productRepository.findAllByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<ProductId> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> catalog.get(id.getId())).filter(Objects::nonNull).toList();
+        });
+        rankingService = service(20, 100, 50, 100, 1000);
+    }
+
+    @Test
+    @DisplayName("熱門排行應該讓較早的瀏覽隨半衰期衰減")
+    void shouldDecayOlderViewsByHalfLife() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            rankingService.recordView("A");
+        }
+        clock.advance(HALF_LIFE.multipliedBy(2).toMillis());
+        rankingService.recordView("B");
+        rankingService.recordView("B");
+
+        // When
+        rankingService.refresh();
+        ProductRankingService.RankedList trending = rankingService.trending(null, 10);
+
+        // Then
+        assertThat(ids(trending)).containsExactly("B", "A");
+        assertThat(trending.products().get(0).score()).isCloseTo(2.0, offset(1e-9));
+        assertThat(trending.products().get(1).score()).isCloseTo(1.0, offset(1e-9));
+    }
+
+    @Test
+    @DisplayName("購買的權重應該高於瀏覽，並依分類提供熱門排行")
+    void shouldWeightPurchasesAndRankPerCategory() {
+        // Given
+        rankingService.recordView("A");
+        rankingService.recordView("A");
+        rankingService.recordPurchase("CUST-1", List.of("B"));
+        rankingService.recordView("BOOK");
+
+        // When
+        rankingService.refresh();
+
+        // Then
+        assertThat(ids(rankingService.trending(null, 10))).containsExactly("B", "A", "BOOK");
+        assertThat(ids(rankingService.trending(null, 1))).containsExactly("B");
+        assertThat(ids(rankingService.trending("BOOKS", 10))).containsExactly("BOOK");
+        assertThat(rankingService.trending("TOYS", 10).products()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("相關商品應該依共同購買次數排序")
+    void shouldRankRelatedProductsByCoPurchases() {
+        // Given
+        rankingService.recordPurchase(null, List.of("A", "B"));
+        rankingService.recordPurchase(null, List.of("A", "B", "B"));
+        rankingService.recordPurchase(null, List.of("A", "C"));
+
+        // When
+        rankingService.refresh();
+
+        // Then
+        assertThat(ids(rankingService.related("A", 10))).containsExactly("B", "C");
+        assertThat(rankingService.related("A", 10).products().get(0).score())
+                .isCloseTo(2.0, offset(1e-9));
+        assertThat(ids(rankingService.related("B", 10))).containsExactly("A");
+        assertThat(rankingService.related("D", 10).products()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("個人化推薦應該排除已購買的商品，沒有購買紀錄的客戶回傳熱門商品")
+    void shouldRecommendRelatedProductsExcludingPurchases() {
+        // Given
+        rankingService.recordPurchase("CUST-1", List.of("A", "B"));
+        rankingService.recordPurchase("CUST-2", List.of("A", "C"));
+        rankingService.refresh();
+        rankingService.recordPurchase("CUST-3", List.of("A"));
+        rankingService.recordView("D");
+
+        // When
+        rankingService.refresh();
+
+        // Then
+        assertThat(ids(rankingService.recommendations("CUST-3", 2))).containsExactlyInAnyOrder("B", "C");
+        assertThat(ids(rankingService.recommendations("CUST-3", 10))).doesNotContain("A").contains("D");
+        assertThat(ids(rankingService.recommendations("UNKNOWN", 10)))
+                .isEqualTo(ids(rankingService.trending(null, 10)));
+    }
+
+    @Test
+    @DisplayName("沒有新購買的客戶推薦清單也應該重建，不保留已下架的商品與舊的產生時間")
+    void shouldRebuildRecommendationsOfIdleCustomers() {
+        // Given
+        rankingService.recordPurchase("CUST-1", List.of("A", "B"));
+        rankingService.recordPurchase("CUST-2", List.of("A", "C"));
+        rankingService.refresh();
+        assertThat(ids(rankingService.recommendations("CUST-2", 10))).contains("B");
+        catalog.get("B").discontinue("停產");
+        rankingService.productChanged("B");
+        clock.advance(60_000);
+
+        // When
+        rankingService.refresh();
+
+        // Then
+        ProductRankingService.RankedList recommendations = rankingService.recommendations("CUST-2", 10);
+        assertThat(ids(recommendations)).doesNotContain("B");
+        assertThat(recommendations.age(clock)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("追蹤的商品、共同購買商品與客戶數應該維持在上限內")
+    void shouldBoundTrackedState() {
+        // Given
+        rankingService = service(20, 10, 2, 2, 1000);
+        for (int i = 0; i < 30; i++) {
+            String id = "P" + i;
+            catalog.put(id, product(id, "ELECTRONICS"));
+            for (int view = 0; view <= i; view++) {
+                rankingService.recordView(id);
+            }
+        }
+        rankingService.recordPurchase("CUST-1", List.of("P29", "P28"));
+        rankingService.recordPurchase("CUST-2", List.of("P29", "P27"));
+        rankingService.recordPurchase("CUST-3", List.of("P29", "P26"));
+        rankingService.recordPurchase("CUST-3", List.of("P29", "P26"));
+
+        // When
+        rankingService.refresh();
+
+        // Then
+        assertThat(rankingService.stats().trackedProducts()).isLessThanOrEqualTo(10);
+        assertThat(ids(rankingService.trending(null, 3))).containsExactly("P29", "P26", "P28");
+        ProductRankingService.RankedList related = rankingService.related("P29", 10);
+        assertThat(related.products()).hasSize(2);
+        assertThat(related.products().get(0).productId()).isEqualTo("P26");
+        assertThat(rankingService.stats().trackedCustomers()).isEqualTo(2);
+        assertThat(ids(rankingService.recommendations("CUST-1", 10))).isEqualTo(
+                ids(rankingService.trending(null, 10)));
+    }
+
+    @Test
+    @DisplayName("佇列已滿時應該捨棄事件並計數，已下架的商品應該移出排行")
+    void shouldDropSignalsWhenQueueIsFullAndRemoveDiscontinuedProducts() {
+        // Given
+        rankingService = service(20, 100, 50, 100, 2);
+        rankingService.recordView("A");
+        rankingService.recordView("B");
+        rankingService.recordView("C");
+        rankingService.refresh();
+        catalog.get("A").discontinue("停產");
+
+        // When
+        rankingService.productChanged("A");
+        rankingService.refresh();
+
+        // Then
+        assertThat(rankingService.stats().droppedSignals()).isEqualTo(1);
+        assertThat(ids(rankingService.trending(null, 10))).containsExactly("B");
+    }
+
+    @Test
+    @DisplayName("清單應該帶有產生時間以反映新舊程度")
+    void shouldExposeListAge() {
+        // Given
+        rankingService.recordView("A");
+        rankingService.refresh();
+
+        // When
+        clock.advance(7_000);
+
+        // Then
+        assertThat(rankingService.trending(null, 10).age(clock)).isEqualTo(Duration.ofSeconds(7));
+        assertThat(rankingService.related("A", 10).age(clock)).isEqualTo(Duration.ofSeconds(7));
+        assertThat(rankingService.stats().stalenessMillis()).isEqualTo(7_000);
+    }
+
+    private ProductRankingService service(int topK, int maxTracked, int maxRelated, int maxCustomers,
+            int queueCapacity) {
+        return new ProductRankingService(productRepository, new ProductRankingService.Settings(topK, HALF_LIFE,
+                maxTracked, maxRelated, maxCustomers, queueCapacity, Duration.ofSeconds(5)), clock);
+    }
+
+    private static List<String> ids(ProductRankingService.RankedList list) {
+        return list.products().stream().map(ProductRankingService.RankedProduct::productId).toList();
+    }
+
+    private static Product product(String id, String category) {
+        return new Product(new ProductId(id), new ProductName("商品 " + id), ProductDescription.of("描述 " + id),
+                Money.twd(1_000), ProductCategory.of(category, category), new StockQuantity(10), null);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
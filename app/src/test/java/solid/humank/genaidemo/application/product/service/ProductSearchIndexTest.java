@@ -0,0 +1,250 @@
+package solid.humank.genaidemo.application.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.product.model.aggregate.Product;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductCategory;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductDescription;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductName;
+import solid.humank.genaidemo.domain.product.model.valueobject.StockQuantity;
+import solid.humank.genaidemo.domain.product.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("商品搜尋索引測試")
+class ProductSearchIndexTest {
+
+    @Mock private ProductRepository productRepository;
+
+    private ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ProductSearchIndex(productRepository);
+    }
+
+    @Test
+    @DisplayName("名稱命中的商品應該排在只有描述命中的商品之前")
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        // Given
+        indexCatalog(
+                product("P1", "USB Cable", "Works with any wireless mouse", "ACCESSORIES"),
+                product("P2", "Wireless Mouse", "Ergonomic design", "ACCESSORIES"),
+                product("P3", "Desk Lamp", "Warm light", "HOME"));
+
+        // When
+        ProductSearchIndex.SearchResult result = searchIndex.search("wireless mouse ", null, 0, 10);
+
+        // Then
+        assertThat(result.fromIndex()).isTrue();
+        assertThat(ids(result)).containsExactly("P2", "P1");
+        assertThat(result.hits().get(0).score()).isGreaterThan(result.hits().get(1).score());
+    }
+
+    @Test
+    @DisplayName("中文查詢應該以相鄰兩字比對，不需要空白分隔")
+    void shouldMatchChineseQueriesByBigrams() {
+        // Given
+        indexCatalog(
+                product("P1", "AirPods Pro", "無線耳機", "ELECTRONICS"),
+                product("P2", "藍牙耳機", "降噪", "ELECTRONICS"),
+                product("P3", "機械鍵盤", "青軸", "ELECTRONICS"));
+
+        // When
+        ProductSearchIndex.SearchResult result = searchIndex.search("耳機", null, 0, 10);
+
+        // Then
+        assertThat(ids(result)).containsExactly("P2", "P1");
+    }
+
+    @Test
+    @DisplayName("最後一個查詢詞應該做前綴展開")
+    void shouldExpandLastTermAsPrefix() {
+        // Given
+        indexCatalog(
+                product("P1", "MacBook Pro", "專業筆記型電腦", "ELECTRONICS"),
+                product("P2", "Magic Mouse", "無線滑鼠", "ELECTRONICS"));
+
+        // When
+        ProductSearchIndex.SearchResult prefix = searchIndex.search("mac", null, 0, 10);
+        ProductSearchIndex.SearchResult completed = searchIndex.search("mac ", null, 0, 10);
+
+        // Then
+        assertThat(ids(prefix)).containsExactly("P1");
+        assertThat(completed.total()).isZero();
+    }
+
+    @Test
+    @DisplayName("所有詞都命中的商品不存在時應該改為任一詞命中")
+    void shouldFallBackToAnyTermWhenNoProductMatchesAllTerms() {
+        // Given
+        indexCatalog(
+                product("P1", "Running Shoes", "Lightweight", "SPORTS"),
+                product("P2", "Yoga Mat", "Non slip", "SPORTS"));
+
+        // When
+        ProductSearchIndex.SearchResult result = searchIndex.search("shoes mat ", null, 0, 10);
+
+        // Then
+        assertThat(ids(result)).containsExactlyInAnyOrder("P1", "P2");
+    }
+
+    @Test
+    @DisplayName("分類篩選應該只影響命中，分面計數涵蓋所有分類")
+    void shouldCountFacetsBeforeApplyingCategoryFilter() {
+        // Given
+        indexCatalog(
+                product("P1", "Travel Bag", "Carry on", "TRAVEL"),
+                product("P2", "Laptop Bag", "Padded", "ELECTRONICS"),
+                product("P3", "Camera Bag", "Waterproof", "ELECTRONICS"));
+
+        // When
+        ProductSearchIndex.SearchResult result = searchIndex.search("bag", "ELECTRONICS", 0, 1);
+
+        // Then
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).hasSize(1);
+        assertThat(result.hits().get(0).product().category()).isEqualTo("ELECTRONICS");
+        assertThat(result.categoryFacets()).containsEntry("ELECTRONICS", 2L).containsEntry("TRAVEL", 1L);
+    }
+
+    @Test
+    @DisplayName("重新索引應該更新商品內容，下架的商品應該從索引移除")
+    void shouldUpdateAndRemoveProductsOnReindex() {
+        // Given
+        Product lamp = product("P1", "Desk Lamp", "Warm light", "HOME");
+        indexCatalog(lamp);
+        Product renamed = product("P1", "Reading Lamp", "Warm light", "HOME");
+        when(productRepository.findById(new ProductId("P1"))).thenReturn(Optional.of(renamed));
+
+        // When
+        searchIndex.reindex(new ProductId("P1"));
+
+        // Then
+        assertThat(searchIndex.search("desk ", null, 0, 10).total()).isZero();
+        assertThat(ids(searchIndex.search("reading", null, 0, 10))).containsExactly("P1");
+
+        // When
+        renamed.discontinue("停產");
+        searchIndex.reindex(new ProductId("P1"));
+
+        // Then
+        assertThat(searchIndex.size()).isZero();
+        assertThat(searchIndex.search("lamp", null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("同一商品的並發更新應該依載入順序寫入，舊狀態不會覆蓋新狀態")
+    void shouldNotOverwriteNewerStateWithStaleLoad() throws Exception {
+        // Given：第一個事件載入改名前的商品後暫停，第二個事件接著到達
+        Product stale = product("P1", "Desk Lamp", "Warm light", "HOME");
+        Product current = product("P1", "Reading Lamp", "Warm light", "HOME");
+        indexCatalog(stale);
+        CountDownLatch firstLoaded = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(productRepository.findById(new ProductId("P1"))).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                firstLoaded.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+                return Optional.of(stale);
+            }
+            return Optional.of(current);
+        });
+
+        // When
+        Thread first = Thread.ofPlatform().start(() -> searchIndex.reindex(new ProductId("P1")));
+        firstLoaded.await(5, TimeUnit.SECONDS);
+        Thread second = Thread.ofPlatform().start(() -> searchIndex.reindex(new ProductId("P1")));
+        awaitBlockedOrDone(second);
+        releaseFirst.countDown();
+        first.join(5_000);
+        second.join(5_000);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(ids(searchIndex.search("reading", null, 0, 10))).containsExactly("P1");
+        assertThat(searchIndex.search("desk ", null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("第一次重建完成前應該以資料庫查詢回應")
+    void shouldServeFromRepositoryBeforeFirstRebuild() {
+        // Given
+        when(productRepository.findByName("iphone")).thenReturn(List.of(
+                product("P1", "iPhone 15", "最新款手機", "ELECTRONICS")));
+
+        // When
+        ProductSearchIndex.SearchResult result = searchIndex.search("iphone", null, 0, 10);
+
+        // Then
+        assertThat(searchIndex.isReady()).isFalse();
+        assertThat(result.fromIndex()).isFalse();
+        assertThat(ids(result)).containsExactly("P1");
+    }
+
+    @Test
+    @DisplayName("重建期間收到的更新應該在替換索引後套用")
+    void shouldReplayChangesReceivedDuringRebuild() {
+        // Given
+        Product original = product("P1", "Desk Lamp", "Warm light", "HOME");
+        Product updated = product("P1", "Reading Lamp", "Warm light", "HOME");
+        when(productRepository.findById(new ProductId("P1"))).thenReturn(Optional.of(updated));
+        when(productRepository.streamAll(anyInt())).thenAnswer(invocation -> {
+            // 重建讀到舊資料後，事件才更新商品
+            searchIndex.reindex(new ProductId("P1"));
+            return Stream.of(original);
+        });
+
+        // When
+        int indexed = searchIndex.rebuild();
+
+        // Then
+        assertThat(indexed).isEqualTo(1);
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(ids(searchIndex.search("reading", null, 0, 10))).containsExactly("P1");
+        assertThat(searchIndex.search("desk ", null, 0, 10).total()).isZero();
+        verify(productRepository, never()).findByName("reading");
+    }
+
+    private static void awaitBlockedOrDone(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TERMINATED
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void indexCatalog(Product... products) {
+        when(productRepository.streamAll(anyInt())).thenReturn(Stream.of(products));
+        searchIndex.rebuild();
+    }
+
+    private static List<String> ids(ProductSearchIndex.SearchResult result) {
+        return result.hits().stream().map(hit -> hit.product().productId()).toList();
+    }
+
+    private static Product product(String id, String name, String description, String category) {
+        return new Product(new ProductId(id), new ProductName(name), ProductDescription.of(description),
+                Money.twd(1_000), ProductCategory.of(category, category), new StockQuantity(10), null);
+    }
+}
@@ -0,0 +1,189 @@
+package solid.humank.genaidemo.application.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import solid.humank.genaidemo.application.product.ProductSnapshot;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.pricing.model.aggregate.PricingRule;
+import solid.humank.genaidemo.domain.pricing.model.valueobject.PriceId;
+import solid.humank.genaidemo.domain.pricing.repository.PricingRuleRepository;
+import solid.humank.genaidemo.domain.product.model.aggregate.Product;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductCategory;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductDescription;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductName;
+import solid.humank.genaidemo.domain.product.model.valueobject.StockQuantity;
+import solid.humank.genaidemo.domain.product.repository.ProductRepository;
+import solid.humank.genaidemo.domain.promotion.model.valueobject.PromotionId;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("商品快照快取測試")
+class ProductSnapshotCacheTest {
+
+    private static final ProductId PHONE = new ProductId("PROD-PHONE");
+    private static final ProductId CASE = new ProductId("PROD-CASE");
+    private static final ProductId MISSING = new ProductId("PROD-MISSING");
+
+    @Mock private ProductRepository productRepository;
+    @Mock private PricingRuleRepository pricingRuleRepository;
+
+    private final MutableClock clock = new MutableClock();
+    private ProductSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductSnapshotCache(productRepository, pricingRuleRepository, 100, 30_000, clock);
+    }
+
+    @Test
+    @DisplayName("多個未命中的商品應該合併為一次載入，之後由快照回應")
+    void shouldLoadMissesInOneBatchAndServeHitsFromSnapshot() {
+        // Given
+        when(productRepository.findAllByIds(anyCollection())).thenReturn(List.of(
+                product(PHONE, "手機", 20_000), product(CASE, "手機殼", 500)));
+        when(pricingRuleRepository.findByProductIds(anyCollection())).thenReturn(List.of(
+                rule(PHONE, 18_000)));
+
+        // When
+        Map<ProductId, ProductSnapshot> first = cache.getAll(List.of(PHONE, CASE, MISSING));
+        Map<ProductId, ProductSnapshot> second = cache.getAll(List.of(CASE, PHONE, MISSING));
+
+        // Then
+        assertThat(first).containsOnlyKeys(PHONE, CASE);
+        assertThat(first.get(PHONE).listPrice()).isEqualTo(Money.twd(20_000));
+        assertThat(first.get(PHONE).price()).isEqualTo(Money.twd(18_000));
+        assertThat(first.get(CASE).price()).isEqualTo(Money.twd(500));
+        assertThat(second.keySet()).containsExactly(CASE, PHONE);
+        verify(productRepository, times(1)).findAllByIds(anyCollection());
+        assertThat(cache.stats().hits()).isEqualTo(3);
+        assertThat(cache.stats().misses()).isEqualTo(3);
+        assertThat(cache.stats().hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("超過容忍時間的快照應該在讀取時重新載入")
+    void shouldReloadSnapshotsOlderThanStalenessBudget() {
+        // Given
+        when(productRepository.findAllByIds(anyCollection()))
+                .thenReturn(List.of(product(PHONE, "手機", 20_000)))
+                .thenReturn(List.of(product(PHONE, "手機", 19_000)));
+        cache.get(PHONE);
+
+        // When
+        clock.advance(29_000);
+        ProductSnapshot withinBudget = cache.get(PHONE).orElseThrow();
+        clock.advance(2_000);
+        ProductSnapshot reloaded = cache.get(PHONE).orElseThrow();
+
+        // Then
+        assertThat(withinBudget.price()).isEqualTo(Money.twd(20_000));
+        assertThat(reloaded.price()).isEqualTo(Money.twd(19_000));
+        assertThat(cache.stats().oldestAgeMillis()).isZero();
+    }
+
+    @Test
+    @DisplayName("失效期間開始的載入不應該覆蓋失效後的狀態")
+    void shouldNotInstallLoadThatStartedBeforeInvalidation() {
+        // Given：載入過程中商品價格變更並使快照失效
+        when(productRepository.findAllByIds(anyCollection()))
+                .thenAnswer(invocation -> {
+                    cache.invalidate(PHONE);
+                    return List.of(product(PHONE, "手機", 20_000));
+                })
+                .thenReturn(List.of(product(PHONE, "手機", 17_000)));
+
+        // When
+        ProductSnapshot racing = cache.get(PHONE).orElseThrow();
+        ProductSnapshot next = cache.get(PHONE).orElseThrow();
+
+        // Then
+        assertThat(racing.price()).isEqualTo(Money.twd(20_000));
+        assertThat(next.price()).isEqualTo(Money.twd(17_000));
+        assertThat(next.version()).isGreaterThan(racing.version());
+    }
+
+    @Test
+    @DisplayName("全部失效後應該重新載入，超過容量時移除最早載入的快照")
+    void shouldInvalidateAllAndEvictOldestBeyondCapacity() {
+        // Given
+        cache = new ProductSnapshotCache(productRepository, pricingRuleRepository, 10, 30_000, clock);
+        when(productRepository.findAllByIds(anyCollection())).thenReturn(List.of());
+        for (int i = 0; i < 10; i++) {
+            cache.get(new ProductId("PROD-" + i));
+            clock.advance(10);
+        }
+        cache.invalidateAll();
+        assertThat(cache.stats().size()).isZero();
+
+        // When
+        for (int i = 0; i < 11; i++) {
+            cache.get(new ProductId("PROD-" + i));
+            clock.advance(10);
+        }
+
+        // Then
+        assertThat(cache.stats().size()).isEqualTo(9);
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+        assertThat(cache.stats().misses()).isEqualTo(21);
+        assertThat(cache.stats().estimatedBytes()).isPositive();
+    }
+
+    private static Product product(ProductId productId, String name, int price) {
+        return new Product(productId, new ProductName(name), ProductDescription.of(name),
+                Money.twd(price), ProductCategory.of("ELECTRONICS", "電子產品"), new StockQuantity(10), null);
+    }
+
+    private static PricingRule rule(ProductId productId, int finalPrice) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PricingRule(PriceId.generate(), productId, PromotionId.generate(), Money.twd(finalPrice), 10,
+                Money.twd(2_000), now.minusDays(1), now.plusDays(1),
+                solid.humank.genaidemo.domain.pricing.model.valueobject.ProductCategory.ELECTRONICS);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package solid.humank.genaidemo.application.stats.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import solid.humank.genaidemo.application.common.DistributedLockService;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort.Counter;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort.Metric;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("統計計數器服務測試")
+class StatisticsCounterServiceTest {
+
+    private static final String TOTAL = StatisticsCounterPort.TOTAL;
+
+    @Mock private DistributedLockService lockService;
+
+    private final InMemoryCounterPort port = new InMemoryCounterPort();
+    private final Clock clock = Clock.fixed(LocalDate.of(2024, 3, 10).atTime(12, 0).toInstant(ZoneOffset.UTC),
+            ZoneOffset.UTC);
+    private StatisticsCounterService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(lockService.tryExecuteWithLock(anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        service = newNode();
+    }
+
+    @Test
+    @DisplayName("事件增量應該立即反映在查詢中，寫入資料庫後不應該重複計算")
+    void shouldCountPendingDeltasOnceBeforeAndAfterFlush() {
+        // Given
+        service.increment(Metric.ORDERS, TOTAL, 1);
+        service.increment(Metric.ORDERS, TOTAL, 1);
+        service.increment(Metric.ORDERS_BY_STATUS, "CREATED", 2);
+        service.move(Metric.ORDERS_BY_STATUS, "CREATED", "PENDING");
+
+        // When
+        long beforeFlush = service.total(Metric.ORDERS);
+        service.refresh();
+
+        // Then
+        assertThat(beforeFlush).isEqualTo(2);
+        assertThat(service.total(Metric.ORDERS)).isEqualTo(2);
+        assertThat(service.byDimension(Metric.ORDERS_BY_STATUS))
+                .containsOnly(Map.entry("CREATED", 1L), Map.entry("PENDING", 1L));
+        assertThat(port.value(Metric.ORDERS, TOTAL)).isEqualTo(2);
+        assertThat(port.writes).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("重新讀取後應該包含其他節點寫入的增量")
+    void shouldSeeDeltasFlushedByOtherNodes() {
+        // Given
+        StatisticsCounterService otherNode = newNode();
+        service.increment(Metric.CUSTOMERS, TOTAL, 3);
+        otherNode.increment(Metric.CUSTOMERS, TOTAL, 4);
+        service.refresh();
+        otherNode.refresh();
+
+        // When
+        long beforeReload = service.total(Metric.CUSTOMERS);
+        service.refresh();
+
+        // Then
+        assertThat(beforeReload).isEqualTo(3);
+        assertThat(service.total(Metric.CUSTOMERS)).isEqualTo(7);
+        assertThat(otherNode.total(Metric.CUSTOMERS)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("寫入失敗時增量應該保留到下一次寫入")
+    void shouldKeepDeltasWhenFlushFails() {
+        // Given
+        service.increment(Metric.PAYMENTS, TOTAL, 5);
+        port.failNextWrite = true;
+
+        // When
+        assertThatThrownBy(service::refresh).isInstanceOf(IllegalStateException.class);
+        long afterFailure = service.total(Metric.PAYMENTS);
+        service.refresh();
+
+        // Then
+        assertThat(afterFailure).isEqualTo(5);
+        assertThat(port.value(Metric.PAYMENTS, TOTAL)).isEqualTo(5);
+        assertThat(service.total(Metric.PAYMENTS)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("校正應該以業務資料表的計數覆寫計數器，保留校正範圍外的每日營收")
+    void shouldReplaceDriftedCountersWhenReconciling() {
+        // Given
+        service.increment(Metric.ORDERS, TOTAL, 10);
+        service.increment(Metric.ORDERS_BY_STATUS, "PENDING", 10);
+        service.increment(Metric.DAILY_REVENUE, "2023-01-01/TWD", 500);
+        service.refresh();
+        port.recounted = List.of(
+                new Counter(Metric.ORDERS, TOTAL, 8),
+                new Counter(Metric.ORDERS_BY_STATUS, "PENDING", 6),
+                new Counter(Metric.ORDERS_BY_STATUS, "CANCELLED", 2));
+
+        // When
+        boolean reconciled = service.reconcile();
+
+        // Then
+        assertThat(reconciled).isTrue();
+        assertThat(service.total(Metric.ORDERS)).isEqualTo(8);
+        assertThat(service.byDimension(Metric.ORDERS_BY_STATUS))
+                .containsOnly(Map.entry("PENDING", 6L), Map.entry("CANCELLED", 2L));
+        assertThat(port.value(Metric.DAILY_REVENUE, "2023-01-01/TWD")).isEqualTo(500);
+        assertThat(port.lastRevenueSince).isEqualTo(LocalDate.of(2024, 3, 10).minusDays(89));
+    }
+
+    @Test
+    @DisplayName("沒有取得校正鎖時不應該覆寫計數器")
+    void shouldSkipReconcileWithoutLock() {
+        // Given
+        service.increment(Metric.ORDERS, TOTAL, 10);
+        service.refresh();
+        port.recounted = List.of(new Counter(Metric.ORDERS, TOTAL, 8));
+        doReturn(null).when(lockService).tryExecuteWithLock(anyString(), any(), any(), any());
+
+        // When
+        boolean reconciled = service.reconcile();
+
+        // Then
+        assertThat(reconciled).isFalse();
+        assertThat(service.total(Metric.ORDERS)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("每日營收應該以最小貨幣單位累加，並只回傳查詢天數內的日子")
+    void shouldAccumulateDailyRevenueInMinorUnits() {
+        // Given
+        LocalDate today = LocalDate.of(2024, 3, 10);
+        service.addRevenue(today, Money.of(new BigDecimal("19.99"), "USD"));
+        service.addRevenue(today, Money.of(new BigDecimal("0.01"), "USD"));
+        service.addRevenue(today, Money.twd(1_500));
+        service.addRevenue(today.minusDays(1), Money.twd(800));
+        service.addRevenue(today.minusDays(7), Money.twd(300));
+
+        // When
+        Map<LocalDate, Map<String, BigDecimal>> lastTwoDays = service.dailyRevenue(2);
+
+        // Then
+        assertThat(lastTwoDays).containsOnlyKeys(today.minusDays(1), today);
+        assertThat(lastTwoDays.get(today).get("USD")).isEqualByComparingTo("20.00");
+        assertThat(lastTwoDays.get(today).get("TWD")).isEqualByComparingTo("1500");
+        assertThat(lastTwoDays.get(today.minusDays(1)).get("TWD")).isEqualByComparingTo("800");
+        assertThat(service.dailyRevenue(8)).hasSize(3);
+    }
+
+    private StatisticsCounterService newNode() {
+        return new StatisticsCounterService(port, lockService, Duration.ofSeconds(2), Duration.ofMinutes(10),
+                90, clock);
+    }
+
+    /** 以記憶體模擬多個節點共用的計數器資料表 */
+    private static final class InMemoryCounterPort implements StatisticsCounterPort {
+
+        private final Map<String, Counter> rows = new TreeMap<>();
+        private List<Counter> recounted = List.of();
+        private LocalDate lastRevenueSince;
+        private boolean failNextWrite;
+        private int writes;
+
+        long value(Metric metric, String dimension) {
+            Counter counter = rows.get(metric + "|" + dimension);
+            return counter != null ? counter.value() : 0;
+        }
+
+        @Override
+        public synchronized List<Counter> loadAll() {
+            return List.copyOf(rows.values());
+        }
+
+        @Override
+        public synchronized void addAll(Collection<Counter> deltas) {
+            if (failNextWrite) {
+                failNextWrite = false;
+                throw new IllegalStateException("database unavailable");
+            }
+            writes++;
+            for (Counter delta : deltas) {
+                rows.merge(delta.metric() + "|" + delta.dimension(), delta,
+                        (existing, added) -> new Counter(existing.metric(), existing.dimension(),
+                                existing.value() + added.value()));
+            }
+        }
+
+        @Override
+        public synchronized List<Counter> recount(LocalDate revenueSince) {
+            lastRevenueSince = revenueSince;
+            return recounted;
+        }
+
+        @Override
+        public synchronized void replace(Collection<Counter> counters, LocalDate revenueSince) {
+            List<String> removed = new ArrayList<>();
+            rows.forEach((key, counter) -> {
+                if (counter.metric() != Metric.DAILY_REVENUE
+                        || counter.dimension().compareTo(revenueSince.toString()) >= 0) {
+                    removed.add(key);
+                }
+            });
+            removed.forEach(rows::remove);
+            counters.forEach(counter -> rows.put(counter.metric() + "|" + counter.dimension(), counter));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package solid.humank.genaidemo.domain.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.domain.common.aggregate.AggregatePersistenceSupport.ChildChanges;
+
+class AggregatePersistenceSupportTest {
+
+    @Test
+    void testReconcileRetainsMatchingChildren() {
+        Line apple = new Line("APPLE", 1);
+        Line pear = new Line("PEAR", 2);
+        List<Line> current = new ArrayList<>(List.of(apple, pear));
+
+        ChildChanges changes = AggregatePersistenceSupport.reconcileChildren(current,
+                List.of(new Line("APPLE", 5), new Line("PEAR", 2)), Line::key, Line::copyTo);
+
+        assertEquals(new ChildChanges(0, 0, 2), changes);
+        assertFalse(changes.hasStructuralChanges());
+        assertSame(apple, current.get(0));
+        assertEquals(5, apple.quantity);
+    }
+
+    @Test
+    void testReconcileAddsAndRemovesChildren() {
+        Line apple = new Line("APPLE", 1);
+        List<Line> current = new ArrayList<>(List.of(apple, new Line("PEAR", 2)));
+        Line plum = new Line("PLUM", 3);
+
+        ChildChanges changes = AggregatePersistenceSupport.reconcileChildren(current,
+                List.of(new Line("APPLE", 1), plum), Line::key, Line::copyTo);
+
+        assertEquals(new ChildChanges(1, 1, 1), changes);
+        assertTrue(changes.hasStructuralChanges());
+        assertEquals(List.of(apple, plum), current);
+    }
+
+    @Test
+    void testReconcileMatchesDuplicateKeysInOrder() {
+        Line first = new Line("APPLE", 1);
+        Line second = new Line("APPLE", 2);
+        List<Line> current = new ArrayList<>(List.of(first, second));
+
+        ChildChanges changes = AggregatePersistenceSupport.reconcileChildren(current,
+                List.of(new Line("APPLE", 7)), Line::key, Line::copyTo);
+
+        assertEquals(new ChildChanges(0, 1, 1), changes);
+        assertEquals(1, current.size());
+        assertSame(first, current.get(0));
+        assertEquals(7, first.quantity);
+    }
+
+    /** 刻意不覆寫 equals，驗證以參考移除子項 */
+    private static final class Line {
+        private final String key;
+        private int quantity;
+
+        private Line(String key, int quantity) {
+            this.key = key;
+            this.quantity = quantity;
+        }
+
+        private String key() {
+            return key;
+        }
+
+        private static void copyTo(Line source, Line target) {
+            target.quantity = source.quantity;
+        }
+    }
+}
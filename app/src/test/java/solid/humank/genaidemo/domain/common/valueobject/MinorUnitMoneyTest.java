@@ -0,0 +1,115 @@
+package solid.humank.genaidemo.domain.common.valueobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MinorUnitMoneyTest {
+
+    private static final Currency TWD = Currency.getInstance("TWD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    void testConversionRoundTrip() {
+        MinorUnitMoney money = MinorUnitMoney.from(Money.of(new BigDecimal("123.45"), "USD"));
+
+        assertEquals(12345, money.minorUnits());
+        assertEquals(new BigDecimal("123.45"), money.toBigDecimal());
+        assertEquals(0, MinorUnitMoney.from(Money.of(new BigDecimal("500"), JPY)).toBigDecimal().scale());
+    }
+
+    @Test
+    void testExactConversionRejectsExtraFractionDigits() {
+        Money money = Money.of(new BigDecimal("1.005"), TWD);
+
+        assertThrows(ArithmeticException.class, () -> MinorUnitMoney.from(money));
+        assertEquals(101, MinorUnitMoney.from(money, RoundingMode.HALF_UP).minorUnits());
+        assertEquals(100, MinorUnitMoney.from(money, RoundingMode.HALF_EVEN).minorUnits());
+    }
+
+    @Test
+    void testArithmeticIsOverflowChecked() {
+        MinorUnitMoney max = MinorUnitMoney.ofMinor(Long.MAX_VALUE, TWD);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(MinorUnitMoney.ofMinor(1, TWD)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+    }
+
+    @Test
+    void testSubtractionMayGoNegativeButMoneyConversionRejectsIt() {
+        MinorUnitMoney difference = MinorUnitMoney.ofMinor(100, TWD).minus(MinorUnitMoney.ofMinor(250, TWD));
+
+        assertTrue(difference.isNegative());
+        assertThrows(IllegalArgumentException.class, difference::toMoney);
+    }
+
+    @Test
+    void testDivisionMatchesBigDecimalForEveryRoundingMode() {
+        long[] dividends = {-25, -15, -11, -10, -5, -1, 0, 1, 5, 10, 11, 15, 25, 999};
+        long[] divisors = {-10, -3, -2, 2, 3, 10};
+        for (RoundingMode mode : RoundingMode.values()) {
+            for (long dividend : dividends) {
+                for (long divisor : divisors) {
+                    MinorUnitMoney money = MinorUnitMoney.ofMinor(dividend, JPY);
+                    if (mode == RoundingMode.UNNECESSARY && dividend % divisor != 0) {
+                        assertThrows(ArithmeticException.class, () -> money.divide(divisor, mode));
+                        continue;
+                    }
+                    long expected = BigDecimal.valueOf(dividend)
+                            .divide(BigDecimal.valueOf(divisor), 0, mode).longValueExact();
+                    assertEquals(expected, money.divide(divisor, mode).minorUnits(),
+                            dividend + " / " + divisor + " " + mode);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTimesRatioAppliesDiscountWithRounding() {
+        MinorUnitMoney price = MinorUnitMoney.from(Money.of(new BigDecimal("99.99"), TWD));
+
+        assertEquals(new BigDecimal("84.99"), price.timesRatio(85, 100, RoundingMode.HALF_UP).toBigDecimal());
+        assertEquals(new BigDecimal("84.99"), price.timesRatio(85, 100, RoundingMode.DOWN).toBigDecimal());
+        assertEquals(new BigDecimal("85.00"), price.timesRatio(85, 100, RoundingMode.UP).toBigDecimal());
+    }
+
+    @Test
+    void testSumLineItemsMatchesBigDecimalReductionIncludingScale() {
+        List<OrderItem> items = List.of(
+                new OrderItem("p1", "A", 3, Money.twd(100)),
+                new OrderItem("p2", "B", 2, Money.twd(19.5)),
+                new OrderItem("p3", "C", 1, Money.of(new BigDecimal("0.25"), TWD)));
+
+        Money fast = MinorUnitMoney.sumLineItems(items, OrderItem::getPrice, OrderItem::getQuantity, Money.zero());
+        Money slow = items.stream().map(OrderItem::getSubtotal).reduce(Money.zero(), Money::add);
+
+        assertEquals(slow, fast);
+        assertEquals(new BigDecimal("339.25"), fast.amount());
+    }
+
+    @Test
+    void testSumFallsBackForAmountsFinerThanMinorUnit() {
+        List<Money> amounts = List.of(Money.twd(1), Money.of(new BigDecimal("0.001"), TWD));
+
+        assertEquals(new BigDecimal("1.001"), MinorUnitMoney.sum(amounts, Money.zero()).amount());
+    }
+
+    @Test
+    void testSumKeepsCurrencyMismatchError() {
+        List<Money> amounts = List.of(Money.twd(1), Money.of(BigDecimal.ONE, "USD"));
+
+        assertThrows(IllegalArgumentException.class, () -> MinorUnitMoney.sum(amounts, Money.zero()));
+    }
+
+    @Test
+    void testSumOfEmptyCollectionReturnsIdentity() {
+        assertEquals(Money.zero(), MinorUnitMoney.sum(List.of(), Money.zero()));
+    }
+}
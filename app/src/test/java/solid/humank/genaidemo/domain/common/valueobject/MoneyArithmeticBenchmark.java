@@ -0,0 +1,129 @@
+package solid.humank.genaidemo.domain.common.valueobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.testutils.annotations.SlowTest;
+
+/**
+ * Money 計算效能基準
+ *
+ * 比較 BigDecimal 版 {@link Money} 串流加總與 {@link MinorUnitMoney} 快速路徑。
+ * 以 {@code ./gradlew test --tests '*MoneyArithmeticBenchmark'} 執行，結果輸出至標準輸出。
+ * 只驗證兩條路徑結果一致，不對耗時做斷言，避免在共用 CI 機器上不穩定。
+ */
+@SlowTest
+class MoneyArithmeticBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 50;
+    private static final int ORDERS = 2_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Test
+    void benchmarkLineItemSummation() {
+        List<List<OrderItem>> orders = generateOrders();
+
+        Money expected = sumWithBigDecimal(orders);
+        assertEquals(expected, sumWithMinorUnits(orders));
+
+        long bigDecimalNanos = measure(() -> sumWithBigDecimal(orders));
+        long minorUnitNanos = measure(() -> sumWithMinorUnits(orders));
+
+        long lineItems = (long) ORDERS * ITEMS_PER_ORDER;
+        System.out.printf("Money line-item summation over %d items%n", lineItems);
+        System.out.printf("  BigDecimal stream reduce : %8.1f ns/item%n", (double) bigDecimalNanos / lineItems);
+        System.out.printf("  MinorUnitMoney bulk sum  : %8.1f ns/item%n", (double) minorUnitNanos / lineItems);
+        System.out.printf("  speedup                  : %8.2fx%n", (double) bigDecimalNanos / minorUnitNanos);
+    }
+
+    @Test
+    void benchmarkScalarArithmetic() {
+        Currency twd = Currency.getInstance("TWD");
+        Money price = Money.of(new BigDecimal("129.90"), twd);
+        MinorUnitMoney fastPrice = MinorUnitMoney.from(price);
+        int iterations = 200_000;
+
+        Supplier<Object> bigDecimal = () -> {
+            Money total = Money.zero(twd);
+            for (int i = 0; i < iterations; i++) {
+                total = total.add(price.multiply(i & 7));
+            }
+            return total;
+        };
+        Supplier<Object> minorUnits = () -> {
+            MinorUnitMoney total = MinorUnitMoney.zero(twd);
+            for (int i = 0; i < iterations; i++) {
+                total = total.plus(fastPrice.times(i & 7));
+            }
+            return total.toMoney();
+        };
+
+        assertEquals(0, ((Money) bigDecimal.get()).amount().compareTo(((Money) minorUnits.get()).amount()));
+
+        long bigDecimalNanos = measure(bigDecimal);
+        long minorUnitNanos = measure(minorUnits);
+        System.out.printf("Money multiply+add over %d iterations%n", iterations);
+        System.out.printf("  Money (BigDecimal)       : %8.1f ns/op%n", (double) bigDecimalNanos / iterations);
+        System.out.printf("  MinorUnitMoney (long)    : %8.1f ns/op%n", (double) minorUnitNanos / iterations);
+    }
+
+    private static Money sumWithBigDecimal(List<List<OrderItem>> orders) {
+        Money grandTotal = Money.zero();
+        for (List<OrderItem> items : orders) {
+            grandTotal = grandTotal.add(items.stream().map(OrderItem::getSubtotal).reduce(Money.zero(), Money::add));
+        }
+        return grandTotal;
+    }
+
+    private static Money sumWithMinorUnits(List<List<OrderItem>> orders) {
+        Money grandTotal = Money.zero();
+        for (List<OrderItem> items : orders) {
+            grandTotal = grandTotal.add(
+                    MinorUnitMoney.sumLineItems(items, OrderItem::getPrice, OrderItem::getQuantity, Money.zero()));
+        }
+        return grandTotal;
+    }
+
+    /**
+     * 預熱後取多輪量測的最小值（納秒）
+     */
+    private static long measure(Supplier<?> workload) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink = workload.get();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink = workload.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (sink == null) {
+            throw new IllegalStateException("workload returned null");
+        }
+        return best;
+    }
+
+    private static List<List<OrderItem>> generateOrders() {
+        Random random = new Random(42);
+        List<List<OrderItem>> orders = new ArrayList<>(ORDERS);
+        for (int o = 0; o < ORDERS; o++) {
+            List<OrderItem> items = new ArrayList<>(ITEMS_PER_ORDER);
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                BigDecimal price = BigDecimal.valueOf(random.nextInt(500_000), 2);
+                items.add(new OrderItem("P" + i, "Product " + i, 1 + random.nextInt(5), Money.of(price)));
+            }
+            orders.add(items);
+        }
+        return orders;
+    }
+}
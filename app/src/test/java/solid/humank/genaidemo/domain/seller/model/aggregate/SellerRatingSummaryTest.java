@@ -0,0 +1,157 @@
+package solid.humank.genaidemo.domain.seller.model.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.domain.seller.model.entity.ContactInfo;
+import solid.humank.genaidemo.domain.seller.model.entity.SellerProfile;
+import solid.humank.genaidemo.domain.seller.model.entity.SellerRating;
+import solid.humank.genaidemo.domain.seller.model.valueobject.ContactInfoId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.RatingStatus;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerProfileId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerRatingId;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerRatingSummary;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+
+/**
+ * 賣家評級摘要增量維護測試
+ */
+class SellerRatingSummaryTest {
+
+    @Test
+    void testAddRatingUpdatesSummary() {
+        // Given
+        Seller seller = createTestSeller();
+
+        // When
+        seller.addRating(CustomerId.generate(), 5, "很好");
+        seller.addRating(CustomerId.generate(), 3, "普通");
+        seller.addRating(CustomerId.generate(), 5, "推薦");
+
+        // Then
+        SellerRatingSummary summary = seller.getRatingSummary();
+        assertEquals(2, summary.fiveStar());
+        assertEquals(1, summary.threeStar());
+        assertEquals(3, seller.getTotalReviews());
+        assertEquals(13.0 / 3, seller.getRating(), 0.0001);
+    }
+
+    @Test
+    void testHideAndRestoreRatingAdjustSummary() {
+        // Given
+        Seller seller = createTestSeller();
+        seller.addRating(CustomerId.generate(), 1, "差");
+        seller.addRating(CustomerId.generate(), 5, "好");
+        SellerRatingId lowRatingId = seller.getRatings().get(0).getId();
+
+        // When
+        seller.hideRating(lowRatingId, "違規內容");
+        seller.hideRating(lowRatingId, "重複隱藏");
+
+        // Then
+        assertEquals(1, seller.getTotalReviews());
+        assertEquals(5.0, seller.getRating(), 0.0001);
+
+        // When
+        seller.restoreRating(lowRatingId, "申訴成功");
+
+        // Then
+        assertEquals(2, seller.getTotalReviews());
+        assertEquals(3.0, seller.getRating(), 0.0001);
+    }
+
+    @Test
+    void testUpdateRatingMovesCountBetweenStars() {
+        // Given
+        Seller seller = createTestSeller();
+        seller.addRating(CustomerId.generate(), 2, "還可以");
+        SellerRatingId ratingId = seller.getRatings().get(0).getId();
+
+        // When
+        seller.updateRating(ratingId, 4, "改觀了");
+
+        // Then
+        assertEquals(0, seller.getRatingSummary().twoStar());
+        assertEquals(1, seller.getRatingSummary().fourStar());
+        assertEquals(4.0, seller.getRating(), 0.0001);
+    }
+
+    @Test
+    void testRebuildFromSummaryWithoutLoadingRatings() {
+        // Given
+        SellerRatingSummary summary = new SellerRatingSummary(0, 0, 1, 2, 7);
+
+        // When
+        Seller seller = rebuild(summary, List.of());
+
+        // Then
+        assertTrue(seller.getRatings().isEmpty());
+        assertEquals(10, seller.getTotalReviews());
+        assertEquals(4.6, seller.getRating(), 0.0001);
+    }
+
+    @Test
+    void testAttachedRatingCanBeHiddenWithoutDoubleCounting() {
+        // Given
+        SellerRating loaded = new SellerRating(SellerRatingId.generate(), CustomerId.generate(), 4, "不錯",
+                LocalDateTime.now(), LocalDateTime.now(), RatingStatus.ACTIVE, null);
+        Seller seller = rebuild(new SellerRatingSummary(0, 0, 0, 1, 1), List.of());
+
+        // When
+        seller.attachRatings(List.of(loaded));
+        seller.attachRatings(List.of(loaded));
+
+        // Then
+        assertEquals(1, seller.getRatings().size());
+        assertEquals(2, seller.getTotalReviews());
+
+        // When
+        seller.hideRating(loaded.getId(), "違規內容");
+
+        // Then
+        assertEquals(1, seller.getTotalReviews());
+        assertEquals(5.0, seller.getRating(), 0.0001);
+    }
+
+    @Test
+    void testSummaryCannotGoNegative() {
+        SellerRatingSummary summary = SellerRatingSummary.empty().plus(3);
+
+        assertThrows(IllegalStateException.class, () -> summary.minus(2));
+        assertThrows(IllegalArgumentException.class, () -> summary.plus(6));
+        assertEquals(0.0, SellerRatingSummary.empty().average());
+    }
+
+    private Seller rebuild(SellerRatingSummary summary, List<SellerRating> loadedRatings) {
+        SellerId sellerId = SellerId.generateNew();
+        return new Seller(
+                sellerId,
+                "測試賣家",
+                true,
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                new SellerProfile(SellerProfileId.generate(), "測試商店", "台北市信義區", "12345678"),
+                new ContactInfo(ContactInfoId.generate(), "test@example.com", "0912345678"),
+                summary,
+                loadedRatings,
+                null);
+    }
+
+    private Seller createTestSeller() {
+        return new Seller(
+                SellerId.generateNew(),
+                "測試賣家",
+                "test@example.com",
+                "0912345678",
+                "測試商店",
+                "台北市信義區",
+                "12345678");
+    }
+}
@@ -0,0 +1,170 @@
+package solid.humank.genaidemo.infrastructure.common.lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import solid.humank.genaidemo.testutils.annotations.SlowTest;
+
+/**
+ * 資料庫租約鎖在競爭下的基準
+ *
+ * 兩個管理器實例模擬兩個節點，各以多個執行緒搶同一把熱門鎖與分散在多個鎖鍵上，
+ * 輸出每秒取得次數與取得延遲的 p50 / p99。
+ * 以 {@code ./gradlew test --tests '*JdbcLeaseLockBenchmark'} 執行，結果輸出至標準輸出；
+ * PostgreSQL 的基準對 LOCK_BENCHMARK_POSTGRES_URL（與 LOCK_BENCHMARK_POSTGRES_USER、LOCK_BENCHMARK_POSTGRES_PASSWORD）
+ * 指定的資料庫執行並重建租約表；未設定時改用 PostgreSQL 容器，沒有 Docker 時略過。
+ * 只驗證互斥與完成次數，不對耗時做斷言，避免在共用 CI 機器上不穩定。
+ */
+@SlowTest
+class JdbcLeaseLockBenchmark {
+
+    private static final int THREADS_PER_NODE = 8;
+    private static final int ACQUISITIONS_PER_THREAD = 200;
+    private static final int SPREAD_KEYS = 16;
+
+    @Test
+    void benchmarkH2() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:lease-benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/h2/V38__create_distributed_lock_lease_table.sql"))
+                .execute(dataSource);
+        runScenarios("H2", dataSource);
+    }
+
+    @Test
+    void benchmarkPostgreSql() throws Exception {
+        String url = System.getenv("LOCK_BENCHMARK_POSTGRES_URL");
+        if (url != null && !url.isBlank()) {
+            benchmarkPostgreSql(url, System.getenv("LOCK_BENCHMARK_POSTGRES_USER"),
+                    System.getenv("LOCK_BENCHMARK_POSTGRES_PASSWORD"));
+            return;
+        }
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                "LOCK_BENCHMARK_POSTGRES_URL is not set and Docker is not available");
+        try (PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine")) {
+            postgres.start();
+            benchmarkPostgreSql(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        }
+    }
+
+    private static void benchmarkPostgreSql(String url, String username, String password) throws Exception {
+        // 與應用程式相同使用連線池，避免每次取得租約都建立新連線而只量到連線成本
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(THREADS_PER_NODE * 2 + 4);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS distributed_lock_lease");
+            jdbcTemplate.execute("DROP SEQUENCE IF EXISTS distributed_lock_fencing_seq");
+            new ResourceDatabasePopulator(
+                    new ClassPathResource("db/migration/postgresql/V38__create_distributed_lock_lease_table.sql"))
+                    .execute(dataSource);
+            runScenarios("PostgreSQL", dataSource);
+        }
+    }
+
+    private static void runScenarios(String database, DataSource dataSource) throws Exception {
+        // 暖身：讓連線、序列與 JIT 先就緒
+        run(dataSource, 1, 20);
+
+        int total = THREADS_PER_NODE * 2 * ACQUISITIONS_PER_THREAD;
+        System.out.printf("%s lease lock: 2 nodes x %d threads, %d acquisitions%n",
+                database, THREADS_PER_NODE, total);
+        report("one hot key     ", run(dataSource, 1, ACQUISITIONS_PER_THREAD), total);
+        report(SPREAD_KEYS + " spread keys  ", run(dataSource, SPREAD_KEYS, ACQUISITIONS_PER_THREAD), total);
+    }
+
+    private static Result run(DataSource dataSource, int keys, int acquisitionsPerThread) throws Exception {
+        JdbcLeaseLockManager nodeA = new JdbcLeaseLockManager(
+                new JdbcLeaseStore(new NamedParameterJdbcTemplate(dataSource)), "bench-a");
+        JdbcLeaseLockManager nodeB = new JdbcLeaseLockManager(
+                new JdbcLeaseStore(new NamedParameterJdbcTemplate(dataSource)), "bench-b");
+        AtomicInteger[] holders = new AtomicInteger[keys];
+        Arrays.setAll(holders, i -> new AtomicInteger());
+        AtomicInteger overlaps = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_NODE * 2);
+        try {
+            long start = System.nanoTime();
+            List<Future<long[]>> futures = new ArrayList<>();
+            int threadIndex = 0;
+            for (JdbcLeaseLockManager node : List.of(nodeA, nodeB)) {
+                for (int t = 0; t < THREADS_PER_NODE; t++) {
+                    int offset = threadIndex++;
+                    futures.add(executor.submit(() -> {
+                        long[] latencies = new long[acquisitionsPerThread];
+                        for (int i = 0; i < acquisitionsPerThread; i++) {
+                            int key = (offset + i) % keys;
+                            String lockKey = "benchmark-lock:" + key;
+                            long acquireStart = System.nanoTime();
+                            assertTrue(node.tryLock(lockKey, 30, 10, TimeUnit.SECONDS));
+                            latencies[i] = System.nanoTime() - acquireStart;
+                            try {
+                                if (holders[key].incrementAndGet() > 1) {
+                                    overlaps.incrementAndGet();
+                                }
+                                holders[key].decrementAndGet();
+                            } finally {
+                                node.unlock(lockKey);
+                            }
+                        }
+                        return latencies;
+                    }));
+                }
+            }
+            List<long[]> latencies = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                latencies.add(future.get(5, TimeUnit.MINUTES));
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(0, overlaps.get());
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            assertEquals(THREADS_PER_NODE * 2 * acquisitionsPerThread, all.length);
+            return new Result(elapsed, all);
+        } finally {
+            executor.shutdownNow();
+            nodeA.shutdown();
+            nodeB.shutdown();
+        }
+    }
+
+    private static void report(String label, Result result, int total) {
+        System.out.printf("  %s : %8.0f acquisitions/s, p50 %7.2f ms, p99 %7.2f ms%n",
+                label, total / (result.elapsedNanos() / 1e9),
+                percentile(result.sortedLatencies(), 0.50) / 1e6, percentile(result.sortedLatencies(), 0.99) / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private record Result(long elapsedNanos, long[] sortedLatencies) {
+    }
+}
@@ -0,0 +1,162 @@
+package solid.humank.genaidemo.infrastructure.common.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * 資料庫租約分散式鎖測試
+ *
+ * 以 H2 與正式的遷移腳本建立租約表，兩個管理器實例模擬兩個節點。
+ */
+@DisplayName("資料庫租約分散式鎖測試")
+class JdbcLeaseLockManagerTest {
+
+    private static final String LOCK_KEY = "business-lock:inventory:PROD-LEASE";
+
+    private JdbcLeaseLockManager nodeA;
+    private JdbcLeaseLockManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:lease-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/h2/V38__create_distributed_lock_lease_table.sql"))
+                .execute(dataSource);
+        nodeA = new JdbcLeaseLockManager(new JdbcLeaseStore(new NamedParameterJdbcTemplate(dataSource)), "node-a");
+        nodeB = new JdbcLeaseLockManager(new JdbcLeaseStore(new NamedParameterJdbcTemplate(dataSource)), "node-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    @DisplayName("鎖應該跨節點互斥，每次取得的防護權杖遞增")
+    void shouldExcludeAcrossNodesWithIncreasingFencingTokens() {
+        // When
+        boolean acquiredByA = nodeA.tryLock(LOCK_KEY, 0, 10, TimeUnit.SECONDS);
+        OptionalLong firstToken = nodeA.getFencingToken(LOCK_KEY);
+        boolean acquiredByBWhileHeld = nodeB.tryLock(LOCK_KEY, 50, 10_000, TimeUnit.MILLISECONDS);
+        String lockInfo = nodeB.getLockInfo(LOCK_KEY);
+        nodeA.unlock(LOCK_KEY);
+        boolean acquiredByBAfterRelease = nodeB.tryLock(LOCK_KEY, 0, 10, TimeUnit.SECONDS);
+        OptionalLong secondToken = nodeB.getFencingToken(LOCK_KEY);
+
+        // Then
+        assertThat(acquiredByA).isTrue();
+        assertThat(acquiredByBWhileHeld).isFalse();
+        assertThat(lockInfo).contains(LOCK_KEY, "node-a");
+        assertThat(acquiredByBAfterRelease).isTrue();
+        assertThat(secondToken.getAsLong()).isGreaterThan(firstToken.getAsLong());
+        assertThat(nodeA.getFencingToken(LOCK_KEY)).isEmpty();
+        assertThat(nodeA.isLocked(LOCK_KEY)).isTrue();
+
+        nodeB.unlock(LOCK_KEY);
+        assertThat(nodeA.isLocked(LOCK_KEY)).isFalse();
+        assertThat(nodeA.getLockInfo(LOCK_KEY)).contains("Lock not found");
+    }
+
+    @Test
+    @DisplayName("背景續約應該讓租約在持有期間不過期")
+    void shouldRenewLeaseWhileHeld() throws InterruptedException {
+        // Given
+        assertThat(nodeA.tryLock(LOCK_KEY, 0, 300, TimeUnit.MILLISECONDS)).isTrue();
+
+        // When
+        Thread.sleep(1_000);
+
+        // Then
+        assertThat(nodeB.tryLock(LOCK_KEY, 0, 300, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(nodeB.getRemainingTime(LOCK_KEY)).isPositive();
+        assertThat(nodeA.getFencingToken(LOCK_KEY)).isPresent();
+        nodeA.unlock(LOCK_KEY);
+    }
+
+    @Test
+    @DisplayName("持有者停止續約後應該由他人接手，舊持有者的釋放不影響新租約")
+    void shouldTakeOverExpiredLeaseAndIgnoreStaleRelease() {
+        // Given：節點 A 取得鎖後停止續約，模擬當機或長時間停頓
+        assertThat(nodeA.tryLock(LOCK_KEY, 0, 200, TimeUnit.MILLISECONDS)).isTrue();
+        long staleToken = nodeA.getFencingToken(LOCK_KEY).getAsLong();
+        nodeA.shutdown();
+
+        // When
+        boolean takenOver = nodeB.tryLock(LOCK_KEY, 2, 10, TimeUnit.SECONDS);
+        nodeA.unlock(LOCK_KEY);
+
+        // Then
+        assertThat(takenOver).isTrue();
+        assertThat(nodeB.getFencingToken(LOCK_KEY).getAsLong()).isGreaterThan(staleToken);
+        assertThat(nodeB.isLocked(LOCK_KEY)).isTrue();
+        assertThat(nodeB.getActiveLockCount()).isEqualTo(1);
+        nodeB.unlock(LOCK_KEY);
+    }
+
+    @Test
+    @DisplayName("兩個節點的多個執行緒應該依序進入臨界區，並支援重入")
+    void shouldSerializeConcurrentHoldersAcrossNodes() throws Exception {
+        // Given
+        int threadsPerNode = 4;
+        int iterations = 25;
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadsPerNode * 2);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (JdbcLeaseLockManager node : List.of(nodeA, nodeB)) {
+            for (int t = 0; t < threadsPerNode; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < iterations; i++) {
+                        assertThat(node.tryLock(LOCK_KEY, 10, 30, TimeUnit.SECONDS)).isTrue();
+                        try {
+                            assertThat(node.tryLock(LOCK_KEY, 0, 30, TimeUnit.SECONDS)).isTrue();
+                            node.unlock(LOCK_KEY);
+                            maxHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+                            completed.incrementAndGet();
+                            holders.decrementAndGet();
+                        } finally {
+                            node.unlock(LOCK_KEY);
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(completed.get()).isEqualTo(threadsPerNode * 2 * iterations);
+        assertThat(maxHolders.get()).isEqualTo(1);
+        assertThat(nodeA.isLocked(LOCK_KEY)).isFalse();
+        assertThat(nodeA.getActiveLockCount()).isZero();
+    }
+}
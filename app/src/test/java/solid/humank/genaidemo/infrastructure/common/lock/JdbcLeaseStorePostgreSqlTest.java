@@ -0,0 +1,140 @@
+package solid.humank.genaidemo.infrastructure.common.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * 資料庫租約存放區 PostgreSQL 測試
+ *
+ * 以 PostgreSQL 容器與正式的遷移腳本驗證 INSERT ... ON CONFLICT ... RETURNING 的取得、續約與釋放語意。
+ * 沒有 Docker 的環境會略過。
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("資料庫租約存放區 PostgreSQL 測試")
+class JdbcLeaseStorePostgreSqlTest {
+
+    @Container
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    private static JdbcLeaseStore leaseStore;
+
+    private final String lockKey = "pg-lease:" + UUID.randomUUID();
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(),
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/postgresql/V38__create_distributed_lock_lease_table.sql"))
+                .execute(dataSource);
+        leaseStore = new JdbcLeaseStore(new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @Test
+    @DisplayName("持有中的租約不應該被他人取得，釋放後再取得的權杖遞增")
+    void shouldExcludeWhileHeldAndIssueIncreasingTokens() {
+        // When
+        OptionalLong first = leaseStore.tryAcquire(lockKey, "node-a", 10_000);
+        OptionalLong whileHeld = leaseStore.tryAcquire(lockKey, "node-b", 10_000);
+        boolean released = leaseStore.release(lockKey, first.getAsLong());
+        OptionalLong second = leaseStore.tryAcquire(lockKey, "node-b", 10_000);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(whileHeld).isEmpty();
+        assertThat(released).isTrue();
+        assertThat(second.getAsLong()).isGreaterThan(first.getAsLong());
+        assertThat(leaseStore.find(lockKey)).hasValueSatisfying(lease -> {
+            assertThat(lease.ownerId()).isEqualTo("node-b");
+            assertThat(lease.fencingToken()).isEqualTo(second.getAsLong());
+            assertThat(lease.remainingMillis()).isPositive();
+        });
+        leaseStore.release(lockKey, second.getAsLong());
+    }
+
+    @Test
+    @DisplayName("續約與釋放只接受目前持有者的權杖")
+    void shouldRenewAndReleaseOnlyWithCurrentToken() {
+        // Given
+        long token = leaseStore.tryAcquire(lockKey, "node-a", 10_000).getAsLong();
+
+        // When & Then
+        assertThat(leaseStore.renew(lockKey, token + 1, 10_000)).isFalse();
+        assertThat(leaseStore.release(lockKey, token + 1)).isFalse();
+        assertThat(leaseStore.renew(lockKey, token, 10_000)).isTrue();
+        assertThat(leaseStore.release(lockKey, token)).isTrue();
+        assertThat(leaseStore.find(lockKey)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("過期的租約應該由他人接手，舊權杖的釋放不影響新租約")
+    void shouldTakeOverExpiredLease() throws InterruptedException {
+        // Given
+        long staleToken = leaseStore.tryAcquire(lockKey, "node-a", 50).getAsLong();
+        Thread.sleep(200);
+
+        // When
+        OptionalLong takenOver = leaseStore.tryAcquire(lockKey, "node-b", 10_000);
+        boolean staleRelease = leaseStore.release(lockKey, staleToken);
+
+        // Then
+        assertThat(takenOver.getAsLong()).isGreaterThan(staleToken);
+        assertThat(staleRelease).isFalse();
+        assertThat(leaseStore.find(lockKey)).hasValueSatisfying(
+                lease -> assertThat(lease.ownerId()).isEqualTo("node-b"));
+        leaseStore.release(lockKey, takenOver.getAsLong());
+    }
+
+    @Test
+    @DisplayName("多個節點同時新增同一鎖鍵時應該只有一個取得租約")
+    void shouldGrantNewKeyToExactlyOneConcurrentCaller() throws Exception {
+        // Given
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<OptionalLong>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            String ownerId = "node-" + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return leaseStore.tryAcquire(lockKey, ownerId, 10_000);
+            }));
+        }
+        start.countDown();
+        List<OptionalLong> results = new ArrayList<>();
+        try {
+            for (Future<OptionalLong> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        List<OptionalLong> granted = results.stream().filter(OptionalLong::isPresent).toList();
+        assertThat(granted).hasSize(1);
+        leaseStore.release(lockKey, granted.get(0).getAsLong());
+    }
+}
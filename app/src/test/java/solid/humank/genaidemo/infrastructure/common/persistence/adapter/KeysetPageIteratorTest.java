@@ -0,0 +1,90 @@
+package solid.humank.genaidemo.infrastructure.common.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for KeysetPageIterator.
+ *
+ * Verifies that rows are fetched page by page using the last key as cursor
+ * and that every fetched entity is detached after mapping.
+ */
+class KeysetPageIteratorTest {
+
+    private final List<Integer> table = IntStream.rangeClosed(1, 7).boxed().toList();
+    private final List<Integer> requestedCursors = new ArrayList<>();
+    private final List<Integer> detached = new ArrayList<>();
+
+    private final KeysetPageQuery<Integer, Integer> pageQuery = (lastKey, fetchSize) -> {
+        requestedCursors.add(lastKey);
+        return table.stream()
+                .filter(id -> lastKey == null || id > lastKey)
+                .limit(fetchSize)
+                .toList();
+    };
+
+    @Test
+    void should_iterate_all_rows_in_key_order_using_last_key_as_cursor() {
+        // Given
+        KeysetPageIterator<String, Integer, Integer> iterator = new KeysetPageIterator<>(
+                pageQuery, id -> id, id -> "row-" + id, detached::add, 3);
+
+        // When
+        List<String> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+
+        // Then
+        assertThat(rows).containsExactly("row-1", "row-2", "row-3", "row-4", "row-5", "row-6", "row-7");
+        assertThat(requestedCursors).containsExactly(null, 3, 6);
+        assertThat(detached).containsExactlyElementsOf(table);
+    }
+
+    @Test
+    void should_issue_one_extra_query_when_table_size_is_multiple_of_fetch_size() {
+        // Given
+        KeysetPageIterator<Integer, Integer, Integer> iterator = new KeysetPageIterator<>(
+                pageQuery, id -> id, id -> id, detached::add, 7);
+
+        // When
+        List<Integer> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+
+        // Then
+        assertThat(rows).hasSize(7);
+        assertThat(requestedCursors).containsExactly(null, 7);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    void should_fetch_lazily_only_when_consumer_advances() {
+        // Given
+        KeysetPageIterator<Integer, Integer, Integer> iterator = new KeysetPageIterator<>(
+                pageQuery, id -> id, id -> id, detached::add, 2);
+
+        // When
+        iterator.next();
+        iterator.next();
+
+        // Then
+        assertThat(requestedCursors).containsExactly((Integer) null);
+        assertThat(detached).containsExactly(1, 2);
+    }
+
+    @Test
+    void should_throw_when_exhausted() {
+        // Given
+        KeysetPageIterator<Integer, Integer, Integer> iterator = new KeysetPageIterator<>(
+                (lastKey, fetchSize) -> List.of(), id -> id, id -> id, detached::add, 10);
+
+        // Then
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package solid.humank.genaidemo.infrastructure.common.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for MaintainedRowCount.
+ *
+ * Verifies that the COUNT query runs only when seeding or resyncing,
+ * and that increments and decrements are applied in between.
+ */
+class MaintainedRowCountTest {
+
+    private final AtomicLong tableRows = new AtomicLong(10);
+    private final AtomicInteger countQueries = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final MaintainedRowCount rowCount = new MaintainedRowCount(() -> {
+        countQueries.incrementAndGet();
+        return tableRows.get();
+    }, Duration.ofSeconds(60), nanos::get);
+
+    @Test
+    void should_seed_once_and_apply_deltas_without_querying() {
+        // Given
+        assertThat(rowCount.isTracking()).isFalse();
+        assertThat(rowCount.get()).isEqualTo(10);
+
+        // When
+        rowCount.increment();
+        rowCount.increment();
+        rowCount.decrement();
+
+        // Then
+        assertThat(rowCount.get()).isEqualTo(11);
+        assertThat(countQueries).hasValue(1);
+    }
+
+    @Test
+    void should_ignore_deltas_before_seeding() {
+        // When
+        rowCount.increment();
+
+        // Then
+        assertThat(rowCount.isTracking()).isFalse();
+        assertThat(rowCount.get()).isEqualTo(10);
+    }
+
+    @Test
+    void should_resync_after_interval_to_correct_drift() {
+        // Given
+        rowCount.get();
+        rowCount.increment();
+        tableRows.set(42);
+
+        // When
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        // Then
+        assertThat(rowCount.get()).isEqualTo(42);
+        assertThat(countQueries).hasValue(2);
+    }
+
+    @Test
+    void should_never_report_negative_count() {
+        // Given
+        tableRows.set(0);
+        rowCount.get();
+
+        // When
+        rowCount.decrement();
+
+        // Then
+        assertThat(rowCount.get()).isZero();
+    }
+}
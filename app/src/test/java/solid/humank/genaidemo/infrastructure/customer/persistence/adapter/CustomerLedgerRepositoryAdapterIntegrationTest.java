@@ -0,0 +1,91 @@
+package solid.humank.genaidemo.infrastructure.customer.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerEntry;
+import solid.humank.genaidemo.domain.customer.model.valueobject.CustomerLedgerTotals;
+import solid.humank.genaidemo.domain.customer.repository.CustomerLedgerRepository;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+import solid.humank.genaidemo.testutils.BaseTest;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("客戶帳本儲存庫適配器整合測試")
+public class CustomerLedgerRepositoryAdapterIntegrationTest extends BaseTest {
+
+    private final CustomerId customerId = CustomerId.of("ledger-it-" + UUID.randomUUID());
+
+    @Autowired
+    private CustomerLedgerRepository ledgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM customer_ledger_entries WHERE customer_id = ?", customerId.getValue());
+    }
+
+    @Test
+    @DisplayName("加總應該在資料庫端依幣別分組，只有點數的零金額分錄不影響消費幣別")
+    void shouldSumUnfoldedEntriesPerCurrency() {
+        // Given
+        ledgerRepository.append(CustomerLedgerEntry.points(customerId, 30, "promo"));
+        ledgerRepository.append(CustomerLedgerEntry.spending(customerId, Money.of(12.5, "USD"), "order-1", "purchase"));
+        ledgerRepository.append(CustomerLedgerEntry.spending(customerId, Money.of(7.5, "USD"), "order-2", "purchase"));
+
+        // When
+        CustomerLedgerTotals totals = ledgerRepository.findUnfoldedTotals(customerId);
+
+        // Then
+        assertThat(totals.entryCount()).isEqualTo(3);
+        assertThat(totals.pointsDelta()).isEqualTo(30);
+        assertThat(totals.spendingDelta().currency().getCurrencyCode()).isEqualTo("USD");
+        assertThat(totals.spendingDelta().amount()).isEqualByComparingTo("20");
+    }
+
+    @Test
+    @DisplayName("折疊應該只標記加總包含的分錄，之後新增的分錄留到下一次")
+    void shouldMarkOnlySummedEntriesAsFolded() {
+        // Given
+        ledgerRepository.append(CustomerLedgerEntry.spending(customerId, Money.twd(100), "order-1", "purchase"));
+        CustomerLedgerTotals totals = ledgerRepository.findUnfoldedTotals(customerId);
+        ledgerRepository.append(CustomerLedgerEntry.spending(customerId, Money.twd(200), "order-2", "purchase"));
+
+        // When
+        ledgerRepository.markFolded(customerId, totals);
+
+        // Then
+        CustomerLedgerTotals remaining = ledgerRepository.findUnfoldedTotals(customerId);
+        assertThat(remaining.entryCount()).isEqualTo(1);
+        assertThat(remaining.spendingDelta().amount()).isEqualByComparingTo("200");
+        assertThatThrownBy(() -> ledgerRepository.markFolded(customerId, totals))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("未折疊的消費分錄有兩種以上幣別時應該拒絕加總")
+    void shouldRejectSpendingInMixedCurrencies() {
+        // Given
+        ledgerRepository.append(CustomerLedgerEntry.spending(customerId, Money.twd(100), "order-1", "purchase"));
+        ledgerRepository.append(CustomerLedgerEntry.spending(customerId, Money.of(5, "USD"), "order-2", "purchase"));
+
+        // When / Then
+        assertThatThrownBy(() -> ledgerRepository.findUnfoldedTotals(customerId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("more than one currency");
+    }
+}
@@ -0,0 +1,159 @@
+package solid.humank.genaidemo.infrastructure.event.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.infrastructure.event.backpressure.AdaptiveConcurrencyLimiter.Permit;
+import solid.humank.genaidemo.infrastructure.event.backpressure.AdaptiveConcurrencyLimiter.Settings;
+
+@DisplayName("自適應並行上限測試")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong nanos = new AtomicLong(1);
+
+    @Test
+    @DisplayName("達到上限且不等待時應該立即拒絕並計入拒絕數")
+    void shouldRejectWhenLimitReachedWithoutWaiting() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(new Settings(2, 1, 10, 10, Duration.ZERO));
+        limiter.tryAcquire().orElseThrow();
+        limiter.tryAcquire().orElseThrow();
+
+        // When
+        Optional<Permit> third = limiter.tryAcquire();
+
+        // Then
+        assertThat(third).isEmpty();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+        assertThatThrownBy(() -> limiter.call(() -> "x")).isInstanceOf(BackpressureRejectedException.class);
+    }
+
+    @Test
+    @DisplayName("RTT 維持在基準且上限被用滿時應該加大上限")
+    void shouldGrowLimitWhileLatencyStaysAtBaseline() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(new Settings(10, 1, 100, 0, Duration.ZERO));
+
+        // When
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter, limiter.getLimit(), RTT);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("RTT 因排隊而變長時應該縮小上限，但不低於下界")
+    void shouldShrinkLimitWhenLatencyRises() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(new Settings(50, 5, 100, 0, Duration.ZERO));
+        runRound(limiter, 50, RTT);
+        int baseline = limiter.getLimit();
+
+        // When
+        for (int round = 0; round < 20; round++) {
+            runRound(limiter, limiter.getLimit(), RTT * 4);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(baseline).isGreaterThanOrEqualTo(5);
+        assertThat(limiter.snapshot().minRttMicros()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("同時處理數遠低於上限時不應該調整上限")
+    void shouldNotAdjustWhenApplicationLimited() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(new Settings(20, 1, 100, 0, Duration.ZERO));
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            runRound(limiter, 2, RTT);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("逾時應該以乘法遞減縮小上限，其他失敗不影響上限")
+    void shouldBackOffOnTimeoutsOnly() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(new Settings(20, 15, 100, 0, Duration.ZERO));
+
+        // When
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new IllegalArgumentException("invalid order");
+        })).isInstanceOf(IllegalArgumentException.class);
+        int afterBusinessFailure = limiter.getLimit();
+        limiter.tryAcquire().orElseThrow().onDropped();
+        int afterTimeout = limiter.getLimit();
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> limiter.call(() -> {
+                throw new IllegalStateException(new TimeoutException());
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        // Then
+        assertThat(afterBusinessFailure).isEqualTo(20);
+        assertThat(afterTimeout).isEqualTo(18);
+        assertThat(limiter.getLimit()).isEqualTo(15);
+        assertThat(limiter.getDroppedCount()).isEqualTo(11);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("等待中的請求應該在許可釋放後取得許可，等待佇列已滿時立即拒絕")
+    void shouldQueueWithBoundedWaiting() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(new Settings(1, 1, 10, 1, Duration.ofSeconds(5)));
+        Permit holder = limiter.tryAcquire().orElseThrow();
+        CompletableFuture<Optional<Permit>> waiter = CompletableFuture.supplyAsync(limiter::tryAcquire);
+        while (limiter.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        Optional<Permit> overflow = limiter.tryAcquire();
+        holder.onIgnore();
+        Optional<Permit> admitted = waiter.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(overflow).isEmpty();
+        assertThat(admitted).isPresent();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getWaiting()).isZero();
+        assertThat(limiter.tryAcquire(Duration.ofMillis(20))).isEmpty();
+        assertThat(limiter.getRejectedCount()).isEqualTo(2);
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(Settings settings) {
+        return new AdaptiveConcurrencyLimiter("test", settings, nanos::get);
+    }
+
+    /** 同時取得 {@code concurrency} 個許可，經過 {@code rtt} 後全部成功完成 */
+    private void runRound(AdaptiveConcurrencyLimiter limiter, int concurrency, long rtt) {
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            limiter.tryAcquire(Duration.ZERO).ifPresent(permits::add);
+        }
+        nanos.addAndGet(rtt);
+        permits.forEach(Permit::onSuccess);
+    }
+}
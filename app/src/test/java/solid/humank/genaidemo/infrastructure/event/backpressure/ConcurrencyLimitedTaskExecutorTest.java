@@ -0,0 +1,33 @@
+package solid.humank.genaidemo.infrastructure.event.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import solid.humank.genaidemo.infrastructure.event.backpressure.AdaptiveConcurrencyLimiter.Settings;
+
+@DisplayName("限流任務執行器測試")
+class ConcurrencyLimitedTaskExecutorTest {
+
+    @Test
+    @DisplayName("容器關閉時應該一併關閉底層線程池")
+    void shouldShutDownDelegateOnDestroy() throws Exception {
+        // Given
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.initialize();
+        ConcurrencyLimitedTaskExecutor executor = new ConcurrencyLimitedTaskExecutor(pool,
+                new AdaptiveConcurrencyLimiter("test", new Settings(1, 1, 1, 0, Duration.ZERO)));
+
+        // When
+        executor.destroy();
+
+        // Then
+        assertThat(pool.getThreadPoolExecutor().isShutdown()).isTrue();
+    }
+}
@@ -0,0 +1,60 @@
+package solid.humank.genaidemo.infrastructure.event.handler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import solid.humank.genaidemo.application.product.service.PriceHistoryService;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.pricing.model.events.PricingRuleCreatedEvent;
+import solid.humank.genaidemo.domain.pricing.model.valueobject.PriceId;
+import solid.humank.genaidemo.domain.product.model.events.ProductPriceChangedEvent;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter.DomainEventWrapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("價格歷史事件處理器測試")
+class PriceHistoryEventHandlerTest {
+
+    private static final ProductId PRODUCT_ID = new ProductId("PROD-HISTORY");
+
+    @Mock private PriceHistoryService priceHistoryService;
+
+    @Test
+    @DisplayName("商品價格變更應該記錄新價格")
+    void shouldRecordProductPriceChange() {
+        // Given
+        PriceHistoryEventHandler handler = new PriceHistoryEventHandler(priceHistoryService);
+
+        // When
+        handler.handle(new DomainEventWrapper(
+                ProductPriceChangedEvent.create(PRODUCT_ID, Money.twd(1_000), Money.twd(900))));
+
+        // Then
+        verify(priceHistoryService).record(eq(PRODUCT_ID.getId()), eq(Money.twd(900)), any());
+    }
+
+    @Test
+    @DisplayName("定價規則建立時不應該記錄規則價格，規則到期後歷史才不會停在過期價格")
+    void shouldNotRecordPricingRulePrice() {
+        // Given
+        PriceHistoryEventHandler handler = new PriceHistoryEventHandler(priceHistoryService);
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        handler.handle(new DomainEventWrapper(PricingRuleCreatedEvent.create(PriceId.generate(), PRODUCT_ID,
+                Money.twd(800), now.minusDays(1), now.plusDays(1))));
+
+        // Then
+        verifyNoInteractions(priceHistoryService);
+    }
+}
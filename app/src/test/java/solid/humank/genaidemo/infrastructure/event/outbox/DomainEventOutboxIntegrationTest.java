@@ -0,0 +1,200 @@
+package solid.humank.genaidemo.infrastructure.event.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+import solid.humank.genaidemo.domain.common.event.DomainEventPublisher;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.product.model.events.ProductPriceChangedEvent;
+import solid.humank.genaidemo.domain.product.model.valueobject.ProductId;
+import solid.humank.genaidemo.infrastructure.event.outbox.DomainEventOutbox.OutboxEntry;
+import solid.humank.genaidemo.infrastructure.event.outbox.OutboxRelay.RelayRound;
+import solid.humank.genaidemo.infrastructure.event.publisher.DomainEventPublisherAdapter.DomainEventWrapper;
+import solid.humank.genaidemo.testutils.BaseTest;
+
+@SpringBootTest(properties = "genai-demo.events.outbox.enabled=true")
+@ActiveProfiles("test")
+@RecordApplicationEvents
+@DisplayName("領域事件寄件匣整合測試")
+public class DomainEventOutboxIntegrationTest extends BaseTest {
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private DomainEventOutbox outbox;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM domain_event_outbox");
+    }
+
+    @Test
+    @DisplayName("交易中的事件應該寫入寄件匣，提交後由轉送器依序發布")
+    void shouldWriteEventsInTransactionAndRelayThemInOrder() {
+        // Given
+        List<DomainEvent> events = priceChanges(3);
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> domainEventPublisher.publishAll(events));
+        assertThat(publishedEvents()).isEmpty();
+        assertThat(countByStatus("PENDING")).isEqualTo(3);
+
+        // When
+        RelayRound round = relay.relayOnce();
+
+        // Then
+        assertThat(round.published()).isEqualTo(3);
+        assertThat(round.failed()).isZero();
+        assertThat(publishedEvents()).extracting(DomainEvent::getEventId)
+                .containsExactlyElementsOf(events.stream().map(DomainEvent::getEventId).toList());
+        assertThat(publishedEvents().get(0)).isEqualTo(events.get(0));
+        assertThat(countByStatus("PUBLISHED")).isEqualTo(3);
+        assertThat(relay.relayOnce().published()).isZero();
+    }
+
+    @Test
+    @DisplayName("交易回滾時不應該留下任何事件")
+    void shouldDiscardEventsWhenTransactionRollsBack() {
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            domainEventPublisher.publishAll(priceChanges(2));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(countByStatus("PENDING")).isZero();
+        assertThat(relay.relayOnce().published()).isZero();
+        assertThat(publishedEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("同步處理器失敗時只回滾該事件，其餘事件仍標記為已發布")
+    void shouldIsolateFailingListenerToItsOwnEvent() {
+        // Given：第二個事件的同步處理器在交易中拋出例外，交易被標記為只能回滾
+        List<DomainEvent> events = priceChanges(3);
+        events.set(1, ProductPriceChangedEvent.create(new ProductId(FailingListener.FAILING_PRODUCT),
+                Money.twd(100), Money.twd(90)));
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> domainEventPublisher.publishAll(events));
+
+        // When
+        RelayRound round = relay.relayOnce();
+
+        // Then：失敗紀錄寫入成功，下一輪不會立即重新認領
+        assertThat(round.published()).isEqualTo(2);
+        assertThat(round.failed()).isEqualTo(1);
+        assertThat(countByStatus("PUBLISHED")).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM domain_event_outbox WHERE status = 'PENDING' AND last_error IS NOT NULL",
+                Long.class)).isEqualTo(1);
+        assertThat(relay.relayOnce().published()).isZero();
+    }
+
+    @Test
+    @DisplayName("並發認領應該取得互不重疊的事件")
+    void shouldClaimDisjointBatchesConcurrently() {
+        // Given
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> domainEventPublisher.publishAll(priceChanges(10)));
+
+        // When：兩個轉送器同時反覆認領，最後再認領剩下的事件
+        CompletableFuture<List<OutboxEntry>> first = CompletableFuture.supplyAsync(this::claimRepeatedly);
+        CompletableFuture<List<OutboxEntry>> second = CompletableFuture.supplyAsync(this::claimRepeatedly);
+        List<OutboxEntry> claimed = new ArrayList<>(first.join());
+        claimed.addAll(second.join());
+        claimed.addAll(outbox.claim(10, Duration.ofSeconds(30)).entries());
+
+        // Then
+        Set<UUID> eventIds = new HashSet<>();
+        claimed.forEach(entry -> eventIds.add(entry.eventId()));
+        assertThat(claimed).hasSize(10);
+        assertThat(eventIds).hasSize(10);
+        assertThat(outbox.claim(10, Duration.ofSeconds(30)).entries()).isEmpty();
+        assertThat(outbox.backlog().pending()).isEqualTo(10);
+    }
+
+    private List<OutboxEntry> claimRepeatedly() {
+        List<OutboxEntry> claimed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            claimed.addAll(outbox.claim(2, Duration.ofSeconds(30)).entries());
+        }
+        return claimed;
+    }
+
+    private List<DomainEvent> priceChanges(int count) {
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(ProductPriceChangedEvent.create(new ProductId("OUTBOX-PROD-" + i), Money.twd(100 + i),
+                    Money.twd(90 + i)));
+        }
+        return events;
+    }
+
+    private List<DomainEvent> publishedEvents() {
+        return applicationEvents.stream(DomainEventWrapper.class).map(DomainEventWrapper::getSource).toList();
+    }
+
+    @TestConfiguration
+    static class FailingListenerConfiguration {
+
+        @Bean
+        FailingListener failingListener() {
+            return new FailingListener();
+        }
+    }
+
+    static class FailingListener {
+
+        static final String FAILING_PRODUCT = "OUTBOX-FAIL";
+
+        @EventListener
+        @Transactional
+        public void onEvent(DomainEventWrapper wrapper) {
+            if (wrapper.getSource() instanceof ProductPriceChangedEvent event
+                    && FAILING_PRODUCT.equals(event.productId().getId())) {
+                throw new IllegalStateException("listener failure");
+            }
+        }
+    }
+
+    private long countByStatus(String status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM domain_event_outbox WHERE status = ?", Long.class,
+                status);
+    }
+}
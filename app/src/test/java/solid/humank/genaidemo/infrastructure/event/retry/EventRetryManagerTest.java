@@ -0,0 +1,96 @@
+package solid.humank.genaidemo.infrastructure.event.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import solid.humank.genaidemo.domain.common.event.DomainEvent;
+
+@DisplayName("事件重試管理器測試")
+class EventRetryManagerTest {
+
+    private EventRetryManager retryManager;
+
+    @AfterEach
+    void tearDown() {
+        if (retryManager != null) {
+            retryManager.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("延遲重試被執行器拒絕時應該退避後轉入最終失敗，不遺留重試上下文")
+    void shouldNotLoseRetryContextWhenDelayedRetryIsRejected() throws Exception {
+        // Given - 執行器只接受第一次提交，之後的重試一律以過載拒絕
+        AtomicInteger submissions = new AtomicInteger();
+        Executor executor = task -> {
+            if (submissions.incrementAndGet() > 1) {
+                throw new TaskRejectedException("retry executor saturated");
+            }
+            task.run();
+        };
+        retryManager = new EventRetryManager(executor);
+        AtomicInteger invocations = new AtomicInteger();
+        RetryPolicy policy = new RetryPolicy.Builder()
+                .maxAttempts(3)
+                .initialDelay(Duration.ofMillis(5))
+                .maxDelay(Duration.ofMillis(20))
+                .backoffMultiplier(2.0)
+                .retryOn(throwable -> true)
+                .build();
+
+        // When
+        CompletableFuture<Void> first = retryManager.executeWithRetry(new TestEvent(), "failingHandler", event -> {
+            invocations.incrementAndGet();
+            throw new IllegalStateException("handler failed");
+        }, policy);
+        first.get(5, TimeUnit.SECONDS);
+
+        // Then - 每次拒絕都計為一次嘗試，達到上限後移除上下文
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (retryManager.getRetryStatistics().getActiveRetries() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(retryManager.getRetryStatistics().getActiveRetries()).isZero();
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(submissions.get()).isEqualTo(3);
+    }
+
+    private record TestEvent(UUID eventId, LocalDateTime occurredOn) implements DomainEvent {
+
+        private TestEvent() {
+            this(UUID.randomUUID(), LocalDateTime.now());
+        }
+
+        @Override
+        public UUID getEventId() {
+            return eventId;
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return occurredOn;
+        }
+
+        @Override
+        public String getEventType() {
+            return "TestEvent";
+        }
+
+        @Override
+        public String getAggregateId() {
+            return eventId.toString();
+        }
+    }
+}
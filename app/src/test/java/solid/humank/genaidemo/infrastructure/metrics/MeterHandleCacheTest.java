@@ -0,0 +1,96 @@
+package solid.humank.genaidemo.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for MeterHandleCache.
+ *
+ * Verifies that handles are registered once per tag value combination and
+ * that combinations beyond the limit are folded into the overflow meter.
+ */
+class MeterHandleCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MeterHandleCache meters = new MeterHandleCache(registry, 3);
+
+    @Test
+    void should_return_same_handle_for_same_tag_values() {
+        // Given
+        MeterHandleCache.Family<Counter> payments = meters.counters("payments", "Payments", "method", "status");
+
+        // When
+        Counter first = payments.get("card", "success");
+        Counter second = payments.get("card", "success");
+        first.increment();
+        second.increment();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(registry.get("payments").tags("method", "card", "status", "success").counter().count())
+                .isEqualTo(2.0);
+        assertThat(payments.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_route_combinations_beyond_limit_to_overflow_meter() {
+        // Given
+        MeterHandleCache.Family<Counter> errors = meters.counters("errors", "Errors", "type");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            errors.get("type-" + i).increment();
+        }
+
+        // Then
+        assertThat(errors.size()).isEqualTo(3);
+        assertThat(registry.find("errors").counters()).hasSize(4);
+        assertThat(registry.get("errors").tags("type", MeterHandleCache.OVERFLOW_TAG_VALUE).counter().count())
+                .isEqualTo(7.0);
+    }
+
+    @Test
+    void should_bound_two_tag_families_across_both_values() {
+        // Given
+        MeterHandleCache.Family<Counter> calls = meters.counters("calls", "Calls", "api", "status");
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            calls.get("api-" + i, "200").increment();
+            calls.get("api-0", String.valueOf(300 + i)).increment();
+        }
+
+        // Then
+        assertThat(calls.size()).isEqualTo(3);
+        assertThat(registry.get("calls").tags("api", MeterHandleCache.OVERFLOW_TAG_VALUE,
+                "status", MeterHandleCache.OVERFLOW_TAG_VALUE).counter().count()).isEqualTo(7.0);
+    }
+
+    @Test
+    void should_record_timer_in_nanoseconds_and_tag_missing_values() {
+        // Given
+        MeterHandleCache.Family<Timer> queries = meters.timers("queries", "Queries", "type");
+
+        // When
+        queries.get(null).record(1_500_000, TimeUnit.NANOSECONDS);
+
+        // Then
+        Timer timer = registry.get("queries").tags("type", MeterHandleCache.MISSING_TAG_VALUE).timer();
+        assertThat(timer.totalTime(TimeUnit.MICROSECONDS)).isEqualTo(1500.0);
+    }
+
+    @Test
+    void should_reject_wrong_number_of_tag_values() {
+        MeterHandleCache.Family<Counter> single = meters.counters("single", "Single", "type");
+
+        assertThatThrownBy(() -> single.get("a", "b")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,120 @@
+package solid.humank.genaidemo.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import solid.humank.genaidemo.testutils.annotations.SlowTest;
+
+/**
+ * 指標記錄開銷基準
+ *
+ * 比較每次事件都以 builder 註冊指標（原本的寫法）與 {@link BusinessMetricsService}
+ * 透過 {@link MeterHandleCache} 取用已綁定指標的每事件開銷。
+ * 以 {@code ./gradlew test --tests '*MetricsRecordingBenchmark'} 執行，結果輸出至標準輸出。
+ * 只驗證兩條路徑記錄的次數一致，不對耗時做斷言，避免在共用 CI 機器上不穩定。
+ */
+@SlowTest
+class MetricsRecordingBenchmark {
+
+    private static final int EVENTS = 200_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final String[] METHODS = { "CREDIT_CARD", "LINE_PAY", "BANK_TRANSFER", "CASH_ON_DELIVERY" };
+    private static final String[] APIS = { "payment-gateway", "logistics", "notification" };
+
+    @Test
+    void benchmarkPaymentCounter() {
+        SimpleMeterRegistry builderRegistry = new SimpleMeterRegistry();
+        SimpleMeterRegistry cachedRegistry = new SimpleMeterRegistry();
+        BusinessMetricsService service = new BusinessMetricsService(cachedRegistry);
+
+        long builderNanos = measure(i -> {
+            boolean success = (i & 7) != 0;
+            Counter.builder("business.payments.processed")
+                    .description("Total number of payments processed")
+                    .tag("payment_method", METHODS[(int) (i & 3)])
+                    .tag("status", success ? "success" : "failed")
+                    .register(builderRegistry)
+                    .increment();
+            if (success) {
+                builderRegistry.summary("business.payments.amount").record(i & 1023);
+            }
+        });
+        long cachedNanos = measure(
+                i -> service.recordPaymentProcessed(METHODS[(int) (i & 3)], i & 1023, (i & 7) != 0));
+
+        assertEquals(countOf(builderRegistry, "business.payments.processed"),
+                countOf(cachedRegistry, "business.payments.processed"));
+        report("Payment counter + amount summary", builderNanos, cachedNanos);
+    }
+
+    @Test
+    void benchmarkExternalApiCall() {
+        SimpleMeterRegistry builderRegistry = new SimpleMeterRegistry();
+        SimpleMeterRegistry cachedRegistry = new SimpleMeterRegistry();
+        BusinessMetricsService service = new BusinessMetricsService(cachedRegistry);
+
+        long builderNanos = measure(i -> {
+            String api = APIS[(int) (i % APIS.length)];
+            Counter.builder("business.external.api.calls")
+                    .description("External API calls")
+                    .tag("api", api)
+                    .tag("status", String.valueOf(200))
+                    .register(builderRegistry)
+                    .increment();
+            Timer.builder("business.external.api.duration")
+                    .description("External API call duration")
+                    .tag("api", api)
+                    .register(builderRegistry)
+                    .record(Duration.ofMillis(i & 63));
+        });
+        long cachedNanos = measure(i -> service.recordExternalApiCallNanos(
+                APIS[(int) (i % APIS.length)], 200, (i & 63) * 1_000_000L));
+
+        assertEquals(countOf(builderRegistry, "business.external.api.calls"),
+                countOf(cachedRegistry, "business.external.api.calls"));
+        report("Counter + timer per API call", builderNanos, cachedNanos);
+    }
+
+    private static void report(String label, long builderNanos, long cachedNanos) {
+        System.out.printf("Metrics overhead per event: %s over %d events%n", label, EVENTS);
+        System.out.printf("  builder + register per call : %8.1f ns/event%n", (double) builderNanos / EVENTS);
+        System.out.printf("  MeterHandleCache handle     : %8.1f ns/event%n", (double) cachedNanos / EVENTS);
+        System.out.printf("  speedup                     : %8.2fx%n", (double) builderNanos / cachedNanos);
+    }
+
+    private static double countOf(MeterRegistry registry, String name) {
+        return registry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    /**
+     * 預熱後取多輪量測的最小值（納秒）
+     */
+    private static long measure(LongConsumer recordEvent) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runEvents(recordEvent);
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            runEvents(recordEvent);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static void runEvents(LongConsumer recordEvent) {
+        for (long i = 0; i < EVENTS; i++) {
+            recordEvent.accept(i);
+        }
+    }
+}
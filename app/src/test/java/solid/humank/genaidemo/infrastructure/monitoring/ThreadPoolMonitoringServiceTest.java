@@ -0,0 +1,131 @@
+package solid.humank.genaidemo.infrastructure.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import solid.humank.genaidemo.infrastructure.config.VirtualThreadTaskExecutor;
+import solid.humank.genaidemo.infrastructure.monitoring.ThreadPoolMonitoringService.ExecutorSnapshot;
+
+/**
+ * 線程池監控服務單元測試
+ * 驗證平台線程池與 Virtual Thread 執行器輸出相同名稱、可比較的指標
+ */
+@DisplayName("Thread Pool Monitoring Service Unit Tests")
+class ThreadPoolMonitoringServiceTest {
+
+    private MeterRegistry meterRegistry;
+    private ThreadPoolMonitoringService monitoringService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitoringService = new ThreadPoolMonitoringService(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should report running and waiting virtual-thread tasks")
+    void shouldReportRunningAndWaitingVirtualThreadTasks() throws Exception {
+        // Given
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("test-vt-", 2, 10);
+        monitoringService.register("event_processing", executor);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch allDone = new CountDownLatch(3);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> {
+                awaitQuietly(release);
+                allDone.countDown();
+            });
+        }
+        awaitCondition(() -> executor.getActiveCount() == 2 && executor.getQueuedCount() == 1);
+
+        // Then
+        ExecutorSnapshot snapshot = monitoringService.getSnapshots().get(0);
+        assertThat(snapshot.mode()).isEqualTo(ThreadPoolMonitoringService.MODE_VIRTUAL);
+        assertThat(snapshot.active()).isEqualTo(2);
+        assertThat(snapshot.queued()).isEqualTo(1);
+        assertThat(snapshot.utilization()).isEqualTo(1.0);
+        assertThat(gauge("thread_pool_active_threads", "event_processing")).isEqualTo(2.0);
+        assertThat(gauge("thread_pool_queued_tasks", "event_processing")).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(allDone.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitCondition(() -> executor.getCompletedTaskCount() == 3);
+        assertThat(gauge("thread_pool_completed_tasks_total", "event_processing")).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should run task in caller when virtual-thread waiting capacity is exhausted")
+    void shouldRunTaskInCallerWhenWaitingCapacityExhausted() throws Exception {
+        // Given
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("test-vt-", 1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        awaitCondition(() -> executor.getActiveCount() == 1);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+
+        // When
+        executor.execute(() -> runner.set(Thread.currentThread()));
+
+        // Then
+        assertThat(runner.get()).isSameAs(Thread.currentThread());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should report platform thread pool with the same metric names")
+    void shouldReportPlatformThreadPoolWithSameMetricNames() {
+        // Given
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(20);
+        executor.initialize();
+
+        try {
+            // When
+            monitoringService.register("retry", executor);
+
+            // Then
+            ExecutorSnapshot snapshot = monitoringService.getSnapshots().get(0);
+            assertThat(snapshot.mode()).isEqualTo(ThreadPoolMonitoringService.MODE_PLATFORM);
+            assertThat(snapshot.maxConcurrency()).isEqualTo(4);
+            assertThat(snapshot.queueCapacity()).isEqualTo(20);
+            assertThat(meterRegistry.find("thread_pool_pressure_score").tag("pool", "retry")
+                    .tag("mode", "platform").gauge()).isNotNull();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double gauge(String name, String pool) {
+        return meterRegistry.get(name).tag("pool", pool).gauge().value();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCondition(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,45 @@
+package solid.humank.genaidemo.infrastructure.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分析事件收集情境：以前端的批次大小送出一批用戶行為事件
+ * 請求內容與前端送出的 JSON 相同，不使用 AnalyticsEventDto 序列化以免帶出衍生屬性
+ */
+public class AnalyticsIngestionScenario implements LoadScenario {
+
+    private static final int BATCH_SIZE = 10;
+    private static final String[] EVENT_TYPES = { "page_view", "user_action", "business_event" };
+
+    private final HttpLoadClient client;
+
+    public AnalyticsIngestionScenario(HttpLoadClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public String name() {
+        return "analytics-ingestion";
+    }
+
+    @Override
+    public void execute(long sequence) throws Exception {
+        String userId = "load-user-" + (sequence % 500);
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> events = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            events.add(Map.of(
+                    "eventId", "load-" + sequence + "-" + i,
+                    "eventType", EVENT_TYPES[i % EVENT_TYPES.length],
+                    "userId", userId,
+                    "data", Map.of("page", "/products/" + (sequence + i) % 100, "action", "view"),
+                    "timestamp", now));
+        }
+        client.post("/api/analytics/events", events, Map.of(
+                "X-Trace-Id", "load-trace-" + sequence,
+                "X-Session-Id", "load-session-" + (sequence % 200),
+                "X-User-Id", userId));
+    }
+}
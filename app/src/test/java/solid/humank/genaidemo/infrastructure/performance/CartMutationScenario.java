@@ -0,0 +1,52 @@
+package solid.humank.genaidemo.infrastructure.performance;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 購物車異動情境：加入商品、修改數量、移除商品
+ * 事先建立一批購物車，操作依序號輪流使用，同一購物車上的並行修改與實際流量相近
+ */
+public class CartMutationScenario implements LoadScenario {
+
+    private static final int CARTS = 256;
+
+    private final HttpLoadClient client;
+    private final List<String> cartIds = new ArrayList<>();
+
+    public CartMutationScenario(HttpLoadClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public String name() {
+        return "cart-mutation";
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        for (int i = 0; i < CARTS; i++) {
+            // 查詢不存在的購物車時會建立新的購物車
+            String cartId = client.get("/api/consumer/cart/load-cart-customer-" + i).path("id").asText(null);
+            if (cartId == null) {
+                throw new IOException("Cart id missing for load-cart-customer-" + i);
+            }
+            cartIds.add(cartId);
+        }
+    }
+
+    @Override
+    public void execute(long sequence) throws Exception {
+        String cartPath = "/api/consumer/cart/" + cartIds.get((int) (sequence % cartIds.size()));
+        String productId = "load-product-" + sequence;
+
+        client.post(cartPath + "/items", Map.of(
+                "productId", productId,
+                "quantity", 1,
+                "unitPrice", 320));
+        client.put(cartPath + "/items/" + productId, Map.of("quantity", 3));
+        client.delete(cartPath + "/items/" + productId);
+    }
+}
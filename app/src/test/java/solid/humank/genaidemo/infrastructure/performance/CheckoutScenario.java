@@ -0,0 +1,50 @@
+package solid.humank.genaidemo.infrastructure.performance;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 結帳情境：建立訂單、加入兩個商品、提交訂單
+ * 提交會經過支付與庫存流程，涵蓋訂單聚合儲存與事件發布
+ */
+public class CheckoutScenario implements LoadScenario {
+
+    private final HttpLoadClient client;
+
+    public CheckoutScenario(HttpLoadClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public String name() {
+        return "checkout";
+    }
+
+    @Override
+    public void execute(long sequence) throws Exception {
+        JsonNode created = client.post("/api/orders", Map.of(
+                "customerId", "load-customer-" + (sequence % 1000),
+                "shippingAddress", "台北市信義區信義路五段7號"));
+        String orderId = created.path("data").path("orderId").asText(null);
+        if (orderId == null) {
+            throw new IOException("Order id missing in response: " + created);
+        }
+
+        String itemsPath = "/api/orders/" + orderId + "/items";
+        client.post(itemsPath, item(orderId, "load-product-" + (sequence % 50), 2, "199.00"));
+        client.post(itemsPath, item(orderId, "load-product-" + ((sequence + 7) % 50), 1, "1250.50"));
+        client.post("/api/orders/" + orderId + "/submit", Map.of());
+    }
+
+    private static Map<String, Object> item(String orderId, String productId, int quantity, String price) {
+        return Map.of(
+                "orderId", orderId,
+                "productId", productId,
+                "productName", "Load Product " + productId,
+                "quantity", quantity,
+                "price", new BigDecimal(price));
+    }
+}
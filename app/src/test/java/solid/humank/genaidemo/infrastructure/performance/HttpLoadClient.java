@@ -0,0 +1,80 @@
+package solid.humank.genaidemo.infrastructure.performance;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 負載測試用的 HTTP 客戶端
+ * 以 JDK HttpClient 直接呼叫本機啟動的應用程式，非 2xx 回應視為失敗
+ */
+public class HttpLoadClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    public HttpLoadClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public JsonNode get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET(), Map.of());
+    }
+
+    public JsonNode post(String path, Object body) throws IOException, InterruptedException {
+        return post(path, body, Map.of());
+    }
+
+    public JsonNode post(String path, Object body, Map<String, String> headers)
+            throws IOException, InterruptedException {
+        return send(request(path).POST(json(body)), headers);
+    }
+
+    public JsonNode put(String path, Object body) throws IOException, InterruptedException {
+        return send(request(path).PUT(json(body)), Map.of());
+    }
+
+    public JsonNode delete(String path) throws IOException, InterruptedException {
+        return send(request(path).DELETE(), Map.of());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private JsonNode send(HttpRequest.Builder builder, Map<String, String> headers)
+            throws IOException, InterruptedException {
+        headers.forEach(builder::header);
+        HttpRequest request = builder.build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri().getPath() + " returned "
+                    + response.statusCode() + ": " + new String(response.body()));
+        }
+        return response.body().length > 0
+                ? objectMapper.readTree(response.body())
+                : objectMapper.nullNode();
+    }
+}
@@ -0,0 +1,150 @@
+package solid.humank.genaidemo.infrastructure.performance;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import solid.humank.genaidemo.infrastructure.performance.PerformanceMetricsCollector.RunResult;
+
+/**
+ * 負載產生器
+ *
+ * 支援兩種模式：
+ * - 開放迴圈（OPEN_LOOP）：依固定速率在預定時間發送，不等待前一個操作完成，延遲從預定時間起算。
+ *   系統停頓時後續操作的排隊時間也會被量到，不會因發送端跟著停下而低估尾端延遲
+ * - 封閉迴圈（CLOSED_LOOP）：固定數量的使用者各自依序操作並依預期間隔控速，
+ *   操作超過預期間隔時以 HdrHistogram 的 expected interval 補上停頓期間被遺漏的樣本
+ * 每次執行先暖機，暖機結果不列入統計。
+ */
+public class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    public enum Mode {
+        OPEN_LOOP,
+        CLOSED_LOOP
+    }
+
+    private final LoadTestConfiguration configuration;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LoadGenerator(LoadTestConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * 以指定模式執行情境：暖機後量測 {@code duration}
+     */
+    public RunResult run(LoadScenario scenario, Mode mode) {
+        PerformanceMetricsCollector collector = new PerformanceMetricsCollector();
+        if (!configuration.warmup().isZero()) {
+            drive(scenario, mode, configuration.warmup(), collector);
+            collector.reset();
+        }
+        Duration elapsed = drive(scenario, mode, configuration.duration(), collector);
+        double rate = mode == Mode.OPEN_LOOP ? configuration.openLoopRate() : configuration.closedLoopRate();
+        int concurrency = mode == Mode.OPEN_LOOP ? configuration.maxInFlight() : configuration.closedLoopUsers();
+        RunResult result = collector.result(scenario.name(), mode, rate, concurrency, elapsed);
+        logger.info("Load run {} finished: {} ops, {} errors, {}/s, corrected p99 {} ms, uncorrected p99 {} ms",
+                result.key(), result.operations(), result.errors(), String.format("%.1f", result.throughput()),
+                result.corrected().p99(), result.uncorrected().p99());
+        return result;
+    }
+
+    private Duration drive(LoadScenario scenario, Mode mode, Duration duration,
+            PerformanceMetricsCollector collector) {
+        return switch (mode) {
+            case OPEN_LOOP -> openLoop(scenario, duration, collector);
+            case CLOSED_LOOP -> closedLoop(scenario, duration, collector);
+        };
+    }
+
+    private Duration openLoop(LoadScenario scenario, Duration duration, PerformanceMetricsCollector collector) {
+        long interval = (long) (1_000_000_000L / configuration.openLoopRate());
+        Semaphore inFlight = new Semaphore(configuration.maxInFlight());
+        AtomicBoolean errorLogged = new AtomicBoolean();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0;; i++) {
+                long intended = start + i * interval;
+                if (intended >= end) {
+                    break;
+                }
+                parkUntil(intended);
+                // 進行中的數量達上限時發送端在此等待，等待時間仍由預定時間起算
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        long begin = System.nanoTime();
+                        boolean success = invoke(scenario, errorLogged);
+                        collector.recordFromIntendedStart(intended, begin, System.nanoTime(), success);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private Duration closedLoop(LoadScenario scenario, Duration duration,
+            PerformanceMetricsCollector collector) {
+        long interval = configuration.closedLoopInterval().toNanos();
+        int users = configuration.closedLoopUsers();
+        AtomicBoolean errorLogged = new AtomicBoolean();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                // 錯開各使用者的起始時間，避免同時發送
+                long offset = interval * u / users;
+                executor.execute(() -> {
+                    long next = start + offset;
+                    while (next < end) {
+                        parkUntil(next);
+                        long begin = System.nanoTime();
+                        boolean success = invoke(scenario, errorLogged);
+                        long finish = System.nanoTime();
+                        collector.recordWithExpectedInterval(begin, finish, interval, success);
+                        next += interval;
+                        if (next < finish) {
+                            // 已落後排程：從完成時間重新起算，遺漏的樣本已由 expected interval 補上
+                            next = finish;
+                        }
+                    }
+                });
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private boolean invoke(LoadScenario scenario, AtomicBoolean errorLogged) {
+        try {
+            scenario.execute(sequence.incrementAndGet());
+            return true;
+        } catch (Exception e) {
+            if (errorLogged.compareAndSet(false, true)) {
+                logger.warn("Load scenario {} failed (further errors are only counted): {}",
+                        scenario.name(), e.toString());
+            }
+            return false;
+        }
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+        }
+    }
+}
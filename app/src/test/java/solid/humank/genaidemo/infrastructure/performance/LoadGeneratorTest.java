@@ -0,0 +1,107 @@
+package solid.humank.genaidemo.infrastructure.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import solid.humank.genaidemo.infrastructure.performance.LoadGenerator.Mode;
+import solid.humank.genaidemo.infrastructure.performance.LoadTestingValidator.Baseline;
+import solid.humank.genaidemo.infrastructure.performance.PerformanceMetricsCollector.RunResult;
+
+@DisplayName("負載產生器測試")
+class LoadGeneratorTest {
+
+    private static final long STALL_MILLIS = 500;
+
+    @Test
+    @DisplayName("封閉迴圈中單次停頓應該以預期間隔補上遺漏的樣本")
+    void shouldCorrectCoordinatedOmissionInClosedLoop() {
+        // Given：單一使用者每 10ms 操作一次，第 50 次停頓 500ms
+        LoadGenerator generator = new LoadGenerator(configuration(1));
+
+        // When
+        RunResult result = generator.run(new StallingScenario(50), Mode.CLOSED_LOOP);
+
+        // Then：服務時間的 p99 不受單一停頓影響，修正後的 p99 反映停頓期間應送出的請求
+        assertThat(result.errors()).isZero();
+        assertThat(result.uncorrected().p99()).isLessThan(50.0);
+        assertThat(result.corrected().p99()).isGreaterThan(200.0);
+        assertThat(result.corrected().samples()).isGreaterThan(result.uncorrected().samples());
+    }
+
+    @Test
+    @DisplayName("開放迴圈中發送端被阻擋時延遲應該從預定發送時間起算")
+    void shouldMeasureFromIntendedStartInOpenLoop() {
+        // Given：同時只允許一個操作進行，停頓期間發送端無法送出後續請求
+        LoadGenerator generator = new LoadGenerator(configuration(1));
+
+        // When
+        RunResult result = generator.run(new StallingScenario(50), Mode.OPEN_LOOP);
+
+        // Then
+        assertThat(result.errors()).isZero();
+        assertThat(result.uncorrected().p99()).isLessThan(50.0);
+        assertThat(result.corrected().p99()).isGreaterThan(200.0);
+        assertThat(result.corrected().samples()).isEqualTo(result.uncorrected().samples());
+    }
+
+    @Test
+    @DisplayName("p99 超過基準乘上容許倍數或錯誤率過高時應該回報退化")
+    void shouldReportRegressionsAgainstBaseline() {
+        // Given
+        LoadTestingValidator validator = new LoadTestingValidator(new Baseline(1.5, 0.01, Map.of(
+                "checkout/OPEN_LOOP", 100.0,
+                "checkout/CLOSED_LOOP", 100.0)));
+        RunResult withinTolerance = result(Mode.OPEN_LOOP, 140.0, 0);
+        RunResult regressed = result(Mode.CLOSED_LOOP, 160.0, 5);
+
+        // When
+        List<String> violations = validator.validate(List.of(withinTolerance, regressed));
+
+        // Then
+        assertThat(violations).hasSize(2).allMatch(v -> v.startsWith("checkout/CLOSED_LOOP"));
+        assertThat(validator.candidate(List.of(withinTolerance)).p99Millis())
+                .containsEntry("checkout/OPEN_LOOP", 140.0);
+    }
+
+    private static LoadTestConfiguration configuration(int concurrency) {
+        return new LoadTestConfiguration(Duration.ZERO, Duration.ofSeconds(2), 100, concurrency, 100,
+                concurrency, Path.of("build", "reports", "load"), null);
+    }
+
+    private static RunResult result(Mode mode, double p99, long errors) {
+        PerformanceMetricsCollector.Latency latency = new PerformanceMetricsCollector.Latency(100, p99 / 2,
+                p99 / 2, p99 / 2, p99, p99, p99);
+        return new RunResult("checkout", mode, 100, 8, 1000, 100, errors, 100, latency, latency);
+    }
+
+    /** 每次操作約 1ms，指定序號的操作停頓 {@link #STALL_MILLIS} */
+    private static class StallingScenario implements LoadScenario {
+
+        private final long stallAt;
+        private long first = -1;
+
+        StallingScenario(long stallAt) {
+            this.stallAt = stallAt;
+        }
+
+        @Override
+        public String name() {
+            return "stalling";
+        }
+
+        @Override
+        public synchronized void execute(long sequence) throws Exception {
+            if (first < 0) {
+                first = sequence;
+            }
+            Thread.sleep(sequence - first == stallAt ? STALL_MILLIS : 1);
+        }
+    }
+}
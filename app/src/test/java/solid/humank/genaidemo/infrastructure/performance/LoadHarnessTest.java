@@ -0,0 +1,109 @@
+package solid.humank.genaidemo.infrastructure.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import solid.humank.genaidemo.infrastructure.performance.LoadGenerator.Mode;
+import solid.humank.genaidemo.infrastructure.performance.PerformanceMetricsCollector.RunResult;
+import solid.humank.genaidemo.testutils.annotations.LoadTest;
+
+/**
+ * HTTP 負載測試
+ *
+ * 在隨機埠啟動完整的 Spring 應用程式（local profile，H2 與記憶體內元件，不需要外部服務），
+ * 對結帳、購物車異動與分析事件收集三個情境分別以開放迴圈與封閉迴圈施壓。
+ * 結果寫到 {@code loadtest.reportDir}：
+ * - load-report.json：每次執行的吞吐量、錯誤數與修正前後的延遲分布
+ * - load-baseline.candidate.json：以本次結果產生的基準，更新基準檔時使用
+ * 修正後的 p99 超過基準或錯誤率超過上限時測試失敗。
+ *
+ * 執行：{@code ./gradlew loadTest}，一般的 test 任務會排除 load 標籤
+ */
+@LoadTest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// test profile 排除了 Web MVC 自動配置，改用 local profile（H2）並以 load profile 關閉除錯輸出
+@ActiveProfiles({ "local", "load" })
+@Execution(ExecutionMode.SAME_THREAD)
+@DisplayName("HTTP 負載測試")
+class LoadHarnessTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    @DisplayName("各情境在開放與封閉迴圈下的 p99 不應該超過基準")
+    void shouldStayWithinLatencyBaseline() throws Exception {
+        // Given
+        LoadTestConfiguration configuration = LoadTestConfiguration.fromSystemProperties();
+        LoadTestingValidator validator = LoadTestingValidator.load(configuration, objectMapper);
+        HttpLoadClient client = new HttpLoadClient("http://localhost:" + port, objectMapper);
+        List<LoadScenario> scenarios = List.of(
+                new CheckoutScenario(client),
+                new CartMutationScenario(client),
+                new AnalyticsIngestionScenario(client));
+        LoadGenerator generator = new LoadGenerator(configuration);
+
+        // When
+        List<RunResult> results = new ArrayList<>();
+        for (LoadScenario scenario : scenarios) {
+            scenario.setUp();
+            for (Mode mode : Mode.values()) {
+                results.add(generator.run(scenario, mode));
+            }
+        }
+        List<String> violations = validator.validate(results);
+        writeReport(configuration, validator, results, violations);
+
+        // Then
+        assertThat(results).allSatisfy(result -> assertThat(result.operations()).isPositive());
+        assertThat(violations).as("Load test regressions").isEmpty();
+    }
+
+    private void writeReport(LoadTestConfiguration configuration, LoadTestingValidator validator,
+            List<RunResult> results, List<String> violations) throws Exception {
+        Path reportDir = configuration.reportDir();
+        Files.createDirectories(reportDir);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("configuration", Map.of(
+                "warmupSeconds", configuration.warmup().toSeconds(),
+                "durationSeconds", configuration.duration().toSeconds(),
+                "openLoopRate", configuration.openLoopRate(),
+                "closedLoopUsers", configuration.closedLoopUsers(),
+                "closedLoopRate", configuration.closedLoopRate(),
+                "maxInFlight", configuration.maxInFlight()));
+        report.put("baseline", validator.getBaseline());
+        report.put("results", results);
+        report.put("violations", violations);
+        report.put("passed", violations.isEmpty());
+
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportDir.resolve("load-report.json").toFile(),
+                report);
+        validator.candidate(results).write(reportDir.resolve("load-baseline.candidate.json"), objectMapper);
+    }
+}
@@ -0,0 +1,24 @@
+package solid.humank.genaidemo.infrastructure.performance;
+
+/**
+ * 負載情境
+ * 一次 {@link #execute(long)} 是一個計時的操作，可以包含多個 HTTP 請求；拋出例外即視為失敗
+ */
+public interface LoadScenario {
+
+    /** 情境名稱，用於報告與基準檔 */
+    String name();
+
+    /**
+     * 執行前準備資料，不計時
+     */
+    default void setUp() throws Exception {
+    }
+
+    /**
+     * 執行一次操作
+     *
+     * @param sequence 全域遞增的序號，可用於產生不重複的資料
+     */
+    void execute(long sequence) throws Exception;
+}
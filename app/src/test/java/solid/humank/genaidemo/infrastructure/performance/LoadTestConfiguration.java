@@ -1,18 +1,64 @@
 package solid.humank.genaidemo.infrastructure.performance;
 
-import org.springframework.stereotype.Component;
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
- * Mock load test configuration for tests
+ * 負載測試設定
+ * 預設值適合在開發機上數分鐘內跑完；以系統屬性 {@code loadtest.*} 覆寫，
+ * 例如 {@code ./gradlew loadTest -Dloadtest.durationSeconds=60 -Dloadtest.openLoopRate=200}
+ *
+ * @param warmup          每次執行前的暖機時間，結果不列入統計
+ * @param duration        每次執行的量測時間
+ * @param openLoopRate    開放迴圈的固定發送速率（每秒操作數）
+ * @param closedLoopUsers 封閉迴圈的虛擬使用者數
+ * @param closedLoopRate  封閉迴圈所有使用者合計的目標速率，決定每個使用者的預期間隔
+ * @param maxInFlight     開放迴圈同時進行中的操作上限，超過時發送端等待（等待時間計入延遲）
+ * @param reportDir       報告輸出目錄
+ * @param baseline        延遲基準檔；為 null 時使用測試資源中的預設基準
  */
-@Component
-public class LoadTestConfiguration {
+public record LoadTestConfiguration(
+        Duration warmup,
+        Duration duration,
+        double openLoopRate,
+        int closedLoopUsers,
+        double closedLoopRate,
+        int maxInFlight,
+        Path reportDir,
+        Path baseline) {
 
-    public int getMaxConcurrentUsers() {
-        return 100;
+    public LoadTestConfiguration {
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (openLoopRate <= 0 || closedLoopRate <= 0) {
+            throw new IllegalArgumentException("Rates must be positive");
+        }
+        if (closedLoopUsers <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Users and max in-flight must be positive");
+        }
     }
 
-    public int getDefaultTestDuration() {
-        return 60; // seconds
+    /**
+     * 以系統屬性覆寫預設值
+     */
+    public static LoadTestConfiguration fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline");
+        return new LoadTestConfiguration(
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 3)),
+                Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 10)),
+                Double.parseDouble(System.getProperty("loadtest.openLoopRate", "10")),
+                Integer.getInteger("loadtest.closedLoopUsers", 4),
+                Double.parseDouble(System.getProperty("loadtest.closedLoopRate", "10")),
+                Integer.getInteger("loadtest.maxInFlight", 256),
+                Path.of(System.getProperty("loadtest.reportDir", "build/reports/load")),
+                baseline != null ? Path.of(baseline) : null);
     }
-}
\ No newline at end of file
+
+    /**
+     * 封閉迴圈中每個使用者兩次操作之間的預期間隔
+     */
+    public Duration closedLoopInterval() {
+        return Duration.ofNanos((long) (closedLoopUsers * 1_000_000_000L / closedLoopRate));
+    }
+}
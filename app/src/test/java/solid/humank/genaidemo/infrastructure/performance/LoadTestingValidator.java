@@ -1,37 +1,125 @@
 package solid.humank.genaidemo.infrastructure.performance;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import solid.humank.genaidemo.infrastructure.performance.PerformanceMetricsCollector.RunResult;
 
 /**
- * Validator for load testing and performance validation
+ * 負載測試結果驗證器
+ *
+ * 以基準檔比對每次執行修正後的 p99 與錯誤率：p99 超過基準乘上容許倍數，或錯誤率超過上限即為退化。
+ * 基準檔預設為測試資源 {@code performance/load-baseline.json}，可用 {@code -Dloadtest.baseline} 指定檔案，
+ * 容許倍數可用 {@code -Dloadtest.tolerance} 覆寫。基準中沒有的情境只記錄警告，不視為退化。
  */
-@Component
-public class LoadTestingValidator {    private static final Logger logger = LoggerFactory.getLogger(LoadTestingValidator.class);
+public class LoadTestingValidator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestingValidator.class);
+
+    static final String DEFAULT_BASELINE = "performance/load-baseline.json";
+
+    private final Baseline baseline;
 
-    public boolean validatePerformanceUnderLoad() {
-        logger.info("Validating performance under load");
-        return true; // Simplified for test
+    public LoadTestingValidator(Baseline baseline) {
+        this.baseline = baseline;
     }
 
-    public double validateObservabilityOverhead() {
-        logger.info("Validating observability overhead");
-        return 2.5; // Return 2.5% overhead (within 5% limit)
+    /**
+     * 依設定載入基準
+     */
+    public static LoadTestingValidator load(LoadTestConfiguration configuration, ObjectMapper objectMapper)
+            throws IOException {
+        Baseline baseline;
+        if (configuration.baseline() != null) {
+            baseline = objectMapper.readValue(Files.readAllBytes(configuration.baseline()), Baseline.class);
+        } else {
+            try (InputStream in = LoadTestingValidator.class.getClassLoader()
+                    .getResourceAsStream(DEFAULT_BASELINE)) {
+                if (in == null) {
+                    throw new IOException("Baseline resource not found: " + DEFAULT_BASELINE);
+                }
+                baseline = objectMapper.readValue(in, Baseline.class);
+            }
+        }
+        String tolerance = System.getProperty("loadtest.tolerance");
+        if (tolerance != null) {
+            baseline = new Baseline(Double.parseDouble(tolerance), baseline.maxErrorRate(), baseline.p99Millis());
+        }
+        return new LoadTestingValidator(baseline);
     }
 
-    public boolean validateSystemRecovery() {
-        logger.info("Validating system recovery");
-        return true; // Simplified for test
+    /**
+     * 比對結果，回傳所有退化的描述；空清單表示通過
+     */
+    public List<String> validate(List<RunResult> results) {
+        List<String> violations = new ArrayList<>();
+        for (RunResult result : results) {
+            if (result.errorRate() > baseline.maxErrorRate()) {
+                violations.add(String.format("%s error rate %.4f exceeds %.4f (%d of %d operations failed)",
+                        result.key(), result.errorRate(), baseline.maxErrorRate(), result.errors(),
+                        result.operations()));
+            }
+
+            Double expected = baseline.p99Millis().get(result.key());
+            if (expected == null) {
+                logger.warn("No p99 baseline for {}, measured {} ms", result.key(), result.corrected().p99());
+                continue;
+            }
+            double limit = expected * baseline.tolerance();
+            if (result.corrected().p99() > limit) {
+                violations.add(String.format("%s p99 %.3f ms exceeds baseline %.3f ms x %.2f = %.3f ms",
+                        result.key(), result.corrected().p99(), expected, baseline.tolerance(), limit));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * 以本次結果產生新的基準，供更新基準檔時參考
+     */
+    public Baseline candidate(List<RunResult> results) {
+        Map<String, Double> p99 = new HashMap<>();
+        results.forEach(result -> p99.put(result.key(), result.corrected().p99()));
+        return new Baseline(baseline.tolerance(), baseline.maxErrorRate(), p99);
     }
 
-    public double validateResourceUtilization() {
-        logger.info("Validating resource utilization");
-        return 65.0; // Return 65% utilization (within 70% limit)
+    public Baseline getBaseline() {
+        return baseline;
     }
 
-    public boolean validateComprehensivePerformance() {
-        logger.info("Validating comprehensive performance");
-        return true; // Simplified for test
+    /**
+     * 延遲基準
+     *
+     * @param tolerance    p99 容許為基準的倍數
+     * @param maxErrorRate 容許的錯誤率
+     * @param p99Millis    各情境與模式（{@code scenario/MODE}）修正後 p99 的基準，單位毫秒
+     */
+    public record Baseline(double tolerance, double maxErrorRate, Map<String, Double> p99Millis) {
+
+        public Baseline {
+            if (tolerance < 1.0) {
+                throw new IllegalArgumentException("Tolerance must be at least 1.0");
+            }
+            // 排序後輸出，基準檔的差異容易閱讀
+            p99Millis = p99Millis != null ? Collections.unmodifiableMap(new TreeMap<>(p99Millis)) : Map.of();
+        }
+
+        /** 寫出為 JSON 檔 */
+        public void write(Path file, ObjectMapper objectMapper) throws IOException {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+        }
     }
-}
\ No newline at end of file
+}
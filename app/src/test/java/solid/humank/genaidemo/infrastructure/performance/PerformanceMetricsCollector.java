@@ -1,18 +1,128 @@
 package solid.humank.genaidemo.infrastructure.performance;
 
-import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
 
 /**
- * Mock performance metrics collector for tests
+ * 負載測試指標收集器
+ *
+ * 每次執行以兩個 HdrHistogram 記錄操作延遲（微秒，3 位有效數字）：
+ * - corrected：修正 coordinated omission 的延遲。開放迴圈從預定發送時間起算，
+ *   系統停頓期間延後發送的操作會把等待時間計入；封閉迴圈以使用者的預期間隔補上停頓期間應發送而未發送的樣本
+ * - uncorrected：從實際發送到完成的服務時間，只用於比較修正前後的差距
+ * 超過可追蹤上限（一分鐘）的延遲以上限記錄。
  */
-@Component
 public class PerformanceMetricsCollector {
 
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * 開放迴圈：延遲從預定發送時間起算
+     */
+    public void recordFromIntendedStart(long intendedStartNanos, long startNanos, long endNanos, boolean success) {
+        corrected.recordValue(toMicros(endNanos - intendedStartNanos));
+        uncorrected.recordValue(toMicros(endNanos - startNanos));
+        count(success);
+    }
+
+    /**
+     * 封閉迴圈：延遲超過預期間隔時補上被遺漏的樣本
+     */
+    public void recordWithExpectedInterval(long startNanos, long endNanos, long expectedIntervalNanos,
+            boolean success) {
+        long micros = toMicros(endNanos - startNanos);
+        corrected.recordValueWithExpectedInterval(micros, Math.max(1, toMicros(expectedIntervalNanos)));
+        uncorrected.recordValue(micros);
+        count(success);
+    }
+
+    /**
+     * 重設所有統計
+     */
     public void reset() {
-        // Mock implementation
+        corrected.reset();
+        uncorrected.reset();
+        operations.reset();
+        errors.reset();
     }
 
-    public boolean isPerformanceAtBaseline() {
-        return true;
+    /**
+     * 彙整執行結果
+     */
+    public RunResult result(String scenario, LoadGenerator.Mode mode, double targetRate, int concurrency,
+            Duration elapsed) {
+        long total = operations.sum();
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return new RunResult(scenario, mode, targetRate, concurrency, elapsed.toMillis(), total, errors.sum(),
+                seconds > 0 ? total / seconds : 0.0, Latency.of(corrected), Latency.of(uncorrected));
+    }
+
+    private void count(boolean success) {
+        operations.increment();
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    /**
+     * 一次執行的結果
+     *
+     * @param scenario    情境名稱
+     * @param mode        負載模式
+     * @param targetRate  目標速率（每秒操作數）
+     * @param concurrency 開放迴圈為進行中的上限，封閉迴圈為使用者數
+     * @param elapsedMillis 量測時間
+     * @param operations  完成的操作數
+     * @param errors      失敗的操作數
+     * @param throughput  實際每秒完成的操作數
+     * @param corrected   修正 coordinated omission 的延遲
+     * @param uncorrected 服務時間
+     */
+    public record RunResult(String scenario, LoadGenerator.Mode mode, double targetRate, int concurrency,
+            long elapsedMillis, long operations, long errors, double throughput,
+            Latency corrected, Latency uncorrected) {
+
+        /** 基準檔中的鍵 */
+        public String key() {
+            return scenario + "/" + mode;
+        }
+
+        public double errorRate() {
+            return operations > 0 ? (double) errors / operations : 0.0;
+        }
+    }
+
+    /**
+     * 延遲分布（毫秒）
+     */
+    public record Latency(long samples, double mean, double p50, double p90, double p99, double p999,
+            double max) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(histogram.getTotalCount(),
+                    millis(histogram.getMean()),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(double micros) {
+            return Math.round(micros) / 1000.0;
+        }
     }
-}
\ No newline at end of file
+}
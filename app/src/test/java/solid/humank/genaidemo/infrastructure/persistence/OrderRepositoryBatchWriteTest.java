@@ -0,0 +1,129 @@
+package solid.humank.genaidemo.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.common.valueobject.OrderId;
+import solid.humank.genaidemo.domain.order.model.aggregate.Order;
+import solid.humank.genaidemo.domain.order.repository.OrderRepository;
+import solid.humank.genaidemo.infrastructure.order.persistence.entity.JpaOrderEntity;
+import solid.humank.genaidemo.testutils.BaseTest;
+
+/** 訂單批次保存測試 驗證 saveAll 以批次寫入，且只更新有變更的列 */
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderRepositoryBatchWriteTest extends BaseTest {
+
+    private static final int ORDER_COUNT = 120;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testSaveAllBatchesInsertsAndSkipsUnchangedOrders() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order(OrderId.generate(), CustomerId.generate(), "台北市信義區" + i + "號");
+            order.addItem("BATCH-PROD-A", "批次商品A", 1, Money.twd(100));
+            order.addItem("BATCH-PROD-B", "批次商品B", 2, Money.twd(50));
+            orders.add(order);
+        }
+
+        try {
+            // 新增：訂單與明細都應該以批次寫入
+            statistics.clear();
+            orderRepository.saveAll(orders);
+            assertEquals(ORDER_COUNT * 3L, statistics.getEntityInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() < ORDER_COUNT,
+                    "prepared statements: " + statistics.getPrepareStatementCount());
+
+            // 未變更：重新保存不應該產生任何寫入
+            List<Order> reloaded = orders.stream()
+                    .map(order -> orderRepository.findById(order.getId()).orElseThrow())
+                    .toList();
+            statistics.clear();
+            orderRepository.saveAll(reloaded);
+            assertEquals(0, statistics.getEntityInsertCount());
+            assertEquals(0, statistics.getEntityUpdateCount());
+            assertEquals(0, statistics.getEntityDeleteCount());
+
+            // 狀態變更：只更新訂單列，明細保持原樣
+            List<Order> submitted = reloaded.subList(0, 10);
+            submitted.forEach(Order::submit);
+            statistics.clear();
+            orderRepository.saveAll(submitted);
+            assertEquals(10, statistics.getEntityUpdateCount());
+            assertEquals(0, statistics.getEntityInsertCount());
+            assertEquals(0, statistics.getEntityDeleteCount());
+            assertEquals(2, orderRepository.findById(submitted.get(0).getId()).orElseThrow().getItems().size());
+        } finally {
+            orders.forEach(order -> orderRepository.deleteById(order.getId()));
+        }
+    }
+
+    @Test
+    public void testSaveAllKeepsCallerEntitiesManaged() {
+        Order existing = new Order(OrderId.generate(), CustomerId.generate(), "台北市大安區1號");
+        existing.addItem("BATCH-PROD-A", "批次商品A", 1, Money.twd(100));
+        orderRepository.save(existing);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order(OrderId.generate(), CustomerId.generate(), "台北市大安區" + i + "號");
+            order.addItem("BATCH-PROD-A", "批次商品A", 1, Money.twd(100));
+            orders.add(order);
+        }
+
+        try {
+            // 分段寫入只釋放本次寫入的實體，呼叫端在同一交易中載入的實體維持受管狀態
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                JpaOrderEntity loaded = entityManager.find(JpaOrderEntity.class, existing.getId().toString());
+                orderRepository.saveAll(orders);
+                assertTrue(entityManager.contains(loaded));
+                int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+                assertTrue(managed < ORDER_COUNT, "managed entities: " + managed);
+            });
+            assertEquals(ORDER_COUNT, orders.stream()
+                    .filter(order -> orderRepository.existsById(order.getId()))
+                    .count());
+        } finally {
+            orders.forEach(order -> orderRepository.deleteById(order.getId()));
+            orderRepository.deleteById(existing.getId());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package solid.humank.genaidemo.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import solid.humank.genaidemo.domain.seller.model.aggregate.Seller;
+import solid.humank.genaidemo.domain.seller.model.entity.SellerRating;
+import solid.humank.genaidemo.domain.seller.model.valueobject.SellerId;
+import solid.humank.genaidemo.domain.seller.repository.SellerRepository;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+import solid.humank.genaidemo.testutils.BaseTest;
+
+/** 賣家評級保存測試 驗證以過時的聚合根並發新增評級時，星等計數不會互相覆寫 */
+@SpringBootTest
+@ActiveProfiles("test")
+public class SellerRatingConcurrentSaveTest extends BaseTest {
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Test
+    public void testConcurrentRatingsAreAccumulatedInsteadOfOverwritten() {
+        SellerId sellerId = SellerId.generateNew();
+        String suffix = sellerId.getId().substring(0, 8);
+        sellerRepository.save(new Seller(sellerId, "評級測試賣家", "rating-" + suffix + "@example.com",
+                "0912345678", "評級測試商行", "台北市", "LIC-" + suffix));
+
+        // 兩個請求各自載入同一版本的賣家後新增評級
+        Seller first = sellerRepository.findById(sellerId).orElseThrow();
+        Seller second = sellerRepository.findById(sellerId).orElseThrow();
+        first.addRating(CustomerId.generate(), 5, "很好");
+        second.addRating(CustomerId.generate(), 3, "普通");
+        sellerRepository.save(first);
+        sellerRepository.save(second);
+
+        Seller reloaded = sellerRepository.findById(sellerId).orElseThrow();
+        assertEquals(2, reloaded.getTotalRatings());
+        assertEquals(1, reloaded.getRatingSummary().fiveStar());
+        assertEquals(1, reloaded.getRatingSummary().threeStar());
+        assertEquals(4.0, reloaded.calculateAverageRating(), 0.0001);
+
+        // 隱藏評級時只扣除該評級的星等，重複保存不再變動計數
+        List<SellerRating> ratings = sellerRepository.findRatings(sellerId, 0, 10);
+        SellerRating fiveStar = ratings.stream().filter(rating -> rating.getRating() == 5).findFirst().orElseThrow();
+        reloaded.attachRatings(ratings);
+        reloaded.hideRating(fiveStar.getId(), "違反社群規範");
+        sellerRepository.save(reloaded);
+        sellerRepository.save(reloaded);
+
+        Seller moderated = sellerRepository.findById(sellerId).orElseThrow();
+        assertEquals(1, moderated.getTotalRatings());
+        assertEquals(0, moderated.getRatingSummary().fiveStar());
+        assertEquals(3.0, moderated.calculateAverageRating(), 0.0001);
+    }
+}
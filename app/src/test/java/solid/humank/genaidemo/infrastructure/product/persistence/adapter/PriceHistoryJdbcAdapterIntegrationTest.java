@@ -0,0 +1,60 @@
+package solid.humank.genaidemo.infrastructure.product.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import solid.humank.genaidemo.application.product.port.outgoing.PriceHistoryPort;
+import solid.humank.genaidemo.application.product.port.outgoing.PriceHistoryPort.StoredChunk;
+import solid.humank.genaidemo.testutils.BaseTest;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("價格歷史 JDBC 適配器整合測試")
+public class PriceHistoryJdbcAdapterIntegrationTest extends BaseTest {
+
+    @Autowired
+    private PriceHistoryPort priceHistoryPort;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM product_price_history_chunks");
+    }
+
+    @Test
+    @DisplayName("應該依序號讀回區塊，並拒絕重複新增與版本不符的改寫")
+    void shouldRoundTripChunksAndRejectStaleWrites() {
+        // Given
+        StoredChunk first = new StoredChunk("P1", 0, "TWD", 100, 200, 2, new byte[] { 1, 2, 3 }, 1);
+        StoredChunk second = new StoredChunk("P1", 1, "TWD", 300, 300, 1, new byte[] { 4 }, 1);
+        assertThat(priceHistoryPort.saveChunk(second, 0)).isTrue();
+        assertThat(priceHistoryPort.saveChunk(first, 0)).isTrue();
+
+        // When
+        boolean duplicateInsert = priceHistoryPort.saveChunk(second, 0);
+        boolean append = priceHistoryPort.saveChunk(
+                new StoredChunk("P1", 1, "TWD", 300, 400, 2, new byte[] { 4, 5 }, 2), 1);
+        boolean staleAppend = priceHistoryPort.saveChunk(
+                new StoredChunk("P1", 1, "TWD", 300, 500, 2, new byte[] { 4, 6 }, 2), 1);
+
+        // Then
+        assertThat(duplicateInsert).isFalse();
+        assertThat(append).isTrue();
+        assertThat(staleAppend).isFalse();
+        var chunks = priceHistoryPort.findChunks("P1");
+        assertThat(chunks).extracting(StoredChunk::sequence).containsExactly(0, 1);
+        assertThat(chunks.get(1).lastEpochSecond()).isEqualTo(400);
+        assertThat(chunks.get(1).encoded()).containsExactly(4, 5);
+        assertThat(chunks.get(1).version()).isEqualTo(2);
+        assertThat(priceHistoryPort.findChunks("P2")).isEmpty();
+    }
+}
@@ -0,0 +1,200 @@
+package solid.humank.genaidemo.infrastructure.routing;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for latency-aware routing against two embedded H2 databases with injected latency.
+ */
+class AdaptiveRoutingTest {
+
+    private static final int THREADS = 8;
+    private static final int QUERIES_PER_THREAD = 30;
+
+    private final EndpointLoadTracker loadTracker = new EndpointLoadTracker(EndpointLoadTracker.DEFAULT_ALPHA);
+    private HealthChecker healthChecker;
+    private DelayedDataSource taiwan;
+    private DelayedDataSource japan;
+    private SmartRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        taiwan = new DelayedDataSource("taiwan");
+        japan = new DelayedDataSource("japan");
+        healthChecker = new HealthChecker(loadTracker, 1_000);
+        healthChecker.registerDataSource("taiwan-db", taiwan);
+        healthChecker.registerDataSource("japan-db", japan);
+
+        RegionDetector regionDetector = mock(RegionDetector.class);
+        when(regionDetector.detectRegion()).thenReturn("ap-northeast-1");
+        RouteSelector routeSelector = new RouteSelector(regionDetector, healthChecker, loadTracker);
+        routingDataSource = new SmartRoutingDataSource(routeSelector, loadTracker);
+        routingDataSource.setTargetDataSources(Map.of("taiwan-db", taiwan, "japan-db", japan));
+        routingDataSource.setDefaultTargetDataSource(taiwan);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        healthChecker.shutdown();
+    }
+
+    @Test
+    void should_probe_endpoints_concurrently_with_per_probe_timeout() {
+        // Given: sequential probes would take at least 400 + 400 + 1000ms
+        taiwan.delayMillis = 400;
+        japan.delayMillis = 400;
+        DelayedDataSource hung = new DelayedDataSource("hung");
+        hung.delayMillis = 5_000;
+        healthChecker.registerDataSource("singapore-db", hung);
+
+        // When
+        long start = System.nanoTime();
+        healthChecker.performHealthChecks();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        healthChecker.performHealthChecks();
+
+        // Then
+        assertThat(elapsedMillis).isLessThan(1_600);
+        assertThat(healthChecker.isHealthy("taiwan-db")).isTrue();
+        assertThat(healthChecker.isHealthy("japan-db")).isTrue();
+        assertThat(healthChecker.getLatency("taiwan-db")).isGreaterThanOrEqualTo(400);
+        assertThat(healthChecker.getHealth("singapore-db").errorMessage())
+            .isEqualTo("Previous health probe still running");
+        assertThat(hung.connections.get()).isEqualTo(1);
+        assertThat(loadTracker.getEwmaLatencyMillis("japan-db").orElseThrow()).isGreaterThanOrEqualTo(400);
+    }
+
+    @Test
+    void should_shed_traffic_from_slow_replica_gradually_and_win_it_back() throws Exception {
+        // Given: both databases are fast, the local region takes most traffic
+        healthChecker.performHealthChecks();
+        Map<String, Integer> balanced = runLoad();
+        assertThat(balanced.get("taiwan")).isGreaterThan(balanced.get("japan"));
+
+        // When: the local database slows down
+        taiwan.delayMillis = 20;
+        healthChecker.performHealthChecks();
+        Map<String, Integer> degraded = runLoad();
+
+        // Then: most traffic moves away, but the slow replica still serves overflow
+        assertThat(degraded.get("japan")).isGreaterThan(degraded.get("taiwan"));
+        assertThat(degraded.get("taiwan")).isPositive();
+        assertThat(healthChecker.isHealthy("taiwan-db")).isTrue();
+
+        // When: latency recovers, probes pull the average back down
+        taiwan.delayMillis = 0;
+        for (int i = 0; i < 20; i++) {
+            healthChecker.performHealthChecks();
+        }
+        Map<String, Integer> recovered = runLoad();
+
+        // Then
+        assertThat(recovered.get("taiwan")).isGreaterThan(recovered.get("japan"));
+        assertThat(loadTracker.getInFlight("taiwan-db")).isZero();
+        assertThat(loadTracker.getInFlight("japan-db")).isZero();
+    }
+
+    @Test
+    void should_not_count_connection_hold_time_as_endpoint_latency() throws Exception {
+        // Given
+        healthChecker.performHealthChecks();
+
+        // When: the caller holds the connection through a long transaction, but its statement is fast
+        try (Connection connection = routingDataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+            Thread.sleep(300);
+        }
+
+        // Then
+        assertThat(loadTracker.getEwmaLatencyMillis("taiwan-db").orElseThrow()).isLessThan(100);
+        assertThat(loadTracker.getEwmaLatencyMillis("japan-db").orElseThrow()).isLessThan(100);
+        assertThat(loadTracker.getInFlight("taiwan-db")).isZero();
+        assertThat(loadTracker.getInFlight("japan-db")).isZero();
+    }
+
+    private Map<String, Integer> runLoad() throws Exception {
+        taiwan.connections.set(0);
+        japan.connections.set(0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < QUERIES_PER_THREAD; i++) {
+                        try (Connection connection = routingDataSource.getConnection();
+                                Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                            Thread.sleep(2);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        counts.put("taiwan", taiwan.connections.get());
+        counts.put("japan", japan.connections.get());
+        return counts;
+    }
+
+    /**
+     * Embedded H2 database whose connections take an adjustable time to open.
+     */
+    private static final class DelayedDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger connections = new AtomicInteger();
+        private volatile long delayMillis;
+
+        DelayedDataSource(String name) {
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+            setTargetDataSource(h2);
+            // Create the in-memory database up front so probes measure only the injected latency
+            try (Connection ignored = h2.getConnection()) {
+                // warm up
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while opening connection", e);
+                }
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -30,7 +30,8 @@ class RouteSelectorTest {
     
     @BeforeEach
     void setUp() {
-        routeSelector = new RouteSelector(mockRegionDetector, mockHealthChecker);
+        routeSelector = new RouteSelector(mockRegionDetector, mockHealthChecker,
+            new EndpointLoadTracker(EndpointLoadTracker.DEFAULT_ALPHA));
     }
     
     @Test
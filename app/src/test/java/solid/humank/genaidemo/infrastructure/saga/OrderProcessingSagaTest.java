@@ -0,0 +1,302 @@
+package solid.humank.genaidemo.infrastructure.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import solid.humank.genaidemo.application.inventory.dto.ReservationResult;
+import solid.humank.genaidemo.application.inventory.dto.ReserveInventoryCommand;
+import solid.humank.genaidemo.application.inventory.service.InventoryReservationService;
+import solid.humank.genaidemo.application.order.port.outgoing.LogisticsServicePort;
+import solid.humank.genaidemo.application.order.port.outgoing.OrderPersistencePort;
+import solid.humank.genaidemo.application.order.port.outgoing.PaymentServicePort;
+import solid.humank.genaidemo.domain.common.valueobject.DeliveryOrder;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.common.valueobject.OrderId;
+import solid.humank.genaidemo.domain.common.valueobject.OrderStatus;
+import solid.humank.genaidemo.domain.common.valueobject.PaymentResult;
+import solid.humank.genaidemo.domain.delivery.model.valueobject.DeliveryStatus;
+import solid.humank.genaidemo.domain.order.model.aggregate.Order;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaInstance;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStateStore;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStatus;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStep;
+
+/**
+ * 訂單處理 Saga 測試
+ *
+ * 外部服務以模擬物件注入延遲，狀態保存在記憶體存放區。
+ */
+@DisplayName("訂單處理 Saga 測試")
+class OrderProcessingSagaTest {
+
+    private static final long CALL_MILLIS = 200;
+
+    private final PaymentServicePort paymentServicePort = mock(PaymentServicePort.class);
+    private final LogisticsServicePort logisticsServicePort = mock(LogisticsServicePort.class);
+    private final InventoryReservationService inventoryReservationService = mock(InventoryReservationService.class);
+    private final OrderPersistencePort orderPersistencePort = mock(OrderPersistencePort.class);
+    private final InMemorySagaStateStore stateStore = new InMemorySagaStateStore();
+    private final AtomicInteger reservationSequence = new AtomicInteger();
+    private SagaExecutor sagaExecutor;
+    private OrderProcessingSaga saga;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        sagaExecutor = new SagaExecutor(stateStore);
+        saga = new OrderProcessingSaga(paymentServicePort, logisticsServicePort, inventoryReservationService,
+                orderPersistencePort, sagaExecutor, stateStore, false, 300);
+
+        order = new Order(OrderId.generate(), CustomerId.generate(), "台北市信義區市府路1號");
+        order.addItem("PROD-1", "機械鍵盤", 1, Money.twd(3000));
+        order.addItem("PROD-2", "滑鼠", 2, Money.twd(800));
+        order.submit();
+        order.confirm();
+
+        when(inventoryReservationService.reserve(any(ReserveInventoryCommand.class))).thenAnswer(invocation -> {
+            ReserveInventoryCommand command = invocation.getArgument(0);
+            Thread.sleep(CALL_MILLIS / 2);
+            return ReservationResult.success(command.getProductId(), command.getQuantity(),
+                    new UUID(0, reservationSequence.incrementAndGet()).toString());
+        });
+        when(paymentServicePort.processPayment(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(CALL_MILLIS);
+            return PaymentResult.successful("PAY-1");
+        });
+        when(logisticsServicePort.createDeliveryOrder(any())).thenAnswer(invocation -> {
+            Thread.sleep(CALL_MILLIS);
+            return new DeliveryOrder(order.getId(), DeliveryStatus.PENDING_SHIPMENT, "TRK-1",
+                    LocalDateTime.now().plusDays(2));
+        });
+        when(inventoryReservationService.confirm(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sagaExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("獨立步驟應該並行執行，全部完成後才完成訂單並保存進度")
+    void shouldRunIndependentStepsConcurrently() {
+        // When
+        long start = System.nanoTime();
+        saga.execute(new OrderSagaContext(order));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then：依序執行至少需要 100 + 100 + 200 + 200ms
+        assertThat(elapsedMillis).isLessThan(CALL_MILLIS * 2);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+        verify(inventoryReservationService).confirm(List.of(new UUID(0, 1), new UUID(0, 2)));
+        SagaInstance instance = stateStore.find(order.getId().toString()).orElseThrow();
+        assertThat(instance.getStatus()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(instance.getCompletedSteps()).hasSize(4).last().isEqualTo(OrderProcessingSaga.COMPLETE_ORDER);
+        assertThat(instance.getAttributes()).containsEntry("paymentId", "PAY-1").containsEntry("deliveryId", "TRK-1")
+                .containsKey("reservationIds");
+    }
+
+    @Test
+    @DisplayName("步驟失敗時應該補償已完成的步驟並取消訂單")
+    void shouldCompensateCompletedStepsWhenStepFails() {
+        // Given
+        when(paymentServicePort.processPayment(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(CALL_MILLIS);
+            return PaymentResult.failed("信用卡額度不足");
+        });
+
+        // When / Then
+        assertThatThrownBy(() -> saga.execute(new OrderSagaContext(order)))
+                .isInstanceOf(SagaExecutionException.class)
+                .hasMessageContaining(OrderProcessingSaga.PROCESS_PAYMENT);
+        verify(inventoryReservationService).release(new UUID(0, 1));
+        verify(inventoryReservationService).release(new UUID(0, 2));
+        verify(paymentServicePort, never()).processRefund(any(), any());
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+
+        SagaInstance instance = stateStore.find(order.getId().toString()).orElseThrow();
+        assertThat(instance.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(instance.getCompletedSteps()).doesNotContain(OrderProcessingSaga.PROCESS_PAYMENT,
+                OrderProcessingSaga.COMPLETE_ORDER);
+        assertThat(instance.getCompensatedSteps()).containsExactlyInAnyOrderElementsOf(instance.getCompletedSteps());
+        assertThat(instance.getFailureReason()).contains("信用卡額度不足");
+    }
+
+    @Test
+    @DisplayName("預留在完成訂單前已過期時應該退款並取消訂單")
+    void shouldCompensateWhenReservationsCannotBeConfirmed() {
+        // Given
+        when(inventoryReservationService.confirm(any())).thenReturn(false);
+
+        // When / Then
+        assertThatThrownBy(() -> saga.execute(new OrderSagaContext(order)))
+                .isInstanceOf(SagaExecutionException.class)
+                .hasMessageContaining(OrderProcessingSaga.COMPLETE_ORDER);
+        verify(paymentServicePort).processRefund(any(), any());
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(stateStore.find(order.getId().toString()).orElseThrow().getStatus())
+                .isEqualTo(SagaStatus.COMPENSATED);
+    }
+
+    @Test
+    @DisplayName("重啟後應該接續執行中的實例，不重複已完成的步驟")
+    void shouldResumeInFlightSagaWithoutRepeatingCompletedSteps() {
+        // Given：前一個節點完成庫存預留與支付後停止
+        SagaInstance interrupted = new SagaInstance(order.getId().toString(), OrderProcessingSaga.SAGA_TYPE,
+                SagaStatus.RUNNING,
+                List.of(OrderProcessingSaga.RESERVE_INVENTORY, OrderProcessingSaga.PROCESS_PAYMENT), List.of(),
+                Map.of("paymentId", "PAY-0", "reservationIds", new UUID(0, 99).toString()), null, null,
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().minusHours(1));
+        stateStore.save(interrupted);
+        when(orderPersistencePort.findById(order.getId())).thenReturn(Optional.of(order));
+
+        // When
+        int resumed = saga.resumeInFlight();
+
+        // Then
+        assertThat(resumed).isEqualTo(1);
+        verify(inventoryReservationService, never()).reserve(any());
+        verify(paymentServicePort, never()).processPayment(any(), any());
+        verify(logisticsServicePort).createDeliveryOrder(eq(order.getId()));
+        verify(orderPersistencePort).save(order);
+        verify(inventoryReservationService).confirm(List.of(new UUID(0, 99)));
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+        SagaInstance instance = stateStore.find(order.getId().toString()).orElseThrow();
+        assertThat(instance.getStatus()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(instance.getAttributes()).containsEntry("paymentId", "PAY-0").containsEntry("deliveryId", "TRK-1");
+        assertThat(saga.resumeInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("接續時支付步驟已扣款但未記錄完成，應該沿用既有支付而不重複扣款")
+    void shouldNotChargeAgainWhenResumedPaymentAlreadySucceeded() {
+        // Given：前一個節點完成庫存預留，支付已扣款但在記錄完成前停止
+        SagaInstance interrupted = new SagaInstance(order.getId().toString(), OrderProcessingSaga.SAGA_TYPE,
+                SagaStatus.RUNNING, List.of(OrderProcessingSaga.RESERVE_INVENTORY), List.of(),
+                Map.of("reservationIds", new UUID(0, 99).toString()), null, null,
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().minusHours(1));
+        stateStore.save(interrupted);
+        when(orderPersistencePort.findById(order.getId())).thenReturn(Optional.of(order));
+        when(paymentServicePort.findCompletedPayment(UUID.fromString(order.getId().toString())))
+                .thenReturn(Optional.of(PaymentResult.successful("PAY-0")));
+
+        // When
+        int resumed = saga.resumeInFlight();
+
+        // Then
+        assertThat(resumed).isEqualTo(1);
+        verify(paymentServicePort, never()).processPayment(any(), any());
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+        SagaInstance instance = stateStore.find(order.getId().toString()).orElseThrow();
+        assertThat(instance.getStatus()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(instance.getAttributes()).containsEntry("paymentId", "PAY-0");
+    }
+
+    @Test
+    @DisplayName("補償應該依相依關係反向進行")
+    void shouldCompensateInReverseDependencyOrder() {
+        // Given：a → b → c，d 與 b 並行且失敗
+        List<String> compensations = new CopyOnWriteArrayList<>();
+        List<SagaStep<OrderSagaContext>> steps = List.of(
+                SagaStep.<OrderSagaContext>of("a", context -> { }).compensatedBy(context -> compensations.add("a")),
+                SagaStep.<OrderSagaContext>of("b", context -> { }).after("a")
+                        .compensatedBy(context -> compensations.add("b")),
+                SagaStep.<OrderSagaContext>of("c", context -> { }).after("b")
+                        .compensatedBy(context -> compensations.add("c")),
+                SagaStep.<OrderSagaContext>of("d", context -> {
+                    sleep(CALL_MILLIS);
+                    throw new IllegalStateException("boom");
+                }).after("a"));
+
+        // When / Then
+        assertThatThrownBy(() -> sagaExecutor.execute("test", steps, new OrderSagaContext(order)))
+                .isInstanceOf(SagaExecutionException.class)
+                .hasMessageContaining("step d");
+        assertThat(compensations).containsExactly("c", "b", "a");
+    }
+
+    @Test
+    @DisplayName("相依關係有循環或未宣告時應該拒絕")
+    void shouldRejectInvalidDependencies() {
+        assertThatThrownBy(() -> SagaExecutor.topologicalOrder(List.of(
+                SagaStep.<OrderSagaContext>of("a", context -> { }).after("b"),
+                SagaStep.<OrderSagaContext>of("b", context -> { }).after("a"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cycle");
+        assertThatThrownBy(() -> SagaExecutor.topologicalOrder(List.of(
+                SagaStep.<OrderSagaContext>of("a", context -> { }).after("missing"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 記憶體 Saga 存放區，以版本號模擬樂觀鎖
+     */
+    private static final class InMemorySagaStateStore implements SagaStateStore {
+
+        private final Map<String, SagaInstance> instances = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<SagaInstance> find(String sagaId) {
+            return Optional.ofNullable(instances.get(sagaId)).map(InMemorySagaStateStore::copy);
+        }
+
+        @Override
+        public synchronized void save(SagaInstance instance) {
+            SagaInstance current = instances.get(instance.getSagaId());
+            Long currentVersion = current == null ? null : current.getVersion();
+            if (!Objects.equals(currentVersion, instance.getVersion())) {
+                throw new OptimisticLockingFailureException("Stale saga " + instance.getSagaId());
+            }
+            instance.setVersion(currentVersion == null ? 0L : currentVersion + 1);
+            instances.put(instance.getSagaId(), copy(instance));
+        }
+
+        @Override
+        public List<SagaInstance> findInFlight(String sagaType, LocalDateTime updatedBefore) {
+            return instances.values().stream()
+                    .filter(instance -> instance.getSagaType().equals(sagaType))
+                    .filter(instance -> instance.getStatus().isInFlight())
+                    .filter(instance -> instance.getUpdatedAt().isBefore(updatedBefore))
+                    .map(InMemorySagaStateStore::copy)
+                    .toList();
+        }
+
+        private static SagaInstance copy(SagaInstance instance) {
+            return new SagaInstance(instance.getSagaId(), instance.getSagaType(), instance.getStatus(),
+                    instance.getCompletedSteps(), instance.getCompensatedSteps(), instance.getAttributes(),
+                    instance.getFailureReason(), instance.getVersion(), instance.getCreatedAt(),
+                    instance.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package solid.humank.genaidemo.infrastructure.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import solid.humank.genaidemo.application.inventory.port.outgoing.ReservationExpiryPort;
+import solid.humank.genaidemo.application.inventory.port.outgoing.ReservationExpiryPort.ExpiringReservation;
+import solid.humank.genaidemo.application.inventory.service.InventoryReservationService;
+import solid.humank.genaidemo.application.order.port.outgoing.LogisticsServicePort;
+import solid.humank.genaidemo.application.order.port.outgoing.OrderPersistencePort;
+import solid.humank.genaidemo.application.order.port.outgoing.PaymentServicePort;
+import solid.humank.genaidemo.domain.common.valueobject.DeliveryOrder;
+import solid.humank.genaidemo.domain.common.valueobject.Money;
+import solid.humank.genaidemo.domain.common.valueobject.OrderId;
+import solid.humank.genaidemo.domain.common.valueobject.OrderStatus;
+import solid.humank.genaidemo.domain.common.valueobject.PaymentResult;
+import solid.humank.genaidemo.domain.delivery.model.valueobject.DeliveryStatus;
+import solid.humank.genaidemo.domain.order.model.aggregate.Order;
+import solid.humank.genaidemo.domain.shared.valueobject.CustomerId;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStateStore;
+import solid.humank.genaidemo.testutils.BaseTest;
+
+/**
+ * 訂單 Saga 預留確認整合測試
+ *
+ * 外部服務以模擬物件取代，庫存預留與過期掃描使用實際的資料庫適配器。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("訂單 Saga 預留確認整合測試")
+public class OrderSagaReservationConfirmIntegrationTest extends BaseTest {
+
+    private static final String PRODUCT_ID = "SAGA-CONFIRM-1";
+
+    @Autowired
+    private InventoryReservationService inventoryReservationService;
+
+    @Autowired
+    private ReservationExpiryPort reservationExpiryPort;
+
+    @Autowired
+    private SagaStateStore sagaStateStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID inventoryId = UUID.randomUUID();
+    private final OrderId orderId = OrderId.generate();
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM inventory_reservations WHERE inventory_id = ?", inventoryId);
+        jdbcTemplate.update("DELETE FROM inventories WHERE id = ?", inventoryId);
+        jdbcTemplate.update("DELETE FROM saga_instance WHERE saga_id = ?", orderId.toString());
+    }
+
+    @Test
+    @DisplayName("訂單完成後預留應該已確認，不會在到期後被釋放")
+    void shouldConfirmReservationsWhenOrderCompletes() {
+        // Given
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                INSERT INTO inventories (id, product_id, product_name, total_quantity, available_quantity,
+                    reserved_quantity, threshold, status, version, created_at, updated_at)
+                VALUES (?, ?, '確認測試商品', 10, 10, 0, 0, 'ACTIVE', 0, ?, ?)
+                """, inventoryId, PRODUCT_ID, now, now);
+
+        Order order = new Order(orderId, CustomerId.generate(), "台北市信義區市府路1號");
+        order.addItem(PRODUCT_ID, "確認測試商品", 3, Money.twd(500));
+        order.submit();
+        order.confirm();
+
+        PaymentServicePort paymentServicePort = mock(PaymentServicePort.class);
+        LogisticsServicePort logisticsServicePort = mock(LogisticsServicePort.class);
+        when(paymentServicePort.processPayment(any(), any())).thenReturn(PaymentResult.successful("PAY-1"));
+        when(logisticsServicePort.createDeliveryOrder(any())).thenReturn(new DeliveryOrder(order.getId(),
+                DeliveryStatus.PENDING_SHIPMENT, "TRK-1", LocalDateTime.now().plusDays(2)));
+        SagaExecutor sagaExecutor = new SagaExecutor(sagaStateStore);
+        OrderProcessingSaga saga = new OrderProcessingSaga(paymentServicePort, logisticsServicePort,
+                inventoryReservationService, mock(OrderPersistencePort.class), sagaExecutor, sagaStateStore,
+                false, 300);
+
+        // When
+        try {
+            saga.execute(new OrderSagaContext(order));
+        } finally {
+            sagaExecutor.shutdown();
+        }
+
+        // Then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+        List<UUID> reservationIds = jdbcTemplate.queryForList(
+                "SELECT id FROM inventory_reservations WHERE inventory_id = ?", UUID.class, inventoryId);
+        assertThat(reservationIds).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM inventory_reservations WHERE id = ?",
+                String.class, reservationIds.get(0))).isEqualTo("CONFIRMED");
+
+        LocalDateTime farFuture = LocalDateTime.now().plusYears(1);
+        assertThat(reservationExpiryPort.findExpiring(farFuture, null, 100))
+                .extracting(ExpiringReservation::reservationId)
+                .doesNotContainAnyElementsOf(reservationIds);
+        assertThat(reservationExpiryPort.expire(reservationIds, farFuture)).isEmpty();
+
+        Map<String, Object> inventory = jdbcTemplate.queryForMap(
+                "SELECT total_quantity, available_quantity, reserved_quantity FROM inventories WHERE id = ?",
+                inventoryId);
+        assertThat(((Number) inventory.get("total_quantity")).intValue()).isEqualTo(7);
+        assertThat(((Number) inventory.get("available_quantity")).intValue()).isEqualTo(7);
+        assertThat(((Number) inventory.get("reserved_quantity")).intValue()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package solid.humank.genaidemo.infrastructure.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaInstance;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStateStore;
+import solid.humank.genaidemo.infrastructure.saga.definition.SagaStatus;
+import solid.humank.genaidemo.testutils.BaseTest;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Saga 狀態存放區整合測試")
+public class SagaStateStoreIntegrationTest extends BaseTest {
+
+    @Autowired
+    private SagaStateStore stateStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 只清除本測試建立的實例，避免影響並行執行的其他 Saga 測試
+    private final List<String> sagaIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        sagaIds.forEach(sagaId -> jdbcTemplate.update("DELETE FROM saga_instance WHERE saga_id = ?", sagaId));
+    }
+
+    @Test
+    @DisplayName("應該保存步驟進度與屬性並依完成順序讀回")
+    void shouldRoundTripProgressAndAttributes() {
+        // Given
+        String sagaId = UUID.randomUUID().toString();
+        sagaIds.add(sagaId);
+        SagaInstance instance = SagaInstance.start(sagaId, OrderProcessingSaga.SAGA_TYPE, Map.of());
+        stateStore.save(instance);
+
+        // When
+        instance.stepCompleted(OrderProcessingSaga.PROCESS_PAYMENT, Map.of("paymentId", "PAY-1"));
+        instance.stepCompleted(OrderProcessingSaga.RESERVE_INVENTORY,
+                Map.of("paymentId", "PAY-1", "reservationIds", "R-1,R-2"));
+        stateStore.save(instance);
+
+        // Then
+        SagaInstance loaded = stateStore.find(sagaId).orElseThrow();
+        assertThat(loaded.getStatus()).isEqualTo(SagaStatus.RUNNING);
+        assertThat(loaded.getCompletedSteps()).containsExactly(OrderProcessingSaga.PROCESS_PAYMENT,
+                OrderProcessingSaga.RESERVE_INVENTORY);
+        assertThat(loaded.getCompensatedSteps()).isEmpty();
+        assertThat(loaded.getAttributes()).containsEntry("reservationIds", "R-1,R-2").hasSize(2);
+        assertThat(loaded.getVersion()).isEqualTo(instance.getVersion());
+    }
+
+    @Test
+    @DisplayName("只有最後活動時間較早的執行中或補償中實例需要接續")
+    void shouldFindStaleInFlightInstances() {
+        // Given
+        LocalDateTime longAgo = LocalDateTime.now().minusHours(1);
+        String running = save(SagaStatus.RUNNING, longAgo);
+        String compensating = save(SagaStatus.COMPENSATING, longAgo);
+        save(SagaStatus.COMPLETED, longAgo);
+        save(SagaStatus.RUNNING, LocalDateTime.now());
+
+        // When
+        List<SagaInstance> inFlight = stateStore.findInFlight(OrderProcessingSaga.SAGA_TYPE,
+                LocalDateTime.now().minusMinutes(5));
+
+        // Then
+        assertThat(inFlight).extracting(SagaInstance::getSagaId).containsExactlyInAnyOrder(running, compensating);
+    }
+
+    @Test
+    @DisplayName("兩個節點同時接續同一實例時只有一方能寫入")
+    void shouldRejectStaleWrites() {
+        // Given
+        String sagaId = save(SagaStatus.RUNNING, LocalDateTime.now().minusHours(1));
+        SagaInstance nodeA = stateStore.find(sagaId).orElseThrow();
+        SagaInstance nodeB = stateStore.find(sagaId).orElseThrow();
+
+        // When
+        nodeA.touch();
+        stateStore.save(nodeA);
+        nodeB.touch();
+
+        // Then
+        assertThatThrownBy(() -> stateStore.save(nodeB)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    private String save(SagaStatus status, LocalDateTime updatedAt) {
+        String sagaId = UUID.randomUUID().toString();
+        sagaIds.add(sagaId);
+        stateStore.save(new SagaInstance(sagaId, OrderProcessingSaga.SAGA_TYPE, status, List.of(), List.of(),
+                Map.of(), null, null, updatedAt, updatedAt));
+        return sagaId;
+    }
+}
@@ -0,0 +1,85 @@
+package solid.humank.genaidemo.infrastructure.stats.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort.Counter;
+import solid.humank.genaidemo.application.stats.port.outgoing.StatisticsCounterPort.Metric;
+import solid.humank.genaidemo.testutils.BaseTest;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("統計計數器 JDBC 適配器整合測試")
+public class StatisticsCounterJdbcAdapterIntegrationTest extends BaseTest {
+
+    private static final String PAYMENT_ID = UUID.randomUUID().toString();
+
+    @Autowired
+    private StatisticsCounterPort counterPort;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM payments WHERE id = ?", PAYMENT_ID);
+        jdbcTemplate.update("DELETE FROM statistics_counters");
+    }
+
+    @Test
+    @DisplayName("累加應該建立不存在的計數器並在資料庫端加總")
+    void shouldCreateAndIncrementCounters() {
+        // When
+        counterPort.addAll(List.of(new Counter(Metric.ORDERS_BY_STATUS, "TEST_STATUS", 2)));
+        counterPort.addAll(List.of(new Counter(Metric.ORDERS_BY_STATUS, "TEST_STATUS", -1),
+                new Counter(Metric.DAILY_REVENUE, "2000-01-01/TWD", 12_345)));
+
+        // Then
+        assertThat(counterPort.loadAll()).contains(
+                new Counter(Metric.ORDERS_BY_STATUS, "TEST_STATUS", 1),
+                new Counter(Metric.DAILY_REVENUE, "2000-01-01/TWD", 12_345));
+    }
+
+    @Test
+    @DisplayName("重新計算應該以群組查詢取得計數與每日營收，覆寫時保留範圍外的營收")
+    void shouldRecountFromBusinessTablesAndReplace() {
+        // Given
+        LocalDateTime completedAt = LocalDate.now().atTime(10, 30);
+        jdbcTemplate.update("""
+                INSERT INTO payments (id, order_id, amount, currency, status, payment_method, can_retry,
+                                      version, created_at, updated_at)
+                VALUES (?, ?, 1234.56, 'JPY', 'COMPLETED', 'CREDIT_CARD', false, 0, ?, ?)
+                """, PAYMENT_ID, UUID.randomUUID().toString(), completedAt, completedAt);
+        counterPort.addAll(List.of(new Counter(Metric.DAILY_REVENUE, "2000-01-01/TWD", 100),
+                new Counter(Metric.ORDERS_BY_STATUS, "TEST_STATUS", 5)));
+
+        // When
+        LocalDate since = LocalDate.now().minusDays(30);
+        List<Counter> recounted = counterPort.recount(since);
+        counterPort.replace(recounted, since);
+
+        // Then
+        assertThat(recounted).extracting(Counter::metric)
+                .contains(Metric.CUSTOMERS, Metric.ORDERS, Metric.PAYMENTS, Metric.INVENTORY_ITEMS);
+        assertThat(recounted).contains(
+                new Counter(Metric.DAILY_REVENUE, LocalDate.now() + "/JPY", 1235));
+        assertThat(recounted).anyMatch(counter -> counter.metric() == Metric.PAYMENTS_BY_METHOD
+                && counter.dimension().equals("CREDIT_CARD") && counter.value() >= 1);
+        List<Counter> stored = counterPort.loadAll();
+        assertThat(stored).contains(new Counter(Metric.DAILY_REVENUE, "2000-01-01/TWD", 100));
+        assertThat(stored).noneMatch(counter -> counter.dimension().equals("TEST_STATUS"));
+    }
+}
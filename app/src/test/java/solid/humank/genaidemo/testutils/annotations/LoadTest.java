@@ -0,0 +1,13 @@
+package solid.humank.genaidemo.testutils.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.Tag;
+
+/** 負載測試標籤註解 用於標記只在 loadTest 任務中執行的負載測試 */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("load")
+public @interface LoadTest {}